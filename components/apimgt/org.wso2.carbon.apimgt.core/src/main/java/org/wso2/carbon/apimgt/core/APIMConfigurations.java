@@ -70,6 +70,99 @@ public class APIMConfigurations {
     @Element(description = "Identity Provider Implementation")
     private String idpImplClass = "org.wso2.carbon.apimgt.core.impl.DefaultIdentityProviderImpl";
 
+    @Element(description = "enable the cache of API models, swagger definitions and gateway configs")
+    private boolean apiCacheEnabled = true;
+    @Element(description = "maximum memory of the API cache in megabytes")
+    private long apiCacheMaxMemory = 64;
+    @Element(description = "expiry time of API cache entries in seconds")
+    private long apiCacheExpiryTime = 900;
+    @Element(description = "topic name for API cache and resource version cache invalidation events")
+    private String apiCacheInvalidationTopic = "APICacheInvalidationTopic";
+
+    @Element(description = "enable the cache of the last updated times of the resources, from which the ETags of the "
+            + "REST API responses are generated")
+    private boolean resourceVersionCacheEnabled = true;
+    @Element(description = "maximum number of resources in the resource version cache")
+    private int resourceVersionCacheMaxEntries = 50000;
+    @Element(description = "expiry time of resource version cache entries in seconds, which bounds the time for which "
+            + "a change made by another node can be missed if its invalidation event is lost")
+    private long resourceVersionCacheExpiryTime = 60;
+    @Element(description = "enable the cache of the pages of the store landing page, shared by the users with the same "
+            + "visible roles")
+    private boolean landingPageCacheEnabled = true;
+    @Element(description = "maximum number of pages in the landing page cache")
+    private int landingPageCacheMaxEntries = 1000;
+    @Element(description = "expiry time of landing page cache entries in seconds, which bounds the time for which "
+            + "changed ratings and subscription counts can be missed")
+    private long landingPageCacheExpiryTime = 30;
+    @Element(description = "hashing algorithm of the ETags of the REST API responses, MD5 or the cheaper MURMUR3_128")
+    private String eTagHashAlgorithm = "MD5";
+
+    @Element(description = "enable the cache of the roles of users and the role names resolved from the identity "
+            + "provider")
+    private boolean roleCacheEnabled = true;
+    @Element(description = "maximum number of users and role names in the role cache")
+    private int roleCacheMaxEntries = 10000;
+    @Element(description = "expiry time of role cache entries in seconds, which bounds the time for which a role "
+            + "change made in the identity provider can be missed")
+    private long roleCacheExpiryTime = 300;
+
+    @Element(description = "enable the cache of the access tokens validated by the REST APIs")
+    private boolean accessTokenCacheEnabled = true;
+    @Element(description = "maximum number of access tokens in the access token cache")
+    private int accessTokenCacheMaxEntries = 10000;
+    @Element(description = "expiry time of valid access tokens in the access token cache in seconds, unless the token "
+            + "expires earlier")
+    private long accessTokenCacheExpiryTime = 300;
+    @Element(description = "expiry time of invalid access tokens in the access token cache in seconds")
+    private long accessTokenCacheInvalidTokenExpiryTime = 30;
+
+    @Element(description = "answer API searches from an in memory full text index")
+    private boolean searchIndexEnabled = true;
+    @Element(description = "interval in seconds at which the search index is rebuilt from the database, or 0 to "
+            + "build it only once")
+    private long searchIndexRefreshInterval = 300;
+
+    @Element(description = "maximum number of rows sent to the database in a single JDBC batch")
+    private int databaseBatchSize = 100;
+
+    @Element(description = "comma separated JNDI names of the read replicas of the API Manager database, which serve "
+            + "the read only DAO methods")
+    private String readReplicaDataSources = "";
+    @Element(description = "time in seconds after a write during which the reads of the same user are sent to the "
+            + "primary database instead of a read replica. Writes are remembered by each node, so this requires a load "
+            + "balancer with sticky sessions")
+    private long readReplicaLagWindow = 5;
+    @Element(description = "time in seconds for which a read replica is not used after a connection could not be "
+            + "taken from it")
+    private long readReplicaRetryInterval = 10;
+
+    @Element(description = "number of subscriptions written in one transaction and notified to gateways in one "
+            + "message by bulk subscription operations")
+    private int subscriptionChunkSize = 100;
+
+    @Element(description = "enable the admission control of the requests to the publisher, store and admin REST APIs")
+    private boolean admissionControlEnabled = true;
+    @Element(description = "number of requests per second a user of a client application may send on average, or 0 "
+            + "to not limit the request rate")
+    private double admissionControlRequestRate = 20;
+    @Element(description = "number of requests a user of a client application may send at once")
+    private int admissionControlRequestBurst = 100;
+    @Element(description = "maximum number of users of client applications whose request rates are tracked")
+    private int admissionControlMaxClients = 10000;
+    @Element(description = "number of API exports, API imports and API searches of each kind which may run at the "
+            + "same time")
+    private int admissionControlMaxConcurrentOperations = 4;
+    @Element(description = "average time in milliseconds to get a database connection above which requests are "
+            + "rejected until the connection pool recovers")
+    private long admissionControlConnectionWaitThreshold = 500;
+    @Element(description = "time in seconds after which a client may retry a request rejected for overload or for "
+            + "the number of running operations")
+    private long admissionControlRetryAfter = 5;
+    @Element(description = "time in seconds after which the permit of an API export, API import or API search is "
+            + "reclaimed if the operation did not report its completion")
+    private long admissionControlOperationTimeout = 600;
+
     public String getHostname() {
         return hostname;
     }
@@ -141,4 +234,136 @@ public class APIMConfigurations {
     public String getIdpImplClass() {
         return idpImplClass;
     }
+
+    public boolean isApiCacheEnabled() {
+        return apiCacheEnabled;
+    }
+
+    public long getApiCacheMaxMemory() {
+        return apiCacheMaxMemory;
+    }
+
+    public long getApiCacheExpiryTime() {
+        return apiCacheExpiryTime;
+    }
+
+    public String getApiCacheInvalidationTopic() {
+        return apiCacheInvalidationTopic;
+    }
+
+    public boolean isResourceVersionCacheEnabled() {
+        return resourceVersionCacheEnabled;
+    }
+
+    public int getResourceVersionCacheMaxEntries() {
+        return resourceVersionCacheMaxEntries;
+    }
+
+    public long getResourceVersionCacheExpiryTime() {
+        return resourceVersionCacheExpiryTime;
+    }
+
+    public boolean isLandingPageCacheEnabled() {
+        return landingPageCacheEnabled;
+    }
+
+    public int getLandingPageCacheMaxEntries() {
+        return landingPageCacheMaxEntries;
+    }
+
+    public long getLandingPageCacheExpiryTime() {
+        return landingPageCacheExpiryTime;
+    }
+
+    public String getETagHashAlgorithm() {
+        return eTagHashAlgorithm;
+    }
+
+    public boolean isRoleCacheEnabled() {
+        return roleCacheEnabled;
+    }
+
+    public int getRoleCacheMaxEntries() {
+        return roleCacheMaxEntries;
+    }
+
+    public long getRoleCacheExpiryTime() {
+        return roleCacheExpiryTime;
+    }
+
+    public boolean isAccessTokenCacheEnabled() {
+        return accessTokenCacheEnabled;
+    }
+
+    public int getAccessTokenCacheMaxEntries() {
+        return accessTokenCacheMaxEntries;
+    }
+
+    public long getAccessTokenCacheExpiryTime() {
+        return accessTokenCacheExpiryTime;
+    }
+
+    public long getAccessTokenCacheInvalidTokenExpiryTime() {
+        return accessTokenCacheInvalidTokenExpiryTime;
+    }
+
+    public boolean isSearchIndexEnabled() {
+        return searchIndexEnabled;
+    }
+
+    public long getSearchIndexRefreshInterval() {
+        return searchIndexRefreshInterval;
+    }
+
+    public int getDatabaseBatchSize() {
+        return databaseBatchSize;
+    }
+
+    public String getReadReplicaDataSources() {
+        return readReplicaDataSources;
+    }
+
+    public long getReadReplicaLagWindow() {
+        return readReplicaLagWindow;
+    }
+
+    public long getReadReplicaRetryInterval() {
+        return readReplicaRetryInterval;
+    }
+
+    public int getSubscriptionChunkSize() {
+        return subscriptionChunkSize;
+    }
+
+    public boolean isAdmissionControlEnabled() {
+        return admissionControlEnabled;
+    }
+
+    public double getAdmissionControlRequestRate() {
+        return admissionControlRequestRate;
+    }
+
+    public int getAdmissionControlRequestBurst() {
+        return admissionControlRequestBurst;
+    }
+
+    public int getAdmissionControlMaxClients() {
+        return admissionControlMaxClients;
+    }
+
+    public int getAdmissionControlMaxConcurrentOperations() {
+        return admissionControlMaxConcurrentOperations;
+    }
+
+    public long getAdmissionControlConnectionWaitThreshold() {
+        return admissionControlConnectionWaitThreshold;
+    }
+
+    public long getAdmissionControlRetryAfter() {
+        return admissionControlRetryAfter;
+    }
+
+    public long getAdmissionControlOperationTimeout() {
+        return admissionControlOperationTimeout;
+    }
 }
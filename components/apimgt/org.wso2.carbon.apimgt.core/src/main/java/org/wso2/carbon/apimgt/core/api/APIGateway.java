@@ -23,6 +23,8 @@ import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
 import org.wso2.carbon.apimgt.core.models.Subscription;
 
+import java.util.List;
+
 /**
  * The interface used to manage APIs in gateway
  */
@@ -37,12 +39,14 @@ public interface APIGateway {
     void addAPI(API api) throws GatewayException;
 
     /**
-     * Update API in gateway
+     * Update API in gateway. The update is sent to the gateways of both the original and the updated labels of the
+     * API, so that gateways of removed labels are notified as well.
      *
-     * @param api   API artifact
+     * @param originalAPI   API artifact before the update
+     * @param api           updated API artifact
      * @throws GatewayException     If there is a failure to update API in gateway
      */
-    void updateAPI(API api) throws GatewayException;
+    void updateAPI(API originalAPI, API api) throws GatewayException;
 
     /**
      * Delete API in gateway
@@ -68,6 +72,30 @@ public interface APIGateway {
      */
     void deleteAPISubscription(Subscription subscription) throws GatewayException;
 
+    /**
+     * Add a set of API subscriptions to gateway in a single message
+     *
+     * @param subscriptions Subscription details
+     * @throws GatewayException     If there is a failure to update subscriptions
+     */
+    void addAPISubscriptions(List<Subscription> subscriptions) throws GatewayException;
+
+    /**
+     * Update the policy of a set of API subscriptions in gateway in a single message
+     *
+     * @param subscriptions Subscription details with the new policies
+     * @throws GatewayException     If there is a failure to update subscriptions
+     */
+    void updateAPISubscriptions(List<Subscription> subscriptions) throws GatewayException;
+
+    /**
+     * Delete a set of API subscriptions from gateway in a single message
+     *
+     * @param subscriptions Subscription details
+     * @throws GatewayException     If there is a failure to update subscriptions
+     */
+    void deleteAPISubscriptions(List<Subscription> subscriptions) throws GatewayException;
+
     /**
      * Add endpoint to gateway
      *
@@ -26,6 +26,7 @@ import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -42,6 +43,17 @@ public interface APIMgtAdminService {
      */
     List<SubscriptionValidationData> getAPISubscriptions(int limit) throws APIManagementException;
 
+    /**
+     * Pass all API subscriptions to the handler as they are read
+     *
+     * @param limit   Subscription Limit
+     * @param handler Handler of the subscriptions
+     * @throws APIManagementException If failed to get list of subscriptions.
+     * @throws IOException            If the handler failed.
+     */
+    void getAPISubscriptions(int limit, ResultHandler<SubscriptionValidationData> handler)
+            throws APIManagementException, IOException;
+
     /**
      * Return all API subscriptions of a given API
      *
@@ -53,6 +65,19 @@ public interface APIMgtAdminService {
     List<SubscriptionValidationData> getAPISubscriptionsOfApi(String apiContext, String apiVersion)
             throws APIManagementException;
 
+    /**
+     * Pass all API subscriptions of a given API to the handler as they are read
+     *
+     * @param apiContext Context of API
+     * @param apiVersion Version of API
+     * @param handler    Handler of the subscriptions
+     * @throws APIManagementException If failed to get list of subscriptions.
+     * @throws IOException            If the handler failed.
+     */
+    void getAPISubscriptionsOfApi(String apiContext, String apiVersion,
+                                  ResultHandler<SubscriptionValidationData> handler)
+            throws APIManagementException, IOException;
+
     /**
      * Load api info from db
      *
@@ -61,6 +86,15 @@ public interface APIMgtAdminService {
      */
     public List<APISummary> getAPIInfo() throws APIManagementException;
 
+    /**
+     * Pass the api info of each API to the handler
+     *
+     * @param handler Handler of the API summaries
+     * @throws APIManagementException If failed to get lAPI summary data
+     * @throws IOException            If the handler failed.
+     */
+    void getAPIInfo(ResultHandler<APISummary> handler) throws APIManagementException, IOException;
+
     /**
      * Adds new @{@link Policy} to the system
      *
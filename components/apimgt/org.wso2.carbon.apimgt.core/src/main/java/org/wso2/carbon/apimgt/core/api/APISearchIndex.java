@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.api;
+
+import org.wso2.carbon.apimgt.core.models.API;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Full text index of APIs which answers API searches without querying the database. The index observes the events
+ * of the API Publisher to keep itself up to date.
+ * <p>
+ * Queries are a comma or space separated list of terms, all of which must match. A term is either free text which
+ * is matched against the name, description, context, tags, resource paths and documentation of the API, or an
+ * {@code attribute:value} pair. A term ending with {@code *} is matched as a prefix and a term ending with {@code ~}
+ * also matches words which differ by a few characters.
+ */
+public interface APISearchIndex extends EventObserver {
+
+    /**
+     * Whether the index has been built and can answer searches. Searches should be sent to the database until it is.
+     *
+     * @return true if the index can answer searches
+     */
+    boolean isReady();
+
+    /**
+     * Search the APIs which are visible to a subscriber.
+     *
+     * @param query    search query
+     * @param roles    roles of the subscriber
+     * @param statuses lifecycle statuses of the APIs which can be returned
+     * @param offset   index of the first result
+     * @param limit    maximum number of results
+     * @return matching API summaries, best match first
+     */
+    List<API> searchStoreAPIs(String query, Set<String> roles, List<String> statuses, int offset, int limit);
+
+    /**
+     * Search the APIs which can be managed by a publisher.
+     *
+     * @param query  search query
+     * @param roles  roles of the publisher
+     * @param user   username of the publisher
+     * @param offset index of the first result
+     * @param limit  maximum number of results
+     * @return matching API summaries, best match first
+     */
+    List<API> searchPublisherAPIs(String query, Set<String> roles, String user, int offset, int limit);
+}
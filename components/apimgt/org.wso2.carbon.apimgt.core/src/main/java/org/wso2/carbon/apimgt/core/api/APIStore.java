@@ -27,6 +27,7 @@ import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.ApplicationCreationResponse;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
 import org.wso2.carbon.apimgt.core.models.Rating;
 import org.wso2.carbon.apimgt.core.models.Subscription;
 import org.wso2.carbon.apimgt.core.models.SubscriptionResponse;
@@ -65,6 +66,44 @@ public interface APIStore extends APIManager {
      */
     List<API> searchAPIs(String query, int offset, int limit) throws APIManagementException;
 
+    /**
+     * Returns a page of the published and prototyped APIs which are visible to the current user, ordered by name.
+     * If the name and id of the last API of the previous page are given, the page starts right after that API.
+     *
+     * @param afterName name of the last API of the previous page, or null to start from the first API
+     * @param afterId   id of the last API of the previous page, or null to start from the first API
+     * @param offset    offset
+     * @param limit     limit
+     * @return {@code List<API>}
+     * @throws APIManagementException If failed to retrieve apis.
+     */
+    List<API> getStoreAPIs(String afterName, String afterId, int offset, int limit) throws APIManagementException;
+
+    /**
+     * Returns the estimated number of published and prototyped APIs which are visible to the current user. The
+     * count is exact for small API catalogs and estimated from the database statistics and a sample of the APIs for
+     * large ones.
+     *
+     * @return estimated number of APIs
+     * @throws APIManagementException If failed to count apis.
+     */
+    long getEstimatedStoreAPICount() throws APIManagementException;
+
+    /**
+     * Returns a page of the store landing page, which lists the same APIs as
+     * {@link #getStoreAPIs(String, String, int, int)} along with their thumbnail image, rating, subscription count,
+     * tags and labels, so that the page can be rendered from a single request.
+     *
+     * @param afterName name of the last API of the previous page, or null to start from the first API
+     * @param afterId   id of the last API of the previous page, or null to start from the first API
+     * @param offset    offset
+     * @param limit     limit
+     * @return {@code List<LandingPageAPI>}
+     * @throws APIManagementException If failed to retrieve apis.
+     */
+    List<LandingPageAPI> getLandingPageAPIs(String afterName, String afterId, int offset, int limit)
+            throws APIManagementException;
+
     /**
      * Function to remove an Application from the API Store
      *
@@ -173,6 +212,38 @@ public interface APIStore extends APIManager {
      */
     WorkflowResponse deleteAPISubscription(String subscriptionId) throws APIManagementException;
 
+    /**
+     * Add subscriptions of an application to a set of APIs. The subscriptions are added in chunks, each of which is
+     * written in a single transaction and notified to gateways in a single message.
+     *
+     * @param applicationId UUID of the Application
+     * @param apiTiers      Tier level of each API, keyed by the UUID of the API
+     * @return Id and the workflow response of each subscription, in the order of the APIs
+     * @throws APIManagementException   If failed to add the subscriptions, or if a tier does not exist
+     */
+    List<SubscriptionResponse> addApiSubscriptions(String applicationId, Map<String, String> apiTiers)
+            throws APIManagementException;
+
+    /**
+     * Delete a set of API subscriptions. The subscriptions are deleted in chunks, each of which is written in a single
+     * transaction and notified to gateways in a single message.
+     *
+     * @param subscriptionIds   Ids of the subscriptions to be deleted.
+     * @return workflow response of each subscription, in the order of the ids
+     * @throws APIManagementException   If failed to delete the subscriptions, or if an id is given more than once.
+     */
+    List<WorkflowResponse> deleteAPISubscriptions(List<String> subscriptionIds) throws APIManagementException;
+
+    /**
+     * Change the tier of a set of API subscriptions. The subscriptions are updated in chunks, each of which is
+     * written in a single transaction and notified to gateways in a single message.
+     *
+     * @param subscriptionTiers New tier level of each subscription, keyed by the id of the subscription
+     * @return the updated subscriptions
+     * @throws APIManagementException   If failed to update the subscriptions, or if a tier does not exist.
+     */
+    List<Subscription> updateSubscriptionTiers(Map<String, String> subscriptionTiers) throws APIManagementException;
+
     /**
      * Retrieve all tags
      *
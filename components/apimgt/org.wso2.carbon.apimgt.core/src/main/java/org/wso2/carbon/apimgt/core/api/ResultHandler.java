@@ -0,0 +1,41 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.api;
+
+import java.io.IOException;
+
+/**
+ * Receives the results of a query one at a time, while the query is being read, so that large result sets can be
+ * written out without being held in memory.
+ *
+ * @param <T> type of the results
+ */
+@FunctionalInterface
+public interface ResultHandler<T> {
+    /**
+     * Handle a result of the query
+     *
+     * @param result the next result
+     * @throws IOException if the result could not be written out. The query is abandoned and the exception is
+     *                     rethrown to the caller of the query.
+     */
+    void handle(T result) throws IOException;
+}
@@ -20,6 +20,7 @@
 
 package org.wso2.carbon.apimgt.core.dao;
 
+import org.wso2.carbon.apimgt.core.api.ResultHandler;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.APISubscriptionResults;
 import org.wso2.carbon.apimgt.core.models.Subscription;
@@ -27,7 +28,9 @@ import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationResult;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.CheckForNull;
 
 
@@ -67,6 +70,19 @@ public interface APISubscriptionDAO {
     List<SubscriptionValidationData> getAPISubscriptionsOfAPIForValidation(String apiContext, String apiVersion)
             throws APIMgtDAOException;
 
+    /**
+     * Retrieve the subscriptions of an API for validation, passing each to the handler as it is read
+     *
+     * @param apiContext Context of the API.
+     * @param apiVersion Version of the API.
+     * @param handler    Handler of the {@link SubscriptionValidationData} objects
+     * @throws APIMgtDAOException   If failed to get subscription validation data.
+     * @throws IOException          If the handler failed.
+     */
+    void getAPISubscriptionsOfAPIForValidation(String apiContext, String apiVersion,
+                                               ResultHandler<SubscriptionValidationData> handler)
+            throws APIMgtDAOException, IOException;
+
     /**
      * Retrieve the list of subscriptions of an Application
      *
@@ -86,6 +102,17 @@ public interface APISubscriptionDAO {
     @CheckForNull
     List<SubscriptionValidationData> getAPISubscriptionsOfAPIForValidation(int limit) throws APIMgtDAOException;
 
+    /**
+     * Retrieve all API Subscriptions for validation, passing each to the handler as it is read
+     *
+     * @param limit   Subscription Limit
+     * @param handler Handler of the {@link SubscriptionValidationData} objects
+     * @throws APIMgtDAOException   If failed to get subscriptions.
+     * @throws IOException          If the handler failed.
+     */
+    void getAPISubscriptionsOfAPIForValidation(int limit, ResultHandler<SubscriptionValidationData> handler)
+            throws APIMgtDAOException, IOException;
+
     /**
      * Retrieves all available API Subscriptions. This method supports result pagination and ensuring results
      * returned are those that belong to the specified username
@@ -153,6 +180,14 @@ public interface APISubscriptionDAO {
     void addAPISubscription(String uuid, String apiId, String appId, String tier, APIMgtConstants.SubscriptionStatus
             status) throws APIMgtDAOException;
 
+    /**
+     * Create a set of new Subscriptions in a single transaction
+     *
+     * @param subscriptions subscriptions to be created with their API, application, tier and status
+     * @throws APIMgtDAOException   If any of the subscriptions already exists or failed to add the subscriptions.
+     */
+    void addAPISubscriptions(List<Subscription> subscriptions) throws APIMgtDAOException;
+
     /**
      * Remove an existing API Subscription
      *
@@ -161,6 +196,14 @@ public interface APISubscriptionDAO {
      */
     void deleteAPISubscription(String subscriptionId) throws APIMgtDAOException;
 
+    /**
+     * Remove a set of existing API Subscriptions in a single transaction
+     *
+     * @param subscriptionIds The UUIDs of the API Subscriptions that need to be deleted
+     * @throws APIMgtDAOException   If failed to delete subscriptions.
+     */
+    void deleteAPISubscriptions(List<String> subscriptionIds) throws APIMgtDAOException;
+
 
     /**
      * Retrieve the number of subscriptions if a given API
@@ -188,6 +231,15 @@ public interface APISubscriptionDAO {
     void updateSubscriptionStatus(String subId, APIMgtConstants.SubscriptionStatus subStatus) throws
             APIMgtDAOException;
 
+    /**
+     * Update the status of a set of Subscriptions in a single transaction
+     *
+     * @param subscriptionStatuses New Subscription Status of each Subscription ID
+     * @throws APIMgtDAOException   If failed to update subscription statuses.
+     */
+    void updateSubscriptionStatuses(Map<String, APIMgtConstants.SubscriptionStatus> subscriptionStatuses)
+            throws APIMgtDAOException;
+
     /**
      * Update Subscription Policy
      *
@@ -197,6 +249,14 @@ public interface APISubscriptionDAO {
      */
     void updateSubscriptionPolicy(String subId, String policy) throws APIMgtDAOException;
 
+    /**
+     * Update the policy of a set of Subscriptions in a single transaction
+     *
+     * @param subscriptionPolicies New Subscription Policy of each Subscription ID
+     * @throws APIMgtDAOException   If failed to update subscription policies.
+     */
+    void updateSubscriptionPolicies(Map<String, String> subscriptionPolicies) throws APIMgtDAOException;
+
     /**
      * Validates a subscription
      *
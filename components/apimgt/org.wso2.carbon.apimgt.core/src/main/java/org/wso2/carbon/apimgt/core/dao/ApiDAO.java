@@ -25,6 +25,7 @@ import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.APILCWorkflowStatus;
 
 import java.io.InputStream;
@@ -66,19 +67,21 @@ public interface ApiDAO {
     String getLastUpdatedTimeOfAPI(String apiId) throws APIMgtDAOException;
 
     /**
-     * Retrieves the last updated time of the swagger definition of an API
+     * Retrieves the last updated time of the swagger definition of an API. The hash of the definition is returned
+     * instead when the definition is stored by its hash, so that it only changes along with the definition.
      *
      * @param apiId UUID of API
-     * @return Last updated time of Swagger definition given the uuid of API
+     * @return Last updated time or hash of Swagger definition given the uuid of API
      * @throws APIMgtDAOException
      */
     String getLastUpdatedTimeOfSwaggerDefinition(String apiId) throws APIMgtDAOException;
 
     /**
-     * Retrieves the last updated time of the gateway config of an API
+     * Retrieves the last updated time of the gateway config of an API. The hash of the config is returned instead
+     * when the config is stored by its hash, so that it only changes along with the config.
      *
      * @param apiId UUID of API
-     * @return Last updated time of gateway configuration given the uuid of API
+     * @return Last updated time or hash of gateway configuration given the uuid of API
      * @throws APIMgtDAOException
      */ 
     String getLastUpdatedTimeOfGatewayConfig(String apiId) throws APIMgtDAOException;
@@ -124,6 +127,60 @@ public interface ApiDAO {
      */
     List<API> getAPIsByStatus(Set<String> roles, List<String> statuses, ApiType apiType) throws APIMgtDAOException;
 
+    /**
+     * Retrieves a page of summary data of the APIs with life cycle status that matches the status list provided
+     * which has role based visibility, ordered by name and UUID. If the name and UUID of the last API of the
+     * previous page are given, the page is located by seeking to that position in the index instead of skipping
+     * the APIs of all the previous pages, and the offset is counted from that position.
+     *
+     * @param roles     role list of current user
+     * @param statuses  status of APIs to be returned
+     * @param apiType   Type of API
+     * @param afterName name of the last API of the previous page, or null to start from the first API
+     * @param afterId   UUID of the last API of the previous page, or null to start from the first API
+     * @param offset    number of APIs to skip
+     * @param limit     maximum number of APIs to return
+     * @return API list
+     * @throws APIMgtDAOException if failed to fetch APIs from database
+     */
+    List<API> getAPIsByStatus(Set<String> roles, List<String> statuses, ApiType apiType, String afterName,
+                              String afterId, int offset, int limit) throws APIMgtDAOException;
+
+    /**
+     * Retrieves a page of the store landing page, which lists the same APIs as
+     * {@link #getAPIsByStatus(Set, List, ApiType, String, String, int, int)} along with the last updated time of
+     * their thumbnail images, their ratings, subscription counts, tags and labels. The details of all the APIs of
+     * the page are loaded with one query per kind of detail. Pages are cached for a short time per set of roles.
+     *
+     * @param roles     role list of current user
+     * @param statuses  status of APIs to be returned
+     * @param apiType   Type of API
+     * @param afterName name of the last API of the previous page, or null to start from the first API
+     * @param afterId   UUID of the last API of the previous page, or null to start from the first API
+     * @param offset    number of APIs to skip
+     * @param limit     maximum number of APIs to return
+     * @return landing page entries of the APIs
+     * @throws APIMgtDAOException if failed to fetch APIs from database
+     */
+    List<LandingPageAPI> getLandingPageAPIs(Set<String> roles, List<String> statuses, ApiType apiType,
+                                            String afterName, String afterId, int offset, int limit)
+            throws APIMgtDAOException;
+
+    /**
+     * Estimates the number of APIs with life cycle status that matches the status list provided which has role
+     * based visibility. The APIs are counted exactly when the database estimates that there are only a few APIs.
+     * Otherwise the number of APIs estimated from the database statistics is scaled by the fraction of a bounded
+     * sample of the APIs which has the given statuses and is visible to the given roles, without scanning the table.
+     *
+     * @param roles    role list of current user
+     * @param statuses status of APIs to be counted
+     * @param apiType  Type of API
+     * @return estimated number of APIs
+     * @throws APIMgtDAOException if failed to count APIs in database
+     */
+    long getEstimatedAPICountByStatus(Set<String> roles, List<String> statuses, ApiType apiType)
+            throws APIMgtDAOException;
+
     /**
      * Retrieves summary of paginated data of all available APIs that match the given search criteria. This will use
      * the full text search for API table
@@ -234,7 +291,8 @@ public interface ApiDAO {
     String getSwaggerDefinition(String apiID) throws APIMgtDAOException;
 
     /**
-     * Get image of a given API
+     * Get image of a given API. The image may be streamed from the data store, so the returned stream must be
+     * closed once it has been read.
      * @param apiID The UUID of the respective API
      * @return Image stream
      * @throws APIMgtDAOException if error occurs while accessing data layer
@@ -282,6 +340,8 @@ public interface ApiDAO {
     DocumentInfo getDocumentInfo(String resourceID) throws APIMgtDAOException;
 
     /**
+     * Get the file content of a document. The content may be streamed from the data store, so the returned stream
+     * must be closed once it has been read.
      *
      * @param resourceID The UUID of the respective resource
      * @return {@link InputStream} Document File content
@@ -457,20 +517,22 @@ public interface ApiDAO {
     String getLastUpdatedTimeOfDocument(String documentId) throws APIMgtDAOException;
 
     /**
-     * Retrieves the last updated time of the content of a document of an API
+     * Retrieves the last updated time of the content of a document of an API. The hash of a file content is returned
+     * instead when the file is stored by its hash, so that it only changes along with the file.
      *
      * @param apiId UUID of API
      * @param documentId UUID of document
-     * @return  Last updated time of document's content
+     * @return  Last updated time or hash of document's content
      * @throws APIMgtDAOException throws if any DB level error occurred
      */
     String getLastUpdatedTimeOfDocumentContent(String apiId, String documentId) throws APIMgtDAOException;
 
     /**
-     * Retrieves the last updated time of the thumbnail image of an API
+     * Retrieves the last updated time of the thumbnail image of an API. The hash of the image is returned instead
+     * when the image is stored by its hash, so that it only changes along with the image.
      *
      * @param apiId UUID of API
-     * @return  Last updated time of document's content
+     * @return  Last updated time or hash of the thumbnail image
      * @throws APIMgtDAOException throws if any db level error occurred
      */
     String getLastUpdatedTimeOfAPIThumbnailImage(String apiId) throws APIMgtDAOException;
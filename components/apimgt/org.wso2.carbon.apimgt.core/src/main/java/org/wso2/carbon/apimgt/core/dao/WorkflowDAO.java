@@ -23,6 +23,8 @@ package org.wso2.carbon.apimgt.core.dao;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.Workflow;
 
+import java.util.List;
+
 /**
  * Provides access to the Workflow data layer
  */
@@ -40,6 +42,13 @@ public interface WorkflowDAO {
      * @throws APIMgtDAOException if API Manager core level exception occurred
      */
     void updateWorkflowStatus(Workflow workflow) throws APIMgtDAOException;    
+
+    /**
+     * Update a set of workflow entries with their statuses in a single transaction
+     * @param workflows workflow data
+     * @throws APIMgtDAOException if API Manager core level exception occurred
+     */
+    void updateWorkflowStatuses(List<? extends Workflow> workflows) throws APIMgtDAOException;
     
     /**
      * Returns a workflow object for a given external workflow reference.
@@ -20,9 +20,12 @@
 
 package org.wso2.carbon.apimgt.core.dao.impl;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.ResultHandler;
 import org.wso2.carbon.apimgt.core.dao.APISubscriptionDAO;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.APISubscriptionResults;
@@ -33,6 +36,7 @@ import org.wso2.carbon.apimgt.core.models.SubscriptionValidationResult;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.SubscriptionStatus;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -40,7 +44,12 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Default implementation of the APISubscriptionDAO interface. Uses SQL syntax that is common to H2 and MySQL DBs.
@@ -68,7 +77,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "FROM AM_SUBSCRIPTION SUBS, AM_API API, AM_APPLICATION APP, AM_SUBSCRIPTION_POLICY POLICY " +
                 "WHERE SUBS.UUID = ? AND SUBS.API_ID = API.UUID AND SUBS.APPLICATION_ID = APP.UUID AND " +
                 "SUBS.TIER_ID = POLICY.UUID";
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(getSubscriptionSql)) {
             ps.setString(1, subscriptionId);
             try (ResultSet rs = ps.executeQuery()) {
@@ -97,7 +106,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "FROM AM_SUBSCRIPTION SUBS, AM_APPLICATION APP, AM_SUBSCRIPTION_POLICY POLICY " +
                 "WHERE SUBS.API_ID = ? AND SUBS.APPLICATION_ID = APP.UUID AND SUBS.TIER_ID = POLICY.UUID " +
                 "AND SUBS.SUB_STATUS NOT IN (?,?)";
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(getSubscriptionsByAPISql)) {
             ps.setString(1, apiId);
             ps.setString(2, SubscriptionStatus.ON_HOLD.name());
@@ -127,7 +136,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "FROM AM_SUBSCRIPTION SUBS, AM_API API, AM_SUBSCRIPTION_POLICY POLICY  " +
                 "WHERE SUBS.APPLICATION_ID = ? AND SUBS.API_ID = API.UUID AND SUBS.TIER_ID = POLICY.UUID";
 
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(getSubscriptionsByAppSql)) {
             ps.setString(1, applicationId);
             try (ResultSet rs = ps.executeQuery()) {
@@ -156,7 +165,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "WHERE SUBS.APPLICATION_ID = ? AND SUBS.API_ID = API.UUID AND SUBS.TIER_ID = POLICY.UUID " +
                 "AND SUBS.SUB_STATUS=?";
 
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(getSubscriptionsByAppSql)) {
             ps.setString(1, applicationId);
             ps.setString(2, SubscriptionStatus.ON_HOLD.toString());
@@ -177,8 +186,29 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
      */
     @Override
     public List<SubscriptionValidationData> getAPISubscriptionsOfAPIForValidation(int limit) throws APIMgtDAOException {
+        List<SubscriptionValidationData> subscriptionList = new ArrayList<>();
+        try {
+            getAPISubscriptionsOfAPIForValidation(limit, subscriptionList::add);
+        } catch (IOException e) {
+            // not thrown by a list
+            throw new APIMgtDAOException(e);
+        }
+        return subscriptionList;
+    }
+
+    /**
+     * Retrieve all API Subscriptions for validation, passing each to the handler as it is read
+     *
+     * @param limit   Subscription Limit
+     * @param handler Handler of the {@link SubscriptionValidationData} objects
+     * @throws APIMgtDAOException   If failed to get subscriptions.
+     * @throws IOException          If the handler failed.
+     */
+    @Override
+    public void getAPISubscriptionsOfAPIForValidation(int limit, ResultHandler<SubscriptionValidationData> handler)
+            throws APIMgtDAOException, IOException {
         if (limit == 0) {
-            return new ArrayList<>();
+            return;
         }
         final String getSubscriptionsSql = "SELECT SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID, " +
                 "SUBS.SUB_STATUS AS SUB_STATUS, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
@@ -189,10 +219,10 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "AM_APP_KEY_MAPPING KEY_MAP " +
                 "WHERE SUBS.API_ID = API.UUID AND SUBS.APPLICATION_ID = APP.UUID AND SUBS.TIER_ID = POLICY.UUID AND " +
                 "KEY_MAP.APPLICATION_ID = SUBS.APPLICATION_ID";
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(getSubscriptionsSql)) {
             try (ResultSet rs = ps.executeQuery()) {
-                return createSubscriptionValidationDataFromResultSet(rs);
+                handleSubscriptionValidationData(rs, handler);
             }
         } catch (SQLException e) {
             log.error("Error while executing sql query", e);
@@ -211,6 +241,29 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     @Override
     public List<SubscriptionValidationData> getAPISubscriptionsOfAPIForValidation(String apiContext, String apiVersion)
             throws APIMgtDAOException {
+        List<SubscriptionValidationData> subscriptionList = new ArrayList<>();
+        try {
+            getAPISubscriptionsOfAPIForValidation(apiContext, apiVersion, subscriptionList::add);
+        } catch (IOException e) {
+            // not thrown by a list
+            throw new APIMgtDAOException(e);
+        }
+        return subscriptionList;
+    }
+
+    /**
+     * Retrieve the subscriptions of an API for validation, passing each to the handler as it is read
+     *
+     * @param apiContext    Context of the API
+     * @param apiVersion    Version of the API.
+     * @param handler       Handler of the {@link SubscriptionValidationData} objects
+     * @throws APIMgtDAOException   If failed to get subscriptions.
+     * @throws IOException          If the handler failed.
+     */
+    @Override
+    public void getAPISubscriptionsOfAPIForValidation(String apiContext, String apiVersion,
+                                                      ResultHandler<SubscriptionValidationData> handler)
+            throws APIMgtDAOException, IOException {
         final String getSubscriptionsByAPISql = "SELECT SUBS.API_ID AS API_ID, SUBS.APPLICATION_ID AS APP_ID, " +
                 "SUBS.SUB_STATUS AS SUB_STATUS, API.PROVIDER AS API_PROVIDER, API.NAME AS API_NAME, " +
                 "API.CONTEXT AS API_CONTEXT, API.VERSION AS API_VERSION, APP.NAME AS APP_NAME, " +
@@ -220,12 +273,12 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "AM_APP_KEY_MAPPING KEY_MAP " +
                 "WHERE SUBS.API_ID = API.UUID AND SUBS.APPLICATION_ID = APP.UUID AND SUBS.TIER_ID = POLICY.UUID AND " +
                 "KEY_MAP.APPLICATION_ID = SUBS.APPLICATION_ID AND API.CONTEXT = ? AND API.VERSION = ?";
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(getSubscriptionsByAPISql)) {
             ps.setString(1, apiContext);
             ps.setString(2, apiVersion);
             try (ResultSet rs = ps.executeQuery()) {
-                return createSubscriptionValidationDataFromResultSet(rs);
+                handleSubscriptionValidationData(rs, handler);
             }
         } catch (SQLException e) {
             log.error("Error while executing sql query", e);
@@ -256,7 +309,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "WHERE  SUBS.APPLICATION_ID = APP.UUID AND SUBS.TIER_ID = POLICY.UUID " +
                 "AND API.UUID = SUBS.API_ID AND API.PROVIDER = ? " +
                 "AND SUBS.SUB_STATUS NOT IN (?,?)";
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(getSubscriptionsByAPISql)) {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
@@ -350,6 +403,31 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         }
     }
 
+    /**
+     * Create a set of new Subscriptions in a single transaction
+     *
+     * @param subscriptions subscriptions to be created with their API, application, tier and status
+     * @throws APIMgtDAOException   If any of the subscriptions already exists or failed to add the subscriptions.
+     */
+    @Override
+    public void addAPISubscriptions(List<Subscription> subscriptions) throws APIMgtDAOException {
+        try (Connection conn = DAOUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                createSubscriptions(subscriptions, conn);
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw new APIMgtDAOException(ex);
+            } finally {
+                conn.setAutoCommit(DAOUtil.isAutoCommit());
+            }
+        } catch (SQLException e) {
+            log.error("Error while executing sql query", e);
+            throw new APIMgtDAOException(e);
+        }
+    }
+
     /**
      * Remove an existing API Subscription
      *
@@ -366,6 +444,40 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 ps.setString(1, subscriptionId);
                 ps.execute();
                 conn.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.SUBSCRIPTION, subscriptionId);
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw new APIMgtDAOException(ex);
+            } finally {
+                conn.setAutoCommit(originalAutoCommitState);
+            }
+        } catch (SQLException e) {
+            log.error("Error while executing sql query", e);
+            throw new APIMgtDAOException(e);
+        }
+    }
+
+    /**
+     * Remove a set of existing API Subscriptions in a single transaction
+     *
+     * @param subscriptionIds The UUIDs of the API Subscriptions that need to be deleted
+     * @throws APIMgtDAOException   If failed to delete subscriptions.
+     */
+    @Override
+    public void deleteAPISubscriptions(List<String> subscriptionIds) throws APIMgtDAOException {
+        final String deleteSubscriptionSql = "DELETE FROM AM_SUBSCRIPTION WHERE UUID = ? ";
+        try (Connection conn = DAOUtil.getConnection()) {
+            boolean originalAutoCommitState = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(deleteSubscriptionSql)) {
+                int rowCount = 0;
+                for (String subscriptionId : subscriptionIds) {
+                    ps.setString(1, subscriptionId);
+                    DAOUtil.addBatch(ps, ++rowCount);
+                }
+                ps.executeBatch();
+                conn.commit();
+                invalidateSubscriptionVersions(subscriptionIds);
             } catch (SQLException ex) {
                 conn.rollback();
                 throw new APIMgtDAOException(ex);
@@ -411,14 +523,30 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
      */
     @Override
     public void copySubscriptions(List<Subscription> subscriptionList) throws APIMgtDAOException {
+        addAPISubscriptions(subscriptionList);
+    }
+
+    /**
+     * Update Subscription Status
+     *
+     * @param subId     ID of the Subscription
+     * @param subStatus New Subscription Status
+     * @throws APIMgtDAOException   If failed to update subscriptions.
+     */
+    @Override
+    public void updateSubscriptionStatus(String subId, APIMgtConstants.SubscriptionStatus subStatus)
+            throws APIMgtDAOException {
+        final String updateSubscriptionSql = "UPDATE AM_SUBSCRIPTION SET SUB_STATUS = ?, LAST_UPDATED_TIME = ? "
+                + "WHERE UUID = ?";
         try (Connection conn = DAOUtil.getConnection()) {
             conn.setAutoCommit(false);
-            try {
-                for (Subscription subscription : subscriptionList) {
-                    createSubscription(subscription.getApi().getId(), subscription.getApplication().getId(),
-                            subscription.getId(), subscription.getSubscriptionTier(), subscription.getStatus(), conn);
-                }
+            try (PreparedStatement preparedStatement = conn.prepareStatement(updateSubscriptionSql)) {
+                preparedStatement.setString(1, subStatus.toString());
+                preparedStatement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                preparedStatement.setString(3, subId);
+                preparedStatement.execute();
                 conn.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.SUBSCRIPTION, subId);
             } catch (SQLException ex) {
                 conn.rollback();
                 throw new APIMgtDAOException(ex);
@@ -432,25 +560,31 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
     }
 
     /**
-     * Update Subscription Status
+     * Update the status of a set of Subscriptions in a single transaction
      *
-     * @param subId     ID of the Subscription
-     * @param subStatus New Subscription Status
+     * @param subscriptionStatuses New Subscription Status of each Subscription ID
      * @throws APIMgtDAOException   If failed to update subscriptions.
      */
     @Override
-    public void updateSubscriptionStatus(String subId, APIMgtConstants.SubscriptionStatus subStatus)
+    public void updateSubscriptionStatuses(Map<String, APIMgtConstants.SubscriptionStatus> subscriptionStatuses)
             throws APIMgtDAOException {
         final String updateSubscriptionSql = "UPDATE AM_SUBSCRIPTION SET SUB_STATUS = ?, LAST_UPDATED_TIME = ? "
                 + "WHERE UUID = ?";
         try (Connection conn = DAOUtil.getConnection()) {
             conn.setAutoCommit(false);
             try (PreparedStatement preparedStatement = conn.prepareStatement(updateSubscriptionSql)) {
-                preparedStatement.setString(1, subStatus.toString());
-                preparedStatement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
-                preparedStatement.setString(3, subId);
-                preparedStatement.execute();
+                Timestamp updatedTime = Timestamp.valueOf(LocalDateTime.now());
+                int rowCount = 0;
+                for (Map.Entry<String, APIMgtConstants.SubscriptionStatus> subscriptionStatus :
+                        subscriptionStatuses.entrySet()) {
+                    preparedStatement.setString(1, subscriptionStatus.getValue().toString());
+                    preparedStatement.setTimestamp(2, updatedTime);
+                    preparedStatement.setString(3, subscriptionStatus.getKey());
+                    DAOUtil.addBatch(preparedStatement, ++rowCount);
+                }
+                preparedStatement.executeBatch();
                 conn.commit();
+                invalidateSubscriptionVersions(subscriptionStatuses.keySet());
             } catch (SQLException ex) {
                 conn.rollback();
                 throw new APIMgtDAOException(ex);
@@ -468,7 +602,8 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
      */
     @Override
     public String getLastUpdatedTimeOfSubscription(String subscriptionId) throws APIMgtDAOException {
-        return EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_SUBSCRIPTION_TABLE_NAME, subscriptionId);
+        return ResourceVersionCache.getInstance().get(ResourceType.SUBSCRIPTION, subscriptionId,
+                () -> EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_SUBSCRIPTION_TABLE_NAME, subscriptionId));
     }
 
     /**
@@ -489,6 +624,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 preparedStatement.setString(2, subId);
                 preparedStatement.execute();
                 conn.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.SUBSCRIPTION, subId);
             } catch (SQLException ex) {
                 conn.rollback();
                 throw new APIMgtDAOException(ex);
@@ -501,6 +637,48 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         }
     }
 
+    /**
+     * Update the policy of a set of Subscriptions in a single transaction
+     *
+     * @param subscriptionPolicies New Subscription Policy of each Subscription ID
+     * @throws APIMgtDAOException   If failed to update subscriptions.
+     */
+    @Override
+    public void updateSubscriptionPolicies(Map<String, String> subscriptionPolicies) throws APIMgtDAOException {
+        final String updateSubscriptionSql = "UPDATE AM_SUBSCRIPTION SET TIER_ID = " +
+                "(SELECT UUID FROM AM_SUBSCRIPTION_POLICY WHERE NAME = ?), LAST_UPDATED_TIME = ? WHERE UUID = ?";
+        try (Connection conn = DAOUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = conn.prepareStatement(updateSubscriptionSql)) {
+                Timestamp updatedTime = Timestamp.valueOf(LocalDateTime.now());
+                int rowCount = 0;
+                for (Map.Entry<String, String> subscriptionPolicy : subscriptionPolicies.entrySet()) {
+                    preparedStatement.setString(1, subscriptionPolicy.getValue());
+                    preparedStatement.setTimestamp(2, updatedTime);
+                    preparedStatement.setString(3, subscriptionPolicy.getKey());
+                    DAOUtil.addBatch(preparedStatement, ++rowCount);
+                }
+                preparedStatement.executeBatch();
+                conn.commit();
+                invalidateSubscriptionVersions(subscriptionPolicies.keySet());
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw new APIMgtDAOException(ex);
+            } finally {
+                conn.setAutoCommit(DAOUtil.isAutoCommit());
+            }
+        } catch (SQLException e) {
+            log.error("Error while executing sql query", e);
+            throw new APIMgtDAOException(e);
+        }
+    }
+
+    private static void invalidateSubscriptionVersions(Collection<String> subscriptionIds) {
+        for (String subscriptionId : subscriptionIds) {
+            ResourceVersionCache.getInstance().invalidate(ResourceType.SUBSCRIPTION, subscriptionId);
+        }
+    }
+
     /**
      * Validates a subscription
      *
@@ -521,7 +699,7 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
                 "AND APP.AND SUBS.API_ID = API.UUID AND SUBS.APPLICATION_ID = APP.UUID " +
                 "AND SUBS.TIER_ID = POLICY.UUID AND KEYS.APPLICATION_ID = APP.UUID";
         SubscriptionValidationResult validationInfo = new SubscriptionValidationResult(false);
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(validateSubscriptionSql)) {
             ps.setString(1, apiContext);
             ps.setString(2, apiVersion);
@@ -548,29 +726,19 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
         return validationInfo;
     }
 
-    private List<SubscriptionValidationData> createSubscriptionValidationDataFromResultSet(ResultSet rs)
-            throws APIMgtDAOException {
-        List<SubscriptionValidationData> subscriptionList = new ArrayList<>();
-        if (rs == null) {
-            return new ArrayList<>();
+    private void handleSubscriptionValidationData(ResultSet rs, ResultHandler<SubscriptionValidationData> handler)
+            throws SQLException, IOException {
+        while (rs.next()) {
+            SubscriptionValidationData subValidationData = new SubscriptionValidationData(
+                    rs.getString("API_CONTEXT"), rs.getString("API_VERSION"), rs.getString("CLIENT_ID"));
+            subValidationData.setSubscriptionPolicy(rs.getString("SUBS_POLICY"));
+            subValidationData.setApiName(rs.getString("API_NAME"));
+            subValidationData.setApiProvider(rs.getString("API_PROVIDER"));
+            subValidationData.setApplicationName(rs.getString("APP_NAME"));
+            subValidationData.setApplicationOwner(rs.getString("APP_OWNER"));
+            subValidationData.setKeyEnvType(rs.getString("KEY_ENV_TYPE"));
+            handler.handle(subValidationData);
         }
-        try {
-            while (rs.next()) {
-                SubscriptionValidationData subValidationData = new SubscriptionValidationData(
-                        rs.getString("API_CONTEXT"), rs.getString("API_VERSION"), rs.getString("CLIENT_ID"));
-                subValidationData.setSubscriptionPolicy(rs.getString("SUBS_POLICY"));
-                subValidationData.setApiName(rs.getString("API_NAME"));
-                subValidationData.setApiProvider(rs.getString("API_PROVIDER"));
-                subValidationData.setApplicationName(rs.getString("APP_NAME"));
-                subValidationData.setApplicationOwner(rs.getString("APP_OWNER"));
-                subValidationData.setKeyEnvType(rs.getString("KEY_ENV_TYPE"));
-                subscriptionList.add(subValidationData);
-            }
-        } catch (SQLException e) {
-            log.error("Error while executing sql query", e);
-            throw new APIMgtDAOException(e);
-        }
-        return subscriptionList;
     }
 
     private List<Subscription> createSubscriptionsFromResultSet(ResultSet rs) throws APIMgtDAOException {
@@ -697,4 +865,80 @@ public class APISubscriptionDAOImpl implements APISubscriptionDAO {
             ps.execute();
         }
     }
+
+    /**
+     * Insert a set of subscriptions in batches. Existing subscriptions are looked up with one query per
+     * {@value ApiAggregateLoader#MAX_IN_LIST_SIZE} subscriptions instead of one query per subscription.
+     */
+    private void createSubscriptions(List<Subscription> subscriptions, Connection conn)
+            throws APIMgtDAOException, SQLException {
+        for (int from = 0; from < subscriptions.size(); from += ApiAggregateLoader.MAX_IN_LIST_SIZE) {
+            checkExistingSubscriptions(subscriptions.subList(from,
+                    Math.min(subscriptions.size(), from + ApiAggregateLoader.MAX_IN_LIST_SIZE)), conn);
+        }
+
+        final String addSubscriptionSql = "INSERT INTO AM_SUBSCRIPTION (UUID, TIER_ID, API_ID, APPLICATION_ID," +
+                "SUB_STATUS, CREATED_TIME) VALUES (?,(SELECT UUID FROM AM_SUBSCRIPTION_POLICY WHERE NAME = ?),?,?,?,?)";
+        try (PreparedStatement ps = conn.prepareStatement(addSubscriptionSql)) {
+            Timestamp createdTime = Timestamp.valueOf(LocalDateTime.now());
+            int rowCount = 0;
+            for (Subscription subscription : subscriptions) {
+                SubscriptionStatus status = subscription.getStatus();
+                ps.setString(1, subscription.getId());
+                ps.setString(2, subscription.getSubscriptionTier());
+                ps.setString(3, subscription.getApi().getId());
+                ps.setString(4, subscription.getApplication().getId());
+                ps.setString(5, status != null ? status.toString() : SubscriptionStatus.ACTIVE.toString());
+                ps.setTimestamp(6, createdTime);
+                DAOUtil.addBatch(ps, ++rowCount);
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private void checkExistingSubscriptions(List<Subscription> subscriptions, Connection conn)
+            throws APIMgtDAOException, SQLException {
+        Set<String> apiIds = new HashSet<>();
+        Set<String> appIds = new HashSet<>();
+        for (Subscription subscription : subscriptions) {
+            apiIds.add(subscription.getApi().getId());
+            appIds.add(subscription.getApplication().getId());
+        }
+        final String checkExistingSubscriptionSql = "SELECT API_ID, APPLICATION_ID FROM AM_SUBSCRIPTION "
+                + "WHERE API_ID IN (" + DAOUtil.getParameterString(apiIds.size()) + ") AND APPLICATION_ID IN ("
+                + DAOUtil.getParameterString(appIds.size()) + ")";
+        // Subscriptions requested twice in the same set are reported like the ones in the database
+        Set<List<String>> existingSubscriptions = new HashSet<>();
+        Set<List<String>> requestedSubscriptions = new HashSet<>();
+        for (Subscription subscription : subscriptions) {
+            List<String> key = Arrays.asList(subscription.getApi().getId(), subscription.getApplication().getId());
+            if (!requestedSubscriptions.add(key)) {
+                existingSubscriptions.add(key);
+            }
+        }
+        try (PreparedStatement ps = conn.prepareStatement(checkExistingSubscriptionSql)) {
+            int index = 0;
+            for (String apiId : apiIds) {
+                ps.setString(++index, apiId);
+            }
+            for (String appId : appIds) {
+                ps.setString(++index, appId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    existingSubscriptions.add(Arrays.asList(rs.getString("API_ID"), rs.getString("APPLICATION_ID")));
+                }
+            }
+        }
+        for (Subscription subscription : subscriptions) {
+            String apiId = subscription.getApi().getId();
+            String appId = subscription.getApplication().getId();
+            if (existingSubscriptions.contains(Arrays.asList(apiId, appId))) {
+                throw new APIMgtDAOException("Subscription already exists for API " +
+                        DAOFactory.getApiDAO().getAPI(apiId).getName() + " in Application " +
+                        DAOFactory.getApplicationDAO().getApplication(appId).getName());
+            }
+        }
+    }
 }
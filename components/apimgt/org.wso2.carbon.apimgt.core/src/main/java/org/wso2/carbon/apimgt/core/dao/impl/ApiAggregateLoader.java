@@ -0,0 +1,380 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.wso2.carbon.apimgt.core.dao.ApiType;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.BusinessInformation;
+import org.wso2.carbon.apimgt.core.models.CorsConfiguration;
+import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
+import org.wso2.carbon.apimgt.core.models.ResourceCategory;
+import org.wso2.carbon.apimgt.core.models.UriTemplate;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads complete API aggregates for one or more APIs with a fixed number of queries. Every child collection of the
+ * requested APIs (visible roles, tags, labels, WSDL URI, transports, endpoints, URI templates and subscription
+ * policies) is fetched with a single IN-list query and stitched to its API in memory, instead of issuing separate
+ * queries per API and per operation.
+ * <p>
+ * The details shown for a page of APIs on the store landing page (thumbnail image, ratings, subscription count, tags
+ * and labels) are loaded in the same way.
+ */
+class ApiAggregateLoader {
+    /**
+     * Maximum number of bind parameters used in a single IN-list, kept below the limits of the supported databases
+     */
+    static final int MAX_IN_LIST_SIZE = 500;
+
+    private static final String VISIBLE_ROLES_SELECT = "SELECT API_ID, ROLE FROM AM_API_VISIBLE_ROLES WHERE API_ID IN ";
+
+    private static final String TAGS_SELECT = "SELECT AM_API_TAG_MAPPING.API_ID, AM_TAGS.NAME FROM " +
+            "AM_API_TAG_MAPPING INNER JOIN AM_TAGS ON AM_API_TAG_MAPPING.TAG_ID = AM_TAGS.TAG_ID " +
+            "WHERE AM_API_TAG_MAPPING.API_ID IN ";
+
+    private static final String LABELS_SELECT = "SELECT AM_API_LABEL_MAPPING.API_ID, AM_LABELS.NAME FROM " +
+            "AM_API_LABEL_MAPPING INNER JOIN AM_LABELS ON AM_API_LABEL_MAPPING.LABEL_ID = AM_LABELS.LABEL_ID " +
+            "WHERE AM_API_LABEL_MAPPING.API_ID IN ";
+
+    private static final String TEXT_RESOURCE_SELECT = "SELECT AM_API_RESOURCES.API_ID, " +
+            "AM_API_RESOURCES.RESOURCE_TEXT_VALUE FROM AM_API_RESOURCES INNER JOIN AM_RESOURCE_CATEGORIES ON " +
+            "AM_API_RESOURCES.RESOURCE_CATEGORY_ID = AM_RESOURCE_CATEGORIES.RESOURCE_CATEGORY_ID " +
+            "WHERE AM_RESOURCE_CATEGORIES.RESOURCE_CATEGORY = ? AND AM_API_RESOURCES.API_ID IN ";
+
+    private static final String TRANSPORTS_SELECT = "SELECT API_ID, TRANSPORT FROM AM_API_TRANSPORTS WHERE API_ID IN ";
+
+    private static final String API_ENDPOINTS_SELECT = "SELECT AM_API_ENDPOINT_MAPPING.API_ID, AM_ENDPOINT.UUID, " +
+            "AM_ENDPOINT.NAME, AM_ENDPOINT.SECURITY_CONFIGURATION, AM_ENDPOINT.APPLICABLE_LEVEL, " +
+            "AM_ENDPOINT.ENDPOINT_CONFIGURATION, AM_ENDPOINT.TPS, AM_ENDPOINT.TYPE, " +
+            "AM_API_ENDPOINT_MAPPING.TYPE AS ENDPOINT_LEVEL FROM AM_API_ENDPOINT_MAPPING INNER JOIN AM_ENDPOINT " +
+            "ON AM_API_ENDPOINT_MAPPING.ENDPOINT_ID = AM_ENDPOINT.UUID WHERE AM_API_ENDPOINT_MAPPING.API_ID IN ";
+
+    private static final String OPERATION_ENDPOINTS_SELECT = "SELECT AM_API_RESOURCE_ENDPOINT.API_ID, " +
+            "AM_API_RESOURCE_ENDPOINT.OPERATION_ID, AM_ENDPOINT.UUID, AM_ENDPOINT.NAME, " +
+            "AM_ENDPOINT.SECURITY_CONFIGURATION, AM_ENDPOINT.APPLICABLE_LEVEL, AM_ENDPOINT.ENDPOINT_CONFIGURATION, " +
+            "AM_ENDPOINT.TPS, AM_ENDPOINT.TYPE, AM_API_RESOURCE_ENDPOINT.TYPE AS ENDPOINT_LEVEL FROM " +
+            "AM_API_RESOURCE_ENDPOINT INNER JOIN AM_ENDPOINT ON AM_API_RESOURCE_ENDPOINT.ENDPOINT_ID = " +
+            "AM_ENDPOINT.UUID WHERE AM_API_RESOURCE_ENDPOINT.API_ID IN ";
+
+    private static final String URI_TEMPLATES_SELECT = "SELECT AM_API_OPERATION_MAPPING.OPERATION_ID, " +
+            "AM_API_OPERATION_MAPPING.API_ID, AM_API_OPERATION_MAPPING.HTTP_METHOD, " +
+            "AM_API_OPERATION_MAPPING.URL_PATTERN, AM_API_OPERATION_MAPPING.AUTH_SCHEME, " +
+            "AM_API_OPERATION_MAPPING.API_POLICY_ID, AM_API_POLICY.NAME AS POLICY_NAME FROM " +
+            "AM_API_OPERATION_MAPPING LEFT JOIN AM_API_POLICY ON AM_API_OPERATION_MAPPING.API_POLICY_ID = " +
+            "AM_API_POLICY.UUID WHERE AM_API_OPERATION_MAPPING.API_ID IN ";
+
+    private static final String SUBSCRIPTION_POLICIES_SELECT = "SELECT AM_API_SUBS_POLICY_MAPPING.API_ID, " +
+            "AM_SUBSCRIPTION_POLICY.NAME FROM AM_API_SUBS_POLICY_MAPPING INNER JOIN AM_SUBSCRIPTION_POLICY ON " +
+            "AM_API_SUBS_POLICY_MAPPING.SUBSCRIPTION_POLICY_ID = AM_SUBSCRIPTION_POLICY.UUID " +
+            "WHERE AM_API_SUBS_POLICY_MAPPING.API_ID IN ";
+
+    private static final String RESOURCE_LAST_UPDATED_TIME_SELECT = "SELECT AM_API_RESOURCES.API_ID, " +
+            "AM_API_RESOURCES.LAST_UPDATED_TIME FROM AM_API_RESOURCES INNER JOIN AM_RESOURCE_CATEGORIES ON " +
+            "AM_API_RESOURCES.RESOURCE_CATEGORY_ID = AM_RESOURCE_CATEGORIES.RESOURCE_CATEGORY_ID " +
+            "WHERE AM_RESOURCE_CATEGORIES.RESOURCE_CATEGORY = ? AND AM_API_RESOURCES.API_ID IN ";
+
+    private static final String RATINGS_SELECT = "SELECT API_ID, COUNT(RATING) AS RATING_COUNT, " +
+            "SUM(RATING) AS RATING_SUM FROM AM_API_RATINGS WHERE API_ID IN ";
+
+    private static final String SUBSCRIPTION_COUNTS_SELECT = "SELECT API_ID, COUNT(*) AS SUBSCRIPTION_COUNT " +
+            "FROM AM_SUBSCRIPTION WHERE API_ID IN ";
+
+    private static final String GROUP_BY_API_ID = " GROUP BY API_ID";
+
+    private static final String API_TYPES_SELECT = "SELECT TYPE_ID, TYPE_NAME FROM AM_API_TYPES";
+
+    private final Connection connection;
+
+    ApiAggregateLoader(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Load the APIs with the given IDs. IDs which do not match an API are ignored.
+     *
+     * @param apiIDs UUIDs of the APIs to load
+     * @return APIs in the order of the given IDs
+     * @throws SQLException if a query fails or the stored data is inconsistent
+     * @throws IOException  if an endpoint configuration cannot be read
+     */
+    List<API> loadAPIs(List<String> apiIDs) throws SQLException, IOException {
+        List<API> apis = new ArrayList<>(apiIDs.size());
+        for (int from = 0; from < apiIDs.size(); from += MAX_IN_LIST_SIZE) {
+            List<String> chunk = apiIDs.subList(from, Math.min(apiIDs.size(), from + MAX_IN_LIST_SIZE));
+            Map<String, Aggregate> aggregates = loadChunk(chunk);
+            for (String apiID : chunk) {
+                Aggregate aggregate = aggregates.get(apiID);
+                if (aggregate != null) {
+                    apis.add(aggregate.apiBuilder.build());
+                }
+            }
+        }
+        return apis;
+    }
+
+    /**
+     * Load the details shown on the store landing page for the given APIs
+     *
+     * @param apis summaries of the APIs
+     * @return landing page entries of the APIs, in the order of the given summaries
+     * @throws SQLException if a query fails
+     * @throws IOException  if a row of the details cannot be read
+     */
+    List<LandingPageAPI> loadLandingPageAPIs(List<API> apis) throws SQLException, IOException {
+        List<LandingPageAPI> landingPageAPIs = new ArrayList<>(apis.size());
+        for (int from = 0; from < apis.size(); from += MAX_IN_LIST_SIZE) {
+            List<API> chunk = apis.subList(from, Math.min(apis.size(), from + MAX_IN_LIST_SIZE));
+            Map<String, LandingPageDetails> details = new LinkedHashMap<>();
+            for (API api : chunk) {
+                details.put(api.getId(), new LandingPageDetails());
+            }
+
+            List<String> apiIDs = new ArrayList<>(details.keySet());
+            query(RESOURCE_LAST_UPDATED_TIME_SELECT, ResourceCategory.IMAGE.toString(), apiIDs, "",
+                    rs -> details.get(rs.getString("API_ID")).thumbnailLastUpdatedTime =
+                            rs.getString("LAST_UPDATED_TIME"));
+            query(RATINGS_SELECT, null, apiIDs, GROUP_BY_API_ID, rs -> {
+                LandingPageDetails apiDetails = details.get(rs.getString("API_ID"));
+                apiDetails.ratingCount = rs.getInt("RATING_COUNT");
+                apiDetails.ratingSum = rs.getLong("RATING_SUM");
+            });
+            query(SUBSCRIPTION_COUNTS_SELECT, null, apiIDs, GROUP_BY_API_ID,
+                    rs -> details.get(rs.getString("API_ID")).subscriptionCount = rs.getLong("SUBSCRIPTION_COUNT"));
+            query(TAGS_SELECT, null, apiIDs,
+                    rs -> details.get(rs.getString("API_ID")).tags.add(rs.getString("NAME")));
+            query(LABELS_SELECT, null, apiIDs,
+                    rs -> details.get(rs.getString("API_ID")).labels.add(rs.getString("NAME")));
+
+            for (API api : chunk) {
+                LandingPageDetails apiDetails = details.get(api.getId());
+                landingPageAPIs.add(new LandingPageAPI(api, apiDetails.thumbnailLastUpdatedTime,
+                        apiDetails.ratingCount, apiDetails.ratingSum, apiDetails.subscriptionCount, apiDetails.tags,
+                        apiDetails.labels));
+            }
+        }
+        return landingPageAPIs;
+    }
+
+    private Map<String, Aggregate> loadChunk(List<String> apiIDs) throws SQLException, IOException {
+        Map<String, Aggregate> aggregates = new LinkedHashMap<>();
+        query(ApiDAOImpl.API_SELECT + " WHERE UUID IN ", null, apiIDs, rs -> {
+            Aggregate aggregate = new Aggregate(constructAPIBuilder(rs), rs.getInt("API_TYPE_ID"));
+            aggregates.put(aggregate.apiId, aggregate);
+        });
+        if (aggregates.isEmpty()) {
+            return aggregates;
+        }
+
+        List<String> foundIDs = new ArrayList<>(aggregates.keySet());
+        query(VISIBLE_ROLES_SELECT, null, foundIDs,
+                rs -> aggregates.get(rs.getString("API_ID")).visibleRoles.add(rs.getString("ROLE")));
+        query(TAGS_SELECT, null, foundIDs,
+                rs -> aggregates.get(rs.getString("API_ID")).tags.add(rs.getString("NAME")));
+        query(LABELS_SELECT, null, foundIDs,
+                rs -> aggregates.get(rs.getString("API_ID")).labels.add(rs.getString("NAME")));
+        query(TEXT_RESOURCE_SELECT, ResourceCategory.WSDL_URI.toString(), foundIDs,
+                rs -> aggregates.get(rs.getString("API_ID")).apiBuilder.wsdlUri(rs.getString("RESOURCE_TEXT_VALUE")));
+        query(TRANSPORTS_SELECT, null, foundIDs,
+                rs -> aggregates.get(rs.getString("API_ID")).transports.add(rs.getString("TRANSPORT")));
+        query(API_ENDPOINTS_SELECT, null, foundIDs, rs -> {
+            Endpoint endpoint = ApiDAOImpl.constructEndPointDetails(rs);
+            if (APIMgtConstants.GLOBAL_ENDPOINT.equals(endpoint.getApplicableLevel())) {
+                endpoint = new Endpoint.Builder().id(endpoint.getId())
+                        .applicableLevel(APIMgtConstants.GLOBAL_ENDPOINT).build();
+            }
+            aggregates.get(rs.getString("API_ID")).endpoints.put(rs.getString("ENDPOINT_LEVEL"), endpoint);
+        });
+        query(OPERATION_ENDPOINTS_SELECT, null, foundIDs, rs -> {
+            Endpoint endpoint = ApiDAOImpl.constructEndPointDetails(rs);
+            if (APIMgtConstants.API_SPECIFIC_ENDPOINT.equals(endpoint.getApplicableLevel())) {
+                endpoint = new Endpoint.Builder().id(endpoint.getId())
+                        .applicableLevel(endpoint.getApplicableLevel()).build();
+            }
+            aggregates.get(rs.getString("API_ID")).operationEndpoints
+                    .computeIfAbsent(rs.getString("OPERATION_ID"), operationId -> new HashMap<>())
+                    .put(rs.getString("ENDPOINT_LEVEL"), endpoint);
+        });
+        query(URI_TEMPLATES_SELECT, null, foundIDs, rs -> {
+            String policyName = rs.getString("POLICY_NAME");
+            if (policyName == null) {
+                throw new SQLException("API Policy ID " + rs.getString("API_POLICY_ID") + ", does not exist");
+            }
+            Aggregate aggregate = aggregates.get(rs.getString("API_ID"));
+            String operationId = rs.getString("OPERATION_ID");
+            Map<String, Endpoint> endpoints = aggregate.operationEndpoints.get(operationId);
+            UriTemplate uriTemplate = new UriTemplate.UriTemplateBuilder()
+                    .uriTemplate(rs.getString("URL_PATTERN")).authType(rs.getString("AUTH_SCHEME"))
+                    .httpVerb(rs.getString("HTTP_METHOD")).policy(policyName).templateId(operationId)
+                    .endpoint(endpoints == null ? new HashMap<>() : endpoints).build();
+            aggregate.uriTemplates.put(uriTemplate.getTemplateId(), uriTemplate);
+        });
+        query(SUBSCRIPTION_POLICIES_SELECT, null, foundIDs,
+                rs -> aggregates.get(rs.getString("API_ID")).policies.add(rs.getString("NAME")));
+
+        Map<Integer, ApiType> apiTypes = getApiTypes();
+        for (Aggregate aggregate : aggregates.values()) {
+            ApiType apiType = apiTypes.get(aggregate.apiTypeId);
+            if (apiType == null) {
+                throw new SQLException("API Type Id " + aggregate.apiTypeId + " does not exist");
+            }
+            aggregate.apiBuilder.apiType(apiType);
+        }
+        return aggregates;
+    }
+
+    private Map<Integer, ApiType> getApiTypes() throws SQLException {
+        Map<Integer, ApiType> apiTypes = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(API_TYPES_SELECT);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                apiTypes.put(rs.getInt("TYPE_ID"), ApiType.valueOf(rs.getString("TYPE_NAME")));
+            }
+        }
+        return apiTypes;
+    }
+
+    /**
+     * Run a query which ends with an IN-list on the API ID, optionally preceded by a single string parameter
+     */
+    private void query(String queryPrefix, String firstParameter, Collection<String> apiIDs, RowHandler rowHandler)
+            throws SQLException, IOException {
+        query(queryPrefix, firstParameter, apiIDs, "", rowHandler);
+    }
+
+    /**
+     * Run a query with an IN-list on the API ID followed by the given suffix, optionally preceded by a single string
+     * parameter
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private void query(String queryPrefix, String firstParameter, Collection<String> apiIDs, String querySuffix,
+                       RowHandler rowHandler) throws SQLException, IOException {
+        final String query = queryPrefix + "(" + DAOUtil.getParameterString(apiIDs.size()) + ")" + querySuffix;
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int index = 1;
+            if (firstParameter != null) {
+                statement.setString(index++, firstParameter);
+            }
+            for (String apiID : apiIDs) {
+                statement.setString(index++, apiID);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rowHandler.handle(rs);
+                }
+            }
+        }
+    }
+
+    private static API.APIBuilder constructAPIBuilder(ResultSet rs) throws SQLException {
+        BusinessInformation businessInformation = new BusinessInformation();
+        businessInformation.setTechnicalOwner(rs.getString("TECHNICAL_OWNER"));
+        businessInformation.setTechnicalOwnerEmail(rs.getString("TECHNICAL_EMAIL"));
+        businessInformation.setBusinessOwner(rs.getString("BUSINESS_OWNER"));
+        businessInformation.setBusinessOwnerEmail(rs.getString("BUSINESS_EMAIL"));
+
+        CorsConfiguration corsConfiguration = new CorsConfiguration();
+        corsConfiguration.setEnabled(rs.getBoolean("CORS_ENABLED"));
+        corsConfiguration.setAllowOrigins(DAOUtil.commaSeperatedStringToList(rs.getString("CORS_ALLOW_ORIGINS")));
+        corsConfiguration.setAllowCredentials(rs.getBoolean("CORS_ALLOW_CREDENTIALS"));
+        corsConfiguration.setAllowHeaders(DAOUtil.commaSeperatedStringToList(rs.getString("CORS_ALLOW_HEADERS")));
+        corsConfiguration.setAllowMethods(DAOUtil.commaSeperatedStringToList(rs.getString("CORS_ALLOW_METHODS")));
+
+        return new API.APIBuilder(rs.getString("PROVIDER"), rs.getString("NAME"), rs.getString("VERSION")).
+                id(rs.getString("UUID")).
+                context(rs.getString("CONTEXT")).
+                isDefaultVersion(rs.getBoolean("IS_DEFAULT_VERSION")).
+                description(rs.getString("DESCRIPTION")).
+                visibility(API.Visibility.valueOf(rs.getString("VISIBILITY"))).
+                isResponseCachingEnabled(rs.getBoolean("IS_RESPONSE_CACHED")).
+                cacheTimeout(rs.getInt("CACHE_TIMEOUT")).
+                businessInformation(businessInformation).
+                lifecycleInstanceId(rs.getString("LIFECYCLE_INSTANCE_ID")).
+                lifeCycleStatus(rs.getString("CURRENT_LC_STATUS")).
+                corsConfiguration(corsConfiguration).
+                createdBy(rs.getString("CREATED_BY")).
+                updatedBy(rs.getString("UPDATED_BY")).
+                createdTime(rs.getTimestamp("CREATED_TIME").toLocalDateTime()).
+                lastUpdatedTime(rs.getTimestamp("LAST_UPDATED_TIME").toLocalDateTime()).
+                wsdlUri(null).
+                copiedFromApiId(rs.getString("COPIED_FROM_API")).
+                workflowStatus(rs.getString("LC_WORKFLOW_STATUS"));
+    }
+
+    /**
+     * Callback invoked for each row of a child collection query
+     */
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException, IOException;
+    }
+
+    /**
+     * Child collections of an API which are filled while the child queries are processed
+     */
+    private static final class Aggregate {
+        private final String apiId;
+        private final API.APIBuilder apiBuilder;
+        private final int apiTypeId;
+        private final Set<String> visibleRoles = new HashSet<>();
+        private final Set<String> tags = new HashSet<>();
+        private final Set<String> labels = new HashSet<>();
+        private final Set<String> transports = new HashSet<>();
+        private final Set<String> policies = new HashSet<>();
+        private final Map<String, Endpoint> endpoints = new HashMap<>();
+        private final Map<String, Map<String, Endpoint>> operationEndpoints = new HashMap<>();
+        private final Map<String, UriTemplate> uriTemplates = new HashMap<>();
+
+        private Aggregate(API.APIBuilder apiBuilder, int apiTypeId) {
+            this.apiId = apiBuilder.getId();
+            this.apiBuilder = apiBuilder.visibleRoles(visibleRoles).tags(tags).labels(labels).transport(transports)
+                    .endpoint(endpoints).uriTemplates(uriTemplates).policies(policies);
+            this.apiTypeId = apiTypeId;
+        }
+    }
+
+    /**
+     * Landing page details of an API which are filled while the detail queries are processed
+     */
+    private static final class LandingPageDetails {
+        private final Set<String> tags = new HashSet<>();
+        private final Set<String> labels = new HashSet<>();
+        private String thumbnailLastUpdatedTime;
+        private int ratingCount;
+        private long ratingSum;
+        private long subscriptionCount;
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.UriTemplate;
+import org.wso2.carbon.apimgt.core.util.BoundedCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded read-through cache of API aggregates, swagger definitions and gateway configs, keyed by API UUID and
+ * element. Their last updated times are kept in the {@link ResourceVersionCache}, whose versions of an API are
+ * invalidated along with it.
+ * <p>
+ * Entries are evicted in least recently used order once the estimated memory held by the cache exceeds the
+ * configured limit, and expire after the configured time so that a missed remote invalidation cannot serve stale
+ * data forever. The DAO write paths invalidate the elements of the API they modify after the change is committed.
+ */
+public class ApiCache extends BoundedCache<ApiCache.Key, Object> implements ApiCacheMXBean {
+    private static final long DEFAULT_MAX_MEMORY = 64L * 1024 * 1024;
+    private static final long DEFAULT_EXPIRY_TIME = TimeUnit.MINUTES.toMillis(15);
+
+    // Rough per object overheads used to estimate the memory held by an entry
+    private static final int ENTRY_OVERHEAD = 256;
+    private static final int API_OVERHEAD = 1024;
+    private static final int URI_TEMPLATE_OVERHEAD = 256;
+    private static final int ENDPOINT_OVERHEAD = 256;
+    private static final int COLLECTION_ITEM_OVERHEAD = 64;
+
+    private static final ApiCache instance = new ApiCache();
+
+    private volatile InvalidationListener invalidationListener;
+
+    /**
+     * Elements of an API which are cached
+     */
+    public enum Element {
+        API, SWAGGER_DEFINITION, GATEWAY_CONFIG
+    }
+
+    /**
+     * Loads an element from the database on a cache miss
+     *
+     * @param <T> type of the element
+     */
+    @FunctionalInterface
+    public interface Loader<T> extends BoundedCache.Loader<T, APIMgtDAOException> {
+    }
+
+    /**
+     * Notified when an entry is invalidated by a write on this node, so that the invalidation can be propagated to
+     * the other nodes of the cluster
+     */
+    @FunctionalInterface
+    public interface InvalidationListener {
+        /**
+         * @param apiId UUID of the invalidated API, or null if the whole cache was invalidated
+         */
+        void onInvalidate(String apiId);
+    }
+
+    private ApiCache() {
+        super(DEFAULT_MAX_MEMORY, DEFAULT_EXPIRY_TIME);
+    }
+
+    public static ApiCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Configure the cache. Existing entries are discarded, along with the versions of the resources of the APIs.
+     *
+     * @param enabled    whether the cache is enabled
+     * @param maxMemory  upper bound of the estimated memory held by the cache, in bytes
+     * @param expiryTime time after which an entry expires, in milliseconds
+     */
+    @Override
+    public void configure(boolean enabled, long maxMemory, long expiryTime) {
+        super.configure(enabled, maxMemory, expiryTime);
+        invalidateAllDependents();
+    }
+
+    public void setInvalidationListener(InvalidationListener invalidationListener) {
+        this.invalidationListener = invalidationListener;
+    }
+
+    /**
+     * Get an element of an API from the cache, loading it from the database if it is not cached. Null values are
+     * never cached.
+     *
+     * @param apiId   UUID of the API
+     * @param element element to get
+     * @param loader  loads the element from the database
+     * @param <T>     type of the element
+     * @return the element
+     * @throws APIMgtDAOException if the element cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(String apiId, Element element, Loader<T> loader) throws APIMgtDAOException {
+        if (apiId == null) {
+            return loader.load();
+        }
+        return (T) getOrLoad(new Key(apiId, element), loader);
+    }
+
+    /**
+     * Invalidate the cached elements of an API after it has been modified on this node
+     *
+     * @param apiId UUID of the API
+     */
+    void invalidate(String apiId) {
+        invalidateLocally(apiId);
+        notifyListener(apiId);
+    }
+
+    /**
+     * Invalidate all the cached elements after a change which affects many APIs on this node
+     */
+    void invalidateAll() {
+        invalidateAllLocally();
+        notifyListener(null);
+    }
+
+    /**
+     * Invalidate the cached elements of an API without notifying the other nodes. Used when an invalidation is
+     * received from another node.
+     *
+     * @param apiId UUID of the API
+     */
+    public void invalidateLocally(String apiId) {
+        List<Key> keys = new ArrayList<>();
+        for (Element element : Element.values()) {
+            keys.add(new Key(apiId, element));
+        }
+        invalidateEntries(keys);
+        ResourceVersionCache.getInstance().invalidateApi(apiId);
+        VisibleRoleIndex.getInstance().invalidateApi(apiId);
+        LandingPageCache.getInstance().invalidateAll();
+    }
+
+    /**
+     * Invalidate all the cached elements without notifying the other nodes
+     */
+    public void invalidateAllLocally() {
+        invalidateAllEntries();
+        invalidateAllDependents();
+    }
+
+    @Override
+    public long getEstimatedMemory() {
+        return getWeight();
+    }
+
+    @Override
+    public long getMaxMemory() {
+        return getCapacity();
+    }
+
+    @Override
+    protected long weigh(Object value) {
+        return ENTRY_OVERHEAD + estimateSize(value);
+    }
+
+    private void notifyListener(String apiId) {
+        InvalidationListener listener = invalidationListener;
+        if (listener != null) {
+            listener.onInvalidate(apiId);
+        }
+    }
+
+    private static void invalidateAllDependents() {
+        ResourceVersionCache.getInstance().invalidateAllApis();
+        VisibleRoleIndex.getInstance().invalidateAll();
+        LandingPageCache.getInstance().invalidateAll();
+    }
+
+    private static long estimateSize(Object value) {
+        if (value instanceof String) {
+            return 2L * ((String) value).length();
+        }
+        if (!(value instanceof API)) {
+            return 0;
+        }
+        API api = (API) value;
+        long size = API_OVERHEAD + 2L * (length(api.getName()) + length(api.getContext())
+                + length(api.getDescription()) + length(api.getWsdlUri()));
+        size += COLLECTION_ITEM_OVERHEAD * (size(api.getTags()) + size(api.getLabels()) + size(api.getTransport())
+                + size(api.getPolicies()) + size(api.getVisibleRoles()));
+        if (api.getEndpoint() != null) {
+            for (Endpoint endpoint : api.getEndpoint().values()) {
+                size += estimateSize(endpoint);
+            }
+        }
+        if (api.getUriTemplates() != null) {
+            for (UriTemplate uriTemplate : api.getUriTemplates().values()) {
+                size += URI_TEMPLATE_OVERHEAD + 2L * length(uriTemplate.getUriTemplate());
+                if (uriTemplate.getEndpoint() != null) {
+                    for (Endpoint endpoint : uriTemplate.getEndpoint().values()) {
+                        size += estimateSize(endpoint);
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long estimateSize(Endpoint endpoint) {
+        return ENDPOINT_OVERHEAD + 2L * (length(endpoint.getEndpointConfig()) + length(endpoint.getSecurity()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static int size(Collection<?> collection) {
+        return collection == null ? 0 : collection.size();
+    }
+
+    /**
+     * Identifies an element of an API
+     */
+    static final class Key {
+        private final String apiId;
+        private final Element element;
+
+        private Key(String apiId, Element element) {
+            this.apiId = apiId;
+            this.element = element;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return element == key.element && apiId.equals(key.apiId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * apiId.hashCode() + element.hashCode();
+        }
+    }
+}
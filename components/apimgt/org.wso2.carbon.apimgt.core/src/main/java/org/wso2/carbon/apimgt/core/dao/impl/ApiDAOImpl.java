@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.dao.ApiDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiType;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.BusinessInformation;
@@ -34,17 +35,16 @@ import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.CorsConfiguration;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
 import org.wso2.carbon.apimgt.core.models.ResourceCategory;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.APILCWorkflowStatus;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -53,9 +53,9 @@ import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -75,7 +75,7 @@ public class ApiDAOImpl implements ApiDAO {
     static final String API_SUMMARY_SELECT = "SELECT UUID, PROVIDER, NAME, CONTEXT, VERSION, DESCRIPTION, " +
             "CURRENT_LC_STATUS, LIFECYCLE_INSTANCE_ID, LC_WORKFLOW_STATUS, API_TYPE_ID FROM AM_API";
 
-    private static final String API_SELECT = "SELECT UUID, PROVIDER, NAME, CONTEXT, VERSION, IS_DEFAULT_VERSION, " +
+    static final String API_SELECT = "SELECT UUID, PROVIDER, NAME, CONTEXT, VERSION, IS_DEFAULT_VERSION, " +
             "DESCRIPTION, VISIBILITY, IS_RESPONSE_CACHED, CACHE_TIMEOUT, TECHNICAL_OWNER, TECHNICAL_EMAIL, " +
             "BUSINESS_OWNER, BUSINESS_EMAIL, LIFECYCLE_INSTANCE_ID, CURRENT_LC_STATUS, API_TYPE_ID, " +
             "CORS_ENABLED, CORS_ALLOW_ORIGINS, CORS_ALLOW_CREDENTIALS, CORS_ALLOW_HEADERS, CORS_ALLOW_METHODS, " +
@@ -86,6 +86,8 @@ public class ApiDAOImpl implements ApiDAO {
     private static final String AM_API_OPERATION_MAPPING_TABLE_NAME = "AM_API_OPERATION_MAPPING";
     private static final String AM_API_COMMENTS_TABLE_NAME = "AM_API_COMMENTS";
     private static final String AM_ENDPOINT_TABLE_NAME = "AM_ENDPOINT";
+    // APIs are counted exactly if the database estimates that AM_API has at most this many rows
+    private static final long EXACT_API_COUNT_THRESHOLD = 10000;
     private static final Logger log = LoggerFactory.getLogger(ApiDAOImpl.class);
 
     ApiDAOImpl(ApiDAOVendorSpecificStatements sqlStatements) {
@@ -98,13 +100,17 @@ public class ApiDAOImpl implements ApiDAO {
     @Override
     @CheckForNull
     public API getAPI(String apiID) throws APIMgtDAOException {
-        final String query = API_SELECT + " WHERE UUID = ?";
+        return ApiCache.getInstance().get(apiID, ApiCache.Element.API, () -> loadAPI(apiID));
+    }
 
-        try (Connection connection = DAOUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiID);
+    private API loadAPI(String apiID) throws APIMgtDAOException {
+        try (Connection connection = DAOUtil.getConnection()) {
+            List<API> apis = new ApiAggregateLoader(connection).loadAPIs(Collections.singletonList(apiID));
+            if (apis.isEmpty()) {
+                return null;
+            }
 
-            return constructAPIFromResultSet(connection, statement);
+            return apis.get(0);
         } catch (SQLException | IOException e) {
             throw new APIMgtDAOException(e);
         }
@@ -118,7 +124,7 @@ public class ApiDAOImpl implements ApiDAO {
     public API getAPISummary(String apiID) throws APIMgtDAOException {
         final String query = API_SUMMARY_SELECT + " WHERE UUID = ?";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, apiID);
 
@@ -139,7 +145,8 @@ public class ApiDAOImpl implements ApiDAO {
     @Override
     @CheckForNull
     public String getLastUpdatedTimeOfAPI(String apiId) throws APIMgtDAOException {
-        return EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_API_TABLE_NAME, apiId);
+        return ResourceVersionCache.getInstance().get(ResourceType.API, apiId,
+                () -> EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_API_TABLE_NAME, apiId));
     }
 
     /**
@@ -148,8 +155,13 @@ public class ApiDAOImpl implements ApiDAO {
     @Override
     @CheckForNull
     public String getLastUpdatedTimeOfSwaggerDefinition(String apiId) throws APIMgtDAOException {
+        return ResourceVersionCache.getInstance().get(ResourceType.SWAGGER_DEFINITION, apiId,
+                () -> loadLastUpdatedTimeOfSwaggerDefinition(apiId));
+    }
+
+    private String loadLastUpdatedTimeOfSwaggerDefinition(String apiId) throws APIMgtDAOException {
         try (Connection connection = DAOUtil.getConnection()) {
-            return ApiResourceDAO.getAPIUniqueResourceLastUpdatedTime(connection, apiId, ResourceCategory.SWAGGER);
+            return ApiResourceDAO.getAPIUniqueResourceVersion(connection, apiId, ResourceCategory.SWAGGER);
         } catch (SQLException e) {
             String errorMessage = "Error while retrieving last updated time of swagger definition. API ID: " + apiId;
             log.error(errorMessage, e);
@@ -163,9 +175,14 @@ public class ApiDAOImpl implements ApiDAO {
     @Override
     @CheckForNull
     public String getLastUpdatedTimeOfGatewayConfig(String apiId) throws APIMgtDAOException {
+        return ResourceVersionCache.getInstance().get(ResourceType.GATEWAY_CONFIG, apiId,
+                () -> loadLastUpdatedTimeOfGatewayConfig(apiId));
+    }
+
+    private String loadLastUpdatedTimeOfGatewayConfig(String apiId) throws APIMgtDAOException {
         try (Connection connection = DAOUtil.getConnection()) {
             return ApiResourceDAO
-                    .getAPIUniqueResourceLastUpdatedTime(connection, apiId, ResourceCategory.GATEWAY_CONFIG);
+                    .getAPIUniqueResourceVersion(connection, apiId, ResourceCategory.GATEWAY_CONFIG);
         } catch (SQLException e) {
             String errorMessage = "Error while retrieving last updated time of gateway config. API ID: " + apiId;
             log.error(errorMessage, e);
@@ -182,7 +199,7 @@ public class ApiDAOImpl implements ApiDAO {
         final String query = API_SUMMARY_SELECT + " WHERE API_TYPE_ID = " +
                 "(SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, apiType.toString());
 
@@ -200,7 +217,7 @@ public class ApiDAOImpl implements ApiDAO {
     public List<API> getAPIsForProvider(String providerName) throws APIMgtDAOException {
         final String query = API_SUMMARY_SELECT + " WHERE PROVIDER = ?";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, providerName);
 
@@ -220,7 +237,7 @@ public class ApiDAOImpl implements ApiDAO {
                 DAOUtil.getParameterString(statuses.size()) + ") AND " +
                 "API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
             int i = 0;
@@ -249,45 +266,44 @@ public class ApiDAOImpl implements ApiDAO {
             log.error(errorMessage);
             throw new APIMgtDAOException(errorMessage);
         }
-        //the below query will be used to retrieve the union of,
-        //published/prototyped APIs (statuses) with public visibility and
+        Set<String> visibleRoles = VisibleRoleIndex.getInstance().filterRoles(roles);
+        //the below query will be used to retrieve published/prototyped APIs (statuses) with public visibility and
         //published/prototyped APIs with restricted visibility where APIs are restricted based on roles of the user
-        final String query = API_SUMMARY_SELECT + " WHERE " +
-                "VISIBILITY = '" + API.Visibility.PUBLIC + "' " +
-                "AND " +
-                "CURRENT_LC_STATUS  IN (" + DAOUtil.getParameterString(statuses.size()) + ") AND " +
-                "API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)" +
-                "UNION " +
-                API_SUMMARY_SELECT +
-                " WHERE " +
-                "VISIBILITY = '" + API.Visibility.RESTRICTED + "' " +
-                "AND " +
-                "UUID IN (SELECT API_ID FROM AM_API_VISIBLE_ROLES WHERE ROLE IN " +
-                "(" + DAOUtil.getParameterString(roles.size()) + ")) " +
-                "AND " + "CURRENT_LC_STATUS  IN (" +
-                DAOUtil.getParameterString(statuses.size()) + ") AND " +
-                "API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)";
+        final String query = API_SUMMARY_SELECT +
+                getAPIsByStatusCondition(statuses.size(), visibleRoles.size(), false);
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
-            int i = 0;
-            //put desired API status into the query (to get APIs with public visibility)
-            for (String status : statuses) {
-                statement.setString(++i, status);
-            }
+            setAPIsByStatusParameters(statement, visibleRoles, statuses, apiType, null, null);
 
-            statement.setString(++i, apiType.toString());
+            return constructAPISummaryList(connection, statement);
+        } catch (SQLException e) {
+            String errorMessage = "Error while retrieving API list in store.";
+            log.error(errorMessage, e);
+            throw new APIMgtDAOException(errorMessage, e);
+        }
+    }
 
-            //put desired roles into the query
-            for (String role : roles) {
-                statement.setString(++i, role);
-            }
-            //put desired API status into the query (to get APIs with restricted visibility)
-            for (String status : statuses) {
-                statement.setString(++i, status);
-            }
+    /**
+     * @see ApiDAO#getAPIsByStatus(Set, List, ApiType, String, String, int, int)
+     */
+    @Override
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    public List<API> getAPIsByStatus(Set<String> roles, List<String> statuses, ApiType apiType, String afterName,
+                                     String afterId, int offset, int limit) throws APIMgtDAOException {
+        if (roles == null || statuses == null) {
+            String errorMessage = "Role list or API status list should not be null to retrieve APIs.";
+            log.error(errorMessage);
+            throw new APIMgtDAOException(errorMessage);
+        }
+        Set<String> visibleRoles = VisibleRoleIndex.getInstance().filterRoles(roles);
+        boolean seek = afterName != null && afterId != null;
+        final String query = sqlStatements.getApisByStatusQuery(statuses.size(), visibleRoles.size(), seek);
 
-            statement.setString(++i, apiType.toString());
+        try (Connection connection = DAOUtil.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            sqlStatements.setApisByStatusStatement(statement, visibleRoles, statuses, apiType, afterName, afterId,
+                    offset, limit);
 
             return constructAPISummaryList(connection, statement);
         } catch (SQLException e) {
@@ -297,6 +313,205 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
+    /**
+     * @see ApiDAO#getLandingPageAPIs(Set, List, ApiType, String, String, int, int)
+     */
+    @Override
+    public List<LandingPageAPI> getLandingPageAPIs(Set<String> roles, List<String> statuses, ApiType apiType,
+                                                   String afterName, String afterId, int offset, int limit)
+            throws APIMgtDAOException {
+        if (roles == null || statuses == null) {
+            String errorMessage = "Role list or API status list should not be null to retrieve APIs.";
+            log.error(errorMessage);
+            throw new APIMgtDAOException(errorMessage);
+        }
+        Set<String> visibleRoles = VisibleRoleIndex.getInstance().filterRoles(roles);
+        return LandingPageCache.getInstance().get(visibleRoles, statuses, apiType, afterName, afterId, offset, limit,
+                () -> loadLandingPageAPIs(visibleRoles, statuses, apiType, afterName, afterId, offset, limit));
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private List<LandingPageAPI> loadLandingPageAPIs(Set<String> visibleRoles, List<String> statuses,
+                                                     ApiType apiType, String afterName, String afterId, int offset,
+                                                     int limit) throws APIMgtDAOException {
+        boolean seek = afterName != null && afterId != null;
+        final String query = sqlStatements.getApisByStatusQuery(statuses.size(), visibleRoles.size(), seek);
+
+        // the page is read from the primary, as it is cached until the APIs are changed
+        try (Connection connection = DAOUtil.getConnection()) {
+            List<API> apis;
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                sqlStatements.setApisByStatusStatement(statement, visibleRoles, statuses, apiType, afterName,
+                        afterId, offset, limit);
+                apis = constructAPISummaryList(connection, statement);
+            }
+            return new ApiAggregateLoader(connection).loadLandingPageAPIs(apis);
+        } catch (SQLException | IOException e) {
+            String errorMessage = "Error while retrieving landing page in store.";
+            log.error(errorMessage, e);
+            throw new APIMgtDAOException(errorMessage, e);
+        }
+    }
+
+    /**
+     * @see ApiDAO#getEstimatedAPICountByStatus(Set, List, ApiType)
+     */
+    @Override
+    public long getEstimatedAPICountByStatus(Set<String> roles, List<String> statuses, ApiType apiType)
+            throws APIMgtDAOException {
+        if (roles == null || statuses == null) {
+            String errorMessage = "Role list or API status list should not be null to count APIs.";
+            log.error(errorMessage);
+            throw new APIMgtDAOException(errorMessage);
+        }
+        Set<String> visibleRoles = VisibleRoleIndex.getInstance().filterRoles(roles);
+        return LandingPageCache.getInstance().getCount(visibleRoles, statuses, apiType,
+                () -> loadEstimatedAPICountByStatus(visibleRoles, statuses, apiType));
+    }
+
+    private long loadEstimatedAPICountByStatus(Set<String> visibleRoles, List<String> statuses, ApiType apiType)
+            throws APIMgtDAOException {
+        // the count is read from the primary, as it is cached until the APIs are changed
+        try (Connection connection = DAOUtil.getConnection()) {
+            long estimatedCount = getEstimatedAPICount(connection);
+            if (estimatedCount > EXACT_API_COUNT_THRESHOLD) {
+                return estimateAPICountByStatus(connection, estimatedCount, (int) EXACT_API_COUNT_THRESHOLD,
+                        visibleRoles, statuses, apiType);
+            }
+            return countAPIsByStatus(connection, "AM_API", visibleRoles, statuses, apiType);
+        } catch (SQLException e) {
+            String errorMessage = "Error while counting APIs in store.";
+            log.error(errorMessage, e);
+            throw new APIMgtDAOException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Estimate the number of APIs selected by the store listing condition by scaling the estimated number of rows of
+     * AM_API by the fraction of a sample of the rows which is selected by the condition. The sample is read through
+     * the primary key, so that the cost of the estimate does not grow with the table.
+     *
+     * @param connection     DB connection
+     * @param estimatedCount number of rows of AM_API estimated by the database
+     * @param sampleSize     maximum number of rows of the sample
+     * @param roles          roles whose restricted APIs are counted
+     * @param statuses       statuses of the APIs to be counted
+     * @param apiType        API type to be counted
+     * @return estimated number of APIs, which is exact if the sample covers the whole table
+     * @throws SQLException if the sample cannot be counted
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    long estimateAPICountByStatus(Connection connection, long estimatedCount, int sampleSize, Set<String> roles,
+                                  List<String> statuses, ApiType apiType) throws SQLException {
+        String sample = "(" + sqlStatements.getApiSampleQuery(sampleSize) + ") API_SAMPLE";
+        long sampledCount;
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM " + sample);
+             ResultSet rs = statement.executeQuery()) {
+            sampledCount = rs.next() ? rs.getLong(1) : 0;
+        }
+
+        long selectedCount = countAPIsByStatus(connection, sample, roles, statuses, apiType);
+        if (sampledCount < sampleSize) {
+            // The statistics of the table are stale and the sample holds all of its rows
+            return selectedCount;
+        }
+        return Math.round((double) estimatedCount * selectedCount / sampledCount);
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private static long countAPIsByStatus(Connection connection, String table, Set<String> roles,
+                                          List<String> statuses, ApiType apiType) throws SQLException {
+        final String query = "SELECT COUNT(*) FROM " + table +
+                getAPIsByStatusCondition(statuses.size(), roles.size(), false);
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            setAPIsByStatusParameters(statement, roles, statuses, apiType, null, null);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Build the condition of the store listing, which selects the APIs with the given statuses that are public or
+     * visible to one of the given roles. If seek is true, only the APIs ordered after a given name and UUID are
+     * selected.
+     *
+     * @param statusCount number of statuses to be passed to the condition
+     * @param roleCount   number of roles to be passed to the condition
+     * @param seek        whether the APIs after a given name and UUID are selected
+     * @return condition starting with the WHERE keyword
+     */
+    static String getAPIsByStatusCondition(int statusCount, int roleCount, boolean seek) {
+        StringBuilder condition = new StringBuilder(" WHERE CURRENT_LC_STATUS IN (")
+                .append(DAOUtil.getParameterString(statusCount)).append(")")
+                .append(" AND API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)")
+                .append(" AND (VISIBILITY = '").append(API.Visibility.PUBLIC).append("'");
+        if (roleCount > 0) {
+            condition.append(" OR (VISIBILITY = '").append(API.Visibility.RESTRICTED).append("'")
+                    .append(" AND UUID IN (SELECT API_ID FROM AM_API_VISIBLE_ROLES WHERE ROLE IN (")
+                    .append(DAOUtil.getParameterString(roleCount)).append("))))");
+        } else {
+            condition.append(")");
+        }
+        if (seek) {
+            condition.append(" AND (NAME > ? OR (NAME = ? AND UUID > ?))");
+        }
+        return condition.toString();
+    }
+
+    /**
+     * Set the parameters of the condition built by {@link #getAPIsByStatusCondition(int, int, boolean)}
+     *
+     * @param statement SQL PreparedStatement
+     * @param roles     roles assigned to the user
+     * @param statuses  statuses of the APIs to be selected
+     * @param apiType   API type to be selected
+     * @param afterName name of the API after which the APIs are selected, or null
+     * @param afterId   UUID of the API after which the APIs are selected, or null
+     * @return index of the last parameter set
+     * @throws SQLException if a parameter cannot be set
+     */
+    static int setAPIsByStatusParameters(PreparedStatement statement, Set<String> roles, List<String> statuses,
+                                         ApiType apiType, String afterName, String afterId) throws SQLException {
+        int index = 0;
+        for (String status : statuses) {
+            statement.setString(++index, status);
+        }
+
+        statement.setString(++index, apiType.toString());
+
+        for (String role : roles) {
+            statement.setString(++index, role);
+        }
+
+        if (afterName != null && afterId != null) {
+            statement.setString(++index, afterName);
+            statement.setString(++index, afterName);
+            statement.setString(++index, afterId);
+        }
+        return index;
+    }
+
+    /**
+     * Read the number of rows of AM_API estimated by the database from its statistics, without scanning the table
+     *
+     * @param connection DB connection
+     * @return estimated number of APIs, or -1 if the database does not provide an estimate
+     */
+    private long getEstimatedAPICount(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(sqlStatements.getApiCountEstimateQuery());
+             ResultSet rs = statement.executeQuery()) {
+            if (rs.next()) {
+                long estimatedCount = rs.getLong(1);
+                return rs.wasNull() ? -1 : estimatedCount;
+            }
+        } catch (SQLException e) {
+            // The statistics may not be readable by the database user, in which case the APIs are counted
+            log.debug("Error while reading the estimated row count of AM_API", e);
+        }
+        return -1;
+    }
+
 
     /**
      * @see org.wso2.carbon.apimgt.core.dao.ApiDAO#searchAPIs(Set, String, String, ApiType, int, int)
@@ -306,7 +521,7 @@ public class ApiDAOImpl implements ApiDAO {
     public List<API> searchAPIs(Set<String> roles, String user, String searchString, ApiType apiType,
                                                                     int offset, int limit) throws APIMgtDAOException {
         final String query = sqlStatements.getApiSearchQuery(roles.size());
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             sqlStatements.setApiSearchStatement(statement, roles, user, searchString,
                     apiType, offset, limit);
@@ -324,26 +539,17 @@ public class ApiDAOImpl implements ApiDAO {
     @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
     public List<API> attributeSearchAPIs(Set<String> roles, String user, Map<String, String> attributeMap,
                                          ApiType apiType, int offset, int limit) throws APIMgtDAOException {
-        final String query = sqlStatements.getApiAttributeSearchQuery(attributeMap, roles.size());
-        try (Connection connection = DAOUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
-
-            DatabaseMetaData md = connection.getMetaData();
-            Iterator<Map.Entry<String, String>> entries = attributeMap.entrySet().iterator();
-            while (entries.hasNext()) {
-                Map.Entry<String, String> entry = entries.next();
-                String tableName = connection.getMetaData().getDriverName().contains("PostgreSQL") ?
-                        AM_API_TABLE_NAME.toLowerCase(Locale.ENGLISH) :
-                        AM_API_TABLE_NAME;
-                String columnName = connection.getMetaData().getDriverName().contains("PostgreSQL") ?
-                        entry.getKey().toLowerCase(Locale.ENGLISH) :
-                        entry.getKey().toUpperCase(Locale.ENGLISH);
-                if (!checkTableColumnExists(md, tableName, columnName)) {
-                    throw new APIMgtDAOException(
-                            "Wrong search attribute. Attribute does not exist with name : " + entry.getKey());
-                }
+        SchemaMetadata schemaMetadata = SchemaMetadata.getInstance();
+        for (String attribute : attributeMap.keySet()) {
+            if (!schemaMetadata.hasColumn(AM_API_TABLE_NAME, attribute)) {
+                throw new APIMgtDAOException(
+                        "Wrong search attribute. Attribute does not exist with name : " + attribute);
             }
+        }
 
+        final String query = sqlStatements.getApiAttributeSearchQuery(attributeMap, roles.size());
+        try (Connection connection = DAOUtil.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
             sqlStatements.setApiAttributeSearchStatement(statement, roles, user, attributeMap, apiType, offset, limit);
 
             return constructAPISummaryList(connection, statement);
@@ -360,52 +566,31 @@ public class ApiDAOImpl implements ApiDAO {
     @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
     public List<API> attributeSearchAPIsStore(List<String> roles, Map<String, String> attributeMap,
                                               int offset, int limit) throws APIMgtDAOException {
+        SchemaMetadata schemaMetadata = SchemaMetadata.getInstance();
+        for (String attribute : attributeMap.keySet()) {
+            boolean exists;
+            if (APIMgtConstants.TAG_SEARCH_TYPE_PREFIX.equalsIgnoreCase(attribute)) {
+                //if the search is related to tags, need to check NAME column in AM_TAGS table
+                exists = schemaMetadata.hasColumn(AM_TAGS_TABLE_NAME, APIMgtConstants.TAG_NAME_COLUMN);
+            } else if (APIMgtConstants.SUBCONTEXT_SEARCH_TYPE_PREFIX.equalsIgnoreCase(attribute)) {
+                //if the search is related to subcontext, need to check URL_PATTERN column in
+                //AM_API_OPERATION_MAPPING table
+                exists = schemaMetadata.hasColumn(AM_API_OPERATION_MAPPING_TABLE_NAME,
+                        APIMgtConstants.URL_PATTERN_COLUMN);
+            } else {
+                //if the search is related to any other attribute, need to check that attribute
+                //in AM_API table
+                exists = schemaMetadata.hasColumn(AM_API_TABLE_NAME, attribute);
+            }
+            if (!exists) {
+                throw new APIMgtDAOException(
+                        "Wrong search attribute. Attribute does not exist with name : " + attribute);
+            }
+        }
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = sqlStatements.attributeSearchStore
                      (connection, roles, attributeMap, offset, limit)) {
-            DatabaseMetaData md = connection.getMetaData();
-            Iterator<Map.Entry<String, String>> entries = attributeMap.entrySet().iterator();
-
-            while (entries.hasNext()) {
-                Map.Entry<String, String> entry = entries.next();
-                String tableName = null, columnName = null;
-
-                if (APIMgtConstants.TAG_SEARCH_TYPE_PREFIX.equalsIgnoreCase(entry.getKey())) {
-                    //if the search is related to tags, need to check NAME column in AM_TAGS table
-                    tableName = connection.getMetaData().getDriverName().contains("PostgreSQL") ?
-                            AM_TAGS_TABLE_NAME.toLowerCase(Locale.ENGLISH) :
-                            AM_TAGS_TABLE_NAME;
-                    columnName = connection.getMetaData().getDriverName().contains("PostgreSQL") ?
-                            APIMgtConstants.TAG_NAME_COLUMN.toLowerCase(Locale.ENGLISH) :
-                            APIMgtConstants.TAG_NAME_COLUMN.toUpperCase(Locale.ENGLISH);
-                } else if (APIMgtConstants.SUBCONTEXT_SEARCH_TYPE_PREFIX.equalsIgnoreCase
-                        (entry.getKey())) {
-                    //if the search is related to subcontext, need to check URL_PATTERN column in
-                    //AM_API_OPERATION_MAPPING table
-                    tableName = connection.getMetaData().getDriverName().contains("PostgreSQL") ?
-                            AM_API_OPERATION_MAPPING_TABLE_NAME.toLowerCase(Locale.ENGLISH) :
-                            AM_API_OPERATION_MAPPING_TABLE_NAME;
-                    columnName = connection.getMetaData().getDriverName().contains("PostgreSQL") ?
-                            APIMgtConstants.URL_PATTERN_COLUMN.toLowerCase(Locale.ENGLISH) :
-                            APIMgtConstants.URL_PATTERN_COLUMN.toUpperCase(Locale.ENGLISH);
-                } else {
-                    //if the search is related to any other attribute, need to check that attribute
-                    //in AM_API table
-                    tableName = connection.getMetaData().getDriverName().contains("PostgreSQL") ?
-                            AM_API_TABLE_NAME.toLowerCase(Locale.ENGLISH) :
-                            AM_API_TABLE_NAME;
-                    columnName = connection.getMetaData().getDriverName().contains("PostgreSQL") ?
-                            entry.getKey().toLowerCase(Locale.ENGLISH) :
-                            entry.getKey().toUpperCase(Locale.ENGLISH);
-                }
-
-                if (!checkTableColumnExists(md, tableName, columnName)) {
-                    throw new APIMgtDAOException(
-                            "Wrong search attribute. Attribute does not exist with name : " +
-                                    entry.getKey());
-                }
-            }
             return constructAPISummaryList(connection, statement);
         } catch (SQLException e) {
             String errorMsg = "Error occurred while searching APIs for attributes, in Store.";
@@ -426,7 +611,7 @@ public class ApiDAOImpl implements ApiDAO {
                 DAOUtil.getParameterString(statuses.size()) + ") AND " +
                 "API_TYPE_ID = (SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?)";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
             int i = 0;
@@ -570,6 +755,8 @@ public class ApiDAOImpl implements ApiDAO {
                 addAPIDefinition(connection, apiPrimaryKey, api.getApiDefinition(), api.getCreatedBy());
                 addAPIPermission(connection, api.getPermissionMap(), apiPrimaryKey);
                 connection.commit();
+                // Nothing of the new API is cached, but the other nodes need to learn its visible roles
+                ApiCache.getInstance().invalidate(apiPrimaryKey);
             } catch (SQLException e) {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
@@ -670,6 +857,7 @@ public class ApiDAOImpl implements ApiDAO {
                 log.error(msg, e);
                 throw new APIMgtDAOException(e);
             } finally {
+                ApiCache.getInstance().invalidate(apiID);
                 connection.setAutoCommit(DAOUtil.isAutoCommit());
             }
         } catch (SQLException e) {
@@ -693,15 +881,22 @@ public class ApiDAOImpl implements ApiDAO {
                 deleteUrlMappings(connection, apiID);
                 deleteEndPointsForApi(connection, apiID);
                 connection.setAutoCommit(false);
+                // the resources of the API are removed by a cascading delete, so release their contents after it
+                List<String> contentHashes = ApiResourceDAO.getContentHashesOfAPI(connection, apiID);
                 statement.setString(1, apiID);
                 statement.execute();
+                ResourceContentDAO.releaseContents(connection, contentHashes);
                 connection.commit();
+                // the documents and comments of the API were removed by the cascading delete
+                ResourceVersionCache.getInstance().invalidateAll(ResourceType.DOCUMENT, ResourceType.DOCUMENT_CONTENT,
+                        ResourceType.COMMENT, ResourceType.SUBSCRIPTION);
             } catch (SQLException | IOException e) {
                 String msg = "Couldn't delete api : " + apiID;
                 log.error(msg, e);
                 connection.rollback();
                 throw new APIMgtDAOException(e);
             } finally {
+                ApiCache.getInstance().invalidate(apiID);
                 connection.setAutoCommit(DAOUtil.isAutoCommit());
             }
         } catch (SQLException e) {
@@ -718,6 +913,11 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public String getSwaggerDefinition(String apiID) throws APIMgtDAOException {
+        return ApiCache.getInstance()
+                .get(apiID, ApiCache.Element.SWAGGER_DEFINITION, () -> loadSwaggerDefinition(apiID));
+    }
+
+    private String loadSwaggerDefinition(String apiID) throws APIMgtDAOException {
         try (Connection connection = DAOUtil.getConnection()) {
             return getAPIDefinition(connection, apiID);
         } catch (SQLException | IOException e) {
@@ -740,6 +940,7 @@ public class ApiDAOImpl implements ApiDAO {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
             } finally {
+                ApiCache.getInstance().invalidate(apiID);
                 connection.setAutoCommit(DAOUtil.isAutoCommit());
             }
         } catch (SQLException e) {
@@ -755,6 +956,10 @@ public class ApiDAOImpl implements ApiDAO {
      * @throws APIMgtDAOException if error occurs while accessing data layer
      */
     public String getGatewayConfig(String apiID) throws APIMgtDAOException {
+        return ApiCache.getInstance().get(apiID, ApiCache.Element.GATEWAY_CONFIG, () -> loadGatewayConfig(apiID));
+    }
+
+    private String loadGatewayConfig(String apiID) throws APIMgtDAOException {
         try (Connection connection = DAOUtil.getConnection()) {
             return getGatewayConfig(connection, apiID);
         } catch (SQLException | IOException e) {
@@ -771,6 +976,8 @@ public class ApiDAOImpl implements ApiDAO {
             updateGatewayConfig(connection, apiID, gatewayConfig, updatedBy);
         } catch (SQLException e) {
             throw new APIMgtDAOException(e);
+        } finally {
+            ApiCache.getInstance().invalidate(apiID);
         }
     }
 
@@ -779,7 +986,8 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public String getLastUpdatedTimeOfDocument(String documentId) throws APIMgtDAOException {
-        return DocMetaDataDAO.getLastUpdatedTimeOfDocument(documentId);
+        return ResourceVersionCache.getInstance().get(ResourceType.DOCUMENT, documentId,
+                () -> DocMetaDataDAO.getLastUpdatedTimeOfDocument(documentId));
     }
 
     /**
@@ -787,9 +995,14 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public String getLastUpdatedTimeOfDocumentContent(String apiId, String documentId) throws APIMgtDAOException {
+        return ResourceVersionCache.getInstance().get(ResourceType.DOCUMENT_CONTENT, documentId,
+                () -> loadLastUpdatedTimeOfDocumentContent(apiId, documentId));
+    }
+
+    private String loadLastUpdatedTimeOfDocumentContent(String apiId, String documentId) throws APIMgtDAOException {
         try (Connection connection = DAOUtil.getConnection()) {
             return ApiResourceDAO
-                    .getResourceLastUpdatedTime(connection, apiId, documentId, ResourceCategory.DOC);
+                    .getResourceVersion(connection, apiId, documentId, ResourceCategory.DOC);
         } catch (SQLException e) {
             String errorMessage =
                     "Error while getting last updated time of document. API Id: " + apiId + ", doc Id: " + documentId;
@@ -803,9 +1016,14 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public String getLastUpdatedTimeOfAPIThumbnailImage(String apiId) throws APIMgtDAOException {
+        return ResourceVersionCache.getInstance().get(ResourceType.THUMBNAIL, apiId,
+                () -> loadLastUpdatedTimeOfAPIThumbnailImage(apiId));
+    }
+
+    private String loadLastUpdatedTimeOfAPIThumbnailImage(String apiId) throws APIMgtDAOException {
         try (Connection connection = DAOUtil.getConnection()) {
             return ApiResourceDAO
-                    .getAPIUniqueResourceLastUpdatedTime(connection, apiId, ResourceCategory.IMAGE);
+                    .getAPIUniqueResourceVersion(connection, apiId, ResourceCategory.IMAGE);
         } catch (SQLException e) {
             String errorMessage = "Error while retrieving last updated time of thumbnail image. API ID: " + apiId;
             log.error(errorMessage, e);
@@ -818,7 +1036,8 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public String getLastUpdatedTimeOfEndpoint(String endpointId) throws APIMgtDAOException {
-        return EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_ENDPOINT_TABLE_NAME, endpointId);
+        return ResourceVersionCache.getInstance().get(ResourceType.ENDPOINT, endpointId,
+                () -> EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_ENDPOINT_TABLE_NAME, endpointId));
     }
 
     /**
@@ -830,7 +1049,7 @@ public class ApiDAOImpl implements ApiDAO {
                 + "CREATED_BY, CREATED_TIME, UPDATED_BY, LAST_UPDATED_TIME "
                 + "FROM AM_API_COMMENTS WHERE UUID = ? AND API_ID = ?";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
                 PreparedStatement statement = connection.prepareStatement(query)) {
             try {
                 statement.setString(1, commentId);
@@ -942,6 +1161,7 @@ public class ApiDAOImpl implements ApiDAO {
                 statement.setString(2, apiId);
                 statement.execute();
                 connection.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.COMMENT, commentId);
             } catch (SQLException e) {
                 connection.rollback();
                 String errorMessage =
@@ -979,6 +1199,7 @@ public class ApiDAOImpl implements ApiDAO {
                 statement.setString(8, apiId);
                 statement.execute();
                 connection.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.COMMENT, commentId);
             } catch (SQLException e) {
                 connection.rollback();
                 String errorMessage =
@@ -1004,7 +1225,7 @@ public class ApiDAOImpl implements ApiDAO {
         final String getCommentsQuery = "SELECT UUID, COMMENT_TEXT, USER_IDENTIFIER, API_ID, "
                 + "CREATED_BY, CREATED_TIME, UPDATED_BY, LAST_UPDATED_TIME "
                 + "FROM AM_API_COMMENTS WHERE API_ID = ?";
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
                 PreparedStatement statement = connection.prepareStatement(getCommentsQuery)) {
             try {
                 statement.setString(1, apiId);
@@ -1030,7 +1251,8 @@ public class ApiDAOImpl implements ApiDAO {
 
     @Override
     public String getLastUpdatedTimeOfComment(String commentId) throws APIMgtDAOException {
-        return EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_API_COMMENTS_TABLE_NAME, commentId);
+        return ResourceVersionCache.getInstance().get(ResourceType.COMMENT, commentId,
+                () -> EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_API_COMMENTS_TABLE_NAME, commentId));
     }
 
     /**
@@ -1042,9 +1264,12 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public InputStream getImage(String apiID) throws APIMgtDAOException {
-        try (Connection connection = DAOUtil.getConnection()) {
-            return ApiResourceDAO.getBinaryValueForCategory(connection, apiID, ResourceCategory.IMAGE);
-        } catch (SQLException | IOException e) {
+        try {
+            // the content is read from the primary, as its hash is served as the ETag of the thumbnail. The
+            // connection is closed along with the returned stream
+            return ApiResourceDAO.openBinaryValueForCategory(DAOUtil.getConnection(), apiID,
+                    ResourceCategory.IMAGE);
+        } catch (SQLException e) {
             throw new APIMgtDAOException("Couldn't retrieve api thumbnail for api " + apiID, e);
         }
     }
@@ -1059,16 +1284,18 @@ public class ApiDAOImpl implements ApiDAO {
             try (Connection connection = DAOUtil.getConnection()) {
                 try {
                     connection.setAutoCommit(false);
+                    String contentHash = ResourceContentDAO.addContent(connection, image);
                     if (!ApiResourceDAO.isResourceExistsForCategory(connection, apiID,
                             ResourceCategory.IMAGE)) {
                         ApiResourceDAO.addBinaryResource(connection, apiID, UUID.randomUUID().toString(),
-                                ResourceCategory.IMAGE, dataType, image, updatedBy);
+                                ResourceCategory.IMAGE, dataType, contentHash, updatedBy);
                     } else {
                         ApiResourceDAO.updateBinaryResourceForCategory(connection, apiID,
-                                ResourceCategory.IMAGE, image, updatedBy);
+                                ResourceCategory.IMAGE, contentHash, updatedBy);
                     }
                     connection.commit();
-                } catch (SQLException e) {
+                    ResourceVersionCache.getInstance().invalidate(ResourceType.THUMBNAIL, apiID);
+                } catch (SQLException | IOException e) {
                     connection.rollback();
                     throw new APIMgtDAOException(e);
                 } finally {
@@ -1103,6 +1330,7 @@ public class ApiDAOImpl implements ApiDAO {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
             } finally {
+                ApiCache.getInstance().invalidate(apiID);
                 connection.setAutoCommit(DAOUtil.isAutoCommit());
             }
         } catch (SQLException e) {
@@ -1118,7 +1346,7 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public List<DocumentInfo> getDocumentsInfoList(String apiID) throws APIMgtDAOException {
-        try (Connection connection = DAOUtil.getConnection()) {
+        try (Connection connection = DAOUtil.getReadConnection()) {
             return DocMetaDataDAO.getDocumentInfoList(connection, apiID);
         } catch (SQLException e) {
             throw new APIMgtDAOException(e);
@@ -1135,7 +1363,7 @@ public class ApiDAOImpl implements ApiDAO {
     @Override
     @CheckForNull
     public DocumentInfo getDocumentInfo(String resourceID) throws APIMgtDAOException {
-        try (Connection connection = DAOUtil.getConnection()) {
+        try (Connection connection = DAOUtil.getReadConnection()) {
             return DocMetaDataDAO.getDocumentInfo(connection, resourceID);
         } catch (SQLException e) {
             throw new APIMgtDAOException(e);
@@ -1150,8 +1378,10 @@ public class ApiDAOImpl implements ApiDAO {
     @Override
     @CheckForNull
     public InputStream getDocumentFileContent(String resourceID) throws APIMgtDAOException {
-        try (Connection connection = DAOUtil.getConnection()) {
-            return ApiResourceDAO.getBinaryResource(connection, resourceID);
+        try {
+            // the content is read from the primary, as its hash is served as the ETag of the document. The
+            // connection is closed along with the returned stream
+            return ApiResourceDAO.openBinaryResource(DAOUtil.getConnection(), resourceID);
         } catch (SQLException e) {
             throw new APIMgtDAOException(e);
         }
@@ -1164,6 +1394,7 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public String getDocumentInlineContent(String resourceID) throws APIMgtDAOException {
+        // the content is read from the primary, as its version is served as the ETag of the document
         try (Connection connection = DAOUtil.getConnection()) {
             return ApiResourceDAO.getTextResource(connection, resourceID);
         } catch (SQLException e) {
@@ -1215,6 +1446,7 @@ public class ApiDAOImpl implements ApiDAO {
                 DocMetaDataDAO.updateDocInfo(connection, documentInfo, updatedBy);
 
                 connection.commit();
+                invalidateDocumentVersions(documentInfo.getId());
             } catch (SQLException e) {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
@@ -1235,13 +1467,16 @@ public class ApiDAOImpl implements ApiDAO {
         try (Connection connection = DAOUtil.getConnection()) {
             try {
                 connection.setAutoCommit(false);
-                if (ApiResourceDAO.updateBinaryResource(connection, resourceID, content, dataType, updatedBy) == 0) {
+                String contentHash = ResourceContentDAO.addContent(connection, content);
+                if (ApiResourceDAO.updateBinaryResource(connection, resourceID, contentHash, dataType, updatedBy)
+                        == 0) {
                     String errorMessage = "Cannot add file content for a document that does not exist";
                     log.error(errorMessage);
                     throw new APIMgtDAOException(errorMessage);
                 }
                 connection.commit();
-            } catch (SQLException e) {
+                invalidateDocumentVersions(resourceID);
+            } catch (SQLException | IOException e) {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
             } finally {
@@ -1265,6 +1500,7 @@ public class ApiDAOImpl implements ApiDAO {
                     throw new APIMgtDAOException("Cannot add inline content for a document that does not exist");
                 }
                 connection.commit();
+                invalidateDocumentVersions(resourceID);
             } catch (SQLException e) {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
@@ -1289,6 +1525,7 @@ public class ApiDAOImpl implements ApiDAO {
                 connection.setAutoCommit(false);
                 ApiResourceDAO.deleteResource(connection, resourceID);
                 connection.commit();
+                invalidateDocumentVersions(resourceID);
             } catch (SQLException e) {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
@@ -1300,6 +1537,11 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
+    private static void invalidateDocumentVersions(String documentId) {
+        ResourceVersionCache.getInstance().invalidate(ResourceType.DOCUMENT, documentId);
+        ResourceVersionCache.getInstance().invalidate(ResourceType.DOCUMENT_CONTENT, documentId);
+    }
+
     /**
      * Used to deprecate older versions of the api
      *
@@ -1335,67 +1577,6 @@ public class ApiDAOImpl implements ApiDAO {
         return exist;
     }
 
-    private API constructAPIFromResultSet(Connection connection, PreparedStatement statement) throws SQLException,
-            IOException {
-        try (ResultSet rs = statement.executeQuery()) {
-            while (rs.next()) {
-                BusinessInformation businessInformation = new BusinessInformation();
-                businessInformation.setTechnicalOwner(rs.getString("TECHNICAL_OWNER"));
-                businessInformation.setTechnicalOwnerEmail(rs.getString("TECHNICAL_EMAIL"));
-                businessInformation.setBusinessOwner(rs.getString("BUSINESS_OWNER"));
-                businessInformation.setBusinessOwnerEmail(rs.getString("BUSINESS_EMAIL"));
-
-                CorsConfiguration corsConfiguration = new CorsConfiguration();
-                corsConfiguration.setEnabled(rs.getBoolean("CORS_ENABLED"));
-
-                String allowOrigins = rs.getString("CORS_ALLOW_ORIGINS");
-                corsConfiguration.setAllowOrigins(DAOUtil.commaSeperatedStringToList(allowOrigins));
-
-                corsConfiguration.setAllowCredentials(rs.getBoolean("CORS_ALLOW_CREDENTIALS"));
-
-                String allowHeaders = rs.getString("CORS_ALLOW_HEADERS");
-                corsConfiguration.setAllowHeaders(DAOUtil.commaSeperatedStringToList(allowHeaders));
-
-                String allowMethods = rs.getString("CORS_ALLOW_METHODS");
-                corsConfiguration.setAllowMethods(DAOUtil.commaSeperatedStringToList(allowMethods));
-
-                String apiPrimaryKey = rs.getString("UUID");
-
-                return new API.APIBuilder(rs.getString("PROVIDER"), rs.getString("NAME"), rs.getString("VERSION")).
-                        id(apiPrimaryKey).
-                        context(rs.getString("CONTEXT")).
-                        isDefaultVersion(rs.getBoolean("IS_DEFAULT_VERSION")).
-                        description(rs.getString("DESCRIPTION")).
-                        visibility(API.Visibility.valueOf(rs.getString("VISIBILITY"))).
-                        visibleRoles(getVisibleRoles(connection, apiPrimaryKey)).
-                        isResponseCachingEnabled(rs.getBoolean("IS_RESPONSE_CACHED")).
-                        cacheTimeout(rs.getInt("CACHE_TIMEOUT")).
-                        tags(getTags(connection, apiPrimaryKey)).
-                        labels(getLabelNames(connection, apiPrimaryKey)).
-                        wsdlUri(ApiResourceDAO.
-                                getTextValueForCategory(connection, apiPrimaryKey,
-                                        ResourceCategory.WSDL_URI)).
-                        transport(getTransports(connection, apiPrimaryKey)).
-                        endpoint(getEndPointsForApi(connection, apiPrimaryKey)).
-                        businessInformation(businessInformation).
-                        lifecycleInstanceId(rs.getString("LIFECYCLE_INSTANCE_ID")).
-                        lifeCycleStatus(rs.getString("CURRENT_LC_STATUS")).
-                        corsConfiguration(corsConfiguration).
-                        apiType(getApiTypeById(connection, rs.getInt("API_TYPE_ID"))).
-                        createdBy(rs.getString("CREATED_BY")).
-                        updatedBy(rs.getString("UPDATED_BY")).
-                        createdTime(rs.getTimestamp("CREATED_TIME").toLocalDateTime()).
-                        lastUpdatedTime(rs.getTimestamp("LAST_UPDATED_TIME").toLocalDateTime()).
-                        uriTemplates(getUriTemplates(connection, apiPrimaryKey)).
-                        policies(getSubscripitonPolciesByAPIId(connection, apiPrimaryKey)).copiedFromApiId(rs.getString
-                        ("COPIED_FROM_API")).
-                        workflowStatus(rs.getString("LC_WORKFLOW_STATUS")).build();
-            }
-        }
-
-        return null;
-    }
-
     private List<API> constructAPISummaryList(Connection connection, PreparedStatement statement) throws SQLException {
         List<API> apiList = new ArrayList<>();
         try (ResultSet rs = statement.executeQuery()) {
@@ -1423,10 +1604,11 @@ public class ApiDAOImpl implements ApiDAO {
             final String query = "INSERT INTO AM_API_TAG_MAPPING (API_ID, TAG_ID) VALUES (?, ?)";
 
             try (PreparedStatement statement = connection.prepareStatement(query)) {
+                int rowCount = 0;
                 for (String tagID : tagIDs) {
                     statement.setString(1, apiID);
                     statement.setString(2, tagID);
-                    statement.addBatch();
+                    DAOUtil.addBatch(statement, ++rowCount);
                 }
 
                 statement.executeBatch();
@@ -1470,10 +1652,11 @@ public class ApiDAOImpl implements ApiDAO {
     private void addVisibleRole(Connection connection, String apiID, Set<String> roles) throws SQLException {
         final String query = "INSERT INTO AM_API_VISIBLE_ROLES (API_ID, ROLE) VALUES (?,?)";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int rowCount = 0;
             for (String role : roles) {
                 statement.setString(1, apiID);
                 statement.setString(2, role);
-                statement.addBatch();
+                DAOUtil.addBatch(statement, ++rowCount);
             }
 
             statement.executeBatch();
@@ -1511,21 +1694,20 @@ public class ApiDAOImpl implements ApiDAO {
         if (!apiDefinition.isEmpty()) {
             ApiResourceDAO.addBinaryResource(connection, apiID, UUID.randomUUID().toString(), ResourceCategory.SWAGGER,
                     MediaType.APPLICATION_JSON,
-                    new ByteArrayInputStream(apiDefinition.getBytes(StandardCharsets.UTF_8)), addedBy);
+                    ResourceContentDAO.addContent(connection, apiDefinition.getBytes(StandardCharsets.UTF_8)),
+                    addedBy);
         }
     }
 
     private void updateAPIDefinition(Connection connection, String apiID, String apiDefinition, String updatedBy)
             throws SQLException {
         ApiResourceDAO.updateBinaryResourceForCategory(connection, apiID, ResourceCategory.SWAGGER,
-                new ByteArrayInputStream(apiDefinition.getBytes(StandardCharsets.UTF_8)), updatedBy);
+                ResourceContentDAO.addContent(connection, apiDefinition.getBytes(StandardCharsets.UTF_8)),
+                updatedBy);
     }
 
     private String getAPIDefinition(Connection connection, String apiID) throws SQLException, IOException {
-        InputStream apiDefinition = ApiResourceDAO.getBinaryValueForCategory(connection, apiID,
-                ResourceCategory.SWAGGER);
-
-        return IOUtils.toString(apiDefinition, StandardCharsets.UTF_8);
+        return ApiResourceDAO.getBinaryValueForCategoryAsText(connection, apiID, ResourceCategory.SWAGGER);
     }
 
     private void addGatewayConfig(Connection connection, String apiID, String gatewayConfig, String addedBy)
@@ -1534,25 +1716,21 @@ public class ApiDAOImpl implements ApiDAO {
             ApiResourceDAO
                     .addBinaryResource(connection, apiID, UUID.randomUUID().toString(), ResourceCategory.GATEWAY_CONFIG,
                             MediaType.APPLICATION_JSON,
-                            new ByteArrayInputStream(gatewayConfig.getBytes(StandardCharsets.UTF_8)), addedBy);
+                            ResourceContentDAO.addContent(connection, gatewayConfig.getBytes(StandardCharsets.UTF_8)),
+                            addedBy);
         }
     }
 
     private String getGatewayConfig(Connection connection, String apiID) throws SQLException, IOException {
-        InputStream gatewayConfig = ApiResourceDAO
-                .getBinaryValueForCategory(connection, apiID, ResourceCategory.GATEWAY_CONFIG);
-
-        if (gatewayConfig != null) {
-            return IOUtils.toString(gatewayConfig, StandardCharsets.UTF_8);
-        }
-        return null;
+        return ApiResourceDAO.getBinaryValueForCategoryAsText(connection, apiID, ResourceCategory.GATEWAY_CONFIG);
     }
 
     private void updateGatewayConfig(Connection connection, String apiID, String gatewayConfig, String updatedBy)
             throws SQLException {
         if (gatewayConfig != null && !gatewayConfig.isEmpty()) {
             ApiResourceDAO.updateBinaryResourceForCategory(connection, apiID, ResourceCategory.GATEWAY_CONFIG,
-                    new ByteArrayInputStream(gatewayConfig.getBytes(StandardCharsets.UTF_8)), updatedBy);
+                    ResourceContentDAO.addContent(connection, gatewayConfig.getBytes(StandardCharsets.UTF_8)),
+                    updatedBy);
         }
     }
 
@@ -1576,11 +1754,11 @@ public class ApiDAOImpl implements ApiDAO {
     private void addTransports(Connection connection, String apiID, Set<String> transports) throws SQLException {
         final String query = "INSERT INTO AM_API_TRANSPORTS (API_ID, TRANSPORT) VALUES (?,?)";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int rowCount = 0;
             for (String transport : transports) {
                 statement.setString(1, apiID);
                 statement.setString(2, transport);
-
-                statement.addBatch();
+                DAOUtil.addBatch(statement, ++rowCount);
             }
             statement.executeBatch();
 
@@ -1609,6 +1787,7 @@ public class ApiDAOImpl implements ApiDAO {
         if (permissionMap != null) {
             if (permissionMap.size() > 0) {
                 try (PreparedStatement statement = connection.prepareStatement(query)) {
+                    int rowCount = 0;
                     for (Map.Entry<String, Integer> entry : map.entrySet()) {
                         statement.setString(1, apiId);
                         statement.setString(2, entry.getKey());
@@ -1618,7 +1797,7 @@ public class ApiDAOImpl implements ApiDAO {
                         } else {
                             statement.setInt(3, entry.getValue());
                         }
-                        statement.addBatch();
+                        DAOUtil.addBatch(statement, ++rowCount);
                     }
                     statement.executeBatch();
                 }
@@ -1647,6 +1826,7 @@ public class ApiDAOImpl implements ApiDAO {
         if (permissionMap != null) {
             if (permissionMap.size() > 0) {
                 try (PreparedStatement statement = connection.prepareStatement(query)) {
+                    int rowCount = 0;
                     for (Map.Entry<String, Integer> entry : map.entrySet()) {
                         statement.setString(1, apiId);
                         statement.setString(2, entry.getKey());
@@ -1656,7 +1836,7 @@ public class ApiDAOImpl implements ApiDAO {
                         } else {
                             statement.setInt(3, entry.getValue());
                         }
-                        statement.addBatch();
+                        DAOUtil.addBatch(statement, ++rowCount);
                     }
                     statement.executeBatch();
                 }
@@ -1677,21 +1857,27 @@ public class ApiDAOImpl implements ApiDAO {
             throws SQLException, APIMgtDAOException {
         final String query = "INSERT INTO AM_API_OPERATION_MAPPING (OPERATION_ID,API_ID, HTTP_METHOD, URL_PATTERN, "
                 + "AUTH_SCHEME, API_POLICY_ID) VALUES (?,?,?,?,?,?)";
+        // Resources usually share a few policies, so each policy is only looked up once
+        Map<String, String> policyIDs = new HashMap<>();
         try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int rowCount = 0;
             for (UriTemplate uriTemplate : uriTemplates) {
+                String policyID = policyIDs.get(uriTemplate.getPolicy());
+                if (policyID == null) {
+                    policyID = getAPIThrottlePolicyID(connection, uriTemplate.getPolicy());
+                    policyIDs.put(uriTemplate.getPolicy(), policyID);
+                }
                 statement.setString(1, uriTemplate.getTemplateId());
                 statement.setString(2, apiID);
                 statement.setString(3, uriTemplate.getHttpVerb());
                 statement.setString(4, uriTemplate.getUriTemplate());
                 statement.setString(5, uriTemplate.getAuthType());
-                statement.setString(6, getAPIThrottlePolicyID(connection, uriTemplate.getPolicy()));
-                statement.addBatch();
+                statement.setString(6, policyID);
+                DAOUtil.addBatch(statement, ++rowCount);
             }
             statement.executeBatch();
-            for (UriTemplate uriTemplate : uriTemplates) {
-                addEndPointsForOperation(connection, apiID, uriTemplate.getTemplateId(), uriTemplate.getEndpoint());
-            }
         }
+        addEndPointsForOperations(connection, apiID, uriTemplates);
     }
 
     private void deleteUrlMappings(Connection connection, String apiID) throws
@@ -1731,10 +1917,11 @@ public class ApiDAOImpl implements ApiDAO {
         final String query =
                 "INSERT INTO AM_API_SUBS_POLICY_MAPPING (API_ID, SUBSCRIPTION_POLICY_ID) " + "VALUES (?, ?)";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int rowCount = 0;
             for (String policy : policies) {
                 statement.setString(1, apiID);
                 statement.setString(2, getSubscriptionThrottlePolicyID(connection, policy));
-                statement.addBatch();
+                DAOUtil.addBatch(statement, ++rowCount);
             }
             statement.executeBatch();
         }
@@ -1764,35 +1951,6 @@ public class ApiDAOImpl implements ApiDAO {
         throw new SQLException("Subscription Policy " + policyName + ", does not exist");
     }
 
-    private Set<String> getSubscripitonPolciesByAPIId(Connection connection, String apiId) throws SQLException {
-        final String query = "SELECT amPolcySub.NAME FROM AM_API_SUBS_POLICY_MAPPING apimsubmapping," +
-                "AM_SUBSCRIPTION_POLICY amPolcySub where apimsubmapping.SUBSCRIPTION_POLICY_ID=amPolcySub.UUID " +
-                "AND apimsubmapping.API_ID = ?";
-        Set<String> policies = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiId);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                while (rs.next()) {
-                    policies.add(rs.getString("NAME"));
-                }
-            }
-        }
-
-        return policies;
-    }
-
-    private boolean checkTableColumnExists(DatabaseMetaData databaseMetaData, String tableName, String columnName)
-            throws
-            APIMgtDAOException {
-        try (ResultSet rs = databaseMetaData.getColumns(null, null, tableName, columnName)) {
-            return rs.next();
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
-        }
-    }
-
     private int getApiTypeId(Connection connection, ApiType apiType) throws SQLException {
         final String query = "SELECT TYPE_ID FROM AM_API_TYPES WHERE TYPE_NAME = ?";
 
@@ -1810,23 +1968,6 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
-    private ApiType getApiTypeById(Connection connection, int apiTypeId) throws SQLException {
-        final String query = "SELECT TYPE_NAME FROM AM_API_TYPES WHERE TYPE_ID = ?";
-
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setInt(1, apiTypeId);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                if (rs.next()) {
-                    return ApiType.valueOf(rs.getString("TYPE_NAME"));
-                }
-
-                throw new SQLException("API Type Id " + apiTypeId + " does not exist");
-            }
-        }
-    }
-
     static void initResourceCategories() throws APIMgtDAOException {
         try (Connection connection = DAOUtil.getConnection()) {
             try {
@@ -1892,22 +2033,33 @@ public class ApiDAOImpl implements ApiDAO {
     }
 
     private void addEndpoint(Connection connection, Endpoint endpoint) throws SQLException {
+        addEndpoints(connection, Collections.singletonList(endpoint));
+    }
+
+    private void addEndpoints(Connection connection, Collection<Endpoint> endpoints) throws SQLException {
+        if (endpoints.isEmpty()) {
+            return;
+        }
         final String query = "INSERT INTO AM_ENDPOINT (UUID,NAME,ENDPOINT_CONFIGURATION,"
                 + "TPS,TYPE,SECURITY_CONFIGURATION,APPLICABLE_LEVEL) VALUES (?,?,?,?,?,?,?)";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, endpoint.getId());
-            statement.setString(2, endpoint.getName());
-            InputStream byteArrayInputStream = IOUtils.toInputStream(endpoint.getEndpointConfig());
-            statement.setBinaryStream(3, byteArrayInputStream);
-            if (endpoint.getMaxTps() != null) {
-                statement.setLong(4, endpoint.getMaxTps());
-            } else {
-                statement.setNull(4, Types.INTEGER);
+            int rowCount = 0;
+            for (Endpoint endpoint : endpoints) {
+                statement.setString(1, endpoint.getId());
+                statement.setString(2, endpoint.getName());
+                InputStream byteArrayInputStream = IOUtils.toInputStream(endpoint.getEndpointConfig());
+                statement.setBinaryStream(3, byteArrayInputStream);
+                if (endpoint.getMaxTps() != null) {
+                    statement.setLong(4, endpoint.getMaxTps());
+                } else {
+                    statement.setNull(4, Types.INTEGER);
+                }
+                statement.setString(5, endpoint.getType());
+                statement.setBinaryStream(6, IOUtils.toInputStream(endpoint.getSecurity()));
+                statement.setString(7, endpoint.getApplicableLevel());
+                DAOUtil.addBatch(statement, ++rowCount);
             }
-            statement.setString(5, endpoint.getType());
-            statement.setBinaryStream(6, IOUtils.toInputStream(endpoint.getSecurity()));
-            statement.setString(7, endpoint.getApplicableLevel());
-            statement.execute();
+            statement.executeBatch();
         }
     }
 
@@ -1938,6 +2090,7 @@ public class ApiDAOImpl implements ApiDAO {
                 connection.setAutoCommit(false);
                 deleteEndpoint(connection, endpointId);
                 connection.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.ENDPOINT, endpointId);
                 return true;
             } catch (SQLException e) {
                 String msg = "Couldn't Add Endpoint " + endpointId;
@@ -1945,6 +2098,7 @@ public class ApiDAOImpl implements ApiDAO {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
             } finally {
+                ApiCache.getInstance().invalidateAll();
                 connection.setAutoCommit(DAOUtil.isAutoCommit());
             }
         } catch (SQLException e) {
@@ -2021,6 +2175,7 @@ public class ApiDAOImpl implements ApiDAO {
                 statement.setString(6, endpoint.getId());
                 statement.execute();
                 connection.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.ENDPOINT, endpoint.getId());
                 return true;
             } catch (SQLException e) {
                 String msg = "Couldn't Update Endpoint " + endpoint.getName();
@@ -2028,6 +2183,7 @@ public class ApiDAOImpl implements ApiDAO {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
             } finally {
+                ApiCache.getInstance().invalidateAll();
                 connection.setAutoCommit(DAOUtil.isAutoCommit());
             }
         } catch (SQLException e) {
@@ -2044,7 +2200,7 @@ public class ApiDAOImpl implements ApiDAO {
      */
     @Override
     public Endpoint getEndpoint(String endpointId) throws APIMgtDAOException {
-        try (Connection connection = DAOUtil.getConnection()) {
+        try (Connection connection = DAOUtil.getReadConnection()) {
             return getEndpoint(connection, endpointId);
         } catch (SQLException | IOException e) {
             String msg = "Couldn't Get Endpoint " + endpointId;
@@ -2069,7 +2225,7 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
-    private Endpoint constructEndPointDetails(ResultSet resultSet) throws SQLException, IOException {
+    static Endpoint constructEndPointDetails(ResultSet resultSet) throws SQLException, IOException {
         Endpoint.Builder endpointBuilder = new Endpoint.Builder();
         endpointBuilder.id(resultSet.getString("UUID"));
         endpointBuilder.name(resultSet.getString("NAME"));
@@ -2093,7 +2249,7 @@ public class ApiDAOImpl implements ApiDAO {
     public Endpoint getEndpointByName(String name) throws APIMgtDAOException {
         final String query = "SELECT UUID,NAME,ENDPOINT_CONFIGURATION,TPS,TYPE,"
                 + "SECURITY_CONFIGURATION,APPLICABLE_LEVEL FROM AM_ENDPOINT WHERE name = ?";
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, name);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -2130,7 +2286,7 @@ public class ApiDAOImpl implements ApiDAO {
         final String query = "SELECT UUID,NAME,ENDPOINT_CONFIGURATION,TPS,TYPE,SECURITY_CONFIGURATION," +
                 "APPLICABLE_LEVEL FROM AM_ENDPOINT WHERE APPLICABLE_LEVEL='" + APIMgtConstants.GLOBAL_ENDPOINT + "'";
         List<Endpoint> endpointList = new ArrayList<>();
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query);
              ResultSet resultSet = statement.executeQuery()) {
             while (resultSet.next()) {
@@ -2172,18 +2328,14 @@ public class ApiDAOImpl implements ApiDAO {
             SQLException, APIMgtDAOException {
         final String query = "INSERT INTO AM_API_ENDPOINT_MAPPING (API_ID,TYPE,ENDPOINT_ID) VALUES (?,?,?)";
         if (endpointMap != null && !endpointMap.isEmpty()) {
+            addEndpoints(connection, getAPISpecificEndpoints(endpointMap.values()));
             try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                int rowCount = 0;
                 for (Map.Entry<String, Endpoint> entry : endpointMap.entrySet()) {
-                    String endpointId;
-                    Endpoint endpoint = entry.getValue();
-                    if (APIMgtConstants.API_SPECIFIC_ENDPOINT.equals(endpoint.getApplicableLevel())) {
-                        addEndpoint(connection, endpoint);
-                    }
-                    endpointId = endpoint.getId();
                     preparedStatement.setString(1, apiId);
                     preparedStatement.setString(2, entry.getKey());
-                    preparedStatement.setString(3, endpointId);
-                    preparedStatement.addBatch();
+                    preparedStatement.setString(3, entry.getValue().getId());
+                    DAOUtil.addBatch(preparedStatement, ++rowCount);
                 }
                 preparedStatement.executeBatch();
             }
@@ -2262,40 +2414,59 @@ public class ApiDAOImpl implements ApiDAO {
         return endpointMap;
     }
 
-    private void addEndPointsForOperation(Connection connection, String apiId, String operationId, Map<String,
-            Endpoint> endpointMap) throws SQLException, APIMgtDAOException {
+    private void addEndPointsForOperations(Connection connection, String apiId, Collection<UriTemplate> uriTemplates)
+            throws SQLException {
         final String query = "INSERT INTO AM_API_RESOURCE_ENDPOINT (API_ID,OPERATION_ID,TYPE,ENDPOINT_ID) " +
                 "VALUES (?,?,?,?)";
-        if (endpointMap != null && !endpointMap.isEmpty()) {
-            try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-                for (Map.Entry<String, Endpoint> entry : endpointMap.entrySet()) {
-                    String endpointId;
-                    Endpoint endpoint = entry.getValue();
-                    if (APIMgtConstants.API_SPECIFIC_ENDPOINT.equals(endpoint.getApplicableLevel())) {
-                        addEndpoint(connection, endpoint);
-                    }
-                    endpointId = endpoint.getId();
+        List<Endpoint> apiSpecificEndpoints = new ArrayList<>();
+        for (UriTemplate uriTemplate : uriTemplates) {
+            if (uriTemplate.getEndpoint() != null) {
+                apiSpecificEndpoints.addAll(getAPISpecificEndpoints(uriTemplate.getEndpoint().values()));
+            }
+        }
+        addEndpoints(connection, apiSpecificEndpoints);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int rowCount = 0;
+            for (UriTemplate uriTemplate : uriTemplates) {
+                if (uriTemplate.getEndpoint() == null) {
+                    continue;
+                }
+                for (Map.Entry<String, Endpoint> entry : uriTemplate.getEndpoint().entrySet()) {
                     preparedStatement.setString(1, apiId);
-                    preparedStatement.setString(2, operationId);
+                    preparedStatement.setString(2, uriTemplate.getTemplateId());
                     preparedStatement.setString(3, entry.getKey());
-                    preparedStatement.setString(4, endpointId);
-                    preparedStatement.addBatch();
+                    preparedStatement.setString(4, entry.getValue().getId());
+                    DAOUtil.addBatch(preparedStatement, ++rowCount);
                 }
+            }
+            if (rowCount > 0) {
                 preparedStatement.executeBatch();
             }
         }
     }
 
+    private static List<Endpoint> getAPISpecificEndpoints(Collection<Endpoint> endpoints) {
+        List<Endpoint> apiSpecificEndpoints = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            if (APIMgtConstants.API_SPECIFIC_ENDPOINT.equals(endpoint.getApplicableLevel())) {
+                apiSpecificEndpoints.add(endpoint);
+            }
+        }
+        return apiSpecificEndpoints;
+    }
+
     private void addLabelMapping(Connection connection, String apiID, Set<String> labels) throws SQLException {
 
         if (labels != null && !labels.isEmpty()) {
             final String query = "INSERT INTO AM_API_LABEL_MAPPING (API_ID, LABEL_ID) VALUES (?,?)";
 
+            Map<String, String> labelIDs = LabelDAOImpl.getLabelIDs(connection, labels);
             try (PreparedStatement statement = connection.prepareStatement(query)) {
+                int rowCount = 0;
                 for (String label : labels) {
                     statement.setString(1, apiID);
-                    statement.setString(2, LabelDAOImpl.getLabelID(label));
-                    statement.addBatch();
+                    statement.setString(2, labelIDs.get(label));
+                    DAOUtil.addBatch(statement, ++rowCount);
                 }
                 statement.executeBatch();
             }
@@ -2310,48 +2481,6 @@ public class ApiDAOImpl implements ApiDAO {
         }
     }
 
-    private Set<String> getLabelNames(Connection connection, String apiID) throws SQLException {
-        Set<String> labelNames = new HashSet<>();
-
-        final String query = "SELECT LABEL_ID FROM AM_API_LABEL_MAPPING WHERE API_ID = ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiID);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                List<String> labelIDs = new ArrayList<>();
-
-                while (rs.next()) {
-                    labelIDs.add(rs.getString("LABEL_ID"));
-                }
-
-                if (!labelIDs.isEmpty()) {
-                    labelNames = LabelDAOImpl.getLabelNamesByIDs(labelIDs);
-                }
-            }
-        }
-
-        return labelNames;
-    }
-
-    private Set<String> getTransports(Connection connection, String apiID) throws SQLException {
-        Set<String> transports = new HashSet<>();
-
-        final String query = "SELECT TRANSPORT FROM AM_API_TRANSPORTS WHERE API_ID = ?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, apiID);
-            statement.execute();
-
-            try (ResultSet rs = statement.getResultSet()) {
-                while (rs.next()) {
-                    transports.add(rs.getString("TRANSPORT"));
-                }
-            }
-        }
-
-        return transports;
-    }
-
     private static boolean isApiTypesExist(Connection connection) throws SQLException {
         final String query = "SELECT 1 FROM AM_API_TYPES";
 
@@ -2421,6 +2550,7 @@ public class ApiDAOImpl implements ApiDAO {
                 connection.rollback();
                 throw new APIMgtDAOException(e);
             } finally {
+                ApiCache.getInstance().invalidate(apiID);
                 connection.setAutoCommit(DAOUtil.isAutoCommit());
             }
         } catch (SQLException e) {
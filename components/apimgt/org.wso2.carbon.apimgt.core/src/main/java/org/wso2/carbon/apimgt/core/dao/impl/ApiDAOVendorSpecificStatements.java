@@ -96,4 +96,47 @@ public interface ApiDAOVendorSpecificStatements {
     PreparedStatement attributeSearchStore(Connection connection, List<String> roles, Map<String,
             String> attributeMap, int offset, int limit) throws APIMgtDAOException;
 
+    /**
+     * Returns the query string to retrieve a page of the APIs listed in the store, ordered by name and UUID. The
+     * condition of the query is built by {@link ApiDAOImpl#getAPIsByStatusCondition(int, int, boolean)}.
+     *
+     * @param statusCount Number of statuses to be passed to query
+     * @param roleCount Number of roles to be passed to query
+     * @param seek whether the page starts after a given name and UUID
+     * @return String
+     */
+    String getApisByStatusQuery(int statusCount, int roleCount, boolean seek);
+
+    /**
+     * Set parameters of the PreparedStatement created for the store listing query
+     * @param statement SQL PreparedStatement
+     * @param roles roles assigned to the user
+     * @param statuses statuses of the APIs to be listed
+     * @param apiType API type to be listed
+     * @param afterName name of the last API of the previous page, or null
+     * @param afterId UUID of the last API of the previous page, or null
+     * @param offset result pagination offset
+     * @param limit result pagination limit
+     */
+    void setApisByStatusStatement(PreparedStatement statement, Set<String> roles, List<String> statuses,
+                                  ApiType apiType, String afterName, String afterId, int offset, int limit)
+                                  throws SQLException;
+
+    /**
+     * Returns the query string to read the number of rows of the API table estimated by the database from its
+     * statistics, without scanning the table. The query returns a single row with a single numeric column, which
+     * is null if the database has no statistics of the table.
+     * @return String
+     */
+    String getApiCountEstimateQuery();
+
+    /**
+     * Returns the query string to select the columns used by the store listing condition from a sample of the rows
+     * of the API table. The sample is taken in the order of the UUIDs of the APIs, which are random, so that it is
+     * spread over the whole table while being read through the primary key.
+     * @param sampleSize maximum number of rows of the sample
+     * @return String
+     */
+    String getApiSampleQuery(int sampleSize);
+
 }
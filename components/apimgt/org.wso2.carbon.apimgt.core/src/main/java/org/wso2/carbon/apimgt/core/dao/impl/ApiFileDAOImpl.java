@@ -29,6 +29,7 @@ import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
 import org.wso2.carbon.apimgt.core.util.APIFileUtils;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 
@@ -528,6 +529,34 @@ public class ApiFileDAOImpl implements ApiDAO {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * @see ApiDAO#getAPIsByStatus(Set, List, ApiType, String, String, int, int)
+     */
+    @Override
+    public List<API> getAPIsByStatus(Set<String> roles, List<String> statuses, ApiType apiType, String afterName,
+                                     String afterId, int offset, int limit) throws APIMgtDAOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @see ApiDAO#getLandingPageAPIs(Set, List, ApiType, String, String, int, int)
+     */
+    @Override
+    public List<LandingPageAPI> getLandingPageAPIs(Set<String> roles, List<String> statuses, ApiType apiType,
+                                                   String afterName, String afterId, int offset, int limit)
+            throws APIMgtDAOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @see ApiDAO#getEstimatedAPICountByStatus(Set, List, ApiType)
+     */
+    @Override
+    public long getEstimatedAPICountByStatus(Set<String> roles, List<String> statuses, ApiType apiType)
+            throws APIMgtDAOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * @see ApiDAO#searchAPIs(Set roles, String user, String searchString, ApiType apiType, int offset, int limit)
      */
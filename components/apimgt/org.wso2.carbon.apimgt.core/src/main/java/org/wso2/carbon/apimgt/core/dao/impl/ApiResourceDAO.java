@@ -20,21 +20,29 @@
 
 package org.wso2.carbon.apimgt.core.dao.impl;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.io.IOUtils;
 import org.wso2.carbon.apimgt.core.models.ResourceCategory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.sql.Blob;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 class ApiResourceDAO {
+    /**
+     * Selects the shared content of binary resources, along with the value held by resources written before contents
+     * were shared
+     */
+    private static final String BINARY_VALUE_QUERY = "SELECT C.CONTENT, R.RESOURCE_BINARY_VALUE FROM " +
+            "AM_API_RESOURCES R LEFT JOIN AM_RESOURCE_CONTENTS C ON R.CONTENT_HASH = C.CONTENT_HASH ";
 
     static boolean isResourceExistsForCategory(Connection connection, String apiID,
                                                ResourceCategory category) throws SQLException {
@@ -89,10 +97,13 @@ class ApiResourceDAO {
         }
     }
 
+    /**
+     * Add a binary resource whose value is a content stored with {@link ResourceContentDAO}
+     */
     static void addBinaryResource(Connection connection, String apiID, String resourceID, ResourceCategory category,
-            String dataType, InputStream binaryValue, String createdBy) throws SQLException {
+            String dataType, String contentHash, String createdBy) throws SQLException {
         final String query = "INSERT INTO AM_API_RESOURCES (UUID, API_ID, RESOURCE_CATEGORY_ID, " +
-                "DATA_TYPE, RESOURCE_BINARY_VALUE, CREATED_BY, CREATED_TIME, UPDATED_BY, LAST_UPDATED_TIME) " 
+                "DATA_TYPE, CONTENT_HASH, CREATED_BY, CREATED_TIME, UPDATED_BY, LAST_UPDATED_TIME) "
                 + "VALUES (?,?,?,?,?,?,?,?,?)";
 
         try (PreparedStatement statement = connection.prepareStatement(query)) {
@@ -100,7 +111,7 @@ class ApiResourceDAO {
             statement.setString(2, apiID);
             statement.setInt(3, ResourceCategoryDAO.getResourceCategoryID(connection, category));
             statement.setString(4, dataType);
-            statement.setBinaryStream(5, binaryValue);
+            statement.setString(5, contentHash);
             statement.setString(6, createdBy);
             statement.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
             statement.setString(8, createdBy);
@@ -145,10 +156,14 @@ class ApiResourceDAO {
         }
     }
 
-    static InputStream getBinaryValueForCategory(Connection connection, String apiID,
-                                                 ResourceCategory category) throws SQLException, IOException {
-        final String query = "SELECT RESOURCE_BINARY_VALUE FROM AM_API_RESOURCES WHERE API_ID = ? AND " +
-                "RESOURCE_CATEGORY_ID = ?";
+    /**
+     * Read the binary value of the resource of an API in a category as UTF-8 text
+     *
+     * @return the text, or null if the resource or its value does not exist
+     */
+    static String getBinaryValueForCategoryAsText(Connection connection, String apiID,
+                                                  ResourceCategory category) throws SQLException, IOException {
+        final String query = BINARY_VALUE_QUERY + "WHERE R.API_ID = ? AND R.RESOURCE_CATEGORY_ID = ?";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, apiID);
             statement.setInt(2, ResourceCategoryDAO.getResourceCategoryID(connection, category));
@@ -156,9 +171,11 @@ class ApiResourceDAO {
 
             try (ResultSet rs =  statement.getResultSet()) {
                 if (rs.next()) {
-                    InputStream inputStream = new ByteArrayInputStream(IOUtils.toByteArray(rs.getBinaryStream
-                            ("RESOURCE_BINARY_VALUE")));
-                    return inputStream;
+                    try (InputStream binaryValue = getBinaryValue(rs)) {
+                        if (binaryValue != null) {
+                            return IOUtils.toString(binaryValue, StandardCharsets.UTF_8);
+                        }
+                    }
                 }
             }
         }
@@ -166,26 +183,108 @@ class ApiResourceDAO {
         return null;
     }
 
-    static InputStream getBinaryResource(Connection connection, String resourceID) throws SQLException {
-        final String query = "SELECT RESOURCE_BINARY_VALUE FROM AM_API_RESOURCES WHERE UUID = ?";
+    /**
+     * Open the binary value of the resource of an API in a category. The value is streamed from the database
+     * instead of being read into memory.
+     * <p>
+     * The connection is owned by the returned stream and is closed along with it. It is closed before returning if
+     * the value does not exist or cannot be read.
+     *
+     * @return stream of the value, or null if the resource or its value does not exist
+     */
+    static InputStream openBinaryValueForCategory(Connection connection, String apiID,
+                                                  ResourceCategory category) throws SQLException {
+        final String query = BINARY_VALUE_QUERY + "WHERE R.API_ID = ? AND R.RESOURCE_CATEGORY_ID = ?";
+        int categoryID;
+        try {
+            categoryID = ResourceCategoryDAO.getResourceCategoryID(connection, category);
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(e, connection);
+            throw e;
+        }
+        return openBinaryValue(connection, query, apiID, categoryID);
+    }
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, resourceID);
-            statement.execute();
+    /**
+     * Open the binary value of a resource. The value is streamed from the database instead of being read into
+     * memory.
+     * <p>
+     * The connection is owned by the returned stream and is closed along with it. It is closed before returning if
+     * the value does not exist or cannot be read.
+     *
+     * @return stream of the value, or null if the resource or its value does not exist
+     */
+    static InputStream openBinaryResource(Connection connection, String resourceID) throws SQLException {
+        final String query = BINARY_VALUE_QUERY + "WHERE R.UUID = ?";
+        return openBinaryValue(connection, query, resourceID);
+    }
 
-            try (ResultSet rs =  statement.getResultSet()) {
-                if (rs.next()) {
-                    Blob blob = rs.getBlob("RESOURCE_BINARY_VALUE");
-                    if (blob != null) {
-                        return blob.getBinaryStream();
-                    }
+    // The query is one of the constants of the callers. The statement and connection are closed by the stream
+    @SuppressFBWarnings({"SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING", "OBL_UNSATISFIED_OBLIGATION",
+            "ODR_OPEN_DATABASE_RESOURCE"})
+    private static InputStream openBinaryValue(Connection connection, String query, Object... parameters)
+            throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet rs = null;
+        try {
+            statement = connection.prepareStatement(query);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            rs = statement.executeQuery();
+            if (rs.next()) {
+                InputStream binaryValue = getBinaryValue(rs);
+                if (binaryValue != null) {
+                    return new ResultSetInputStream(binaryValue, rs, statement, connection);
                 }
             }
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(e, rs, statement, connection);
+            throw e;
         }
 
+        close(rs, statement, connection);
         return null;
     }
 
+    /**
+     * Get the value selected by {@link #BINARY_VALUE_QUERY}. Resources written before contents were shared still
+     * hold their own value.
+     */
+    private static InputStream getBinaryValue(ResultSet rs) throws SQLException {
+        InputStream content = rs.getBinaryStream("CONTENT");
+        return content != null ? content : rs.getBinaryStream("RESOURCE_BINARY_VALUE");
+    }
+
+    private static void closeAfterFailure(Exception failure, AutoCloseable... resources) {
+        try {
+            close(resources);
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static void close(AutoCloseable... resources) throws SQLException {
+        SQLException exception = null;
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (exception == null) {
+                    exception = new SQLException("Error occurred while releasing database resources", e);
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
     static String getTextResource(Connection connection, String resourceID) throws SQLException {
         final String query = "SELECT RESOURCE_TEXT_VALUE FROM AM_API_RESOURCES WHERE UUID = ?";
 
@@ -203,25 +302,39 @@ class ApiResourceDAO {
         return null;
     }
 
+    /**
+     * Replace the value of the binary resource of an API in a category with a content stored with
+     * {@link ResourceContentDAO}, and release the previous content
+     */
     static void updateBinaryResourceForCategory(Connection connection, String apiID, ResourceCategory category,
-            InputStream resourceValue, String updatedBy) throws SQLException {
-        final String query = "UPDATE AM_API_RESOURCES SET RESOURCE_BINARY_VALUE = ?, UPDATED_BY = ?, " 
-                + "LAST_UPDATED_TIME = ? WHERE API_ID = ? AND RESOURCE_CATEGORY_ID = ?";
+            String contentHash, String updatedBy) throws SQLException {
+        final String query = "UPDATE AM_API_RESOURCES SET CONTENT_HASH = ?, RESOURCE_BINARY_VALUE = NULL, " +
+                "UPDATED_BY = ?, LAST_UPDATED_TIME = ? WHERE API_ID = ? AND RESOURCE_CATEGORY_ID = ?";
+        int categoryID = ResourceCategoryDAO.getResourceCategoryID(connection, category);
+        List<String> previousContentHashes = getContentHashes(connection,
+                "SELECT CONTENT_HASH FROM AM_API_RESOURCES WHERE API_ID = ? AND RESOURCE_CATEGORY_ID = ?", apiID,
+                categoryID);
         try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setBinaryStream(1, resourceValue);
+            statement.setString(1, contentHash);
             statement.setString(2, updatedBy);
             statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
             statement.setString(4, apiID);
-            statement.setInt(5, ResourceCategoryDAO.getResourceCategoryID(connection, category));
+            statement.setInt(5, categoryID);
 
             statement.execute();
         }
+        ResourceContentDAO.releaseContents(connection, previousContentHashes);
     }
 
-    static String getResourceLastUpdatedTime(Connection connection, String apiId, String resourceID,
+    /**
+     * Get the version of a resource, which is the hash of its content when the value is stored with
+     * {@link ResourceContentDAO}, and its last updated time otherwise. A content hash changes exactly when the value
+     * changes, so ETags generated from it are strong validators.
+     */
+    static String getResourceVersion(Connection connection, String apiId, String resourceID,
             ResourceCategory category) throws SQLException {
-        final String query = "SELECT LAST_UPDATED_TIME FROM AM_API_RESOURCES WHERE API_ID = ? AND UUID = ? AND " +
-                "RESOURCE_CATEGORY_ID = ?";
+        final String query = "SELECT CONTENT_HASH, LAST_UPDATED_TIME FROM AM_API_RESOURCES WHERE API_ID = ? AND " +
+                "UUID = ? AND RESOURCE_CATEGORY_ID = ?";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, apiId);
             statement.setString(2, resourceID);
@@ -230,16 +343,21 @@ class ApiResourceDAO {
 
             try (ResultSet rs = statement.getResultSet()) {
                 if (rs.next()) {
-                    return rs.getString("LAST_UPDATED_TIME");
+                    return getResourceVersion(rs);
                 }
             }
         }
         return null;
     }
 
-    static String getAPIUniqueResourceLastUpdatedTime(Connection connection, String apiID, ResourceCategory category)
+    /**
+     * Get the version of the resource of a category an API has only one resource of
+     *
+     * @see #getResourceVersion(Connection, String, String, ResourceCategory)
+     */
+    static String getAPIUniqueResourceVersion(Connection connection, String apiID, ResourceCategory category)
             throws SQLException {
-        final String query = "SELECT LAST_UPDATED_TIME FROM AM_API_RESOURCES WHERE API_ID = ? AND " +
+        final String query = "SELECT CONTENT_HASH, LAST_UPDATED_TIME FROM AM_API_RESOURCES WHERE API_ID = ? AND " +
                 "RESOURCE_CATEGORY_ID = ?";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, apiID);
@@ -248,25 +366,44 @@ class ApiResourceDAO {
 
             try (ResultSet rs = statement.getResultSet()) {
                 if (rs.next()) {
-                    return rs.getString("LAST_UPDATED_TIME");
+                    return getResourceVersion(rs);
                 }
             }
         }
         return null;
     }
 
-    static int updateBinaryResource(Connection connection, String resourceID, InputStream resourceValue, String
+    private static String getResourceVersion(ResultSet rs) throws SQLException {
+        String contentHash = rs.getString("CONTENT_HASH");
+        return contentHash != null ? contentHash : rs.getString("LAST_UPDATED_TIME");
+    }
+
+    /**
+     * Replace the value of a binary resource with a content stored with {@link ResourceContentDAO}, and release the
+     * previous content. The new content is released if the resource does not exist.
+     *
+     * @return number of updated resources
+     */
+    static int updateBinaryResource(Connection connection, String resourceID, String contentHash, String
             dataType, String updatedBy) throws SQLException {
-        final String query = "UPDATE AM_API_RESOURCES SET RESOURCE_BINARY_VALUE = ?, DATA_TYPE = ?, UPDATED_BY = ?, " 
-                + "LAST_UPDATED_TIME = ? WHERE UUID = ?";
+        final String query = "UPDATE AM_API_RESOURCES SET CONTENT_HASH = ?, RESOURCE_BINARY_VALUE = NULL, " +
+                "DATA_TYPE = ?, UPDATED_BY = ?, LAST_UPDATED_TIME = ? WHERE UUID = ?";
+        List<String> releasedContentHashes = getContentHashes(connection,
+                "SELECT CONTENT_HASH FROM AM_API_RESOURCES WHERE UUID = ?", resourceID);
+        int updatedCount;
         try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setBinaryStream(1, resourceValue);
+            statement.setString(1, contentHash);
             statement.setString(2, dataType);
             statement.setString(3, updatedBy);
             statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
             statement.setString(5, resourceID);
-            return statement.executeUpdate();
+            updatedCount = statement.executeUpdate();
         }
+        if (updatedCount == 0) {
+            releasedContentHashes.add(contentHash);
+        }
+        ResourceContentDAO.releaseContents(connection, releasedContentHashes);
+        return updatedCount;
     }
 
     static int updateTextResource(Connection connection, String resourceID, String resourceValue, String updatedBy)
@@ -286,21 +423,59 @@ class ApiResourceDAO {
     static void deleteUniqueResourceForCategory(Connection connection, String apiID, ResourceCategory resourceCategory)
             throws SQLException {
         final String query = "DELETE FROM AM_API_RESOURCES WHERE API_ID = ? AND RESOURCE_CATEGORY_ID = ?";
+        int categoryID = ResourceCategoryDAO.getResourceCategoryID(connection, resourceCategory);
+        List<String> contentHashes = getContentHashes(connection,
+                "SELECT CONTENT_HASH FROM AM_API_RESOURCES WHERE API_ID = ? AND RESOURCE_CATEGORY_ID = ?", apiID,
+                categoryID);
         try (PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, apiID);
-            statement.setInt(2, ResourceCategoryDAO.getResourceCategoryID(connection, resourceCategory));
+            statement.setInt(2, categoryID);
 
             statement.execute();
         }
+        ResourceContentDAO.releaseContents(connection, contentHashes);
     }
 
     static void deleteResource(Connection connection, String resourceID)
             throws SQLException {
         final String query = "DELETE FROM AM_API_RESOURCES WHERE UUID = ?";
+        List<String> contentHashes = getContentHashes(connection,
+                "SELECT CONTENT_HASH FROM AM_API_RESOURCES WHERE UUID = ?", resourceID);
         try (PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, resourceID);
 
             statement.execute();
         }
+        ResourceContentDAO.releaseContents(connection, contentHashes);
+    }
+
+    /**
+     * Get the hashes of the contents referenced by the resources of an API. They should be released with
+     * {@link ResourceContentDAO#releaseContents(Connection, java.util.Collection)} once the API is deleted.
+     */
+    static List<String> getContentHashesOfAPI(Connection connection, String apiID) throws SQLException {
+        return getContentHashes(connection, "SELECT CONTENT_HASH FROM AM_API_RESOURCES WHERE API_ID = ?", apiID);
+    }
+
+    // The query is one of the constants of the callers
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private static List<String> getContentHashes(Connection connection, String query, Object... parameters)
+            throws SQLException {
+        List<String> contentHashes = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String contentHash = rs.getString("CONTENT_HASH");
+                    if (contentHash != null) {
+                        contentHashes.add(contentHash);
+                    }
+                }
+            }
+        }
+        return contentHashes;
     }
 }
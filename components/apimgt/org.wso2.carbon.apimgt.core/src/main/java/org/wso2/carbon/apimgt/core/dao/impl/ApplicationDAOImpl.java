@@ -21,6 +21,7 @@
 package org.wso2.carbon.apimgt.core.dao.impl;
 
 import org.wso2.carbon.apimgt.core.dao.ApplicationDAO;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.APIKey;
 import org.wso2.carbon.apimgt.core.models.Application;
@@ -63,7 +64,7 @@ public class ApplicationDAOImpl implements ApplicationDAO {
     public Application getApplication(String appId) throws APIMgtDAOException {
         final String completeGetAppQuery = GET_APPS_QUERY + " WHERE UUID = ?";
         Application application;
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(completeGetAppQuery)) {
             ps.setString(1, appId);
             try (ResultSet rs = ps.executeQuery()) {
@@ -88,7 +89,7 @@ public class ApplicationDAOImpl implements ApplicationDAO {
     public Application getApplicationByName(String appName, String ownerId) throws APIMgtDAOException {
         final String completeGetAppQuery = GET_APPS_QUERY + " WHERE NAME = ? AND CREATED_BY = ?";
         Application application;
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(completeGetAppQuery)) {
             ps.setString(1, appName);
             ps.setString(2, ownerId);
@@ -111,7 +112,7 @@ public class ApplicationDAOImpl implements ApplicationDAO {
     @Override
     public List<Application> getApplications(String ownerId) throws APIMgtDAOException {
         final String completeGetAppsQuery = GET_APPS_QUERY + " WHERE CREATED_BY = ?";
-        try (Connection conn = DAOUtil.getConnection();
+        try (Connection conn = DAOUtil.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(completeGetAppsQuery)) {
             ps.setString(1, ownerId);
             try (ResultSet rs = ps.executeQuery()) {
@@ -323,6 +324,7 @@ public class ApplicationDAOImpl implements ApplicationDAO {
                 ps.executeUpdate();
                 updateApplicationPermission(conn, updatedApp.getPermissionMap(), updatedApp.getId());
                 conn.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.APPLICATION, appID);
             } catch (SQLException ex) {
                 conn.rollback();
                 throw new APIMgtDAOException(ex);
@@ -350,6 +352,9 @@ public class ApplicationDAOImpl implements ApplicationDAO {
                 ps.setString(1, appID);
                 ps.execute();
                 conn.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.APPLICATION, appID);
+                // the subscriptions of the application were removed by a cascading delete
+                ResourceVersionCache.getInstance().invalidateAll(ResourceType.SUBSCRIPTION);
             } catch (SQLException ex) {
                 conn.rollback();
                 throw new APIMgtDAOException(ex);
@@ -417,7 +422,8 @@ public class ApplicationDAOImpl implements ApplicationDAO {
      */
     @Override
     public String getLastUpdatedTimeOfApplication(String applicationId) throws APIMgtDAOException {
-        return EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_APPLICATION_TABLE_NAME, applicationId);
+        return ResourceVersionCache.getInstance().get(ResourceType.APPLICATION, applicationId,
+                () -> EntityDAO.getLastUpdatedTimeOfResourceByUUID(AM_APPLICATION_TABLE_NAME, applicationId));
     }
 
     private void setApplicationKeys(Connection conn, Application application, String applicationId)
@@ -480,6 +486,7 @@ public class ApplicationDAOImpl implements ApplicationDAO {
                 ps.setString(3, appID);               
                 ps.executeUpdate();
                 conn.commit();
+                ResourceVersionCache.getInstance().invalidate(ResourceType.APPLICATION, appID);
             } catch (SQLException ex) {
                 conn.rollback();
                 throw new APIMgtDAOException(ex);
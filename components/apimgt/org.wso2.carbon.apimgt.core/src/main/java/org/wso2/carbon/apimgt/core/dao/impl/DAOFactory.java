@@ -32,8 +32,6 @@ import org.wso2.carbon.apimgt.core.dao.TagDAO;
 import org.wso2.carbon.apimgt.core.dao.WorkflowDAO;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 
-import java.sql.Connection;
-import java.sql.SQLException;
 
 /**
  * Constructs DB vendor specific DAO implementations in a transparent manner.
@@ -66,29 +64,25 @@ public class DAOFactory {
             }
         }
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
+        String driverName = SchemaMetadata.getInstance().getDriverName();
 
-            if (driverName.contains(MYSQL)) {
-                apiDAO = new ApiDAOImpl(new MysqlSQLStatements());
-            } else if (driverName.contains(H2)) {
-                apiDAO = new ApiDAOImpl(new H2SQLStatements());
+        if (driverName.contains(MYSQL)) {
+            apiDAO = new ApiDAOImpl(new MysqlSQLStatements());
+        } else if (driverName.contains(H2)) {
+            apiDAO = new ApiDAOImpl(new H2SQLStatements());
 
-            } else if (driverName.contains(DB2)) {
+        } else if (driverName.contains(DB2)) {
 
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                apiDAO = new ApiDAOImpl(new MssqlSQLStatements());
-            } else if (driverName.contains(POSTGRE)) {
-                apiDAO = new ApiDAOImpl(new PostgresSQLStatements());
+        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+            apiDAO = new ApiDAOImpl(new MssqlSQLStatements());
+        } else if (driverName.contains(POSTGRE)) {
+            apiDAO = new ApiDAOImpl(new PostgresSQLStatements());
 
-            } else if (driverName.contains(ORACLE)) {
-                apiDAO = new ApiDAOImpl(new OracleSQLStatements());
+        } else if (driverName.contains(ORACLE)) {
+            apiDAO = new ApiDAOImpl(new OracleSQLStatements());
 
-            } else {
-                throw new APIMgtDAOException("Unhandled DB Type detected");
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
+        } else {
+            throw new APIMgtDAOException("Unhandled DB Type detected");
         }
 
         setup();
@@ -99,24 +93,20 @@ public class DAOFactory {
     public static ApplicationDAO getApplicationDAO() throws APIMgtDAOException {
         ApplicationDAO appDAO = null;
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
+        String driverName = SchemaMetadata.getInstance().getDriverName();
 
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(DB2)) {
+        if (driverName.contains(MYSQL) || driverName.contains(H2)) {
+            appDAO = new ApplicationDAOImpl();
+        } else if (driverName.contains(DB2)) {
 
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                appDAO = new ApplicationDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                appDAO = new ApplicationDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB Type detected");
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
+        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+            appDAO = new ApplicationDAOImpl();
+        } else if (driverName.contains(POSTGRE)) {
+            appDAO = new ApplicationDAOImpl();
+        } else if (driverName.contains(ORACLE)) {
+            appDAO = new ApplicationDAOImpl();
+        } else {
+            throw new APIMgtDAOException("Unhandled DB Type detected");
         }
 
         setup();
@@ -127,26 +117,22 @@ public class DAOFactory {
     public static APISubscriptionDAO getAPISubscriptionDAO() throws APIMgtDAOException {
         APISubscriptionDAO apiSubscriptionDAO = null;
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
+        String driverName = SchemaMetadata.getInstance().getDriverName();
 
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-            } else if (driverName.contains(DB2)) {
+        if (driverName.contains(MYSQL) || driverName.contains(H2)) {
+            apiSubscriptionDAO = new APISubscriptionDAOImpl();
+        } else if (driverName.contains(DB2)) {
 
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
+        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+            apiSubscriptionDAO = new APISubscriptionDAOImpl();
 
-            } else if (driverName.contains(POSTGRE)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
+        } else if (driverName.contains(POSTGRE)) {
+            apiSubscriptionDAO = new APISubscriptionDAOImpl();
 
-            } else if (driverName.contains(ORACLE)) {
-                apiSubscriptionDAO = new APISubscriptionDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB Type detected");
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
+        } else if (driverName.contains(ORACLE)) {
+            apiSubscriptionDAO = new APISubscriptionDAOImpl();
+        } else {
+            throw new APIMgtDAOException("Unhandled DB Type detected");
         }
 
         setup();
@@ -157,26 +143,22 @@ public class DAOFactory {
     public static PolicyDAO getPolicyDAO() throws APIMgtDAOException {
         PolicyDAO policyDAO = null;
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
+        String driverName = SchemaMetadata.getInstance().getDriverName();
 
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                policyDAO = new PolicyDAOImpl();
-            } else if (driverName.contains(DB2)) {
+        if (driverName.contains(MYSQL) || driverName.contains(H2)) {
+            policyDAO = new PolicyDAOImpl();
+        } else if (driverName.contains(DB2)) {
 
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                policyDAO = new PolicyDAOImpl();
+        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+            policyDAO = new PolicyDAOImpl();
 
-            } else if (driverName.contains(POSTGRE)) {
-                policyDAO = new PolicyDAOImpl();
+        } else if (driverName.contains(POSTGRE)) {
+            policyDAO = new PolicyDAOImpl();
 
-            } else if (driverName.contains(ORACLE)) {
-                policyDAO = new PolicyDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB Type detected");
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
+        } else if (driverName.contains(ORACLE)) {
+            policyDAO = new PolicyDAOImpl();
+        } else {
+            throw new APIMgtDAOException("Unhandled DB Type detected");
         }
 
         setup();
@@ -187,24 +169,20 @@ public class DAOFactory {
     public static TagDAO getTagDAO() throws APIMgtDAOException {
         TagDAO tagDAO = null;
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
+        String driverName = SchemaMetadata.getInstance().getDriverName();
 
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(DB2)) {
+        if (driverName.contains(MYSQL) || driverName.contains(H2)) {
+            tagDAO = new TagDAOImpl();
+        } else if (driverName.contains(DB2)) {
 
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                tagDAO = new TagDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                tagDAO = new TagDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB Type detected");
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
+        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+            tagDAO = new TagDAOImpl();
+        } else if (driverName.contains(POSTGRE)) {
+            tagDAO = new TagDAOImpl();
+        } else if (driverName.contains(ORACLE)) {
+            tagDAO = new TagDAOImpl();
+        } else {
+            throw new APIMgtDAOException("Unhandled DB Type detected");
         }
 
         setup();
@@ -215,24 +193,20 @@ public class DAOFactory {
     public static LabelDAO getLabelDAO() throws APIMgtDAOException {
         LabelDAO labelDAO = null;
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
+        String driverName = SchemaMetadata.getInstance().getDriverName();
 
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(DB2)) {
+        if (driverName.contains(MYSQL) || driverName.contains(H2)) {
+            labelDAO = new LabelDAOImpl();
+        } else if (driverName.contains(DB2)) {
 
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                labelDAO = new LabelDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                labelDAO = new LabelDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB Type detected");
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
+        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+            labelDAO = new LabelDAOImpl();
+        } else if (driverName.contains(POSTGRE)) {
+            labelDAO = new LabelDAOImpl();
+        } else if (driverName.contains(ORACLE)) {
+            labelDAO = new LabelDAOImpl();
+        } else {
+            throw new APIMgtDAOException("Unhandled DB Type detected");
         }
 
         setup();
@@ -243,24 +217,20 @@ public class DAOFactory {
     public static WorkflowDAO getWorkflowDAO() throws APIMgtDAOException {
         WorkflowDAO workflowDAO = null;
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
+        String driverName = SchemaMetadata.getInstance().getDriverName();
 
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(DB2)) {
+        if (driverName.contains(MYSQL) || driverName.contains(H2)) {
+            workflowDAO = new WorkflowDAOImpl();
+        } else if (driverName.contains(DB2)) {
 
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(POSTGRE)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else if (driverName.contains(ORACLE)) {
-                workflowDAO = new WorkflowDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB Type detected");
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
+        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+            workflowDAO = new WorkflowDAOImpl();
+        } else if (driverName.contains(POSTGRE)) {
+            workflowDAO = new WorkflowDAOImpl();
+        } else if (driverName.contains(ORACLE)) {
+            workflowDAO = new WorkflowDAOImpl();
+        } else {
+            throw new APIMgtDAOException("Unhandled DB Type detected");
         }
 
         setup();
@@ -277,26 +247,22 @@ public class DAOFactory {
     public static FunctionDAO getFunctionDAO() throws APIMgtDAOException {
         FunctionDAO functionDAO = null;
 
-        try (Connection connection = DAOUtil.getConnection()) {
-            String driverName = connection.getMetaData().getDriverName();
+        String driverName = SchemaMetadata.getInstance().getDriverName();
 
-            if (driverName.contains(MYSQL) || driverName.contains(H2)) {
-                functionDAO = new FunctionDAOImpl();
-            } else if (driverName.contains(DB2)) {
+        if (driverName.contains(MYSQL) || driverName.contains(H2)) {
+            functionDAO = new FunctionDAOImpl();
+        } else if (driverName.contains(DB2)) {
 
-            } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
-                functionDAO = new FunctionDAOImpl();
+        } else if (driverName.contains(MS_SQL) || driverName.contains(MICROSOFT)) {
+            functionDAO = new FunctionDAOImpl();
 
-            } else if (driverName.contains(POSTGRE)) {
-                functionDAO = new FunctionDAOImpl();
+        } else if (driverName.contains(POSTGRE)) {
+            functionDAO = new FunctionDAOImpl();
 
-            } else if (driverName.contains(ORACLE)) {
-                functionDAO = new FunctionDAOImpl();
-            } else {
-                throw new APIMgtDAOException("Unhandled DB Type detected");
-            }
-        } catch (SQLException e) {
-            throw new APIMgtDAOException(e);
+        } else if (driverName.contains(ORACLE)) {
+            functionDAO = new FunctionDAOImpl();
+        } else {
+            throw new APIMgtDAOException("Unhandled DB Type detected");
         }
 
         setup();
@@ -25,18 +25,50 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Provides Utility functionality required by the DAO layer
+ * <p>
+ * Connections are taken from the primary datasource, except for read only DAO methods, which take them from
+ * {@link #getReadConnection()}. Those are spread over the read replicas when any are configured. Replicas may lag
+ * behind the primary, so a user who wrote within the replica lag window reads from the primary, to see their own
+ * writes. A replica which cannot be reached is skipped for the replica retry interval, after which a single read tries
+ * it again.
+ * <p>
+ * Reads whose result is cached, or served along with a version read from the primary, take their connections from the
+ * primary as well, as a lagging replica would pair stale data with the current version.
+ * <p>
+ * The writes are remembered by each JVM, so a user only reads their own writes when a load balancer with sticky
+ * sessions sends all requests of the user to the same node. Without sticky sessions a read served by another node may
+ * go to a replica which has not yet received a write made through this node.
  */
 public class DAOUtil {
     private static final Logger log = LoggerFactory.getLogger(DAOUtil.class);
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_REPLICA_LAG_WINDOW = TimeUnit.SECONDS.toMillis(5);
+    private static final long DEFAULT_REPLICA_RETRY_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+    private static final String PRIMARY_DATASOURCE_NAME = "primary";
+    // number of writers after which the writers outside the lag window are forgotten
+    private static final int WRITER_PRUNE_THRESHOLD = 1000;
     private static DataSource dataSource;
+    private static volatile DataSourcePool primaryPool;
+    private static volatile List<DataSourcePool> replicaPools = Collections.emptyList();
+    private static final AtomicInteger nextReplica = new AtomicInteger();
+    private static final ThreadLocal<String> boundUser = new ThreadLocal<>();
+    private static final Map<String, Long> lastWriteTimes = new ConcurrentHashMap<>();
+    private static volatile long replicaLagWindow = DEFAULT_REPLICA_LAG_WINDOW;
+    private static volatile long replicaRetryInterval = DEFAULT_REPLICA_RETRY_INTERVAL;
+    private static volatile int batchSize = DEFAULT_BATCH_SIZE;
 
     public static synchronized void initialize(DataSource dataSource) {
         if (DAOUtil.dataSource != null) {
@@ -44,20 +76,121 @@ public class DAOUtil {
         }
 
         DAOUtil.dataSource = dataSource;
+        primaryPool = new DataSourcePool(PRIMARY_DATASOURCE_NAME, dataSource, false, 0);
     }
 
     /**
-     * Utility method to get a new database connection
+     * Set the read replicas of the primary datasource, replacing any set before
+     *
+     * @param replicas replica datasources by the name they are configured with
+     */
+    public static synchronized void initializeReadReplicas(Map<String, DataSource> replicas) {
+        List<DataSourcePool> pools = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            pools.add(new DataSourcePool(replica.getKey(), replica.getValue(), true, replicaRetryInterval));
+        }
+        replicaPools = Collections.unmodifiableList(pools);
+    }
+
+    /**
+     * Set the time after a write during which the reads of the same user are sent to the primary
+     *
+     * @param replicaLagWindow time in milliseconds, negative values are ignored
+     */
+    public static void setReplicaLagWindow(long replicaLagWindow) {
+        if (replicaLagWindow >= 0) {
+            DAOUtil.replicaLagWindow = replicaLagWindow;
+        }
+    }
+
+    /**
+     * Set the time for which a read replica is not used after a connection could not be taken from it. Applies to the
+     * replicas set after this call.
+     *
+     * @param replicaRetryInterval time in milliseconds, negative values are ignored
+     */
+    public static void setReplicaRetryInterval(long replicaRetryInterval) {
+        if (replicaRetryInterval >= 0) {
+            DAOUtil.replicaRetryInterval = replicaRetryInterval;
+        }
+    }
+
+    /**
+     * Bind the user on whose behalf the current thread accesses the database. Writes and reads are matched by this
+     * user to decide whether a read can be served by a replica. When no user is bound the thread is used instead.
+     *
+     * @param username name of the user, or null to unbind the user
+     */
+    public static void bindUser(String username) {
+        if (username == null) {
+            boundUser.remove();
+        } else {
+            boundUser.set(username);
+        }
+    }
+
+    /**
+     * Get the statistics of the connection pools of the primary datasource and its read replicas
+     *
+     * @return pool statistics, empty if the datasource is not configured
+     */
+    public static List<DataSourcePoolMXBean> getPoolStatistics() {
+        List<DataSourcePoolMXBean> statistics = new ArrayList<>();
+        DataSourcePool primary = primaryPool;
+        if (primary != null) {
+            statistics.add(primary);
+        }
+        statistics.addAll(replicaPools);
+        return statistics;
+    }
+
+    /**
+     * Utility method to get a new database connection from the primary datasource. When read replicas are configured,
+     * a write made through the connection sends the reads of the current user to the primary until the replica lag
+     * window passes.
      *
      * @return Connection
      * @throws java.sql.SQLException if failed to get Connection
      */
 
     static Connection getConnection() throws SQLException {
-        if (dataSource != null) {
-            return dataSource.getConnection();
+        Connection connection = getPrimaryPool().getConnection(false);
+        if (replicaPools.isEmpty()) {
+            return connection;
         }
-        throw new SQLException("Datasource is not configured properly.");
+        return WriteRecordingConnection.wrap(connection, getWriterKey());
+    }
+
+    /**
+     * Get a database connection for a read only DAO method. The connection is taken from a read replica, unless none
+     * are configured, the current user wrote within the replica lag window, or no replica can be reached.
+     *
+     * @return Connection
+     * @throws SQLException if failed to get Connection
+     */
+    static Connection getReadConnection() throws SQLException {
+        DataSourcePool primary = getPrimaryPool();
+        List<DataSourcePool> replicas = replicaPools;
+        if (replicas.isEmpty()) {
+            return primary.getConnection(true);
+        }
+        if (isRecentWriter()) {
+            primary.recordStaleRead();
+            return primary.getConnection(true);
+        }
+        int first = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSourcePool replica = replicas.get((first + i) % replicas.size());
+            if (!replica.allowConnectionAttempt()) {
+                continue;
+            }
+            try {
+                return replica.getConnection(true);
+            } catch (SQLException e) {
+                log.warn("Error occurred while getting a connection from read replica " + replica.getName(), e);
+            }
+        }
+        return primary.getConnection(true);
     }
 
     /**
@@ -70,6 +203,36 @@ public class DAOUtil {
         return dataSource.getDatasource().isAutoCommit();
     }
 
+    /**
+     * Set the maximum number of rows sent to the database in a single JDBC batch
+     *
+     * @param batchSize number of rows, values less than 1 are ignored
+     */
+    public static void setBatchSize(int batchSize) {
+        if (batchSize > 0) {
+            DAOUtil.batchSize = batchSize;
+        }
+    }
+
+    static int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Add the current parameters of a statement to its batch, and execute the batch once it holds the configured
+     * number of rows. The caller executes the remaining rows with {@link PreparedStatement#executeBatch()}.
+     *
+     * @param statement statement to add the parameters to
+     * @param rowCount  number of rows added to the statement so far, including this one
+     * @throws SQLException if the batch cannot be executed
+     */
+    static void addBatch(PreparedStatement statement, int rowCount) throws SQLException {
+        statement.addBatch();
+        if (rowCount % batchSize == 0) {
+            statement.executeBatch();
+        }
+    }
+
     static String getParameterString(int numberOfParameters) {
         List<String> questionMarks = new ArrayList<>(Collections.nCopies(numberOfParameters, "?"));
         return String.join(",", questionMarks);
@@ -83,8 +246,44 @@ public class DAOUtil {
         return new ArrayList<>();
     }
 
+    private static DataSourcePool getPrimaryPool() throws SQLException {
+        DataSourcePool primary = primaryPool;
+        if (primary != null) {
+            return primary;
+        }
+        throw new SQLException("Datasource is not configured properly.");
+    }
+
+    private static String getWriterKey() {
+        String username = boundUser.get();
+        return username != null ? username : "thread:" + Thread.currentThread().getId();
+    }
+
+    /**
+     * Record a write of a user, whose reads are sent to the primary until the replica lag window passes
+     *
+     * @param writerKey key of the user who wrote
+     */
+    static void recordWrite(String writerKey) {
+        long now = System.currentTimeMillis();
+        lastWriteTimes.put(writerKey, now);
+        if (lastWriteTimes.size() > WRITER_PRUNE_THRESHOLD) {
+            lastWriteTimes.values().removeIf(writeTime -> now - writeTime > replicaLagWindow);
+        }
+    }
+
+    private static boolean isRecentWriter() {
+        Long lastWriteTime = lastWriteTimes.get(getWriterKey());
+        return lastWriteTime != null && System.currentTimeMillis() - lastWriteTime <= replicaLagWindow;
+    }
+
     public static void clearDataSource() {
         dataSource = null;
+        primaryPool = null;
+        replicaPools = Collections.emptyList();
+        lastWriteTimes.clear();
+        ApiCache.getInstance().invalidateAllLocally();
+        SchemaMetadata.clear();
     }
 }
 
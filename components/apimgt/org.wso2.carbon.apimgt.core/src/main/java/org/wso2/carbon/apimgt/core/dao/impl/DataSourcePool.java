@@ -0,0 +1,219 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A datasource used by the DAO layer along with the statistics of the connections taken from it.
+ * <p>
+ * The time taken to get a connection is kept as a moving average, which decays while no connection is taken so that
+ * a pool which was saturated is not reported as waiting once the load is gone. Only the connections which were
+ * obtained are timed, as a failed attempt measures the datasource being unreachable rather than the pool being
+ * saturated.
+ * <p>
+ * A read replica which fails to hand out a connection is marked unavailable for its retry interval, so that reads do
+ * not wait for the connection timeout of an unreachable replica one after the other. Once the interval passes a single
+ * caller is let through to try the replica again.
+ */
+final class DataSourcePool implements DataSourcePoolMXBean {
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePool.class);
+    // Weight of the latest wait time in the moving average
+    private static final double WAIT_TIME_WEIGHT = 0.1;
+    // Time in which the average wait time decays to 1/e of its value while no connection is taken
+    private static final long WAIT_TIME_DECAY_TIME = TimeUnit.SECONDS.toNanos(5);
+
+    private final String name;
+    private final DataSource dataSource;
+    private final boolean readReplica;
+    private final long retryInterval;
+    private final AtomicLong readConnections = new AtomicLong();
+    private final AtomicLong writeConnections = new AtomicLong();
+    private final AtomicLong staleReads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    // time in milliseconds until which the datasource is not used, 0 while it is available
+    private final AtomicLong unavailableUntil = new AtomicLong();
+
+    private double averageWaitTime;
+    private long lastWaitTime = System.nanoTime();
+
+    DataSourcePool(String name, DataSource dataSource, boolean readReplica, long retryInterval) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.readReplica = readReplica;
+        this.retryInterval = retryInterval;
+    }
+
+    DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Get a connection from the datasource
+     *
+     * @param read true if the connection is used only for reading
+     * @return connection
+     * @throws SQLException if a connection cannot be obtained
+     */
+    Connection getConnection(boolean read) throws SQLException {
+        Connection connection;
+        long startTime = System.nanoTime();
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            failures.incrementAndGet();
+            markUnavailable();
+            throw e;
+        }
+        recordWaitTime(startTime);
+        unavailableUntil.set(0);
+        if (read) {
+            readConnections.incrementAndGet();
+        } else {
+            writeConnections.incrementAndGet();
+        }
+        return connection;
+    }
+
+    /**
+     * Check whether a connection may be taken from the datasource. While a read replica is marked unavailable this
+     * returns false, except for the first caller after the retry interval passed, who tries the replica again.
+     *
+     * @return true if a connection may be taken
+     */
+    boolean allowConnectionAttempt() {
+        long until = unavailableUntil.get();
+        if (until == 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        return now >= until && unavailableUntil.compareAndSet(until, now + retryInterval);
+    }
+
+    void recordStaleRead() {
+        staleReads.incrementAndGet();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isReadReplica() {
+        return readReplica;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return unavailableUntil.get() == 0;
+    }
+
+    @Override
+    public int getActiveConnections() {
+        HikariPoolMXBean pool = getHikariPool();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        HikariPoolMXBean pool = getHikariPool();
+        return pool == null ? 0 : pool.getIdleConnections();
+    }
+
+    @Override
+    public int getTotalConnections() {
+        HikariPoolMXBean pool = getHikariPool();
+        return pool == null ? 0 : pool.getTotalConnections();
+    }
+
+    @Override
+    public int getThreadsAwaitingConnection() {
+        HikariPoolMXBean pool = getHikariPool();
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+
+    @Override
+    public synchronized double getConnectionWaitTime() {
+        return getDecayedWaitTime(System.nanoTime()) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public long getReadConnectionCount() {
+        return readConnections.get();
+    }
+
+    @Override
+    public long getWriteConnectionCount() {
+        return writeConnections.get();
+    }
+
+    @Override
+    public long getStaleReadCount() {
+        return staleReads.get();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    private void markUnavailable() {
+        if (readReplica && unavailableUntil.getAndSet(System.currentTimeMillis() + retryInterval) == 0) {
+            log.warn("Read replica " + name + " is not used for " + retryInterval + " ms as a connection could not be "
+                    + "taken from it");
+        }
+    }
+
+    private synchronized void recordWaitTime(long startTime) {
+        long now = System.nanoTime();
+        averageWaitTime = getDecayedWaitTime(now) * (1 - WAIT_TIME_WEIGHT) + (now - startTime) * WAIT_TIME_WEIGHT;
+        lastWaitTime = now;
+    }
+
+    private double getDecayedWaitTime(long now) {
+        return averageWaitTime * Math.exp(-(double) (now - lastWaitTime) / WAIT_TIME_DECAY_TIME);
+    }
+
+    /**
+     * Get the pool of the datasource, which is created when the first connection is taken
+     *
+     * @return pool, or null if it is not created yet
+     */
+    private HikariPoolMXBean getHikariPool() {
+        try {
+            HikariDataSource hikariDataSource = dataSource.getDatasource();
+            return hikariDataSource == null ? null : hikariDataSource.getHikariPoolMXBean();
+        } catch (SQLException e) {
+            log.debug("Error occurred while reading the pool of datasource " + name, e);
+            return null;
+        }
+    }
+}
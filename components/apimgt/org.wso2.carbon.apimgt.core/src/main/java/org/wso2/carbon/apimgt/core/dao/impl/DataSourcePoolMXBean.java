@@ -0,0 +1,94 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+/**
+ * Management interface exposing the connection pool statistics of a datasource used by the DAO layer
+ */
+public interface DataSourcePoolMXBean {
+
+    /**
+     * Get the name under which the datasource is configured
+     *
+     * @return name of the datasource
+     */
+    String getName();
+
+    /**
+     * Check whether the datasource is a read replica of the API Manager database
+     *
+     * @return true if the datasource only serves reads
+     */
+    boolean isReadReplica();
+
+    /**
+     * Check whether the datasource is used. A read replica is not used for a while after it fails to hand out a
+     * connection.
+     *
+     * @return false if the datasource is marked unavailable
+     */
+    boolean isAvailable();
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    int getThreadsAwaitingConnection();
+
+    /**
+     * Get the moving average of the time taken to get a connection from the pool, counting only the connections
+     * which were obtained
+     *
+     * @return wait time in milliseconds
+     */
+    double getConnectionWaitTime();
+
+    /**
+     * Get the number of connections handed out for read only DAO methods
+     *
+     * @return number of read connections
+     */
+    long getReadConnectionCount();
+
+    /**
+     * Get the number of connections handed out for DAO methods which may write
+     *
+     * @return number of write connections
+     */
+    long getWriteConnectionCount();
+
+    /**
+     * Get the number of reads which were sent to the primary because the caller wrote recently
+     *
+     * @return number of reads, always 0 for a read replica
+     */
+    long getStaleReadCount();
+
+    /**
+     * Get the number of connections which could not be obtained from the datasource
+     *
+     * @return number of failures
+     */
+    long getFailureCount();
+}
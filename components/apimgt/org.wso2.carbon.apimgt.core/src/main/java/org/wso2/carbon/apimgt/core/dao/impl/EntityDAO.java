@@ -28,6 +28,8 @@ import java.sql.SQLException;
  * Queries that accessing columns that are common to all entity tables goes into this class
  */
 class EntityDAO {
+    // The last updated times are loaded into the shared ResourceVersionCache, so they are read from the primary
+    // database, as a lagging read replica could put a stale version into the cache
 
     /**
      * Returns the last access time of the given entity identified by the UUID field.
@@ -40,7 +40,7 @@ public class LabelDAOImpl implements LabelDAO {
 
         List<Label> labels = new ArrayList<>();
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
             try (ResultSet rs = statement.executeQuery()) {
@@ -71,28 +71,40 @@ public class LabelDAOImpl implements LabelDAO {
         if (!labels.isEmpty()) {
 
             final String query = "INSERT INTO AM_LABELS (LABEL_ID, NAME) VALUES (?,?)";
-            Map<String, List<String>> urlMap = new HashMap<>();
+            final String accessUrlQuery = "INSERT INTO AM_LABEL_ACCESS_URL_MAPPING (LABEL_ID, ACCESS_URL) " +
+                    "VALUES (?,?)";
 
             try (Connection connection = DAOUtil.getConnection();
-                 PreparedStatement statement = connection.prepareStatement(query)) {
+                 PreparedStatement statement = connection.prepareStatement(query);
+                 PreparedStatement accessUrlStatement = connection.prepareStatement(accessUrlQuery)) {
 
+                int rowCount = 0;
                 for (Label label : labels) {
                     statement.setString(1, label.getId());
                     statement.setString(2, label.getName());
-                    statement.addBatch();
-                    urlMap.put(label.getId(), label.getAccessUrls());
+                    DAOUtil.addBatch(statement, ++rowCount);
                 }
                 statement.executeBatch();
 
-                if (!urlMap.isEmpty()) {
-                    for (Map.Entry<String, List<String>> entry : urlMap.entrySet()) {
-                        insertAccessUrlMappings(entry.getKey(), entry.getValue());
+                // The labels are new, so none of their access urls can exist yet
+                int accessUrlCount = 0;
+                for (Label label : labels) {
+                    for (String accessUrl : label.getAccessUrls()) {
+                        accessUrlStatement.setString(1, label.getId());
+                        accessUrlStatement.setString(2, accessUrl);
+                        DAOUtil.addBatch(accessUrlStatement, ++accessUrlCount);
                     }
                 }
+                if (accessUrlCount > 0) {
+                    accessUrlStatement.executeBatch();
+                }
             } catch (SQLException e) {
                 String message = "Error while adding label data";
                 log.error(message, e);
                 throw new APIMgtDAOException(e);
+            } finally {
+                // Label details looked up for the landing page may be missing the added labels
+                ApiCache.getInstance().invalidateAll();
             }
         }
     }
@@ -119,10 +131,11 @@ public class LabelDAOImpl implements LabelDAO {
             try (Connection connection = DAOUtil.getConnection();
                  PreparedStatement statement = connection.prepareStatement(query)) {
 
+                int rowCount = 0;
                 for (String accessUrl : accessUrls) {
                     statement.setString(1, labelId);
                     statement.setString(2, accessUrl);
-                    statement.addBatch();
+                    DAOUtil.addBatch(statement, ++rowCount);
                 }
                 statement.executeBatch();
             } catch (SQLException e) {
@@ -142,11 +155,29 @@ public class LabelDAOImpl implements LabelDAO {
      */
     private List<String> getLabelAccessUrls(String labelId) throws APIMgtDAOException {
 
+        try (Connection connection = DAOUtil.getReadConnection()) {
+            return getLabelAccessUrls(connection, labelId);
+        } catch (SQLException e) {
+            String message = "Error while retrieving access url for [label id] " + labelId;
+            log.error(message, e);
+            throw new APIMgtDAOException(e);
+        }
+    }
+
+    /**
+     * Retrieve access urls of a label by label Id through the given connection
+     *
+     * @param connection Connection to the database
+     * @param labelId    Id of the label
+     * @return List of access urls of the label
+     * @throws SQLException if error occurs while retrieving access urls
+     */
+    private static List<String> getLabelAccessUrls(Connection connection, String labelId) throws SQLException {
+
         final String query = "SELECT ACCESS_URL FROM AM_LABEL_ACCESS_URL_MAPPING WHERE LABEL_ID = ?";
         List<String> accessUrls = new ArrayList<>();
 
-        try (Connection connection = DAOUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(query)) {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, labelId);
 
             try (ResultSet rs = statement.executeQuery()) {
@@ -154,10 +185,6 @@ public class LabelDAOImpl implements LabelDAO {
                     accessUrls.add(rs.getString("ACCESS_URL"));
                 }
             }
-        } catch (SQLException e) {
-            String message = "Error while retrieving access url for [label id] " + labelId;
-            log.error(message, e);
-            throw new APIMgtDAOException(e);
         }
 
         return accessUrls;
@@ -171,7 +198,7 @@ public class LabelDAOImpl implements LabelDAO {
 
         final String query = "SELECT LABEL_ID, NAME FROM AM_LABELS WHERE NAME = ?";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, labelName);
             try (ResultSet rs = statement.executeQuery()) {
@@ -205,6 +232,7 @@ public class LabelDAOImpl implements LabelDAO {
             final String query = "SELECT LABEL_ID, NAME FROM AM_LABELS WHERE NAME IN (" +
                     DAOUtil.getParameterString(labelNames.size()) + ")";
 
+            // the labels are read from the primary, as the store caches them until they are changed
             try (Connection connection = DAOUtil.getConnection();
                  PreparedStatement statement = connection.prepareStatement(query)) {
 
@@ -217,7 +245,7 @@ public class LabelDAOImpl implements LabelDAO {
                         Label label = new Label.Builder().
                                 id(rs.getString("LABEL_ID")).
                                 name(rs.getString("NAME")).
-                                accessUrls(getLabelAccessUrls(rs.getString("LABEL_ID"))).build();
+                                accessUrls(getLabelAccessUrls(connection, rs.getString("LABEL_ID"))).build();
 
                         matchingLabels.add(label);
                     }
@@ -289,6 +317,59 @@ public class LabelDAOImpl implements LabelDAO {
         throw new SQLException("Label " + labelName + ", does not exist");
     }
 
+    /**
+     * Retrieve the ids of labels by their names in a single query
+     *
+     * @param connection Connection to the database
+     * @param labelNames Names of the labels
+     * @return Map of the given label names to label ids
+     * @throws SQLException if error occurs while retrieving label ids or if a label does not exist
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    static Map<String, String> getLabelIDs(Connection connection, Set<String> labelNames) throws SQLException {
+
+        final String query = "SELECT LABEL_ID, NAME from AM_LABELS where NAME IN (" +
+                DAOUtil.getParameterString(labelNames.size()) + ")";
+        Map<String, String> storedLabelIDs = new HashMap<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int index = 0;
+            for (String labelName : labelNames) {
+                statement.setString(++index, labelName);
+            }
+
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    storedLabelIDs.put(rs.getString("NAME"), rs.getString("LABEL_ID"));
+                }
+            }
+        }
+        Map<String, String> labelIDs = new HashMap<>();
+        for (String labelName : labelNames) {
+            labelIDs.put(labelName, getStoredLabelID(storedLabelIDs, labelName));
+        }
+        return labelIDs;
+    }
+
+    /**
+     * Find the id of a requested label among the labels returned by the database. The stored name of a label may
+     * differ in case from the requested name when the database compares names without regard to case, as
+     * {@link #getLabelID(String)} does on such databases.
+     */
+    private static String getStoredLabelID(Map<String, String> storedLabelIDs, String labelName)
+            throws SQLException {
+        String labelID = storedLabelIDs.get(labelName);
+        if (labelID != null) {
+            return labelID;
+        }
+        for (Map.Entry<String, String> storedLabel : storedLabelIDs.entrySet()) {
+            if (storedLabel.getKey().equalsIgnoreCase(labelName)) {
+                return storedLabel.getValue();
+            }
+        }
+        throw new SQLException("Label " + labelName + ", does not exist");
+    }
+
     /**
      * @see LabelDAO#deleteLabel(String)
      */
@@ -310,6 +391,8 @@ public class LabelDAOImpl implements LabelDAO {
                 log.error(message, e);
                 throw new APIMgtDAOException(e);
             } finally {
+                // Labels of the cached APIs are resolved by joining with the deleted label
+                ApiCache.getInstance().invalidateAll();
                 connection.setAutoCommit(DAOUtil.isAutoCommit());
             }
         } catch (SQLException e) {
@@ -332,6 +415,9 @@ public class LabelDAOImpl implements LabelDAO {
             String message = "Error while updating the label [label name] " + updatedLabel.getName();
             log.error(message, e);
             throw new APIMgtDAOException(e);
+        } finally {
+            // Access urls of the label are cached with the label details of the landing page
+            ApiCache.getInstance().invalidateAll();
         }
 
     }
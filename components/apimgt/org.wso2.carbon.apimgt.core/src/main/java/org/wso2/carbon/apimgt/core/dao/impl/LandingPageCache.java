@@ -0,0 +1,180 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.wso2.carbon.apimgt.core.dao.ApiType;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
+import org.wso2.carbon.apimgt.core.util.BoundedCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded read-through cache of the pages of the store landing page, so that the page requested by every user opening
+ * the store is not read again from the database on each request. The number of APIs listed in the store and the
+ * details of the labels shown on the pages are cached along with the pages, so that a page is served without reading
+ * the database at all. Labels are cached before they are filtered for the user.
+ * <p>
+ * Pages and counts are keyed by the visible roles of the user, which are the roles of the user that are visible roles
+ * of at least one API, rather than by the user. Users who cannot see any restricted API all share the same pages.
+ * <p>
+ * The cache is cleared along with the {@link ApiCache}, so the changes of APIs made on any node of the cluster are seen
+ * by the next request, and when labels are changed on this node. Ratings, subscriptions and the labels changed on
+ * other nodes are not tracked, so they may be stale for up to the expiry time, which is kept short. Entries are loaded
+ * from the primary database, as a lagging read replica could put the state from before a change back into the cache.
+ */
+public class LandingPageCache extends BoundedCache<LandingPageCache.Key, Object> implements LandingPageCacheMXBean {
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_EXPIRY_TIME = TimeUnit.SECONDS.toMillis(30);
+
+    private static final LandingPageCache instance = new LandingPageCache();
+
+    private enum EntryType {
+        PAGE,
+        COUNT,
+        LABELS
+    }
+
+    private LandingPageCache() {
+        super(DEFAULT_MAX_ENTRIES, DEFAULT_EXPIRY_TIME);
+    }
+
+    public static LandingPageCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Configure the cache. Existing entries are discarded.
+     *
+     * @param enabled    whether the cache is enabled
+     * @param maxEntries maximum number of cached entries
+     * @param expiryTime time after which a page expires, in milliseconds
+     */
+    public void configure(boolean enabled, int maxEntries, long expiryTime) {
+        super.configure(enabled, maxEntries, expiryTime);
+    }
+
+    /**
+     * Get a page of the landing page from the cache, loading it from the database if it is not cached
+     *
+     * @param visibleRoles roles of the user which are visible roles of an API
+     * @param statuses     statuses of the listed APIs
+     * @param apiType      type of the listed APIs
+     * @param afterName    name of the last API of the previous page, or null
+     * @param afterId      UUID of the last API of the previous page, or null
+     * @param offset       offset
+     * @param limit        limit
+     * @param loader       loads the page from the database
+     * @return the page
+     * @throws APIMgtDAOException if the page cannot be loaded
+     */
+    List<LandingPageAPI> get(Set<String> visibleRoles, List<String> statuses, ApiType apiType, String afterName,
+                             String afterId, int offset, int limit, ApiCache.Loader<List<LandingPageAPI>> loader)
+            throws APIMgtDAOException {
+        return get(new Key(EntryType.PAGE, new TreeSet<>(visibleRoles), new ArrayList<>(statuses), apiType,
+                afterName, afterId, offset, limit), () -> Collections.unmodifiableList(new ArrayList<>(loader.load())));
+    }
+
+    /**
+     * Get the number of APIs of the landing page from the cache, counting them if they are not cached
+     *
+     * @param visibleRoles roles of the user which are visible roles of an API
+     * @param statuses     statuses of the listed APIs
+     * @param apiType      type of the listed APIs
+     * @param loader       counts the APIs in the database
+     * @return number of APIs
+     * @throws APIMgtDAOException if the APIs cannot be counted
+     */
+    long getCount(Set<String> visibleRoles, List<String> statuses, ApiType apiType, ApiCache.Loader<Long> loader)
+            throws APIMgtDAOException {
+        return get(new Key(EntryType.COUNT, new TreeSet<>(visibleRoles), new ArrayList<>(statuses), apiType), loader);
+    }
+
+    /**
+     * Get the details of labels from the cache, loading them if they are not cached. The labels are the same for
+     * every user, and are to be filtered for the user by the caller.
+     *
+     * @param labelNames names of the labels
+     * @param loader     loads the labels from the database
+     * @return an unmodifiable list of the labels which exist
+     * @throws APIMgtDAOException if the labels cannot be loaded
+     */
+    public List<Label> getLabels(Collection<String> labelNames, ApiCache.Loader<List<Label>> loader)
+            throws APIMgtDAOException {
+        return get(new Key(EntryType.LABELS, new TreeSet<>(labelNames)),
+                () -> Collections.unmodifiableList(new ArrayList<>(loader.load())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, ApiCache.Loader<T> loader) throws APIMgtDAOException {
+        return (T) getOrLoad(key, loader);
+    }
+
+    /**
+     * Discard all the cached entries, after a change of an API or label
+     */
+    public void invalidateAll() {
+        invalidateAllEntries();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return (int) getCapacity();
+    }
+
+    /**
+     * Identifies a cached entry by its type and the parameters it was loaded with
+     */
+    static final class Key {
+        private final EntryType type;
+        private final List<Object> parameters;
+
+        private Key(EntryType type, Object... parameters) {
+            this.type = type;
+            this.parameters = Arrays.asList(parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return type == key.type && parameters.equals(key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + parameters.hashCode();
+        }
+    }
+}
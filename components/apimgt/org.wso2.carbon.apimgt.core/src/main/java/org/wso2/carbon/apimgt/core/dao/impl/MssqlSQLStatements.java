@@ -275,4 +275,43 @@ public class MssqlSQLStatements implements ApiDAOVendorSpecificStatements {
             throw new APIMgtDAOException(errorMsg, e);
         }
     }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApisByStatusQuery(int, int, boolean)
+     */
+    @Override
+    public String getApisByStatusQuery(int statusCount, int roleCount, boolean seek) {
+        return API_SUMMARY_SELECT_STORE + ApiDAOImpl.getAPIsByStatusCondition(statusCount, roleCount, seek) +
+                " ORDER BY NAME, UUID OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#setApisByStatusStatement(PreparedStatement, Set, List, ApiType, String,
+     * String, int, int)
+     */
+    @Override
+    public void setApisByStatusStatement(PreparedStatement statement, Set<String> roles, List<String> statuses,
+                                         ApiType apiType, String afterName, String afterId, int offset, int limit)
+                                         throws SQLException {
+        int index = ApiDAOImpl.setAPIsByStatusParameters(statement, roles, statuses, apiType, afterName, afterId);
+        statement.setInt(++index, offset);
+        statement.setInt(++index, limit);
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApiCountEstimateQuery()
+     */
+    @Override
+    public String getApiCountEstimateQuery() {
+        return "SELECT SUM(rows) FROM sys.partitions WHERE object_id = OBJECT_ID('AM_API') AND index_id IN (0, 1)";
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApiSampleQuery(int)
+     */
+    @Override
+    public String getApiSampleQuery(int sampleSize) {
+        return "SELECT CURRENT_LC_STATUS, API_TYPE_ID, VISIBILITY, UUID FROM AM_API ORDER BY UUID " +
+                "OFFSET 0 ROWS FETCH NEXT " + sampleSize + " ROWS ONLY";
+    }
 }
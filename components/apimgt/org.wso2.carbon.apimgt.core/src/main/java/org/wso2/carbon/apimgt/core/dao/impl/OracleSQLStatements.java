@@ -288,4 +288,44 @@ public class OracleSQLStatements implements ApiDAOVendorSpecificStatements {
         }
 
     }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApisByStatusQuery(int, int, boolean)
+     */
+    @Override
+    public String getApisByStatusQuery(int statusCount, int roleCount, boolean seek) {
+        return "SELECT * FROM (SELECT A.*, rownum rnum FROM (" + API_SUMMARY_SELECT_STORE +
+                ApiDAOImpl.getAPIsByStatusCondition(statusCount, roleCount, seek) +
+                " ORDER BY NAME, UUID) A WHERE rownum <= ?) WHERE rnum > ?";
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#setApisByStatusStatement(PreparedStatement, Set, List, ApiType, String,
+     * String, int, int)
+     */
+    @Override
+    public void setApisByStatusStatement(PreparedStatement statement, Set<String> roles, List<String> statuses,
+                                         ApiType apiType, String afterName, String afterId, int offset, int limit)
+                                         throws SQLException {
+        int index = ApiDAOImpl.setAPIsByStatusParameters(statement, roles, statuses, apiType, afterName, afterId);
+        statement.setInt(++index, offset + limit);
+        statement.setInt(++index, offset);
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApiCountEstimateQuery()
+     */
+    @Override
+    public String getApiCountEstimateQuery() {
+        return "SELECT NUM_ROWS FROM USER_TABLES WHERE TABLE_NAME = 'AM_API'";
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApiSampleQuery(int)
+     */
+    @Override
+    public String getApiSampleQuery(int sampleSize) {
+        return "SELECT * FROM (SELECT CURRENT_LC_STATUS, API_TYPE_ID, VISIBILITY, UUID FROM AM_API " +
+                "ORDER BY UUID) WHERE rownum <= " + sampleSize;
+    }
 }
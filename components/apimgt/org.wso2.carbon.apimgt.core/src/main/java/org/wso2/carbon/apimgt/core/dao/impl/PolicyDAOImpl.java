@@ -5,6 +5,7 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
 import org.wso2.carbon.apimgt.core.models.policy.ApplicationPolicy;
@@ -165,6 +166,10 @@ public class PolicyDAOImpl implements PolicyDAO {
         } catch (SQLException e) {
             log.error(e.getMessage(), e);
             throw new APIMgtDAOException(e);
+        } finally {
+            // Policy names of the cached APIs are resolved by joining with the policy tables
+            ApiCache.getInstance().invalidateAll();
+            ResourceVersionCache.getInstance().invalidateAll(ResourceType.POLICY);
         }
 
     }
@@ -179,7 +184,8 @@ public class PolicyDAOImpl implements PolicyDAO {
         } else if (APIMgtConstants.ThrottlePolicyConstants.SUBSCRIPTION_LEVEL.equals(policyLevel)) {
             deleteSubscriptionPolicy(policyName);
         }
-
+        ApiCache.getInstance().invalidateAll();
+        ResourceVersionCache.getInstance().invalidateAll(ResourceType.POLICY);
     }
 
     /**
@@ -194,6 +200,8 @@ public class PolicyDAOImpl implements PolicyDAO {
         } else if (APIMgtConstants.ThrottlePolicyConstants.SUBSCRIPTION_LEVEL.equals(policyLevel)) {
             deleteSubscriptionPolicyByUuid(uuid);
         }
+        ApiCache.getInstance().invalidateAll();
+        ResourceVersionCache.getInstance().invalidateAll(ResourceType.POLICY);
     }
 
     /**
@@ -260,7 +268,7 @@ public class PolicyDAOImpl implements PolicyDAO {
         List<Policy> policyList = new ArrayList<>();
         String sqlQuery = "SELECT * from AM_API_POLICY";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
                 PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
@@ -289,7 +297,7 @@ public class PolicyDAOImpl implements PolicyDAO {
         List<Policy> policyList = new ArrayList<>();
         String sqlQuery = "SELECT * from AM_APPLICATION_POLICY";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
                 PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
@@ -313,7 +321,7 @@ public class PolicyDAOImpl implements PolicyDAO {
         List<Policy> policyList = new ArrayList<>();
         String sqlQuery = "SELECT * from AM_SUBSCRIPTION_POLICY";
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
                 PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
@@ -773,7 +781,9 @@ public class PolicyDAOImpl implements PolicyDAO {
     @Override
     public String getLastUpdatedTimeOfAPIPolicy(String policyName)
             throws APIMgtDAOException {
-        return EntityDAO.getLastUpdatedTimeOfResourceByName(AM_API_POLICY_TABLE_NAME, policyName);
+        return ResourceVersionCache.getInstance().get(ResourceType.POLICY,
+                ResourceVersionCache.getPolicyId(APIMgtConstants.ThrottlePolicyConstants.API_LEVEL, policyName),
+                () -> EntityDAO.getLastUpdatedTimeOfResourceByName(AM_API_POLICY_TABLE_NAME, policyName));
     }
 
     /**
@@ -782,7 +792,9 @@ public class PolicyDAOImpl implements PolicyDAO {
     @Override
     public String getLastUpdatedTimeOfApplicationPolicy(String policyName)
             throws APIMgtDAOException {
-        return EntityDAO.getLastUpdatedTimeOfResourceByName(AM_APPLICATION_POLICY_TABLE_NAME, policyName);
+        return ResourceVersionCache.getInstance().get(ResourceType.POLICY,
+                ResourceVersionCache.getPolicyId(APIMgtConstants.ThrottlePolicyConstants.APPLICATION_LEVEL, policyName),
+                () -> EntityDAO.getLastUpdatedTimeOfResourceByName(AM_APPLICATION_POLICY_TABLE_NAME, policyName));
     }
 
     /**
@@ -791,7 +803,10 @@ public class PolicyDAOImpl implements PolicyDAO {
     @Override
     public String getLastUpdatedTimeOfSubscriptionPolicy(String policyName)
             throws APIMgtDAOException {
-        return EntityDAO.getLastUpdatedTimeOfResourceByName(AM_SUBSCRIPTION_POLICY_TABLE_NAME, policyName);
+        String policyId = ResourceVersionCache.getPolicyId(
+                APIMgtConstants.ThrottlePolicyConstants.SUBSCRIPTION_LEVEL, policyName);
+        return ResourceVersionCache.getInstance().get(ResourceType.POLICY, policyId,
+                () -> EntityDAO.getLastUpdatedTimeOfResourceByName(AM_SUBSCRIPTION_POLICY_TABLE_NAME, policyName));
     }
 
     static void initDefaultPolicies() throws APIMgtDAOException {
@@ -900,7 +915,8 @@ public class PolicyDAOImpl implements PolicyDAO {
     }
 
     /**
-     * Adding pipelines of API policy to database
+     * Adding pipelines of API policy to database. The condition groups and each type of condition are written in
+     * JDBC batches rather than one statement per row.
      *
      * @param connection connection to db
      * @param pipelines  pipelines of the api policy to be added to db
@@ -910,11 +926,15 @@ public class PolicyDAOImpl implements PolicyDAO {
 
     private static void addAPIPipeline(Connection connection, List<Pipeline> pipelines, String uuid)
             throws SQLException {
+        if (pipelines.isEmpty()) {
+            return;
+        }
 
         final String query =
                 "INSERT INTO AM_CONDITION_GROUP (UUID, " + "QUOTA_TYPE, QUOTA, QUOTA_UNIT, UNIT_TIME, TIME_UNIT) "
                         + "VALUES (?,?,?,?,?,?)";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int rowCount = 0;
             for (Pipeline pipeline : pipelines) {
                 statement.setString(1, uuid);
                 statement.setString(2, pipeline.getQuotaPolicy().getType());
@@ -932,104 +952,121 @@ public class PolicyDAOImpl implements PolicyDAO {
                 }
                 statement.setLong(5, pipeline.getQuotaPolicy().getLimit().getUnitTime());
                 statement.setString(6, pipeline.getQuotaPolicy().getLimit().getTimeUnit());
-                statement.execute();
-                List<Integer> conditionGroupIds = getConditionGroupIDs(connection, uuid);
-                int conID = conditionGroupIds.get(conditionGroupIds.size() - 1); //getting the last condition group id
-                List<Condition> conditionList = pipeline.getConditions();
-                for (Condition condition : conditionList) {
+                DAOUtil.addBatch(statement, ++rowCount);
+            }
+            statement.executeBatch();
+        }
+
+        // Condition group ids are generated in insertion order, so the last ids belong to the pipelines in order
+        List<Integer> conditionGroupIds = getConditionGroupIDs(connection, uuid);
+        int firstIndex = conditionGroupIds.size() - pipelines.size();
+
+        final String ipConditionQuery = "INSERT INTO AM_IP_CONDITION (STARTING_IP, ENDING_IP, SPECIFIC_IP, "
+                + "CONDITION_GROUP_ID) VALUES (?,?,?,?)";
+        final String headerConditionQuery = "INSERT INTO AM_HEADER_FIELD_CONDITION (HEADER_FIELD_NAME, "
+                + "HEADER_FIELD_VALUE, CONDITION_GROUP_ID) VALUES (?,?,?)";
+        final String jwtClaimConditionQuery =
+                "INSERT INTO AM_JWT_CLAIM_CONDITION (CLAIM_URI, CLAIM_ATTRIB, " + "CONDITION_GROUP_ID) VALUES (?,?,?)";
+        final String paramConditionQuery = "INSERT INTO AM_QUERY_PARAMETER_CONDITION (PARAMETER_NAME, "
+                + "PARAMETER_VALUE,CONDITION_GROUP_ID) VALUES (?,?,?)";
+        try (PreparedStatement ipStatement = connection.prepareStatement(ipConditionQuery);
+             PreparedStatement headerStatement = connection.prepareStatement(headerConditionQuery);
+             PreparedStatement jwtClaimStatement = connection.prepareStatement(jwtClaimConditionQuery);
+             PreparedStatement paramStatement = connection.prepareStatement(paramConditionQuery)) {
+            int ipCount = 0;
+            int headerCount = 0;
+            int jwtClaimCount = 0;
+            int paramCount = 0;
+            for (int i = 0; i < pipelines.size(); i++) {
+                int conID = conditionGroupIds.get(firstIndex + i);
+                for (Condition condition : pipelines.get(i).getConditions()) {
                     if (condition instanceof IPCondition) {
-                        addIPCondition(connection, (IPCondition) condition, conID);
+                        setIPCondition(ipStatement, (IPCondition) condition, conID);
+                        DAOUtil.addBatch(ipStatement, ++ipCount);
                     } else if (condition instanceof HeaderCondition) {
-                        addHeaderCondition(connection, (HeaderCondition) condition, conID);
+                        setHeaderCondition(headerStatement, (HeaderCondition) condition, conID);
+                        DAOUtil.addBatch(headerStatement, ++headerCount);
                     } else if (condition instanceof JWTClaimsCondition) {
-                        addJWTClaimCondition(connection, (JWTClaimsCondition) condition, conID);
+                        setJWTClaimCondition(jwtClaimStatement, (JWTClaimsCondition) condition, conID);
+                        DAOUtil.addBatch(jwtClaimStatement, ++jwtClaimCount);
                     } else if (condition instanceof QueryParameterCondition) {
-                        addParamCondition(connection, (QueryParameterCondition) condition, conID);
+                        setParamCondition(paramStatement, (QueryParameterCondition) condition, conID);
+                        DAOUtil.addBatch(paramStatement, ++paramCount);
                     }
                 }
             }
+            executeBatch(ipStatement, ipCount);
+            executeBatch(headerStatement, headerCount);
+            executeBatch(jwtClaimStatement, jwtClaimCount);
+            executeBatch(paramStatement, paramCount);
+        }
+    }
+
+    private static void executeBatch(PreparedStatement statement, int rowCount) throws SQLException {
+        if (rowCount > 0) {
+            statement.executeBatch();
         }
     }
 
     /**
-     * Adding IP Condition to DB
+     * Set the parameters of an IP Condition row
      *
-     * @param connection  connection to db
+     * @param statement   statement inserting ip conditions
      * @param ipCondition ip condition of the pipeline in API policy
      * @param conId       condition group id AKA pipeline id
-     * @throws SQLException if error occurred while inserting ip condition to db
+     * @throws SQLException if error occurred while setting the parameters
      */
-    private static void addIPCondition(Connection connection, IPCondition ipCondition, int conId) throws SQLException {
-        String query = "INSERT INTO AM_IP_CONDITION (STARTING_IP, ENDING_IP, SPECIFIC_IP, "
-                + "CONDITION_GROUP_ID) VALUES (?,?,?,?)";
-
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, ipCondition.getStartingIP());
-            statement.setString(2, ipCondition.getEndingIP());
-            statement.setString(3, ipCondition.getSpecificIP());
-            statement.setInt(4, conId);         //Con id represents condition group id
-            statement.execute();
-        }
+    private static void setIPCondition(PreparedStatement statement, IPCondition ipCondition, int conId)
+            throws SQLException {
+        statement.setString(1, ipCondition.getStartingIP());
+        statement.setString(2, ipCondition.getEndingIP());
+        statement.setString(3, ipCondition.getSpecificIP());
+        statement.setInt(4, conId);         //Con id represents condition group id
     }
 
     /**
-     * Adding header conditions to DB
+     * Set the parameters of a header condition row
      *
-     * @param connection      connection to the db
+     * @param statement       statement inserting header conditions
      * @param headerCondition header condition of the pipeline
      * @param conId           condition group id a.k.a pipeline id
-     * @throws SQLException
+     * @throws SQLException if error occurred while setting the parameters
      */
-    private static void addHeaderCondition(Connection connection, HeaderCondition headerCondition, int conId)
+    private static void setHeaderCondition(PreparedStatement statement, HeaderCondition headerCondition, int conId)
             throws SQLException {
-        String query = "INSERT INTO AM_HEADER_FIELD_CONDITION (HEADER_FIELD_NAME, HEADER_FIELD_VALUE, "
-                + "CONDITION_GROUP_ID) VALUES (?,?,?)";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, headerCondition.getHeaderName());
-            statement.setString(2, headerCondition.getValue());
-            statement.setInt(3, conId);         //Con id represents condition group id
-            statement.execute();
-        }
+        statement.setString(1, headerCondition.getHeaderName());
+        statement.setString(2, headerCondition.getValue());
+        statement.setInt(3, conId);         //Con id represents condition group id
     }
 
     /**
-     * Adding jwt claim condition to DB
+     * Set the parameters of a jwt claim condition row
      *
-     * @param connection         connection to db
+     * @param statement          statement inserting jwt claim conditions
      * @param jwtClaimsCondition jwt claim condition of pipeline
      * @param conID              condition group id a.k.a pipeline id
-     * @throws SQLException for errors occurred when inserting jwt claim condition to db
+     * @throws SQLException if error occurred while setting the parameters
      */
-    private static void addJWTClaimCondition(Connection connection, JWTClaimsCondition jwtClaimsCondition, int conID)
-            throws SQLException {
-        String query =
-                "INSERT INTO AM_JWT_CLAIM_CONDITION (CLAIM_URI, CLAIM_ATTRIB, " + "CONDITION_GROUP_ID) VALUES (?,?,?)";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, jwtClaimsCondition.getClaimUrl());
-            statement.setString(2, jwtClaimsCondition.getAttribute());
-            statement.setInt(3, conID);         //Con id represents condition group id
-            statement.execute();
-        }
+    private static void setJWTClaimCondition(PreparedStatement statement, JWTClaimsCondition jwtClaimsCondition,
+                                             int conID) throws SQLException {
+        statement.setString(1, jwtClaimsCondition.getClaimUrl());
+        statement.setString(2, jwtClaimsCondition.getAttribute());
+        statement.setInt(3, conID);         //Con id represents condition group id
     }
 
     /**
-     * Adding query parameter condition to DB
+     * Set the parameters of a query parameter condition row
      *
-     * @param connection          connection to db
+     * @param statement           statement inserting query parameter conditions
      * @param queryParamCondition query parameter condition of the pipeline
      * @param conID               condition group id a.k.a pipeline id
-     * @throws SQLException if error occurred when inserting query parameter condition for db
+     * @throws SQLException if error occurred while setting the parameters
      */
-    private static void addParamCondition(Connection connection, QueryParameterCondition queryParamCondition, int conID)
-            throws SQLException {
-        String query = "INSERT INTO AM_QUERY_PARAMETER_CONDITION (PARAMETER_NAME, "
-                + "PARAMETER_VALUE,CONDITION_GROUP_ID) VALUES (?,?,?)";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, queryParamCondition.getParameter());
-            statement.setString(2, queryParamCondition.getValue());
-            statement.setInt(3, conID);         //Con id represents condition group id
-            statement.execute();
-        }
+    private static void setParamCondition(PreparedStatement statement, QueryParameterCondition queryParamCondition,
+                                          int conID) throws SQLException {
+        statement.setString(1, queryParamCondition.getParameter());
+        statement.setString(2, queryParamCondition.getValue());
+        statement.setInt(3, conID);         //Con id represents condition group id
     }
 
     /**
@@ -1228,7 +1265,8 @@ public class PolicyDAOImpl implements PolicyDAO {
      * @throws SQLException if error occurred while retrieving condition group ids
      */
     private static List<Integer> getConditionGroupIDs(Connection connection, String uuid) throws SQLException {
-        String query = "SELECT CONDITION_GROUP_ID FROM AM_CONDITION_GROUP WHERE UUID = ?";
+        String query = "SELECT CONDITION_GROUP_ID FROM AM_CONDITION_GROUP WHERE UUID = ? "
+                + "ORDER BY CONDITION_GROUP_ID";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, uuid);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -275,4 +275,42 @@ public class PostgresSQLStatements implements ApiDAOVendorSpecificStatements {
             throw new APIMgtDAOException(errorMsg, e);
         }
     }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApisByStatusQuery(int, int, boolean)
+     */
+    @Override
+    public String getApisByStatusQuery(int statusCount, int roleCount, boolean seek) {
+        return API_SUMMARY_SELECT_STORE + ApiDAOImpl.getAPIsByStatusCondition(statusCount, roleCount, seek) +
+                " ORDER BY NAME, UUID OFFSET ? LIMIT ?";
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#setApisByStatusStatement(PreparedStatement, Set, List, ApiType, String,
+     * String, int, int)
+     */
+    @Override
+    public void setApisByStatusStatement(PreparedStatement statement, Set<String> roles, List<String> statuses,
+                                         ApiType apiType, String afterName, String afterId, int offset, int limit)
+                                         throws SQLException {
+        int index = ApiDAOImpl.setAPIsByStatusParameters(statement, roles, statuses, apiType, afterName, afterId);
+        statement.setInt(++index, offset);
+        statement.setInt(++index, limit);
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApiCountEstimateQuery()
+     */
+    @Override
+    public String getApiCountEstimateQuery() {
+        return "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('am_api' AS regclass)";
+    }
+
+    /**
+     * @see ApiDAOVendorSpecificStatements#getApiSampleQuery(int)
+     */
+    @Override
+    public String getApiSampleQuery(int sampleSize) {
+        return "SELECT CURRENT_LC_STATUS, API_TYPE_ID, VISIBILITY, UUID FROM AM_API ORDER BY UUID LIMIT " + sampleSize;
+    }
 }
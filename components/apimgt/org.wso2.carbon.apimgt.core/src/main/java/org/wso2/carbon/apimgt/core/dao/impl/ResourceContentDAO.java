@@ -0,0 +1,214 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.util.ETagUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Provides access to the contents of binary resources. A content is stored once, keyed by the SHA-256 hash of its
+ * bytes, and is shared by every resource having the same value, so that API versions copied from each other do not
+ * hold copies of the same definitions and files.
+ * <p>
+ * Contents are referenced by the CONTENT_HASH of AM_API_RESOURCES. Resources are also removed by the cascading delete
+ * of their API, which would not update a stored reference count, so the references of a content are counted when it
+ * is released instead, and the content is deleted once it has none.
+ * <p>
+ * Contents are added and released concurrently by transactions which do not see each other's uncommitted changes.
+ * Adding a content locks its row until the transaction referencing it ends, so a concurrent release waits for the
+ * reference and is then rejected by the foreign key of AM_API_RESOURCES, and keeps the content. A content inserted
+ * concurrently by another transaction is used once that transaction ends. Each insert and delete which may be
+ * rejected is run under a savepoint, so that the rejection does not abort the transaction of the caller.
+ */
+class ResourceContentDAO {
+    private static final Logger log = LoggerFactory.getLogger(ResourceContentDAO.class);
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String SPOOL_FILE_PREFIX = "am-resource-content";
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION_STATE_CLASS = "23";
+
+    /**
+     * Store a content unless it is already stored
+     *
+     * @return hash of the content
+     */
+    static String addContent(Connection connection, byte[] content) throws SQLException {
+        String contentHash = ETagUtils.toHex(newDigest().digest(content));
+        if (!lockContent(connection, contentHash)) {
+            insertContent(connection, contentHash, new ByteArrayInputStream(content), content.length);
+        }
+        return contentHash;
+    }
+
+    /**
+     * Store a content unless it is already stored. The stream is spooled to a temporary file while it is hashed, so
+     * large contents are not held in memory. The stream is not closed.
+     *
+     * @return hash of the content
+     */
+    static String addContent(Connection connection, InputStream content) throws SQLException, IOException {
+        Path spoolFile = Files.createTempFile(SPOOL_FILE_PREFIX, null);
+        try {
+            MessageDigest digest = newDigest();
+            long length = Files.copy(new DigestInputStream(content, digest), spoolFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+            String contentHash = ETagUtils.toHex(digest.digest());
+            if (!lockContent(connection, contentHash)) {
+                try (InputStream spooledContent = Files.newInputStream(spoolFile)) {
+                    insertContent(connection, contentHash, spooledContent, length);
+                }
+            }
+            return contentHash;
+        } finally {
+            Files.deleteIfExists(spoolFile);
+        }
+    }
+
+    /**
+     * Delete the given contents which are no longer referenced by any resource. A content which is referenced by a
+     * concurrent transaction meanwhile is kept.
+     *
+     * @param contentHashes hashes of the contents whose references were removed. Null hashes are ignored.
+     */
+    static void releaseContents(Connection connection, Collection<String> contentHashes) throws SQLException {
+        final String query = "DELETE FROM AM_RESOURCE_CONTENTS WHERE CONTENT_HASH = ? AND NOT EXISTS " +
+                "(SELECT 1 FROM AM_API_RESOURCES WHERE CONTENT_HASH = ?)";
+
+        // contents are deleted in the same order by every transaction, so that releases do not deadlock each other
+        Collection<String> sortedHashes = new TreeSet<>();
+        contentHashes.stream().filter(Objects::nonNull).forEach(sortedHashes::add);
+        if (sortedHashes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (String contentHash : sortedHashes) {
+                statement.setString(1, contentHash);
+                statement.setString(2, contentHash);
+                Savepoint savepoint = setSavepoint(connection);
+                try {
+                    statement.executeUpdate();
+                } catch (SQLException e) {
+                    if (!isIntegrityConstraintViolation(e)) {
+                        throw e;
+                    }
+                    // the content was referenced by a transaction committed after the statement started
+                    rollback(connection, savepoint);
+                }
+                releaseSavepoint(connection, savepoint);
+            }
+        }
+    }
+
+    /**
+     * Lock a stored content until the end of the transaction, so that it is not deleted before it is referenced
+     *
+     * @return true if the content is stored
+     */
+    private static boolean lockContent(Connection connection, String contentHash) throws SQLException {
+        final String query = "UPDATE AM_RESOURCE_CONTENTS SET CONTENT_HASH = CONTENT_HASH WHERE CONTENT_HASH = ?";
+
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, contentHash);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    private static void insertContent(Connection connection, String contentHash, InputStream content, long length)
+            throws SQLException {
+        final String query = "INSERT INTO AM_RESOURCE_CONTENTS (CONTENT_HASH, CONTENT) VALUES (?,?)";
+
+        Savepoint savepoint = setSavepoint(connection);
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, contentHash);
+            statement.setBinaryStream(2, content, length);
+            statement.execute();
+            releaseSavepoint(connection, savepoint);
+        } catch (SQLException e) {
+            // the same content was inserted by a concurrent transaction, which is used once it is committed
+            if (!isIntegrityConstraintViolation(e)) {
+                throw e;
+            }
+            rollback(connection, savepoint);
+            releaseSavepoint(connection, savepoint);
+            if (!lockContent(connection, contentHash)) {
+                throw e;
+            }
+        }
+    }
+
+    private static Savepoint setSavepoint(Connection connection) throws SQLException {
+        return connection.getAutoCommit() ? null : connection.setSavepoint();
+    }
+
+    private static void rollback(Connection connection, Savepoint savepoint) throws SQLException {
+        if (savepoint != null) {
+            connection.rollback(savepoint);
+        }
+    }
+
+    /**
+     * Release a savepoint which is no longer needed, so that a transaction storing many contents does not accumulate
+     * them until it ends
+     */
+    private static void releaseSavepoint(Connection connection, Savepoint savepoint) throws SQLException {
+        if (savepoint != null) {
+            try {
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLFeatureNotSupportedException e) {
+                // drivers such as Oracle's keep savepoints until the end of the transaction
+                log.debug("Savepoints are released when the transaction ends", e);
+            }
+        }
+    }
+
+    private static boolean isIntegrityConstraintViolation(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException
+                || (e.getSQLState() != null && e.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION_STATE_CLASS));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+}
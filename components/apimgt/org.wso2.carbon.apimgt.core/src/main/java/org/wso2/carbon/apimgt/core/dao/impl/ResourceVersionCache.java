@@ -0,0 +1,259 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.util.BoundedCache;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded read-through cache of the last updated times of the resources exposed by the REST APIs, from which their
+ * ETags are generated, so that a conditional request for an unchanged resource is answered without a database round
+ * trip.
+ * <p>
+ * The DAO write paths invalidate the version of the resource they modify after the change is committed, and the
+ * versions of the resources owned by an API are also invalidated along with the {@link ApiCache} entry of the API.
+ * Invalidations made on this node are given to the {@link InvalidationListener}, which propagates them to the other
+ * nodes of the cluster, so that a node does not answer a conditional request from a version changed by another node.
+ * If an invalidation message is lost, the version of the other nodes is refreshed once it expires.
+ */
+public class ResourceVersionCache extends BoundedCache<ResourceVersionCache.Key, String>
+        implements ResourceVersionCacheMXBean {
+    private static final int DEFAULT_MAX_ENTRIES = 50000;
+    private static final long DEFAULT_EXPIRY_TIME = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Set<ResourceType> API_RESOURCE_TYPES = EnumSet.of(ResourceType.API,
+            ResourceType.SWAGGER_DEFINITION, ResourceType.GATEWAY_CONFIG, ResourceType.THUMBNAIL);
+
+    private static final ResourceVersionCache instance = new ResourceVersionCache();
+
+    private volatile InvalidationListener invalidationListener;
+
+    /**
+     * Types of the versioned resources. The resources of the API types are identified by the UUID of their API, the
+     * policies by their level and name separated by a slash, and the others by their own UUID.
+     */
+    public enum ResourceType {
+        API, SWAGGER_DEFINITION, GATEWAY_CONFIG, THUMBNAIL, DOCUMENT, DOCUMENT_CONTENT, COMMENT, ENDPOINT,
+        APPLICATION, SUBSCRIPTION, POLICY
+    }
+
+    /**
+     * Notified when versions are invalidated by a write on this node, so that the invalidation can be propagated to
+     * the other nodes of the cluster
+     */
+    @FunctionalInterface
+    public interface InvalidationListener {
+        /**
+         * @param type       type of the invalidated resources
+         * @param resourceId identifier of the invalidated resource, or null if the versions of all the resources of
+         *                   the type were invalidated
+         */
+        void onInvalidate(ResourceType type, String resourceId);
+    }
+
+    private ResourceVersionCache() {
+        super(DEFAULT_MAX_ENTRIES, DEFAULT_EXPIRY_TIME);
+    }
+
+    public static ResourceVersionCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Configure the cache. Existing entries are discarded.
+     *
+     * @param enabled    whether the cache is enabled
+     * @param maxEntries maximum number of cached versions
+     * @param expiryTime time after which a version expires, in milliseconds
+     */
+    public void configure(boolean enabled, int maxEntries, long expiryTime) {
+        super.configure(enabled, maxEntries, expiryTime);
+    }
+
+    public void setInvalidationListener(InvalidationListener invalidationListener) {
+        this.invalidationListener = invalidationListener;
+    }
+
+    /**
+     * Get the identifier of a policy as a versioned resource
+     *
+     * @param policyLevel level of the policy
+     * @param policyName  name of the policy
+     * @return identifier of the policy
+     */
+    public static String getPolicyId(String policyLevel, String policyName) {
+        return policyLevel + "/" + policyName;
+    }
+
+    /**
+     * Get the cached version of a resource without loading it
+     *
+     * @param type       type of the resource
+     * @param resourceId identifier of the resource
+     * @return last updated time of the resource, or null if it is not cached
+     */
+    public String getVersion(ResourceType type, String resourceId) {
+        if (!isEnabled() || resourceId == null) {
+            return null;
+        }
+        return getIfPresent(new Key(type, resourceId));
+    }
+
+    /**
+     * Get the version of a resource from the cache, loading it from the database if it is not cached. Null versions
+     * are never cached.
+     *
+     * @param type       type of the resource
+     * @param resourceId identifier of the resource
+     * @param loader     loads the last updated time of the resource from the database
+     * @return last updated time of the resource
+     * @throws APIMgtDAOException if the version cannot be loaded
+     */
+    String get(ResourceType type, String resourceId, ApiCache.Loader<String> loader) throws APIMgtDAOException {
+        if (resourceId == null) {
+            return loader.load();
+        }
+        return getOrLoad(new Key(type, resourceId), loader);
+    }
+
+    /**
+     * Invalidate the version of a resource after it has been modified on this node
+     *
+     * @param type       type of the resource
+     * @param resourceId identifier of the resource
+     */
+    void invalidate(ResourceType type, String resourceId) {
+        invalidateLocally(type, resourceId);
+        notifyListener(type, resourceId);
+    }
+
+    /**
+     * Invalidate the versions of all the resources of the given types, after a change on this node which affects
+     * resources whose identifiers are not known
+     *
+     * @param types types of the resources
+     */
+    void invalidateAll(ResourceType... types) {
+        invalidateAllLocally(types);
+        for (ResourceType type : types) {
+            notifyListener(type, null);
+        }
+    }
+
+    /**
+     * Invalidate the version of a resource without notifying the other nodes. Used when an invalidation is received
+     * from another node.
+     *
+     * @param type       type of the resource
+     * @param resourceId identifier of the resource
+     */
+    public void invalidateLocally(ResourceType type, String resourceId) {
+        invalidateEntry(new Key(type, resourceId));
+    }
+
+    /**
+     * Invalidate the versions of all the resources of the given types without notifying the other nodes
+     *
+     * @param types types of the resources
+     */
+    public void invalidateAllLocally(ResourceType... types) {
+        Set<ResourceType> invalidatedTypes = EnumSet.noneOf(ResourceType.class);
+        for (ResourceType type : types) {
+            invalidatedTypes.add(type);
+        }
+        invalidateEntriesIf(key -> invalidatedTypes.contains(key.type));
+    }
+
+    /**
+     * Invalidate the versions of the resources owned by an API. The other nodes are notified by the {@link ApiCache}.
+     *
+     * @param apiId UUID of the API
+     */
+    void invalidateApi(String apiId) {
+        List<Key> keys = new ArrayList<>();
+        for (ResourceType type : API_RESOURCE_TYPES) {
+            keys.add(new Key(type, apiId));
+        }
+        invalidateEntries(keys);
+    }
+
+    /**
+     * Invalidate the versions of the resources owned by any API
+     */
+    void invalidateAllApis() {
+        invalidateAllLocally(API_RESOURCE_TYPES.toArray(new ResourceType[API_RESOURCE_TYPES.size()]));
+    }
+
+    /**
+     * Invalidate all the cached versions
+     */
+    public void invalidateAll() {
+        invalidateAllEntries();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return (int) getCapacity();
+    }
+
+    private void notifyListener(ResourceType type, String resourceId) {
+        InvalidationListener listener = invalidationListener;
+        if (listener != null) {
+            listener.onInvalidate(type, resourceId);
+        }
+    }
+
+    /**
+     * Identifies a resource of a type
+     */
+    static final class Key {
+        private final ResourceType type;
+        private final String resourceId;
+
+        private Key(ResourceType type, String resourceId) {
+            this.type = type;
+            this.resourceId = resourceId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return type == key.type && resourceId.equals(key.resourceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + resourceId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Stream of a binary column which is read directly from the database. The result set, statement and connection the
+ * column was read from are kept open while the stream is read, and are closed along with the stream.
+ * <p>
+ * The stream must be closed by the reader, otherwise the connection is not returned to the pool.
+ */
+final class ResultSetInputStream extends FilterInputStream {
+    private final AutoCloseable[] resources;
+    private boolean closed;
+
+    /**
+     * @param in        binary stream of the column
+     * @param resources resources to close after the stream, in the order in which they should be closed
+     */
+    ResultSetInputStream(InputStream in, AutoCloseable... resources) {
+        super(in);
+        this.resources = resources;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException exception = null;
+        try {
+            super.close();
+        } catch (IOException e) {
+            exception = e;
+        }
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (exception == null) {
+                    exception = new IOException("Error occurred while releasing database resources of stream", e);
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
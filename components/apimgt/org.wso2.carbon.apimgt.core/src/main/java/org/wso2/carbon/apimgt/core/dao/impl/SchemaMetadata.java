@@ -0,0 +1,131 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Metadata of the API Manager database which is read once and kept for the lifetime of the datasource: the JDBC
+ * driver name used to pick the vendor specific statements, and the columns of the tables whose columns can be named
+ * in search queries.
+ * <p>
+ * Identifiers are looked up in the catalogue in upper case, regardless of the case in which the database stores
+ * them, so callers do not need to know the case rules of the vendor.
+ */
+final class SchemaMetadata {
+    private static final String AM_API_TABLE_NAME = "AM_API";
+    private static final String AM_TAGS_TABLE_NAME = "AM_TAGS";
+    private static final String AM_API_OPERATION_MAPPING_TABLE_NAME = "AM_API_OPERATION_MAPPING";
+
+    private static final String[] CATALOGUED_TABLES = {AM_API_TABLE_NAME, AM_TAGS_TABLE_NAME,
+            AM_API_OPERATION_MAPPING_TABLE_NAME};
+
+    private static volatile SchemaMetadata instance;
+
+    private final String driverName;
+    private final Map<String, Set<String>> columns;
+
+    private SchemaMetadata(String driverName, Map<String, Set<String>> columns) {
+        this.driverName = driverName;
+        this.columns = columns;
+    }
+
+    /**
+     * Get the metadata of the database, reading it on first use
+     *
+     * @return metadata of the database
+     * @throws APIMgtDAOException if the metadata cannot be read
+     */
+    static SchemaMetadata getInstance() throws APIMgtDAOException {
+        SchemaMetadata schemaMetadata = instance;
+        if (schemaMetadata != null) {
+            return schemaMetadata;
+        }
+        synchronized (SchemaMetadata.class) {
+            if (instance == null) {
+                schemaMetadata = load();
+                // The tables may not exist yet if the database is being created. Read them again next time
+                // instead of caching an empty catalogue.
+                if (schemaMetadata.columns.get(AM_API_TABLE_NAME).isEmpty()) {
+                    return schemaMetadata;
+                }
+                instance = schemaMetadata;
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Discard the metadata, so that it is read again from the next datasource
+     */
+    static synchronized void clear() {
+        instance = null;
+    }
+
+    String getDriverName() {
+        return driverName;
+    }
+
+    /**
+     * Check whether a table has a column
+     *
+     * @param tableName  name of a catalogued table
+     * @param columnName name of the column in any case
+     * @return true if the column exists
+     */
+    boolean hasColumn(String tableName, String columnName) {
+        Set<String> tableColumns = columns.get(tableName);
+        return tableColumns != null && columnName != null
+                && tableColumns.contains(columnName.toUpperCase(Locale.ENGLISH));
+    }
+
+    private static SchemaMetadata load() throws APIMgtDAOException {
+        try (Connection connection = DAOUtil.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, Set<String>> columns = new HashMap<>();
+            for (String tableName : CATALOGUED_TABLES) {
+                String storedTableName = metaData.storesLowerCaseIdentifiers() ?
+                        tableName.toLowerCase(Locale.ENGLISH) : tableName;
+                Set<String> tableColumns = new HashSet<>();
+                try (ResultSet rs = metaData.getColumns(null, null, storedTableName, null)) {
+                    while (rs.next()) {
+                        tableColumns.add(rs.getString("COLUMN_NAME").toUpperCase(Locale.ENGLISH));
+                    }
+                }
+                columns.put(tableName, Collections.unmodifiableSet(tableColumns));
+            }
+            return new SchemaMetadata(metaData.getDriverName(), columns);
+        } catch (SQLException e) {
+            throw new APIMgtDAOException("Error occurred while reading database metadata", e);
+        }
+    }
+}
@@ -65,12 +65,15 @@ public class TagDAOImpl implements TagDAO {
                     while (rs.next()) { // If Tag already exists get respective tag ID
                         String tagID = rs.getString("TAG_ID");
                         tagIDs.add(tagID);
-                        incrementTagCount(connection, tagID);
                         existingTags.add(rs.getString("NAME"));
                     }
                 }
             }
 
+            if (!tagIDs.isEmpty()) {
+                incrementTagCounts(connection, tagIDs);
+            }
+
             if (!existingTags.isEmpty()) {
                 tags = new HashSet<>(tags); // Create a copy of the tags to prevent modifying original
                 tags.removeAll(existingTags); // Remove already existing tags from list so we wont try to add them again
@@ -108,12 +111,16 @@ public class TagDAOImpl implements TagDAO {
         return tags;
     }
 
-    private static void incrementTagCount(Connection connection, String tagID) throws SQLException {
+    private static void incrementTagCounts(Connection connection, List<String> tagIDs) throws SQLException {
         final String query = "UPDATE AM_TAGS SET COUNT = COUNT + 1 WHERE TAG_ID = ?";
 
         try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, tagID);
-            statement.execute();
+            int rowCount = 0;
+            for (String tagID : tagIDs) {
+                statement.setString(1, tagID);
+                DAOUtil.addBatch(statement, ++rowCount);
+            }
+            statement.executeBatch();
         }
     }
 
@@ -122,12 +129,13 @@ public class TagDAOImpl implements TagDAO {
         final String query = "INSERT INTO AM_TAGS (TAG_ID, NAME, COUNT) VALUES (?,?,?)";
 
         try (PreparedStatement statement = connection.prepareStatement(query, new String[] { "tag_id" })) {
+            int rowCount = 0;
             for (String tag : tags) {
                 String tagID = UUID.randomUUID().toString();
                 statement.setString(1, tagID);
                 statement.setString(2, tag);
                 statement.setInt(3, 1); // The count should always be 1 initially
-                statement.addBatch();
+                DAOUtil.addBatch(statement, ++rowCount);
 
                 tagIDs.add(tagID);
             }
@@ -142,7 +150,7 @@ public class TagDAOImpl implements TagDAO {
 
         List<Tag> tags = new ArrayList<>();
 
-        try (Connection connection = DAOUtil.getConnection();
+        try (Connection connection = DAOUtil.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
 
             try (ResultSet rs = statement.executeQuery()) {
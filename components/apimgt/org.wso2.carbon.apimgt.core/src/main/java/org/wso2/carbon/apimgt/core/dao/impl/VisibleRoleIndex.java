@@ -0,0 +1,278 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index of AM_API_VISIBLE_ROLES, holding the visible roles of each API and the number of APIs each role is
+ * a visible role of.
+ * <p>
+ * The store listing binds every role of the user into the visibility subquery, although most of the roles of a user
+ * are usually not visible roles of any API. The index is used to drop those roles before the query is built, which
+ * shortens the subquery and removes it altogether for users who cannot see any restricted API.
+ * <p>
+ * Roles are compared loosely, ignoring case, accents and surrounding whitespace, so that every role which the
+ * database collation could match is kept. Keeping an extra role only costs a bound parameter, while dropping one would
+ * hide APIs from the user.
+ * <p>
+ * The APIs of the index are marked stale along with their {@link ApiCache} entries, which is also how writes on the
+ * other nodes of the cluster reach it. Stale APIs are read again from the primary database before the index is next
+ * used, and the whole index is read again after it expires so that a missed remote invalidation is not kept forever.
+ * Only one read runs at a time, and the listings which need the index meanwhile wait for its outcome. Roles are not
+ * filtered whenever the index cannot be brought up to date.
+ */
+final class VisibleRoleIndex {
+    private static final Logger log = LoggerFactory.getLogger(VisibleRoleIndex.class);
+    private static final VisibleRoleIndex instance = new VisibleRoleIndex();
+
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(15);
+    // Above this many stale APIs the whole index is read again rather than binding all of them into one query
+    private static final int MAX_STALE_APIS = 500;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // Normalized visible roles of each API having any
+    private final Map<String, Set<String>> rolesOfApi = new HashMap<>();
+    // Number of APIs each normalized role is a visible role of
+    private final Map<String, Integer> apiCountOfRole = new HashMap<>();
+    // Version at which each stale API was marked, so that a refresh which raced with a newer mark is not applied
+    private final Map<String, Long> staleApis = new HashMap<>();
+
+    private CompletableFuture<Boolean> pendingRefresh;
+    private boolean built;
+    private long expiryTime;
+    private long version;
+    private long generation;
+
+    private VisibleRoleIndex() {
+    }
+
+    static VisibleRoleIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the roles which are visible roles of at least one API
+     *
+     * @param roles roles of the user
+     * @return the given roles which may be visible roles of an API, or all the given roles if the index could not be
+     * brought up to date
+     */
+    Set<String> filterRoles(Set<String> roles) {
+        if (roles.isEmpty() || !refresh()) {
+            return roles;
+        }
+        synchronized (this) {
+            if (!built || !staleApis.isEmpty()) {
+                return roles;
+            }
+            Set<String> visibleRoles = new LinkedHashSet<>();
+            for (String role : roles) {
+                if (role != null && apiCountOfRole.containsKey(normalize(role))) {
+                    visibleRoles.add(role);
+                }
+            }
+            return visibleRoles;
+        }
+    }
+
+    /**
+     * Mark the visible roles of an API as stale
+     *
+     * @param apiId UUID of the API
+     */
+    synchronized void invalidateApi(String apiId) {
+        staleApis.put(apiId, ++version);
+    }
+
+    /**
+     * Discard the index, so that it is read again on next use
+     */
+    synchronized void invalidateAll() {
+        version++;
+        generation++;
+        built = false;
+        rolesOfApi.clear();
+        apiCountOfRole.clear();
+        staleApis.clear();
+        // a read in progress is discarded, so the next use starts a new one rather than waiting for it
+        pendingRefresh = null;
+    }
+
+    /**
+     * Bring the index up to date with the database, or wait for the read which is already doing so
+     *
+     * @return false if the index could not be read
+     */
+    private boolean refresh() {
+        CompletableFuture<Boolean> refresh;
+        boolean reading;
+        long loadVersion;
+        long loadGeneration;
+        List<String> apiIds;
+        synchronized (this) {
+            if (built && (expiryTime <= System.currentTimeMillis() || staleApis.size() > MAX_STALE_APIS)) {
+                invalidateAll();
+            }
+            if (built && staleApis.isEmpty()) {
+                return true;
+            }
+            reading = pendingRefresh == null;
+            if (reading) {
+                pendingRefresh = new CompletableFuture<>();
+            }
+            refresh = pendingRefresh;
+            loadVersion = version;
+            loadGeneration = generation;
+            apiIds = built ? new ArrayList<>(staleApis.keySet()) : null;
+        }
+        if (!reading) {
+            return refresh.join();
+        }
+
+        boolean refreshed = false;
+        try {
+            refreshed = refresh(loadVersion, loadGeneration, apiIds);
+        } finally {
+            synchronized (this) {
+                if (pendingRefresh == refresh) {
+                    pendingRefresh = null;
+                }
+            }
+            refresh.complete(refreshed);
+        }
+        return refreshed;
+    }
+
+    private boolean refresh(long loadVersion, long loadGeneration, List<String> apiIds) {
+        Map<String, Set<String>> rolesOfApis;
+        try (Connection connection = DAOUtil.getConnection()) {
+            rolesOfApis = apiIds == null ? loadAll(connection) : load(connection, apiIds);
+        } catch (SQLException e) {
+            log.warn("Error while reading visible roles of APIs, roles of the user are not filtered", e);
+            return false;
+        }
+
+        synchronized (this) {
+            if (generation != loadGeneration) {
+                return false;
+            }
+            if (apiIds == null) {
+                for (Map.Entry<String, Set<String>> entry : rolesOfApis.entrySet()) {
+                    update(entry.getKey(), entry.getValue());
+                }
+                built = true;
+                expiryTime = System.currentTimeMillis() + EXPIRY_TIME;
+                staleApis.values().removeIf(markVersion -> markVersion <= loadVersion);
+            } else {
+                for (String apiId : apiIds) {
+                    Long markVersion = staleApis.get(apiId);
+                    if (markVersion != null && markVersion <= loadVersion) {
+                        Set<String> roles = rolesOfApis.get(apiId);
+                        update(apiId, roles == null ? new HashSet<>() : roles);
+                        staleApis.remove(apiId);
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    private void update(String apiId, Set<String> roles) {
+        Set<String> previousRoles = rolesOfApi.remove(apiId);
+        if (previousRoles != null) {
+            for (String role : previousRoles) {
+                apiCountOfRole.computeIfPresent(role, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        if (roles.isEmpty()) {
+            return;
+        }
+        Set<String> normalizedRoles = new HashSet<>();
+        for (String role : roles) {
+            normalizedRoles.add(normalize(role));
+        }
+        rolesOfApi.put(apiId, normalizedRoles);
+        for (String role : normalizedRoles) {
+            apiCountOfRole.merge(role, 1, Integer::sum);
+        }
+    }
+
+    private static Map<String, Set<String>> loadAll(Connection connection) throws SQLException {
+        final String query = "SELECT API_ID, ROLE FROM AM_API_VISIBLE_ROLES";
+
+        try (PreparedStatement statement = connection.prepareStatement(query);
+             ResultSet rs = statement.executeQuery()) {
+            return readRoles(rs);
+        }
+    }
+
+    private static Map<String, Set<String>> load(Connection connection, Collection<String> apiIds)
+            throws SQLException {
+        final String query = "SELECT API_ID, ROLE FROM AM_API_VISIBLE_ROLES WHERE API_ID IN (" +
+                DAOUtil.getParameterString(apiIds.size()) + ")";
+
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int index = 0;
+            for (String apiId : apiIds) {
+                statement.setString(++index, apiId);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                return readRoles(rs);
+            }
+        }
+    }
+
+    private static Map<String, Set<String>> readRoles(ResultSet rs) throws SQLException {
+        Map<String, Set<String>> rolesOfApis = new HashMap<>();
+        while (rs.next()) {
+            String role = rs.getString("ROLE");
+            if (role != null) {
+                rolesOfApis.computeIfAbsent(rs.getString("API_ID"), key -> new HashSet<>()).add(role);
+            }
+        }
+        return rolesOfApis;
+    }
+
+    static String normalize(String role) {
+        String decomposed = Normalizer.normalize(role, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").trim().toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -34,6 +34,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.List;
 
 /**
  * Default implementation of the WorkflowDAO interface. Uses SQL syntax that is common to H2 and MySQL DBs.
@@ -117,6 +118,45 @@ public class WorkflowDAOImpl implements WorkflowDAO {
     }
     
 
+    /**
+     * Update a set of workflows in a single transaction
+     *
+     * @param workflows The {@link Workflow} objects to be updated
+     * @throws APIMgtDAOException if API Manager core level exception occurred
+     */
+    @Override
+    public void updateWorkflowStatuses(List<? extends Workflow> workflows) throws APIMgtDAOException {
+
+        final String query = "UPDATE AM_WORKFLOWS SET WF_STATUS = ?, WF_STATUS_DESC = ?, "
+                + "WF_UPDATED_TIME = ? WHERE WF_EXTERNAL_REFERENCE = ?";
+
+        try (Connection connection = DAOUtil.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement prepStmt = connection.prepareStatement(query)) {
+                int rowCount = 0;
+                for (Workflow workflow : workflows) {
+                    prepStmt.setString(1, workflow.getStatus().toString());
+                    prepStmt.setString(2, workflow.getWorkflowDescription());
+                    prepStmt.setTimestamp(3, Timestamp.valueOf(workflow.getUpdatedTime()));
+                    prepStmt.setString(4, workflow.getExternalWorkflowReference());
+                    DAOUtil.addBatch(prepStmt, ++rowCount);
+                }
+                prepStmt.executeBatch();
+                connection.commit();
+            } catch (SQLException ex) {
+                log.error("Error while executing sql query", ex);
+                connection.rollback();
+                throw new APIMgtDAOException(ex);
+            } finally {
+                connection.setAutoCommit(DAOUtil.isAutoCommit());
+            }
+        } catch (SQLException ex) {
+            log.error("Error while executing sql query", ex);
+            throw new APIMgtDAOException(ex);
+        }
+    }
+
     /**
      * Returns a workflow object for a given external workflow reference.
      *
@@ -0,0 +1,145 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps a primary connection to record a write of its user once a statement run on it modifies the database.
+ * <p>
+ * A write is recorded when an update or batch is executed in auto commit mode, and otherwise when the transaction it
+ * was executed in is committed, so that connections used only for reading do not send the reads of their user to the
+ * primary.
+ */
+final class WriteRecordingConnection implements InvocationHandler {
+    private final Connection connection;
+    private final String writerKey;
+    private final Connection proxy;
+    private boolean uncommittedWrite;
+
+    private WriteRecordingConnection(Connection connection, String writerKey) {
+        this.connection = connection;
+        this.writerKey = writerKey;
+        this.proxy = (Connection) Proxy.newProxyInstance(WriteRecordingConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, this);
+    }
+
+    /**
+     * Wrap a connection to record the writes made through it
+     *
+     * @param connection connection taken from the primary datasource
+     * @param writerKey  key of the user the connection is taken for
+     * @return wrapped connection
+     */
+    static Connection wrap(Connection connection, String writerKey) {
+        return new WriteRecordingConnection(connection, writerKey).proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object result = invokeTarget(connection, method, args);
+        switch (method.getName()) {
+            case "createStatement":
+            case "prepareStatement":
+            case "prepareCall":
+                return wrapStatement((Statement) result, method.getReturnType());
+            case "commit":
+                recordUncommittedWrite();
+                break;
+            case "setAutoCommit":
+                // enabling auto commit commits the active transaction
+                if ((Boolean) args[0]) {
+                    recordUncommittedWrite();
+                }
+                break;
+            case "rollback":
+                if (args == null) {
+                    uncommittedWrite = false;
+                }
+                break;
+            default:
+                break;
+        }
+        return result;
+    }
+
+    private Object wrapStatement(Statement statement, Class<?> statementType) {
+        if (statement == null) {
+            return null;
+        }
+        return Proxy.newProxyInstance(WriteRecordingConnection.class.getClassLoader(), new Class<?>[]{statementType},
+                (statementProxy, method, args) -> {
+                    if ("getConnection".equals(method.getName())) {
+                        return proxy;
+                    }
+                    Object result = invokeTarget(statement, method, args);
+                    if (isWrite(method, result)) {
+                        recordWrite();
+                    }
+                    return result;
+                });
+    }
+
+    private static boolean isWrite(Method method, Object result) {
+        switch (method.getName()) {
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "executeBatch":
+            case "executeLargeBatch":
+                return true;
+            case "execute":
+                // false means the statement returned an update count rather than a result set
+                return Boolean.FALSE.equals(result);
+            default:
+                return false;
+        }
+    }
+
+    private void recordWrite() throws SQLException {
+        if (connection.getAutoCommit()) {
+            DAOUtil.recordWrite(writerKey);
+        } else {
+            uncommittedWrite = true;
+        }
+    }
+
+    private void recordUncommittedWrite() {
+        if (uncommittedWrite) {
+            uncommittedWrite = false;
+            DAOUtil.recordWrite(writerKey);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -51,6 +51,8 @@ public enum ExceptionCodes implements ErrorHandler {
     SUBSCRIPTION_STATE_INVALID(900318, "Invalid state change for subscription", 400, "Invalid state change for " +
             "subscription"),
     COMMENT_NOT_FOUND(900319, "Comment not found", 404, "Couldn't retrieve comment"),
+    SUBSCRIPTION_DUPLICATED(900320, "Duplicate subscriptions", 400,
+            "A subscription is requested more than once"),
 
     // Generic codes
     JSON_PARSE_ERROR(900400, "Json parse error", 500, "JSON parse error"),
@@ -112,6 +114,14 @@ public enum ExceptionCodes implements ErrorHandler {
             "Error occurred while obtaining URI for Location header"),
     LAST_UPDATED_TIME_RETRIEVAL_ERROR(900702, "Error while retrieving last access time for the resource", 500,
             "Error while retrieving last access time for the resource"),
+    INVALID_PAGINATION_CURSOR(900703, "Invalid pagination cursor", 400,
+            "The pagination cursor is not a cursor returned by a previous request"),
+    REQUEST_RATE_EXCEEDED(900704, "Too many requests", 429,
+            "The request rate of the client is exceeded. Retry after the time given in the Retry-After header"),
+    CONCURRENT_OPERATIONS_EXCEEDED(900705, "Too many concurrent operations", 429,
+            "Too many operations of the same kind are running. Retry after the time given in the Retry-After header"),
+    SERVER_OVERLOADED(900706, "Server overloaded", 429,
+            "The server is overloaded. Retry after the time given in the Retry-After header"),
 
 
     // Oauth related codes
@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.APIMConfigurations;
 import org.wso2.carbon.apimgt.core.api.APIGateway;
 import org.wso2.carbon.apimgt.core.dto.APIDTO;
+import org.wso2.carbon.apimgt.core.dto.BulkSubscriptionDTO;
 import org.wso2.carbon.apimgt.core.dto.EndpointDTO;
 import org.wso2.carbon.apimgt.core.dto.GatewayDTO;
 import org.wso2.carbon.apimgt.core.dto.SubscriptionDTO;
@@ -36,11 +37,9 @@ import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.BrokerUtil;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.io.Writer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This is responsible for handling API gateway related operations
@@ -51,9 +50,11 @@ public class APIGatewayPublisherImpl implements APIGateway {
     private String gatewayFileExtension = ".bal";
     private String endpointConfigName = "endpoint";
     private String gwHome;
+    private GatewayArtifactDeployer artifactDeployer;
 
     public APIGatewayPublisherImpl() {
         config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        artifactDeployer = GatewayArtifactDeployer.getInstance();
 
         //TODO:Remove this once broker is integrated
         gwHome = System.getProperty("gwHome");
@@ -103,7 +104,7 @@ public class APIGatewayPublisherImpl implements APIGateway {
      * {@inheritDoc}
      */
     @Override
-    public void updateAPI(API api) throws GatewayException {
+    public void updateAPI(API originalAPI, API api) throws GatewayException {
 
         if (gwHome == null) {
             // build the message to send
@@ -114,7 +115,8 @@ public class APIGatewayPublisherImpl implements APIGateway {
             apiSummary.setVersion(api.getVersion());
             apiSummary.setContext(api.getContext());
             gatewayDTO.setApiSummary(apiSummary);
-            publishToPublisherTopic(gatewayDTO);
+            BrokerUtil.publishToTopic(config.getPublisherTopic(), gatewayDTO,
+                    getLabelUnion(originalAPI.getLabels(), api.getLabels()));
         }
     }
 
@@ -163,6 +165,38 @@ public class APIGatewayPublisherImpl implements APIGateway {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAPISubscriptions(List<Subscription> subscriptions) throws GatewayException {
+        publishSubscriptions(APIMgtConstants.GatewayEventTypes.SUBSCRIPTIONS_CREATE, subscriptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAPISubscriptions(List<Subscription> subscriptions) throws GatewayException {
+        publishSubscriptions(APIMgtConstants.GatewayEventTypes.SUBSCRIPTIONS_UPDATE, subscriptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteAPISubscriptions(List<Subscription> subscriptions) throws GatewayException {
+        publishSubscriptions(APIMgtConstants.GatewayEventTypes.SUBSCRIPTIONS_DELETE, subscriptions);
+    }
+
+    private void publishSubscriptions(String eventType, List<Subscription> subscriptions) throws GatewayException {
+        if (gwHome == null && !subscriptions.isEmpty()) {
+            BulkSubscriptionDTO bulkSubscriptionDTO = new BulkSubscriptionDTO(eventType);
+            bulkSubscriptionDTO.setSubscriptions(subscriptions);
+            publishToStoreTopic(bulkSubscriptionDTO);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -215,6 +249,22 @@ public class APIGatewayPublisherImpl implements APIGateway {
         BrokerUtil.publishToTopic(config.getPublisherTopic(), gatewayDTO);
     }
 
+    /**
+     * Get the labels of the gateways to receive an update of an API
+     *
+     * @param originalLabels labels of the API before the update
+     * @param labels         labels of the updated API
+     * @return union of the labels, or null if the API was or is published to all the gateways
+     */
+    private static Set<String> getLabelUnion(Set<String> originalLabels, Set<String> labels) {
+        if (originalLabels == null || originalLabels.isEmpty() || labels == null || labels.isEmpty()) {
+            return null;
+        }
+        Set<String> union = new HashSet<>(originalLabels);
+        union.addAll(labels);
+        return union;
+    }
+
     /**
      * Publish event to store topic
      *
@@ -231,44 +281,17 @@ public class APIGatewayPublisherImpl implements APIGateway {
      * @param api     API object
      * @param gwHome  path of the gateway
      * @param content API config
+     * @throws GatewayException If there is a failure to deploy the API configuration
      */
-    private void saveApi(API api, String gwHome, String content, boolean isDefaultApi) {
+    private void saveApi(API api, String gwHome, String content, boolean isDefaultApi) throws GatewayException {
         String deploymentDirPath = gwHome + File.separator + config.getGatewayPackageNamePath();
-        File deploymentDir = new File(deploymentDirPath);
-        if (!deploymentDir.exists()) {
-            log.info("Creating deployment dir in: " + deploymentDirPath);
-            boolean created = deploymentDir.mkdirs();
-            if (!created) {
-                log.error("Error creating directory: " + deploymentDirPath);
-            }
-        }
-
         String path;
         if (isDefaultApi) {
             path = deploymentDirPath + File.separator + api.getName() + gatewayFileExtension;
         } else {
             path = deploymentDirPath + File.separator + api.getName() + '_' + api.getVersion() + gatewayFileExtension;
         }
-        Writer writer = null;
-        PrintWriter printWriter = null;
-        try {
-            writer = new OutputStreamWriter(new FileOutputStream(path), "UTF-8");
-            printWriter = new PrintWriter(writer);
-            printWriter.println(content);
-        } catch (IOException e) {
-            log.error("Error saving API configuration in " + path, e);
-        } finally {
-            try {
-                if (printWriter != null) {
-                    printWriter.close();
-                }
-                if (writer != null) {
-                    writer.close();
-                }
-            } catch (IOException e) {
-                log.error("Error closing connections", e);
-            }
-        }
+        artifactDeployer.deploy(path, content);
     }
 
     /**
@@ -276,38 +299,11 @@ public class APIGatewayPublisherImpl implements APIGateway {
      *
      * @param gwHome  path of the gateway
      * @param content endpoint config
+     * @throws GatewayException If there is a failure to deploy the endpoint configuration
      */
-    private void saveEndpointConfig(String gwHome, String content) {
+    private void saveEndpointConfig(String gwHome, String content) throws GatewayException {
         String deploymentDirPath = gwHome + File.separator + config.getGatewayPackageNamePath();
-        File deploymentDir = new File(deploymentDirPath);
-        if (!deploymentDir.exists()) {
-            log.info("Creating deployment dir in: " + deploymentDirPath);
-            boolean created = deploymentDir.mkdirs();
-            if (!created) {
-                log.error("Error creating directory: " + deploymentDirPath);
-            }
-        }
-
         String path = deploymentDirPath + File.separator + endpointConfigName + gatewayFileExtension;
-        Writer writer = null;
-        PrintWriter printWriter = null;
-        try {
-            writer = new OutputStreamWriter(new FileOutputStream(path), "UTF-8");
-            printWriter = new PrintWriter(writer);
-            printWriter.println(content);
-        } catch (IOException e) {
-            log.error("Error saving endpoint configuration in " + path, e);
-        } finally {
-            try {
-                if (printWriter != null) {
-                    printWriter.close();
-                }
-                if (writer != null) {
-                    writer.close();
-                }
-            } catch (IOException e) {
-                log.error("Error closing connections", e);
-            }
-        }
+        artifactDeployer.deploy(path, content);
     }
 }
@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
 import org.wso2.carbon.apimgt.core.api.APIPublisher;
+import org.wso2.carbon.apimgt.core.api.APISearchIndex;
 import org.wso2.carbon.apimgt.core.api.APIStore;
 import org.wso2.carbon.apimgt.core.api.IdentityProvider;
 import org.wso2.carbon.apimgt.core.api.KeyManager;
@@ -107,6 +108,13 @@ public class APIManagerFactory {
             userAwareAPIPublisher.registerObserver(new EventLogger());
             userAwareAPIPublisher.registerObserver(new FunctionTrigger(DAOFactory.getFunctionDAO(),
                     new RestCallUtilImpl()));
+            // The search index may be registered after the publisher is created, so it is looked up on each event
+            userAwareAPIPublisher.registerObserver((event, user, eventTime, metadata) -> {
+                APISearchIndex apiSearchIndex = ServiceReferenceHolder.getInstance().getAPISearchIndex();
+                if (apiSearchIndex != null) {
+                    apiSearchIndex.captureEvent(event, user, eventTime, metadata);
+                }
+            });
 
             return userAwareAPIPublisher;
         } catch (APIMgtDAOException e) {
@@ -3,6 +3,7 @@ package org.wso2.carbon.apimgt.core.impl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
+import org.wso2.carbon.apimgt.core.api.ResultHandler;
 import org.wso2.carbon.apimgt.core.dao.APISubscriptionDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiType;
@@ -18,6 +19,7 @@ import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,6 +51,15 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         return apiSubscriptionDAO.getAPISubscriptionsOfAPIForValidation(limit);
     }
 
+    /**
+     * @see org.wso2.carbon.apimgt.core.api.APIMgtAdminService#getAPISubscriptions(int, ResultHandler)
+     */
+    @Override
+    public void getAPISubscriptions(int limit, ResultHandler<SubscriptionValidationData> handler)
+            throws APIManagementException, IOException {
+        apiSubscriptionDAO.getAPISubscriptionsOfAPIForValidation(limit, handler);
+    }
+
     /**
      * @see org.wso2.carbon.apimgt.core.api.APIMgtAdminService#getAPISubscriptionsOfApi(String, String)
      */
@@ -58,24 +69,39 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         return apiSubscriptionDAO.getAPISubscriptionsOfAPIForValidation(apiContext, apiVersion);
     }
 
+    /**
+     * @see org.wso2.carbon.apimgt.core.api.APIMgtAdminService#getAPISubscriptionsOfApi(String, String, ResultHandler)
+     */
+    @Override
+    public void getAPISubscriptionsOfApi(String apiContext, String apiVersion,
+                                         ResultHandler<SubscriptionValidationData> handler)
+            throws APIManagementException, IOException {
+        apiSubscriptionDAO.getAPISubscriptionsOfAPIForValidation(apiContext, apiVersion, handler);
+    }
+
     /**
      * @see org.wso2.carbon.apimgt.core.api.APIMgtAdminService#getAPIInfo()
      */
     @Override
     public List<APISummary> getAPIInfo() throws APIManagementException {
-        List<API> apiList = apiDAO.getAPIs(ApiType.STANDARD);
         List<APISummary> apiSummaryList = new ArrayList<APISummary>();
-        apiList.forEach(apiInfo -> {
-            APISummary apiSummary = new APISummary(apiInfo.getId());
-            apiSummary.setName(apiInfo.getName());
-            apiSummary.setContext(apiInfo.getContext());
-            apiSummary.setVersion(apiInfo.getVersion());
-            apiSummary.setUriTemplates(new ArrayList<>(apiInfo.getUriTemplates().values()));
-            apiSummaryList.add(apiSummary);
-        });
+        for (API apiInfo : apiDAO.getAPIs(ApiType.STANDARD)) {
+            apiSummaryList.add(createAPISummary(apiInfo));
+        }
         return apiSummaryList;
     }
 
+    /**
+     * @see org.wso2.carbon.apimgt.core.api.APIMgtAdminService#getAPIInfo(ResultHandler)
+     */
+    @Override
+    public void getAPIInfo(ResultHandler<APISummary> handler) throws APIManagementException, IOException {
+        // the summaries are created one at a time, so that only the APIs are held in memory while they are written
+        for (API apiInfo : apiDAO.getAPIs(ApiType.STANDARD)) {
+            handler.handle(createAPISummary(apiInfo));
+        }
+    }
+
     /**
      * @see org.wso2.carbon.apimgt.core.api.APIMgtAdminService#addPolicy(String, Policy)
      */
@@ -202,4 +228,12 @@ public class APIMgtAdminServiceImpl implements APIMgtAdminService {
         }
     }
 
+    private static APISummary createAPISummary(API apiInfo) {
+        APISummary apiSummary = new APISummary(apiInfo.getId());
+        apiSummary.setName(apiInfo.getName());
+        apiSummary.setContext(apiInfo.getContext());
+        apiSummary.setVersion(apiInfo.getVersion());
+        apiSummary.setUriTemplates(new ArrayList<>(apiInfo.getUriTemplates().values()));
+        return apiSummary;
+    }
 }
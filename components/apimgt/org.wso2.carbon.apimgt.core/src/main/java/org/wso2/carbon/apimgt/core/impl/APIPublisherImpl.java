@@ -32,6 +32,7 @@ import org.wso2.carbon.apimgt.core.api.APIGateway;
 import org.wso2.carbon.apimgt.core.api.APILifecycleManager;
 import org.wso2.carbon.apimgt.core.api.APIMObservable;
 import org.wso2.carbon.apimgt.core.api.APIPublisher;
+import org.wso2.carbon.apimgt.core.api.APISearchIndex;
 import org.wso2.carbon.apimgt.core.api.EventObserver;
 import org.wso2.carbon.apimgt.core.api.GatewaySourceGenerator;
 import org.wso2.carbon.apimgt.core.api.WorkflowExecutor;
@@ -51,6 +52,7 @@ import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.exception.GatewayException;
 import org.wso2.carbon.apimgt.core.exception.LabelException;
 import org.wso2.carbon.apimgt.core.exception.WorkflowException;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.APIResource;
 import org.wso2.carbon.apimgt.core.models.APIStateChangeWorkflow;
@@ -479,7 +481,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                     API api = apiBuilder.build();
 
                     //Add API to gateway
-                    gateway.updateAPI(api);
+                    gateway.updateAPI(originalAPI, api);
 
                     if (originalAPI.getContext() != null && !originalAPI.getContext().equals(apiBuilder.getContext())) {
                         if (!checkIfAPIContextExists(api.getContext())) {
@@ -521,20 +523,20 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
                     }
                     if (log.isDebugEnabled()) {
                         log.debug("API " + api.getName() + "-" + api.getVersion() + " was updated successfully.");
-                        // 'API_M Functions' related code
-                        //Create a payload with event specific details
-                        Map<String, String> eventPayload = new HashMap<>();
-                        eventPayload.put(APIMgtConstants.FunctionsConstants.API_ID, api.getId());
-                        eventPayload.put(APIMgtConstants.FunctionsConstants.API_NAME, api.getName());
-                        eventPayload.put(APIMgtConstants.FunctionsConstants.API_VERSION, api.getVersion());
-                        eventPayload.put(APIMgtConstants.FunctionsConstants.API_DESCRIPTION, api.getDescription());
-                        eventPayload.put(APIMgtConstants.FunctionsConstants.API_CONTEXT, api.getContext());
-                        eventPayload.put(APIMgtConstants.FunctionsConstants.API_LC_STATUS, api.getLifeCycleStatus());
-                        // This will notify all the EventObservers(Asynchronous)
-                        ObserverNotifier observerNotifier = new ObserverNotifier(Event.API_UPDATE, getUsername(),
-                                ZonedDateTime.now(ZoneOffset.UTC), eventPayload, this);
-                        ObserverNotifierThreadPool.getInstance().executeTask(observerNotifier);
                     }
+                    // 'API_M Functions' related code
+                    //Create a payload with event specific details
+                    Map<String, String> eventPayload = new HashMap<>();
+                    eventPayload.put(APIMgtConstants.FunctionsConstants.API_ID, api.getId());
+                    eventPayload.put(APIMgtConstants.FunctionsConstants.API_NAME, api.getName());
+                    eventPayload.put(APIMgtConstants.FunctionsConstants.API_VERSION, api.getVersion());
+                    eventPayload.put(APIMgtConstants.FunctionsConstants.API_DESCRIPTION, api.getDescription());
+                    eventPayload.put(APIMgtConstants.FunctionsConstants.API_CONTEXT, api.getContext());
+                    eventPayload.put(APIMgtConstants.FunctionsConstants.API_LC_STATUS, api.getLifeCycleStatus());
+                    // This will notify all the EventObservers(Asynchronous)
+                    ObserverNotifier observerNotifier = new ObserverNotifier(Event.API_UPDATE, getUsername(),
+                            ZonedDateTime.now(ZoneOffset.UTC), eventPayload, this);
+                    ObserverNotifierThreadPool.getInstance().executeTask(observerNotifier);
                 } else if (!originalAPI.getLifeCycleStatus().equals(apiBuilder.getLifeCycleStatus())) {
                     String msg = "API " + apiBuilder.getName() + "-" + apiBuilder.getVersion() + " Couldn't update as" +
                             " API have " +
@@ -744,6 +746,17 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
 
                 getApiLifecycleManager().executeLifecycleEvent(api.getLifeCycleStatus(), status,
                         apiBuilder.getLifecycleInstanceId(), updatedBy, originalAPI);
+                // 'API_M Functions' related code
+                //Create a payload with event specific details
+                Map<String, String> eventPayload = new HashMap<>();
+                eventPayload.put(APIMgtConstants.FunctionsConstants.API_ID, api.getId());
+                eventPayload.put(APIMgtConstants.FunctionsConstants.API_NAME, api.getName());
+                eventPayload.put(APIMgtConstants.FunctionsConstants.API_VERSION, api.getVersion());
+                eventPayload.put(APIMgtConstants.FunctionsConstants.API_LC_STATUS, status);
+                // This will notify all the EventObservers(Asynchronous)
+                ObserverNotifier observerNotifier = new ObserverNotifier(Event.LIFE_CYCLE_CHANGE, updatedBy,
+                        ZonedDateTime.now(ZoneOffset.UTC), eventPayload, this);
+                ObserverNotifierThreadPool.getInstance().executeTask(observerNotifier);
                 if (deprecateOlderVersion) {
                     if (StringUtils.isNotEmpty(api.getCopiedFromApiId())) {
                         API oldAPI = getApiDAO().getAPI(api.getCopiedFromApiId());
@@ -940,6 +953,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
 
             if (!getApiDAO().isDocumentExist(apiId, document)) {
                 getApiDAO().addDocumentInfo(apiId, document);
+                notifyDocumentEvent(Event.DOC_CREATION, apiId, document.getId());
                 return document.getId();
             } else {
                 String msg = "Document already exist for the api " + apiId;
@@ -987,6 +1001,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
     public void removeDocumentation(String docId) throws APIManagementException {
         try {
             getApiDAO().deleteDocument(docId);
+            notifyDocumentEvent(Event.DOC_DELETION, null, docId);
         } catch (APIMgtDAOException e) {
             String errorMsg = "Unable to add documentation with file";
             log.error(errorMsg, e);
@@ -1048,6 +1063,26 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
     @Override
     public void addDocumentationContent(String docId, String text) throws APIManagementException {
         getApiDAO().addDocumentInlineContent(docId, text, getUsername());
+        notifyDocumentEvent(Event.DOC_MODIFICATION, null, docId);
+    }
+
+    /**
+     * Notify the observers of a change of a document
+     *
+     * @param event Event which occurred
+     * @param apiId UUID of the API of the document, or null if it is not known
+     * @param docId UUID of the document
+     */
+    private void notifyDocumentEvent(Event event, String apiId, String docId) {
+        Map<String, String> eventPayload = new HashMap<>();
+        if (apiId != null) {
+            eventPayload.put(APIMgtConstants.FunctionsConstants.API_ID, apiId);
+        }
+        eventPayload.put(APIMgtConstants.FunctionsConstants.DOC_ID, docId);
+        // This will notify all the EventObservers(Asynchronous)
+        ObserverNotifier observerNotifier = new ObserverNotifier(event, getUsername(),
+                ZonedDateTime.now(ZoneOffset.UTC), eventPayload, this);
+        ObserverNotifierThreadPool.getInstance().executeTask(observerNotifier);
     }
 
     /**
@@ -1080,6 +1115,7 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
 
             if (getApiDAO().isDocumentExist(apiId, document)) {
                 getApiDAO().updateDocumentInfo(apiId, document, getUsername());
+                notifyDocumentEvent(Event.DOC_MODIFICATION, apiId, document.getId());
                 return document.getId();
             } else {
                 String msg = "Document " + document.getName() + " not found for the api " + apiId;
@@ -1213,11 +1249,16 @@ public class APIPublisherImpl extends AbstractAPIManager implements APIPublisher
         List<API> apiResults;
         try {
             //TODO: Need to validate users roles against results returned
+            APISearchIndex apiSearchIndex = ServiceReferenceHolder.getInstance().getAPISearchIndex();
             if (query != null && !query.isEmpty()) {
                 String user = "admin";
                 Set<String> roles = APIUtils.getAllRolesOfUser(user);
                 //TODO get the logged in user and user roles from key manager.
-                apiResults = getApiDAO().searchAPIs(roles, user, query, ApiType.STANDARD, offset, limit);
+                if (apiSearchIndex != null && apiSearchIndex.isReady()) {
+                    apiResults = apiSearchIndex.searchPublisherAPIs(query, roles, user, offset, limit);
+                } else {
+                    apiResults = getApiDAO().searchAPIs(roles, user, query, ApiType.STANDARD, offset, limit);
+                }
             } else {
                 apiResults = getApiDAO().getAPIs(ApiType.STANDARD);
             }
@@ -20,6 +20,7 @@
 
 package org.wso2.carbon.apimgt.core.impl;
 
+import org.apache.commons.lang3.StringUtils;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -29,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.APIMConfigurations;
 import org.wso2.carbon.apimgt.core.api.APIGateway;
 import org.wso2.carbon.apimgt.core.api.APIMObservable;
+import org.wso2.carbon.apimgt.core.api.APISearchIndex;
 import org.wso2.carbon.apimgt.core.api.APIStore;
 import org.wso2.carbon.apimgt.core.api.EventObserver;
 import org.wso2.carbon.apimgt.core.api.KeyManager;
@@ -43,6 +45,7 @@ import org.wso2.carbon.apimgt.core.dao.LabelDAO;
 import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
 import org.wso2.carbon.apimgt.core.dao.TagDAO;
 import org.wso2.carbon.apimgt.core.dao.WorkflowDAO;
+import org.wso2.carbon.apimgt.core.dao.impl.LandingPageCache;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtResourceAlreadyExistsException;
@@ -63,6 +66,7 @@ import org.wso2.carbon.apimgt.core.models.ApplicationUpdateWorkflow;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
 import org.wso2.carbon.apimgt.core.models.OAuthAppRequest;
 import org.wso2.carbon.apimgt.core.models.OAuthApplicationInfo;
 import org.wso2.carbon.apimgt.core.models.Rating;
@@ -86,8 +90,11 @@ import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -348,21 +355,8 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
             Subscription subscription = new Subscription(subscriptionId, application, api, tier);
             subscription.setStatus(APIMgtConstants.SubscriptionStatus.ON_HOLD);
             
-            SubscriptionWorkflow workflow = new SubscriptionWorkflow();
-
-            workflow.setCreatedTime(LocalDateTime.now());
-            workflow.setExternalWorkflowReference(UUID.randomUUID().toString());
-            workflow.setWorkflowReference(subscriptionId);
-            workflow.setWorkflowType(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION);
-            workflow.setSubscription(subscription);
-            workflow.setSubscriber(getUsername());
-
-            String workflowDescription = "Subscription creation workflow for the subscription to api "
-                    + subscription.getApi().getName() + ":" + subscription.getApi().getVersion() + ":"
-                    + subscription.getApi().getProvider() + " using application "
-                    + subscription.getApplication().getName() + " with tier " + subscription.getSubscriptionTier()
-                    + " by " + getUsername();
-            workflow.setWorkflowDescription(workflowDescription);
+            SubscriptionWorkflow workflow = createSubscriptionWorkflow(subscription,
+                    WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION);
 
             WorkflowResponse response = addSubscriptionWFExecutor.execute(workflow);
             workflow.setStatus(response.getWorkflowStatus());            
@@ -412,21 +406,8 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
                 //remove pending tasks for subscription creation first 
                 cleanupPendingTaskForSubscriptionDeletion(subscription);
                 
-                SubscriptionWorkflow workflow = new SubscriptionWorkflow();
-                workflow.setWorkflowReference(subscriptionId);
-                workflow.setSubscription(subscription);
-                workflow.setWorkflowType(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_DELETION);
-                workflow.setStatus(WorkflowStatus.CREATED);
-                workflow.setCreatedTime(LocalDateTime.now());
-                workflow.setExternalWorkflowReference(UUID.randomUUID().toString());        
-                workflow.setSubscriber(getUsername());
-
-                String workflowDescription = "Subscription deletion workflow for the subscription to api "
-                        + subscription.getApi().getName() + ":" + subscription.getApi().getVersion() + ":"
-                        + subscription.getApi().getProvider() + " using application "
-                        + subscription.getApplication().getName() + " with tier " + subscription.getSubscriptionTier()
-                        + " by " + getUsername();
-                workflow.setWorkflowDescription(workflowDescription);
+                SubscriptionWorkflow workflow = createSubscriptionWorkflow(subscription,
+                        WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_DELETION);
                 
                 WorkflowResponse response = removeSubscriptionWFExecutor.execute(workflow);
                 workflow.setStatus(response.getWorkflowStatus());
@@ -448,6 +429,289 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
         }
     }
 
+    /**
+     * @see APIStore#addApiSubscriptions(String, Map)
+     */
+    @Override
+    public List<SubscriptionResponse> addApiSubscriptions(String applicationId, Map<String, String> apiTiers)
+            throws APIManagementException {
+        Application application = getApplicationByUuid(applicationId);
+        if (application == null) {
+            String errorMsg = "Cannot find an application for given applicationId - " + applicationId;
+            log.error(errorMsg);
+            throw new APIManagementException(errorMsg, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+        validateSubscriptionTiers(apiTiers.values());
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (Map.Entry<String, String> apiTier : apiTiers.entrySet()) {
+            API api = getAPIbyUUID(apiTier.getKey());
+            if (api == null) {
+                String errorMsg = "Cannot find an API for given apiId - " + apiTier.getKey();
+                log.error(errorMsg);
+                throw new APIManagementException(errorMsg, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+            Subscription subscription = new Subscription(UUID.randomUUID().toString(), application, api,
+                    apiTier.getValue());
+            subscription.setStatus(APIMgtConstants.SubscriptionStatus.ON_HOLD);
+            subscriptions.add(subscription);
+        }
+
+        List<SubscriptionResponse> subscriptionResponses = new ArrayList<>();
+        for (List<Subscription> chunk : getSubscriptionChunks(subscriptions)) {
+            subscriptionResponses.addAll(addApiSubscriptionChunk(chunk));
+        }
+        return subscriptionResponses;
+    }
+
+    /**
+     * Add a chunk of subscriptions. The subscriptions are written on hold in one transaction before their workflows
+     * are started, so that a workflow is only ever completed for a subscription which exists. The statuses of the
+     * subscriptions whose workflows complete immediately are then updated in one transaction and notified to gateways
+     * in one message, while the others are left on hold for their pending workflows.
+     */
+    private List<SubscriptionResponse> addApiSubscriptionChunk(List<Subscription> subscriptions)
+            throws APIManagementException {
+        try {
+            getApiSubscriptionDAO().addAPISubscriptions(subscriptions);
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while adding api subscriptions for application - "
+                    + subscriptions.get(0).getApplication().getId();
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+
+        WorkflowExecutor addSubscriptionWFExecutor = WorkflowExecutorFactory.getInstance()
+                .getWorkflowExecutor(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION);
+        List<SubscriptionResponse> subscriptionResponses = new ArrayList<>();
+        List<Subscription> completedSubscriptions = new ArrayList<>();
+        List<SubscriptionWorkflow> completedWorkflows = new ArrayList<>();
+        Map<String, SubscriptionStatus> subscriptionStatuses = new LinkedHashMap<>();
+        for (Subscription subscription : subscriptions) {
+            SubscriptionWorkflow workflow = createSubscriptionWorkflow(subscription,
+                    WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION);
+            WorkflowResponse response = addSubscriptionWFExecutor.execute(workflow);
+            workflow.setStatus(response.getWorkflowStatus());
+
+            if (WorkflowStatus.CREATED != response.getWorkflowStatus()) {
+                workflow.setStatus(addSubscriptionWFExecutor.complete(workflow).getWorkflowStatus());
+                if (WorkflowStatus.APPROVED == workflow.getStatus()) {
+                    subscription.setStatus(APIMgtConstants.SubscriptionStatus.ACTIVE);
+                    subscriptionStatuses.put(subscription.getId(), subscription.getStatus());
+                } else if (WorkflowStatus.REJECTED == workflow.getStatus()) {
+                    subscription.setStatus(APIMgtConstants.SubscriptionStatus.REJECTED);
+                    subscriptionStatuses.put(subscription.getId(), subscription.getStatus());
+                }
+                completedSubscriptions.add(subscription);
+                completedWorkflows.add(workflow);
+            } else {
+                //only add entry to workflow table if it is a pending task
+                addWorkflowEntries(workflow);
+            }
+            subscriptionResponses.add(new SubscriptionResponse(subscription.getId(), response));
+        }
+
+        if (!completedSubscriptions.isEmpty()) {
+            gateway.addAPISubscriptions(completedSubscriptions);
+            if (!subscriptionStatuses.isEmpty()) {
+                try {
+                    getApiSubscriptionDAO().updateSubscriptionStatuses(subscriptionStatuses);
+                } catch (APIMgtDAOException e) {
+                    String errorMsg = "Error occurred while updating status of api subscriptions - "
+                            + subscriptionStatuses.keySet();
+                    log.error(errorMsg, e);
+                    throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+                }
+            }
+            updateWorkflowEntries(completedWorkflows);
+        }
+        return subscriptionResponses;
+    }
+
+    /**
+     * @see APIStore#deleteAPISubscriptions(List)
+     */
+    @Override
+    public List<WorkflowResponse> deleteAPISubscriptions(List<String> subscriptionIds)
+            throws APIManagementException {
+        if (new HashSet<>(subscriptionIds).size() < subscriptionIds.size()) {
+            String errorMsg = "Subscriptions are requested more than once - " + subscriptionIds;
+            log.error(errorMsg);
+            throw new APIManagementException(errorMsg, ExceptionCodes.SUBSCRIPTION_DUPLICATED);
+        }
+        List<Subscription> subscriptions = getSubscriptions(subscriptionIds);
+        List<WorkflowResponse> workflowResponses = new ArrayList<>();
+        for (List<Subscription> chunk : getSubscriptionChunks(subscriptions)) {
+            workflowResponses.addAll(deleteAPISubscriptionChunk(chunk));
+        }
+        return workflowResponses;
+    }
+
+    /**
+     * Delete the subscriptions of a chunk whose workflows are approved immediately in one transaction, notifying
+     * gateways in one message. The others are kept until their pending workflows are completed.
+     */
+    private List<WorkflowResponse> deleteAPISubscriptionChunk(List<Subscription> subscriptions)
+            throws APIManagementException {
+        WorkflowExecutor removeSubscriptionWFExecutor = WorkflowExecutorFactory.getInstance()
+                .getWorkflowExecutor(WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_DELETION);
+        List<WorkflowResponse> workflowResponses = new ArrayList<>();
+        List<Subscription> deletedSubscriptions = new ArrayList<>();
+        List<String> deletedSubscriptionIds = new ArrayList<>();
+        List<SubscriptionWorkflow> completedWorkflows = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            //remove pending tasks for subscription creation first
+            cleanupPendingTaskForSubscriptionDeletion(subscription);
+
+            SubscriptionWorkflow workflow = createSubscriptionWorkflow(subscription,
+                    WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_DELETION);
+            workflow.setStatus(WorkflowStatus.CREATED);
+            WorkflowResponse response = removeSubscriptionWFExecutor.execute(workflow);
+            workflow.setStatus(response.getWorkflowStatus());
+
+            if (WorkflowStatus.CREATED != response.getWorkflowStatus()) {
+                workflow.setStatus(removeSubscriptionWFExecutor.complete(workflow).getWorkflowStatus());
+                if (WorkflowStatus.APPROVED == workflow.getStatus()) {
+                    deletedSubscriptions.add(subscription);
+                    deletedSubscriptionIds.add(subscription.getId());
+                }
+                completedWorkflows.add(workflow);
+            } else {
+                //add entry to workflow table if it is only in pending state
+                addWorkflowEntries(workflow);
+            }
+            workflowResponses.add(response);
+        }
+
+        if (!deletedSubscriptions.isEmpty()) {
+            gateway.deleteAPISubscriptions(deletedSubscriptions);
+            try {
+                getApiSubscriptionDAO().deleteAPISubscriptions(deletedSubscriptionIds);
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while deleting api subscriptions - " + deletedSubscriptionIds;
+                log.error(errorMsg, e);
+                throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+        }
+        if (!completedWorkflows.isEmpty()) {
+            updateWorkflowEntries(completedWorkflows);
+        }
+        return workflowResponses;
+    }
+
+    /**
+     * @see APIStore#updateSubscriptionTiers(Map)
+     */
+    @Override
+    public List<Subscription> updateSubscriptionTiers(Map<String, String> subscriptionTiers)
+            throws APIManagementException {
+        validateSubscriptionTiers(subscriptionTiers.values());
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (Subscription subscription : getSubscriptions(new ArrayList<>(subscriptionTiers.keySet()))) {
+            Subscription updatedSubscription = new Subscription(subscription.getId(), subscription.getApplication(),
+                    subscription.getApi(), subscriptionTiers.get(subscription.getId()));
+            updatedSubscription.setStatus(subscription.getStatus());
+            subscriptions.add(updatedSubscription);
+        }
+
+        for (List<Subscription> chunk : getSubscriptionChunks(subscriptions)) {
+            Map<String, String> chunkTiers = new LinkedHashMap<>();
+            for (Subscription subscription : chunk) {
+                chunkTiers.put(subscription.getId(), subscription.getSubscriptionTier());
+            }
+            try {
+                getApiSubscriptionDAO().updateSubscriptionPolicies(chunkTiers);
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while updating tiers of api subscriptions - " + chunkTiers.keySet();
+                log.error(errorMsg, e);
+                throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+            gateway.updateAPISubscriptions(chunk);
+        }
+        return subscriptions;
+    }
+
+    /**
+     * Get a set of subscriptions, failing if any of them does not exist
+     */
+    private List<Subscription> getSubscriptions(List<String> subscriptionIds) throws APIManagementException {
+        List<Subscription> subscriptions = new ArrayList<>();
+        try {
+            for (String subscriptionId : subscriptionIds) {
+                if (subscriptionId == null) {
+                    String errorMsg = "Subscription Id is not provided";
+                    log.error(errorMsg);
+                    throw new APIManagementException(errorMsg, ExceptionCodes.PARAMETER_NOT_PROVIDED);
+                }
+                Subscription subscription = getApiSubscriptionDAO().getAPISubscription(subscriptionId);
+                if (subscription == null) {
+                    String errorMsg = "Subscription not found for the id - " + subscriptionId;
+                    log.error(errorMsg);
+                    throw new APIManagementException(errorMsg, ExceptionCodes.SUBSCRIPTION_NOT_FOUND);
+                }
+                subscriptions.add(subscription);
+            }
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while retrieving api subscriptions - " + subscriptionIds;
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+        return subscriptions;
+    }
+
+    /**
+     * Check that each of a set of subscription tiers is given and exists, looking up each distinct tier once
+     */
+    private void validateSubscriptionTiers(Collection<String> tiers) throws APIManagementException {
+        for (String tier : new HashSet<>(tiers)) {
+            if (StringUtils.isEmpty(tier)) {
+                String errorMsg = "Subscription tier is not provided";
+                log.error(errorMsg);
+                throw new APIManagementException(errorMsg, ExceptionCodes.TIER_CANNOT_BE_NULL);
+            }
+            try {
+                if (getPolicyDAO().getSubscriptionPolicy(tier) == null) {
+                    String errorMsg = "Cannot find a subscription tier for given name - " + tier;
+                    log.error(errorMsg);
+                    throw new APIManagementException(errorMsg, ExceptionCodes.TIER_NAME_INVALID);
+                }
+            } catch (APIMgtDAOException e) {
+                String errorMsg = "Error occurred while retrieving subscription tier - " + tier;
+                log.error(errorMsg, e);
+                throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+            }
+        }
+    }
+
+    private List<List<Subscription>> getSubscriptionChunks(List<Subscription> subscriptions) {
+        int chunkSize = Math.max(1, config.getSubscriptionChunkSize());
+        List<List<Subscription>> chunks = new ArrayList<>();
+        for (int from = 0; from < subscriptions.size(); from += chunkSize) {
+            chunks.add(subscriptions.subList(from, Math.min(subscriptions.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private SubscriptionWorkflow createSubscriptionWorkflow(Subscription subscription, String workflowType) {
+        SubscriptionWorkflow workflow = new SubscriptionWorkflow();
+
+        workflow.setCreatedTime(LocalDateTime.now());
+        workflow.setExternalWorkflowReference(UUID.randomUUID().toString());
+        workflow.setWorkflowReference(subscription.getId());
+        workflow.setWorkflowType(workflowType);
+        workflow.setSubscription(subscription);
+        workflow.setSubscriber(getUsername());
+
+        String action = WorkflowConstants.WF_TYPE_AM_SUBSCRIPTION_CREATION.equals(workflowType) ?
+                "creation" : "deletion";
+        String workflowDescription = "Subscription " + action + " workflow for the subscription to api "
+                + subscription.getApi().getName() + ":" + subscription.getApi().getVersion() + ":"
+                + subscription.getApi().getProvider() + " using application "
+                + subscription.getApplication().getName() + " with tier " + subscription.getSubscriptionTier()
+                + " by " + getUsername();
+        workflow.setWorkflowDescription(workflowDescription);
+        return workflow;
+    }
+
     @Override
     public List<Tag> getAllTags() throws APIManagementException {
         List<Tag> tagList;
@@ -493,7 +757,9 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
         List<Label> filteredLabels;
         String labelExtractorClassName = config.getLabelExtractor();
         try {
-            List<Label> availableLabels = getLabelDAO().getLabelsByName(labels);
+            // only the filtering of the labels depends on the user
+            List<Label> availableLabels = new ArrayList<>(LandingPageCache.getInstance().getLabels(labels,
+                    () -> getLabelDAO().getLabelsByName(labels)));
             LabelExtractor labelExtractor = (LabelExtractor) Class.forName(labelExtractorClassName).newInstance();
             filteredLabels = labelExtractor.filterLabels(username, availableLabels);
         } catch (APIMgtDAOException e) {
@@ -672,7 +938,10 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
             String user = "admin";
             //role list of current user
             Set<String> roles = APIUtils.getAllRolesOfUser(user);
-            if (query != null && !query.isEmpty()) {
+            APISearchIndex apiSearchIndex = ServiceReferenceHolder.getInstance().getAPISearchIndex();
+            if (query != null && !query.isEmpty() && apiSearchIndex != null && apiSearchIndex.isReady()) {
+                apiResults = apiSearchIndex.searchStoreAPIs(query, roles, getStoreAPIStatuses(), offset, limit);
+            } else if (query != null && !query.isEmpty()) {
                 String[] attributes = query.split(",");
                 Map<String, String> attributeMap = new HashMap<>();
                 // TODO get the logged in user and user roles from key manager.
@@ -694,10 +963,8 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
                             attributeMap, offset, limit);
                 }
             } else {
-                List<String> statuses = new ArrayList<>();
-                statuses.add(APIStatus.PUBLISHED.getStatus());
-                statuses.add(APIStatus.PROTOTYPED.getStatus());
-                apiResults = getApiDAO().getAPIsByStatus(roles, statuses, ApiType.STANDARD);
+                apiResults = getApiDAO().getAPIsByStatus(roles, getStoreAPIStatuses(), ApiType.STANDARD, null, null,
+                        offset, limit);
             }
 
         } catch (APIMgtDAOException e) {
@@ -709,6 +976,61 @@ public class APIStoreImpl extends AbstractAPIManager implements APIStore, APIMOb
         return apiResults;
     }
 
+    @Override
+    public List<API> getStoreAPIs(String afterName, String afterId, int offset, int limit)
+            throws APIManagementException {
+        try {
+            //this should be current logged in user
+            Set<String> roles = APIUtils.getAllRolesOfUser("admin");
+            return getApiDAO().getAPIsByStatus(roles, getStoreAPIStatuses(), ApiType.STANDARD, afterName, afterId,
+                    offset, limit);
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while retrieving APIs after - " + afterName;
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+    }
+
+    @Override
+    public List<LandingPageAPI> getLandingPageAPIs(String afterName, String afterId, int offset, int limit)
+            throws APIManagementException {
+        try {
+            //this should be current logged in user
+            Set<String> roles = APIUtils.getAllRolesOfUser("admin");
+            return getApiDAO().getLandingPageAPIs(roles, getStoreAPIStatuses(), ApiType.STANDARD, afterName, afterId,
+                    offset, limit);
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while retrieving landing page APIs after - " + afterName;
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+    }
+
+    @Override
+    public long getEstimatedStoreAPICount() throws APIManagementException {
+        try {
+            //this should be current logged in user
+            Set<String> roles = APIUtils.getAllRolesOfUser("admin");
+            return getApiDAO().getEstimatedAPICountByStatus(roles, getStoreAPIStatuses(), ApiType.STANDARD);
+        } catch (APIMgtDAOException e) {
+            String errorMsg = "Error occurred while counting APIs";
+            log.error(errorMsg, e);
+            throw new APIManagementException(errorMsg, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+    }
+
+    /**
+     * Statuses of the APIs which are listed in the store
+     *
+     * @return API statuses
+     */
+    private static List<String> getStoreAPIStatuses() {
+        List<String> statuses = new ArrayList<>();
+        statuses.add(APIStatus.PUBLISHED.getStatus());
+        statuses.add(APIStatus.PROTOTYPED.getStatus());
+        return statuses;
+    }
+
     /**
      * @see APIStore#deleteApplication(String)
      */
@@ -572,6 +572,20 @@ public abstract class AbstractAPIManager implements APIManager {
 
     }
 
+    protected void updateWorkflowEntries(List<? extends Workflow> workflows) throws APIManagementException {
+        LocalDateTime updatedTime = LocalDateTime.now();
+        for (Workflow workflow : workflows) {
+            workflow.setUpdatedTime(updatedTime);
+        }
+        try {
+            getWorkflowDAO().updateWorkflowStatuses(workflows);
+        } catch (APIMgtDAOException e) {
+            String message = "Error while updating workflow entries";
+            log.error(message);
+            throw new APIManagementException(message, e, ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }
+    }
+
     protected void addWorkflowEntries(Workflow workflow) throws APIManagementException {
 
         try {
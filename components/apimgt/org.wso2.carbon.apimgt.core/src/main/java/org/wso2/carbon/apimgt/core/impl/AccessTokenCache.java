@@ -0,0 +1,170 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
+import org.wso2.carbon.apimgt.core.util.BoundedCache;
+import org.wso2.carbon.apimgt.core.util.ETagUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache of the validation results of the credentials presented to the REST APIs of this node,
+ * so that every request does not call the introspection endpoint of the key manager.
+ * <p>
+ * The result of a valid credential expires after the configured time, or when the token itself expires if that is
+ * earlier. The rejection of an invalid credential is cached for a shorter time, so that a client retrying with a bad
+ * token does not reach the key manager on every request. Entries are evicted in least recently used order once the
+ * cache holds the configured number of credentials.
+ * <p>
+ * Credentials are kept as their SHA-256 hashes, so that a heap dump does not expose usable tokens. A token revoked on
+ * this node is invalidated at once, and a validation which raced with the revocation cannot put it back. A token
+ * revoked on another node stays valid here until its entry expires.
+ */
+public class AccessTokenCache extends BoundedCache<String, AccessTokenInfo> implements AccessTokenCacheMXBean {
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final long DEFAULT_EXPIRY_TIME = TimeUnit.MINUTES.toMillis(5);
+    private static final long DEFAULT_INVALID_TOKEN_EXPIRY_TIME = TimeUnit.SECONDS.toMillis(30);
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final AccessTokenCache instance = new AccessTokenCache();
+
+    private final AtomicLong negativeHits = new AtomicLong();
+
+    private volatile long invalidTokenExpiryTime = DEFAULT_INVALID_TOKEN_EXPIRY_TIME;
+
+    /**
+     * Validates a credential on a cache miss
+     */
+    @FunctionalInterface
+    public interface Loader extends BoundedCache.Loader<AccessTokenInfo, APIManagementException> {
+    }
+
+    private AccessTokenCache() {
+        super(DEFAULT_MAX_ENTRIES, DEFAULT_EXPIRY_TIME);
+    }
+
+    public static AccessTokenCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Configure the cache. Existing entries are discarded.
+     *
+     * @param enabled                whether the cache is enabled
+     * @param maxEntries             maximum number of cached credentials
+     * @param expiryTime             time after which the result of a valid credential expires, in milliseconds
+     * @param invalidTokenExpiryTime time after which the rejection of an invalid credential expires, in milliseconds
+     */
+    public void configure(boolean enabled, int maxEntries, long expiryTime, long invalidTokenExpiryTime) {
+        this.invalidTokenExpiryTime = invalidTokenExpiryTime;
+        super.configure(enabled, maxEntries, expiryTime);
+    }
+
+    /**
+     * Get the validation result of a credential from the cache, validating it if it is not cached. The returned
+     * result is shared by the requests presenting the same credential and must not be modified.
+     *
+     * @param credential access token, or any other credential prefixed with its type
+     * @param loader     validates the credential
+     * @return validation result of the credential
+     * @throws APIManagementException if the credential cannot be validated. Failures are not cached.
+     */
+    public AccessTokenInfo get(String credential, Loader loader) throws APIManagementException {
+        if (!isEnabled() || credential == null) {
+            return loader.load();
+        }
+        String key = hash(credential);
+        long loadVersion = getCacheVersion();
+        AccessTokenInfo tokenInfo = getIfPresent(key);
+        if (tokenInfo != null) {
+            if (!tokenInfo.isTokenValid()) {
+                negativeHits.incrementAndGet();
+            }
+            return tokenInfo;
+        }
+        tokenInfo = loader.load();
+        put(key, tokenInfo, loadVersion);
+        return tokenInfo;
+    }
+
+    /**
+     * Invalidate the cached result of a credential after it has been revoked
+     *
+     * @param credential access token, or any other credential prefixed with its type
+     */
+    public void invalidate(String credential) {
+        invalidateEntry(hash(credential));
+    }
+
+    /**
+     * Invalidate all the cached results
+     */
+    public void invalidateAll() {
+        invalidateAllEntries();
+    }
+
+    @Override
+    public long getNegativeHitCount() {
+        return negativeHits.get();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return (int) getCapacity();
+    }
+
+    @Override
+    public long getInvalidTokenExpiryTime() {
+        return invalidTokenExpiryTime;
+    }
+
+    @Override
+    protected long getTimeToLive(AccessTokenInfo tokenInfo) {
+        if (!tokenInfo.isTokenValid()) {
+            return invalidTokenExpiryTime;
+        }
+        long now = System.currentTimeMillis();
+        long timeToLive = getExpiryTime();
+        // The validity period of a valid token is its expiry time in milliseconds since the epoch, or a non positive
+        // value if it is not known
+        long tokenExpiryTime = tokenInfo.getValidityPeriod();
+        if (tokenExpiryTime > 0 && tokenExpiryTime - now < timeToLive) {
+            timeToLive = tokenExpiryTime - now;
+        }
+        return timeToLive;
+    }
+
+    private static String hash(String credential) {
+        try {
+            return ETagUtils.toHex(MessageDigest.getInstance(HASH_ALGORITHM)
+                    .digest(credential.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+}
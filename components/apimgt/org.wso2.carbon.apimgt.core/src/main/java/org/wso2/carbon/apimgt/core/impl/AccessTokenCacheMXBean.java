@@ -0,0 +1,46 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.wso2.carbon.apimgt.core.util.BoundedCacheMXBean;
+
+/**
+ * Management interface exposing the statistics of the {@link AccessTokenCache}
+ */
+public interface AccessTokenCacheMXBean extends BoundedCacheMXBean {
+
+    /**
+     * Get the number of lookups answered from a cached rejection of an invalid credential
+     *
+     * @return number of negative hits, which are also counted as hits
+     */
+    long getNegativeHitCount();
+
+    int getMaxEntries();
+
+    /**
+     * Get the time after which a cached rejection of an invalid credential expires. The result of a valid credential
+     * expires after the expiry time of the cache, unless the credential itself expires earlier.
+     *
+     * @return expiry time in milliseconds
+     */
+    long getInvalidTokenExpiryTime();
+}
@@ -0,0 +1,416 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.dao.impl.DAOUtil;
+import org.wso2.carbon.apimgt.core.dao.impl.DataSourcePoolMXBean;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control of the requests to the management REST APIs of this node, so that a single client cannot starve
+ * the database connection pool shared by all users.
+ * <p>
+ * A request is rejected if
+ * <ul>
+ * <li>the average time taken to get a connection from the primary database pool is above the configured threshold,
+ * so that the node sheds load until the pool recovers,</li>
+ * <li>its client has used up its token bucket, which is refilled at the configured request rate up to the configured
+ * burst, or</li>
+ * <li>it is a heavy operation and the configured number of operations of the same kind are already running.</li>
+ * </ul>
+ * Buckets are kept for the configured number of clients. Beyond that, the buckets which are full again are dropped,
+ * and if that is not enough other buckets are dropped as well, which only gives their clients a new full bucket.
+ * <p>
+ * The permit of a heavy operation is a lease. It is released when the operation reports its completion, and is
+ * reclaimed once it is held for longer than the configured operation timeout, so that a permit whose completion was
+ * never reported does not lower the concurrency of its kind of operation for good.
+ */
+public class AdmissionController implements AdmissionControllerMXBean {
+    private static final Logger log = LoggerFactory.getLogger(AdmissionController.class);
+    private static final AdmissionController instance = new AdmissionController();
+
+    private static final double DEFAULT_REQUEST_RATE = 20;
+    private static final int DEFAULT_REQUEST_BURST = 100;
+    private static final int DEFAULT_MAX_CLIENTS = 10000;
+    private static final int DEFAULT_MAX_CONCURRENT_OPERATIONS = 4;
+    private static final long DEFAULT_CONNECTION_WAIT_THRESHOLD = 500;
+    private static final long DEFAULT_RETRY_AFTER = 5;
+    private static final long DEFAULT_OPERATION_TIMEOUT = 600;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong concurrencyLimited = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private final AtomicLong reclaimed = new AtomicLong();
+
+    private volatile boolean enabled = true;
+    private volatile double requestRate = DEFAULT_REQUEST_RATE;
+    private volatile int requestBurst = DEFAULT_REQUEST_BURST;
+    private volatile int maxClients = DEFAULT_MAX_CLIENTS;
+    private volatile int maxConcurrentOperations = DEFAULT_MAX_CONCURRENT_OPERATIONS;
+    private volatile long connectionWaitThreshold = DEFAULT_CONNECTION_WAIT_THRESHOLD;
+    private volatile long retryAfter = DEFAULT_RETRY_AFTER;
+    private volatile long operationTimeout = TimeUnit.SECONDS.toNanos(DEFAULT_OPERATION_TIMEOUT);
+    private volatile Map<Operation, OperationPermits> operationPermits = createOperationPermits(
+            DEFAULT_MAX_CONCURRENT_OPERATIONS);
+
+    /**
+     * Heavy operations whose concurrency is limited
+     */
+    public enum Operation {
+        EXPORT, IMPORT, SEARCH
+    }
+
+    /**
+     * Reason for which a request is rejected
+     */
+    public enum Rejection {
+        RATE_LIMITED, CONCURRENCY_LIMITED, OVERLOADED
+    }
+
+    private AdmissionController() {
+    }
+
+    public static AdmissionController getInstance() {
+        return instance;
+    }
+
+    /**
+     * Configure the admission control. The buckets of the clients are discarded. Operations which are running keep
+     * the permits they hold until they complete.
+     *
+     * @param enabled                 whether requests are subject to admission control
+     * @param requestRate             number of requests per second a client may send on average, or 0 to not limit
+     *                                the rate of the clients
+     * @param requestBurst            number of requests a client may send at once
+     * @param maxClients              maximum number of clients whose buckets are kept
+     * @param maxConcurrentOperations number of heavy operations of each kind which may run at the same time
+     * @param connectionWaitThreshold average time to get a database connection above which requests are rejected,
+     *                                in milliseconds
+     * @param retryAfter              time after which a client may retry a request rejected for overload or
+     *                                concurrency, in seconds
+     * @param operationTimeout        time after which the permit of a heavy operation is reclaimed if the operation
+     *                                did not report its completion, in seconds
+     */
+    public void configure(boolean enabled, double requestRate, int requestBurst, int maxClients,
+                          int maxConcurrentOperations, long connectionWaitThreshold, long retryAfter,
+                          long operationTimeout) {
+        this.enabled = enabled;
+        this.requestRate = requestRate;
+        this.requestBurst = requestBurst;
+        this.maxClients = maxClients;
+        this.maxConcurrentOperations = maxConcurrentOperations;
+        this.connectionWaitThreshold = connectionWaitThreshold;
+        this.retryAfter = retryAfter;
+        this.operationTimeout = TimeUnit.SECONDS.toNanos(operationTimeout);
+        this.operationPermits = createOperationPermits(maxConcurrentOperations);
+        buckets.clear();
+    }
+
+    /**
+     * Decide whether a request is admitted. An admission of a heavy operation holds a permit which must be released
+     * once the operation completes, and which is reclaimed after the operation timeout otherwise.
+     *
+     * @param client    key of the client sending the request, or null if the client is not known, in which case the
+     *                  request rate is not limited
+     * @param operation heavy operation requested, or null
+     * @return the admission
+     */
+    public Admission admit(String client, Operation operation) {
+        if (!enabled) {
+            return Admission.UNLIMITED;
+        }
+        if (getConnectionWaitTime() > connectionWaitThreshold) {
+            shed.incrementAndGet();
+            return new Admission(null, Rejection.OVERLOADED, retryAfter);
+        }
+        if (client != null && requestRate > 0) {
+            long waitTime = getBucket(client).tryConsume(requestRate, requestBurst, System.nanoTime());
+            if (waitTime > 0) {
+                rateLimited.incrementAndGet();
+                // Retry-After is given in whole seconds, so the client is never told to retry too early
+                long retryAfterSeconds = (waitTime + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+                return new Admission(null, Rejection.RATE_LIMITED, retryAfterSeconds);
+            }
+        }
+        Admission admission = Admission.UNLIMITED;
+        if (operation != null) {
+            admission = operationPermits.get(operation).tryAcquire(operation);
+            if (admission == null) {
+                concurrencyLimited.incrementAndGet();
+                return new Admission(null, Rejection.CONCURRENCY_LIMITED, retryAfter);
+            }
+        }
+        admitted.incrementAndGet();
+        return admission;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    @Override
+    public long getRateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    @Override
+    public long getConcurrencyLimitedCount() {
+        return concurrencyLimited.get();
+    }
+
+    @Override
+    public long getShedCount() {
+        return shed.get();
+    }
+
+    @Override
+    public long getReclaimedPermitCount() {
+        return reclaimed.get();
+    }
+
+    @Override
+    public int getClientCount() {
+        return buckets.size();
+    }
+
+    @Override
+    public double getConnectionWaitTime() {
+        // replicas are left out, as the reads fall back to the primary while a replica is slow or unreachable
+        for (DataSourcePoolMXBean pool : DAOUtil.getPoolStatistics()) {
+            if (!pool.isReadReplica()) {
+                return pool.getConnectionWaitTime();
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public double getRequestRate() {
+        return requestRate;
+    }
+
+    @Override
+    public int getRequestBurst() {
+        return requestBurst;
+    }
+
+    @Override
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    @Override
+    public int getMaxConcurrentOperations() {
+        return maxConcurrentOperations;
+    }
+
+    @Override
+    public long getConnectionWaitThreshold() {
+        return connectionWaitThreshold;
+    }
+
+    private TokenBucket getBucket(String client) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            evictBuckets();
+        }
+        return buckets.computeIfAbsent(client, key -> new TokenBucket(requestBurst, System.nanoTime()));
+    }
+
+    /**
+     * Drop the buckets which are full again, whose clients are treated the same with or without them, and then any
+     * buckets until a tenth of the clients can be added
+     */
+    private void evictBuckets() {
+        long now = System.nanoTime();
+        double rate = requestRate;
+        int burst = requestBurst;
+        buckets.values().removeIf(bucket -> bucket.isFull(rate, burst, now));
+        int target = maxClients - maxClients / 10 - 1;
+        Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (buckets.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private Map<Operation, OperationPermits> createOperationPermits(int maxConcurrentOperations) {
+        Map<Operation, OperationPermits> permits = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            permits.put(operation, new OperationPermits(maxConcurrentOperations));
+        }
+        return permits;
+    }
+
+    /**
+     * Permits of a kind of heavy operation along with the admissions holding them
+     */
+    private final class OperationPermits {
+        private final Semaphore semaphore;
+        private final Set<Admission> holders = ConcurrentHashMap.newKeySet();
+
+        private OperationPermits(int maxConcurrentOperations) {
+            this.semaphore = new Semaphore(maxConcurrentOperations);
+        }
+
+        /**
+         * Take a permit, reclaiming the permits held past the operation timeout if none is left
+         *
+         * @param operation operation the permit is taken for
+         * @return admission holding the permit, or null if no permit is left
+         */
+        private Admission tryAcquire(Operation operation) {
+            if (!semaphore.tryAcquire()) {
+                reclaimExpired(operation);
+                if (!semaphore.tryAcquire()) {
+                    return null;
+                }
+            }
+            Admission admission = new Admission(this, null, 0);
+            holders.add(admission);
+            return admission;
+        }
+
+        private void reclaimExpired(Operation operation) {
+            long now = System.nanoTime();
+            for (Admission holder : holders) {
+                if (now - holder.admitTime > operationTimeout && holder.release()) {
+                    reclaimed.incrementAndGet();
+                    log.warn("Reclaimed the permit of a " + operation + " operation which did not complete within "
+                            + TimeUnit.NANOSECONDS.toSeconds(operationTimeout) + " seconds");
+                }
+            }
+        }
+
+        private void release(Admission admission) {
+            holders.remove(admission);
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Outcome of the admission control of a request
+     */
+    public static final class Admission {
+        private static final Admission UNLIMITED = new Admission(null, null, 0);
+
+        private final Rejection rejection;
+        private final long retryAfter;
+        private final long admitTime = System.nanoTime();
+        private OperationPermits permits;
+
+        private Admission(OperationPermits permits, Rejection rejection, long retryAfter) {
+            this.permits = permits;
+            this.rejection = rejection;
+            this.retryAfter = retryAfter;
+        }
+
+        public boolean isAdmitted() {
+            return rejection == null;
+        }
+
+        /**
+         * @return reason for which the request is rejected, or null if it is admitted
+         */
+        public Rejection getRejection() {
+            return rejection;
+        }
+
+        /**
+         * @return time after which the client may retry a rejected request, in seconds
+         */
+        public long getRetryAfter() {
+            return retryAfter;
+        }
+
+        /**
+         * Release the permit of an admitted heavy operation. Further calls have no effect.
+         *
+         * @return true if a permit was released by this call
+         */
+        public synchronized boolean release() {
+            if (permits == null) {
+                return false;
+            }
+            permits.release(this);
+            permits = null;
+            return true;
+        }
+    }
+
+    /**
+     * Token bucket of a client, refilled continuously at the request rate
+     */
+    private static final class TokenBucket {
+        private double tokens;
+        private long updateTime;
+
+        private TokenBucket(double tokens, long updateTime) {
+            this.tokens = tokens;
+            this.updateTime = updateTime;
+        }
+
+        /**
+         * Take a token from the bucket
+         *
+         * @return 0 if a token was taken, otherwise the time until the bucket holds a token, in nanoseconds
+         */
+        private synchronized long tryConsume(double rate, int burst, long now) {
+            refill(rate, burst, now);
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return Math.max(1, (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1)));
+        }
+
+        private synchronized boolean isFull(double rate, int burst, long now) {
+            refill(rate, burst, now);
+            return tokens >= burst;
+        }
+
+        private void refill(double rate, int burst, long now) {
+            tokens = Math.min(burst, tokens + (now - updateTime) * rate / TimeUnit.SECONDS.toNanos(1));
+            updateTime = now;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+/**
+ * Management interface exposing the statistics of the {@link AdmissionController}
+ */
+public interface AdmissionControllerMXBean {
+
+    boolean isEnabled();
+
+    long getAdmittedCount();
+
+    /**
+     * Get the number of requests rejected because their client used up its token bucket
+     *
+     * @return number of requests
+     */
+    long getRateLimitedCount();
+
+    /**
+     * Get the number of heavy operations rejected because too many operations of the same kind were running
+     *
+     * @return number of requests
+     */
+    long getConcurrencyLimitedCount();
+
+    /**
+     * Get the number of requests rejected because the database connection pool was saturated
+     *
+     * @return number of requests
+     */
+    long getShedCount();
+
+    /**
+     * Get the number of permits of heavy operations reclaimed because the operation did not report its completion
+     * within the operation timeout
+     *
+     * @return number of permits
+     */
+    long getReclaimedPermitCount();
+
+    /**
+     * Get the number of clients whose token buckets are kept
+     *
+     * @return number of clients
+     */
+    int getClientCount();
+
+    /**
+     * Get the average time taken to get a connection from the pool of the primary API Manager database
+     *
+     * @return wait time in milliseconds
+     */
+    double getConnectionWaitTime();
+
+    double getRequestRate();
+
+    int getRequestBurst();
+
+    int getMaxClients();
+
+    int getMaxConcurrentOperations();
+
+    /**
+     * Get the average time to get a database connection above which requests are rejected
+     *
+     * @return threshold in milliseconds
+     */
+    long getConnectionWaitThreshold();
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.Broker;
+import org.wso2.carbon.apimgt.core.dao.impl.ApiCache;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
+import org.wso2.carbon.apimgt.core.exception.BrokerException;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import javax.jms.Topic;
+import javax.jms.TopicConnection;
+import javax.jms.TopicPublisher;
+import javax.jms.TopicSession;
+import javax.jms.TopicSubscriber;
+
+/**
+ * Propagates the invalidations of the {@link ApiCache} and the {@link ResourceVersionCache} between the nodes of a
+ * cluster through a broker topic. The invalidations of resource versions carry the type of the resource in the
+ * RESOURCE_TYPE property, and those of APIs carry no type.
+ * <p>
+ * An invalidation made by a write on this node is published asynchronously, so that a slow or unavailable broker
+ * never delays the write. Every node subscribes to the topic with a selector which excludes its own messages and
+ * invalidates its local cache when a message from another node is received. If a message is lost, the entry of the
+ * other nodes is refreshed once it expires.
+ */
+public class ApiCacheInvalidationNotifier implements ApiCache.InvalidationListener,
+        ResourceVersionCache.InvalidationListener, MessageListener {
+    private static final Logger log = LoggerFactory.getLogger(ApiCacheInvalidationNotifier.class);
+    static final String NODE_ID_PROPERTY = "NODE_ID";
+    static final String RESOURCE_TYPE_PROPERTY = "RESOURCE_TYPE";
+    static final String INVALIDATE_ALL = "*";
+
+    private final Broker broker;
+    private final String topicName;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ExecutorService publisherExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "APICacheInvalidationPublisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TopicConnection topicConnection;
+    private TopicSession publisherSession;
+    private TopicPublisher topicPublisher;
+
+    public ApiCacheInvalidationNotifier(Broker broker, String topicName) {
+        this.broker = broker;
+        this.topicName = topicName;
+    }
+
+    /**
+     * Subscribe to the invalidations of the other nodes and start publishing the invalidations of this node
+     *
+     * @throws BrokerException if the broker connection factory is not available
+     * @throws JMSException    if the topic cannot be subscribed
+     */
+    public void start() throws BrokerException, JMSException {
+        topicConnection = broker.getTopicConnection();
+        try {
+            TopicSession subscriberSession = topicConnection.createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+            Topic topic = subscriberSession.createTopic(topicName);
+            TopicSubscriber topicSubscriber = subscriberSession
+                    .createSubscriber(topic, NODE_ID_PROPERTY + " <> '" + nodeId + "'", false);
+            topicSubscriber.setMessageListener(this);
+
+            publisherSession = topicConnection.createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+            topicPublisher = publisherSession.createPublisher(publisherSession.createTopic(topicName));
+            topicConnection.start();
+        } catch (JMSException e) {
+            topicConnection.close();
+            throw e;
+        }
+        ApiCache.getInstance().setInvalidationListener(this);
+        ResourceVersionCache.getInstance().setInvalidationListener(this);
+    }
+
+    /**
+     * Stop propagating invalidations and close the broker connection
+     */
+    public void stop() {
+        ApiCache.getInstance().setInvalidationListener(null);
+        ResourceVersionCache.getInstance().setInvalidationListener(null);
+        publisherExecutor.shutdown();
+        try {
+            topicConnection.close();
+        } catch (JMSException e) {
+            log.error("Error occurred while closing topic connection for topic : " + topicName, e);
+        }
+    }
+
+    @Override
+    public void onInvalidate(String apiId) {
+        String body = apiId == null ? INVALIDATE_ALL : apiId;
+        publisherExecutor.execute(() -> publish(body, null));
+    }
+
+    @Override
+    public void onInvalidate(ResourceType type, String resourceId) {
+        String body = resourceId == null ? INVALIDATE_ALL : resourceId;
+        publisherExecutor.execute(() -> publish(body, type));
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        try {
+            if (!(message instanceof TextMessage)) {
+                log.warn("Ignoring API cache invalidation message of unsupported type : " + message);
+                return;
+            }
+            String resourceId = ((TextMessage) message).getText();
+            String resourceType = message.getStringProperty(RESOURCE_TYPE_PROPERTY);
+            if (resourceType != null) {
+                invalidateResourceVersion(ResourceType.valueOf(resourceType), resourceId);
+            } else if (INVALIDATE_ALL.equals(resourceId)) {
+                ApiCache.getInstance().invalidateAllLocally();
+            } else {
+                ApiCache.getInstance().invalidateLocally(resourceId);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Invalidated " + (resourceType == null ? "API" : resourceType) + " cache for " + resourceId
+                        + " on request of node " + message.getStringProperty(NODE_ID_PROPERTY));
+            }
+        } catch (JMSException | IllegalArgumentException e) {
+            // The whole caches are dropped as it is not known which resource was modified
+            ApiCache.getInstance().invalidateAllLocally();
+            ResourceVersionCache.getInstance().invalidateAll();
+            log.error("Error occurred while reading API cache invalidation message from topic : " + topicName, e);
+        }
+    }
+
+    private static void invalidateResourceVersion(ResourceType type, String resourceId) {
+        if (INVALIDATE_ALL.equals(resourceId)) {
+            ResourceVersionCache.getInstance().invalidateAllLocally(type);
+        } else {
+            ResourceVersionCache.getInstance().invalidateLocally(type, resourceId);
+        }
+    }
+
+    private void publish(String body, ResourceType type) {
+        try {
+            TextMessage textMessage = publisherSession.createTextMessage(body);
+            textMessage.setStringProperty(NODE_ID_PROPERTY, nodeId);
+            if (type != null) {
+                textMessage.setStringProperty(RESOURCE_TYPE_PROPERTY, type.name());
+            }
+            topicPublisher.publish(textMessage);
+        } catch (JMSException e) {
+            log.error("Error occurred while publishing " + (type == null ? "API" : type) + " cache invalidation of "
+                    + body + " to topic : " + topicName, e);
+        }
+    }
+}
@@ -54,24 +54,13 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
 
     @Override
     public List<String> getRolesOfUser(String userId) throws IdentityProviderException {
-        List<String> roleNames = new ArrayList<>();
-        SCIMUser scimUser = scimServiceStub.getUser(userId);
-        if (scimUser != null) {
-            List<SCIMUser.SCIMUserGroups> roles = scimUser.getGroups();
-            if (roles != null) {
-                roles.forEach(role -> roleNames.add(role.getDisplay()));
-            }
-        } else {
-            String errorMessage = "User id " + userId + " does not exist in the system.";
-            log.error(errorMessage);
-            throw new IdentityProviderException(errorMessage, ExceptionCodes.USER_DOES_NOT_EXIST);
-        }
-        return roleNames;
+        return RoleCache.getInstance().getRolesOfUser(userId, () -> loadRolesOfUser(userId));
     }
 
     @Override
-    public boolean isValidRole(String roleName) {
-        return scimServiceStub.searchGroups(FILTER_PREFIX + roleName).status() == 200;
+    public boolean isValidRole(String roleName) throws IdentityProviderException {
+        return RoleCache.getInstance().isValidRole(roleName,
+                () -> scimServiceStub.searchGroups(FILTER_PREFIX + roleName).status() == 200);
     }
 
     @Override
@@ -93,4 +82,19 @@ public class DefaultIdentityProviderImpl extends DefaultKeyManagerImpl implement
         }
     }
 
+    private List<String> loadRolesOfUser(String userId) throws IdentityProviderException {
+        List<String> roleNames = new ArrayList<>();
+        SCIMUser scimUser = scimServiceStub.getUser(userId);
+        if (scimUser != null) {
+            List<SCIMUser.SCIMUserGroups> roles = scimUser.getGroups();
+            if (roles != null) {
+                roles.forEach(role -> roleNames.add(role.getDisplay()));
+            }
+        } else {
+            String errorMessage = "User id " + userId + " does not exist in the system.";
+            log.error(errorMessage);
+            throw new IdentityProviderException(errorMessage, ExceptionCodes.USER_DOES_NOT_EXIST);
+        }
+        return roleNames;
+    }
 }
@@ -499,8 +499,6 @@ public class DefaultKeyManagerImpl implements KeyManager {
             JsonObject jObj = parser.parse(responseStr).getAsJsonObject();
             boolean active = jObj.getAsJsonPrimitive("active").getAsBoolean();
             if (active) {
-                //String consumerKey = jObj.getAsJsonPrimitive(KeyManagerConstants.OAUTH_CLIENT_ID).getAsString();
-                //String endUser = jObj.getAsJsonPrimitive(KeyManagerConstants.USERNAME).getAsString();
                 long exp = jObj.getAsJsonPrimitive(KeyManagerConstants.OAUTH2_TOKEN_EXP_TIME).getAsLong();
                 long issuedTime = jObj.getAsJsonPrimitive(KeyManagerConstants.OAUTH2_TOKEN_ISSUED_TIME).getAsLong();
                 String scopes = jObj.getAsJsonPrimitive(KeyManagerConstants.OAUTH_CLIENT_SCOPE).getAsString();
@@ -510,8 +508,14 @@ public class DefaultKeyManagerImpl implements KeyManager {
                 }
                 tokenInfo.setTokenValid(true);
                 tokenInfo.setAccessToken(accessToken);
-                //tokenInfo.setConsumerKey(consumerKey);
-                //tokenInfo.setEndUserName(endUser);
+                // client_id and username are optional members of an introspection response
+                if (jObj.has(KeyManagerConstants.OAUTH_CLIENT_ID)) {
+                    tokenInfo.setConsumerKey(
+                            jObj.getAsJsonPrimitive(KeyManagerConstants.OAUTH_CLIENT_ID).getAsString());
+                }
+                if (jObj.has(KeyManagerConstants.USERNAME)) {
+                    tokenInfo.setEndUserName(jObj.getAsJsonPrimitive(KeyManagerConstants.USERNAME).getAsString());
+                }
                 tokenInfo.setIssuedTime(issuedTime);
 
                 // Convert Expiry Time to milliseconds.
@@ -593,6 +597,7 @@ public class DefaultKeyManagerImpl implements KeyManager {
                             ExceptionCodes.
                                     ACCESS_TOKEN_REVOKE_FAILED);
                 } else {
+                    AccessTokenCache.getInstance().invalidate(tokenRequest.getTokenToRevoke());
                     APIUtils.logDebug(
                             "Successfully submitted revoke request for old access token. HTTP status : 200", log);
                 }
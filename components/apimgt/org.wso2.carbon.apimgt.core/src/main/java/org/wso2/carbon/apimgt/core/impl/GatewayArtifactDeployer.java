@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deploys gateway artifacts (API and endpoint configurations) to the file system.
+ * <p>
+ * Each artifact is written to a temporary file in the target directory and then atomically renamed, so a
+ * gateway watching the deployment directory never picks up a partially written file. An in-memory registry keeps
+ * the SHA-256 hash of every deployed artifact, which lets unchanged artifacts be skipped without touching the file
+ * system. Only the artifacts whose content changed are swapped.
+ */
+public class GatewayArtifactDeployer {
+    private static final Logger log = LoggerFactory.getLogger(GatewayArtifactDeployer.class);
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final GatewayArtifactDeployer instance = new GatewayArtifactDeployer();
+
+    private final Map<String, DeployedArtifact> deployedArtifacts = new ConcurrentHashMap<>();
+
+    private final AtomicLong deployedCount = new AtomicLong();
+    private final AtomicLong unchangedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong undeployedCount = new AtomicLong();
+    private final AtomicLong totalDeploymentTimeNanos = new AtomicLong();
+    private final AtomicLong maxDeploymentTimeNanos = new AtomicLong();
+
+    GatewayArtifactDeployer() {
+    }
+
+    /**
+     * Get GatewayArtifactDeployer instance
+     *
+     * @return GatewayArtifactDeployer object
+     */
+    public static GatewayArtifactDeployer getInstance() {
+        return instance;
+    }
+
+    /**
+     * Deploy an artifact to the given path. The file is only rewritten if the content differs from the last
+     * deployed content of the same artifact.
+     *
+     * @param path    full path of the artifact file
+     * @param content artifact content
+     * @return true if the artifact was written, false if the deployed artifact was already up to date
+     * @throws GatewayException if an error occurs while writing the artifact
+     */
+    public boolean deploy(String path, String content) throws GatewayException {
+        long startTime = System.nanoTime();
+        String artifactContent = content == null ? "" : content;
+        Path target = Paths.get(path).toAbsolutePath();
+        String key = target.toString();
+        String hash = getHash(artifactContent);
+
+        DeployedArtifact existing = deployedArtifacts.get(key);
+        if (existing != null && existing.getHash().equals(hash) && Files.exists(target)) {
+            unchangedCount.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Artifact " + key + " is unchanged, skipping deployment");
+            }
+            return false;
+        }
+
+        Path tempFile = null;
+        try {
+            Path parent = target.getParent();
+            if (parent != null && !Files.exists(parent)) {
+                log.info("Creating deployment dir in: " + parent);
+                Files.createDirectories(parent);
+            }
+            tempFile = Files.createTempFile(parent, target.getFileName().toString(), TEMP_FILE_SUFFIX);
+            Files.write(tempFile, artifactContent.getBytes(StandardCharsets.UTF_8));
+            move(tempFile, target);
+        } catch (IOException e) {
+            failedCount.incrementAndGet();
+            deleteQuietly(tempFile);
+            String msg = "Error deploying artifact in " + key;
+            log.error(msg, e);
+            throw new GatewayException(msg, ExceptionCodes.GATEWAY_EXCEPTION);
+        }
+
+        deployedArtifacts.put(key, new DeployedArtifact(key, hash, System.currentTimeMillis()));
+        recordDeploymentTime(System.nanoTime() - startTime);
+        return true;
+    }
+
+    /**
+     * Remove a deployed artifact from the file system and the registry
+     *
+     * @param path full path of the artifact file
+     * @return true if the artifact file existed and was removed
+     * @throws GatewayException if an error occurs while removing the artifact
+     */
+    public boolean undeploy(String path) throws GatewayException {
+        Path target = Paths.get(path).toAbsolutePath();
+        deployedArtifacts.remove(target.toString());
+        try {
+            boolean deleted = Files.deleteIfExists(target);
+            if (deleted) {
+                undeployedCount.incrementAndGet();
+            }
+            return deleted;
+        } catch (IOException e) {
+            String msg = "Error undeploying artifact in " + target;
+            log.error(msg, e);
+            throw new GatewayException(msg, ExceptionCodes.GATEWAY_EXCEPTION);
+        }
+    }
+
+    /**
+     * Get the registry entry of a deployed artifact
+     *
+     * @param path full path of the artifact file
+     * @return deployed artifact or null if the artifact was not deployed through this deployer
+     */
+    public DeployedArtifact getDeployedArtifact(String path) {
+        return deployedArtifacts.get(Paths.get(path).toAbsolutePath().toString());
+    }
+
+    /**
+     * Get all the artifacts deployed through this deployer
+     *
+     * @return unmodifiable map of artifact path to deployed artifact
+     */
+    public Map<String, DeployedArtifact> getDeployedArtifacts() {
+        return Collections.unmodifiableMap(new HashMap<>(deployedArtifacts));
+    }
+
+    /**
+     * Restore registry entries of previously deployed artifacts, e.g. from a snapshot taken before a restart.
+     * Entries of artifacts which are no longer available in the file system are ignored.
+     *
+     * @param artifacts previously deployed artifacts
+     */
+    public void restoreDeployedArtifacts(Collection<DeployedArtifact> artifacts) {
+        for (DeployedArtifact artifact : artifacts) {
+            if (Files.exists(Paths.get(artifact.getPath()))) {
+                deployedArtifacts.putIfAbsent(artifact.getPath(), artifact);
+            }
+        }
+    }
+
+    /**
+     * Get deployment metrics of this deployer
+     *
+     * @return map of metric name to value
+     */
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new HashMap<>();
+        long deployed = deployedCount.get();
+        metrics.put("deployed", deployed);
+        metrics.put("unchanged", unchangedCount.get());
+        metrics.put("failed", failedCount.get());
+        metrics.put("undeployed", undeployedCount.get());
+        metrics.put("registered", (long) deployedArtifacts.size());
+        metrics.put("totalDeploymentTimeMicros", totalDeploymentTimeNanos.get() / 1000);
+        metrics.put("averageDeploymentTimeMicros",
+                deployed == 0 ? 0 : totalDeploymentTimeNanos.get() / deployed / 1000);
+        metrics.put("maxDeploymentTimeMicros", maxDeploymentTimeNanos.get() / 1000);
+        return metrics;
+    }
+
+    private void recordDeploymentTime(long elapsedNanos) {
+        deployedCount.incrementAndGet();
+        totalDeploymentTimeNanos.addAndGet(elapsedNanos);
+        long max = maxDeploymentTimeNanos.get();
+        while (elapsedNanos > max && !maxDeploymentTimeNanos.compareAndSet(max, elapsedNanos)) {
+            max = maxDeploymentTimeNanos.get();
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("Atomic move is not supported for " + target + ", falling back to a regular move");
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Error deleting temporary artifact " + path, e);
+        }
+    }
+
+    private static String getHash(String content) throws GatewayException {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            byte[] digest = messageDigest.digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            String msg = "Error while generating hash for gateway artifact";
+            log.error(msg, e);
+            throw new GatewayException(msg, ExceptionCodes.GATEWAY_EXCEPTION);
+        }
+    }
+
+    /**
+     * Registry entry of a deployed gateway artifact
+     */
+    public static final class DeployedArtifact {
+        private final String path;
+        private final String hash;
+        private final long deployedTime;
+
+        public DeployedArtifact(String path, String hash, long deployedTime) {
+            this.path = path;
+            this.hash = hash;
+            this.deployedTime = deployedTime;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getDeployedTime() {
+            return deployedTime;
+        }
+    }
+}
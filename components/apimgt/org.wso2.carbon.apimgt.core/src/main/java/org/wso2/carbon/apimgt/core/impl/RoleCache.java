@@ -0,0 +1,255 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
+import org.wso2.carbon.apimgt.core.util.BoundedCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache of the roles resolved from the identity provider, so that the visibility and permission
+ * checks of the publisher and store do not call the SCIM endpoint every time. It holds the roles of users and whether
+ * role names exist.
+ * <p>
+ * Entries expire after the configured time, and are evicted in least recently used order once the cache holds the
+ * configured number of entries. Role changes made in the identity provider are seen once the entries expire, or at
+ * once if the changed user, role or whole cache is invalidated through JMX.
+ * <p>
+ * When an entry is missing or has expired, only the first request loads it from the identity provider. Concurrent
+ * requests for the same entry wait for that load and share its result, so an expiry does not send a burst of calls
+ * to the SCIM endpoint. A request waits for a bounded time only, so requests do not pile up behind a hung call.
+ * Failures are not cached.
+ */
+public class RoleCache extends BoundedCache<RoleCache.Key, Object> implements RoleCacheMXBean {
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final long DEFAULT_EXPIRY_TIME = TimeUnit.MINUTES.toMillis(5);
+    private static final long LOAD_WAIT_TIME = TimeUnit.SECONDS.toMillis(30);
+
+    private static final RoleCache instance = new RoleCache();
+
+    private final Map<Key, CompletableFuture<Object>> loads = new HashMap<>();
+    private final AtomicLong sharedLoads = new AtomicLong();
+
+    /**
+     * Loads an entry from the identity provider on a cache miss
+     *
+     * @param <T> type of the entry
+     */
+    @FunctionalInterface
+    public interface Loader<T> extends BoundedCache.Loader<T, IdentityProviderException> {
+    }
+
+    private enum EntryType {
+        ROLES_OF_USER,
+        ROLE_EXISTS
+    }
+
+    private RoleCache() {
+        super(DEFAULT_MAX_ENTRIES, DEFAULT_EXPIRY_TIME);
+    }
+
+    public static RoleCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Configure the cache. Existing entries are discarded.
+     *
+     * @param enabled    whether the cache is enabled
+     * @param maxEntries maximum number of cached entries
+     * @param expiryTime time after which an entry expires, in milliseconds
+     */
+    public synchronized void configure(boolean enabled, int maxEntries, long expiryTime) {
+        super.configure(enabled, maxEntries, expiryTime);
+        loads.clear();
+    }
+
+    /**
+     * Get the roles of a user from the cache, loading them if they are not cached
+     *
+     * @param userId id of the user in the identity provider
+     * @param loader loads the roles of the user
+     * @return a copy of the roles of the user
+     * @throws IdentityProviderException if the roles cannot be loaded
+     */
+    public List<String> getRolesOfUser(String userId, Loader<List<String>> loader) throws IdentityProviderException {
+        List<String> roles = get(EntryType.ROLES_OF_USER, userId, () -> {
+            List<String> loadedRoles = loader.load();
+            return loadedRoles == null ? null : Collections.unmodifiableList(new ArrayList<>(loadedRoles));
+        });
+        return roles == null ? null : new ArrayList<>(roles);
+    }
+
+    /**
+     * Check whether a role exists, loading the result if it is not cached
+     *
+     * @param roleName name of the role
+     * @param loader   checks whether the role exists
+     * @return true if the role exists
+     * @throws IdentityProviderException if the role cannot be checked
+     */
+    public boolean isValidRole(String roleName, Loader<Boolean> loader) throws IdentityProviderException {
+        return Boolean.TRUE.equals(get(EntryType.ROLE_EXISTS, roleName, loader));
+    }
+
+    @Override
+    public void invalidateRolesOfUser(String userId) {
+        invalidate(new Key(EntryType.ROLES_OF_USER, userId));
+    }
+
+    @Override
+    public void invalidateRole(String roleName) {
+        invalidate(new Key(EntryType.ROLE_EXISTS, roleName));
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        invalidateAllEntries();
+        loads.clear();
+    }
+
+    @Override
+    public long getSharedLoadCount() {
+        return sharedLoads.get();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return (int) getCapacity();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(EntryType type, String name, Loader<T> loader) throws IdentityProviderException {
+        if (!isEnabled() || name == null) {
+            return loader.load();
+        }
+        Key key = new Key(type, name);
+        CompletableFuture<Object> load;
+        boolean sharedLoad;
+        long loadVersion;
+        synchronized (this) {
+            // an entry is never cached while it is being loaded, so a lookup which finds a load in progress waits
+            // for it without counting a miss
+            load = loads.get(key);
+            sharedLoad = load != null;
+            loadVersion = getCacheVersion();
+            if (!sharedLoad) {
+                Object value = getIfPresent(key);
+                if (value != null) {
+                    return (T) value;
+                }
+                load = new CompletableFuture<>();
+                loads.put(key, load);
+            }
+        }
+        if (sharedLoad) {
+            sharedLoads.incrementAndGet();
+            return (T) await(load);
+        }
+        T value;
+        try {
+            value = loader.load();
+            complete(key, load, value, loadVersion);
+        } catch (Throwable e) {
+            // errors are passed to the waiting requests as well, so that none of them waits for a load which ended
+            synchronized (this) {
+                loads.remove(key, load);
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        load.complete(value);
+        return value;
+    }
+
+    private synchronized void complete(Key key, CompletableFuture<Object> load, Object value, long loadVersion) {
+        loads.remove(key, load);
+        put(key, value, loadVersion);
+    }
+
+    private synchronized void invalidate(Key key) {
+        invalidateEntry(key);
+        loads.remove(key);
+    }
+
+    private static Object await(CompletableFuture<Object> load) throws IdentityProviderException {
+        try {
+            return load.get(LOAD_WAIT_TIME, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityProviderException("Interrupted while waiting for roles to be loaded", e);
+        } catch (TimeoutException e) {
+            throw new IdentityProviderException("Timed out while waiting for roles to be loaded", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IdentityProviderException) {
+                throw (IdentityProviderException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IdentityProviderException("Error occurred while loading roles", cause);
+        }
+    }
+
+    /**
+     * Key of a cached entry
+     */
+    static final class Key {
+        private final EntryType type;
+        private final String name;
+
+        private Key(EntryType type, String name) {
+            this.type = type;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return type == key.type && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + name.hashCode();
+        }
+    }
+}
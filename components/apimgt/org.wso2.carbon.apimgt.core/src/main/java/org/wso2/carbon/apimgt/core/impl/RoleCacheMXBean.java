@@ -0,0 +1,58 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.wso2.carbon.apimgt.core.util.BoundedCacheMXBean;
+
+/**
+ * Management interface exposing the statistics of the {@link RoleCache}
+ */
+public interface RoleCacheMXBean extends BoundedCacheMXBean {
+
+    /**
+     * Get the number of lookups which waited for a load of the same entry started by another request
+     *
+     * @return number of shared loads
+     */
+    long getSharedLoadCount();
+
+    int getMaxEntries();
+
+    /**
+     * Invalidate the cached roles of a user, so that a change of the roles of the user made in the identity provider
+     * is seen at once
+     *
+     * @param userId id of the user in the identity provider
+     */
+    void invalidateRolesOfUser(String userId);
+
+    /**
+     * Invalidate whether a role exists, so that a role added to or removed from the identity provider is seen at once
+     *
+     * @param roleName name of the role
+     */
+    void invalidateRole(String roleName);
+
+    /**
+     * Invalidate all the cached entries, so that role changes made in the identity provider are seen at once
+     */
+    void invalidateAll();
+}
@@ -24,22 +24,45 @@ import com.zaxxer.hikari.HikariDataSource;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.jndi.JNDIContextManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.APIMConfigurations;
+import org.wso2.carbon.apimgt.core.api.APISearchIndex;
 import org.wso2.carbon.apimgt.core.api.Broker;
+import org.wso2.carbon.apimgt.core.dao.impl.ApiCache;
+import org.wso2.carbon.apimgt.core.dao.impl.LandingPageCache;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache;
 import org.wso2.carbon.apimgt.core.dao.impl.DAOUtil;
 import org.wso2.carbon.apimgt.core.dao.impl.DataSource;
 import org.wso2.carbon.apimgt.core.dao.impl.DataSourceImpl;
+import org.wso2.carbon.apimgt.core.dao.impl.DataSourcePoolMXBean;
+import org.wso2.carbon.apimgt.core.exception.BrokerException;
+import org.wso2.carbon.apimgt.core.impl.AccessTokenCache;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController;
+import org.wso2.carbon.apimgt.core.impl.ApiCacheInvalidationNotifier;
 import org.wso2.carbon.apimgt.core.impl.BrokerImpl;
+import org.wso2.carbon.apimgt.core.impl.RoleCache;
 import org.wso2.carbon.apimgt.core.util.BrokerUtil;
+import org.wso2.carbon.apimgt.core.util.ETagUtils;
 import org.wso2.carbon.apimgt.core.workflow.WorkflowExtensionsConfigBuilder;
 import org.wso2.carbon.datasource.core.api.DataSourceService;
 import org.wso2.carbon.kernel.configprovider.ConfigProvider;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.jms.JMSException;
+import javax.management.JMException;
+import javax.management.ObjectName;
 import javax.naming.Context;
 import javax.naming.NamingException;
 
@@ -54,8 +77,17 @@ import javax.naming.NamingException;
 public class BundleActivator {
 
     private static final Logger log = LoggerFactory.getLogger(BundleActivator.class);
+    private static final String API_CACHE_MBEAN_NAME = "org.wso2.carbon.apimgt:type=ApiCache";
+    private static final String RESOURCE_VERSION_CACHE_MBEAN_NAME = "org.wso2.carbon.apimgt:type=ResourceVersionCache";
+    private static final String LANDING_PAGE_CACHE_MBEAN_NAME = "org.wso2.carbon.apimgt:type=LandingPageCache";
+    private static final String ACCESS_TOKEN_CACHE_MBEAN_NAME = "org.wso2.carbon.apimgt:type=AccessTokenCache";
+    private static final String ROLE_CACHE_MBEAN_NAME = "org.wso2.carbon.apimgt:type=RoleCache";
+    private static final String ADMISSION_CONTROLLER_MBEAN_NAME = "org.wso2.carbon.apimgt:type=AdmissionController";
+    private static final String DATASOURCE_MBEAN_NAME_PREFIX = "org.wso2.carbon.apimgt:type=DataSource,name=";
     private JNDIContextManager jndiContextManager;
     private ConfigProvider configProvider;
+    private ApiCacheInvalidationNotifier apiCacheInvalidationNotifier;
+    private final List<ObjectName> dataSourceMBeanNames = new ArrayList<>();
 
     @Activate
     protected void start(BundleContext bundleContext) {
@@ -63,14 +95,239 @@ public class BundleActivator {
             Context ctx = jndiContextManager.newInitialContext();
             DataSource dataSource = new DataSourceImpl((HikariDataSource) ctx.lookup("java:comp/env/jdbc/WSO2AMDB"));
             DAOUtil.initialize(dataSource);
+            DAOUtil.setBatchSize(ServiceReferenceHolder.getInstance().getAPIMConfiguration().getDatabaseBatchSize());
+            initReadReplicas(ctx);
+            registerDataSourceMBeans();
             WorkflowExtensionsConfigBuilder.build(configProvider);
             Broker broker = new BrokerImpl();
             BrokerUtil.initialize(broker);
+            initApiCache(broker);
+            initResourceVersionCache();
+            initLandingPageCache();
+            initAccessTokenCache();
+            initRoleCache();
+            initAdmissionController();
+            initETagHashAlgorithm();
         } catch (NamingException e) {
             log.error("Error occurred while jndi lookup", e);
         }
     }
 
+    @Deactivate
+    protected void stop() {
+        if (apiCacheInvalidationNotifier != null) {
+            apiCacheInvalidationNotifier.stop();
+            apiCacheInvalidationNotifier = null;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(API_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.debug("API cache MBean is not registered", e);
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(
+                    new ObjectName(RESOURCE_VERSION_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.debug("Resource version cache MBean is not registered", e);
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(LANDING_PAGE_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.debug("Landing page cache MBean is not registered", e);
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(ACCESS_TOKEN_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.debug("Access token cache MBean is not registered", e);
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(ROLE_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.debug("Role cache MBean is not registered", e);
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(
+                    new ObjectName(ADMISSION_CONTROLLER_MBEAN_NAME));
+        } catch (JMException e) {
+            log.debug("Admission controller MBean is not registered", e);
+        }
+        for (ObjectName dataSourceMBeanName : dataSourceMBeanNames) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(dataSourceMBeanName);
+            } catch (JMException e) {
+                log.debug("Datasource MBean " + dataSourceMBeanName + " is not registered", e);
+            }
+        }
+        dataSourceMBeanNames.clear();
+    }
+
+    /**
+     * Look up the configured read replicas of the API Manager database. A replica which cannot be looked up is skipped,
+     * so that its reads are served by the remaining replicas or the primary.
+     *
+     * @param ctx JNDI context to look up the replicas from
+     */
+    private void initReadReplicas(Context ctx) {
+        APIMConfigurations config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String jndiName : config.getReadReplicaDataSources().split(",")) {
+            jndiName = jndiName.trim();
+            if (jndiName.isEmpty()) {
+                continue;
+            }
+            try {
+                replicas.put(jndiName, new DataSourceImpl((HikariDataSource) ctx.lookup(jndiName)));
+            } catch (NamingException e) {
+                log.error("Error occurred while looking up read replica datasource " + jndiName, e);
+            }
+        }
+        DAOUtil.setReplicaRetryInterval(TimeUnit.SECONDS.toMillis(config.getReadReplicaRetryInterval()));
+        DAOUtil.initializeReadReplicas(replicas);
+        DAOUtil.setReplicaLagWindow(TimeUnit.SECONDS.toMillis(config.getReadReplicaLagWindow()));
+    }
+
+    /**
+     * Expose the connection pool statistics of the primary datasource and each read replica through JMX
+     */
+    private void registerDataSourceMBeans() {
+        for (DataSourcePoolMXBean pool : DAOUtil.getPoolStatistics()) {
+            try {
+                ObjectName name = new ObjectName(DATASOURCE_MBEAN_NAME_PREFIX + ObjectName.quote(pool.getName()));
+                ManagementFactory.getPlatformMBeanServer().registerMBean(pool, name);
+                dataSourceMBeanNames.add(name);
+            } catch (JMException e) {
+                log.error("Error occurred while registering MBean of datasource " + pool.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Configure the API cache, expose its metrics through JMX and propagate its invalidations to the other nodes
+     *
+     * @param broker broker used to propagate invalidations
+     */
+    private void initApiCache(Broker broker) {
+        APIMConfigurations config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        ApiCache apiCache = ApiCache.getInstance();
+        apiCache.configure(config.isApiCacheEnabled(), config.getApiCacheMaxMemory() * 1024 * 1024,
+                TimeUnit.SECONDS.toMillis(config.getApiCacheExpiryTime()));
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(apiCache, new ObjectName(API_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.error("Error occurred while registering API cache MBean", e);
+        }
+        // the topic also carries the invalidations of the resource version cache
+        if (!config.isApiCacheEnabled() && !config.isResourceVersionCacheEnabled()) {
+            return;
+        }
+        apiCacheInvalidationNotifier = new ApiCacheInvalidationNotifier(broker, config.getApiCacheInvalidationTopic());
+        try {
+            apiCacheInvalidationNotifier.start();
+        } catch (BrokerException | JMSException e) {
+            apiCacheInvalidationNotifier = null;
+            log.error("Error occurred while subscribing to API cache invalidation topic : "
+                    + config.getApiCacheInvalidationTopic() + ". Cached APIs and resource versions modified by "
+                    + "other nodes will be refreshed when they expire", e);
+        }
+    }
+
+    /**
+     * Configure the cache of the resource versions from which ETags are generated and expose its metrics through JMX
+     */
+    private void initResourceVersionCache() {
+        APIMConfigurations config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        ResourceVersionCache resourceVersionCache = ResourceVersionCache.getInstance();
+        resourceVersionCache.configure(config.isResourceVersionCacheEnabled(),
+                config.getResourceVersionCacheMaxEntries(),
+                TimeUnit.SECONDS.toMillis(config.getResourceVersionCacheExpiryTime()));
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(resourceVersionCache,
+                    new ObjectName(RESOURCE_VERSION_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.error("Error occurred while registering resource version cache MBean", e);
+        }
+    }
+
+    /**
+     * Configure the cache of the store landing page and expose its metrics through JMX
+     */
+    private void initLandingPageCache() {
+        APIMConfigurations config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        LandingPageCache landingPageCache = LandingPageCache.getInstance();
+        landingPageCache.configure(config.isLandingPageCacheEnabled(), config.getLandingPageCacheMaxEntries(),
+                TimeUnit.SECONDS.toMillis(config.getLandingPageCacheExpiryTime()));
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(landingPageCache,
+                    new ObjectName(LANDING_PAGE_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.error("Error occurred while registering landing page cache MBean", e);
+        }
+    }
+
+    /**
+     * Configure the cache of the access tokens validated by the REST APIs and expose its metrics through JMX
+     */
+    private void initAccessTokenCache() {
+        APIMConfigurations config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        AccessTokenCache accessTokenCache = AccessTokenCache.getInstance();
+        accessTokenCache.configure(config.isAccessTokenCacheEnabled(), config.getAccessTokenCacheMaxEntries(),
+                TimeUnit.SECONDS.toMillis(config.getAccessTokenCacheExpiryTime()),
+                TimeUnit.SECONDS.toMillis(config.getAccessTokenCacheInvalidTokenExpiryTime()));
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(accessTokenCache,
+                    new ObjectName(ACCESS_TOKEN_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.error("Error occurred while registering access token cache MBean", e);
+        }
+    }
+
+    /**
+     * Configure the cache of the roles resolved from the identity provider and expose it through JMX
+     */
+    private void initRoleCache() {
+        APIMConfigurations config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        RoleCache roleCache = RoleCache.getInstance();
+        roleCache.configure(config.isRoleCacheEnabled(), config.getRoleCacheMaxEntries(),
+                TimeUnit.SECONDS.toMillis(config.getRoleCacheExpiryTime()));
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(roleCache, new ObjectName(ROLE_CACHE_MBEAN_NAME));
+        } catch (JMException e) {
+            log.error("Error occurred while registering role cache MBean", e);
+        }
+    }
+
+    /**
+     * Configure the admission control of the REST API requests and expose it through JMX
+     */
+    private void initAdmissionController() {
+        APIMConfigurations config = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        AdmissionController admissionController = AdmissionController.getInstance();
+        admissionController.configure(config.isAdmissionControlEnabled(), config.getAdmissionControlRequestRate(),
+                config.getAdmissionControlRequestBurst(), config.getAdmissionControlMaxClients(),
+                config.getAdmissionControlMaxConcurrentOperations(),
+                config.getAdmissionControlConnectionWaitThreshold(), config.getAdmissionControlRetryAfter(),
+                config.getAdmissionControlOperationTimeout());
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(admissionController,
+                    new ObjectName(ADMISSION_CONTROLLER_MBEAN_NAME));
+        } catch (JMException e) {
+            log.error("Error occurred while registering admission controller MBean", e);
+        }
+    }
+
+    /**
+     * Select the algorithm the ETags of the REST API responses are hashed with
+     */
+    private void initETagHashAlgorithm() {
+        String algorithm = ServiceReferenceHolder.getInstance().getAPIMConfiguration().getETagHashAlgorithm();
+        try {
+            ETagUtils.setHashAlgorithm(ETagUtils.HashAlgorithm.valueOf(algorithm.toUpperCase(Locale.ENGLISH)));
+        } catch (IllegalArgumentException e) {
+            log.error("Unknown ETag hash algorithm : " + algorithm + ". ETags will be hashed with "
+                    + ETagUtils.getHashAlgorithm(), e);
+        }
+    }
+
     @Reference (
             name = "org.wso2.carbon.datasource.DataSourceService",
             service = DataSourceService.class,
@@ -127,4 +384,29 @@ public class BundleActivator {
         this.configProvider = null;
     }
 
+    /**
+     * Get the APISearchIndex service. API searches are answered from the database while no index is registered.
+     *
+     * @param apiSearchIndex the APISearchIndex service that is registered as a service.
+     */
+    @Reference(
+            name = "org.wso2.carbon.apimgt.core.api.APISearchIndex",
+            service = APISearchIndex.class,
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unregisterAPISearchIndex"
+    )
+    protected void registerAPISearchIndex(APISearchIndex apiSearchIndex) {
+        ServiceReferenceHolder.getInstance().setAPISearchIndex(apiSearchIndex);
+    }
+
+    /**
+     * This is the unbind method, which gets called for APISearchIndex instance un-registrations.
+     *
+     * @param apiSearchIndex the APISearchIndex service that get unregistered.
+     */
+    protected void unregisterAPISearchIndex(APISearchIndex apiSearchIndex) {
+        ServiceReferenceHolder.getInstance().setAPISearchIndex(null);
+    }
+
 }
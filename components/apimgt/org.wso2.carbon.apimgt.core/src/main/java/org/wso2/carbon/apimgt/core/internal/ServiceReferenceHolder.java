@@ -20,6 +20,7 @@ package org.wso2.carbon.apimgt.core.internal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.APIMConfigurations;
+import org.wso2.carbon.apimgt.core.api.APISearchIndex;
 import org.wso2.carbon.kernel.configprovider.CarbonConfigurationException;
 import org.wso2.carbon.kernel.configprovider.ConfigProvider;
 
@@ -31,6 +32,7 @@ public class ServiceReferenceHolder {
     private static ServiceReferenceHolder instance = new ServiceReferenceHolder();
     private ConfigProvider configProvider;
     private APIMConfigurations config = null;
+    private volatile APISearchIndex apiSearchIndex;
 
     private ServiceReferenceHolder() {
 
@@ -48,6 +50,19 @@ public class ServiceReferenceHolder {
         return configProvider;
     }
 
+    public void setAPISearchIndex(APISearchIndex apiSearchIndex) {
+        this.apiSearchIndex = apiSearchIndex;
+    }
+
+    /**
+     * Get the API search index, if one is registered
+     *
+     * @return API search index or null
+     */
+    public APISearchIndex getAPISearchIndex() {
+        return apiSearchIndex;
+    }
+
     public APIMConfigurations getAPIMConfiguration() {
         try {
             config = ServiceReferenceHolder.getInstance().getConfigProvider()
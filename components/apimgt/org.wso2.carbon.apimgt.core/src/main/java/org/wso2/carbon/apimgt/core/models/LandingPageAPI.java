@@ -0,0 +1,92 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.models;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * An API listed on the store landing page, along with the details shown for it which are not part of the API summary
+ */
+public final class LandingPageAPI {
+    private final API api;
+    private final String thumbnailLastUpdatedTime;
+    private final int ratingCount;
+    private final long ratingSum;
+    private final long subscriptionCount;
+    private final Set<String> tags;
+    private final Set<String> labels;
+
+    public LandingPageAPI(API api, String thumbnailLastUpdatedTime, int ratingCount, long ratingSum,
+                          long subscriptionCount, Set<String> tags, Set<String> labels) {
+        this.api = api;
+        this.thumbnailLastUpdatedTime = thumbnailLastUpdatedTime;
+        this.ratingCount = ratingCount;
+        this.ratingSum = ratingSum;
+        this.subscriptionCount = subscriptionCount;
+        this.tags = Collections.unmodifiableSet(tags);
+        this.labels = Collections.unmodifiableSet(labels);
+    }
+
+    /**
+     * @return summary of the API
+     */
+    public API getApi() {
+        return api;
+    }
+
+    /**
+     * @return last updated time of the thumbnail image of the API, or null if the API has no thumbnail image
+     */
+    public String getThumbnailLastUpdatedTime() {
+        return thumbnailLastUpdatedTime;
+    }
+
+    public boolean hasThumbnail() {
+        return thumbnailLastUpdatedTime != null;
+    }
+
+    public int getRatingCount() {
+        return ratingCount;
+    }
+
+    /**
+     * @return average of the ratings of the API, or 0 if the API is not rated
+     */
+    public double getAvgRating() {
+        return ratingCount == 0 ? 0 : (double) ratingSum / ratingCount;
+    }
+
+    public long getSubscriptionCount() {
+        return subscriptionCount;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return names of the labels of the API
+     */
+    public Set<String> getLabels() {
+        return labels;
+    }
+}
@@ -307,6 +307,7 @@ public class APIMgtConstants {
         public static final String API_LC_STATUS = "apiStatus";
         public static final String API_PERMISSION = "apiPermission";
         public static final String API_PROVIDER = "apiProvider";
+        public static final String DOC_ID = "docId";
         public static final String EVENT = "event";
         public static final String COMPONENT = "component";
         public static final String EVENT_TIME = "eventTime";
@@ -372,6 +373,17 @@ public class APIMgtConstants {
         public static final String ENDPOINT_DELETE = "ENDPOINT_DELETE";
         public static final String SUBSCRIPTION_CREATE = "SUBSCRIPTION_CREATE";
         public static final String SUBSCRIPTION_DELETE = "SUBSCRIPTION_DELETE";
+        public static final String SUBSCRIPTIONS_CREATE = "SUBSCRIPTIONS_CREATE";
+        public static final String SUBSCRIPTIONS_UPDATE = "SUBSCRIPTIONS_UPDATE";
+        public static final String SUBSCRIPTIONS_DELETE = "SUBSCRIPTIONS_DELETE";
+    }
+
+    /**
+     * Properties set on the messages published to gateways
+     */
+    public static class GatewayMessageProperties {
+        public static final String LABELS = "GATEWAY_LABELS";
+        public static final String LABEL_SEPARATOR = ",";
     }
 
 }
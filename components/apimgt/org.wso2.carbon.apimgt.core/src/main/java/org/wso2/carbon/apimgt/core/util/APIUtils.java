@@ -232,6 +232,10 @@ public class APIUtils {
 
     /**
      * Used to get roles of a particular user
+     * <p>
+     * The roles are not resolved through {@link org.wso2.carbon.apimgt.core.api.IdentityProvider#getRolesOfUser}, so
+     * they are not held in the {@link org.wso2.carbon.apimgt.core.impl.RoleCache}. The identity provider looks roles
+     * up by SCIM user id, and there is no lookup of the id of a username to route this method through it yet.
      *
      * @param username username of the person
      * @return role list of the user
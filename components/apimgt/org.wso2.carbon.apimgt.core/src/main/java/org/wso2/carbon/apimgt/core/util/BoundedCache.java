@@ -0,0 +1,305 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Base of the bounded read-through caches of the API manager. Entries expire after the configured time, so that a
+ * missed invalidation cannot serve stale data forever, and are evicted in least recently used order once the total
+ * weight of the entries exceeds the configured capacity. Every entry weighs one unless {@link #weigh(Object)} is
+ * overridden, in which case the capacity bounds the estimated memory held by the cache rather than its size.
+ * <p>
+ * Every invalidation increments the cache version. A value loaded on a miss is only stored if no invalidation
+ * happened while it was being loaded, so a slow load which raced with a write can never put the old state back into
+ * the cache. Null values are never cached.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the cached values
+ */
+public abstract class BoundedCache<K, V> implements BoundedCacheMXBean {
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75F, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile boolean enabled = true;
+    private volatile long capacity;
+    private volatile long expiryTime;
+    private long version;
+    private long weight;
+
+    /**
+     * Loads a value on a cache miss
+     *
+     * @param <V> type of the value
+     * @param <E> type of the exception thrown when the value cannot be loaded
+     */
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    protected BoundedCache(long capacity, long expiryTime) {
+        this.capacity = capacity;
+        this.expiryTime = expiryTime;
+    }
+
+    /**
+     * Configure the cache. Existing entries are discarded.
+     *
+     * @param enabled    whether the cache is enabled
+     * @param capacity   upper bound of the total weight of the entries
+     * @param expiryTime time after which an entry expires, in milliseconds
+     */
+    protected void configure(boolean enabled, long capacity, long expiryTime) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.expiryTime = expiryTime;
+        invalidateAllEntries();
+    }
+
+    /**
+     * Get a value from the cache, loading it if it is not cached. Every lookup is loaded when the cache is disabled.
+     *
+     * @param key    key of the value
+     * @param loader loads the value on a miss
+     * @param <E>    type of the exception thrown by the loader
+     * @return the value
+     * @throws E if the value cannot be loaded. Failures are not cached.
+     */
+    protected <E extends Exception> V getOrLoad(K key, Loader<? extends V, E> loader) throws E {
+        if (!enabled) {
+            return loader.load();
+        }
+        long loadVersion;
+        synchronized (this) {
+            loadVersion = version;
+            V value = getIfPresent(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        V value = loader.load();
+        put(key, value, loadVersion);
+        return value;
+    }
+
+    /**
+     * Get a value from the cache without loading it. An expired entry is removed.
+     *
+     * @param key key of the value
+     * @return the value, or null if it is not cached
+     */
+    protected synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiryTime > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            remove(key);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Get the current version of the cache, which is to be read before a value is loaded and given to
+     * {@link #put(Object, Object, long)} along with the value
+     *
+     * @return cache version
+     */
+    protected synchronized long getCacheVersion() {
+        return version;
+    }
+
+    /**
+     * Store a loaded value, unless the cache was invalidated while it was being loaded
+     *
+     * @param key         key of the value
+     * @param value       loaded value
+     * @param loadVersion version of the cache read before the value was loaded
+     */
+    protected synchronized void put(K key, V value, long loadVersion) {
+        if (value == null || loadVersion != version) {
+            // The value may have been modified while it was being loaded
+            return;
+        }
+        long timeToLive = getTimeToLive(value);
+        if (timeToLive <= 0) {
+            return;
+        }
+        long entryWeight = weigh(value);
+        Entry<V> previous = entries.put(key, new Entry<>(value, System.currentTimeMillis() + timeToLive,
+                entryWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (weight > capacity && iterator.hasNext()) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get the time for which a loaded value is cached. Values are cached for the configured expiry time unless this
+     * is overridden.
+     *
+     * @param value loaded value
+     * @return time to live in milliseconds, or a non positive value if the value is not to be cached
+     */
+    protected long getTimeToLive(V value) {
+        return expiryTime;
+    }
+
+    /**
+     * Get the weight of a value, which counts against the capacity of the cache
+     *
+     * @param value cached value
+     * @return weight of the value
+     */
+    protected long weigh(V value) {
+        return 1;
+    }
+
+    protected synchronized void invalidateEntry(K key) {
+        version++;
+        invalidations.incrementAndGet();
+        remove(key);
+    }
+
+    protected synchronized void invalidateEntries(Collection<? extends K> keys) {
+        version++;
+        invalidations.incrementAndGet();
+        for (K key : keys) {
+            remove(key);
+        }
+    }
+
+    protected synchronized void invalidateEntriesIf(Predicate<? super K> predicate) {
+        version++;
+        invalidations.incrementAndGet();
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (predicate.test(entry.getKey())) {
+                weight -= entry.getValue().weight;
+                iterator.remove();
+            }
+        }
+    }
+
+    protected synchronized void invalidateAllEntries() {
+        version++;
+        invalidations.incrementAndGet();
+        entries.clear();
+        weight = 0;
+    }
+
+    protected long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the total weight of the cached entries
+     *
+     * @return weight of the entries
+     */
+    protected synchronized long getWeight() {
+        return weight;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long requestCount = hitCount + misses.get();
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public long getExpiryTime() {
+        return expiryTime;
+    }
+
+    private void remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    /**
+     * Cached value with its expiry time and weight
+     *
+     * @param <V> type of the value
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiryTime;
+        private final long weight;
+
+        private Entry(V value, long expiryTime, long weight) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+            this.weight = weight;
+        }
+    }
+}
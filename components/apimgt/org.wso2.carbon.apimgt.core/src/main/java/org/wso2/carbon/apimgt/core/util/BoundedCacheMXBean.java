@@ -0,0 +1,59 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+/**
+ * Management interface exposing the statistics shared by every {@link BoundedCache}. The management interfaces of
+ * the caches extend it with their own statistics.
+ */
+public interface BoundedCacheMXBean {
+
+    boolean isEnabled();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    /**
+     * Get the ratio of lookups served from the cache
+     *
+     * @return hit rate between 0 and 1
+     */
+    double getHitRate();
+
+    long getEvictionCount();
+
+    long getInvalidationCount();
+
+    /**
+     * Get the number of cached entries
+     *
+     * @return number of cache entries
+     */
+    int getSize();
+
+    /**
+     * Get the time after which a cached entry expires
+     *
+     * @return expiry time in milliseconds
+     */
+    long getExpiryTime();
+}
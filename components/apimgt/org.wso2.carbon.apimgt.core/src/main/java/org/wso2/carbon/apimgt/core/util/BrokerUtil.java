@@ -26,7 +26,10 @@ import org.wso2.carbon.apimgt.core.dto.GatewayDTO;
 import org.wso2.carbon.apimgt.core.exception.BrokerException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants.GatewayMessageProperties;
 
+import java.util.Collection;
+import java.util.Set;
 import javax.jms.JMSException;
 import javax.jms.Session;
 import javax.jms.TextMessage;
@@ -55,12 +58,29 @@ public class BrokerUtil {
     }
 
     /**
-     * Publish to broker topic
+     * Publish to broker topic. If the message carries labels, they are set as a message property so that gateways
+     * can subscribe with a selector built by {@link #getLabelSelector(Collection)} and only receive the events of
+     * the labels they serve.
      *
      * @param topicName     publishing topic name
      * @param gatewayDTO    topic message data object
      */
     public static void publishToTopic(String topicName, GatewayDTO gatewayDTO) throws GatewayException {
+        publishToTopic(topicName, gatewayDTO, gatewayDTO.getLabels());
+    }
+
+    /**
+     * Publish to broker topic, to the gateways of the given labels. This is used when the gateways to receive the
+     * message are not only the gateways of the labels the message carries, for example when the labels of an API
+     * are changed.
+     *
+     * @param topicName     publishing topic name
+     * @param gatewayDTO    topic message data object
+     * @param routingLabels labels of the gateways to receive the message, all the gateways receive the message if
+     *                      null or empty
+     */
+    public static void publishToTopic(String topicName, GatewayDTO gatewayDTO, Set<String> routingLabels)
+            throws GatewayException {
         TopicSession topicSession = null;
         Topic topic = null;
         TopicPublisher topicPublisher = null;
@@ -72,6 +92,9 @@ public class BrokerUtil {
             topic = topicSession.createTopic(topicName);
             topicPublisher = topicSession.createPublisher(topic);
             TextMessage textMessage = topicSession.createTextMessage(new Gson().toJson(gatewayDTO));
+            if (routingLabels != null && !routingLabels.isEmpty()) {
+                textMessage.setStringProperty(GatewayMessageProperties.LABELS, getLabelsPropertyValue(routingLabels));
+            }
             topicPublisher.publish(textMessage);
         } catch (JMSException e) {
             String errorMessage = "Error occurred while publishing " + gatewayDTO.getEventType() + " event to JMS " +
@@ -108,6 +131,55 @@ public class BrokerUtil {
         }
     }
 
+    /**
+     * Build a JMS message selector which matches the messages published for any of the given labels. Messages
+     * published without labels are matched as well. If no labels are given, the selector is null and all the
+     * messages are received.
+     *
+     * @param labels labels served by the subscriber
+     * @return message selector or null if no labels are given
+     */
+    public static String getLabelSelector(Collection<String> labels) {
+        if (labels == null || labels.isEmpty()) {
+            return null;
+        }
+        StringBuilder selector = new StringBuilder(GatewayMessageProperties.LABELS).append(" IS NULL");
+        for (String label : labels) {
+            String escapedLabel = encodeLabel(label).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_")
+                    .replace("'", "''");
+            selector.append(" OR ").append(GatewayMessageProperties.LABELS).append(" LIKE '%")
+                    .append(GatewayMessageProperties.LABEL_SEPARATOR).append(escapedLabel)
+                    .append(GatewayMessageProperties.LABEL_SEPARATOR).append("%' ESCAPE '\\'");
+        }
+        return selector.toString();
+    }
+
+    /**
+     * Build the label property value of a message. Labels are wrapped with separators on both ends so that a
+     * selector can match a complete label name.
+     *
+     * @param labels labels of the message
+     * @return label property value
+     */
+    static String getLabelsPropertyValue(Set<String> labels) {
+        StringBuilder value = new StringBuilder(GatewayMessageProperties.LABEL_SEPARATOR);
+        for (String label : labels) {
+            value.append(encodeLabel(label)).append(GatewayMessageProperties.LABEL_SEPARATOR);
+        }
+        return value.toString();
+    }
+
+    /**
+     * Encode a label for the label property value. Separators within the label are percent encoded, so that they
+     * are not taken as the end of the label.
+     *
+     * @param label label name
+     * @return encoded label name
+     */
+    private static String encodeLabel(String label) {
+        return label.trim().replace("%", "%25").replace(GatewayMessageProperties.LABEL_SEPARATOR, "%2C");
+    }
+
     /**
      * Retrieve a new TopicConnection from broker connection pool
      *
@@ -17,61 +17,85 @@
 */
 package org.wso2.carbon.apimgt.core.util;
 
+import com.google.common.hash.Hashing;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.exception.ETagGenerationException;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 /**
  * This class generates ETag hash value for the given timestamp of the resource
  * using MD5 as the default hashing algorithm.
+ * <p>
+ * An ETag only needs to change along with the timestamp, so the non-cryptographic MurmurHash3 can be configured
+ * instead, which is cheaper to compute. Changing the algorithm changes every ETag, so clients fetch each resource
+ * once more after the change.
  */
 public class ETagUtils {
     private static final Logger log = LoggerFactory.getLogger(ETagUtils.class);
-    
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // MessageDigest instances are not thread safe, and looking them up from the security providers is costly
+    private static final ThreadLocal<MessageDigest> md5Digests = new ThreadLocal<>();
+
+    private static volatile HashAlgorithm hashAlgorithm = HashAlgorithm.MD5;
+
+    /**
+     * Algorithms the ETags can be hashed with
+     */
+    public enum HashAlgorithm {
+        MD5,
+        MURMUR3_128
+    }
+
     private ETagUtils() {
     }
 
     /**
-     * If some other hashing algorithm is needed use this method.
+     * Set the algorithm used to hash the ETags generated from now on
+     *
+     * @param algorithm the algorithm used for hashing
+     */
+    public static void setHashAlgorithm(HashAlgorithm algorithm) {
+        hashAlgorithm = algorithm;
+    }
+
+    public static HashAlgorithm getHashAlgorithm() {
+        return hashAlgorithm;
+    }
+
+    /**
+     * Hash the timestamp with the given algorithm
      *
      * @param updatedTime, the updated/created time of the resource in UNIX time
      * @param algorithm            the algorithm used for hashing
      * @return String
-     * @throws NoSuchAlgorithmException if the given algorithm is invalid or not found in {@link MessageDigest}
-     * @throws ETagGenerationException if hash generation failed.
+     * @throws NoSuchAlgorithmException if MD5 is not found in {@link MessageDigest}
      */
-    private static String getHash(String updatedTime, String algorithm)
-            throws ETagGenerationException, NoSuchAlgorithmException {
-        MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
-        try {
-            messageDigest.update(updatedTime.getBytes("UTF-8"));
-            byte[] digest = messageDigest.digest();
-
-            //conversion to hexadecimal
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b & 0xff));
-            }
-
-            String generatedHash = sb.toString();
-            if (log.isDebugEnabled()) {
-                log.debug("ETag generated in HEX '" + generatedHash + "' for '" + updatedTime + "'");
-            }
-            return sb.toString();
-        } catch (UnsupportedEncodingException e) {
-            String errorMessage = "Error while converting timestamp to String :" + updatedTime;
-            log.error(errorMessage, e);
-            throw new ETagGenerationException(errorMessage, e);
+    static String getHash(String updatedTime, HashAlgorithm algorithm) throws NoSuchAlgorithmException {
+        byte[] input = updatedTime.getBytes(StandardCharsets.UTF_8);
+        byte[] digest;
+        if (algorithm == HashAlgorithm.MURMUR3_128) {
+            digest = Hashing.murmur3_128().hashBytes(input).asBytes();
+        } else {
+            digest = getMD5Digest().digest(input);
         }
+
+        String generatedHash = toHex(digest);
+        if (log.isDebugEnabled()) {
+            log.debug("ETag generated in HEX '" + generatedHash + "' for '" + updatedTime + "'");
+        }
+        return generatedHash;
     }
 
     /**
-     * Method returns the hashed value for the updatedTimeInMillis using MD5 hashing as default
+     * Method returns the hashed value for the updatedTimeInMillis using the configured hashing algorithm, MD5 by
+     * default
      *
      * @param updatedTime the updated/created time of the resource in UNIX time
      * @return generated 
@@ -79,9 +103,7 @@ public class ETagUtils {
      */
     public static String generateETag(String updatedTime) throws ETagGenerationException {
         try {
-            return StringUtils.isBlank(updatedTime) ?
-                    null :
-                    getHash(updatedTime, APIMgtConstants.ETagConstants.MESSAGE_DIGEST_ALGORITHM_MD5);
+            return StringUtils.isBlank(updatedTime) ? null : getHash(updatedTime, hashAlgorithm);
         } catch (NoSuchAlgorithmException e) {
             String errorMessage = "Error while generating md5 hash for the timestamp :" + updatedTime;
             log.error(errorMessage, e);
@@ -89,4 +111,28 @@ public class ETagUtils {
         }
     }
 
+    private static MessageDigest getMD5Digest() throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = md5Digests.get();
+        if (messageDigest == null) {
+            messageDigest = MessageDigest.getInstance(APIMgtConstants.ETagConstants.MESSAGE_DIGEST_ALGORITHM_MD5);
+            md5Digests.set(messageDigest);
+        }
+        return messageDigest;
+    }
+
+    /**
+     * Encode bytes, such as a digest, as lower case hexadecimal
+     *
+     * @param bytes the bytes to encode
+     * @return hexadecimal string of two characters per byte
+     */
+    public static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
 }
@@ -0,0 +1,59 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reports the results of the benchmarks run with the benchmark profile. A report is logged by the benchmark and
+ * appended to its file under {@code target/benchmark} of the module, so that the results of successive runs can be
+ * compared.
+ */
+public final class BenchmarkReporter {
+
+    private BenchmarkReporter() {
+    }
+
+    /**
+     * Report the results of a benchmark run
+     *
+     * @param benchmark  class of the benchmark, whose logger logs the report
+     * @param reportFile name of the report file of the benchmark
+     * @param report     results of the run, ending with a line separator
+     * @throws IOException if the report file cannot be written
+     */
+    public static void report(Class<?> benchmark, String reportFile, String report) throws IOException {
+        Logger log = LoggerFactory.getLogger(benchmark);
+        log.info(report.trim());
+        Path reportPath = Paths.get(System.getProperty("basedir", "."), "target", "benchmark", reportFile);
+        Files.createDirectories(reportPath.getParent());
+        Files.write(reportPath, report.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.BenchmarkReporter;
+import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
+import org.wso2.carbon.apimgt.core.dao.ApiDAO;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.UriTemplate;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares loading API aggregates one by one through {@link ApiDAO#getAPI(String)} with loading them in a single
+ * batch through {@link ApiAggregateLoader}, reporting the number of statements and the latency for 1, 10 and 100
+ * APIs on the H2 test schema.
+ * <p>
+ * The benchmark is not part of the regular build. Run it with {@code mvn test -Pbenchmark} and tune it with the
+ * {@code benchmark.*} system properties defined in the benchmark profile.
+ */
+public class ApiAggregateLoaderBenchmark extends DAOIntegrationTestBase {
+    private static final int[] API_COUNTS = {1, 10, 100};
+
+    private final int operationCount = Integer.getInteger("benchmark.operations", 10);
+    private final int iterations = Integer.getInteger("benchmark.iterations", 20);
+
+    @Test
+    public void benchmarkLoadAPIs() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        List<String> apiIDs = new ArrayList<>();
+        for (int i = 0; i < API_COUNTS[API_COUNTS.length - 1]; i++) {
+            API api = SampleTestObjectCreator.createUniqueAPI().uriTemplates(createUriTemplates()).build();
+            apiDAO.addAPI(api);
+            apiIDs.add(api.getId());
+        }
+
+        CountingDataSource countingDataSource = new CountingDataSource(dataSource);
+        DAOUtil.clearDataSource();
+        DAOUtil.initialize(countingDataSource);
+        // Measure the database access rather than the API cache
+        ApiCache apiCache = ApiCache.getInstance();
+        apiCache.configure(false, apiCache.getMaxMemory(), apiCache.getExpiryTime());
+
+        StringBuilder report = new StringBuilder();
+        for (int apiCount : API_COUNTS) {
+            List<String> ids = apiIDs.subList(0, apiCount);
+
+            List<API> singleResults = new ArrayList<>();
+            Measurement single = measure(countingDataSource, () -> {
+                singleResults.clear();
+                for (String id : ids) {
+                    singleResults.add(apiDAO.getAPI(id));
+                }
+            });
+
+            List<API> batchResults = new ArrayList<>();
+            Measurement batch = measure(countingDataSource, () -> {
+                try (Connection connection = DAOUtil.getConnection()) {
+                    batchResults.clear();
+                    batchResults.addAll(new ApiAggregateLoader(connection).loadAPIs(ids));
+                }
+            });
+
+            Assert.assertEquals(batchResults, singleResults);
+            report.append(String.format(Locale.ENGLISH, "apis=%d operations=%d getAPI: queries=%d latency=%.2f ms "
+                            + "loadAPIs: queries=%d latency=%.2f ms%n", apiCount, operationCount,
+                    single.queries, single.millis, batch.queries, batch.millis));
+        }
+        BenchmarkReporter.report(ApiAggregateLoaderBenchmark.class, "api-aggregate-loader-benchmark.txt",
+                report.toString());
+        apiCache.configure(true, apiCache.getMaxMemory(), apiCache.getExpiryTime());
+    }
+
+    private Map<String, UriTemplate> createUriTemplates() {
+        Map<String, UriTemplate> uriTemplates = new HashMap<>();
+        for (int i = 0; i < operationCount; i++) {
+            Map<String, Endpoint> endpoints = new HashMap<>();
+            endpoints.put(APIMgtConstants.PRODUCTION_ENDPOINT, new Endpoint.Builder().id(UUID.randomUUID().toString())
+                    .name(UUID.randomUUID().toString()).endpointConfig("{'type':'http','url':'http://localhost:8280'}")
+                    .maxTps(1000L).security("{'enabled':false}").type("http")
+                    .applicableLevel(APIMgtConstants.API_SPECIFIC_ENDPOINT).build());
+            UriTemplate uriTemplate = new UriTemplate.UriTemplateBuilder().templateId("operation" + i)
+                    .uriTemplate("/resource" + i).httpVerb(APIMgtConstants.FunctionsConstants.GET)
+                    .authType(APIMgtConstants.AUTH_APPLICATION_LEVEL_TOKEN)
+                    .policy(APIMgtConstants.DEFAULT_API_POLICY).endpoint(endpoints).build();
+            uriTemplates.put(uriTemplate.getTemplateId(), uriTemplate);
+        }
+        return uriTemplates;
+    }
+
+    private Measurement measure(CountingDataSource countingDataSource, Task task) throws Exception {
+        // The first run warms up the connection pool and the statement caches of the database
+        task.run();
+        long queries = countingDataSource.statementCount.get();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        queries = (countingDataSource.statementCount.get() - queries) / iterations;
+        return new Measurement(queries, elapsedTime / (double) TimeUnit.MILLISECONDS.toNanos(1) / iterations);
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static final class Measurement {
+        private final long queries;
+        private final double millis;
+
+        private Measurement(long queries, double millis) {
+            this.queries = queries;
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * Counts the statements prepared on the connections handed out by the wrapped data source
+     */
+    private static final class CountingDataSource implements DataSource {
+        private final DataSource dataSource;
+        private final AtomicLong statementCount = new AtomicLong();
+
+        private CountingDataSource(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = dataSource.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare") || "createStatement".equals(method.getName())) {
+                            statementCount.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        @Override
+        public HikariDataSource getDatasource() throws SQLException {
+            return dataSource.getDatasource();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for ApiCache
+ */
+public class ApiCacheTestCase {
+    private static final long MAX_MEMORY = 64L * 1024 * 1024;
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(15);
+
+    private final ApiCache apiCache = ApiCache.getInstance();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        apiCache.configure(true, MAX_MEMORY, EXPIRY_TIME);
+        loadCount.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        apiCache.setInvalidationListener(null);
+        apiCache.configure(true, MAX_MEMORY, EXPIRY_TIME);
+    }
+
+    @Test(description = "Test that a cached element is not loaded again")
+    public void testGetCachedElement() throws APIMgtDAOException {
+        long hits = apiCache.getHitCount();
+        long misses = apiCache.getMissCount();
+        Assert.assertEquals(get("api1", ApiCache.Element.SWAGGER_DEFINITION, "swagger"), "swagger");
+        Assert.assertEquals(get("api1", ApiCache.Element.SWAGGER_DEFINITION, "other"), "swagger");
+        Assert.assertEquals(get("api1", ApiCache.Element.GATEWAY_CONFIG, "config"), "config");
+
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertEquals(apiCache.getHitCount() - hits, 1);
+        Assert.assertEquals(apiCache.getMissCount() - misses, 2);
+        // the elements of an API are cached as separate entries
+        Assert.assertEquals(apiCache.getSize(), 2);
+        Assert.assertTrue(apiCache.getEstimatedMemory() > 0);
+    }
+
+    @Test(description = "Test that null values are not cached")
+    public void testNullValueIsNotCached() throws APIMgtDAOException {
+        Assert.assertNull(get("api1", ApiCache.Element.API, null));
+        Assert.assertNull(get("api1", ApiCache.Element.API, null));
+
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertEquals(apiCache.getSize(), 0);
+    }
+
+    @Test(description = "Test that invalidating an API only removes the elements of that API")
+    public void testInvalidate() throws APIMgtDAOException {
+        List<String> invalidatedApis = new ArrayList<>();
+        apiCache.setInvalidationListener(invalidatedApis::add);
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, "swagger1");
+        get("api2", ApiCache.Element.SWAGGER_DEFINITION, "swagger2");
+
+        apiCache.invalidate("api1");
+
+        Assert.assertEquals(get("api1", ApiCache.Element.SWAGGER_DEFINITION, "updated"), "updated");
+        Assert.assertEquals(get("api2", ApiCache.Element.SWAGGER_DEFINITION, "updated"), "swagger2");
+        Assert.assertEquals(invalidatedApis.size(), 1);
+        Assert.assertEquals(invalidatedApis.get(0), "api1");
+    }
+
+    @Test(description = "Test that a remote invalidation is not propagated again")
+    public void testInvalidateLocally() throws APIMgtDAOException {
+        List<String> invalidatedApis = new ArrayList<>();
+        apiCache.setInvalidationListener(invalidatedApis::add);
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, "swagger1");
+
+        apiCache.invalidateLocally("api1");
+        apiCache.invalidateAllLocally();
+
+        Assert.assertEquals(get("api1", ApiCache.Element.SWAGGER_DEFINITION, "updated"), "updated");
+        Assert.assertTrue(invalidatedApis.isEmpty());
+    }
+
+    @Test(description = "Test that a value loaded before a concurrent invalidation is not cached")
+    public void testStaleValueIsNotCached() throws APIMgtDAOException {
+        String value = apiCache.get("api1", ApiCache.Element.SWAGGER_DEFINITION, () -> {
+            // Simulates a write committed by another thread while the old value is being read
+            apiCache.invalidate("api1");
+            return "stale";
+        });
+
+        Assert.assertEquals(value, "stale");
+        Assert.assertEquals(get("api1", ApiCache.Element.SWAGGER_DEFINITION, "updated"), "updated");
+    }
+
+    @Test(description = "Test that the least recently used APIs are evicted when the memory limit is exceeded")
+    public void testEviction() throws APIMgtDAOException {
+        // Each entry holds an overhead of 256 bytes and 2 bytes per character of the value
+        apiCache.configure(true, 2000, EXPIRY_TIME);
+        long evictions = apiCache.getEvictionCount();
+        String value = new String(new char[200]);
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, value);
+        get("api2", ApiCache.Element.SWAGGER_DEFINITION, value);
+        get("api3", ApiCache.Element.SWAGGER_DEFINITION, value);
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, value);
+        get("api4", ApiCache.Element.SWAGGER_DEFINITION, value);
+
+        Assert.assertEquals(apiCache.getSize(), 3);
+        Assert.assertEquals(apiCache.getEvictionCount() - evictions, 1);
+        Assert.assertTrue(apiCache.getEstimatedMemory() <= 2000);
+        loadCount.set(0);
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, value);
+        Assert.assertEquals(loadCount.get(), 0);
+        get("api2", ApiCache.Element.SWAGGER_DEFINITION, value);
+        Assert.assertEquals(loadCount.get(), 1);
+    }
+
+    @Test(description = "Test that expired elements are loaded again")
+    public void testExpiry() throws APIMgtDAOException {
+        apiCache.configure(true, MAX_MEMORY, 0);
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, "swagger");
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, "swagger");
+
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test(description = "Test that every lookup is loaded when the cache is disabled")
+    public void testDisabled() throws APIMgtDAOException {
+        apiCache.configure(false, MAX_MEMORY, EXPIRY_TIME);
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, "swagger");
+        get("api1", ApiCache.Element.SWAGGER_DEFINITION, "swagger");
+
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertEquals(apiCache.getSize(), 0);
+    }
+
+    private String get(String apiId, ApiCache.Element element, String value) throws APIMgtDAOException {
+        return apiCache.get(apiId, element, () -> {
+            loadCount.incrementAndGet();
+            return value;
+        });
+    }
+}
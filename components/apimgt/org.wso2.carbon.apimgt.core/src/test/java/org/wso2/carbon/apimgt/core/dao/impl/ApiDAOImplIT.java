@@ -33,10 +33,12 @@ import org.wso2.carbon.apimgt.core.dao.LabelDAO;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.core.models.APIStatus;
+import org.wso2.carbon.apimgt.core.models.Application;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.DocumentInfo;
 import org.wso2.carbon.apimgt.core.models.Endpoint;
 import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
 import org.wso2.carbon.apimgt.core.models.UriTemplate;
 import org.wso2.carbon.apimgt.core.util.APIComparator;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
@@ -45,6 +47,11 @@ import org.wso2.carbon.apimgt.core.util.ETagUtils;
 import org.wso2.carbon.apimgt.core.util.EndPointComparator;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -128,6 +135,205 @@ public class ApiDAOImplIT extends DAOIntegrationTestBase {
         }
     }
 
+    @Test
+    public void testGetAPIsByStatusStorePaginated() throws Exception {
+
+        //Add few APIs with different attributes.
+        List<String> apiIDList = createAPIsAndGetIDsOfAddedAPIs();
+        Set<String> userRoles = new HashSet<>();
+        userRoles.add(MANAGER_ROLE);
+        userRoles.add(EMPLOYEE_ROLE);
+        userRoles.add(CUSTOMER_ROLE);
+        List<String> statuses = new ArrayList<>();
+        statuses.add(APIStatus.PUBLISHED.getStatus());
+        statuses.add(APIStatus.PROTOTYPED.getStatus());
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        String[] expectedAPINames = new String[]{"AdminManagerAPI", "EmployeeAPI", "ManagerOnlyAPI", "NonAdminAPI",
+                "PublicAPI"};
+
+        //Walk through the pages by seeking after the last API of the previous page
+        List<String> resultAPINameList = new ArrayList<>();
+        List<API> apiResults = apiDAO.getAPIsByStatus(userRoles, statuses, ApiType.STANDARD, null, null, 0, 2);
+        while (!apiResults.isEmpty()) {
+            Assert.assertTrue(apiResults.size() <= 2);
+            for (API api : apiResults) {
+                resultAPINameList.add(api.getName());
+            }
+            API last = apiResults.get(apiResults.size() - 1);
+            apiResults = apiDAO.getAPIsByStatus(userRoles, statuses, ApiType.STANDARD, last.getName(), last.getId(),
+                    0, 2);
+        }
+        Assert.assertEquals(resultAPINameList, Arrays.asList(expectedAPINames));
+
+        //Offset based page
+        apiResults = apiDAO.getAPIsByStatus(userRoles, statuses, ApiType.STANDARD, null, null, 3, 2);
+        Assert.assertEquals(apiResults.size(), 2);
+        Assert.assertEquals(apiResults.get(0).getName(), "NonAdminAPI");
+        Assert.assertEquals(apiResults.get(1).getName(), "PublicAPI");
+
+        //Restricted APIs are not listed for a user without roles
+        apiResults = apiDAO.getAPIsByStatus(new HashSet<>(), statuses, ApiType.STANDARD, null, null, 0, 10);
+        Assert.assertEquals(apiResults.size(), 1);
+        Assert.assertEquals(apiResults.get(0).getName(), "PublicAPI");
+
+        //cleanup added APIs
+        for (String apiID : apiIDList) {
+            apiDAO.deleteAPI(apiID);
+        }
+    }
+
+    @Test
+    public void testGetEstimatedAPICountByStatus() throws Exception {
+
+        //Add few APIs with different attributes.
+        List<String> apiIDList = createAPIsAndGetIDsOfAddedAPIs();
+        Set<String> userRoles = new HashSet<>();
+        userRoles.add(MANAGER_ROLE);
+        List<String> statuses = new ArrayList<>();
+        statuses.add(APIStatus.PUBLISHED.getStatus());
+        statuses.add(APIStatus.PROTOTYPED.getStatus());
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+
+        //Small API catalogs are counted exactly
+        Assert.assertEquals(apiDAO.getEstimatedAPICountByStatus(userRoles, statuses, ApiType.STANDARD),
+                apiDAO.getAPIsByStatus(userRoles, statuses, ApiType.STANDARD).size());
+
+        //cleanup added APIs
+        for (String apiID : apiIDList) {
+            apiDAO.deleteAPI(apiID);
+        }
+    }
+
+    @Test
+    public void testEstimateAPICountByStatusFromSample() throws Exception {
+        List<String> apiIDList = createAPIsAndGetIDsOfAddedAPIs();
+        Set<String> userRoles = Collections.singleton(MANAGER_ROLE);
+        List<String> statuses = Arrays.asList(APIStatus.PUBLISHED.getStatus(), APIStatus.PROTOTYPED.getStatus());
+        ApiDAOImpl apiDAO = (ApiDAOImpl) DAOFactory.getApiDAO();
+        int apiCount = apiIDList.size();
+        long exactCount = apiDAO.getAPIsByStatus(userRoles, statuses, ApiType.STANDARD).size();
+        Assert.assertTrue(exactCount > 0);
+
+        try (Connection connection = DAOUtil.getConnection()) {
+            //A sample holding the whole table gives the exact count, whatever the statistics are
+            Assert.assertEquals(apiDAO.estimateAPICountByStatus(connection, 1000000, apiCount + 1, userRoles,
+                    statuses, ApiType.STANDARD), exactCount);
+
+            //A sample missing one API is scaled to the estimated number of rows
+            long estimatedCount = apiCount * 100L;
+            long estimate = apiDAO.estimateAPICountByStatus(connection, estimatedCount, apiCount - 1, userRoles,
+                    statuses, ApiType.STANDARD);
+            Assert.assertTrue(estimate >= Math.round((double) estimatedCount * (exactCount - 1) / (apiCount - 1)));
+            Assert.assertTrue(estimate <= Math.round((double) estimatedCount * exactCount / (apiCount - 1)));
+        }
+
+        //cleanup added APIs
+        for (String apiID : apiIDList) {
+            apiDAO.deleteAPI(apiID);
+        }
+    }
+
+    @Test
+    public void testGetAPIsByStatusAfterVisibleRolesChange() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        List<String> statuses = Collections.singletonList(APIStatus.PUBLISHED.getStatus());
+        Set<String> employeeRoles = new HashSet<>(Arrays.asList(EMPLOYEE_ROLE, "unrelated"));
+        Set<String> managerRoles = Collections.singleton(MANAGER_ROLE);
+
+        API api = SampleTestObjectCreator.createCustomAPI("RestrictedAPI", "1.0.0", "restricted")
+                .visibility(API.Visibility.RESTRICTED)
+                .visibleRoles(Collections.singleton(EMPLOYEE_ROLE))
+                .lifeCycleStatus(APIStatus.PUBLISHED.getStatus()).build();
+        apiDAO.addAPI(api);
+
+        //Roles which are not visible roles of any API are not bound into the query
+        Assert.assertEquals(VisibleRoleIndex.getInstance().filterRoles(employeeRoles),
+                Collections.singleton(EMPLOYEE_ROLE));
+        Assert.assertEquals(apiDAO.getAPIsByStatus(employeeRoles, statuses, ApiType.STANDARD).size(), 1);
+        Assert.assertTrue(apiDAO.getAPIsByStatus(managerRoles, statuses, ApiType.STANDARD).isEmpty());
+
+        //A change of the visible roles is seen by the next listing
+        API substituteAPI = SampleTestObjectCreator.createCustomAPI("RestrictedAPI", "1.0.0", "restricted")
+                .id(api.getId())
+                .visibility(API.Visibility.RESTRICTED)
+                .visibleRoles(managerRoles).build();
+        apiDAO.updateAPI(api.getId(), substituteAPI);
+        Assert.assertTrue(apiDAO.getAPIsByStatus(employeeRoles, statuses, ApiType.STANDARD).isEmpty());
+        Assert.assertEquals(apiDAO.getAPIsByStatus(managerRoles, statuses, ApiType.STANDARD, null, null, 0, 10)
+                .size(), 1);
+        Assert.assertEquals(apiDAO.getEstimatedAPICountByStatus(managerRoles, statuses, ApiType.STANDARD), 1);
+
+        apiDAO.deleteAPI(api.getId());
+        Assert.assertTrue(VisibleRoleIndex.getInstance().filterRoles(managerRoles).isEmpty());
+    }
+
+    @Test
+    public void testGetLandingPageAPIs() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        List<String> statuses = Collections.singletonList(APIStatus.PUBLISHED.getStatus());
+        Set<String> userRoles = Collections.singleton(MANAGER_ROLE);
+        Label label = SampleTestObjectCreator.createLabel("public").build();
+        DAOFactory.getLabelDAO().addLabels(Collections.singletonList(label));
+        testAddGetEndpoint();
+
+        API api = SampleTestObjectCreator.createDefaultAPI()
+                .labels(Collections.singleton(label.getName()))
+                .lifeCycleStatus(APIStatus.PUBLISHED.getStatus()).build();
+        apiDAO.addAPI(api);
+        API otherAPI = SampleTestObjectCreator.createCustomAPI("OtherAPI", "1.0.0", "other")
+                .lifeCycleStatus(APIStatus.PUBLISHED.getStatus()).build();
+        apiDAO.addAPI(otherAPI);
+        apiDAO.updateImage(api.getId(), SampleTestObjectCreator.createDefaultThumbnailImage(), "image/jpg", ADMIN);
+        addRating(api.getId(), 4);
+        addRating(api.getId(), 5);
+        Application app = TestUtil.addTestApplication();
+        DAOFactory.getAPISubscriptionDAO().addAPISubscription(UUID.randomUUID().toString(), api.getId(),
+                app.getId(), "Gold", APIMgtConstants.SubscriptionStatus.ACTIVE);
+
+        List<LandingPageAPI> landingPageAPIs = apiDAO.getLandingPageAPIs(userRoles, statuses, ApiType.STANDARD,
+                null, null, 0, 10);
+        Assert.assertEquals(landingPageAPIs.size(), 2);
+        LandingPageAPI other = landingPageAPIs.get(0);
+        Assert.assertEquals(other.getApi().getId(), otherAPI.getId());
+        Assert.assertFalse(other.hasThumbnail());
+        Assert.assertEquals(other.getRatingCount(), 0);
+        Assert.assertEquals(other.getAvgRating(), 0.0);
+        Assert.assertEquals(other.getSubscriptionCount(), 0);
+        Assert.assertTrue(other.getLabels().isEmpty());
+        LandingPageAPI weather = landingPageAPIs.get(1);
+        Assert.assertEquals(weather.getApi().getId(), api.getId());
+        Assert.assertTrue(weather.hasThumbnail());
+        Assert.assertEquals(weather.getRatingCount(), 2);
+        Assert.assertEquals(weather.getAvgRating(), 4.5);
+        Assert.assertEquals(weather.getSubscriptionCount(), 1);
+        Assert.assertEquals(weather.getTags(), api.getTags());
+        Assert.assertEquals(weather.getLabels(), Collections.singleton(label.getName()));
+
+        //Pages after the last API of the previous page
+        landingPageAPIs = apiDAO.getLandingPageAPIs(userRoles, statuses, ApiType.STANDARD, other.getApi().getName(),
+                other.getApi().getId(), 0, 10);
+        Assert.assertEquals(landingPageAPIs.size(), 1);
+        Assert.assertEquals(landingPageAPIs.get(0).getApi().getId(), api.getId());
+
+        //A change of an API is seen by the next request
+        apiDAO.deleteAPI(otherAPI.getId());
+        landingPageAPIs = apiDAO.getLandingPageAPIs(userRoles, statuses, ApiType.STANDARD, null, null, 0, 10);
+        Assert.assertEquals(landingPageAPIs.size(), 1);
+        Assert.assertEquals(landingPageAPIs.get(0).getApi().getId(), api.getId());
+    }
+
+    private static void addRating(String apiId, int rating) throws SQLException {
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO AM_API_RATINGS (UUID, API_ID, RATING, USER_IDENTIFIER) VALUES (?,?,?,?)")) {
+            statement.setString(1, UUID.randomUUID().toString());
+            statement.setString(2, apiId);
+            statement.setInt(3, rating);
+            statement.setString(4, "user" + rating);
+            statement.execute();
+        }
+    }
+
     @Test
     public void testAttributeSearchAPIsStore() throws Exception {
 
@@ -914,6 +1120,29 @@ public class ApiDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertTrue(apiList.size() > 0);
     }
 
+    @Test(description = "Reject attribute searches on columns which do not exist")
+    public void testAttributeSearchAPIsWithInvalidAttribute() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        Map<String, String> attributeMap = new HashMap<>();
+        attributeMap.put("NAME) LIKE ? OR (1", "test");
+        try {
+            apiDAO.attributeSearchAPIs(new HashSet<>(), "admin", attributeMap, ApiType.STANDARD, 0, 2);
+            Assert.fail("Search on an unknown attribute should fail");
+        } catch (APIMgtDAOException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Wrong search attribute"));
+        }
+        try {
+            apiDAO.attributeSearchAPIsStore(Collections.singletonList("admin"), attributeMap, 0, 2);
+            Assert.fail("Search on an unknown attribute should fail");
+        } catch (APIMgtDAOException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Wrong search attribute"));
+        }
+        attributeMap.clear();
+        attributeMap.put("tags", "climate");
+        Assert.assertTrue(apiDAO.attributeSearchAPIsStore(Collections.singletonList("admin"), attributeMap, 0, 2)
+                .isEmpty());
+    }
+
     @Test(description = "Search APIs by status")
     public void testSearchAPIsByStatus() throws Exception {
         ApiDAO apiDAO = DAOFactory.getApiDAO();
@@ -934,8 +1163,20 @@ public class ApiDAOImplIT extends DAOIntegrationTestBase {
         API api = SampleTestObjectCreator.createDefaultAPI().build();
         apiDAO.addAPI(api);
         apiDAO.updateImage(api.getId(), SampleTestObjectCreator.createDefaultThumbnailImage(), "image/jpg", ADMIN);
-        InputStream image = apiDAO.getImage(api.getId());
-        Assert.assertNotNull(image);
+        try (InputStream image = apiDAO.getImage(api.getId());
+             InputStream expectedImage = SampleTestObjectCreator.createDefaultThumbnailImage()) {
+            Assert.assertNotNull(image);
+            Assert.assertTrue(IOUtils.contentEquals(image, expectedImage));
+        }
+    }
+
+    @Test(description = "Get image from API without an image")
+    public void testGetImageNotFound() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        testAddGetEndpoint();
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        apiDAO.addAPI(api);
+        Assert.assertNull(apiDAO.getImage(api.getId()));
     }
 
     @Test
@@ -1333,6 +1574,96 @@ public class ApiDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertFalse(apiDAO.isDocumentExist(api.getId(), documentInfo));
     }
 
+    @Test(description = "Stream the file content of a document")
+    public void testGetDocumentFileContent() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        testAddGetEndpoint();
+        apiDAO.addAPI(api);
+        DocumentInfo documentInfo = SampleTestObjectCreator.createDefaultFileDocumentationInfo();
+        apiDAO.addDocumentInfo(api.getId(), documentInfo);
+        Assert.assertNull(apiDAO.getDocumentFileContent(documentInfo.getId()));
+
+        String content = SampleTestObjectCreator.createDefaultInlineDocumentationContent();
+        apiDAO.addDocumentFileContent(documentInfo.getId(), IOUtils.toInputStream(content), "text/plain",
+                documentInfo.getCreatedBy());
+        // read the content more times than there are connections in the pool, so that a stream which does not
+        // release its connection on close would exhaust the pool
+        for (int i = 0; i < 60; i++) {
+            try (InputStream fileContent = apiDAO.getDocumentFileContent(documentInfo.getId())) {
+                Assert.assertNotNull(fileContent);
+                Assert.assertEquals(IOUtils.toString(fileContent), content);
+            }
+        }
+    }
+
+    @Test(description = "API versions with the same definitions share their stored contents")
+    public void testResourceContentsAreShared() throws Exception {
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        testAddGetEndpoint();
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        apiDAO.addAPI(api);
+        int contentCount = getResourceContentCount();
+        Assert.assertTrue(contentCount > 0);
+
+        API newVersion = new API.APIBuilder(api).id(UUID.randomUUID().toString()).version("2.0.0")
+                .context(api.getContext() + "2").build();
+        apiDAO.addAPI(newVersion);
+        Assert.assertEquals(getResourceContentCount(), contentCount);
+        Assert.assertEquals(apiDAO.getSwaggerDefinition(newVersion.getId()),
+                apiDAO.getSwaggerDefinition(api.getId()));
+
+        // a changed definition is stored separately, and the shared one is kept for the other version
+        apiDAO.updateSwaggerDefinition(newVersion.getId(), SampleTestObjectCreator.apiDefinition + " ", ADMIN);
+        Assert.assertEquals(getResourceContentCount(), contentCount + 1);
+        Assert.assertEquals(apiDAO.getSwaggerDefinition(api.getId()), api.getApiDefinition());
+
+        apiDAO.deleteAPI(api.getId());
+        Assert.assertEquals(apiDAO.getSwaggerDefinition(newVersion.getId()),
+                SampleTestObjectCreator.apiDefinition + " ");
+        apiDAO.deleteAPI(newVersion.getId());
+        Assert.assertEquals(getResourceContentCount(), 0);
+    }
+
+    @Test(description = "A content added concurrently by another transaction is used rather than failing")
+    public void testConcurrentlyAddedResourceContentIsShared() throws Exception {
+        byte[] content = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        int contentCount = getResourceContentCount();
+        try (Connection first = DAOUtil.getConnection(); Connection second = DAOUtil.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            String contentHash = ResourceContentDAO.addContent(first, content);
+
+            // the insert of the second transaction waits for the first one, and is rejected once it is committed
+            Thread committer = new Thread(() -> {
+                try {
+                    Thread.sleep(200);
+                    first.commit();
+                } catch (InterruptedException | SQLException e) {
+                    log.error("Error while committing the content", e);
+                }
+            });
+            committer.start();
+            Assert.assertEquals(ResourceContentDAO.addContent(second, content), contentHash);
+            committer.join();
+            second.commit();
+            Assert.assertEquals(getResourceContentCount(), contentCount + 1);
+
+            ResourceContentDAO.releaseContents(second, Arrays.asList(contentHash, null, contentHash));
+            second.commit();
+            Assert.assertEquals(getResourceContentCount(), contentCount);
+        }
+    }
+
+    private static int getResourceContentCount() throws SQLException {
+        try (Connection connection = DAOUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM AM_RESOURCE_CONTENTS");
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
     @Test
     public void testAddApiAndResourceSpecificEndpointToApi() throws APIMgtDAOException {
         Endpoint apiSpecificEndpoint = new Endpoint.Builder(SampleTestObjectCreator.createMockEndpoint())
@@ -0,0 +1,199 @@
+/*
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.BenchmarkReporter;
+import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
+import org.wso2.carbon.apimgt.core.dao.ApiDAO;
+import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Endpoint;
+import org.wso2.carbon.apimgt.core.models.UriTemplate;
+import org.wso2.carbon.apimgt.core.models.policy.APIPolicy;
+import org.wso2.carbon.apimgt.core.models.policy.Pipeline;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares writing the rows of an API and of an API policy one statement at a time with writing them in JDBC
+ * batches, reporting the number of statements executed and the latency of {@link ApiDAO#addAPI(API)} and
+ * {@link PolicyDAO#addPolicy(String, org.wso2.carbon.apimgt.core.models.policy.Policy)}.
+ * <p>
+ * The benchmark runs on the database selected by the {@code DATABASE_TYPE} environment variable, H2 by default. It is
+ * not part of the regular build. Run it with {@code mvn test -Pbenchmark} and tune it with the {@code benchmark.*}
+ * system properties defined in the benchmark profile.
+ */
+public class BatchWriteBenchmark extends DAOIntegrationTestBase {
+    private static final int ROW_BY_ROW = 1;
+
+    private final int operationCount = Integer.getInteger("benchmark.operations", 10);
+    private final int iterations = Integer.getInteger("benchmark.iterations", 20);
+
+    @Test
+    public void benchmarkBatchWrites() throws Exception {
+        CountingDataSource countingDataSource = new CountingDataSource(dataSource);
+        DAOUtil.clearDataSource();
+        DAOUtil.initialize(countingDataSource);
+        ApiDAO apiDAO = DAOFactory.getApiDAO();
+        PolicyDAO policyDAO = DAOFactory.getPolicyDAO();
+        int batchSize = DAOUtil.getBatchSize();
+
+        StringBuilder report = new StringBuilder();
+        try {
+            for (int size : new int[] {ROW_BY_ROW, batchSize}) {
+                DAOUtil.setBatchSize(size);
+                Measurement addAPI = measure(countingDataSource, () -> {
+                    API api = SampleTestObjectCreator.createUniqueAPI().uriTemplates(createUriTemplates()).build();
+                    apiDAO.addAPI(api);
+                });
+                Measurement addPolicy = measure(countingDataSource, () -> {
+                    APIPolicy policy = createAPIPolicy();
+                    policyDAO.addPolicy(APIMgtConstants.ThrottlePolicyConstants.API_LEVEL, policy);
+                });
+                report.append(String.format(Locale.ENGLISH, "database=%s batchSize=%d operations=%d "
+                                + "addAPI: statements=%d latency=%.2f ms addPolicy: statements=%d latency=%.2f ms%n",
+                        System.getenv("DATABASE_TYPE") == null ? "h2" : System.getenv("DATABASE_TYPE"), size,
+                        operationCount, addAPI.statements, addAPI.millis, addPolicy.statements, addPolicy.millis));
+            }
+        } finally {
+            DAOUtil.setBatchSize(batchSize);
+        }
+        BenchmarkReporter.report(BatchWriteBenchmark.class, "batch-write-benchmark.txt", report.toString());
+    }
+
+    private Map<String, UriTemplate> createUriTemplates() {
+        Map<String, UriTemplate> uriTemplates = new HashMap<>();
+        for (int i = 0; i < operationCount; i++) {
+            Map<String, Endpoint> endpoints = new HashMap<>();
+            endpoints.put(APIMgtConstants.PRODUCTION_ENDPOINT, new Endpoint.Builder().id(UUID.randomUUID().toString())
+                    .name(UUID.randomUUID().toString()).endpointConfig("{'type':'http','url':'http://localhost:8280'}")
+                    .maxTps(1000L).security("{'enabled':false}").type("http")
+                    .applicableLevel(APIMgtConstants.API_SPECIFIC_ENDPOINT).build());
+            UriTemplate uriTemplate = new UriTemplate.UriTemplateBuilder().templateId("operation" + i)
+                    .uriTemplate("/resource" + i).httpVerb(APIMgtConstants.FunctionsConstants.GET)
+                    .authType(APIMgtConstants.AUTH_APPLICATION_LEVEL_TOKEN)
+                    .policy(APIMgtConstants.DEFAULT_API_POLICY).endpoint(endpoints).build();
+            uriTemplates.put(uriTemplate.getTemplateId(), uriTemplate);
+        }
+        return uriTemplates;
+    }
+
+    private APIPolicy createAPIPolicy() {
+        APIPolicy policy = SampleTestObjectCreator.createDefaultAPIPolicy();
+        policy.setPolicyName(UUID.randomUUID().toString());
+        List<Pipeline> pipelines = new ArrayList<>();
+        while (pipelines.size() < operationCount) {
+            pipelines.addAll(SampleTestObjectCreator.createDefaultPipelines());
+        }
+        policy.setPipelines(pipelines);
+        return policy;
+    }
+
+    private Measurement measure(CountingDataSource countingDataSource, Task task) throws Exception {
+        // The first run warms up the connection pool and the statement caches of the database
+        task.run();
+        long statements = countingDataSource.executionCount.get();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        statements = (countingDataSource.executionCount.get() - statements) / iterations;
+        return new Measurement(statements, elapsedTime / (double) TimeUnit.MILLISECONDS.toNanos(1) / iterations);
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static final class Measurement {
+        private final long statements;
+        private final double millis;
+
+        private Measurement(long statements, double millis) {
+            this.statements = statements;
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * Counts the statements and batches executed on the connections handed out by the wrapped data source, each of
+     * which is a round trip to the database
+     */
+    private static final class CountingDataSource implements DataSource {
+        private final DataSource dataSource;
+        private final AtomicLong executionCount = new AtomicLong();
+
+        private CountingDataSource(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = dataSource.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement) {
+                            return countExecutions((Statement) result, method.getReturnType());
+                        }
+                        return result;
+                    });
+        }
+
+        private Object countExecutions(Statement statement, Class<?> statementType) {
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {statementType},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            executionCount.incrementAndGet();
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public HikariDataSource getDatasource() throws SQLException {
+            return dataSource.getDatasource();
+        }
+    }
+}
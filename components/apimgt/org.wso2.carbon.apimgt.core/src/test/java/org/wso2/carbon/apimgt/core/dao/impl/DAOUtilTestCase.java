@@ -0,0 +1,294 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the read replica routing of DAOUtil
+ */
+public class DAOUtilTestCase {
+    private StubDataSource primary;
+    private StubDataSource replica1;
+    private StubDataSource replica2;
+
+    @BeforeMethod
+    public void setUp() {
+        primary = new StubDataSource();
+        replica1 = new StubDataSource();
+        replica2 = new StubDataSource();
+        DAOUtil.clearDataSource();
+        DAOUtil.initialize(primary);
+        DAOUtil.setReplicaLagWindow(TimeUnit.MINUTES.toMillis(1));
+        DAOUtil.setReplicaRetryInterval(TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        DAOUtil.bindUser(null);
+        DAOUtil.clearDataSource();
+    }
+
+    @Test(description = "Test that reads use the primary when no replica is configured")
+    public void testReadWithoutReplicas() throws SQLException {
+        DAOUtil.getReadConnection();
+
+        Assert.assertSame(DAOUtil.getReadConnection(), primary.connection);
+        Assert.assertEquals(primary.connectionCount, 2);
+    }
+
+    @Test(description = "Test that reads are spread over the replicas and writes go to the primary")
+    public void testReadsAreSpreadOverReplicas() throws SQLException {
+        initializeReplicas();
+        for (int i = 0; i < 4; i++) {
+            DAOUtil.getReadConnection();
+        }
+
+        Assert.assertEquals(primary.connectionCount, 0);
+        Assert.assertEquals(replica1.connectionCount, 2);
+        Assert.assertEquals(replica2.connectionCount, 2);
+        DAOUtil.getConnection();
+        Assert.assertEquals(primary.connectionCount, 1);
+    }
+
+    @Test(description = "Test that a user reads from the primary within the lag window after writing")
+    public void testReadAfterWriteUsesPrimary() throws SQLException {
+        initializeReplicas();
+        DAOUtil.bindUser("writer");
+        write(DAOUtil.getConnection());
+
+        Assert.assertSame(DAOUtil.getReadConnection(), primary.connection);
+
+        DAOUtil.bindUser("reader");
+        DAOUtil.getReadConnection();
+        Assert.assertEquals(replica1.connectionCount + replica2.connectionCount, 1);
+        Assert.assertEquals(getPool("primary").getStaleReadCount(), 1);
+        Assert.assertEquals(getPool("primary").getWriteConnectionCount(), 1);
+    }
+
+    @Test(description = "Test that taking a primary connection only for reading does not send reads to the primary")
+    public void testReadOnPrimaryConnectionIsNotAWrite() throws SQLException {
+        initializeReplicas();
+        Connection connection = DAOUtil.getConnection();
+        connection.prepareStatement("SELECT 1").executeQuery();
+        connection.commit();
+
+        DAOUtil.getReadConnection();
+        Assert.assertEquals(primary.connectionCount, 1);
+        Assert.assertEquals(replica1.connectionCount + replica2.connectionCount, 1);
+    }
+
+    @Test(description = "Test that a write in a transaction is recorded when the transaction is committed")
+    public void testWriteIsRecordedOnCommit() throws SQLException {
+        initializeReplicas();
+        Connection connection = DAOUtil.getConnection();
+        connection.prepareStatement("UPDATE").executeUpdate();
+        DAOUtil.getReadConnection();
+        connection.rollback();
+        DAOUtil.getReadConnection();
+        Assert.assertEquals(replica1.connectionCount + replica2.connectionCount, 2);
+
+        write(connection);
+        DAOUtil.getReadConnection();
+        Assert.assertEquals(replica1.connectionCount + replica2.connectionCount, 2);
+        Assert.assertEquals(getPool("primary").getStaleReadCount(), 1);
+    }
+
+    @Test(description = "Test that a write in auto commit mode is recorded when it is executed")
+    public void testWriteIsRecordedInAutoCommit() throws SQLException {
+        initializeReplicas();
+        Mockito.when(primary.connection.getAutoCommit()).thenReturn(true);
+        PreparedStatement statement = DAOUtil.getConnection().prepareStatement("DELETE");
+        statement.executeBatch();
+
+        Assert.assertSame(DAOUtil.getReadConnection(), primary.connection);
+        Assert.assertSame(statement.getConnection().getClass(), DAOUtil.getConnection().getClass());
+    }
+
+    @Test(description = "Test that a user reads from the replicas once the lag window passed")
+    public void testReadAfterLagWindowUsesReplica() throws SQLException {
+        initializeReplicas();
+        DAOUtil.setReplicaLagWindow(0);
+        DAOUtil.bindUser("writer");
+        write(DAOUtil.getConnection());
+        sleep(5);
+
+        DAOUtil.getReadConnection();
+        Assert.assertEquals(primary.connectionCount, 1);
+        Assert.assertEquals(replica1.connectionCount + replica2.connectionCount, 1);
+    }
+
+    @Test(description = "Test that reads fail over to another replica and then to the primary")
+    public void testReadFailover() throws SQLException {
+        initializeReplicas();
+        replica1.available = false;
+
+        Assert.assertSame(DAOUtil.getReadConnection(), replica2.connection);
+        Assert.assertSame(DAOUtil.getReadConnection(), replica2.connection);
+
+        replica2.available = false;
+        Assert.assertSame(DAOUtil.getReadConnection(), primary.connection);
+        Assert.assertTrue(getPool("replica1").getFailureCount() > 0);
+        Assert.assertEquals(getPool("replica2").getReadConnectionCount(), 2);
+    }
+
+    @Test(description = "Test that a replica which failed is skipped until the retry interval passes")
+    public void testUnavailableReplicaIsSkipped() throws SQLException {
+        initializeReplicas();
+        replica1.available = false;
+        for (int i = 0; i < 4; i++) {
+            Assert.assertSame(DAOUtil.getReadConnection(), replica2.connection);
+        }
+        Assert.assertEquals(getPool("replica1").getFailureCount(), 1);
+        Assert.assertFalse(getPool("replica1").isAvailable());
+    }
+
+    @Test(description = "Test that a single caller tries an unavailable replica again after the retry interval")
+    public void testUnavailableReplicaIsRetried() throws SQLException {
+        DataSourcePool pool = new DataSourcePool("replica1", replica1, true, 20);
+        replica1.available = false;
+        try {
+            pool.getConnection(true);
+            Assert.fail("Expected the connection to fail");
+        } catch (SQLException e) {
+            Assert.assertFalse(pool.isAvailable());
+        }
+        Assert.assertFalse(pool.allowConnectionAttempt());
+
+        sleep(30);
+        Assert.assertTrue(pool.allowConnectionAttempt());
+        Assert.assertFalse(pool.allowConnectionAttempt());
+
+        replica1.available = true;
+        pool.getConnection(true);
+        Assert.assertTrue(pool.isAvailable());
+        Assert.assertTrue(pool.allowConnectionAttempt());
+    }
+
+    @Test(description = "Test that only the connections which were obtained count towards the wait time")
+    public void testFailedConnectionIsNotTimed() throws SQLException {
+        DataSourcePool pool = new DataSourcePool("replica1", new StubDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                sleep(20);
+                throw new SQLException("Connection timed out");
+            }
+        }, true, 0);
+        try {
+            pool.getConnection(true);
+            Assert.fail("Expected the connection to fail");
+        } catch (SQLException e) {
+            Assert.assertEquals(pool.getConnectionWaitTime(), 0.0);
+        }
+    }
+
+    @Test(description = "Test that statistics are reported for every datasource")
+    public void testPoolStatistics() {
+        initializeReplicas();
+        List<DataSourcePoolMXBean> statistics = DAOUtil.getPoolStatistics();
+
+        Assert.assertEquals(statistics.size(), 3);
+        Assert.assertFalse(statistics.get(0).isReadReplica());
+        Assert.assertTrue(statistics.get(1).isReadReplica());
+        Assert.assertEquals(statistics.get(2).getName(), "replica2");
+        // the stub datasources have no pool
+        Assert.assertEquals(statistics.get(1).getTotalConnections(), 0);
+
+        DAOUtil.clearDataSource();
+        Assert.assertEquals(DAOUtil.getPoolStatistics(), Collections.emptyList());
+    }
+
+    private static void write(Connection connection) throws SQLException {
+        connection.prepareStatement("UPDATE").executeUpdate();
+        connection.commit();
+    }
+
+    private void initializeReplicas() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica1", replica1);
+        replicas.put("replica2", replica2);
+        DAOUtil.initializeReadReplicas(replicas);
+    }
+
+    private static DataSourcePoolMXBean getPool(String name) {
+        for (DataSourcePoolMXBean pool : DAOUtil.getPoolStatistics()) {
+            if (pool.getName().equals(name)) {
+                return pool;
+            }
+        }
+        throw new AssertionError("No datasource named " + name);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Datasource which hands out the same mock connection and counts the connections taken
+     */
+    private static class StubDataSource implements DataSource {
+        private final Connection connection = Mockito.mock(Connection.class);
+        private int connectionCount;
+        private boolean available = true;
+
+        private StubDataSource() {
+            try {
+                PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+                Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!available) {
+                throw new SQLException("Datasource is not available");
+            }
+            connectionCount++;
+            return connection;
+        }
+
+        @Override
+        public HikariDataSource getDatasource() throws SQLException {
+            return null;
+        }
+    }
+}
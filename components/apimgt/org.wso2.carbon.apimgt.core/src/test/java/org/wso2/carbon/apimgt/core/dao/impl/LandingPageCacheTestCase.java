@@ -0,0 +1,189 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.dao.ApiType;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for LandingPageCache
+ */
+public class LandingPageCacheTestCase {
+    private static final int MAX_ENTRIES = 1000;
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(1);
+    private static final List<String> STATUSES = Collections.singletonList("PUBLISHED");
+
+    private final LandingPageCache landingPageCache = LandingPageCache.getInstance();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        landingPageCache.configure(true, MAX_ENTRIES, EXPIRY_TIME);
+        loadCount.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        landingPageCache.configure(true, MAX_ENTRIES, EXPIRY_TIME);
+    }
+
+    @Test(description = "Test that a loaded page is served without loading it again")
+    public void testGetCachedPage() throws APIMgtDAOException {
+        long hits = landingPageCache.getHitCount();
+        List<LandingPageAPI> page = get(roles("Internal/subscriber"), null, null, "api1");
+        Assert.assertEquals(page.get(0).getApi().getName(), "api1");
+        Assert.assertEquals(get(roles("Internal/subscriber"), null, null, "api2"), page);
+
+        Assert.assertEquals(loadCount.get(), 1);
+        Assert.assertEquals(landingPageCache.getHitCount() - hits, 1);
+    }
+
+    @Test(description = "Test that pages are cached per set of visible roles and position")
+    public void testPagesAreKeyedByRolesAndPosition() throws APIMgtDAOException {
+        get(roles("role1", "role2"), null, null, "api1");
+        // the order of the roles does not matter
+        Assert.assertEquals(get(roles("role2", "role1"), null, null, "api2").get(0).getApi().getName(), "api1");
+        Assert.assertEquals(get(roles("role1"), null, null, "api3").get(0).getApi().getName(), "api3");
+        Assert.assertEquals(get(roles("role1"), "api3", "id3", "api4").get(0).getApi().getName(), "api4");
+
+        Assert.assertEquals(loadCount.get(), 3);
+        Assert.assertEquals(landingPageCache.getSize(), 3);
+    }
+
+    @Test(description = "Test that the pages are discarded when an API is changed")
+    public void testApiCacheInvalidation() throws APIMgtDAOException {
+        get(roles(), null, null, "api1");
+        ApiCache.getInstance().invalidateLocally("api1");
+        Assert.assertEquals(get(roles(), null, null, "api2").get(0).getApi().getName(), "api2");
+
+        ApiCache.getInstance().invalidateAllLocally();
+        Assert.assertEquals(get(roles(), null, null, "api3").get(0).getApi().getName(), "api3");
+        Assert.assertEquals(loadCount.get(), 3);
+    }
+
+    @Test(description = "Test that a page loaded before a concurrent invalidation is not cached")
+    public void testInvalidationDuringLoad() throws APIMgtDAOException {
+        List<LandingPageAPI> page = landingPageCache.get(roles(), STATUSES, ApiType.STANDARD, null, null, 0, 10,
+                () -> {
+                    landingPageCache.invalidateAll();
+                    return Collections.singletonList(landingPageAPI("api1"));
+                });
+
+        Assert.assertEquals(page.size(), 1);
+        Assert.assertEquals(landingPageCache.getSize(), 0);
+    }
+
+    @Test(description = "Test that pages expire")
+    public void testExpiry() throws APIMgtDAOException, InterruptedException {
+        landingPageCache.configure(true, MAX_ENTRIES, 50);
+        get(roles(), null, null, "api1");
+        Thread.sleep(100);
+
+        Assert.assertEquals(get(roles(), null, null, "api2").get(0).getApi().getName(), "api2");
+    }
+
+    @Test(description = "Test that the least recently used page is evicted")
+    public void testEviction() throws APIMgtDAOException {
+        landingPageCache.configure(true, 1, EXPIRY_TIME);
+        get(roles("role1"), null, null, "api1");
+        get(roles("role2"), null, null, "api2");
+
+        Assert.assertEquals(landingPageCache.getSize(), 1);
+        Assert.assertEquals(landingPageCache.getEvictionCount(), 1);
+        Assert.assertEquals(get(roles("role1"), null, null, "api3").get(0).getApi().getName(), "api3");
+    }
+
+    @Test(description = "Test that pages are loaded on every request when the cache is disabled")
+    public void testDisabledCache() throws APIMgtDAOException {
+        landingPageCache.configure(false, MAX_ENTRIES, EXPIRY_TIME);
+        get(roles(), null, null, "api1");
+        get(roles(), null, null, "api1");
+
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertEquals(landingPageCache.getSize(), 0);
+    }
+
+    @Test(description = "Test that the number of APIs is cached per set of visible roles")
+    public void testGetCachedCount() throws APIMgtDAOException {
+        Assert.assertEquals(landingPageCache.getCount(roles("role1"), STATUSES, ApiType.STANDARD, () -> {
+            loadCount.incrementAndGet();
+            return 10L;
+        }), 10L);
+        Assert.assertEquals(landingPageCache.getCount(roles("role1"), STATUSES, ApiType.STANDARD, () -> 20L), 10L);
+        Assert.assertEquals(landingPageCache.getCount(roles("role2"), STATUSES, ApiType.STANDARD, () -> 30L), 30L);
+
+        ApiCache.getInstance().invalidateAllLocally();
+        Assert.assertEquals(landingPageCache.getCount(roles("role1"), STATUSES, ApiType.STANDARD, () -> 40L), 40L);
+        Assert.assertEquals(loadCount.get(), 1);
+    }
+
+    @Test(description = "Test that the details of labels are cached regardless of the order of their names")
+    public void testGetCachedLabels() throws APIMgtDAOException {
+        List<Label> labels = landingPageCache.getLabels(Arrays.asList("label1", "label2"), () -> {
+            loadCount.incrementAndGet();
+            return Arrays.asList(label("label1"), label("label2"));
+        });
+        Assert.assertEquals(landingPageCache.getLabels(Arrays.asList("label2", "label1"),
+                () -> Collections.singletonList(label("label3"))), labels);
+        Assert.assertEquals(landingPageCache.getLabels(Collections.singletonList("label1"),
+                () -> Collections.singletonList(label("label1"))).size(), 1);
+
+        Assert.assertEquals(loadCount.get(), 1);
+        Assert.assertEquals(landingPageCache.getSize(), 2);
+    }
+
+    private List<LandingPageAPI> get(Set<String> visibleRoles, String afterName, String afterId, String apiName)
+            throws APIMgtDAOException {
+        return landingPageCache.get(visibleRoles, STATUSES, ApiType.STANDARD, afterName, afterId, 0, 10, () -> {
+            loadCount.incrementAndGet();
+            return Collections.singletonList(landingPageAPI(apiName));
+        });
+    }
+
+    private static Set<String> roles(String... roles) {
+        return new HashSet<>(Arrays.asList(roles));
+    }
+
+    private static Label label(String labelName) {
+        return new Label.Builder().id(labelName).name(labelName)
+                .accessUrls(Collections.singletonList("https://" + labelName)).build();
+    }
+
+    private static LandingPageAPI landingPageAPI(String apiName) {
+        API api = new API.APIBuilder("admin", apiName, "1.0.0").id(apiName).build();
+        return new LandingPageAPI(api, null, 0, 0, 0, Collections.emptySet(), Collections.emptySet());
+    }
+}
@@ -41,6 +41,7 @@ public class MySQLDataSource implements DataSource {
         basicDataSource.setPassword("root");
         basicDataSource.setAutoCommit(true);
         basicDataSource.setMaximumPoolSize(20);
+        basicDataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
     }
 
     /**
@@ -0,0 +1,184 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for ResourceVersionCache
+ */
+public class ResourceVersionCacheTestCase {
+    private static final int MAX_ENTRIES = 50000;
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(1);
+
+    private final ResourceVersionCache versionCache = ResourceVersionCache.getInstance();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        versionCache.configure(true, MAX_ENTRIES, EXPIRY_TIME);
+        loadCount.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        versionCache.setInvalidationListener(null);
+        versionCache.configure(true, MAX_ENTRIES, EXPIRY_TIME);
+    }
+
+    @Test(description = "Test that a loaded version is served without loading it again")
+    public void testGetCachedVersion() throws APIMgtDAOException {
+        Assert.assertNull(versionCache.getVersion(ResourceType.DOCUMENT, "doc1"));
+        Assert.assertEquals(get(ResourceType.DOCUMENT, "doc1", "v1"), "v1");
+        Assert.assertEquals(get(ResourceType.DOCUMENT, "doc1", "v2"), "v1");
+        Assert.assertEquals(versionCache.getVersion(ResourceType.DOCUMENT, "doc1"), "v1");
+        // the same identifier of another type is a different resource
+        Assert.assertNull(versionCache.getVersion(ResourceType.DOCUMENT_CONTENT, "doc1"));
+
+        Assert.assertEquals(loadCount.get(), 1);
+    }
+
+    @Test(description = "Test that null versions are not cached")
+    public void testNullVersionIsNotCached() throws APIMgtDAOException {
+        Assert.assertNull(get(ResourceType.COMMENT, "comment1", null));
+        Assert.assertNull(versionCache.getVersion(ResourceType.COMMENT, "comment1"));
+        Assert.assertEquals(versionCache.getSize(), 0);
+    }
+
+    @Test(description = "Test that invalidating a resource only removes its version")
+    public void testInvalidate() throws APIMgtDAOException {
+        get(ResourceType.APPLICATION, "app1", "v1");
+        get(ResourceType.APPLICATION, "app2", "v1");
+        versionCache.invalidate(ResourceType.APPLICATION, "app1");
+
+        Assert.assertNull(versionCache.getVersion(ResourceType.APPLICATION, "app1"));
+        Assert.assertEquals(versionCache.getVersion(ResourceType.APPLICATION, "app2"), "v1");
+    }
+
+    @Test(description = "Test that invalidating a type removes the versions of all its resources")
+    public void testInvalidateType() throws APIMgtDAOException {
+        get(ResourceType.POLICY, ResourceVersionCache.getPolicyId("api", "Gold"), "v1");
+        get(ResourceType.POLICY, ResourceVersionCache.getPolicyId("application", "Gold"), "v1");
+        get(ResourceType.SUBSCRIPTION, "sub1", "v1");
+        versionCache.invalidateAll(ResourceType.POLICY);
+
+        Assert.assertNull(versionCache.getVersion(ResourceType.POLICY,
+                ResourceVersionCache.getPolicyId("api", "Gold")));
+        Assert.assertEquals(versionCache.getSize(), 1);
+    }
+
+    @Test(description = "Test that the versions owned by an API are invalidated along with its API cache entry")
+    public void testApiCacheInvalidation() throws APIMgtDAOException {
+        get(ResourceType.API, "api1", "v1");
+        get(ResourceType.THUMBNAIL, "api1", "v1");
+        get(ResourceType.API, "api2", "v1");
+        get(ResourceType.DOCUMENT, "doc1", "v1");
+        ApiCache.getInstance().invalidateLocally("api1");
+
+        Assert.assertNull(versionCache.getVersion(ResourceType.API, "api1"));
+        Assert.assertNull(versionCache.getVersion(ResourceType.THUMBNAIL, "api1"));
+        Assert.assertEquals(versionCache.getVersion(ResourceType.API, "api2"), "v1");
+
+        ApiCache.getInstance().invalidateAllLocally();
+        Assert.assertNull(versionCache.getVersion(ResourceType.API, "api2"));
+        Assert.assertEquals(versionCache.getVersion(ResourceType.DOCUMENT, "doc1"), "v1");
+    }
+
+    @Test(description = "Test that the invalidations made on this node are given to the listener")
+    public void testInvalidationListener() throws APIMgtDAOException {
+        List<String> notifications = new ArrayList<>();
+        versionCache.setInvalidationListener((type, resourceId) -> notifications.add(type + ":" + resourceId));
+        get(ResourceType.DOCUMENT, "doc1", "v1");
+        versionCache.invalidate(ResourceType.DOCUMENT, "doc1");
+        versionCache.invalidateAll(ResourceType.POLICY, ResourceType.SUBSCRIPTION);
+        // invalidations received from other nodes and those of APIs are not propagated by this cache
+        get(ResourceType.COMMENT, "comment1", "v1");
+        versionCache.invalidateLocally(ResourceType.COMMENT, "comment1");
+        versionCache.invalidateAllLocally(ResourceType.APPLICATION);
+        ApiCache.getInstance().invalidateLocally("api1");
+
+        Assert.assertNull(versionCache.getVersion(ResourceType.DOCUMENT, "doc1"));
+        Assert.assertNull(versionCache.getVersion(ResourceType.COMMENT, "comment1"));
+        Assert.assertEquals(notifications, Arrays.asList("DOCUMENT:doc1", "POLICY:null", "SUBSCRIPTION:null"));
+    }
+
+    @Test(description = "Test that a version loaded before a concurrent invalidation is not cached")
+    public void testInvalidationDuringLoad() throws APIMgtDAOException {
+        String version = versionCache.get(ResourceType.ENDPOINT, "endpoint1", () -> {
+            versionCache.invalidate(ResourceType.ENDPOINT, "endpoint1");
+            return "v1";
+        });
+
+        Assert.assertEquals(version, "v1");
+        Assert.assertNull(versionCache.getVersion(ResourceType.ENDPOINT, "endpoint1"));
+    }
+
+    @Test(description = "Test that versions expire")
+    public void testExpiry() throws APIMgtDAOException, InterruptedException {
+        versionCache.configure(true, MAX_ENTRIES, 50);
+        get(ResourceType.SUBSCRIPTION, "sub1", "v1");
+        Thread.sleep(100);
+
+        Assert.assertNull(versionCache.getVersion(ResourceType.SUBSCRIPTION, "sub1"));
+        Assert.assertEquals(get(ResourceType.SUBSCRIPTION, "sub1", "v2"), "v2");
+    }
+
+    @Test(description = "Test that the least recently used version is evicted")
+    public void testEviction() throws APIMgtDAOException {
+        versionCache.configure(true, 2, EXPIRY_TIME);
+        get(ResourceType.COMMENT, "comment1", "v1");
+        get(ResourceType.COMMENT, "comment2", "v1");
+        versionCache.getVersion(ResourceType.COMMENT, "comment1");
+        get(ResourceType.COMMENT, "comment3", "v1");
+
+        Assert.assertEquals(versionCache.getSize(), 2);
+        Assert.assertNull(versionCache.getVersion(ResourceType.COMMENT, "comment2"));
+        Assert.assertEquals(versionCache.getVersion(ResourceType.COMMENT, "comment1"), "v1");
+    }
+
+    @Test(description = "Test that versions are loaded on every lookup when the cache is disabled")
+    public void testDisabledCache() throws APIMgtDAOException {
+        versionCache.configure(false, MAX_ENTRIES, EXPIRY_TIME);
+        get(ResourceType.API, "api1", "v1");
+        get(ResourceType.API, "api1", "v1");
+
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertNull(versionCache.getVersion(ResourceType.API, "api1"));
+    }
+
+    private String get(ResourceType type, String resourceId, String version) throws APIMgtDAOException {
+        return versionCache.get(type, resourceId, () -> {
+            loadCount.incrementAndGet();
+            return version;
+        });
+    }
+}
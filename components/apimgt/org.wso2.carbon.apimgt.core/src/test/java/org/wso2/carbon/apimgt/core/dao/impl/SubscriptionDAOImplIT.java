@@ -34,7 +34,9 @@ import org.wso2.carbon.apimgt.core.util.ETagUtils;
 import org.wso2.carbon.apimgt.core.util.KeyManagerConstants;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class SubscriptionDAOImplIT extends DAOIntegrationTestBase {
@@ -552,6 +554,72 @@ public class SubscriptionDAOImplIT extends DAOIntegrationTestBase {
         Assert.assertNull(apiSubscriptionDAO.getAPISubscription(uuid));
     }
 
+    @Test
+    public void testBulkSubscriptionOperations() throws Exception {
+        //add new app
+        Application app = TestUtil.addTestApplication();
+        //add new apis
+        List<API> apis = new ArrayList<>();
+        apis.add(TestUtil.addCustomAPI(API_1, API_VERSION, API1_CONTEXT));
+        apis.add(TestUtil.addCustomAPI(API_2, API_VERSION, API2_CONTEXT));
+        apis.add(TestUtil.addCustomAPI(API_3, API_VERSION, API3_CONTEXT));
+        //add subscriptions
+        APISubscriptionDAO apiSubscriptionDAO = DAOFactory.getAPISubscriptionDAO();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (API api : apis) {
+            Subscription subscription = new Subscription(UUID.randomUUID().toString(), app, api, GOLD_TIER);
+            subscription.setStatus(APIMgtConstants.SubscriptionStatus.ON_HOLD);
+            subscriptions.add(subscription);
+        }
+        apiSubscriptionDAO.addAPISubscriptions(subscriptions);
+        List<String> subscriptionIds = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            Subscription addedSubscription = apiSubscriptionDAO.getAPISubscription(subscription.getId());
+            Assert.assertNotNull(addedSubscription);
+            Assert.assertEquals(addedSubscription.getStatus(), APIMgtConstants.SubscriptionStatus.ON_HOLD);
+            Assert.assertEquals(addedSubscription.getSubscriptionTier(), GOLD_TIER);
+            subscriptionIds.add(subscription.getId());
+        }
+
+        //subscribing again to one of the apis fails without adding any of the subscriptions
+        API api4 = TestUtil.addCustomAPI(API_4, API_VERSION, API4_CONTEXT);
+        List<Subscription> duplicateSubscriptions = new ArrayList<>();
+        duplicateSubscriptions.add(new Subscription(UUID.randomUUID().toString(), app, api4, GOLD_TIER));
+        duplicateSubscriptions.add(new Subscription(UUID.randomUUID().toString(), app, apis.get(0), GOLD_TIER));
+        try {
+            apiSubscriptionDAO.addAPISubscriptions(duplicateSubscriptions);
+            Assert.fail("Duplicate subscription was added");
+        } catch (APIMgtDAOException e) {
+            Assert.assertNull(apiSubscriptionDAO.getAPISubscription(duplicateSubscriptions.get(0).getId()));
+        }
+
+        //update policies
+        Map<String, String> subscriptionPolicies = new HashMap<>();
+        for (String subscriptionId : subscriptionIds) {
+            subscriptionPolicies.put(subscriptionId, SILVER_TIER);
+        }
+        apiSubscriptionDAO.updateSubscriptionPolicies(subscriptionPolicies);
+        for (String subscriptionId : subscriptionIds) {
+            Subscription subscription = apiSubscriptionDAO.getAPISubscription(subscriptionId);
+            Assert.assertEquals(subscription.getSubscriptionTier(), SILVER_TIER);
+        }
+
+        //update statuses
+        Map<String, APIMgtConstants.SubscriptionStatus> subscriptionStatuses = new HashMap<>();
+        for (String subscriptionId : subscriptionIds) {
+            subscriptionStatuses.put(subscriptionId, APIMgtConstants.SubscriptionStatus.ACTIVE);
+        }
+        apiSubscriptionDAO.updateSubscriptionStatuses(subscriptionStatuses);
+        for (String subscriptionId : subscriptionIds) {
+            Subscription subscription = apiSubscriptionDAO.getAPISubscription(subscriptionId);
+            Assert.assertEquals(subscription.getStatus(), APIMgtConstants.SubscriptionStatus.ACTIVE);
+        }
+
+        //delete subscriptions
+        apiSubscriptionDAO.deleteAPISubscriptions(subscriptionIds);
+        Assert.assertTrue(apiSubscriptionDAO.getAPISubscriptionsByApplication(app.getId()).isEmpty());
+    }
+
     @Test
     public void testGetPendingAPISubscriptionsByApplication() throws Exception {
         //add new app
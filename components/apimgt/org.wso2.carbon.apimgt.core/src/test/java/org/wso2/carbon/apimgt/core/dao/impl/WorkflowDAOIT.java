@@ -29,6 +29,8 @@ import org.wso2.carbon.apimgt.core.models.WorkflowStatus;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.WorkflowConstants;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -84,6 +86,25 @@ public class WorkflowDAOIT extends DAOIntegrationTestBase {
         Assert.assertEquals(retrieveWorflow.getStatus(), WorkflowStatus.APPROVED);
     }
     
+    @Test
+    public void testUpdateWorkflowStatuses() throws Exception {
+        WorkflowDAO workflowDAO = DAOFactory.getWorkflowDAO();
+        List<Workflow> workflows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Workflow workflow = SampleTestObjectCreator.createWorkflow(UUID.randomUUID().toString());
+            workflowDAO.addWorkflowEntry(workflow);
+            workflow.setStatus(WorkflowStatus.APPROVED);
+            workflow.setUpdatedTime(LocalDateTime.now());
+            workflows.add(workflow);
+        }
+        workflowDAO.updateWorkflowStatuses(workflows);
+
+        for (Workflow workflow : workflows) {
+            Workflow retrieveWorflow = workflowDAO.retrieveWorkflow(workflow.getExternalWorkflowReference());
+            Assert.assertEquals(retrieveWorflow.getStatus(), WorkflowStatus.APPROVED);
+        }
+    }
+
     @Test 
     public void testUpdateWorkflowStatusWithoutAddingEntry() throws Exception {
         WorkflowDAO workflowDAO = DAOFactory.getWorkflowDAO();
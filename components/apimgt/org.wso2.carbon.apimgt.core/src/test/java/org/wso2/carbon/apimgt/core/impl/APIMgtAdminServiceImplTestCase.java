@@ -21,8 +21,10 @@
 package org.wso2.carbon.apimgt.core.impl;
 
 import org.mockito.Mockito;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.apimgt.core.SampleTestObjectCreator;
+import org.wso2.carbon.apimgt.core.api.ResultHandler;
 import org.wso2.carbon.apimgt.core.dao.APISubscriptionDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiDAO;
 import org.wso2.carbon.apimgt.core.dao.ApiType;
@@ -31,6 +33,7 @@ import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.APISummary;
 import org.wso2.carbon.apimgt.core.models.Label;
 import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
@@ -61,6 +64,15 @@ public class APIMgtAdminServiceImplTestCase {
         verify(apiSubscriptionDAO, times(1)).getAPISubscriptionsOfAPIForValidation(LIMIT);
     }
 
+    @Test(description = "Get api subscriptions one subscription at a time")
+    public void testGetAPISubscriptionsWithHandler() throws Exception {
+        APISubscriptionDAO apiSubscriptionDAO = mock(APISubscriptionDAO.class);
+        APIMgtAdminServiceImpl adminService = newAPIMgtAdminServiceImplforAPISubscriptionDAO(apiSubscriptionDAO);
+        ResultHandler<SubscriptionValidationData> handler = subscription -> { };
+        adminService.getAPISubscriptions(LIMIT, handler);
+        verify(apiSubscriptionDAO, times(1)).getAPISubscriptionsOfAPIForValidation(LIMIT, handler);
+    }
+
     @Test(description = "Get api subscriptions of API")
     public void testGetAPISubscriptionsOfApi() throws APIManagementException {
         APISubscriptionDAO apiSubscriptionDAO = mock(APISubscriptionDAO.class);
@@ -112,6 +124,19 @@ public class APIMgtAdminServiceImplTestCase {
         verify(apiDAO, times(1)).getAPIs(ApiType.STANDARD);
     }
 
+    @Test(description = "Get API Info one API at a time")
+    public void testGetAPIInfoWithHandler() throws Exception {
+        ApiDAO apiDAO = mock(ApiDAO.class);
+        APIMgtAdminServiceImpl adminService = newAPIMgtAdminServiceImplforApiDAO(apiDAO);
+        List<API> apiList = SampleTestObjectCreator.createMockAPIList();
+        when(apiDAO.getAPIs(ApiType.STANDARD)).thenReturn(apiList);
+        List<APISummary> apiSummaries = new ArrayList<>();
+        adminService.getAPIInfo(apiSummaries::add);
+        Assert.assertEquals(apiSummaries.size(), apiList.size());
+        Assert.assertEquals(apiSummaries.get(0).getId(), apiList.get(0).getId());
+        Assert.assertEquals(apiSummaries.get(0).getUriTemplates().size(), apiList.get(0).getUriTemplates().size());
+    }
+
     @Test(description = "Delete a label")
     public void testDeleteLabel() throws APIManagementException {
         LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
@@ -20,6 +20,8 @@
 
 package org.wso2.carbon.apimgt.core.impl;
 
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.testng.Assert;
@@ -38,6 +40,7 @@ import org.wso2.carbon.apimgt.core.dao.LabelDAO;
 import org.wso2.carbon.apimgt.core.dao.PolicyDAO;
 import org.wso2.carbon.apimgt.core.dao.TagDAO;
 import org.wso2.carbon.apimgt.core.dao.WorkflowDAO;
+import org.wso2.carbon.apimgt.core.dao.impl.LandingPageCache;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
 import org.wso2.carbon.apimgt.core.exception.APIMgtResourceAlreadyExistsException;
@@ -53,6 +56,7 @@ import org.wso2.carbon.apimgt.core.models.ApplicationUpdateWorkflow;
 import org.wso2.carbon.apimgt.core.models.Comment;
 import org.wso2.carbon.apimgt.core.models.Event;
 import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
 import org.wso2.carbon.apimgt.core.models.Subscription;
 import org.wso2.carbon.apimgt.core.models.SubscriptionResponse;
 import org.wso2.carbon.apimgt.core.models.SubscriptionWorkflow;
@@ -60,6 +64,7 @@ import org.wso2.carbon.apimgt.core.models.Workflow;
 import org.wso2.carbon.apimgt.core.models.WorkflowConfig;
 import org.wso2.carbon.apimgt.core.models.WorkflowStatus;
 import org.wso2.carbon.apimgt.core.models.policy.Policy;
+import org.wso2.carbon.apimgt.core.models.policy.SubscriptionPolicy;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.ApplicationStatus;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants.SubscriptionStatus;
@@ -139,11 +144,56 @@ public class APIStoreImplTestCase {
         List<String> statuses = new ArrayList<>();
         statuses.add(APIStatus.PUBLISHED.getStatus());
         statuses.add(APIStatus.PROTOTYPED.getStatus());
-        Mockito.when(apiDAO.getAPIsByStatus(statuses, ApiType.STANDARD)).thenReturn(apimResultsFromDAO);
+        Mockito.when(apiDAO.getAPIsByStatus(APIUtils.getAllRolesOfUser("admin"), statuses, ApiType.STANDARD, null,
+                null, 1, 2)).thenReturn(apimResultsFromDAO);
         List<API> apis = apiStore.searchAPIs("", 1, 2);
         Assert.assertNotNull(apis);
         Mockito.verify(apiDAO, Mockito.atLeastOnce()).getAPIsByStatus(APIUtils.getAllRolesOfUser("admin"),
-                                                                                    statuses, ApiType.STANDARD);
+                statuses, ApiType.STANDARD, null, null, 1, 2);
+    }
+
+    @Test(description = "Retrieve a page of store APIs after a given API")
+    public void getStoreAPIs() throws APIManagementException {
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        APIStore apiStore = getApiStoreImpl(apiDAO);
+        List<String> statuses = Arrays.asList(APIStatus.PUBLISHED.getStatus(), APIStatus.PROTOTYPED.getStatus());
+        List<API> apimResultsFromDAO = new ArrayList<>();
+        Mockito.when(apiDAO.getAPIsByStatus(APIUtils.getAllRolesOfUser("admin"), statuses, ApiType.STANDARD,
+                "PizzaAPI", UUID, 0, 2)).thenReturn(apimResultsFromDAO);
+        List<API> apis = apiStore.getStoreAPIs("PizzaAPI", UUID, 0, 2);
+        Assert.assertSame(apis, apimResultsFromDAO);
+    }
+
+    @Test(description = "Retrieve a page of the landing page after a given API")
+    public void getLandingPageAPIs() throws APIManagementException {
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        APIStore apiStore = getApiStoreImpl(apiDAO);
+        List<String> statuses = Arrays.asList(APIStatus.PUBLISHED.getStatus(), APIStatus.PROTOTYPED.getStatus());
+        List<LandingPageAPI> landingPageFromDAO = new ArrayList<>();
+        Mockito.when(apiDAO.getLandingPageAPIs(APIUtils.getAllRolesOfUser("admin"), statuses, ApiType.STANDARD,
+                "PizzaAPI", UUID, 0, 2)).thenReturn(landingPageFromDAO);
+        List<LandingPageAPI> landingPageAPIs = apiStore.getLandingPageAPIs("PizzaAPI", UUID, 0, 2);
+        Assert.assertSame(landingPageAPIs, landingPageFromDAO);
+    }
+
+    @Test(description = "Exception when retrieving the landing page", expectedExceptions = APIManagementException.class)
+    public void getLandingPageAPIsWithException() throws APIManagementException {
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        APIStore apiStore = getApiStoreImpl(apiDAO);
+        List<String> statuses = Arrays.asList(APIStatus.PUBLISHED.getStatus(), APIStatus.PROTOTYPED.getStatus());
+        Mockito.when(apiDAO.getLandingPageAPIs(APIUtils.getAllRolesOfUser("admin"), statuses, ApiType.STANDARD,
+                null, null, 0, 2)).thenThrow(new APIMgtDAOException("Error while retrieving landing page in store."));
+        apiStore.getLandingPageAPIs(null, null, 0, 2);
+    }
+
+    @Test(description = "Estimate the number of store APIs")
+    public void getEstimatedStoreAPICount() throws APIManagementException {
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        APIStore apiStore = getApiStoreImpl(apiDAO);
+        List<String> statuses = Arrays.asList(APIStatus.PUBLISHED.getStatus(), APIStatus.PROTOTYPED.getStatus());
+        Mockito.when(apiDAO.getEstimatedAPICountByStatus(APIUtils.getAllRolesOfUser("admin"), statuses,
+                ApiType.STANDARD)).thenReturn(20000L);
+        Assert.assertEquals(apiStore.getEstimatedStoreAPICount(), 20000L);
     }
 
     @Test(description = "Search API", expectedExceptions = APIManagementException.class)
@@ -298,6 +348,97 @@ public class APIStoreImplTestCase {
                 APIMgtConstants.SubscriptionStatus.ACTIVE);
     }
 
+    @Test(description = "Add subscriptions to several APIs in one request")
+    public void testAddSubscriptions() throws APIManagementException {
+        ApplicationDAO applicationDAO = Mockito.mock(ApplicationDAO.class);
+        APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        PolicyDAO policyDAO = Mockito.mock(PolicyDAO.class);
+        WorkflowDAO workflowDAO = Mockito.mock(WorkflowDAO.class);
+        APIStore apiStore = new APIStoreImpl(USER_NAME, apiDAO, applicationDAO, apiSubscriptionDAO, policyDAO, null,
+                null, workflowDAO);
+
+        API api1 = SampleTestObjectCreator.createDefaultAPI().build();
+        API api2 = SampleTestObjectCreator.createAlternativeAPI().build();
+        Application application = new Application("TestApp", USER_ID);
+        application.setId(UUID);
+
+        Mockito.when(apiDAO.getAPI(api1.getId())).thenReturn(api1);
+        Mockito.when(apiDAO.getAPI(api2.getId())).thenReturn(api2);
+        Mockito.when(applicationDAO.getApplication(UUID)).thenReturn(application);
+        Mockito.when(policyDAO.getSubscriptionPolicy(TIER)).thenReturn(new SubscriptionPolicy(TIER));
+
+        // the subscriptions are updated after they are added, so record their statuses when they are added
+        List<SubscriptionStatus> addedStatuses = new ArrayList<>();
+        Mockito.doAnswer(invocation -> {
+            for (Object subscription : (List) invocation.getArguments()[0]) {
+                addedStatuses.add(((Subscription) subscription).getStatus());
+            }
+            return null;
+        }).when(apiSubscriptionDAO).addAPISubscriptions(Mockito.anyList());
+
+        Map<String, String> apiTiers = new HashMap<>();
+        apiTiers.put(api1.getId(), TIER);
+        apiTiers.put(api2.getId(), TIER);
+        List<SubscriptionResponse> subscriptionResponses = apiStore.addApiSubscriptions(UUID, apiTiers);
+        Assert.assertEquals(subscriptionResponses.size(), 2);
+
+        // the tier is looked up once and all subscriptions are added on hold in one call before the workflows, and
+        // activated in one call after them
+        Mockito.verify(policyDAO, Mockito.times(1)).getSubscriptionPolicy(TIER);
+        Assert.assertEquals(addedStatuses, Arrays.asList(SubscriptionStatus.ON_HOLD, SubscriptionStatus.ON_HOLD));
+        ArgumentCaptor<Map> subscriptionStatuses = ArgumentCaptor.forClass(Map.class);
+        InOrder inOrder = Mockito.inOrder(apiSubscriptionDAO);
+        inOrder.verify(apiSubscriptionDAO, Mockito.times(1)).addAPISubscriptions(Mockito.anyList());
+        inOrder.verify(apiSubscriptionDAO, Mockito.times(1)).updateSubscriptionStatuses(subscriptionStatuses.capture());
+        Assert.assertEquals(subscriptionStatuses.getValue().size(), 2);
+        for (Object subscriptionStatus : subscriptionStatuses.getValue().values()) {
+            Assert.assertEquals(subscriptionStatus, SubscriptionStatus.ACTIVE);
+        }
+        Mockito.verify(apiSubscriptionDAO, Mockito.times(0)).addAPISubscription(Mockito.anyString(),
+                Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
+                Mockito.any(APIMgtConstants.SubscriptionStatus.class));
+        Mockito.verify(workflowDAO, Mockito.times(1)).updateWorkflowStatuses(Mockito.anyList());
+    }
+
+    @Test(description = "Add subscriptions with an unknown tier", expectedExceptions = APIManagementException.class)
+    public void testAddSubscriptionsForInvalidTier() throws APIManagementException {
+        ApplicationDAO applicationDAO = Mockito.mock(ApplicationDAO.class);
+        APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
+        ApiDAO apiDAO = Mockito.mock(ApiDAO.class);
+        PolicyDAO policyDAO = Mockito.mock(PolicyDAO.class);
+        APIStore apiStore = new APIStoreImpl(USER_NAME, apiDAO, applicationDAO, apiSubscriptionDAO, policyDAO, null,
+                null, null);
+
+        API api = SampleTestObjectCreator.createDefaultAPI().build();
+        Application application = new Application("TestApp", USER_ID);
+        application.setId(UUID);
+
+        Mockito.when(apiDAO.getAPI(api.getId())).thenReturn(api);
+        Mockito.when(applicationDAO.getApplication(UUID)).thenReturn(application);
+        Mockito.when(policyDAO.getSubscriptionPolicy(TIER)).thenReturn(null);
+
+        Map<String, String> apiTiers = new HashMap<>();
+        apiTiers.put(api.getId(), TIER);
+        try {
+            apiStore.addApiSubscriptions(UUID, apiTiers);
+        } finally {
+            Mockito.verify(apiSubscriptionDAO, Mockito.times(0)).addAPISubscriptions(Mockito.anyList());
+        }
+    }
+
+    @Test(description = "Delete a subscription more than once in one request",
+            expectedExceptions = APIManagementException.class)
+    public void testDeleteDuplicateSubscriptions() throws APIManagementException {
+        APISubscriptionDAO apiSubscriptionDAO = Mockito.mock(APISubscriptionDAO.class);
+        APIStore apiStore = getApiStoreImpl(null, apiSubscriptionDAO);
+        try {
+            apiStore.deleteAPISubscriptions(Arrays.asList(UUID, UUID));
+        } finally {
+            Mockito.verify(apiSubscriptionDAO, Mockito.times(0)).deleteAPISubscriptions(Mockito.anyList());
+        }
+    }
+
     @Test(description = "Add subscription without a valid app", expectedExceptions = APIManagementException.class)
     public void testAddSubscriptionForInvalidApplication() throws APIManagementException {
         ApplicationDAO applicationDAO = Mockito.mock(ApplicationDAO.class);
@@ -518,6 +659,7 @@ public class APIStoreImplTestCase {
 
     @Test(description = "Retrieve labels")
     public void testGetLabelInfo() throws APIManagementException {
+        LandingPageCache.getInstance().invalidateAll();
         LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
         APIStore apiStore = getApiStoreImpl(labelDAO);
         List<Label> labelList = new ArrayList<>();
@@ -871,6 +1013,7 @@ public class APIStoreImplTestCase {
 
     @Test(description = "Exception when retrieving labels", expectedExceptions = LabelException.class)
     public void testGetLabelInfoException() throws APIManagementException {
+        LandingPageCache.getInstance().invalidateAll();
         LabelDAO labelDAO = Mockito.mock(LabelDAO.class);
         APIStore apiStore = getApiStoreImpl(labelDAO);
         List<String> labels = new ArrayList<>();
@@ -0,0 +1,174 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.exception.KeyManagementException;
+import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for AccessTokenCache
+ */
+public class AccessTokenCacheTestCase {
+    private static final int MAX_ENTRIES = 10000;
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(5);
+    private static final long INVALID_TOKEN_EXPIRY_TIME = TimeUnit.SECONDS.toMillis(30);
+
+    private final AccessTokenCache accessTokenCache = AccessTokenCache.getInstance();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        accessTokenCache.configure(true, MAX_ENTRIES, EXPIRY_TIME, INVALID_TOKEN_EXPIRY_TIME);
+        loadCount.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        accessTokenCache.configure(true, MAX_ENTRIES, EXPIRY_TIME, INVALID_TOKEN_EXPIRY_TIME);
+    }
+
+    @Test(description = "Test that a valid token is only validated once")
+    public void testValidTokenIsCached() throws APIManagementException {
+        long hits = accessTokenCache.getHitCount();
+        AccessTokenInfo tokenInfo = get("token1", tokenInfo(true, 0));
+
+        Assert.assertSame(get("token1", tokenInfo(true, 0)), tokenInfo);
+        Assert.assertEquals(loadCount.get(), 1);
+        Assert.assertEquals(accessTokenCache.getHitCount() - hits, 1);
+        Assert.assertEquals(accessTokenCache.getSize(), 1);
+    }
+
+    @Test(description = "Test that the rejection of an invalid token is cached")
+    public void testInvalidTokenIsCached() throws APIManagementException {
+        long negativeHits = accessTokenCache.getNegativeHitCount();
+        Assert.assertFalse(get("token1", tokenInfo(false, 0)).isTokenValid());
+        Assert.assertFalse(get("token1", tokenInfo(true, 0)).isTokenValid());
+
+        Assert.assertEquals(loadCount.get(), 1);
+        Assert.assertEquals(accessTokenCache.getNegativeHitCount() - negativeHits, 1);
+    }
+
+    @Test(description = "Test that a token is not cached beyond its expiry time")
+    public void testExpiredTokenIsNotCached() throws APIManagementException, InterruptedException {
+        Assert.assertTrue(get("token1", tokenInfo(true, System.currentTimeMillis() - 1000)).isTokenValid());
+        Assert.assertEquals(accessTokenCache.getSize(), 0);
+
+        get("token2", tokenInfo(true, System.currentTimeMillis() + 50));
+        Thread.sleep(100);
+        get("token2", tokenInfo(true, 0));
+        Assert.assertEquals(loadCount.get(), 3);
+    }
+
+    @Test(description = "Test that a token which never expires is cached for the configured time")
+    public void testNeverExpiringTokenIsCached() throws APIManagementException {
+        get("token1", tokenInfo(true, Long.MAX_VALUE));
+        get("token1", tokenInfo(true, Long.MAX_VALUE));
+
+        Assert.assertEquals(loadCount.get(), 1);
+    }
+
+    @Test(description = "Test that a revoked token is validated again")
+    public void testInvalidate() throws APIManagementException {
+        get("token1", tokenInfo(true, 0));
+        get("token2", tokenInfo(true, 0));
+        accessTokenCache.invalidate("token1");
+
+        Assert.assertFalse(get("token1", tokenInfo(false, 0)).isTokenValid());
+        Assert.assertTrue(get("token2", tokenInfo(false, 0)).isTokenValid());
+        Assert.assertEquals(loadCount.get(), 3);
+    }
+
+    @Test(description = "Test that a validation which raced with a revocation is not cached")
+    public void testRevocationDuringValidation() throws APIManagementException {
+        accessTokenCache.get("token1", () -> {
+            accessTokenCache.invalidate("token1");
+            return tokenInfo(true, 0);
+        });
+
+        Assert.assertEquals(accessTokenCache.getSize(), 0);
+    }
+
+    @Test(description = "Test that validation failures are not cached")
+    public void testFailureIsNotCached() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                accessTokenCache.get("token1", () -> {
+                    loadCount.incrementAndGet();
+                    throw new KeyManagementException("Introspection failed", ExceptionCodes.TOKEN_INTROSPECTION_FAILED);
+                });
+                Assert.fail("Validation failure is not propagated");
+            } catch (APIManagementException e) {
+                Assert.assertEquals(e.getMessage(), "Introspection failed");
+            }
+        }
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test(description = "Test that the least recently used token is evicted")
+    public void testEviction() throws APIManagementException {
+        accessTokenCache.configure(true, 2, EXPIRY_TIME, INVALID_TOKEN_EXPIRY_TIME);
+        long evictions = accessTokenCache.getEvictionCount();
+        get("token1", tokenInfo(true, 0));
+        get("token2", tokenInfo(true, 0));
+        get("token1", tokenInfo(true, 0));
+        get("token3", tokenInfo(true, 0));
+
+        Assert.assertEquals(accessTokenCache.getSize(), 2);
+        Assert.assertEquals(accessTokenCache.getEvictionCount() - evictions, 1);
+        get("token1", tokenInfo(true, 0));
+        Assert.assertEquals(loadCount.get(), 3);
+        get("token2", tokenInfo(true, 0));
+        Assert.assertEquals(loadCount.get(), 4);
+    }
+
+    @Test(description = "Test that tokens are validated on every request when the cache is disabled")
+    public void testDisabledCache() throws APIManagementException {
+        accessTokenCache.configure(false, MAX_ENTRIES, EXPIRY_TIME, INVALID_TOKEN_EXPIRY_TIME);
+        get("token1", tokenInfo(true, 0));
+        get("token1", tokenInfo(true, 0));
+
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertEquals(accessTokenCache.getSize(), 0);
+    }
+
+    private AccessTokenInfo get(String token, AccessTokenInfo tokenInfo) throws APIManagementException {
+        return accessTokenCache.get(token, () -> {
+            loadCount.incrementAndGet();
+            return tokenInfo;
+        });
+    }
+
+    private static AccessTokenInfo tokenInfo(boolean valid, long expiryTime) {
+        AccessTokenInfo tokenInfo = new AccessTokenInfo();
+        tokenInfo.setTokenValid(valid);
+        tokenInfo.setValidityPeriod(expiryTime);
+        return tokenInfo;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController.Admission;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController.Operation;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController.Rejection;
+
+/**
+ * Test class for AdmissionController
+ */
+public class AdmissionControllerTestCase {
+    private static final double REQUEST_RATE = 0.01;
+    private static final int REQUEST_BURST = 3;
+    private static final int MAX_CLIENTS = 100;
+    private static final int MAX_CONCURRENT_OPERATIONS = 2;
+    private static final long CONNECTION_WAIT_THRESHOLD = 500;
+    private static final long RETRY_AFTER = 5;
+    private static final long OPERATION_TIMEOUT = 600;
+
+    private final AdmissionController admissionController = AdmissionController.getInstance();
+
+    @BeforeMethod
+    public void setUp() {
+        admissionController.configure(true, REQUEST_RATE, REQUEST_BURST, MAX_CLIENTS, MAX_CONCURRENT_OPERATIONS,
+                CONNECTION_WAIT_THRESHOLD, RETRY_AFTER, OPERATION_TIMEOUT);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        admissionController.configure(true, 20, 100, 10000, 4, 500, 5, 600);
+    }
+
+    @Test(description = "Test that a client is rate limited once it used up its burst")
+    public void testRequestRateIsLimitedPerClient() {
+        for (int i = 0; i < REQUEST_BURST; i++) {
+            Assert.assertTrue(admissionController.admit("client/user1", null).isAdmitted());
+        }
+        Admission admission = admissionController.admit("client/user1", null);
+        Assert.assertFalse(admission.isAdmitted());
+        Assert.assertEquals(admission.getRejection(), Rejection.RATE_LIMITED);
+        // a token is refilled every 100 seconds
+        Assert.assertTrue(admission.getRetryAfter() > 90 && admission.getRetryAfter() <= 100);
+
+        // other clients have their own buckets
+        Assert.assertTrue(admissionController.admit("client/user2", null).isAdmitted());
+        Assert.assertEquals(admissionController.getRateLimitedCount(), 1);
+    }
+
+    @Test(description = "Test that the rate of unknown clients is not limited")
+    public void testUnknownClientIsNotRateLimited() {
+        for (int i = 0; i < REQUEST_BURST * 2; i++) {
+            Assert.assertTrue(admissionController.admit(null, null).isAdmitted());
+        }
+        Assert.assertEquals(admissionController.getClientCount(), 0);
+    }
+
+    @Test(description = "Test that heavy operations are limited until their permits are released")
+    public void testConcurrentOperationsAreLimited() {
+        Admission first = admissionController.admit("client/user1", Operation.EXPORT);
+        Admission second = admissionController.admit("client/user2", Operation.EXPORT);
+        Assert.assertTrue(first.isAdmitted());
+        Assert.assertTrue(second.isAdmitted());
+
+        Admission third = admissionController.admit("client/user3", Operation.EXPORT);
+        Assert.assertFalse(third.isAdmitted());
+        Assert.assertEquals(third.getRejection(), Rejection.CONCURRENCY_LIMITED);
+        Assert.assertEquals(third.getRetryAfter(), RETRY_AFTER);
+        // other kinds of operations have their own permits
+        Assert.assertTrue(admissionController.admit("client/user3", Operation.SEARCH).isAdmitted());
+
+        // releasing twice does not free another permit
+        Assert.assertTrue(first.release());
+        Assert.assertFalse(first.release());
+        Assert.assertTrue(admissionController.admit("client/user3", Operation.EXPORT).isAdmitted());
+        Assert.assertFalse(admissionController.admit("client/user4", Operation.EXPORT).isAdmitted());
+    }
+
+    @Test(description = "Test that the permits of operations which did not complete in time are reclaimed")
+    public void testExpiredPermitsAreReclaimed() throws InterruptedException {
+        admissionController.configure(true, REQUEST_RATE, REQUEST_BURST, MAX_CLIENTS, 1, CONNECTION_WAIT_THRESHOLD,
+                RETRY_AFTER, 0);
+        long reclaimed = admissionController.getReclaimedPermitCount();
+        Admission first = admissionController.admit("client/user1", Operation.IMPORT);
+        Thread.sleep(5);
+
+        Admission second = admissionController.admit("client/user2", Operation.IMPORT);
+        Assert.assertTrue(second.isAdmitted());
+        Assert.assertEquals(admissionController.getReclaimedPermitCount(), reclaimed + 1);
+        // the late completion of the reclaimed operation does not release a permit again
+        Assert.assertFalse(first.release());
+        Assert.assertTrue(second.release());
+    }
+
+    @Test(description = "Test that requests are shed while getting a database connection takes too long")
+    public void testRequestsAreShedWhenConnectionWaitIsAboveThreshold() {
+        // no datasource is configured, so the wait time is 0 and any negative threshold is exceeded
+        admissionController.configure(true, REQUEST_RATE, REQUEST_BURST, MAX_CLIENTS, MAX_CONCURRENT_OPERATIONS, -1,
+                RETRY_AFTER, OPERATION_TIMEOUT);
+        Admission admission = admissionController.admit("client/user1", null);
+        Assert.assertFalse(admission.isAdmitted());
+        Assert.assertEquals(admission.getRejection(), Rejection.OVERLOADED);
+        Assert.assertEquals(admission.getRetryAfter(), RETRY_AFTER);
+        Assert.assertEquals(admissionController.getClientCount(), 0);
+    }
+
+    @Test(description = "Test that every request is admitted when admission control is disabled")
+    public void testDisabled() {
+        admissionController.configure(false, REQUEST_RATE, REQUEST_BURST, MAX_CLIENTS, MAX_CONCURRENT_OPERATIONS, -1,
+                RETRY_AFTER, OPERATION_TIMEOUT);
+        for (int i = 0; i < REQUEST_BURST * 2; i++) {
+            Assert.assertTrue(admissionController.admit("client/user1", Operation.IMPORT).isAdmitted());
+        }
+    }
+
+    @Test(description = "Test that the buckets are bounded by the maximum number of clients")
+    public void testClientsAreBounded() {
+        for (int i = 0; i < MAX_CLIENTS * 3; i++) {
+            admissionController.admit("client/user" + i, null);
+        }
+        Assert.assertTrue(admissionController.getClientCount() <= MAX_CLIENTS);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.dao.impl.ApiCache;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
+
+import javax.jms.JMSException;
+import javax.jms.TextMessage;
+
+/**
+ * Test class for ApiCacheInvalidationNotifier
+ */
+public class ApiCacheInvalidationNotifierTestCase {
+    private final ApiCacheInvalidationNotifier notifier = new ApiCacheInvalidationNotifier(null, "testTopic");
+
+    @Test(description = "Test that a resource version invalidation of another node only invalidates the version cache")
+    public void testResourceVersionInvalidation() throws JMSException {
+        long apiInvalidations = ApiCache.getInstance().getInvalidationCount();
+        long versionInvalidations = ResourceVersionCache.getInstance().getInvalidationCount();
+        notifier.onMessage(createMessage("doc1", ResourceType.DOCUMENT.name()));
+        notifier.onMessage(createMessage(ApiCacheInvalidationNotifier.INVALIDATE_ALL, ResourceType.POLICY.name()));
+
+        Assert.assertEquals(ApiCache.getInstance().getInvalidationCount(), apiInvalidations);
+        Assert.assertEquals(ResourceVersionCache.getInstance().getInvalidationCount(), versionInvalidations + 2);
+    }
+
+    @Test(description = "Test that an API invalidation of another node invalidates the API cache")
+    public void testApiInvalidation() throws JMSException {
+        long apiInvalidations = ApiCache.getInstance().getInvalidationCount();
+        notifier.onMessage(createMessage("api1", null));
+
+        Assert.assertEquals(ApiCache.getInstance().getInvalidationCount(), apiInvalidations + 1);
+    }
+
+    @Test(description = "Test that both caches are dropped when the resource type of a message is not known")
+    public void testUnknownResourceType() throws JMSException {
+        long apiInvalidations = ApiCache.getInstance().getInvalidationCount();
+        long versionInvalidations = ResourceVersionCache.getInstance().getInvalidationCount();
+        notifier.onMessage(createMessage("resource1", "UNKNOWN"));
+
+        Assert.assertEquals(ApiCache.getInstance().getInvalidationCount(), apiInvalidations + 1);
+        Assert.assertTrue(ResourceVersionCache.getInstance().getInvalidationCount() > versionInvalidations);
+    }
+
+    private static TextMessage createMessage(String body, String resourceType) throws JMSException {
+        TextMessage message = Mockito.mock(TextMessage.class);
+        Mockito.when(message.getText()).thenReturn(body);
+        Mockito.when(message.getStringProperty(ApiCacheInvalidationNotifier.RESOURCE_TYPE_PROPERTY))
+                .thenReturn(resourceType);
+        Mockito.when(message.getStringProperty(ApiCacheInvalidationNotifier.NODE_ID_PROPERTY)).thenReturn("node2");
+        return message;
+    }
+}
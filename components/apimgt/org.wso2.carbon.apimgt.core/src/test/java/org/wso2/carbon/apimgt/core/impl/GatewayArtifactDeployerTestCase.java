@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.impl;
+
+import com.google.common.io.Files;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class GatewayArtifactDeployerTestCase {
+    private File deploymentDir;
+
+    @BeforeClass
+    void init() {
+        deploymentDir = Files.createTempDir();
+        deploymentDir.deleteOnExit();
+    }
+
+    @Test(description = "Deploy an artifact and skip redeploying unchanged content")
+    public void testDeployUnchangedArtifact() throws GatewayException, IOException {
+        GatewayArtifactDeployer deployer = new GatewayArtifactDeployer();
+        String path = deploymentDir.getAbsolutePath() + File.separator + "apis" + File.separator + "test_1.0.bal";
+
+        Assert.assertTrue(deployer.deploy(path, "config v1"));
+        Assert.assertEquals(Files.toString(new File(path), StandardCharsets.UTF_8), "config v1");
+        String hash = deployer.getDeployedArtifact(path).getHash();
+
+        Assert.assertFalse(deployer.deploy(path, "config v1"));
+        Assert.assertEquals(deployer.getDeployedArtifact(path).getHash(), hash);
+        Assert.assertEquals(deployer.getMetrics().get("deployed").longValue(), 1L);
+        Assert.assertEquals(deployer.getMetrics().get("unchanged").longValue(), 1L);
+    }
+
+    @Test(description = "Deploy only the artifacts which have changed")
+    public void testDeployChangedArtifact() throws GatewayException, IOException {
+        GatewayArtifactDeployer deployer = new GatewayArtifactDeployer();
+        String path1 = deploymentDir.getAbsolutePath() + File.separator + "api1_1.0.bal";
+        String path2 = deploymentDir.getAbsolutePath() + File.separator + "api2_1.0.bal";
+        deployer.deploy(path1, "api1 v1");
+        deployer.deploy(path2, "api2 v1");
+        String api2Hash = deployer.getDeployedArtifact(path2).getHash();
+
+        Assert.assertTrue(deployer.deploy(path1, "api1 v2"));
+        Assert.assertFalse(deployer.deploy(path2, "api2 v1"));
+        Assert.assertEquals(Files.toString(new File(path1), StandardCharsets.UTF_8), "api1 v2");
+        Assert.assertEquals(deployer.getDeployedArtifact(path2).getHash(), api2Hash);
+        Assert.assertEquals(deployer.getDeployedArtifacts().size(), 2);
+        Assert.assertEquals(deploymentDir.listFiles((dir, name) -> name.endsWith(".tmp")).length, 0);
+    }
+
+    @Test(description = "Undeploy a deployed artifact")
+    public void testUndeployArtifact() throws GatewayException {
+        GatewayArtifactDeployer deployer = new GatewayArtifactDeployer();
+        String path = deploymentDir.getAbsolutePath() + File.separator + "undeploy_1.0.bal";
+        deployer.deploy(path, "config");
+
+        Assert.assertTrue(deployer.undeploy(path));
+        Assert.assertFalse(new File(path).exists());
+        Assert.assertNull(deployer.getDeployedArtifact(path));
+        Assert.assertFalse(deployer.undeploy(path));
+    }
+}
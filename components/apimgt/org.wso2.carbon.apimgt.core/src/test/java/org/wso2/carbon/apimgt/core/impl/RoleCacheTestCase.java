@@ -0,0 +1,259 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.core.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.exception.IdentityProviderException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for RoleCache
+ */
+public class RoleCacheTestCase {
+    private static final int MAX_ENTRIES = 10000;
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(5);
+    private static final List<String> ROLES = Arrays.asList("admin", "manager");
+
+    private final RoleCache roleCache = RoleCache.getInstance();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        roleCache.configure(true, MAX_ENTRIES, EXPIRY_TIME);
+        loadCount.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        roleCache.configure(true, MAX_ENTRIES, EXPIRY_TIME);
+    }
+
+    @Test(description = "Test that the roles of a user are only loaded once")
+    public void testRolesOfUserAreCached() throws IdentityProviderException {
+        Assert.assertEquals(getRolesOfUser("user1"), ROLES);
+        List<String> roles = getRolesOfUser("user1");
+        Assert.assertEquals(roles, ROLES);
+        Assert.assertEquals(loadCount.get(), 1);
+
+        // callers get a copy which they may modify
+        roles.add("publisher");
+        Assert.assertEquals(getRolesOfUser("user1"), ROLES);
+    }
+
+    @Test(description = "Test that the validity of roles is cached, including unknown roles")
+    public void testRoleValidityIsCached() throws IdentityProviderException {
+        Assert.assertTrue(isValidRole("admin", true));
+        Assert.assertTrue(isValidRole("admin", false));
+        Assert.assertFalse(isValidRole("unknown", false));
+        Assert.assertFalse(isValidRole("unknown", true));
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test(description = "Test that users and roles are cached separately")
+    public void testEntryTypesAreSeparate() throws IdentityProviderException {
+        getRolesOfUser("admin");
+        isValidRole("admin", true);
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertEquals(roleCache.getSize(), 2);
+    }
+
+    @Test(description = "Test that failures are not cached")
+    public void testFailureIsNotCached() throws IdentityProviderException {
+        try {
+            roleCache.getRolesOfUser("user1", () -> {
+                loadCount.incrementAndGet();
+                throw new IdentityProviderException("User does not exist", ExceptionCodes.USER_DOES_NOT_EXIST);
+            });
+            Assert.fail("Failure to load roles is not thrown");
+        } catch (IdentityProviderException e) {
+            Assert.assertEquals(e.getErrorHandler(), ExceptionCodes.USER_DOES_NOT_EXIST);
+        }
+        getRolesOfUser("user1");
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test(description = "Test that an error of a load is passed to the waiting requests and is not cached")
+    public void testErrorEndsSharedLoad() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        long sharedLoads = roleCache.getSharedLoadCount();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> firstRequest = executor.submit(() -> roleCache.getRolesOfUser("user1", () -> {
+                loadStarted.countDown();
+                try {
+                    releaseLoad.await();
+                } catch (InterruptedException e) {
+                    throw new IdentityProviderException("Interrupted", e);
+                }
+                throw new StackOverflowError();
+            }));
+            Assert.assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+            Future<List<String>> waitingRequest = executor.submit(() -> getRolesOfUser("user1"));
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (roleCache.getSharedLoadCount() == sharedLoads && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            releaseLoad.countDown();
+
+            for (Future<List<String>> request : Arrays.asList(firstRequest, waitingRequest)) {
+                try {
+                    request.get(10, TimeUnit.SECONDS);
+                    Assert.fail("Error of the load is not thrown");
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof StackOverflowError);
+                }
+            }
+            Assert.assertEquals(getRolesOfUser("user1"), ROLES);
+            Assert.assertEquals(loadCount.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(description = "Test the explicit invalidation of entries")
+    public void testInvalidate() throws IdentityProviderException {
+        getRolesOfUser("user1");
+        getRolesOfUser("user2");
+        isValidRole("admin", true);
+
+        roleCache.invalidateRolesOfUser("user1");
+        roleCache.invalidateRole("admin");
+        getRolesOfUser("user1");
+        getRolesOfUser("user2");
+        isValidRole("admin", true);
+        Assert.assertEquals(loadCount.get(), 5);
+
+        roleCache.invalidateAll();
+        Assert.assertEquals(roleCache.getSize(), 0);
+    }
+
+    @Test(description = "Test that an entry invalidated while it is loaded is not stored")
+    public void testInvalidateDuringLoad() throws IdentityProviderException {
+        roleCache.getRolesOfUser("user1", () -> {
+            roleCache.invalidateRolesOfUser("user1");
+            return ROLES;
+        });
+        Assert.assertEquals(roleCache.getSize(), 0);
+    }
+
+    @Test(description = "Test that concurrent requests for a missing entry share a single load")
+    public void testConcurrentMissesShareLoad() throws Exception {
+        int threadCount = 8;
+        long sharedLoads = roleCache.getSharedLoadCount();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            Future<List<String>> firstRequest = executor.submit(() -> roleCache.getRolesOfUser("user1", () -> {
+                loadCount.incrementAndGet();
+                loadStarted.countDown();
+                try {
+                    releaseLoad.await();
+                } catch (InterruptedException e) {
+                    throw new IdentityProviderException("Interrupted", e);
+                }
+                return ROLES;
+            }));
+            Assert.assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+            Future<?>[] requests = new Future<?>[threadCount - 1];
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = executor.submit(() -> getRolesOfUser("user1"));
+            }
+            // wait until the other requests are blocked on the load
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (roleCache.getSharedLoadCount() - sharedLoads < requests.length
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            releaseLoad.countDown();
+
+            Assert.assertEquals(firstRequest.get(10, TimeUnit.SECONDS), ROLES);
+            for (Future<?> request : requests) {
+                Assert.assertEquals(request.get(10, TimeUnit.SECONDS), ROLES);
+            }
+            Assert.assertEquals(loadCount.get(), 1);
+            Assert.assertEquals(roleCache.getSharedLoadCount() - sharedLoads, requests.length);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(description = "Test that entries expire")
+    public void testExpiry() throws IdentityProviderException, InterruptedException {
+        roleCache.configure(true, MAX_ENTRIES, 50);
+        getRolesOfUser("user1");
+        Thread.sleep(100);
+        getRolesOfUser("user1");
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test(description = "Test that the least recently used entry is evicted")
+    public void testEviction() throws IdentityProviderException {
+        roleCache.configure(true, 2, EXPIRY_TIME);
+        long evictions = roleCache.getEvictionCount();
+        getRolesOfUser("user1");
+        getRolesOfUser("user2");
+        getRolesOfUser("user1");
+        getRolesOfUser("user3");
+        Assert.assertEquals(roleCache.getEvictionCount() - evictions, 1);
+
+        getRolesOfUser("user1");
+        Assert.assertEquals(loadCount.get(), 3);
+        getRolesOfUser("user2");
+        Assert.assertEquals(loadCount.get(), 4);
+    }
+
+    @Test(description = "Test that nothing is cached when the cache is disabled")
+    public void testDisabled() throws IdentityProviderException {
+        roleCache.configure(false, MAX_ENTRIES, EXPIRY_TIME);
+        getRolesOfUser("user1");
+        getRolesOfUser("user1");
+        Assert.assertEquals(loadCount.get(), 2);
+        Assert.assertEquals(roleCache.getSize(), 0);
+    }
+
+    private List<String> getRolesOfUser(String userId) throws IdentityProviderException {
+        return roleCache.getRolesOfUser(userId, () -> {
+            loadCount.incrementAndGet();
+            return ROLES;
+        });
+    }
+
+    private boolean isValidRole(String roleName, boolean valid) throws IdentityProviderException {
+        return roleCache.isValidRole(roleName, () -> {
+            loadCount.incrementAndGet();
+            return valid;
+        });
+    }
+}
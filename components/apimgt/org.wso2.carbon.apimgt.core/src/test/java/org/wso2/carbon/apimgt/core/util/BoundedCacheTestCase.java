@@ -0,0 +1,141 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for BoundedCache
+ */
+public class BoundedCacheTestCase {
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(5);
+
+    @Test(description = "Test that a cached value is not loaded again and null values are not cached")
+    public void testGetOrLoad() {
+        TestCache cache = new TestCache(10);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        Assert.assertEquals(cache.getOrLoad("key", () -> "value" + loadCount.incrementAndGet()), "value1");
+        Assert.assertEquals(cache.getOrLoad("key", () -> "value" + loadCount.incrementAndGet()), "value1");
+        Assert.assertNull(cache.getOrLoad("null", () -> null));
+        Assert.assertNull(cache.getIfPresent("null"));
+
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertEquals(cache.getMissCount(), 3);
+        Assert.assertEquals(cache.getSize(), 1);
+    }
+
+    @Test(description = "Test that a value loaded before a concurrent invalidation is not cached")
+    public void testStaleValueIsNotCached() {
+        TestCache cache = new TestCache(10);
+        long loadVersion = cache.getCacheVersion();
+        cache.invalidateEntry("key");
+        cache.put("key", "stale", loadVersion);
+
+        Assert.assertNull(cache.getIfPresent("key"));
+        Assert.assertEquals(cache.getInvalidationCount(), 1);
+    }
+
+    @Test(description = "Test that the least recently used entries are evicted once the capacity is exceeded")
+    public void testEviction() {
+        // every value weighs its length
+        TestCache cache = new TestCache(10);
+        cache.put("a", "aaaa", cache.getCacheVersion());
+        cache.put("b", "bbbb", cache.getCacheVersion());
+        cache.getIfPresent("a");
+        cache.put("c", "cccc", cache.getCacheVersion());
+
+        Assert.assertEquals(cache.getIfPresent("a"), "aaaa");
+        Assert.assertNull(cache.getIfPresent("b"));
+        Assert.assertEquals(cache.getEvictionCount(), 1);
+        Assert.assertEquals(cache.getWeight(), 8);
+
+        cache.put("a", "aa", cache.getCacheVersion());
+        Assert.assertEquals(cache.getWeight(), 6);
+    }
+
+    @Test(description = "Test that entries expire after their time to live and are not cached without one")
+    public void testExpiry() {
+        TestCache cache = new TestCache(10);
+        cache.put("expired", "-1", cache.getCacheVersion());
+        cache.configure(true, 10, 0);
+        cache.put("key", "value", cache.getCacheVersion());
+
+        Assert.assertNull(cache.getIfPresent("expired"));
+        Assert.assertNull(cache.getIfPresent("key"));
+        Assert.assertEquals(cache.getSize(), 0);
+    }
+
+    @Test(description = "Test the invalidation of selected and all entries")
+    public void testInvalidate() {
+        TestCache cache = new TestCache(100);
+        for (String key : Arrays.asList("a1", "a2", "b1", "b2")) {
+            cache.put(key, key, cache.getCacheVersion());
+        }
+
+        cache.invalidateEntries(Arrays.asList("a1", "x"));
+        Assert.assertEquals(cache.getSize(), 3);
+        cache.invalidateEntriesIf(key -> key.startsWith("b"));
+        Assert.assertEquals(cache.getSize(), 1);
+        Assert.assertEquals(cache.getWeight(), 2);
+        cache.invalidateAllEntries();
+        Assert.assertEquals(cache.getSize(), 0);
+        Assert.assertEquals(cache.getWeight(), 0);
+        Assert.assertEquals(cache.getInvalidationCount(), 3);
+    }
+
+    @Test(description = "Test that every lookup is loaded when the cache is disabled")
+    public void testDisabled() {
+        TestCache cache = new TestCache(10);
+        cache.configure(false, 10, EXPIRY_TIME);
+        AtomicInteger loadCount = new AtomicInteger();
+        cache.getOrLoad("key", () -> "value" + loadCount.incrementAndGet());
+
+        Assert.assertEquals(cache.getOrLoad("key", () -> "value" + loadCount.incrementAndGet()), "value2");
+        Assert.assertEquals(cache.getSize(), 0);
+        Assert.assertFalse(cache.isEnabled());
+    }
+
+    /**
+     * Cache whose values weigh their length, and whose values starting with a minus sign are not cached
+     */
+    private static final class TestCache extends BoundedCache<String, String> {
+
+        private TestCache(long capacity) {
+            super(capacity, EXPIRY_TIME);
+        }
+
+        @Override
+        protected long getTimeToLive(String value) {
+            return value.startsWith("-") ? 0 : super.getTimeToLive(value);
+        }
+
+        @Override
+        protected long weigh(String value) {
+            return value.length();
+        }
+    }
+}
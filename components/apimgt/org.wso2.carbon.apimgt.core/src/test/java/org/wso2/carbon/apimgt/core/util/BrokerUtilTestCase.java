@@ -0,0 +1,49 @@
+/*
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+/**
+ * Test class for BrokerUtil
+ */
+public class BrokerUtilTestCase {
+
+    @Test(description = "Test the label property value of a message")
+    public void testGetLabelsPropertyValue() {
+        Assert.assertEquals(BrokerUtil.getLabelsPropertyValue(new LinkedHashSet<>(Arrays.asList("public", " private"))),
+                ",public,private,");
+        // separators within a label are encoded
+        Assert.assertEquals(BrokerUtil.getLabelsPropertyValue(Collections.singleton("a,b%")), ",a%2Cb%25,");
+    }
+
+    @Test(description = "Test the label selector of a subscriber")
+    public void testGetLabelSelector() {
+        Assert.assertNull(BrokerUtil.getLabelSelector(Collections.emptyList()));
+        Assert.assertEquals(BrokerUtil.getLabelSelector(Collections.singletonList("public")),
+                "GATEWAY_LABELS IS NULL OR GATEWAY_LABELS LIKE '%,public,%' ESCAPE '\\'");
+        Assert.assertEquals(BrokerUtil.getLabelSelector(Collections.singletonList("a,b_'")),
+                "GATEWAY_LABELS IS NULL OR GATEWAY_LABELS LIKE '%,a\\%2Cb\\_'',%' ESCAPE '\\'");
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.BenchmarkReporter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * Compares generating ETags by looking up a new MD5 digest and formatting each byte of the hash, as was done for
+ * every request, with {@link ETagUtils#generateETag(String)} using a reused MD5 digest and using MurmurHash3,
+ * reporting the latency of each.
+ * <p>
+ * The benchmark is not part of the regular build. Run it with {@code mvn test -Pbenchmark} and tune it with the
+ * {@code benchmark.*} system properties defined in the benchmark profile.
+ */
+public class ETagUtilsBenchmark {
+    private final int hashes = Integer.getInteger("benchmark.hashes", 1000000);
+
+    // keeps the results alive, so that the measured calls are not eliminated
+    private int sink;
+
+    @Test
+    public void benchmarkETagGeneration() throws Exception {
+        StringBuilder report = new StringBuilder();
+        try {
+            // the first runs warm up the JIT compiler
+            generateLegacyETags(hashes);
+            generateETags(ETagUtils.HashAlgorithm.MD5, hashes);
+            generateETags(ETagUtils.HashAlgorithm.MURMUR3_128, hashes);
+
+            long startTime = System.nanoTime();
+            generateLegacyETags(hashes);
+            double legacyNanos = (System.nanoTime() - startTime) / (double) hashes;
+            report.append(String.format(Locale.ENGLISH, "legacy MD5: %.1f ns/ETag%n", legacyNanos));
+
+            for (ETagUtils.HashAlgorithm algorithm : ETagUtils.HashAlgorithm.values()) {
+                startTime = System.nanoTime();
+                generateETags(algorithm, hashes);
+                double nanos = (System.nanoTime() - startTime) / (double) hashes;
+                report.append(String.format(Locale.ENGLISH, "%s: %.1f ns/ETag speedup=%.1fx%n", algorithm, nanos,
+                        legacyNanos / nanos));
+            }
+        } finally {
+            ETagUtils.setHashAlgorithm(ETagUtils.HashAlgorithm.MD5);
+        }
+        report.append(String.format(Locale.ENGLISH, "(%d)%n", sink));
+        BenchmarkReporter.report(ETagUtilsBenchmark.class, "etag-utils-benchmark.txt", report.toString());
+    }
+
+    private static String generateLegacyETag(String updatedTime) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance("MD5");
+        messageDigest.update(updatedTime.getBytes(StandardCharsets.UTF_8));
+        byte[] digest = messageDigest.digest();
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(String.format("%02x", b & 0xff));
+        }
+        return sb.toString();
+    }
+
+    private void generateLegacyETags(int count) throws NoSuchAlgorithmException {
+        for (int i = 0; i < count; i++) {
+            sink += generateLegacyETag(getUpdatedTime(i)).charAt(0);
+        }
+    }
+
+    private void generateETags(ETagUtils.HashAlgorithm algorithm, int count) throws Exception {
+        ETagUtils.setHashAlgorithm(algorithm);
+        for (int i = 0; i < count; i++) {
+            sink += ETagUtils.generateETag(getUpdatedTime(i)).charAt(0);
+        }
+    }
+
+    private static String getUpdatedTime(int i) {
+        return "2017-03-20 10:15:" + (i % 60) + "." + (i % 1000);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.core.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for ETagUtils
+ */
+public class ETagUtilsTestCase {
+    private static final String UPDATED_TIME = "2017-03-20 10:15:30.123";
+
+    @AfterMethod
+    public void resetHashAlgorithm() {
+        ETagUtils.setHashAlgorithm(ETagUtils.HashAlgorithm.MD5);
+    }
+
+    @Test(description = "Test that MD5 ETags are generated")
+    public void testGenerateMD5ETag() throws Exception {
+        Assert.assertEquals(ETagUtils.generateETag(UPDATED_TIME), "410effca7e2371c050e890e751ff9234");
+        // the reused digest must not carry state from the previous call
+        Assert.assertEquals(ETagUtils.generateETag(UPDATED_TIME), "410effca7e2371c050e890e751ff9234");
+        Assert.assertEquals(ETagUtils.generateETag("1490004930123"), "d2548c33e96514e1f4f2c01e3691493f");
+    }
+
+    @Test(description = "Test ETags hashed with MurmurHash3")
+    public void testGenerateMurmur3ETag() throws Exception {
+        String md5ETag = ETagUtils.generateETag(UPDATED_TIME);
+        ETagUtils.setHashAlgorithm(ETagUtils.HashAlgorithm.MURMUR3_128);
+        String eTag = ETagUtils.generateETag(UPDATED_TIME);
+        Assert.assertTrue(eTag.matches("[0-9a-f]{32}"), eTag);
+        Assert.assertNotEquals(eTag, md5ETag);
+        Assert.assertEquals(ETagUtils.generateETag(UPDATED_TIME), eTag);
+        Assert.assertNotEquals(ETagUtils.generateETag("2017-03-20 10:15:30.124"), eTag);
+    }
+
+    @Test(description = "Test that no ETag is generated for a blank timestamp")
+    public void testGenerateETagOfBlankTime() throws Exception {
+        Assert.assertNull(ETagUtils.generateETag(null));
+        Assert.assertNull(ETagUtils.generateETag(" "));
+    }
+
+    @Test(description = "Test the hexadecimal encoding of hashes")
+    public void testToHex() {
+        Assert.assertEquals(ETagUtils.toHex(new byte[] {0, 1, 15, 16, 127, -128, -1}), "00010f107f80ff");
+        Assert.assertEquals(ETagUtils.toHex(new byte[0]), "");
+    }
+}
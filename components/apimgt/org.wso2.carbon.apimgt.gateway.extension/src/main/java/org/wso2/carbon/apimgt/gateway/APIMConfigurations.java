@@ -20,6 +20,8 @@ package org.wso2.carbon.apimgt.gateway;
 import org.wso2.carbon.kernel.annotations.Configuration;
 import org.wso2.carbon.kernel.annotations.Element;
 
+import java.io.File;
+
 /**
  * Class to hold APIM configuration parameters and generate yaml file
  */
@@ -39,6 +41,19 @@ public class APIMConfigurations {
     private String username = "admin";
     @Element(description = "password for topic")
     private String password = "admin";
+    @Element(description = "comma separated labels served by the gateway, all APIs are received if empty")
+    private String labels = "";
+    @Element(description = "base URL of the APIM core REST API")
+    private String apimCoreBaseUrl = "https://localhost:9292";
+    @Element(description = "enable warm start from a local snapshot of gateway state")
+    private boolean snapshotEnabled = true;
+    @Element(description = "snapshot file path relative to carbon home")
+    private String snapshotPath = "data" + File.separator + "gateway-snapshot.dat";
+    @Element(description = "interval between snapshots in seconds")
+    private int snapshotInterval = 60;
+    @Element(description = "seconds a blocking condition restored from the snapshot is kept unless it is received "
+            + "from the traffic manager")
+    private int snapshotBlockingConditionExpiry = 900;
 
     public String getCarbonClientId() {
         return carbonClientId;
@@ -67,4 +82,28 @@ public class APIMConfigurations {
     public String getPassword() {
         return password;
     }
+
+    public String getLabels() {
+        return labels;
+    }
+
+    public String getApimCoreBaseUrl() {
+        return apimCoreBaseUrl;
+    }
+
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public int getSnapshotBlockingConditionExpiry() {
+        return snapshotBlockingConditionExpiry;
+    }
 }
@@ -18,8 +18,10 @@ package org.wso2.carbon.apimgt.gateway.extension;
  */
 
 import org.osgi.service.component.annotations.Component;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.gateway.GatewayConstants;
+import org.wso2.carbon.apimgt.gateway.logging.AccessLogEvent;
+import org.wso2.carbon.apimgt.gateway.logging.AccessLogWriter;
+import org.wso2.carbon.apimgt.gateway.throttling.constants.APIThrottleConstants;
 import org.wso2.carbon.messaging.CarbonCallback;
 import org.wso2.carbon.messaging.CarbonMessage;
 import org.wso2.carbon.messaging.handler.MessagingHandler;
@@ -34,7 +36,7 @@ import org.wso2.carbon.messaging.handler.MessagingHandler;
 
 public class LoggingHandler implements MessagingHandler {
 
-    private Logger log = LoggerFactory.getLogger(LoggingHandler.class);
+    private static final String HTTP_METHOD = "HTTP_METHOD";
 
     @Override
     /**
@@ -54,8 +56,20 @@ public class LoggingHandler implements MessagingHandler {
 
     @Override
     public void invokeAtSourceRequestReceiving(CarbonMessage carbonMessage) {
-        //We need to check auth header here. All authenticstion shoud happens here.
-        log.info("message came with auth header:" + formatHeader(carbonMessage));
+        // Only enqueue the sampled request, the access log is written by a background thread
+        AccessLogWriter accessLogWriter = AccessLogWriter.getInstance();
+        if (!accessLogWriter.isSampled()) {
+            return;
+        }
+        String[] headerNames = accessLogWriter.getLoggedHeaders();
+        String[] headerValues = new String[headerNames.length];
+        for (int i = 0; i < headerNames.length; i++) {
+            headerValues[i] = accessLogWriter.redact(headerNames[i], carbonMessage.getHeader(headerNames[i]));
+        }
+        accessLogWriter.log(new AccessLogEvent(AccessLogEvent.TYPE_REQUEST, System.currentTimeMillis(),
+                (String) carbonMessage.getProperty(HTTP_METHOD),
+                (String) carbonMessage.getProperty(GatewayConstants.REST_FULL_REQUEST_PATH),
+                (String) carbonMessage.getProperty(APIThrottleConstants.REMOTE_ADDR), headerNames, headerValues));
     }
 
     @Override
@@ -98,17 +112,4 @@ public class LoggingHandler implements MessagingHandler {
     public String handlerName() {
         return "logging handler";
     }
-
-    private String formatHeader(CarbonMessage message) {
-        String header = message.getHeader("Authorization");
-        /*StringBuilder stringBuilder = new StringBuilder("\n");
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-            stringBuilder.append(entry.getKey());
-            stringBuilder.append(" --> ");
-            stringBuilder.append(entry.getValue());
-            stringBuilder.append("\n");
-        }*/
-        return header;
-
-    }
 }
@@ -20,6 +20,8 @@ package org.wso2.carbon.apimgt.gateway.extension;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.gateway.logging.AccessLogEvent;
+import org.wso2.carbon.apimgt.gateway.logging.AccessLogWriter;
 import org.wso2.carbon.apimgt.gateway.throttling.ThrottleConditionEvaluator;
 import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
 import org.wso2.carbon.apimgt.gateway.throttling.constants.APIThrottleConstants;
@@ -76,7 +78,9 @@ public class ThrottleHandler implements MessagingHandler {
      * request should have a header named "hello_continue" to pass the validation
      */
     public boolean validateRequestContinuation(CarbonMessage carbonMessage, CarbonCallback carbonCallback) {
-        log.info("Message is inside validateRequestContinuation ");
+        if (log.isDebugEnabled()) {
+            log.debug("Message is inside validateRequestContinuation");
+        }
         return true;
     }
 
@@ -136,7 +140,11 @@ public class ThrottleHandler implements MessagingHandler {
 
     @Override
     public void invokeAtTargetConnectionTermination(String s) {
-        log.info("Connection terminated :" + s);
+        AccessLogWriter accessLogWriter = AccessLogWriter.getInstance();
+        if (accessLogWriter.isSampled()) {
+            accessLogWriter.log(new AccessLogEvent(AccessLogEvent.TYPE_CONNECTION_TERMINATION,
+                    System.currentTimeMillis(), null, null, s, null, null));
+        }
     }
 
     @Override
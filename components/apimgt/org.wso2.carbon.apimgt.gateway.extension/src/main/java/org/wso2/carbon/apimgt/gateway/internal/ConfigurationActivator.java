@@ -23,6 +23,7 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.gateway.analytics.AnalyticsConfiguration;
+import org.wso2.carbon.apimgt.gateway.logging.AccessLogConfiguration;
 import org.wso2.carbon.kernel.configprovider.CarbonConfigurationException;
 import org.wso2.carbon.kernel.configprovider.ConfigProvider;
 
@@ -57,6 +58,18 @@ public class ConfigurationActivator {
         log.info("Setting default analytics configurations");
         log.debug("Analytics enabled = " + analyticsConfiguration.isEnabled());
         ServiceReferenceHolder.getInstance().setAnalyticsConfiguration(analyticsConfiguration);
+
+        AccessLogConfiguration accessLogConfiguration = null;
+        try {
+            accessLogConfiguration = configProvider.getConfigurationObject(AccessLogConfiguration.class);
+        } catch (CarbonConfigurationException e) {
+            log.error("error getting config : AccessLogConfiguration", e);
+        }
+        if (accessLogConfiguration == null) {
+            accessLogConfiguration = new AccessLogConfiguration();
+            log.info("Setting default access log configurations");
+        }
+        ServiceReferenceHolder.getInstance().setAccessLogConfiguration(accessLogConfiguration);
     }
 
     /**
@@ -67,5 +80,6 @@ public class ConfigurationActivator {
     protected void unregisterConfigProvider(ConfigProvider configProvider) {
         ServiceReferenceHolder.getInstance().setConfigProvider(null);
         ServiceReferenceHolder.getInstance().setAnalyticsConfiguration(null);
+        ServiceReferenceHolder.getInstance().setAccessLogConfiguration(null);
     }
 }
@@ -20,6 +20,7 @@ package org.wso2.carbon.apimgt.gateway.internal;
 
 import org.wso2.carbon.apimgt.gateway.analytics.AnalyticsConfiguration;
 import org.wso2.carbon.apimgt.gateway.analytics.EventPublisher;
+import org.wso2.carbon.apimgt.gateway.logging.AccessLogConfiguration;
 import org.wso2.carbon.kernel.configprovider.ConfigProvider;
 
 
@@ -31,6 +32,7 @@ public class ServiceReferenceHolder {
     private ConfigProvider configProvider;
     private EventPublisher publisher;
     private AnalyticsConfiguration analyticsConfiguration;
+    private AccessLogConfiguration accessLogConfiguration;
 
     private ServiceReferenceHolder() {
 
@@ -63,4 +65,12 @@ public class ServiceReferenceHolder {
     public void setAnalyticsConfiguration(AnalyticsConfiguration analyticsConfiguration) {
         this.analyticsConfiguration = analyticsConfiguration;
     }
+
+    public AccessLogConfiguration getAccessLogConfiguration() {
+        return accessLogConfiguration;
+    }
+
+    public void setAccessLogConfiguration(AccessLogConfiguration accessLogConfiguration) {
+        this.accessLogConfiguration = accessLogConfiguration;
+    }
 }
@@ -20,10 +20,18 @@ package org.wso2.carbon.apimgt.gateway.internal;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.gateway.APIMConfigurations;
 import org.wso2.carbon.apimgt.gateway.jms.APISubscriptionReceiver;
 import org.wso2.carbon.apimgt.gateway.jms.JmsReceiver;
+import org.wso2.carbon.apimgt.gateway.logging.AccessLogWriter;
+import org.wso2.carbon.apimgt.gateway.snapshot.GatewaySnapshotManager;
+import org.wso2.carbon.apimgt.gateway.subscription.SubscriptionRetrievalClient;
+import org.wso2.carbon.kernel.configprovider.CarbonConfigurationException;
+
+import java.nio.file.Paths;
 
 /**
  * Start up component to listen JMS topic and retrieving API config
@@ -35,13 +43,51 @@ import org.wso2.carbon.apimgt.gateway.jms.JmsReceiver;
 public class TopicSubscriberActivator {
     private static final Logger log = LoggerFactory.getLogger(TopicSubscriberActivator.class);
 
+    private GatewaySnapshotManager snapshotManager;
+
     @Activate
     protected void start(BundleContext bundleContext) {
+        APIMConfigurations config = getConfigurations();
+        if (config.isSnapshotEnabled()) {
+            snapshotManager = new GatewaySnapshotManager(
+                    Paths.get(System.getProperty("carbon.home"), config.getSnapshotPath()),
+                    config.getSnapshotBlockingConditionExpiry());
+            snapshotManager.restore();
+        }
+
         log.info("TopicSubscriber listener Activated");
         JmsReceiver jms = new JmsReceiver();
         jms.start();
 
         APISubscriptionReceiver apiSubscriptionReceiver = new APISubscriptionReceiver();
         apiSubscriptionReceiver.start();
+
+        if (snapshotManager != null) {
+            // The restored state is reconciled in the background so that traffic can be served in the meantime
+            snapshotManager.start(config.getSnapshotInterval(),
+                    new SubscriptionRetrievalClient(config.getApimCoreBaseUrl()));
+        }
+    }
+
+    @Deactivate
+    protected void stop(BundleContext bundleContext) {
+        if (snapshotManager != null) {
+            snapshotManager.stop();
+        }
+        // write the access log events buffered before the gateway stopped
+        AccessLogWriter.shutdown();
+    }
+
+    private APIMConfigurations getConfigurations() {
+        APIMConfigurations config = null;
+        try {
+            if (ServiceReferenceHolder.getInstance().getConfigProvider() != null) {
+                config = ServiceReferenceHolder.getInstance().getConfigProvider()
+                        .getConfigurationObject(APIMConfigurations.class);
+            }
+        } catch (CarbonConfigurationException e) {
+            log.error("error getting config : org.wso2.carbon.apimgt.gateway.APIMConfigurations", e);
+        }
+        return config == null ? new APIMConfigurations() : config;
     }
 }
@@ -22,16 +22,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.andes.client.AMQConnectionFactory;
 import org.wso2.andes.url.URLSyntaxException;
+import org.wso2.carbon.apimgt.core.exception.GatewayException;
+import org.wso2.carbon.apimgt.core.impl.GatewayArtifactDeployer;
+import org.wso2.carbon.apimgt.core.util.BrokerUtil;
 import org.wso2.carbon.apimgt.gateway.APIMConfigurations;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.kernel.configprovider.CarbonConfigurationException;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.TextMessage;
@@ -63,8 +63,6 @@ public class APITopicSubscriber {
             config = new APIMConfigurations();
             log.info("Setting default configurations");
         }
-
-        config = new APIMConfigurations();
     }
     /**
      * Subscribe to the topic
@@ -83,7 +81,12 @@ public class APITopicSubscriber {
         topicSession = topicConnection.createTopicSession(false, TopicSession.AUTO_ACKNOWLEDGE);
         // Send message
         Topic topic = topicSession.createTopic(config.getTopicName());
-        TopicSubscriber topicSubscriber = topicSession.createSubscriber(topic);
+        // Only receive the API events of the labels served by this gateway
+        String labelSelector = BrokerUtil.getLabelSelector(getLabels());
+        if (labelSelector != null) {
+            log.info("Subscribing to API events of labels: " + config.getLabels());
+        }
+        TopicSubscriber topicSubscriber = topicSession.createSubscriber(topic, labelSelector, false);
         return topicSubscriber;
     }
 
@@ -131,6 +134,23 @@ public class APITopicSubscriber {
 
     }
 
+    /**
+     * Get the labels served by this gateway
+     *
+     * @return list of labels
+     */
+    private List<String> getLabels() {
+        List<String> labels = new ArrayList<>();
+        if (config.getLabels() != null) {
+            for (String label : config.getLabels().split(",")) {
+                if (!label.trim().isEmpty()) {
+                    labels.add(label.trim());
+                }
+            }
+        }
+        return labels;
+    }
+
     /**
      * Construct and get JMS connection String
      *
@@ -148,7 +168,8 @@ public class APITopicSubscriber {
     }
 
     /**
-     * Deploying API config in to FS
+     * Deploying API config in to FS. The configuration is only rewritten if it differs from the currently
+     * deployed configuration of the same API.
      *
      * @param configDTO api configuration
      */
@@ -157,36 +178,14 @@ public class APITopicSubscriber {
 
         String fileName = configDTO.apiName + "_" + configDTO.version + apiConfigExtension;
         String path = System.getProperty("carbon.home") + File.separator + "samples" + File.separator + fileName;
-        saveApi(path, configDTO.config);
-        log.info("Deployed API config in " + path);
-    }
-
-    /**
-     * Save API into FS
-     *
-     * @param path    path
-     * @param content API config
-     */
-    private void saveApi(String path, String content) {
-        Writer writer = null;
-        PrintWriter printWriter = null;
         try {
-            writer = new OutputStreamWriter(new FileOutputStream(path), "UTF-8");
-            printWriter = new PrintWriter(writer);
-            printWriter.println(content);
-        } catch (IOException e) {
-            log.error("Error saving API configuration in " + path, e);
-        } finally {
-            try {
-                if (printWriter != null) {
-                    printWriter.close();
-                }
-                if (writer != null) {
-                    writer.close();
-                }
-            } catch (IOException e) {
-                log.error("Error closing connections", e);
+            if (GatewayArtifactDeployer.getInstance().deploy(path, configDTO.config)) {
+                log.info("Deployed API config in " + path);
+            } else if (log.isDebugEnabled()) {
+                log.debug("API config in " + path + " is already up to date");
             }
+        } catch (GatewayException e) {
+            log.error("Error saving API configuration in " + path, e);
         }
     }
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.logging;
+
+import java.io.File;
+
+/**
+ * This class is used to keep the access log related configurations
+ */
+public class AccessLogConfiguration {
+    private boolean enabled = true;
+    private double samplingRate = 1.0;
+
+    private String logFile = "logs" + File.separator + "gateway-access.log";
+    private long maxFileSize = 10 * 1024 * 1024;
+    private int maxBackupFiles = 5;
+    private int bufferSize = 8192;
+
+    private String loggedHeaders = "Authorization,User-Agent";
+    private String redactedHeaders = "Authorization";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    public void setSamplingRate(double samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
+    public String getLogFile() {
+        return logFile;
+    }
+
+    public void setLogFile(String logFile) {
+        this.logFile = logFile;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public int getMaxBackupFiles() {
+        return maxBackupFiles;
+    }
+
+    public void setMaxBackupFiles(int maxBackupFiles) {
+        this.maxBackupFiles = maxBackupFiles;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public String getLoggedHeaders() {
+        return loggedHeaders;
+    }
+
+    public void setLoggedHeaders(String loggedHeaders) {
+        this.loggedHeaders = loggedHeaders;
+    }
+
+    public String getRedactedHeaders() {
+        return redactedHeaders;
+    }
+
+    public void setRedactedHeaders(String redactedHeaders) {
+        this.redactedHeaders = redactedHeaders;
+    }
+}
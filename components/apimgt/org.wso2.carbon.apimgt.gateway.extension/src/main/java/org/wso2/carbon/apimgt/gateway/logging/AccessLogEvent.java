@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.logging;
+
+/**
+ * A single access log record. Header values are already redacted when the event is created.
+ */
+public final class AccessLogEvent {
+    public static final String TYPE_REQUEST = "request";
+    public static final String TYPE_CONNECTION_TERMINATION = "connection_termination";
+
+    private final String type;
+    private final long timestamp;
+    private final String method;
+    private final String path;
+    private final String remoteAddress;
+    private final String[] headerNames;
+    private final String[] headerValues;
+
+    public AccessLogEvent(String type, long timestamp, String method, String path, String remoteAddress,
+                          String[] headerNames, String[] headerValues) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.method = method;
+        this.path = path;
+        this.remoteAddress = remoteAddress;
+        this.headerNames = headerNames;
+        this.headerValues = headerValues;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public String[] getHeaderNames() {
+        return headerNames;
+    }
+
+    public String[] getHeaderValues() {
+        return headerValues;
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous structured access log writer.
+ * <p>
+ * Transport threads only sample and enqueue {@link AccessLogEvent}s into a bounded ring buffer, they never perform
+ * any I/O. Events that do not fit into the buffer are dropped and counted. A single background thread drains the
+ * buffer in batches, encodes each event as a JSON line using a reused builder, encoder and byte buffer, and
+ * appends it to a size based rolling file.
+ */
+public class AccessLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private static final String REDACTED_VALUE = "********";
+    private static final int MAX_BATCH_SIZE = 512;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long DRAIN_POLL_INTERVAL_MILLIS = 1000;
+
+    private static volatile AccessLogWriter instance;
+
+    private final AccessLogConfiguration configuration;
+    private final Path logFile;
+    private final BlockingQueue<AccessLogEvent> buffer;
+    private final String[] loggedHeaders;
+    private final Set<String> redactedHeaders = new HashSet<>();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong writtenEvents = new AtomicLong();
+
+    // Used only by the drainer thread
+    private final List<AccessLogEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    private final StringBuilder line = new StringBuilder(1024);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private FileChannel channel;
+    private long currentFileSize;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    AccessLogWriter(AccessLogConfiguration configuration, Path logFile) {
+        this.configuration = configuration;
+        this.logFile = logFile;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, configuration.getBufferSize()));
+        this.loggedHeaders = splitHeaders(configuration.getLoggedHeaders()).toArray(new String[0]);
+        for (String header : splitHeaders(configuration.getRedactedHeaders())) {
+            redactedHeaders.add(header.toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    /**
+     * Get the access log writer of the gateway. The writer is created and started on first use with the
+     * configuration available in {@link ServiceReferenceHolder}.
+     *
+     * @return access log writer
+     */
+    public static AccessLogWriter getInstance() {
+        if (instance == null) {
+            synchronized (AccessLogWriter.class) {
+                if (instance == null) {
+                    AccessLogConfiguration configuration = ServiceReferenceHolder.getInstance()
+                            .getAccessLogConfiguration();
+                    if (configuration == null) {
+                        configuration = new AccessLogConfiguration();
+                    }
+                    Path logFile = Paths.get(configuration.getLogFile());
+                    String carbonHome = System.getProperty("carbon.home");
+                    if (!logFile.isAbsolute() && carbonHome != null) {
+                        logFile = Paths.get(carbonHome).resolve(logFile);
+                    }
+                    AccessLogWriter writer = new AccessLogWriter(configuration, logFile);
+                    if (configuration.isEnabled()) {
+                        writer.start();
+                    }
+                    instance = writer;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Stop the access log writer of the gateway, if it has been created, after writing all the buffered events. A
+     * new writer is created on the next use.
+     */
+    public static void shutdown() {
+        synchronized (AccessLogWriter.class) {
+            if (instance != null) {
+                instance.stop();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Decide whether the current request should be logged, based on the configured sampling rate
+     *
+     * @return true if the request should be logged
+     */
+    public boolean isSampled() {
+        if (!running) {
+            return false;
+        }
+        double samplingRate = configuration.getSamplingRate();
+        return samplingRate >= 1.0 || (samplingRate > 0 && ThreadLocalRandom.current().nextDouble() < samplingRate);
+    }
+
+    /**
+     * Get the names of the headers which should be included in the access log
+     *
+     * @return header names
+     */
+    public String[] getLoggedHeaders() {
+        return loggedHeaders;
+    }
+
+    /**
+     * Redact the value of a header if the header is configured as sensitive
+     *
+     * @param name  header name
+     * @param value header value
+     * @return the value or a mask if the header is sensitive
+     */
+    public String redact(String name, String value) {
+        if (value == null || !redactedHeaders.contains(name.toLowerCase(Locale.ENGLISH))) {
+            return value;
+        }
+        return REDACTED_VALUE;
+    }
+
+    /**
+     * Enqueue an event without blocking. The event is dropped if the buffer is full.
+     *
+     * @param event access log event
+     * @return true if the event was enqueued
+     */
+    public boolean log(AccessLogEvent event) {
+        if (!running) {
+            return false;
+        }
+        if (buffer.offer(event)) {
+            return true;
+        }
+        droppedEvents.incrementAndGet();
+        return false;
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public long getWrittenEventCount() {
+        return writtenEvents.get();
+    }
+
+    /**
+     * Start the background thread which writes the buffered events to the log file
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drain, "GatewayAccessLogWriter");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Stop the background thread after writing all the buffered events
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (running || !buffer.isEmpty()) {
+                AccessLogEvent event = buffer.poll(DRAIN_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    continue;
+                }
+                batch.add(event);
+                buffer.drainTo(batch, MAX_BATCH_SIZE - 1);
+                try {
+                    for (AccessLogEvent batchEvent : batch) {
+                        encode(batchEvent);
+                    }
+                    flush();
+                    writtenEvents.addAndGet(batch.size());
+                } catch (IOException e) {
+                    log.error("Error while writing access log to " + logFile, e);
+                    writeBuffer.clear();
+                    closeChannel();
+                } finally {
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    private void encode(AccessLogEvent event) throws IOException {
+        line.setLength(0);
+        line.append("{\"type\":");
+        appendString(event.getType());
+        line.append(",\"timestamp\":").append(event.getTimestamp());
+        if (event.getMethod() != null) {
+            line.append(",\"method\":");
+            appendString(event.getMethod());
+        }
+        if (event.getPath() != null) {
+            line.append(",\"path\":");
+            appendString(event.getPath());
+        }
+        if (event.getRemoteAddress() != null) {
+            line.append(",\"remoteAddress\":");
+            appendString(event.getRemoteAddress());
+        }
+        String[] headerNames = event.getHeaderNames();
+        if (headerNames != null && headerNames.length > 0) {
+            line.append(",\"headers\":{");
+            String[] headerValues = event.getHeaderValues();
+            for (int i = 0; i < headerNames.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendString(headerNames[i]);
+                line.append(':');
+                appendString(headerValues[i]);
+            }
+            line.append('}');
+        }
+        line.append("}\n");
+
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, writeBuffer, true);
+            if (result.isOverflow()) {
+                flush();
+            } else {
+                break;
+            }
+        }
+        while (encoder.flush(writeBuffer).isOverflow()) {
+            flush();
+        }
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        if (writeBuffer.hasRemaining()) {
+            if (channel == null || currentFileSize >= configuration.getMaxFileSize()) {
+                roll();
+            }
+            while (writeBuffer.hasRemaining()) {
+                currentFileSize += channel.write(writeBuffer);
+            }
+        }
+        writeBuffer.clear();
+    }
+
+    private void roll() throws IOException {
+        // A log file left over from a previous run is rolled as well if it already exceeds the limit
+        boolean rollCurrentFile = channel != null
+                || (Files.exists(logFile) && Files.size(logFile) >= configuration.getMaxFileSize());
+        closeChannel();
+        if (rollCurrentFile && configuration.getMaxBackupFiles() > 0) {
+            for (int i = configuration.getMaxBackupFiles() - 1; i > 0; i--) {
+                Path backup = getBackupFile(i);
+                if (Files.exists(backup)) {
+                    Files.move(backup, getBackupFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(logFile, getBackupFile(1), StandardCopyOption.REPLACE_EXISTING);
+        } else if (rollCurrentFile) {
+            Files.deleteIfExists(logFile);
+        }
+        Path parent = logFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        currentFileSize = channel.size();
+    }
+
+    private Path getBackupFile(int index) {
+        return logFile.resolveSibling(logFile.getFileName().toString() + "." + index);
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.error("Error while closing access log " + logFile, e);
+            }
+            channel = null;
+        }
+    }
+
+    private static List<String> splitHeaders(String headers) {
+        List<String> headerList = new ArrayList<>();
+        if (headers != null) {
+            for (String header : headers.split(",")) {
+                if (!header.trim().isEmpty()) {
+                    headerList.add(header.trim());
+                }
+            }
+        }
+        return headerList;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.snapshot;
+
+import org.wso2.carbon.apimgt.core.impl.GatewayArtifactDeployer.DeployedArtifact;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point in time copy of the gateway state which is needed to serve traffic after a restart
+ */
+public class GatewaySnapshot {
+    private long createdTime;
+    private Map<String, Map<String, Map<String, String>>> apiSubscriptions = new HashMap<>();
+    private Map<String, String> blockedAPIConditions = new HashMap<>();
+    private Map<String, String> blockedApplicationConditions = new HashMap<>();
+    private Map<String, String> blockedUserConditions = new HashMap<>();
+    private Map<String, String> blockedIpConditions = new HashMap<>();
+    private Map<String, Long> restoredConditionExpiryTimes = new HashMap<>();
+    private Map<String, String> keyTemplates = new HashMap<>();
+    private List<DeployedArtifact> deployedArtifacts = new ArrayList<>();
+
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    public void setCreatedTime(long createdTime) {
+        this.createdTime = createdTime;
+    }
+
+    public Map<String, Map<String, Map<String, String>>> getApiSubscriptions() {
+        return apiSubscriptions;
+    }
+
+    public void setApiSubscriptions(Map<String, Map<String, Map<String, String>>> apiSubscriptions) {
+        this.apiSubscriptions = apiSubscriptions;
+    }
+
+    public Map<String, String> getBlockedAPIConditions() {
+        return blockedAPIConditions;
+    }
+
+    public void setBlockedAPIConditions(Map<String, String> blockedAPIConditions) {
+        this.blockedAPIConditions = blockedAPIConditions;
+    }
+
+    public Map<String, String> getBlockedApplicationConditions() {
+        return blockedApplicationConditions;
+    }
+
+    public void setBlockedApplicationConditions(Map<String, String> blockedApplicationConditions) {
+        this.blockedApplicationConditions = blockedApplicationConditions;
+    }
+
+    public Map<String, String> getBlockedUserConditions() {
+        return blockedUserConditions;
+    }
+
+    public void setBlockedUserConditions(Map<String, String> blockedUserConditions) {
+        this.blockedUserConditions = blockedUserConditions;
+    }
+
+    public Map<String, String> getBlockedIpConditions() {
+        return blockedIpConditions;
+    }
+
+    public void setBlockedIpConditions(Map<String, String> blockedIpConditions) {
+        this.blockedIpConditions = blockedIpConditions;
+    }
+
+    public Map<String, Long> getRestoredConditionExpiryTimes() {
+        return restoredConditionExpiryTimes;
+    }
+
+    public void setRestoredConditionExpiryTimes(Map<String, Long> restoredConditionExpiryTimes) {
+        this.restoredConditionExpiryTimes = restoredConditionExpiryTimes;
+    }
+
+    public Map<String, String> getKeyTemplates() {
+        return keyTemplates;
+    }
+
+    public void setKeyTemplates(Map<String, String> keyTemplates) {
+        this.keyTemplates = keyTemplates;
+    }
+
+    public List<DeployedArtifact> getDeployedArtifacts() {
+        return deployedArtifacts;
+    }
+
+    public void setDeployedArtifacts(List<DeployedArtifact> deployedArtifacts) {
+        this.deployedArtifacts = deployedArtifacts;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.snapshot;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.impl.GatewayArtifactDeployer;
+import org.wso2.carbon.apimgt.gateway.subscription.APISubscriptionDataHolder;
+import org.wso2.carbon.apimgt.gateway.subscription.SubscriptionListDTO;
+import org.wso2.carbon.apimgt.gateway.subscription.SubscriptionRetrievalClient;
+import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Periodically writes the subscriptions, blocking conditions, key templates and deployed API registry of the
+ * gateway to a snapshot file, and restores them at startup so that the gateway can serve traffic before the remote
+ * services are reachable. After a restore, subscriptions are reconciled with APIM core and the restored blocking
+ * conditions which are not received from the traffic manager are expired.
+ * <p>
+ * Snapshot file layout: magic (int), format version (int), created time (long), payload length (int), followed by
+ * the GZIP compressed JSON payload. The payload is streamed to the file when writing and decompressed directly from
+ * a memory mapping of the file when reading.
+ */
+public class GatewaySnapshotManager {
+    private static final Logger log = LoggerFactory.getLogger(GatewaySnapshotManager.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x41504D53;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int HEADER_LENGTH = 20;
+    private static final int LOAD_ALL_SUBSCRIPTIONS = -1;
+
+    private final Path snapshotPath;
+    private final int blockingConditionExpirySeconds;
+    private final Gson gson = new Gson();
+    private ScheduledExecutorService executor;
+    private boolean stopped;
+
+    /**
+     * @param snapshotPath                   path of the snapshot file
+     * @param blockingConditionExpirySeconds seconds a restored blocking condition is kept unless it is received from
+     *                                       the traffic manager
+     */
+    public GatewaySnapshotManager(Path snapshotPath, int blockingConditionExpirySeconds) {
+        this.snapshotPath = snapshotPath;
+        this.blockingConditionExpirySeconds = blockingConditionExpirySeconds;
+    }
+
+    /**
+     * Reconcile the restored subscriptions and start writing snapshots periodically. Both run on the same background
+     * thread, hence the snapshots are written after the reconciliation. Calling this after {@link #stop()} has no
+     * effect.
+     *
+     * @param intervalSeconds interval between two snapshots in seconds
+     * @param client          subscription retrieval client to reconcile the restored subscriptions, or null to skip
+     *                        the reconciliation
+     */
+    public synchronized void start(int intervalSeconds, SubscriptionRetrievalClient client) {
+        if (executor != null || stopped) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GatewaySnapshotWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (client != null) {
+            executor.execute(() -> reconcile(client));
+        }
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                ThrottleDataHolder.getInstance().expireRestoredBlockingConditions();
+                writeSnapshot();
+            } catch (IOException | RuntimeException e) {
+                log.error("Error while writing gateway snapshot to " + snapshotPath, e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop writing snapshots and write a final snapshot of the current state. The manager cannot be started again.
+     */
+    public synchronized void stop() {
+        stopped = true;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            log.error("Error while writing gateway snapshot to " + snapshotPath, e);
+        }
+    }
+
+    /**
+     * Build a snapshot of the current gateway state
+     *
+     * @return snapshot of the gateway state
+     */
+    public GatewaySnapshot takeSnapshot() {
+        ThrottleDataHolder throttleDataHolder = ThrottleDataHolder.getInstance();
+        GatewaySnapshot snapshot = new GatewaySnapshot();
+        snapshot.setCreatedTime(System.currentTimeMillis());
+        snapshot.setApiSubscriptions(APISubscriptionDataHolder.getInstance().getApiSubscriptions());
+        snapshot.setBlockedAPIConditions(new HashMap<>(throttleDataHolder.getBlockedAPIConditionsMap()));
+        snapshot.setBlockedApplicationConditions(
+                new HashMap<>(throttleDataHolder.getBlockedApplicationConditionsMap()));
+        snapshot.setBlockedUserConditions(new HashMap<>(throttleDataHolder.getBlockedUserConditionsMap()));
+        snapshot.setBlockedIpConditions(new HashMap<>(throttleDataHolder.getBlockedIpConditionsMap()));
+        snapshot.setRestoredConditionExpiryTimes(throttleDataHolder.getRestoredConditionExpiryTimes());
+        snapshot.setKeyTemplates(new HashMap<>(throttleDataHolder.getKeyTemplateMap()));
+        snapshot.setDeployedArtifacts(
+                new ArrayList<>(GatewayArtifactDeployer.getInstance().getDeployedArtifacts().values()));
+        return snapshot;
+    }
+
+    /**
+     * Write a snapshot of the current gateway state to the snapshot file. The snapshot is written to a temporary
+     * file which then replaces the previous snapshot atomically.
+     *
+     * @throws IOException if an error occurs while writing the snapshot
+     */
+    public void writeSnapshot() throws IOException {
+        GatewaySnapshot snapshot = takeSnapshot();
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tempFile = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+        long payloadLength;
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                // The payload is streamed after the header, the streams are not closed as that closes the channel
+                channel.position(HEADER_LENGTH);
+                BufferedOutputStream fileStream = new BufferedOutputStream(Channels.newOutputStream(channel));
+                GZIPOutputStream gzipStream = new GZIPOutputStream(fileStream);
+                Writer writer = new OutputStreamWriter(gzipStream, StandardCharsets.UTF_8);
+                gson.toJson(snapshot, writer);
+                writer.flush();
+                gzipStream.finish();
+                fileStream.flush();
+                payloadLength = channel.position() - HEADER_LENGTH;
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                header.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(snapshot.getCreatedTime())
+                        .putInt((int) payloadLength).flip();
+                channel.position(0);
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(tempFile, snapshotPath, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Gateway snapshot of " + payloadLength + " bytes written to " + snapshotPath);
+        }
+    }
+
+    /**
+     * Read the snapshot file
+     *
+     * @return snapshot or null if no valid snapshot is available
+     * @throws IOException if an error occurs while reading the snapshot
+     */
+    public GatewaySnapshot readSnapshot() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH) {
+                log.warn("Ignoring truncated gateway snapshot " + snapshotPath);
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int magic = buffer.getInt();
+            int version = buffer.getInt();
+            buffer.getLong();
+            int length = buffer.getInt();
+            if (magic != SNAPSHOT_MAGIC || version != SNAPSHOT_VERSION || length != buffer.remaining()) {
+                log.warn("Ignoring incompatible gateway snapshot " + snapshotPath);
+                return null;
+            }
+            try (Reader reader = new InputStreamReader(new GZIPInputStream(new ByteBufferInputStream(buffer)),
+                    StandardCharsets.UTF_8)) {
+                return gson.fromJson(reader, GatewaySnapshot.class);
+            } catch (JsonParseException e) {
+                log.warn("Ignoring corrupted gateway snapshot " + snapshotPath, e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Restore the gateway state from the snapshot file
+     *
+     * @return true if a snapshot was restored
+     */
+    public boolean restore() {
+        long startTime = System.currentTimeMillis();
+        GatewaySnapshot snapshot;
+        try {
+            snapshot = readSnapshot();
+        } catch (IOException e) {
+            log.error("Error while reading gateway snapshot from " + snapshotPath, e);
+            return false;
+        }
+        if (snapshot == null) {
+            return false;
+        }
+
+        ThrottleDataHolder throttleDataHolder = ThrottleDataHolder.getInstance();
+        APISubscriptionDataHolder.getInstance().addApiSubscriptionsFromMap(snapshot.getApiSubscriptions());
+        throttleDataHolder.restoreBlockingConditions(snapshot.getBlockedAPIConditions(),
+                snapshot.getBlockedApplicationConditions(), snapshot.getBlockedUserConditions(),
+                snapshot.getBlockedIpConditions(), snapshot.getRestoredConditionExpiryTimes(),
+                startTime + TimeUnit.SECONDS.toMillis(blockingConditionExpirySeconds));
+        throttleDataHolder.addKeyTemplateFromMap(snapshot.getKeyTemplates());
+        GatewayArtifactDeployer.getInstance().restoreDeployedArtifacts(snapshot.getDeployedArtifacts());
+
+        log.info("Gateway state restored from snapshot taken at " + snapshot.getCreatedTime() + " in "
+                + (System.currentTimeMillis() - startTime) + " ms");
+        return true;
+    }
+
+    /**
+     * Reconcile the restored subscriptions with the subscriptions available in APIM core. The restored state is
+     * kept if APIM core is not reachable. Subscriptions changed by subscription events while the subscriptions are
+     * retrieved are left as they are, as the retrieved subscriptions may not include their latest change.
+     *
+     * @param client subscription retrieval client
+     * @return true if the subscriptions were reconciled
+     */
+    public boolean reconcile(SubscriptionRetrievalClient client) {
+        APISubscriptionDataHolder subscriptionDataHolder = APISubscriptionDataHolder.getInstance();
+        subscriptionDataHolder.beginSynchronization();
+        try {
+            SubscriptionListDTO subscriptionList = client.loadSubscriptions(LOAD_ALL_SUBSCRIPTIONS);
+            if (subscriptionList == null || subscriptionList.getSubscriptions() == null) {
+                return false;
+            }
+            int changes = subscriptionDataHolder.synchronizeApiSubscriptions(subscriptionList.getSubscriptions());
+            log.info("Subscriptions reconciled with APIM core, " + changes + " entries changed");
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Unable to reconcile subscriptions with APIM core, continuing with restored subscriptions", e);
+            return false;
+        } finally {
+            subscriptionDataHolder.endSynchronization();
+        }
+    }
+
+    /**
+     * Input stream reading the remaining bytes of a byte buffer
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -20,26 +20,34 @@ package org.wso2.carbon.apimgt.gateway.subscription;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.gateway.GatewayConstants;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class holds API Subscription data in each gateway node.
+ * <p>
+ * The subscriptions of all the APIs are held, so that a subscription is never dropped for the number of APIs. The
+ * subscriptions of an API are guarded by the lock of its API key.
  */
 
 public class APISubscriptionDataHolder {
 
     private static final Logger log = LoggerFactory.getLogger(APISubscriptionDataHolder.class);
-    private static final int MAX_APIS = 50;
     private static final char DELIMITER = '@';
     private static APISubscriptionDataHolder instance = new APISubscriptionDataHolder();
 
     //key: API_CONTEXT$API_VERSION   value : Map<CONSUMER_KEY, SUBSCRIPTION_DATA_MAP>
-    private Map<String, Map<String, Map<String, String>>> apiSubscriptionMap = Collections.synchronizedMap(
-            new ExtendedLinkedHashMap());
+    private Map<String, Map<String, Map<String, String>>> apiSubscriptionMap = new ConcurrentHashMap<>();
+
+    // Keys of the subscriptions changed by subscription events since the current synchronization started, or null if
+    // no synchronization is in progress
+    private volatile Set<String> changedSubscriptions;
 
     public static APISubscriptionDataHolder getInstance() {
         return instance;
@@ -79,6 +87,7 @@ public class APISubscriptionDataHolder {
             } else {
                 apiSubscriptionMap.get(apiKey).put(consumerKey, subscriptionData);
             }
+            recordChange(apiKey, consumerKey);
             if (log.isDebugEnabled()) {
                 log.debug("Subscription entry added to Subscription Map. API: " + apiContext + ':' + apiVersion +
                         " Consumer Key: " + consumerKey + " Subscription Policy: " + subscriptionData);
@@ -103,6 +112,7 @@ public class APISubscriptionDataHolder {
             if (subscriptionsOfApi != null) {
                 subscriptionsOfApi.remove(consumerKey);
             }
+            recordChange(apiKey, consumerKey);
             if (log.isDebugEnabled()) {
                 log.debug("Subscription entry removed from Subscription Map. API: " + apiContext + ':' + apiVersion +
                         " Consumer Key: " + consumerKey);
@@ -113,18 +123,141 @@ public class APISubscriptionDataHolder {
         }
     }
 
-    private static class ExtendedLinkedHashMap extends LinkedHashMap<String, Map<String, Map<String, String>>> {
+    /**
+     * Get a copy of all the subscriptions held in the Subscription Map
+     *
+     * @return map of API key to subscriptions of the API, keyed by consumer key
+     */
+    public Map<String, Map<String, Map<String, String>>> getApiSubscriptions() {
+        Map<String, Map<String, Map<String, String>>> subscriptions = new HashMap<>();
+        for (String apiKey : new ArrayList<>(apiSubscriptionMap.keySet())) {
+            synchronized (apiKey.intern()) {
+                Map<String, Map<String, String>> subscriptionsOfApi = apiSubscriptionMap.get(apiKey);
+                if (subscriptionsOfApi != null) {
+                    subscriptions.put(apiKey, new HashMap<>(subscriptionsOfApi));
+                }
+            }
+        }
+        return subscriptions;
+    }
 
-        private static final long serialVersionUID = 6103479545023548050L;
+    /**
+     * Add all the given subscriptions to the Subscription Map
+     *
+     * @param subscriptions map of API key to subscriptions of the API, keyed by consumer key
+     */
+    public void addApiSubscriptionsFromMap(Map<String, Map<String, Map<String, String>>> subscriptions) {
+        for (Map.Entry<String, Map<String, Map<String, String>>> entry : subscriptions.entrySet()) {
+            String apiKey = entry.getKey();
+            synchronized (apiKey.intern()) {
+                Map<String, Map<String, String>> subscriptionsOfApi = apiSubscriptionMap.get(apiKey);
+                if (subscriptionsOfApi == null) {
+                    apiSubscriptionMap.put(apiKey, new HashMap<>(entry.getValue()));
+                } else {
+                    subscriptionsOfApi.putAll(entry.getValue());
+                }
+            }
+        }
+    }
 
-        ExtendedLinkedHashMap() {
-            super(APISubscriptionDataHolder.MAX_APIS + 1, 1.0F, false);
+    /**
+     * Start tracking the subscriptions changed by subscription events, before the subscriptions to synchronize with
+     * are retrieved. The tracked subscriptions are left as they are by {@link #synchronizeApiSubscriptions(List)},
+     * as the retrieved subscriptions may not include their latest change.
+     */
+    public void beginSynchronization() {
+        changedSubscriptions = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Stop tracking the subscriptions changed by subscription events
+     */
+    public void endSynchronization() {
+        changedSubscriptions = null;
+    }
+
+    /**
+     * Synchronize the Subscription Map with the given subscriptions. Subscriptions which are not available in the
+     * given list are removed and new or changed subscriptions are added, except the subscriptions changed by
+     * subscription events since {@link #beginSynchronization()}.
+     *
+     * @param subscriptions latest subscriptions
+     * @return number of subscription entries added, changed or removed
+     */
+    public int synchronizeApiSubscriptions(List<SubscriptionDTO> subscriptions) {
+        Map<String, Map<String, Map<String, String>>> latest = new HashMap<>();
+        for (SubscriptionDTO subscription : subscriptions) {
+            String apiKey = subscription.getApiContext() + DELIMITER + subscription.getApiVersion();
+            Map<String, Map<String, String>> subscriptionsOfApi = latest.get(apiKey);
+            if (subscriptionsOfApi == null) {
+                subscriptionsOfApi = new HashMap<>();
+                latest.put(apiKey, subscriptionsOfApi);
+            }
+            subscriptionsOfApi.put(subscription.getConsumerKey(), toSubscriptionData(subscription));
+        }
+
+        int changes = 0;
+        for (String apiKey : new ArrayList<>(apiSubscriptionMap.keySet())) {
+            Map<String, Map<String, String>> latestOfApi = latest.get(apiKey);
+            synchronized (apiKey.intern()) {
+                Map<String, Map<String, String>> subscriptionsOfApi = apiSubscriptionMap.get(apiKey);
+                if (subscriptionsOfApi == null) {
+                    continue;
+                }
+                for (String consumerKey : new ArrayList<>(subscriptionsOfApi.keySet())) {
+                    if ((latestOfApi == null || !latestOfApi.containsKey(consumerKey))
+                            && !isChanged(apiKey, consumerKey)) {
+                        subscriptionsOfApi.remove(consumerKey);
+                        changes++;
+                    }
+                }
+            }
         }
+        for (Map.Entry<String, Map<String, Map<String, String>>> entry : latest.entrySet()) {
+            String apiKey = entry.getKey();
+            synchronized (apiKey.intern()) {
+                Map<String, Map<String, String>> subscriptionsOfApi = apiSubscriptionMap.get(apiKey);
+                if (subscriptionsOfApi == null) {
+                    subscriptionsOfApi = new HashMap<>();
+                    apiSubscriptionMap.put(apiKey, subscriptionsOfApi);
+                }
+                for (Map.Entry<String, Map<String, String>> subscription : entry.getValue().entrySet()) {
+                    if (!isChanged(apiKey, subscription.getKey())
+                            && !subscription.getValue().equals(subscriptionsOfApi.get(subscription.getKey()))) {
+                        subscriptionsOfApi.put(subscription.getKey(), subscription.getValue());
+                        changes++;
+                    }
+                }
+            }
+        }
+        return changes;
+    }
 
-        // This method is called just after a new entry has been added
-        @Override
-        public boolean removeEldestEntry(Map.Entry eldest) {
-            return size() > MAX_APIS;
+    /**
+     * Record a subscription changed by a subscription event. Called with the lock of the API key held.
+     */
+    private void recordChange(String apiKey, String consumerKey) {
+        Set<String> changed = changedSubscriptions;
+        if (changed != null) {
+            changed.add(apiKey + DELIMITER + consumerKey);
         }
     }
+
+    private boolean isChanged(String apiKey, String consumerKey) {
+        Set<String> changed = changedSubscriptions;
+        return changed != null && changed.contains(apiKey + DELIMITER + consumerKey);
+    }
+
+    private static Map<String, String> toSubscriptionData(SubscriptionDTO subscription) {
+        Map<String, String> subscriptionData = new HashMap<>();
+        subscriptionData.put(GatewayConstants.SUBSCRIPTION_POLICY, subscription.getSubscriptionPolicy());
+        subscriptionData.put(GatewayConstants.API_CONTEXT, subscription.getApiContext());
+        subscriptionData.put(GatewayConstants.API_VERSION, subscription.getApiVersion());
+        subscriptionData.put(GatewayConstants.API_PROVIDER, subscription.getApiProvider());
+        subscriptionData.put(GatewayConstants.APPLICATION_NAME, subscription.getApplicationName());
+        subscriptionData.put(GatewayConstants.APPLICATION_OWNER, subscription.getApplicationOwner());
+        subscriptionData.put(GatewayConstants.CONSUMER_KEY, subscription.getConsumerKey());
+        subscriptionData.put(GatewayConstants.KEY_ENV_TYPE, subscription.getKeyEnvType());
+        return subscriptionData;
+    }
 }
@@ -54,7 +54,7 @@ public final class SubscriptionRetrievalClient {
         SubscriptionListDTO getSubscriptions(@Param("context") String context, @Param("version") String version);
     }
 
-    SubscriptionListDTO loadSubscriptions(int limit) {
+    public SubscriptionListDTO loadSubscriptions(int limit) {
         return subscriptionRetrievalService.getSubscriptions(limit);
     }
 
@@ -21,6 +21,8 @@ package org.wso2.carbon.apimgt.gateway.throttling;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,6 +34,10 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ThrottleDataHolder {
 
     private static final Logger log = LoggerFactory.getLogger(ThrottleDataHolder.class);
+    private static final String API_CONDITION_PREFIX = "API:";
+    private static final String APPLICATION_CONDITION_PREFIX = "APPLICATION:";
+    private static final String USER_CONDITION_PREFIX = "USER:";
+    private static final String IP_CONDITION_PREFIX = "IP:";
     private Map<String, String> blockedAPIConditionsMap = new ConcurrentHashMap<String, String>();
     private Map<String, String> blockedApplicationConditionsMap = new ConcurrentHashMap<String, String>();
     private Map<String, String> blockedUserConditionsMap = new ConcurrentHashMap<String, String>();
@@ -39,6 +45,9 @@ public class ThrottleDataHolder {
     private Map<String, String> keyTemplateMap = new ConcurrentHashMap<String, String>();
     private Map<String, Long> throttleDataMap = new ConcurrentHashMap<String, Long>();
     private Map<String, Long> throttledAPIKeysMap = new ConcurrentHashMap<String, Long>();
+    // Expiry times of the blocking conditions restored from a snapshot which are not received from the traffic
+    // manager since the restore. key: CONDITION_TYPE_PREFIX + CONDITION_NAME
+    private Map<String, Long> restoredConditionExpiryMap = new ConcurrentHashMap<String, Long>();
     private boolean isBlockingConditionsPresent = false;
     private boolean isKeyTemplatesPresent = false;
 
@@ -87,22 +96,26 @@ public class ThrottleDataHolder {
     public void addAPIBlockingCondition(String name, String value) {
         isBlockingConditionsPresent = true;
         blockedAPIConditionsMap.put(name, value);
+        restoredConditionExpiryMap.remove(API_CONDITION_PREFIX + name);
     }
 
     public void addApplicationBlockingCondition(String name, String value) {
         isBlockingConditionsPresent = true;
         blockedApplicationConditionsMap.put(name, value);
+        restoredConditionExpiryMap.remove(APPLICATION_CONDITION_PREFIX + name);
     }
 
 
     public void addUserBlockingCondition(String name, String value) {
         isBlockingConditionsPresent = true;
         blockedUserConditionsMap.put(name, value);
+        restoredConditionExpiryMap.remove(USER_CONDITION_PREFIX + name);
     }
 
     public void addIplockingCondition(String name, String value) {
         isBlockingConditionsPresent = true;
         blockedIpConditionsMap.put(name, value);
+        restoredConditionExpiryMap.remove(IP_CONDITION_PREFIX + name);
     }
 
     public void addUserBlockingConditionsFromMap(Map<String, String> data) {
@@ -135,6 +148,7 @@ public class ThrottleDataHolder {
 
     public void removeAPIBlockingCondition(String name) {
         blockedAPIConditionsMap.remove(name);
+        restoredConditionExpiryMap.remove(API_CONDITION_PREFIX + name);
         if (isAnyBlockedMapContainsData()) {
             isBlockingConditionsPresent = true;
         } else {
@@ -144,6 +158,7 @@ public class ThrottleDataHolder {
 
     public void removeApplicationBlockingCondition(String name) {
         blockedApplicationConditionsMap.remove(name);
+        restoredConditionExpiryMap.remove(APPLICATION_CONDITION_PREFIX + name);
         if (isAnyBlockedMapContainsData()) {
             isBlockingConditionsPresent = true;
         } else {
@@ -154,6 +169,7 @@ public class ThrottleDataHolder {
 
     public void removeUserBlockingCondition(String name) {
         blockedUserConditionsMap.remove(name);
+        restoredConditionExpiryMap.remove(USER_CONDITION_PREFIX + name);
         if (isAnyBlockedMapContainsData()) {
             isBlockingConditionsPresent = true;
         } else {
@@ -163,6 +179,7 @@ public class ThrottleDataHolder {
 
     public void removeIpBlockingCondition(String name) {
         blockedIpConditionsMap.remove(name);
+        restoredConditionExpiryMap.remove(IP_CONDITION_PREFIX + name);
         if (isAnyBlockedMapContainsData()) {
             isBlockingConditionsPresent = true;
         } else {
@@ -170,6 +187,92 @@ public class ThrottleDataHolder {
         }
     }
 
+    /**
+     * Restore blocking conditions from a snapshot. A removal of a restored condition may have been missed while the
+     * gateway was down, hence a restored condition is removed at its expiry time unless it is received from the
+     * traffic manager in the meantime.
+     *
+     * @param apiConditions         restored API blocking conditions
+     * @param applicationConditions restored application blocking conditions
+     * @param userConditions        restored user blocking conditions
+     * @param ipConditions          restored IP blocking conditions
+     * @param expiryTimes           expiry times of the conditions restored by a previous restore, keyed as returned
+     *                              by {@link #getRestoredConditionExpiryTimes()}
+     * @param defaultExpiryTime     expiry time of the conditions which do not have an expiry time
+     */
+    public void restoreBlockingConditions(Map<String, String> apiConditions,
+                                          Map<String, String> applicationConditions,
+                                          Map<String, String> userConditions, Map<String, String> ipConditions,
+                                          Map<String, Long> expiryTimes, long defaultExpiryTime) {
+        restoreBlockingConditions(blockedAPIConditionsMap, API_CONDITION_PREFIX, apiConditions, expiryTimes,
+                defaultExpiryTime);
+        restoreBlockingConditions(blockedApplicationConditionsMap, APPLICATION_CONDITION_PREFIX,
+                applicationConditions, expiryTimes, defaultExpiryTime);
+        restoreBlockingConditions(blockedUserConditionsMap, USER_CONDITION_PREFIX, userConditions, expiryTimes,
+                defaultExpiryTime);
+        restoreBlockingConditions(blockedIpConditionsMap, IP_CONDITION_PREFIX, ipConditions, expiryTimes,
+                defaultExpiryTime);
+        isBlockingConditionsPresent = isAnyBlockedMapContainsData();
+    }
+
+    private void restoreBlockingConditions(Map<String, String> conditionsMap, String prefix,
+                                           Map<String, String> conditions, Map<String, Long> expiryTimes,
+                                           long defaultExpiryTime) {
+        if (conditions == null) {
+            return;
+        }
+        for (Map.Entry<String, String> condition : conditions.entrySet()) {
+            Long expiryTime = expiryTimes != null ? expiryTimes.get(prefix + condition.getKey()) : null;
+            restoredConditionExpiryMap.put(prefix + condition.getKey(),
+                    expiryTime != null ? expiryTime : defaultExpiryTime);
+            conditionsMap.put(condition.getKey(), condition.getValue());
+        }
+    }
+
+    /**
+     * Remove the restored blocking conditions which are not received from the traffic manager before their expiry
+     * time
+     *
+     * @return number of blocking conditions removed
+     */
+    public int expireRestoredBlockingConditions() {
+        long currentTime = System.currentTimeMillis();
+        int expired = 0;
+        Iterator<Map.Entry<String, Long>> iterator = restoredConditionExpiryMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getValue() > currentTime) {
+                continue;
+            }
+            iterator.remove();
+            String key = entry.getKey();
+            if (key.startsWith(API_CONDITION_PREFIX)) {
+                blockedAPIConditionsMap.remove(key.substring(API_CONDITION_PREFIX.length()));
+            } else if (key.startsWith(APPLICATION_CONDITION_PREFIX)) {
+                blockedApplicationConditionsMap.remove(key.substring(APPLICATION_CONDITION_PREFIX.length()));
+            } else if (key.startsWith(USER_CONDITION_PREFIX)) {
+                blockedUserConditionsMap.remove(key.substring(USER_CONDITION_PREFIX.length()));
+            } else {
+                blockedIpConditionsMap.remove(key.substring(IP_CONDITION_PREFIX.length()));
+            }
+            expired++;
+        }
+        if (expired > 0) {
+            isBlockingConditionsPresent = isAnyBlockedMapContainsData();
+            log.info(expired + " restored blocking conditions expired without being received from traffic manager");
+        }
+        return expired;
+    }
+
+    /**
+     * Get the expiry times of the restored blocking conditions which are not received from the traffic manager
+     *
+     * @return copy of the expiry times, keyed by condition type prefix and condition name
+     */
+    public Map<String, Long> getRestoredConditionExpiryTimes() {
+        return new HashMap<>(restoredConditionExpiryMap);
+    }
+
     public void addKeyTemplate(String key, String value) {
         keyTemplateMap.put(key, value);
         isKeyTemplatesPresent = true;
@@ -195,6 +298,22 @@ public class ThrottleDataHolder {
         return keyTemplateMap;
     }
 
+    public Map<String, String> getBlockedAPIConditionsMap() {
+        return blockedAPIConditionsMap;
+    }
+
+    public Map<String, String> getBlockedApplicationConditionsMap() {
+        return blockedApplicationConditionsMap;
+    }
+
+    public Map<String, String> getBlockedUserConditionsMap() {
+        return blockedUserConditionsMap;
+    }
+
+    public Map<String, String> getBlockedIpConditionsMap() {
+        return blockedIpConditionsMap;
+    }
+
     public boolean isRequestBlocked(String apiBlockingKey, String applicationBlockingKey, String userBlockingKey,
                                     String ipBlockingKey) {
         return (blockedAPIConditionsMap.containsKey(apiBlockingKey) ||
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a benchmark run: throughput, latency percentiles and allocation per request
+ */
+public class BenchmarkReport {
+    private final String name;
+    private final int threads;
+    private final long[] latencies;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+
+    /**
+     * @param name           name of the run
+     * @param threads        number of concurrent client threads
+     * @param latencies      latency of each request in nanoseconds
+     * @param elapsedNanos   wall clock time of the run in nanoseconds
+     * @param allocatedBytes bytes allocated by the client threads, or -1 if not measurable on this JVM
+     */
+    public BenchmarkReport(String name, int threads, long[] latencies, long elapsedNanos, long allocatedBytes) {
+        this.name = name;
+        this.threads = threads;
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getRequestCount() {
+        return latencies.length;
+    }
+
+    public double getThroughput() {
+        return latencies.length / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Get a latency percentile
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency in nanoseconds
+     */
+    public long getLatencyPercentile(double percentile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+        return latencies[Math.min(latencies.length - 1, Math.max(0, index))];
+    }
+
+    public long getAllocatedBytesPerRequest() {
+        if (allocatedBytes < 0 || latencies.length == 0) {
+            return -1;
+        }
+        return allocatedBytes / latencies.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "%s: threads=%d requests=%d throughput=%.1f req/s latency(us) p50=%.1f p90=%.1f p99=%.1f "
+                        + "p99.9=%.1f max=%.1f allocation=%d B/req",
+                name, threads, getRequestCount(), getThroughput(), toMicros(getLatencyPercentile(50)),
+                toMicros(getLatencyPercentile(90)), toMicros(getLatencyPercentile(99)),
+                toMicros(getLatencyPercentile(99.9)), toMicros(getLatencyPercentile(100)),
+                getAllocatedBytesPerRequest());
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
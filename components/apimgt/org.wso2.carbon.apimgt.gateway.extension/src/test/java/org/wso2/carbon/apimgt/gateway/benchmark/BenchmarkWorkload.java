@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.benchmark;
+
+import org.wso2.carbon.apimgt.gateway.GatewayConstants;
+import org.wso2.carbon.apimgt.gateway.subscription.APISubscriptionDataHolder;
+import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+import org.wso2.carbon.apimgt.gateway.throttling.constants.APIThrottleConstants;
+import org.wso2.carbon.apimgt.gateway.throttling.dto.ConditionDTO;
+import org.wso2.carbon.apimgt.gateway.throttling.dto.ConditionGroupDTO;
+import org.wso2.carbon.apimgt.gateway.throttling.dto.VerbInfoDTO;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates a synthetic gateway workload of N APIs, M applications subscribed to every API, K throttling condition
+ * groups per resource and a set of blocked IPs, and loads it into the gateway data holders.
+ */
+public class BenchmarkWorkload {
+    private static final String API_VERSION = "1.0.0";
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    private final int apiCount;
+    private final int applicationCount;
+    private final int conditionGroupCount;
+    private final int blockedIpCount;
+
+    private final String[] apiContexts;
+    private final String[] resourceKeys;
+    private final VerbInfoDTO[] verbInfos;
+    private final String[] accessTokens;
+    private final String[] clientIps;
+
+    public BenchmarkWorkload(int apiCount, int applicationCount, int conditionGroupCount, int blockedIpCount) {
+        this.apiCount = apiCount;
+        this.applicationCount = applicationCount;
+        this.conditionGroupCount = conditionGroupCount;
+        this.blockedIpCount = blockedIpCount;
+        this.apiContexts = new String[apiCount];
+        this.resourceKeys = new String[apiCount];
+        this.verbInfos = new VerbInfoDTO[apiCount];
+        this.accessTokens = new String[applicationCount];
+        this.clientIps = new String[applicationCount];
+    }
+
+    /**
+     * Generate the workload and populate the subscription and throttle data holders with it
+     */
+    public void load() {
+        for (int i = 0; i < apiCount; i++) {
+            apiContexts[i] = "/benchmark" + i;
+            resourceKeys[i] = apiContexts[i] + "/" + API_VERSION + "/resource:GET";
+            verbInfos[i] = createVerbInfo(resourceKeys[i]);
+        }
+        APISubscriptionDataHolder subscriptionDataHolder = APISubscriptionDataHolder.getInstance();
+        for (int j = 0; j < applicationCount; j++) {
+            accessTokens[j] = "token-" + j;
+            clientIps[j] = toIp(j);
+            String consumerKey = "consumer-key-" + j;
+            for (int i = 0; i < apiCount; i++) {
+                Map<String, String> subscriptionData = new HashMap<>();
+                subscriptionData.put(GatewayConstants.API_PROVIDER, "admin");
+                subscriptionData.put(GatewayConstants.APPLICATION_NAME, "BenchmarkApp" + j);
+                subscriptionData.put(GatewayConstants.KEY_ENV_TYPE, "PRODUCTION");
+                subscriptionData.put(GatewayConstants.SUBSCRIPTION_POLICY, "Gold");
+                subscriptionDataHolder.addApiSubscriptionToMap(apiContexts[i], API_VERSION, consumerKey,
+                        subscriptionData);
+            }
+        }
+        ThrottleDataHolder throttleDataHolder = ThrottleDataHolder.getInstance();
+        for (int k = 0; k < blockedIpCount; k++) {
+            // Blocked addresses are taken from a range which is never used by the generated clients
+            throttleDataHolder.addIplockingCondition(TENANT_DOMAIN + ":" + toIp(0x00FF0000 + k), "true");
+        }
+    }
+
+    /**
+     * Create a request to a random API from a random application
+     *
+     * @return synthetic carbon message
+     */
+    public CarbonMessage nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int api = random.nextInt(apiCount);
+        int application = random.nextInt(applicationCount);
+
+        CarbonMessage carbonMessage = new DefaultCarbonMessage();
+        carbonMessage.setHeader("Authorization", "Bearer " + accessTokens[application]);
+        carbonMessage.setHeader("User-Agent", "gateway-benchmark");
+        TreeMap<String, String> transportHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        transportHeaders.put("Authorization", "Bearer " + accessTokens[application]);
+        transportHeaders.put("User-Agent", "gateway-benchmark");
+        carbonMessage.setProperty(APIThrottleConstants.TRANSPORT_HEADERS, transportHeaders);
+        carbonMessage.setProperty(APIThrottleConstants.REMOTE_ADDR, clientIps[application]);
+        carbonMessage.setProperty(APIThrottleConstants.REST_API_CONTEXT, apiContexts[api]);
+        carbonMessage.setProperty("REST_API_VERSION", API_VERSION);
+        carbonMessage.setProperty(GatewayConstants.REST_FULL_REQUEST_PATH, apiContexts[api] + "/" + API_VERSION
+                + "/resource");
+        carbonMessage.setProperty(APIThrottleConstants.VERB_INFO_DTO, verbInfos[api]);
+        return carbonMessage;
+    }
+
+    public String[] getResourceKeys() {
+        return resourceKeys.clone();
+    }
+
+    public int getApiCount() {
+        return apiCount;
+    }
+
+    public int getApplicationCount() {
+        return applicationCount;
+    }
+
+    private VerbInfoDTO createVerbInfo(String resourceKey) {
+        VerbInfoDTO verbInfo = new VerbInfoDTO();
+        verbInfo.setHttpVerb("GET");
+        verbInfo.setAuthType("Application & Application User");
+        verbInfo.setThrottling("Gold");
+        verbInfo.setRequestKey(resourceKey);
+
+        ConditionGroupDTO[] conditionGroups = new ConditionGroupDTO[conditionGroupCount + 1];
+        for (int k = 0; k < conditionGroupCount; k++) {
+            ConditionDTO condition = new ConditionDTO();
+            condition.setConditionType(APIThrottleConstants.IP_SPECIFIC_TYPE);
+            condition.setConditionName("IP");
+            condition.setConditionValue(toIp(k));
+            ConditionGroupDTO conditionGroup = new ConditionGroupDTO();
+            conditionGroup.setConditionGroupId("_condition_" + k);
+            conditionGroup.setConditions(new ConditionDTO[] { condition });
+            conditionGroups[k] = conditionGroup;
+        }
+        ConditionGroupDTO defaultGroup = new ConditionGroupDTO();
+        defaultGroup.setConditionGroupId(APIThrottleConstants.THROTTLE_POLICY_DEFAULT);
+        defaultGroup.setConditions(new ConditionDTO[0]);
+        conditionGroups[conditionGroupCount] = defaultGroup;
+        verbInfo.setConditionGroups(conditionGroups);
+        return verbInfo;
+    }
+
+    private static String toIp(int index) {
+        return "10." + ((index >> 16) & 0xFF) + "." + ((index >> 8) & 0xFF) + "." + (index & 0xFF);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.benchmark;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.BenchmarkReporter;
+import org.wso2.carbon.apimgt.gateway.analytics.AnalyticsConfiguration;
+import org.wso2.carbon.apimgt.gateway.extension.AuthenticationHandler;
+import org.wso2.carbon.apimgt.gateway.extension.StatisticsHandler;
+import org.wso2.carbon.apimgt.gateway.extension.ThrottleHandler;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.handler.MessagingHandler;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Drives synthetic requests through the Authentication, Throttle and Statistics handlers at a configurable
+ * concurrency and reports throughput, latency percentiles and allocation per request.
+ * <p>
+ * The benchmark is not part of the regular build. Run it with {@code mvn test -Pbenchmark} and tune it with the
+ * {@code benchmark.*} system properties defined in the benchmark profile.
+ */
+public class HandlerChainBenchmark {
+    private static final String INTROSPECT_ENDPOINT_PROPERTY = "introspectEndpoint";
+
+    private final int threads = Integer.getInteger("benchmark.threads", 8);
+    private final int requests = Integer.getInteger("benchmark.requests", 200000);
+    private final int warmupRequests = Integer.getInteger("benchmark.warmupRequests", 50000);
+    private final int apiCount = Integer.getInteger("benchmark.apis", 100);
+    private final int applicationCount = Integer.getInteger("benchmark.applications", 1000);
+    private final int conditionGroupCount = Integer.getInteger("benchmark.conditionGroups", 5);
+    private final int blockedIpCount = Integer.getInteger("benchmark.blockedIps", 100);
+    private final double throttledRatio = Double.parseDouble(System.getProperty("benchmark.throttledRatio", "0.1"));
+    private final int keyManagerPort = Integer.getInteger("benchmark.keyManagerPort", 9763 + 500);
+
+    private WireMockServer keyManager;
+    private StubTrafficManager trafficManager;
+    private BenchmarkWorkload workload;
+    private MessagingHandler[] handlers;
+    private String introspectEndpoint;
+
+    @BeforeClass
+    public void init() {
+        keyManager = new WireMockServer(options().port(keyManagerPort));
+        keyManager.start();
+        keyManager.stubFor(post(urlPathEqualTo("/oauth2/introspect"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"active\":true,\"client_id\":\"consumer-key-0\",\"username\":\"admin\","
+                                + "\"exp\":" + Long.MAX_VALUE + ",\"iat\":0,\"scope\":\"default\"}")));
+        introspectEndpoint = System.getProperty(INTROSPECT_ENDPOINT_PROPERTY);
+        System.setProperty(INTROSPECT_ENDPOINT_PROPERTY, "http://localhost:" + keyManagerPort + "/oauth2/introspect");
+
+        ServiceReferenceHolder.getInstance().setAnalyticsConfiguration(new AnalyticsConfiguration());
+
+        workload = new BenchmarkWorkload(apiCount, applicationCount, conditionGroupCount, blockedIpCount);
+        workload.load();
+        trafficManager = new StubTrafficManager(workload.getResourceKeys(), throttledRatio);
+        trafficManager.start();
+
+        handlers = new MessagingHandler[] { new AuthenticationHandler(), new ThrottleHandler(),
+                new StatisticsHandler() };
+    }
+
+    @Test
+    public void benchmarkHandlerChain() throws Exception {
+        run("warmup", warmupRequests);
+        BenchmarkReport report = run("handler-chain", requests);
+        writeReport(report);
+        Assert.assertEquals(report.getRequestCount(), requests / threads * threads);
+    }
+
+    @AfterClass
+    public void clean() {
+        trafficManager.stop();
+        keyManager.stop();
+        if (introspectEndpoint == null) {
+            System.clearProperty(INTROSPECT_ENDPOINT_PROPERTY);
+        } else {
+            System.setProperty(INTROSPECT_ENDPOINT_PROPERTY, introspectEndpoint);
+        }
+    }
+
+    private BenchmarkReport run(String name, int requestCount) throws InterruptedException, ExecutionException {
+        int requestsPerThread = requestCount / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<ClientResult>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(new Client(requestsPerThread, startSignal)));
+        }
+        long startTime = System.nanoTime();
+        startSignal.countDown();
+
+        long[] latencies = new long[requestsPerThread * threads];
+        long allocatedBytes = 0;
+        for (int i = 0; i < threads; i++) {
+            ClientResult result = futures.get(i).get();
+            System.arraycopy(result.latencies, 0, latencies, i * requestsPerThread, requestsPerThread);
+            allocatedBytes = allocatedBytes < 0 || result.allocatedBytes < 0 ? -1 :
+                    allocatedBytes + result.allocatedBytes;
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        executor.shutdown();
+        return new BenchmarkReport(name, threads, latencies, elapsedTime, allocatedBytes);
+    }
+
+    private void invokeChain(CarbonMessage carbonMessage) {
+        for (MessagingHandler handler : handlers) {
+            if (!handler.validateRequestContinuation(carbonMessage, null)) {
+                return;
+            }
+        }
+        for (MessagingHandler handler : handlers) {
+            handler.invokeAtSourceRequestReceiving(carbonMessage);
+        }
+        for (int i = handlers.length - 1; i >= 0; i--) {
+            handlers[i].invokeAtSourceResponseSending(carbonMessage);
+        }
+    }
+
+    private void writeReport(BenchmarkReport report) throws IOException {
+        String line = report.toString() + String.format(" apis=%d applications=%d conditionGroups=%d blockedIps=%d"
+                + " throttledRatio=%s%n", apiCount, applicationCount, conditionGroupCount, blockedIpCount,
+                throttledRatio);
+        BenchmarkReporter.report(HandlerChainBenchmark.class, "handler-chain-benchmark.txt", line);
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static final class ClientResult {
+        private final long[] latencies;
+        private final long allocatedBytes;
+
+        private ClientResult(long[] latencies, long allocatedBytes) {
+            this.latencies = latencies;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    private final class Client implements Callable<ClientResult> {
+        private final int requestCount;
+        private final CountDownLatch startSignal;
+
+        private Client(int requestCount, CountDownLatch startSignal) {
+            this.requestCount = requestCount;
+            this.startSignal = startSignal;
+        }
+
+        @Override
+        public ClientResult call() throws InterruptedException {
+            long[] latencies = new long[requestCount];
+            long allocatedBytes = 0;
+            startSignal.await();
+            for (int i = 0; i < requestCount; i++) {
+                CarbonMessage carbonMessage = workload.nextRequest();
+                long allocationStart = getAllocatedBytes();
+                long startTime = System.nanoTime();
+                invokeChain(carbonMessage);
+                latencies[i] = System.nanoTime() - startTime;
+                long allocationEnd = getAllocatedBytes();
+                allocatedBytes = allocationStart < 0 ? -1 : allocatedBytes + allocationEnd - allocationStart;
+            }
+            return new ClientResult(latencies, allocatedBytes);
+        }
+    }
+}
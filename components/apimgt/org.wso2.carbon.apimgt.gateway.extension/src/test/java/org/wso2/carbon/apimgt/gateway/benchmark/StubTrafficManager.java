@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.benchmark;
+
+import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+import org.wso2.carbon.apimgt.gateway.throttling.constants.APIThrottleConstants;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the traffic manager. It periodically pushes throttle decisions for a share of the generated
+ * resources into {@link ThrottleDataHolder}, applying the same updates the throttle JMS listener does for the
+ * decisions published by a real traffic manager.
+ */
+public class StubTrafficManager {
+    private static final long DECISION_INTERVAL_MILLIS = 500;
+
+    private final String[] resourceKeys;
+    private final double throttledRatio;
+    private ScheduledExecutorService executor;
+
+    public StubTrafficManager(String[] resourceKeys, double throttledRatio) {
+        this.resourceKeys = resourceKeys;
+        this.throttledRatio = throttledRatio;
+    }
+
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "StubTrafficManager");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::publishDecisions, 0, DECISION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        for (String resourceKey : resourceKeys) {
+            ThrottleDataHolder.getInstance().removeThrottledAPIKey(resourceKey);
+            ThrottleDataHolder.getInstance().removeThrottleData(getDefaultConditionKey(resourceKey));
+        }
+    }
+
+    private void publishDecisions() {
+        ThrottleDataHolder throttleDataHolder = ThrottleDataHolder.getInstance();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long nextAccessTime = System.currentTimeMillis() + DECISION_INTERVAL_MILLIS;
+        for (String resourceKey : resourceKeys) {
+            if (random.nextDouble() < throttledRatio) {
+                throttleDataHolder.addThrottledAPIKey(resourceKey, nextAccessTime);
+                throttleDataHolder.addThrottleData(getDefaultConditionKey(resourceKey), nextAccessTime);
+            }
+        }
+    }
+
+    private static String getDefaultConditionKey(String resourceKey) {
+        return resourceKey + APIThrottleConstants.THROTTLE_POLICY_DEFAULT;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.logging;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class AccessLogWriterTestCase {
+
+    @Test
+    public void testWriteRedactedEvents() throws IOException {
+        Path logFile = Files.createTempDirectory("accesslog").resolve("access.log");
+        AccessLogWriter writer = new AccessLogWriter(new AccessLogConfiguration(), logFile);
+        writer.start();
+        String[] headerNames = writer.getLoggedHeaders();
+        String[] headerValues = new String[headerNames.length];
+        for (int i = 0; i < headerNames.length; i++) {
+            headerValues[i] = writer.redact(headerNames[i], "Bearer \"token\"");
+        }
+        Assert.assertTrue(writer.isSampled());
+        Assert.assertTrue(writer.log(new AccessLogEvent(AccessLogEvent.TYPE_REQUEST, 1000L, "GET", "/test/1.0/pets",
+                "10.0.0.1", headerNames, headerValues)));
+        Assert.assertTrue(writer.log(new AccessLogEvent(AccessLogEvent.TYPE_CONNECTION_TERMINATION, 2000L, null,
+                null, "10.0.0.1", null, null)));
+        writer.stop();
+
+        List<String> lines = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+        Assert.assertEquals(lines.size(), 2);
+        JsonObject request = new JsonParser().parse(lines.get(0)).getAsJsonObject();
+        Assert.assertEquals(request.get("type").getAsString(), AccessLogEvent.TYPE_REQUEST);
+        Assert.assertEquals(request.get("path").getAsString(), "/test/1.0/pets");
+        JsonObject headers = request.getAsJsonObject("headers");
+        Assert.assertEquals(headers.get("Authorization").getAsString(), "********");
+        Assert.assertEquals(headers.get("User-Agent").getAsString(), "Bearer \"token\"");
+        Assert.assertEquals(writer.getWrittenEventCount(), 2);
+    }
+
+    @Test
+    public void testDisabledSampling() throws IOException {
+        AccessLogConfiguration configuration = new AccessLogConfiguration();
+        configuration.setSamplingRate(0);
+        AccessLogWriter writer = new AccessLogWriter(configuration,
+                Files.createTempDirectory("accesslog").resolve("access.log"));
+        Assert.assertFalse(writer.isSampled());
+        writer.start();
+        Assert.assertFalse(writer.isSampled());
+        writer.stop();
+        Assert.assertFalse(writer.log(new AccessLogEvent(AccessLogEvent.TYPE_REQUEST, 1000L, null, null, null,
+                null, null)));
+    }
+
+    @Test
+    public void testRollLogFile() throws IOException {
+        Path logFile = Files.createTempDirectory("accesslog").resolve("access.log");
+        AccessLogConfiguration configuration = new AccessLogConfiguration();
+        configuration.setMaxFileSize(1);
+        configuration.setMaxBackupFiles(2);
+        for (int i = 0; i < 3; i++) {
+            AccessLogWriter writer = new AccessLogWriter(configuration, logFile);
+            writer.start();
+            writer.log(new AccessLogEvent(AccessLogEvent.TYPE_REQUEST, i, "GET", "/test", null, null, null));
+            writer.stop();
+        }
+        Assert.assertTrue(Files.exists(logFile));
+        Assert.assertTrue(Files.exists(logFile.resolveSibling("access.log.1")));
+        Assert.assertTrue(Files.exists(logFile.resolveSibling("access.log.2")));
+        Assert.assertFalse(Files.exists(logFile.resolveSibling("access.log.3")));
+    }
+
+    @Test
+    public void testShutdownWritesBufferedEvents() throws IOException {
+        Path logFile = Files.createTempDirectory("accesslog").resolve("access.log");
+        AccessLogConfiguration configuration = new AccessLogConfiguration();
+        configuration.setLogFile(logFile.toString());
+        ServiceReferenceHolder.getInstance().setAccessLogConfiguration(configuration);
+        try {
+            AccessLogWriter writer = AccessLogWriter.getInstance();
+            Assert.assertTrue(writer.log(new AccessLogEvent(AccessLogEvent.TYPE_REQUEST, 1000L, "GET", "/test",
+                    null, null, null)));
+            AccessLogWriter.shutdown();
+
+            Assert.assertEquals(Files.readAllLines(logFile, StandardCharsets.UTF_8).size(), 1);
+            Assert.assertFalse(writer.log(new AccessLogEvent(AccessLogEvent.TYPE_REQUEST, 2000L, "GET", "/test",
+                    null, null, null)));
+            Assert.assertNotSame(AccessLogWriter.getInstance(), writer);
+        } finally {
+            AccessLogWriter.shutdown();
+            ServiceReferenceHolder.getInstance().setAccessLogConfiguration(null);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.apimgt.gateway.snapshot;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.gateway.GatewayConstants;
+import org.wso2.carbon.apimgt.gateway.subscription.APISubscriptionDataHolder;
+import org.wso2.carbon.apimgt.gateway.subscription.SubscriptionDTO;
+import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class GatewaySnapshotManagerTestCase {
+
+    @Test
+    public void testWriteAndReadSnapshot() throws IOException {
+        Path snapshotPath = Files.createTempDirectory("snapshot").resolve("gateway-snapshot.dat");
+        Map<String, String> subscriptionData = new HashMap<>();
+        subscriptionData.put(GatewayConstants.SUBSCRIPTION_POLICY, "Gold");
+        APISubscriptionDataHolder.getInstance().addApiSubscriptionToMap("/test", "1.0.0", "1234-5678",
+                subscriptionData);
+        ThrottleDataHolder.getInstance().addIplockingCondition("10.0.0.1", "true");
+        ThrottleDataHolder.getInstance().addKeyTemplate("$userId", "$userId");
+
+        GatewaySnapshotManager snapshotManager = new GatewaySnapshotManager(snapshotPath, 900);
+        snapshotManager.writeSnapshot();
+        GatewaySnapshot snapshot = snapshotManager.readSnapshot();
+
+        Assert.assertNotNull(snapshot);
+        Assert.assertEquals(snapshot.getApiSubscriptions().get("/test@1.0.0").get("1234-5678"), subscriptionData);
+        Assert.assertEquals(snapshot.getBlockedIpConditions().get("10.0.0.1"), "true");
+        Assert.assertEquals(snapshot.getKeyTemplates().get("$userId"), "$userId");
+        Assert.assertTrue(snapshotManager.restore());
+    }
+
+    @Test
+    public void testReadInvalidSnapshot() throws IOException {
+        Path snapshotPath = Files.createTempDirectory("snapshot").resolve("gateway-snapshot.dat");
+        GatewaySnapshotManager snapshotManager = new GatewaySnapshotManager(snapshotPath, 900);
+        Assert.assertNull(snapshotManager.readSnapshot());
+        Assert.assertFalse(snapshotManager.restore());
+
+        Files.write(snapshotPath, "not a snapshot file".getBytes("UTF-8"));
+        Assert.assertNull(snapshotManager.readSnapshot());
+    }
+
+    @Test
+    public void testSynchronizeKeepsChangesDuringSynchronization() {
+        APISubscriptionDataHolder subscriptionDataHolder = APISubscriptionDataHolder.getInstance();
+        subscriptionDataHolder.addApiSubscriptionToMap("/sync", "1.0.0", "key-1", new HashMap<>());
+        subscriptionDataHolder.addApiSubscriptionToMap("/sync", "1.0.0", "key-2", new HashMap<>());
+
+        subscriptionDataHolder.beginSynchronization();
+        try {
+            // Subscription events received while the subscriptions are retrieved
+            subscriptionDataHolder.addApiSubscriptionToMap("/sync", "1.0.0", "key-3", new HashMap<>());
+            subscriptionDataHolder.removeApiSubscriptionFromMap("/sync", "1.0.0", "key-2");
+            subscriptionDataHolder.synchronizeApiSubscriptions(
+                    Arrays.asList(createSubscription("/sync", "key-1"), createSubscription("/sync", "key-2")));
+        } finally {
+            subscriptionDataHolder.endSynchronization();
+        }
+
+        Map<String, Map<String, String>> subscriptions = subscriptionDataHolder.getApiSubscriptions()
+                .get("/sync@1.0.0");
+        Assert.assertEquals(subscriptions.get("key-1").get(GatewayConstants.SUBSCRIPTION_POLICY), "Gold");
+        Assert.assertFalse(subscriptions.containsKey("key-2"));
+        Assert.assertTrue(subscriptions.containsKey("key-3"));
+
+        // Without a synchronization in progress the retrieved subscriptions are applied
+        subscriptionDataHolder.synchronizeApiSubscriptions(Collections.singletonList(
+                createSubscription("/sync", "key-1")));
+        Assert.assertFalse(subscriptionDataHolder.getApiSubscriptions().get("/sync@1.0.0").containsKey("key-3"));
+    }
+
+    @Test
+    public void testSnapshotHoldsAllApis() throws IOException {
+        Path snapshotPath = Files.createTempDirectory("snapshot").resolve("gateway-snapshot.dat");
+        for (int i = 0; i < 100; i++) {
+            APISubscriptionDataHolder.getInstance().addApiSubscriptionToMap("/many" + i, "1.0.0", "key",
+                    new HashMap<>());
+        }
+
+        GatewaySnapshotManager snapshotManager = new GatewaySnapshotManager(snapshotPath, 900);
+        snapshotManager.writeSnapshot();
+        GatewaySnapshot snapshot = snapshotManager.readSnapshot();
+
+        Assert.assertNotNull(snapshot);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(snapshot.getApiSubscriptions().containsKey("/many" + i + "@1.0.0"));
+        }
+    }
+
+    @Test
+    public void testRestoredBlockingConditionsExpire() {
+        ThrottleDataHolder throttleDataHolder = ThrottleDataHolder.getInstance();
+        long expiredTime = System.currentTimeMillis() - 1;
+        throttleDataHolder.restoreBlockingConditions(Collections.emptyMap(), Collections.emptyMap(),
+                Collections.singletonMap("bob", "bob"), Collections.singletonMap("10.0.0.2", "10.0.0.2"),
+                Collections.emptyMap(), expiredTime);
+        Assert.assertEquals(throttleDataHolder.getRestoredConditionExpiryTimes().get("IP:10.0.0.2"),
+                Long.valueOf(expiredTime));
+
+        // Received again from the traffic manager after the restore
+        throttleDataHolder.addUserBlockingCondition("bob", "bob");
+        throttleDataHolder.expireRestoredBlockingConditions();
+
+        Assert.assertTrue(throttleDataHolder.getBlockedUserConditionsMap().containsKey("bob"));
+        Assert.assertFalse(throttleDataHolder.getBlockedIpConditionsMap().containsKey("10.0.0.2"));
+        Assert.assertTrue(throttleDataHolder.getRestoredConditionExpiryTimes().isEmpty());
+        throttleDataHolder.removeUserBlockingCondition("bob");
+    }
+
+    @Test
+    public void testStartAfterStop() throws IOException {
+        Path snapshotPath = Files.createTempDirectory("snapshot").resolve("gateway-snapshot.dat");
+        GatewaySnapshotManager snapshotManager = new GatewaySnapshotManager(snapshotPath, 900);
+        snapshotManager.stop();
+        snapshotManager.start(60, null);
+        // A final snapshot is only written when stopping a started manager
+        snapshotManager.stop();
+        Assert.assertFalse(Files.exists(snapshotPath));
+    }
+
+    private static SubscriptionDTO createSubscription(String apiContext, String consumerKey) {
+        SubscriptionDTO subscription = new SubscriptionDTO();
+        subscription.setApiContext(apiContext);
+        subscription.setApiVersion("1.0.0");
+        subscription.setConsumerKey(consumerKey);
+        subscription.setSubscriptionPolicy("Gold");
+        return subscription;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.indexing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.APISearchIndex;
+import org.wso2.carbon.apimgt.core.dao.ApiDAO;
+import org.wso2.carbon.apimgt.core.dao.ApiType;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.DocumentInfo;
+import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * {@link APISearchIndex} backed by an {@link InvertedIndex} of the standard APIs.
+ * <p>
+ * The index is built from the database by {@link #rebuild()}, which is called periodically so that changes made on
+ * other nodes are picked up. Between rebuilds the APIs modified on this node are reloaded when their publisher events
+ * are received. The new index is built alongside the current one, and the APIs modified while it was being built are
+ * reloaded once it replaces the current one.
+ */
+public class APISearchIndexImpl implements APISearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(APISearchIndexImpl.class);
+
+    private final ApiDAO apiDAO;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+    private final Set<String> apisModifiedDuringRebuild = new HashSet<>();
+
+    private InvertedIndex index = new InvertedIndex();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public APISearchIndexImpl(ApiDAO apiDAO) {
+        this.apiDAO = apiDAO;
+    }
+
+    /**
+     * Build the index again from the database
+     *
+     * @throws APIMgtDAOException if the APIs cannot be read. The current index is kept.
+     */
+    public void rebuild() throws APIMgtDAOException {
+        synchronized (rebuildLock) {
+            rebuilding = true;
+            apisModifiedDuringRebuild.clear();
+        }
+        InvertedIndex newIndex = new InvertedIndex();
+        Set<String> modifiedAPIs;
+        try {
+            for (API api : apiDAO.getAPIs(ApiType.STANDARD)) {
+                IndexedAPI indexedAPI = load(api.getId());
+                if (indexedAPI != null) {
+                    newIndex.add(indexedAPI);
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                index = newIndex;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            synchronized (rebuildLock) {
+                rebuilding = false;
+                modifiedAPIs = new HashSet<>(apisModifiedDuringRebuild);
+                apisModifiedDuringRebuild.clear();
+            }
+        }
+        for (String apiId : modifiedAPIs) {
+            reindex(apiId);
+        }
+        ready = true;
+        if (log.isDebugEnabled()) {
+            log.debug("Rebuilt API search index with " + newIndex.size() + " APIs");
+        }
+    }
+
+    /**
+     * Load an API from the database and replace it in the index, or remove it if it no longer exists
+     *
+     * @param apiId UUID of the API
+     * @throws APIMgtDAOException if the API cannot be read
+     */
+    public void reindex(String apiId) throws APIMgtDAOException {
+        markModified(apiId);
+        IndexedAPI indexedAPI = load(apiId);
+        lock.writeLock().lock();
+        try {
+            if (indexedAPI == null) {
+                index.remove(apiId);
+            } else {
+                index.add(indexedAPI);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<API> searchStoreAPIs(String query, Set<String> roles, List<String> statuses, int offset,
+                                     int limit) {
+        return search(query, api -> statuses.contains(api.getLifeCycleStatus()) && api.isVisibleTo(roles),
+                offset, limit);
+    }
+
+    @Override
+    public List<API> searchPublisherAPIs(String query, Set<String> roles, String user, int offset, int limit) {
+        return search(query, api -> api.isPermittedTo(roles, user), offset, limit);
+    }
+
+    @Override
+    public void captureEvent(Event event, String username, ZonedDateTime eventTime, Map<String, String> metadata) {
+        String apiId = metadata.get(APIMgtConstants.FunctionsConstants.API_ID);
+        try {
+            switch (event) {
+                case API_CREATION:
+                case API_UPDATE:
+                case LIFE_CYCLE_CHANGE:
+                    reindex(apiId);
+                    break;
+                case API_DELETION:
+                    remove(apiId);
+                    break;
+                case DOC_CREATION:
+                case DOC_MODIFICATION:
+                case DOC_DELETION:
+                    if (apiId == null) {
+                        apiId = getAPIIdOfDocument(metadata.get(APIMgtConstants.FunctionsConstants.DOC_ID));
+                    }
+                    if (apiId != null) {
+                        reindex(apiId);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (APIMgtDAOException e) {
+            log.error("Error occurred while updating API search index for " + event.getEventAsString() + " of API "
+                    + apiId + ". The API will be updated when the index is rebuilt", e);
+        }
+    }
+
+    private List<API> search(String query, Predicate<IndexedAPI> filter, int offset, int limit) {
+        SearchQuery searchQuery = SearchQuery.parse(query);
+        lock.readLock().lock();
+        try {
+            return index.search(searchQuery, filter, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void remove(String apiId) {
+        markModified(apiId);
+        lock.writeLock().lock();
+        try {
+            index.remove(apiId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String getAPIIdOfDocument(String documentId) {
+        lock.readLock().lock();
+        try {
+            return index.getAPIIdOfDocument(documentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markModified(String apiId) {
+        synchronized (rebuildLock) {
+            if (rebuilding) {
+                apisModifiedDuringRebuild.add(apiId);
+            }
+        }
+    }
+
+    /**
+     * Load an API and the searchable text of its documents. Documents which are not visible at the API level are
+     * not searchable, so that their content cannot be inferred from search results.
+     *
+     * @param apiId UUID of the API
+     * @return the API to index, or null if it does not exist or is not a standard API
+     * @throws APIMgtDAOException if the API cannot be read
+     */
+    private IndexedAPI load(String apiId) throws APIMgtDAOException {
+        API api = apiDAO.getAPI(apiId);
+        if (api == null || api.getApiType() != null && api.getApiType() != ApiType.STANDARD) {
+            return null;
+        }
+        Set<String> documentIds = new HashSet<>();
+        List<String> documentTexts = new ArrayList<>();
+        for (DocumentInfo document : apiDAO.getDocumentsInfoList(apiId)) {
+            documentIds.add(document.getId());
+            if (document.getVisibility() != null && document.getVisibility() != DocumentInfo.Visibility.API_LEVEL) {
+                continue;
+            }
+            documentTexts.add(document.getName());
+            documentTexts.add(document.getSummary());
+            if (document.getSourceType() == DocumentInfo.SourceType.INLINE) {
+                documentTexts.add(apiDAO.getDocumentInlineContent(document.getId()));
+            }
+        }
+        return new IndexedAPI(api, documentIds, documentTexts);
+    }
+}
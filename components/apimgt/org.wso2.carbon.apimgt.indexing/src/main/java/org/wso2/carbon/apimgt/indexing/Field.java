@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.indexing;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Indexed fields of an API. Text fields are split into words and matched by free text terms, keyword fields hold
+ * the whole value and are only matched by attribute terms.
+ */
+enum Field {
+    NAME("name", 10, false),
+    TAG("tag", 5, false),
+    CONTEXT("context", 4, false),
+    DESCRIPTION("description", 2, false),
+    RESOURCE("subcontext", 2, false),
+    DOCUMENT("doc", 1, false),
+    VERSION("version", 1, true),
+    PROVIDER("provider", 1, true),
+    LIFECYCLE_STATUS("lifeCycleStatus", 1, true);
+
+    static final Set<Field> TEXT_FIELDS = EnumSet.of(NAME, TAG, CONTEXT, DESCRIPTION, RESOURCE, DOCUMENT);
+
+    private final String attribute;
+    private final int weight;
+    private final boolean keyword;
+
+    Field(String attribute, int weight, boolean keyword) {
+        this.attribute = attribute;
+        this.weight = weight;
+        this.keyword = keyword;
+    }
+
+    /**
+     * @return relative importance of a match in this field when ranking results
+     */
+    int getWeight() {
+        return weight;
+    }
+
+    boolean isKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Get the field of a search attribute
+     *
+     * @param attribute attribute name, such as {@code provider}
+     * @return the field, or null if the attribute is not known
+     */
+    static Field fromAttribute(String attribute) {
+        for (Field field : values()) {
+            if (field.attribute.equalsIgnoreCase(attribute.trim())) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Normalize a keyword value so that it can be matched regardless of case
+     *
+     * @param value keyword value
+     * @return normalized value
+     */
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ENGLISH);
+    }
+}
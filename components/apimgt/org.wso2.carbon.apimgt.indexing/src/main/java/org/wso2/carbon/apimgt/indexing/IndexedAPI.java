@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.indexing;
+
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.UriTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * An API as held by the {@link InvertedIndex}: the summary returned by searches, the details needed to check whether
+ * a user may see it, and the terms of each of its fields.
+ */
+final class IndexedAPI {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final API summary;
+    private final API.Visibility visibility;
+    private final Set<String> visibleRoles;
+    private final Set<String> permittedGroups;
+    private final Set<String> documentIds;
+    private final Map<Field, Set<String>> terms = new EnumMap<>(Field.class);
+
+    /**
+     * @param api           API with its tags, resources, visibility and permissions
+     * @param documentIds   UUIDs of the documents of the API
+     * @param documentTexts names, summaries and contents of the documents which may be searched
+     */
+    IndexedAPI(API api, Set<String> documentIds, Collection<String> documentTexts) {
+        this.summary = new API.APIBuilder(api.getProvider(), api.getName(), api.getVersion()).
+                id(api.getId()).
+                context(api.getContext()).
+                description(api.getDescription()).
+                lifeCycleStatus(api.getLifeCycleStatus()).
+                lifecycleInstanceId(api.getLifecycleInstanceId()).
+                workflowStatus(api.getWorkflowStatus()).build();
+        this.visibility = api.getVisibility();
+        this.visibleRoles = api.getVisibleRoles() == null ? Collections.emptySet() : api.getVisibleRoles();
+        Map<?, ?> permissionMap = api.getPermissionMap();
+        this.permittedGroups = new HashSet<>();
+        if (permissionMap != null) {
+            for (Object group : permissionMap.keySet()) {
+                permittedGroups.add(String.valueOf(group));
+            }
+        }
+        this.documentIds = documentIds;
+
+        addWords(Field.NAME, api.getName());
+        addWords(Field.CONTEXT, api.getContext());
+        addWords(Field.DESCRIPTION, api.getDescription());
+        if (api.getTags() != null) {
+            for (String tag : api.getTags()) {
+                addWords(Field.TAG, tag);
+            }
+        }
+        if (api.getUriTemplates() != null) {
+            for (UriTemplate uriTemplate : api.getUriTemplates().values()) {
+                addWords(Field.RESOURCE, uriTemplate.getUriTemplate());
+            }
+        }
+        for (String documentText : documentTexts) {
+            addWords(Field.DOCUMENT, documentText);
+        }
+        addKeyword(Field.VERSION, api.getVersion());
+        addKeyword(Field.PROVIDER, api.getProvider());
+        addKeyword(Field.LIFECYCLE_STATUS, api.getLifeCycleStatus());
+    }
+
+    /**
+     * Split a text into lower case words
+     *
+     * @param text text to split
+     * @return words of the text
+     */
+    static Set<String> toWords(String text) {
+        Set<String> words = new HashSet<>();
+        if (text != null) {
+            for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ENGLISH))) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    String getId() {
+        return summary.getId();
+    }
+
+    String getName() {
+        return summary.getName();
+    }
+
+    String getProvider() {
+        return summary.getProvider();
+    }
+
+    String getLifeCycleStatus() {
+        return summary.getLifeCycleStatus();
+    }
+
+    API getSummary() {
+        return summary;
+    }
+
+    Set<String> getDocumentIds() {
+        return documentIds;
+    }
+
+    Map<Field, Set<String>> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Check whether a subscriber with the given roles can see the API in the store
+     *
+     * @param roles roles of the subscriber
+     * @return true if the API is public or restricted to one of the roles
+     */
+    boolean isVisibleTo(Set<String> roles) {
+        return visibility == API.Visibility.PUBLIC
+                || visibility == API.Visibility.RESTRICTED && !Collections.disjoint(visibleRoles, roles);
+    }
+
+    /**
+     * Check whether a publisher can manage the API
+     *
+     * @param roles roles of the publisher
+     * @param user  username of the publisher
+     * @return true if the publisher created the API or one of the roles has a permission on it
+     */
+    boolean isPermittedTo(Set<String> roles, String user) {
+        return getProvider() != null && getProvider().equals(user) || !Collections.disjoint(permittedGroups, roles);
+    }
+
+    private void addWords(Field field, String text) {
+        Set<String> words = toWords(text);
+        if (!words.isEmpty()) {
+            terms.computeIfAbsent(field, key -> new HashSet<>()).addAll(words);
+        }
+    }
+
+    private void addKeyword(Field field, String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            terms.computeIfAbsent(field, key -> new HashSet<>()).add(Field.normalize(value));
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.indexing;
+
+import org.wso2.carbon.apimgt.core.models.API;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * In memory inverted index which maps the terms of each field to the APIs containing them.
+ * <p>
+ * Terms are kept sorted, so a prefix term is answered from a sub map of the terms instead of a scan. A fuzzy term
+ * is compared with the terms of the field and accepts those within a small edit distance. Results are ranked by the
+ * sum of the weights of the fields matched by each term, an exact match counting twice as much as a prefix or fuzzy
+ * one.
+ * <p>
+ * This class is not thread safe.
+ */
+final class InvertedIndex {
+    private static final int EXACT_MATCH_BOOST = 2;
+
+    private final Map<Field, TreeMap<String, Set<String>>> postings = new EnumMap<>(Field.class);
+    private final Map<String, IndexedAPI> apis = new HashMap<>();
+    private final Map<String, String> documentOwners = new HashMap<>();
+
+    InvertedIndex() {
+        for (Field field : Field.values()) {
+            postings.put(field, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Add an API to the index, replacing its previous version
+     *
+     * @param api API to add
+     */
+    void add(IndexedAPI api) {
+        remove(api.getId());
+        apis.put(api.getId(), api);
+        for (Map.Entry<Field, Set<String>> fieldTerms : api.getTerms().entrySet()) {
+            TreeMap<String, Set<String>> fieldPostings = postings.get(fieldTerms.getKey());
+            for (String term : fieldTerms.getValue()) {
+                fieldPostings.computeIfAbsent(term, key -> new HashSet<>()).add(api.getId());
+            }
+        }
+        for (String documentId : api.getDocumentIds()) {
+            documentOwners.put(documentId, api.getId());
+        }
+    }
+
+    /**
+     * Remove an API from the index
+     *
+     * @param apiId UUID of the API
+     */
+    void remove(String apiId) {
+        IndexedAPI api = apis.remove(apiId);
+        if (api == null) {
+            return;
+        }
+        for (Map.Entry<Field, Set<String>> fieldTerms : api.getTerms().entrySet()) {
+            TreeMap<String, Set<String>> fieldPostings = postings.get(fieldTerms.getKey());
+            for (String term : fieldTerms.getValue()) {
+                Set<String> apiIds = fieldPostings.get(term);
+                if (apiIds != null) {
+                    apiIds.remove(apiId);
+                    if (apiIds.isEmpty()) {
+                        fieldPostings.remove(term);
+                    }
+                }
+            }
+        }
+        for (String documentId : api.getDocumentIds()) {
+            documentOwners.remove(documentId);
+        }
+    }
+
+    /**
+     * Get the API of an indexed document
+     *
+     * @param documentId UUID of the document
+     * @return UUID of the API, or null if the document is not indexed
+     */
+    String getAPIIdOfDocument(String documentId) {
+        return documentOwners.get(documentId);
+    }
+
+    int size() {
+        return apis.size();
+    }
+
+    /**
+     * Find the APIs which match all the clauses of a query
+     *
+     * @param query  search query
+     * @param filter accepts the APIs which may be returned
+     * @param offset index of the first result
+     * @param limit  maximum number of results
+     * @return summaries of the matching APIs, best match first
+     */
+    List<API> search(SearchQuery query, Predicate<IndexedAPI> filter, int offset, int limit) {
+        Map<String, Integer> scores = null;
+        for (SearchQuery.Clause clause : query.getClauses()) {
+            Map<String, Integer> clauseScores = match(clause);
+            if (scores == null) {
+                scores = clauseScores;
+            } else {
+                scores.keySet().retainAll(clauseScores.keySet());
+                for (Map.Entry<String, Integer> score : scores.entrySet()) {
+                    score.setValue(score.getValue() + clauseScores.get(score.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        if (scores == null || scores.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<IndexedAPI> hits = new ArrayList<>();
+        for (String apiId : scores.keySet()) {
+            IndexedAPI api = apis.get(apiId);
+            if (filter.test(api)) {
+                hits.add(api);
+            }
+        }
+        Map<String, Integer> finalScores = scores;
+        hits.sort(Comparator.<IndexedAPI>comparingInt(api -> -finalScores.get(api.getId()))
+                .thenComparing(IndexedAPI::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(IndexedAPI::getId));
+
+        List<API> results = new ArrayList<>();
+        for (int i = Math.max(offset, 0); i < hits.size() && results.size() < limit; i++) {
+            results.add(hits.get(i).getSummary());
+        }
+        return results;
+    }
+
+    private Map<String, Integer> match(SearchQuery.Clause clause) {
+        Map<String, Integer> scores = new HashMap<>();
+        Set<Field> fields = clause.getField() == null ? Field.TEXT_FIELDS : Collections.singleton(clause.getField());
+        String term = clause.getTerm();
+        for (Field field : fields) {
+            TreeMap<String, Set<String>> fieldPostings = postings.get(field);
+            switch (clause.getMode()) {
+                case EXACT:
+                    addScores(scores, fieldPostings.get(term), field.getWeight() * EXACT_MATCH_BOOST);
+                    break;
+                case PREFIX:
+                    NavigableMap<String, Set<String>> prefixed = fieldPostings.subMap(term, true,
+                            term + Character.MAX_VALUE, false);
+                    for (Map.Entry<String, Set<String>> entry : prefixed.entrySet()) {
+                        addScores(scores, entry.getValue(), score(field, term, entry.getKey()));
+                    }
+                    break;
+                case FUZZY:
+                    int maxEdits = getMaxEdits(term);
+                    for (Map.Entry<String, Set<String>> entry : fieldPostings.entrySet()) {
+                        if (isWithinEditDistance(term, entry.getKey(), maxEdits)) {
+                            addScores(scores, entry.getValue(), score(field, term, entry.getKey()));
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return scores;
+    }
+
+    private static int score(Field field, String term, String indexedTerm) {
+        return term.equals(indexedTerm) ? field.getWeight() * EXACT_MATCH_BOOST : field.getWeight();
+    }
+
+    private static void addScores(Map<String, Integer> scores, Set<String> apiIds, int score) {
+        if (apiIds != null) {
+            for (String apiId : apiIds) {
+                scores.merge(apiId, score, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Number of edits allowed for a fuzzy term, so that short terms do not match unrelated words
+     */
+    static int getMaxEdits(String term) {
+        if (term.length() < 3) {
+            return 0;
+        }
+        return term.length() < 6 ? 1 : 2;
+    }
+
+    /**
+     * Check whether the Levenshtein distance of two terms is within a limit. Rows of the distance matrix are
+     * abandoned as soon as every cell exceeds the limit.
+     */
+    static boolean isWithinEditDistance(String first, String second, int maxEdits) {
+        if (Math.abs(first.length() - second.length()) > maxEdits) {
+            return false;
+        }
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()] <= maxEdits;
+    }
+}
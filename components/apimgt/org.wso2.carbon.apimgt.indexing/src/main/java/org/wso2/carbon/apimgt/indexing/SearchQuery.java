@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.indexing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed API search query. See {@link org.wso2.carbon.apimgt.core.api.APISearchIndex} for the syntax.
+ */
+final class SearchQuery {
+    private static final char PREFIX_MARKER = '*';
+    private static final char FUZZY_MARKER = '~';
+
+    private final List<Clause> clauses;
+
+    /**
+     * How a term is compared with the indexed terms
+     */
+    enum Mode {
+        EXACT, PREFIX, FUZZY
+    }
+
+    /**
+     * A term which must match an API
+     */
+    static final class Clause {
+        private final Field field;
+        private final String term;
+        private final Mode mode;
+
+        Clause(Field field, String term, Mode mode) {
+            this.field = field;
+            this.term = term;
+            this.mode = mode;
+        }
+
+        /**
+         * @return field to match, or null to match any text field
+         */
+        Field getField() {
+            return field;
+        }
+
+        String getTerm() {
+            return term;
+        }
+
+        Mode getMode() {
+            return mode;
+        }
+    }
+
+    private SearchQuery(List<Clause> clauses) {
+        this.clauses = Collections.unmodifiableList(clauses);
+    }
+
+    /**
+     * Parse a search query
+     *
+     * @param query search query
+     * @return parsed query
+     */
+    static SearchQuery parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) {
+            return new SearchQuery(clauses);
+        }
+        for (String part : query.split(",")) {
+            int separator = part.indexOf(':');
+            Field field = separator > 0 ? Field.fromAttribute(part.substring(0, separator)) : null;
+            if (field != null) {
+                addClauses(clauses, field, part.substring(separator + 1).trim());
+            } else {
+                for (String word : part.trim().split("\\s+")) {
+                    addClauses(clauses, null, word);
+                }
+            }
+        }
+        return new SearchQuery(clauses);
+    }
+
+    /**
+     * @return clauses of the query, all of which must match. Empty if the query has no searchable terms.
+     */
+    List<Clause> getClauses() {
+        return clauses;
+    }
+
+    private static void addClauses(List<Clause> clauses, Field field, String value) {
+        Mode mode = field != null && field.isKeyword() ? Mode.EXACT : Mode.PREFIX;
+        String term = value;
+        if (term.endsWith(String.valueOf(FUZZY_MARKER))) {
+            mode = Mode.FUZZY;
+        } else if (term.endsWith(String.valueOf(PREFIX_MARKER))) {
+            mode = Mode.PREFIX;
+        }
+        term = stripMarkers(term);
+        if (term.isEmpty()) {
+            return;
+        }
+        if (field != null && field.isKeyword()) {
+            clauses.add(new Clause(field, Field.normalize(term), mode));
+            return;
+        }
+        for (String word : IndexedAPI.toWords(term)) {
+            clauses.add(new Clause(field, word, mode));
+        }
+    }
+
+    private static String stripMarkers(String term) {
+        int start = 0;
+        int end = term.length();
+        while (start < end && isMarker(term.charAt(start))) {
+            start++;
+        }
+        while (end > start && isMarker(term.charAt(end - 1))) {
+            end--;
+        }
+        return term.substring(start, end);
+    }
+
+    private static boolean isMarker(char c) {
+        return c == PREFIX_MARKER || c == FUZZY_MARKER;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.indexing.internal;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.APIMConfigurations;
+import org.wso2.carbon.apimgt.core.api.APISearchIndex;
+import org.wso2.carbon.apimgt.core.dao.impl.DAOFactory;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.indexing.APISearchIndexImpl;
+import org.wso2.carbon.kernel.configprovider.CarbonConfigurationException;
+import org.wso2.carbon.kernel.configprovider.ConfigProvider;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the API search index and registers it as an {@link APISearchIndex} service once it is ready. The index is
+ * then rebuilt periodically to pick up the changes made on other nodes.
+ */
+@Component(
+        name = "org.wso2.carbon.apimgt.indexing.IndexingServiceComponent",
+        immediate = true
+)
+public class IndexingServiceComponent {
+    private static final Logger log = LoggerFactory.getLogger(IndexingServiceComponent.class);
+
+    private ConfigProvider configProvider;
+    private ScheduledExecutorService refresher;
+    private volatile APISearchIndexImpl apiSearchIndex;
+    private volatile ServiceRegistration<APISearchIndex> registration;
+
+    @Activate
+    protected void start(BundleContext bundleContext) {
+        APIMConfigurations config = getAPIMConfiguration();
+        if (!config.isSearchIndexEnabled()) {
+            log.info("API search index is disabled. APIs will be searched in the database");
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "APISearchIndexRefresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long refreshInterval = config.getSearchIndexRefreshInterval();
+        if (refreshInterval > 0) {
+            refresher.scheduleWithFixedDelay(() -> refresh(bundleContext), 0, refreshInterval, TimeUnit.SECONDS);
+        } else {
+            log.warn("API search index refresh interval is " + refreshInterval + ". The index will not be rebuilt "
+                    + "to pick up the changes made on other nodes");
+            refresher.execute(() -> refresh(bundleContext));
+        }
+    }
+
+    @Deactivate
+    protected void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+        if (registration != null) {
+            registration.unregister();
+            registration = null;
+        }
+        apiSearchIndex = null;
+    }
+
+    /**
+     * Get the ConfigProvider service.
+     *
+     * @param configProvider the ConfigProvider service that is registered as a service.
+     */
+    @Reference(
+            name = "carbon.config.provider",
+            service = ConfigProvider.class,
+            cardinality = ReferenceCardinality.MANDATORY,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unregisterConfigProvider"
+    )
+    protected void registerConfigProvider(ConfigProvider configProvider) {
+        this.configProvider = configProvider;
+    }
+
+    /**
+     * This is the unbind method, which gets called for ConfigProvider instance un-registrations.
+     *
+     * @param configProvider the ConfigProvider service that get unregistered.
+     */
+    protected void unregisterConfigProvider(ConfigProvider configProvider) {
+        this.configProvider = null;
+    }
+
+    /**
+     * Rebuild the index, creating and registering it on the first successful build. A failed build is retried on the
+     * next run and the previous index keeps answering searches meanwhile.
+     *
+     * @param bundleContext context used to register the index
+     */
+    private void refresh(BundleContext bundleContext) {
+        try {
+            if (apiSearchIndex == null) {
+                APISearchIndexImpl index = new APISearchIndexImpl(DAOFactory.getApiDAO());
+                index.rebuild();
+                apiSearchIndex = index;
+                registration = bundleContext.registerService(APISearchIndex.class, index, null);
+                log.info("API search index is ready");
+            } else {
+                apiSearchIndex.rebuild();
+            }
+        } catch (APIManagementException | RuntimeException e) {
+            log.error("Error occurred while building API search index", e);
+        }
+    }
+
+    private APIMConfigurations getAPIMConfiguration() {
+        APIMConfigurations config = null;
+        if (configProvider != null) {
+            try {
+                config = configProvider.getConfigurationObject(APIMConfigurations.class);
+            } catch (CarbonConfigurationException e) {
+                log.error("Error occurred while reading API Manager configuration", e);
+            }
+        }
+        return config == null ? new APIMConfigurations() : config;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.apimgt.indexing;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.dao.ApiDAO;
+import org.wso2.carbon.apimgt.core.dao.ApiType;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.DocumentInfo;
+import org.wso2.carbon.apimgt.core.models.Event;
+import org.wso2.carbon.apimgt.core.models.UriTemplate;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class APISearchIndexImplTestCase {
+    private static final String PUBLISHED = "Published";
+    private static final String CREATED = "Created";
+    private static final List<String> STORE_STATUSES = Arrays.asList(PUBLISHED, "Prototyped");
+    private static final Set<String> NO_ROLES = Collections.emptySet();
+
+    private ApiDAO apiDAO;
+    private APISearchIndexImpl apiSearchIndex;
+
+    @BeforeMethod
+    public void init() throws APIMgtDAOException {
+        apiDAO = Mockito.mock(ApiDAO.class);
+        API weather = createAPI("weather-id", "WeatherForecast", "/weather", "Forecasts for any city",
+                PUBLISHED, "admin", API.Visibility.PUBLIC, NO_ROLES, "climate", "/forecast/{city}");
+        API calculator = createAPI("calculator-id", "Calculator", "/calc", "Arithmetic such as weather statistics",
+                PUBLISHED, "admin", API.Visibility.PUBLIC, NO_ROLES, "math", "/add");
+        API payroll = createAPI("payroll-id", "Payroll", "/payroll", "Salary details", PUBLISHED, "john",
+                API.Visibility.RESTRICTED, Collections.singleton("hr"), "finance", "/salary");
+        API draft = createAPI("draft-id", "WeatherDraft", "/draft", "Not yet published", CREATED, "john",
+                API.Visibility.PUBLIC, NO_ROLES, "climate", "/draft");
+        mockAPIs(weather, calculator, payroll, draft);
+        DocumentInfo guide = new DocumentInfo.Builder().id("guide-id").name("Getting started")
+                .summary("Usage guide").sourceType(DocumentInfo.SourceType.INLINE)
+                .visibility(DocumentInfo.Visibility.API_LEVEL).build();
+        Mockito.when(apiDAO.getDocumentsInfoList("calculator-id")).thenReturn(Collections.singletonList(guide));
+        Mockito.when(apiDAO.getDocumentInlineContent("guide-id")).thenReturn("Supports logarithms");
+
+        apiSearchIndex = new APISearchIndexImpl(apiDAO);
+        Assert.assertFalse(apiSearchIndex.isReady());
+        apiSearchIndex.rebuild();
+        Assert.assertTrue(apiSearchIndex.isReady());
+    }
+
+    @Test(description = "Search APIs by word prefix and rank name matches above description matches")
+    public void testPrefixSearchRanking() {
+        List<API> apis = apiSearchIndex.searchStoreAPIs("weath", NO_ROLES, STORE_STATUSES, 0, 10);
+
+        Assert.assertEquals(getIds(apis), Arrays.asList("weather-id", "calculator-id"));
+    }
+
+    @Test(description = "Search APIs with a misspelt term")
+    public void testFuzzySearch() {
+        List<API> apis = apiSearchIndex.searchStoreAPIs("forcast~", NO_ROLES, STORE_STATUSES, 0, 10);
+
+        Assert.assertEquals(getIds(apis), Collections.singletonList("weather-id"));
+        Assert.assertTrue(apiSearchIndex.searchStoreAPIs("forcast", NO_ROLES, STORE_STATUSES, 0, 10).isEmpty());
+    }
+
+    @Test(description = "Search APIs by attribute, document content and resource path")
+    public void testAttributeSearch() {
+        Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("tag:climate", NO_ROLES, STORE_STATUSES, 0, 10)),
+                Collections.singletonList("weather-id"));
+        Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("provider:ADMIN, name:calc", NO_ROLES,
+                STORE_STATUSES, 0, 10)), Collections.singletonList("calculator-id"));
+        Assert.assertTrue(apiSearchIndex.searchStoreAPIs("provider:adm", NO_ROLES, STORE_STATUSES, 0, 10).isEmpty());
+        Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("doc:logarithm", NO_ROLES, STORE_STATUSES, 0,
+                10)), Collections.singletonList("calculator-id"));
+        Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("subcontext:city", NO_ROLES, STORE_STATUSES, 0,
+                10)), Collections.singletonList("weather-id"));
+    }
+
+    @Test(description = "Only return the APIs visible to the subscriber in the store")
+    public void testStoreVisibility() {
+        Assert.assertTrue(apiSearchIndex.searchStoreAPIs("payroll", NO_ROLES, STORE_STATUSES, 0, 10).isEmpty());
+        Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("payroll", Collections.singleton("hr"),
+                STORE_STATUSES, 0, 10)), Collections.singletonList("payroll-id"));
+        Assert.assertTrue(apiSearchIndex.searchStoreAPIs("weatherdraft", NO_ROLES, STORE_STATUSES, 0, 10)
+                .isEmpty());
+    }
+
+    @Test(description = "Only return the APIs the publisher created or has a permission on")
+    public void testPublisherPermissions() {
+        Assert.assertEquals(getIds(apiSearchIndex.searchPublisherAPIs("weather", NO_ROLES, "john", 0, 10)),
+                Collections.singletonList("draft-id"));
+        Assert.assertEquals(getIds(apiSearchIndex.searchPublisherAPIs("weather", Collections.singleton("admin"),
+                "john", 0, 10)), Arrays.asList("weather-id", "draft-id", "calculator-id"));
+    }
+
+    @Test(description = "Page search results")
+    public void testPagination() {
+        Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("weather", NO_ROLES, STORE_STATUSES, 1, 10)),
+                Collections.singletonList("calculator-id"));
+        Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("weather", NO_ROLES, STORE_STATUSES, 0, 1)),
+                Collections.singletonList("weather-id"));
+    }
+
+    @Test(description = "Update the index from publisher events")
+    public void testIncrementalUpdate() throws APIMgtDAOException {
+        API maps = createAPI("maps-id", "Maps", "/maps", "Directions", PUBLISHED, "admin",
+                API.Visibility.PUBLIC, NO_ROLES, "geo", "/route");
+        Mockito.when(apiDAO.getAPI("maps-id")).thenReturn(maps);
+        apiSearchIndex.captureEvent(Event.API_CREATION, "admin", ZonedDateTime.now(), apiMetadata("maps-id"));
+        Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("directions", NO_ROLES, STORE_STATUSES, 0, 10)),
+                Collections.singletonList("maps-id"));
+
+        API renamed = createAPI("maps-id", "Navigator", "/navigator", "Directions", PUBLISHED, "admin",
+                API.Visibility.PUBLIC, NO_ROLES, "geo", "/route");
+        Mockito.when(apiDAO.getAPI("maps-id")).thenReturn(renamed);
+        apiSearchIndex.captureEvent(Event.API_UPDATE, "admin", ZonedDateTime.now(), apiMetadata("maps-id"));
+        Assert.assertTrue(apiSearchIndex.searchStoreAPIs("maps", NO_ROLES, STORE_STATUSES, 0, 10).isEmpty());
+        Assert.assertEquals(apiSearchIndex.searchStoreAPIs("navigator", NO_ROLES, STORE_STATUSES, 0, 10).get(0)
+                .getName(), "Navigator");
+
+        apiSearchIndex.captureEvent(Event.API_DELETION, "admin", ZonedDateTime.now(), apiMetadata("maps-id"));
+        Assert.assertTrue(apiSearchIndex.searchStoreAPIs("navigator", NO_ROLES, STORE_STATUSES, 0, 10).isEmpty());
+    }
+
+    @Test(description = "Reindex the API of a deleted document found by the document id")
+    public void testDocumentDeletion() throws APIMgtDAOException {
+        Mockito.when(apiDAO.getDocumentsInfoList("calculator-id")).thenReturn(Collections.emptyList());
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put(APIMgtConstants.FunctionsConstants.DOC_ID, "guide-id");
+        apiSearchIndex.captureEvent(Event.DOC_DELETION, "admin", ZonedDateTime.now(), metadata);
+
+        Assert.assertTrue(apiSearchIndex.searchStoreAPIs("logarithms", NO_ROLES, STORE_STATUSES, 0, 10).isEmpty());
+    }
+
+    @Test(description = "Keep serving the current index when a rebuild fails")
+    public void testFailedRebuild() throws APIMgtDAOException {
+        Mockito.when(apiDAO.getAPIs(ApiType.STANDARD)).thenThrow(new APIMgtDAOException("Database unavailable"));
+        try {
+            apiSearchIndex.rebuild();
+            Assert.fail("Rebuild should fail when the APIs cannot be read");
+        } catch (APIMgtDAOException e) {
+            Assert.assertEquals(getIds(apiSearchIndex.searchStoreAPIs("calculator", NO_ROLES, STORE_STATUSES, 0,
+                    10)), Collections.singletonList("calculator-id"));
+        }
+    }
+
+    @Test(description = "Compare terms by edit distance")
+    public void testEditDistance() {
+        Assert.assertTrue(InvertedIndex.isWithinEditDistance("forecast", "forcast", 1));
+        Assert.assertTrue(InvertedIndex.isWithinEditDistance("weather", "waether", 2));
+        Assert.assertFalse(InvertedIndex.isWithinEditDistance("weather", "waether", 1));
+        Assert.assertFalse(InvertedIndex.isWithinEditDistance("map", "maps", 0));
+        Assert.assertEquals(InvertedIndex.getMaxEdits("ab"), 0);
+        Assert.assertEquals(InvertedIndex.getMaxEdits("maps"), 1);
+        Assert.assertEquals(InvertedIndex.getMaxEdits("forecast"), 2);
+    }
+
+    private void mockAPIs(API... apis) throws APIMgtDAOException {
+        List<API> summaries = new ArrayList<>();
+        for (API api : apis) {
+            Mockito.when(apiDAO.getAPI(api.getId())).thenReturn(api);
+            summaries.add(api);
+        }
+        Mockito.when(apiDAO.getAPIs(ApiType.STANDARD)).thenReturn(summaries);
+    }
+
+    private static API createAPI(String id, String name, String context, String description, String status,
+                                 String provider, API.Visibility visibility, Set<String> visibleRoles, String tag,
+                                 String resource) {
+        Map<String, UriTemplate> uriTemplates = new HashMap<>();
+        uriTemplates.put(resource, new UriTemplate.UriTemplateBuilder().templateId(resource).uriTemplate(resource)
+                .httpVerb("GET").build());
+        Map<String, Integer> permissionMap = new HashMap<>();
+        permissionMap.put("admin", 7);
+        return new API.APIBuilder(provider, name, "1.0.0").id(id).context(context).description(description)
+                .lifeCycleStatus(status).visibility(visibility).visibleRoles(new HashSet<>(visibleRoles))
+                .tags(Collections.singleton(tag)).uriTemplates(uriTemplates).permissionMap(permissionMap).build();
+    }
+
+    private static Map<String, String> apiMetadata(String apiId) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put(APIMgtConstants.FunctionsConstants.API_ID, apiId);
+        return metadata;
+    }
+
+    private static List<String> getIds(List<API> apis) {
+        List<String> ids = new ArrayList<>();
+        for (API api : apis) {
+            ids.add(api.getId());
+        }
+        return ids;
+    }
+}
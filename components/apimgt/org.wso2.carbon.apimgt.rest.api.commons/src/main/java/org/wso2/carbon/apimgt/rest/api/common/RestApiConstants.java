@@ -53,6 +53,7 @@ public class RestApiConstants {
     public static final String LIMIT_PARAM = "{limit}";
     public static final String OFFSET_PARAM = "{offset}";
     public static final String GROUPID_PARAM = "{groupId}";
+    public static final String AFTER_PARAM = "{after}";
     public static final String APPLICATIONS_GET_PAGINATION_URL =
             RESOURCE_PATH_APPLICATIONS + "?limit=" + LIMIT_PARAM + "&offset=" + OFFSET_PARAM + "&groupId="
                     + GROUPID_PARAM;
@@ -64,6 +65,11 @@ public class RestApiConstants {
     public static final String HEADER_CONTENT_TYPE = "Content-Type";
 
     public static final String RESOURCE_PATH_APIS = "/apis";
+    public static final String APIS_GET_PAGINATION_URL =
+            RESOURCE_PATH_APIS + "?limit=" + LIMIT_PARAM + "&after=" + AFTER_PARAM;
+    public static final String RESOURCE_PATH_LANDING_PAGE = "/landing-page";
+    public static final String LANDING_PAGE_GET_PAGINATION_URL =
+            RESOURCE_PATH_LANDING_PAGE + "?limit=" + LIMIT_PARAM + "&after=" + AFTER_PARAM;
     public static final String APIID_PARAM = "{apiId}";
     public static final String RESOURCE_PATH_THUMBNAIL = RESOURCE_PATH_APIS + "/" + APIID_PARAM + "/thumbnail";
     public static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
@@ -87,6 +93,9 @@ public class RestApiConstants {
     public static final String ADMIN_API_YAML = "/admin-api.yaml";
     public static final String AUTH_TYPE_BASIC = "Basic";
     public static final String CHARSET_UTF_8 = "UTF-8";
+    // request properties holding the user and the client application the credentials of a request were issued to
+    public static final String AUTHENTICATED_USER_PROPERTY = "AUTHENTICATED_USER";
+    public static final String AUTHENTICATED_CLIENT_ID_PROPERTY = "AUTHENTICATED_CLIENT_ID";
 
     public static final int AUTH_TYPE_BASIC_LENGTH = AUTH_TYPE_BASIC.length();
     public static final String GATEWAY_CONFIG_GET_URL =
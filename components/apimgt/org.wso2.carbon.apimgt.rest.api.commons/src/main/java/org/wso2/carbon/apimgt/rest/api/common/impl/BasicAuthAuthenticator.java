@@ -19,7 +19,10 @@
  */
 package org.wso2.carbon.apimgt.rest.api.common.impl;
 
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.impl.AccessTokenCache;
+import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
 import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
 import org.wso2.carbon.apimgt.rest.api.common.api.RESTAPIAuthenticator;
 import org.wso2.carbon.apimgt.rest.api.common.exception.APIMgtSecurityException;
@@ -34,6 +37,7 @@ import java.util.Base64;
  * Basic auth implementation class
  */
 public class BasicAuthAuthenticator implements RESTAPIAuthenticator {
+    private static final String CREDENTIAL_CACHE_KEY_PREFIX = "Basic:";
 
     /*
     * basic auth authentication logic is executed here
@@ -53,13 +57,17 @@ public class BasicAuthAuthenticator implements RESTAPIAuthenticator {
 
             //If Basic auth header is not found returning true to check the other interceptors(for other auth types)
             if (RestApiConstants.AUTH_TYPE_BASIC.equalsIgnoreCase(authType) && !authEncoded.isEmpty()) {
-                byte[] decodedByte = authEncoded.getBytes(Charset.forName(RestApiConstants.CHARSET_UTF_8));
-                String authDecoded = new String(Base64.getDecoder().decode(decodedByte),
-                        Charset.forName(RestApiConstants.CHARSET_UTF_8));
-                String[] authParts = authDecoded.split(":");
-                String username = authParts[0];
-                String password = authParts[1];
-                if (authenticate(username, password)) {
+                AccessTokenInfo credentialInfo;
+                try {
+                    // the credentials share the token cache, prefixed so that they never collide with a token
+                    credentialInfo = AccessTokenCache.getInstance().get(CREDENTIAL_CACHE_KEY_PREFIX + authEncoded,
+                            () -> validateCredentials(authEncoded));
+                } catch (APIManagementException e) {
+                    throw new APIMgtSecurityException(e.getMessage(), ExceptionCodes.AUTH_GENERAL_ERROR);
+                }
+                if (credentialInfo.isTokenValid()) {
+                    request.setProperty(RestApiConstants.AUTHENTICATED_USER_PROPERTY,
+                            credentialInfo.getEndUserName());
                     return true;
                 }
             } else {
@@ -75,6 +83,19 @@ public class BasicAuthAuthenticator implements RESTAPIAuthenticator {
         return false;
     }
 
+    private AccessTokenInfo validateCredentials(String authEncoded) {
+        byte[] decodedByte = authEncoded.getBytes(Charset.forName(RestApiConstants.CHARSET_UTF_8));
+        String authDecoded = new String(Base64.getDecoder().decode(decodedByte),
+                Charset.forName(RestApiConstants.CHARSET_UTF_8));
+        String[] authParts = authDecoded.split(":");
+        String username = authParts[0];
+        String password = authParts[1];
+        AccessTokenInfo credentialInfo = new AccessTokenInfo();
+        credentialInfo.setTokenValid(authenticate(username, password));
+        credentialInfo.setEndUserName(username);
+        return credentialInfo;
+    }
+
     private boolean authenticate(String username, String password) {
         //todo improve
         if (username.equals(password)) {
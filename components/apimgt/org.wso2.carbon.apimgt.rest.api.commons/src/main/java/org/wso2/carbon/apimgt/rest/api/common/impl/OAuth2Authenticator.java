@@ -20,17 +20,14 @@
 package org.wso2.carbon.apimgt.rest.api.common.impl;
 
 import com.google.gson.reflect.TypeToken;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.wso2.carbon.apimgt.core.api.APIDefinition;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.ErrorHandler;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
-import org.wso2.carbon.apimgt.core.impl.APIDefinitionFromSwagger20;
 import org.wso2.carbon.apimgt.core.impl.APIManagerFactory;
+import org.wso2.carbon.apimgt.core.impl.AccessTokenCache;
 import org.wso2.carbon.apimgt.core.models.AccessTokenInfo;
-import org.wso2.carbon.apimgt.core.models.Scope;
 import org.wso2.carbon.apimgt.rest.api.common.APIConstants;
 import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
 import org.wso2.carbon.apimgt.rest.api.common.api.RESTAPIAuthenticator;
@@ -43,10 +40,9 @@ import org.wso2.msf4j.ServiceMethodInfo;
 import org.wso2.msf4j.util.SystemVariableUtil;
 
 import java.util.Arrays;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OAuth2 implementation class
@@ -54,6 +50,7 @@ import java.util.Optional;
 public class OAuth2Authenticator implements RESTAPIAuthenticator {
     private static final Logger log = LoggerFactory.getLogger(OAuth2Authenticator.class);
     private static String authServerURL;
+    private static final Map<String, ScopeRoutingTable> routingTables = new ConcurrentHashMap<>();
 
     static {
         authServerURL = SystemVariableUtil.getValue(RestApiConstants.AUTH_SERVER_URL_KEY,
@@ -107,10 +104,16 @@ public class OAuth2Authenticator implements RESTAPIAuthenticator {
             throws APIMgtSecurityException {
         //Map<String, String> tokenInfo = validateToken(accessToken);
         AccessTokenInfo accessTokenInfo = validateToken(accessToken);
-        String restAPIResource = getRestAPIResource(request);
+        if (accessTokenInfo.getEndUserName() != null) {
+            request.setProperty(RestApiConstants.AUTHENTICATED_USER_PROPERTY, accessTokenInfo.getEndUserName());
+        }
+        if (accessTokenInfo.getConsumerKey() != null) {
+            request.setProperty(RestApiConstants.AUTHENTICATED_CLIENT_ID_PROPERTY, accessTokenInfo.getConsumerKey());
+        }
+        ScopeRoutingTable routingTable = getRoutingTable(request);
 
         //scope validation
-        return validateScopes(request, serviceMethodInfo, accessTokenInfo.getScopes(), restAPIResource);
+        return validateScopes(request, accessTokenInfo.getScopes(), routingTable);
     }
 
     /**
@@ -172,92 +175,81 @@ public class OAuth2Authenticator implements RESTAPIAuthenticator {
     }
 
     /*
-    * This methos is used to get the rest api resource based on the api context
+    * This methos is used to get the scope routing table of the rest api based on the api context
     * @param Request
-    * @return String : api resource object
+    * @return ScopeRoutingTable : routing table of the rest api
     * @throws APIMgtSecurityException if resource could not be found.
     * */
-    private String getRestAPIResource(Request request) throws APIMgtSecurityException {
+    private ScopeRoutingTable getRoutingTable(Request request) throws APIMgtSecurityException {
         String path = (String) request.getProperty("REQUEST_URL");
-        String restAPIResource = null;
+        String appType;
         //this is publisher API so pick that API
-        try {
-            if (path.contains(RestApiConstants.REST_API_PUBLISHER_CONTEXT)) {
-                restAPIResource = RestApiUtil.getPublisherRestAPIResource();
-            } else if (path.contains(RestApiConstants.REST_API_STORE_CONTEXT)) {
-                restAPIResource = RestApiUtil.getStoreRestAPIResource();
-            } else if (path.contains(RestApiConstants.REST_API_ADMIN_CONTEXT))  {
-                restAPIResource = RestApiUtil.getAdminRestAPIResource();
-            } else {
-                throw new APIMgtSecurityException("No matching Rest Api definition found for path:" + path);
-            }
-        } catch (APIManagementException e) {
-            throw new APIMgtSecurityException(e.getMessage(), ExceptionCodes.AUTH_GENERAL_ERROR);
+        if (path.contains(RestApiConstants.REST_API_PUBLISHER_CONTEXT)) {
+            appType = RestApiConstants.APPType.PUBLISHER;
+        } else if (path.contains(RestApiConstants.REST_API_STORE_CONTEXT)) {
+            appType = RestApiConstants.APPType.STORE;
+        } else if (path.contains(RestApiConstants.REST_API_ADMIN_CONTEXT))  {
+            appType = RestApiConstants.APPType.ADMIN;
+        } else {
+            throw new APIMgtSecurityException("No matching Rest Api definition found for path:" + path);
         }
 
-        return restAPIResource;
+        ScopeRoutingTable routingTable = routingTables.get(appType);
+        if (routingTable == null) {
+            // the definitions never change at runtime, so a table built twice by concurrent requests is identical
+            try {
+                routingTable = ScopeRoutingTable.build(getRestAPIResource(appType));
+            } catch (APIManagementException e) {
+                throw new APIMgtSecurityException(e.getMessage(), ExceptionCodes.AUTH_GENERAL_ERROR);
+            }
+            routingTables.putIfAbsent(appType, routingTable);
+        }
+        return routingTable;
+    }
 
+    private String getRestAPIResource(String appType) throws APIManagementException {
+        switch (appType) {
+            case RestApiConstants.APPType.PUBLISHER:
+                return RestApiUtil.getPublisherRestAPIResource();
+            case RestApiConstants.APPType.STORE:
+                return RestApiUtil.getStoreRestAPIResource();
+            default:
+                return RestApiUtil.getAdminRestAPIResource();
+        }
     }
 
     /*
-    * This method validates the given scope against scopes defined in the api resource
+    * This method validates the given scope against the scopes required by the requested operation. Operations
+    * which do not declare a scope accept any scope defined in the api resource, while requests which do not match
+    * an operation of the api resource are rejected.
     * @param Request
-    * @param ServiceMethodInfo
     * @param scopesToValidate scopes extracted from the access token
+    * @param routingTable scope routing table of the api resource
     * @return true if scope validation successful
     * */
-    @SuppressFBWarnings({"DLS_DEAD_LOCAL_STORE"})
-    private boolean validateScopes(Request request, ServiceMethodInfo serviceMethodInfo, String[] scopesToValidate,
-                                   String restAPIResource) throws APIMgtSecurityException {
-        final boolean authorized[] = {false};
+    private boolean validateScopes(Request request, String[] scopesToValidate, ScopeRoutingTable routingTable)
+            throws APIMgtSecurityException {
+        boolean authorized;
 
         String path = (String) request.getProperty("REQUEST_URL");
         String verb = (String) request.getProperty("HTTP_METHOD");
-        String resource = path.substring(path.length() - 1);
 
         if (scopesToValidate.length > 0) {
-            final List<String> scopes = Arrays.asList(scopesToValidate);
-            if (restAPIResource != null) {
-                APIDefinition apiDefinition = new APIDefinitionFromSwagger20();
-                try {
-                    Map<String, Scope> apiDefinitionScopes = apiDefinition.getScopes(restAPIResource);
-                    if (apiDefinitionScopes.isEmpty()) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Scope not defined in swagger for matching resource " + resource + " and verb "
-                                    + verb + " . Hence consider as anonymous permission and let request to continue.");
-                        }
-                        // scope validation gets through if no scopes found in the api definition
-                        authorized[0] = true;
-                    }
-                    apiDefinitionScopes.keySet()      //Only do the scope validation.hence key set is sufficient.
-                            .forEach(scopeKey -> {
-                                Optional<String> key = scopes.stream().filter(scp -> {
-                                    return scp.equalsIgnoreCase(scopeKey);
-                                }).findAny();
-                                if (key.isPresent()) {
-                                    authorized[0] = true;
-                                }
-                            });
-                } catch (APIManagementException e) {
-                    String message = "Error while validating scopes";
-                    log.error(message);
-                    throw new APIMgtSecurityException(message, ExceptionCodes.AUTH_GENERAL_ERROR);
-                }
-            } else {
-                if (log.isDebugEnabled()) {
-                    log.debug("Rest API resource could not be found for resource '" + resource + "'");
-                }
+            if (routingTable.getDefinitionScopes().isEmpty() && log.isDebugEnabled()) {
+                log.debug("Scope not defined in swagger for matching resource " + path + " and verb "
+                        + verb + " . Hence consider as anonymous permission and let request to continue.");
             }
+            authorized = routingTable.isAuthorized(verb, path, scopesToValidate);
         } else { // scope validation gets through if access token does not contain scopes to validate
-            authorized[0] = true;
+            authorized = true;
         }
 
-        if (!authorized[0]) {
+        if (!authorized) {
             String message = "Scope validation fails for the scopes " + Arrays.toString(scopesToValidate);
             throw new APIMgtSecurityException(message, ExceptionCodes.ACCESS_TOKEN_INACTIVE);
 
         }
-        return authorized[0];
+        return authorized;
     }
 
     /**
@@ -283,16 +275,16 @@ public class OAuth2Authenticator implements RESTAPIAuthenticator {
     }
 
     /**
-     * Validated the given accessToken with an external key server.
+     * Validated the given accessToken with an external key server. The result is cached on this node, so that the
+     * key server is only called once the cached result of the token expires.
      *
      * @param accessToken AccessToken to be validated.
      * @return the response from the key manager server.
      */
     private AccessTokenInfo getValidatedTokenResponse(String accessToken) throws APIMgtSecurityException {
         try {
-            AccessTokenInfo accessTokenInfo = APIManagerFactory.getInstance().getIdentityProvider()
-                    .getTokenMetaData(accessToken);
-            return accessTokenInfo;
+            return AccessTokenCache.getInstance().get(accessToken,
+                    () -> APIManagerFactory.getInstance().getIdentityProvider().getTokenMetaData(accessToken));
             /*
             url = new URL(authServerURL);
             HttpURLConnection urlConn = (HttpURLConnection) url.openConnection();
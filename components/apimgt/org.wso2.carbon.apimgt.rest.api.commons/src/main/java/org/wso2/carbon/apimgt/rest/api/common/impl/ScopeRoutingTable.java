@@ -0,0 +1,263 @@
+/*
+ *
+ *   Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Scopes of the operations of a REST API, read once from its swagger definition. Operations are looked up by verb
+ * and request path through a trie of the path templates, so a lookup costs one map access per path segment
+ * regardless of the number of operations.
+ * <p>
+ * Requests are matched on the context of the base path followed by any minor version of the REST API, as the
+ * resources accept every minor version through the {@code v1.[\d]+} segment of their paths.
+ * <p>
+ * Scope keys are held in lower case, as scopes are compared ignoring case.
+ */
+final class ScopeRoutingTable {
+    private static final String TEMPLATE_PREFIX = "{";
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private final String[] contextSegments;
+    private final Pattern versionPattern;
+    private final Set<String> definitionScopes;
+    private final Node root = new Node();
+
+    private ScopeRoutingTable(String basePath, Set<String> definitionScopes) {
+        String[] basePathSegments = split(basePath);
+        String version = basePathSegments.length == 0 ? null : basePathSegments[basePathSegments.length - 1];
+        int minorVersionIndex = version == null ? -1 : version.lastIndexOf('.');
+        if (minorVersionIndex > 0 && version.startsWith("v")) {
+            this.contextSegments = Arrays.copyOf(basePathSegments, basePathSegments.length - 1);
+            this.versionPattern = Pattern.compile(Pattern.quote(version.substring(0, minorVersionIndex + 1))
+                    + "\\d+");
+        } else {
+            this.contextSegments = basePathSegments;
+            this.versionPattern = null;
+        }
+        this.definitionScopes = definitionScopes;
+    }
+
+    /**
+     * Build the routing table of a REST API
+     *
+     * @param restAPIDefinition swagger definition of the REST API
+     * @return routing table
+     * @throws APIManagementException if the definition cannot be parsed
+     */
+    static ScopeRoutingTable build(String restAPIDefinition) throws APIManagementException {
+        Swagger swagger = new SwaggerParser().parse(restAPIDefinition);
+        if (swagger == null) {
+            throw new APIManagementException("Couldn't parse REST API definition",
+                    ExceptionCodes.SWAGGER_PARSE_EXCEPTION);
+        }
+        String basePath = swagger.getBasePath() == null ? "" : swagger.getBasePath();
+        ScopeRoutingTable table = new ScopeRoutingTable(basePath, readDefinitionScopes(swagger));
+        if (swagger.getPaths() != null) {
+            for (Map.Entry<String, Path> pathEntry : swagger.getPaths().entrySet()) {
+                Node node = table.root;
+                for (String segment : split(pathEntry.getKey())) {
+                    node = segment.startsWith(TEMPLATE_PREFIX) ? node.getTemplateChild() : node.getChild(segment);
+                }
+                for (Map.Entry<HttpMethod, Operation> operation : pathEntry.getValue().getOperationMap().entrySet()) {
+                    Object scope = operation.getValue().getVendorExtensions().get(APIMgtConstants.SWAGGER_X_SCOPE);
+                    node.operationScopes.put(operation.getKey().name(), scope == null ?
+                            Collections.emptySet() : Collections.singleton(toScopeKey(scope.toString())));
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Get the keys of all the scopes declared by the REST API
+     *
+     * @return lower case scope keys
+     */
+    Set<String> getDefinitionScopes() {
+        return definitionScopes;
+    }
+
+    /**
+     * Check whether the scopes of an access token authorize a request. A request is authorized if the token holds a
+     * scope of the matching operation, or any scope declared by the REST API if the operation does not declare one.
+     * Requests which do not match an operation are not authorized, unless the REST API declares no scopes at all.
+     *
+     * @param verb        HTTP method of the request
+     * @param requestPath path or URL of the request
+     * @param scopes      scopes of the access token
+     * @return true if the request is authorized
+     */
+    boolean isAuthorized(String verb, String requestPath, String... scopes) {
+        if (definitionScopes.isEmpty()) {
+            return true;
+        }
+        Set<String> requiredScopes = getRequiredScopes(verb, requestPath);
+        if (requiredScopes == null) {
+            return false;
+        }
+        if (requiredScopes.isEmpty()) {
+            requiredScopes = definitionScopes;
+        }
+        for (String scope : scopes) {
+            if (requiredScopes.contains(toScopeKey(scope))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the scopes required by the operation matching a request
+     *
+     * @param verb        HTTP method of the request
+     * @param requestPath path or URL of the request, whose path begins with the base path of the REST API
+     * @return lower case scope keys of the operation, empty if the operation does not declare a scope, or null if no
+     * operation matches the request
+     */
+    Set<String> getRequiredScopes(String verb, String requestPath) {
+        if (verb == null || requestPath == null) {
+            return null;
+        }
+        String[] segments = split(getPath(requestPath));
+        int index = 0;
+        for (String contextSegment : contextSegments) {
+            if (index == segments.length || !contextSegment.equals(segments[index++])) {
+                return null;
+            }
+        }
+        if (versionPattern != null
+                && (index == segments.length || !versionPattern.matcher(segments[index++]).matches())) {
+            return null;
+        }
+        return match(root, segments, index, verb.toUpperCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Find the scopes of an operation, preferring literal segments over templates as JAX-RS does
+     */
+    private static Set<String> match(Node node, String[] segments, int index, String verb) {
+        if (index == segments.length) {
+            return node.operationScopes.get(verb);
+        }
+        Node child = node.children.get(segments[index]);
+        if (child != null) {
+            Set<String> scopes = match(child, segments, index + 1, verb);
+            if (scopes != null) {
+                return scopes;
+            }
+        }
+        return node.templateChild == null ? null : match(node.templateChild, segments, index + 1, verb);
+    }
+
+    /**
+     * Read the keys of the scopes declared in the x-wso2-security extension of the definition
+     */
+    private static Set<String> readDefinitionScopes(Swagger swagger) {
+        Object security = swagger.getVendorExtensions() == null ? null :
+                swagger.getVendorExtensions().get(APIMgtConstants.SWAGGER_X_WSO2_SECURITY);
+        if (security == null) {
+            return Collections.emptySet();
+        }
+        // the extension is parsed as a map or as a JSON node depending on the parser version
+        JsonNode scopes = Json.mapper().convertValue(security, JsonNode.class)
+                .path(APIMgtConstants.SWAGGER_OBJECT_NAME_APIM).path(APIMgtConstants.SWAGGER_X_WSO2_SCOPES);
+        Set<String> definitionScopes = new HashSet<>();
+        for (JsonNode scope : scopes) {
+            if (scope.path(APIMgtConstants.SWAGGER_SCOPE_KEY).isTextual()) {
+                definitionScopes.add(toScopeKey(scope.path(APIMgtConstants.SWAGGER_SCOPE_KEY).asText()));
+            }
+        }
+        return Collections.unmodifiableSet(definitionScopes);
+    }
+
+    /**
+     * Get the path of a request URL, without the scheme, authority and query
+     */
+    private static String getPath(String requestPath) {
+        int queryIndex = requestPath.indexOf('?');
+        String path = queryIndex < 0 ? requestPath : requestPath.substring(0, queryIndex);
+        int schemeIndex = path.indexOf(SCHEME_SEPARATOR);
+        if (schemeIndex >= 0) {
+            int pathIndex = path.indexOf('/', schemeIndex + SCHEME_SEPARATOR.length());
+            path = pathIndex < 0 ? "" : path.substring(pathIndex);
+        }
+        return path;
+    }
+
+    private static String[] split(String path) {
+        String trimmedPath = trimSlashes(path);
+        return trimmedPath.isEmpty() ? new String[0] : trimmedPath.split("/");
+    }
+
+    private static String trimSlashes(String path) {
+        int begin = 0;
+        int end = path.length();
+        while (begin < end && path.charAt(begin) == '/') {
+            begin++;
+        }
+        while (end > begin && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(begin, end);
+    }
+
+    private static String toScopeKey(String scope) {
+        return scope.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Node of the path trie, holding the scopes of the operations of its path by verb
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final Map<String, Set<String>> operationScopes = new HashMap<>();
+        private Node templateChild;
+
+        private Node getChild(String segment) {
+            return children.computeIfAbsent(segment, key -> new Node());
+        }
+
+        private Node getTemplateChild() {
+            if (templateChild == null) {
+                templateChild = new Node();
+            }
+            return templateChild;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.rest.api.common.interceptors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.exception.ErrorHandler;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController.Admission;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController.Operation;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
+import org.wso2.msf4j.Interceptor;
+import org.wso2.msf4j.Request;
+import org.wso2.msf4j.Response;
+import org.wso2.msf4j.ServiceMethodInfo;
+
+import java.util.HashMap;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Interceptor which rejects the requests to the publisher, store and admin REST APIs that are not admitted by the
+ * {@link AdmissionController} with a 429 response carrying a Retry-After header.
+ * <p>
+ * The rate of a client is tracked per user and client application, as set on the request by the authenticator.
+ * Exports, imports and searches are the heavy operations whose concurrency is limited. The admission of a heavy
+ * operation is kept on its request and its permit is released in postCall. MSF4J does not run postCall when the
+ * service method throws, in which case the permit is reclaimed by the {@link AdmissionController} once the operation
+ * timeout passes.
+ * <p>
+ * The interceptor is invoked by the {@link RESTAPISecurityInterceptor} once a request is authenticated, so that the
+ * client of the request is known.
+ */
+public class AdmissionControlInterceptor implements Interceptor {
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+    private static final String EXPORT_SEGMENT = "export";
+    private static final String IMPORT_SEGMENT = "import";
+    private static final String IMPORT_DEFINITION_SEGMENT = "import-definition";
+    private static final String SEARCH_QUERY_PARAMETER = "query";
+    private static final String ADMISSION_PROPERTY = "ADMISSION";
+
+    /**
+     * preCall is run before a handler method call is made. If any of the preCalls throw exception or return false then
+     * no other subsequent preCalls will be called and the request processing will be terminated,
+     * also no postCall interceptors will be called.
+     *
+     * @param request           HttpRequest being processed.
+     * @param response          HttpResponder to send response.
+     * @param serviceMethodInfo Info on handler method that will be called.
+     * @return true if the request processing can continue, otherwise the hook should send response and return false to
+     * stop further processing.
+     */
+    @Override
+    public boolean preCall(Request request, Response response, ServiceMethodInfo serviceMethodInfo) {
+        Operation operation = getOperation(request.getHttpMethod(), request.getUri());
+        Admission admission = AdmissionController.getInstance().admit(getClient(request), operation);
+        if (!admission.isAdmitted()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Request rejected for " + admission.getRejection() + ". Requested Path: "
+                        + request.getUri());
+            }
+            sendRejection(admission, response);
+            return false;
+        }
+        if (operation != null) {
+            request.setProperty(ADMISSION_PROPERTY, admission);
+        }
+        return true;
+    }
+
+    /**
+     * postCall is run after a handler method call is made. If any of the postCalls throw and exception then the
+     * remaining postCalls will still be called. If the handler method was not called then postCall interceptors will
+     * not be called.
+     *
+     * @param request           HttpRequest being processed.
+     * @param status            Http status returned to the client.
+     * @param serviceMethodInfo Info on handler method that was called.
+     */
+    @Override
+    public void postCall(Request request, int status, ServiceMethodInfo serviceMethodInfo) {
+        Object admission = request.getProperty(ADMISSION_PROPERTY);
+        if (admission instanceof Admission) {
+            request.removeProperty(ADMISSION_PROPERTY);
+            ((Admission) admission).release();
+        }
+    }
+
+    /**
+     * Find the heavy operation requested
+     *
+     * @param method HTTP method of the request
+     * @param uri    request URI
+     * @return the operation, or null if the request is not a heavy operation
+     */
+    static Operation getOperation(String method, String uri) {
+        int queryIndex = uri.indexOf('?');
+        String path = queryIndex < 0 ? uri : uri.substring(0, queryIndex);
+        for (String segment : path.split("/")) {
+            if (EXPORT_SEGMENT.equals(segment)) {
+                return Operation.EXPORT;
+            }
+            if (IMPORT_SEGMENT.equals(segment) || IMPORT_DEFINITION_SEGMENT.equals(segment)) {
+                return Operation.IMPORT;
+            }
+        }
+        if (queryIndex >= 0 && HttpMethod.GET.equals(method)) {
+            for (String parameter : uri.substring(queryIndex + 1).split("&")) {
+                int valueIndex = parameter.indexOf('=');
+                String name = valueIndex < 0 ? parameter : parameter.substring(0, valueIndex);
+                if (SEARCH_QUERY_PARAMETER.equals(name) && valueIndex >= 0 && valueIndex < parameter.length() - 1) {
+                    return Operation.SEARCH;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the key of the client of a request
+     *
+     * @param request authenticated request
+     * @return key of the user and client application, or null if neither is known
+     */
+    static String getClient(Request request) {
+        Object user = request.getProperty(RestApiConstants.AUTHENTICATED_USER_PROPERTY);
+        Object clientId = request.getProperty(RestApiConstants.AUTHENTICATED_CLIENT_ID_PROPERTY);
+        if (user == null && clientId == null) {
+            return null;
+        }
+        return (clientId == null ? "" : clientId) + "/" + (user == null ? "" : user);
+    }
+
+    private static void sendRejection(Admission admission, Response response) {
+        ErrorHandler errorHandler;
+        switch (admission.getRejection()) {
+            case RATE_LIMITED:
+                errorHandler = ExceptionCodes.REQUEST_RATE_EXCEEDED;
+                break;
+            case CONCURRENCY_LIMITED:
+                errorHandler = ExceptionCodes.CONCURRENT_OPERATIONS_EXCEEDED;
+                break;
+            default:
+                errorHandler = ExceptionCodes.SERVER_OVERLOADED;
+                break;
+        }
+        ErrorDTO errorDTO = RestApiUtil.getErrorDTO(errorHandler, new HashMap<>());
+        response.setStatus(errorHandler.getHttpStatusCode())
+                .setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfter()))
+                .setEntity(errorDTO).setMediaType(MediaType.APPLICATION_JSON).send();
+    }
+}
@@ -20,34 +20,49 @@
 
 package org.wso2.carbon.apimgt.rest.api.common.interceptors;
 
-//import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
+import org.wso2.carbon.apimgt.core.exception.ETagGenerationException;
+import org.wso2.carbon.apimgt.core.util.ETagUtils;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
 import org.wso2.carbon.apimgt.rest.api.common.exception.APIMgtSecurityException;
 import org.wso2.msf4j.Interceptor;
 import org.wso2.msf4j.Request;
 import org.wso2.msf4j.Response;
 import org.wso2.msf4j.ServiceMethodInfo;
-//import org.wso2.msf4j.internal.router.HandlerException;
-//import org.wso2.msf4j.internal.router.HttpMethodInfo;
-//import org.wso2.msf4j.internal.router.HttpMethodInfoBuilder;
-//import org.wso2.msf4j.internal.router.HttpResourceModel;
-//
-//import java.lang.reflect.InvocationTargetException;
-//import java.lang.reflect.Method;
-//import java.util.Locale;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
 
 /**
- * Security Interceptor that does basic authentication for REST ApI requests.
- *
+ * Interceptor which answers the conditional requests for the resources of the store and publisher REST APIs from the
+ * {@link ResourceVersionCache}, without invoking the service method or reading the database.
+ * <p>
+ * A GET or HEAD request whose If-None-Match header matches the ETag of the current version of the resource gets a 304
+ * response, and a modifying request whose If-Match header does not match gets a 412 response. Requests for resources
+ * whose version is not cached, and all the other requests, are passed to the service method, whose own ETag check
+ * loads the version into the cache.
+ * <p>
+ * The interceptor runs before the service method, so it only answers for the resources whose access is fully decided
+ * by the scope of the request, which are global endpoints and throttling policies. APIs, documents, comments,
+ * applications and subscriptions are subject to visibility, permission and ownership checks of the service, so their
+ * conditional requests are always answered by the service, after those checks. Otherwise a 304 or 412 response would
+ * tell a client whether a resource it is not allowed to see exists.
+ * <p>
+ * The interceptor is invoked by the {@link RESTAPISecurityInterceptor} once the scope of a request is validated.
  */
-//@Component(
-//        name = "org.wso2.carbon.apimgt.rest.api.common.interceptors.ETagInterceptor",
-//        service = Interceptor.class,
-//        immediate = true
-//)
 public class ETagInterceptor implements Interceptor {
     private static final Logger log = LoggerFactory.getLogger(ETagInterceptor.class);
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final String PATH_PARAMETER = "{}";
+
+    private static final List<Route> STORE_ROUTES = Collections.unmodifiableList(buildStoreRoutes());
+    private static final List<Route> PUBLISHER_ROUTES = Collections.unmodifiableList(buildPublisherRoutes());
 
     /**
      * preCall is run before a handler method call is made. If any of the preCalls throw exception or return false then
@@ -64,40 +79,37 @@ public class ETagInterceptor implements Interceptor {
     @Override
     public boolean preCall(Request request, Response response, ServiceMethodInfo serviceMethodInfo) throws
             APIMgtSecurityException {
+        String method = request.getHttpMethod();
+        boolean safeMethod = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+        String precondition = request.getHeader(safeMethod ? HttpHeaders.IF_NONE_MATCH : HttpHeaders.IF_MATCH);
+        if (precondition == null) {
+            return true;
+        }
+        VersionedResource resource = resolve(request.getUri());
+        if (resource == null) {
+            return true;
+        }
+        String version = ResourceVersionCache.getInstance().getVersion(resource.type, resource.resourceId);
+        if (version == null) {
+            return true;
+        }
+        String eTag;
+        try {
+            eTag = "\"" + ETagUtils.generateETag(version) + "\"";
+        } catch (ETagGenerationException e) {
+            log.error("Error while generating ETag of " + resource.type + " " + resource.resourceId, e);
+            return true;
+        }
+        if (safeMethod && isWeakMatch(precondition, eTag)) {
+            response.setStatus(javax.ws.rs.core.Response.Status.NOT_MODIFIED.getStatusCode())
+                    .setHeader(HttpHeaders.ETAG, eTag).send();
+            return false;
+        }
+        if (!safeMethod && !isStrongMatch(precondition, eTag)) {
+            response.setStatus(javax.ws.rs.core.Response.Status.PRECONDITION_FAILED.getStatusCode()).send();
+            return false;
+        }
         return true;
-        
-        
-// todo NOTE: This class implementation is commented due to missing feature from MSF4J. 
-//
-//        String requestURI = request.getUri().toLowerCase(Locale.ENGLISH);
-//        if (!requestURI.contains("/api/am/store")) {
-//            return true;
-//        }
-
-//        Method serviceMethod = serviceMethodInfo.getMethod();
-//        HttpResourceModel resourceModel = serviceMethodInfo.getHttpResourceModel();
-//        HttpMethodInfoBuilder httpMethodInfoBuilder =
-//                new HttpMethodInfoBuilder().
-//                        httpResourceModel(resourceModel).
-//                        httpRequest(request).
-//                        httpResponder(response).
-//                        requestInfo(serviceMethodInfo.getGroupNameValues());
-//
-//        try {
-//            HttpMethodInfo httpMethodInfo = httpMethodInfoBuilder.build();
-//            String targetMethodName = serviceMethod.getName() + "LastUpdatedTime";
-//            Method targetMethod = httpMethodInfo.getHandler().getClass().getMethod(targetMethodName,
-//                    serviceMethod.getParameterTypes());
-//            
-//            String lastUpdatedTime = String
-//                    .valueOf(targetMethod.invoke(httpMethodInfo.getHandler(), httpMethodInfo.getArgs()));
-//            log.info(lastUpdatedTime);
-//
-//        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-//            log.error("Error while obtaining last updated time", e);
-//        }
-//
-//        return true;
     }
 
     /**
@@ -115,4 +127,142 @@ public class ETagInterceptor implements Interceptor {
 
     }
 
+    /**
+     * Check whether an If-None-Match header matches an ETag, using the weak comparison
+     *
+     * @param ifNoneMatch value of the If-None-Match header
+     * @param eTag        quoted ETag
+     * @return true if the header lists the ETag or is a wildcard
+     */
+    static boolean isWeakMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith(WEAK_ETAG_PREFIX)) {
+                candidate = candidate.substring(WEAK_ETAG_PREFIX.length());
+            }
+            if ("*".equals(candidate) || eTag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStrongMatch(String ifMatch, String eTag) {
+        for (String candidate : ifMatch.split(",")) {
+            candidate = candidate.trim();
+            // a weak ETag never matches under the strong comparison
+            if ("*".equals(candidate) || eTag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find the versioned resource addressed by a request URI
+     *
+     * @param uri request URI
+     * @return the resource, or null if the URI does not address a versioned resource
+     */
+    static VersionedResource resolve(String uri) {
+        int queryIndex = uri.indexOf('?');
+        String path = queryIndex < 0 ? uri : uri.substring(0, queryIndex);
+        List<Route> routes;
+        int contextIndex = path.indexOf(RestApiConstants.REST_API_STORE_CONTEXT);
+        if (contextIndex >= 0) {
+            routes = STORE_ROUTES;
+            contextIndex += RestApiConstants.REST_API_STORE_CONTEXT.length();
+        } else {
+            contextIndex = path.indexOf(RestApiConstants.REST_API_PUBLISHER_CONTEXT);
+            if (contextIndex < 0) {
+                return null;
+            }
+            routes = PUBLISHER_ROUTES;
+            contextIndex += RestApiConstants.REST_API_PUBLISHER_CONTEXT.length();
+        }
+        // skip the version of the REST API
+        int resourceIndex = path.indexOf('/', contextIndex);
+        if (resourceIndex < 0) {
+            return null;
+        }
+        String[] segments = path.substring(resourceIndex + 1).split("/");
+        for (Route route : routes) {
+            VersionedResource resource = route.match(segments);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    private static List<Route> buildStoreRoutes() {
+        return buildCommonRoutes();
+    }
+
+    private static List<Route> buildPublisherRoutes() {
+        List<Route> routes = buildCommonRoutes();
+        routes.add(new Route("endpoints/{}", ResourceType.ENDPOINT, 1));
+        return routes;
+    }
+
+    private static List<Route> buildCommonRoutes() {
+        List<Route> routes = new ArrayList<>();
+        routes.add(new Route("policies/{}/{}", ResourceType.POLICY, 1));
+        return routes;
+    }
+
+    /**
+     * A resource whose version is cached
+     */
+    static final class VersionedResource {
+        private final ResourceType type;
+        private final String resourceId;
+
+        private VersionedResource(ResourceType type, String resourceId) {
+            this.type = type;
+            this.resourceId = resourceId;
+        }
+
+        ResourceType getType() {
+            return type;
+        }
+
+        String getResourceId() {
+            return resourceId;
+        }
+    }
+
+    /**
+     * Path template of a versioned resource, relative to the version of the REST API
+     */
+    private static final class Route {
+        private final String[] segments;
+        private final ResourceType type;
+        private final int idSegment;
+
+        private Route(String template, ResourceType type, int idSegment) {
+            this.segments = template.split("/");
+            this.type = type;
+            this.idSegment = idSegment;
+        }
+
+        private VersionedResource match(String[] pathSegments) {
+            if (pathSegments.length != segments.length) {
+                return null;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                if (pathSegments[i].isEmpty()
+                        || (!PATH_PARAMETER.equals(segments[i]) && !segments[i].equals(pathSegments[i]))) {
+                    return null;
+                }
+            }
+            String resourceId = type == ResourceType.POLICY ?
+                    ResourceVersionCache.getPolicyId(pathSegments[idSegment], pathSegments[idSegment + 1]) :
+                    pathSegments[idSegment];
+            return new VersionedResource(type, resourceId);
+        }
+    }
 }
@@ -20,12 +20,10 @@
 
 package org.wso2.carbon.apimgt.rest.api.common.interceptors;
 
-import io.swagger.models.Swagger;
-import io.swagger.parser.SwaggerParser;
-import io.swagger.util.Json;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.dao.impl.DAOUtil;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.ErrorHandler;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
@@ -33,14 +31,17 @@ import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
 import org.wso2.carbon.apimgt.rest.api.common.api.RESTAPIAuthenticator;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
 import org.wso2.carbon.apimgt.rest.api.common.exception.APIMgtSecurityException;
+import org.wso2.carbon.apimgt.rest.api.common.util.ContentEncodingUtil;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.msf4j.Interceptor;
 import org.wso2.msf4j.Request;
 import org.wso2.msf4j.Response;
 import org.wso2.msf4j.ServiceMethodInfo;
 
+import java.io.ByteArrayInputStream;
 import java.util.HashMap;
 import java.util.Locale;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 
 import static org.wso2.carbon.messaging.Constants.PROTOCOL;
@@ -60,6 +61,9 @@ public class RESTAPISecurityInterceptor implements Interceptor {
     //todo authenticatorName should be read from a configuration
     private static String authenticatorName = "org.wso2.carbon.apimgt.rest.api.common.impl.OAuth2Authenticator";
     private RESTAPIAuthenticator authenticatorImplClass = null;
+    private final SwaggerDefinitionCache swaggerDefinitionCache = new SwaggerDefinitionCache();
+    private final ETagInterceptor eTagInterceptor = new ETagInterceptor();
+    private final AdmissionControlInterceptor admissionControlInterceptor = new AdmissionControlInterceptor();
 
     /**
      * preCall is run before a handler method call is made. If any of the preCalls throw exception or return false then
@@ -84,53 +88,23 @@ public class RESTAPISecurityInterceptor implements Interceptor {
         if (!requestURI.contains("/api/am/")) {
             return true;
         }
-        String yamlContent = null;
-        String protocol = (String) request.getProperty(PROTOCOL);
-        Swagger swagger = null;
+        // the thread may still be bound to the user of a previous request whose handler was not called
+        DAOUtil.bindUser(null);
         if (requestURI.contains("/publisher")) {
             if (requestURI.contains("swagger.json")) {
-                try {
-                    yamlContent = RestApiUtil.getPublisherRestAPIResource();
-                    swagger = new SwaggerParser().parse(yamlContent);
-                    swagger.setBasePath(RestApiUtil.getContext(RestApiConstants.APPType.PUBLISHER));
-                    swagger.setHost(RestApiUtil.getHost(protocol.toLowerCase(Locale.ENGLISH)));
-                } catch (APIManagementException e) {
-                    log.error("Couldn't find swagger.json for publisher", e);
-                }
-                response.setStatus(javax.ws.rs.core.Response.Status.OK.getStatusCode()).setEntity(Json.pretty
-                        (swagger)).setMediaType(MediaType.APPLICATION_JSON).send();
+                sendSwaggerDefinition(request, response, RestApiConstants.APPType.PUBLISHER);
                 return false;
             }
         } else if (requestURI.contains("/store")) {
             if (requestURI.contains("swagger.json")) {
-                try {
-                    yamlContent = RestApiUtil.getStoreRestAPIResource();
-                    swagger = new SwaggerParser().parse(yamlContent);
-                    swagger.setBasePath(RestApiUtil.getContext(RestApiConstants.APPType.STORE));
-                    swagger.setHost(RestApiUtil.getHost(protocol.toLowerCase(Locale.ENGLISH)));
-
-                } catch (APIManagementException e) {
-                    log.error("Couldn't find swagger.json for store", e);
-                }
-                response.setStatus(javax.ws.rs.core.Response.Status.OK.getStatusCode()).setEntity(Json.pretty
-                        (swagger)).setMediaType(MediaType.APPLICATION_JSON).send();
+                sendSwaggerDefinition(request, response, RestApiConstants.APPType.STORE);
                 return false;
             }
         } else if (requestURI.contains("/editor") || requestURI.contains("keyserver") || requestURI.contains("core")) {
             return true;
         } else if (requestURI.contains("/admin"))   {
             if (requestURI.contains("swagger.json")) {
-                try {
-                    yamlContent = RestApiUtil.getAdminRestAPIResource();
-                    swagger = new SwaggerParser().parse(yamlContent);
-                    swagger.setBasePath(RestApiUtil.getContext(RestApiConstants.APPType.ADMIN));
-                    swagger.setHost(RestApiUtil.getHost(protocol.toLowerCase(Locale.ENGLISH)));
-
-                } catch (APIManagementException e) {
-                    log.error("Couldn't find swagger.json for admin", e);
-                }
-                response.setStatus(javax.ws.rs.core.Response.Status.OK.getStatusCode()).setEntity(Json.pretty
-                        (swagger)).setMediaType(MediaType.APPLICATION_JSON).send();
+                sendSwaggerDefinition(request, response, RestApiConstants.APPType.ADMIN);
                 return false;
             }
         }
@@ -162,8 +136,15 @@ public class RESTAPISecurityInterceptor implements Interceptor {
 
         if (!isAuthenticated) {
             handleSecurityError(errorHandler, response);
+            return false;
+        }
+        // lets the DAO layer send the reads which follow a write of the user to the primary database
+        DAOUtil.bindUser(RestApiUtil.getLoggedInUsername());
+        // conditional requests are only answered here for the resources whose access is decided by the scope
+        if (!eTagInterceptor.preCall(request, response, serviceMethodInfo)) {
+            return false;
         }
-        return isAuthenticated;
+        return admissionControlInterceptor.preCall(request, response, serviceMethodInfo);
     }
 
     /**
@@ -178,7 +159,56 @@ public class RESTAPISecurityInterceptor implements Interceptor {
      */
     @Override
     public void postCall(Request request, int status, ServiceMethodInfo serviceMethodInfo) throws Exception {
+        DAOUtil.bindUser(null);
+        admissionControlInterceptor.postCall(request, status, serviceMethodInfo);
+    }
+
+    /**
+     * Sends the swagger.json of a REST API, rendering it on first use
+     *
+     * @param request  request for the swagger.json
+     * @param response response to send the document with
+     * @param appType  type of the REST API
+     */
+    private void sendSwaggerDefinition(Request request, Response response, String appType) {
+        String protocol = ((String) request.getProperty(PROTOCOL)).toLowerCase(Locale.ENGLISH);
+        try {
+            sendSwaggerDefinition(request, response, swaggerDefinitionCache.get(appType, protocol));
+        } catch (APIManagementException e) {
+            log.error("Couldn't find swagger.json for " + appType, e);
+            ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler(), new HashMap<>());
+            response.setStatus(e.getErrorHandler().getHttpStatusCode()).setEntity(errorDTO)
+                    .setMediaType(MediaType.APPLICATION_JSON).send();
+        }
+    }
 
+    /**
+     * Sends a rendered swagger.json, or a 304 response if the client holds the current document. The document is
+     * gzip compressed if the client accepts it.
+     *
+     * @param request    request for the swagger.json
+     * @param response   response to send the document with
+     * @param definition rendered swagger.json
+     */
+    static void sendSwaggerDefinition(Request request, Response response,
+                                      SwaggerDefinitionCache.RenderedDefinition definition) {
+        // both forms are the same document, so a client holding either one does not need it again
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        boolean notModified = ETagInterceptor.isWeakMatch(ifNoneMatch, definition.getETag())
+                || ETagInterceptor.isWeakMatch(ifNoneMatch, definition.getGzipETag());
+        boolean gzip = ContentEncodingUtil.isGzipAccepted(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.ETAG, gzip ? definition.getGzipETag() : definition.getETag())
+                .setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (notModified) {
+            response.setStatus(javax.ws.rs.core.Response.Status.NOT_MODIFIED.getStatusCode()).send();
+            return;
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, ContentEncodingUtil.GZIP);
+        }
+        byte[] content = gzip ? definition.getGzippedJson() : definition.getJson();
+        response.setStatus(javax.ws.rs.core.Response.Status.OK.getStatusCode())
+                .setEntity(new ByteArrayInputStream(content)).setMediaType(MediaType.APPLICATION_JSON).send();
     }
 
     /**
@@ -190,7 +220,7 @@ public class RESTAPISecurityInterceptor implements Interceptor {
         HashMap<String, String> paramList = new HashMap<String, String>();
         ErrorDTO errorDTO = RestApiUtil.getErrorDTO(errorHandler, paramList);
         responder.setStatus(errorHandler.getHttpStatusCode());
-        responder.setHeader(javax.ws.rs.core.HttpHeaders.WWW_AUTHENTICATE, RestApiConstants.AUTH_TYPE_OAUTH2);
+        responder.setHeader(HttpHeaders.WWW_AUTHENTICATE, RestApiConstants.AUTH_TYPE_OAUTH2);
         responder.setEntity(errorDTO);
         responder.send();
     }
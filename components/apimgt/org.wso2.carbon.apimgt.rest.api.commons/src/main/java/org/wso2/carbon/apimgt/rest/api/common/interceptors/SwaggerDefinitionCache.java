@@ -0,0 +1,168 @@
+/*
+ *
+ *   Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.rest.api.common.interceptors;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.util.ETagUtils;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rendered swagger.json documents of the publisher, store and admin REST APIs. A document is rendered once per REST
+ * API and protocol, as its host is derived from the configuration and the protocol, and is kept along with its gzip
+ * compressed form and the strong ETags of both forms. The documents do not change at runtime, so they are never
+ * invalidated.
+ */
+final class SwaggerDefinitionCache {
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    private final Map<String, RenderedDefinition> definitions = new ConcurrentHashMap<>();
+
+    /**
+     * Get the rendered swagger.json of a REST API, rendering it on first use
+     *
+     * @param appType  type of the REST API as defined in {@link RestApiConstants.APPType}
+     * @param protocol lower case protocol of the request
+     * @return rendered swagger.json
+     * @throws APIManagementException if the definition of the REST API cannot be read
+     */
+    RenderedDefinition get(String appType, String protocol) throws APIManagementException {
+        String key = appType + ':' + protocol;
+        RenderedDefinition definition = definitions.get(key);
+        if (definition == null) {
+            // rendering twice on concurrent first requests gives the same document
+            definition = render(appType, protocol);
+            definitions.putIfAbsent(key, definition);
+        }
+        return definition;
+    }
+
+    private static RenderedDefinition render(String appType, String protocol) throws APIManagementException {
+        Swagger swagger = new SwaggerParser().parse(getRestAPIResource(appType));
+        if (swagger == null) {
+            throw new APIManagementException("Couldn't parse swagger definition of " + appType + " REST API",
+                    ExceptionCodes.SWAGGER_PARSE_EXCEPTION);
+        }
+        swagger.setBasePath(RestApiUtil.getContext(appType));
+        swagger.setHost(RestApiUtil.getHost(protocol));
+        return RenderedDefinition.of(Json.pretty(swagger).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getRestAPIResource(String appType) throws APIManagementException {
+        if (RestApiConstants.APPType.PUBLISHER.equals(appType)) {
+            return RestApiUtil.getPublisherRestAPIResource();
+        } else if (RestApiConstants.APPType.STORE.equals(appType)) {
+            return RestApiUtil.getStoreRestAPIResource();
+        } else {
+            return RestApiUtil.getAdminRestAPIResource();
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws APIManagementException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(content);
+        } catch (IOException e) {
+            throw new APIManagementException("Error while compressing swagger definition", e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return ETagUtils.toHex(MessageDigest.getInstance(HASH_ALGORITHM).digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    /**
+     * A rendered swagger.json document
+     */
+    static final class RenderedDefinition {
+        private final byte[] json;
+        private final byte[] gzippedJson;
+        private final String eTag;
+        private final String gzipETag;
+
+        private RenderedDefinition(byte[] json, byte[] gzippedJson, String eTag, String gzipETag) {
+            this.json = json;
+            this.gzippedJson = gzippedJson;
+            this.eTag = eTag;
+            this.gzipETag = gzipETag;
+        }
+
+        /**
+         * Compress a document and compute the ETags of both of its forms
+         *
+         * @param json UTF-8 encoded document
+         * @return rendered document
+         * @throws APIManagementException if the document cannot be compressed
+         */
+        static RenderedDefinition of(byte[] json) throws APIManagementException {
+            String hash = hash(json);
+            return new RenderedDefinition(json, gzip(json), '"' + hash + '"', '"' + hash + GZIP_ETAG_SUFFIX + '"');
+        }
+
+        /**
+         * @return UTF-8 encoded document, which must not be modified
+         */
+        byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * @return gzip compressed document, which must not be modified
+         */
+        byte[] getGzippedJson() {
+            return gzippedJson;
+        }
+
+        /**
+         * @return quoted strong ETag of the document
+         */
+        String getETag() {
+            return eTag;
+        }
+
+        /**
+         * @return quoted strong ETag of the compressed document, which is a different representation
+         */
+        String getGzipETag() {
+            return gzipETag;
+        }
+    }
+}
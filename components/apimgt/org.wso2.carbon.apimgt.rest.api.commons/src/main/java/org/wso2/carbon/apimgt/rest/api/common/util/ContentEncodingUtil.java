@@ -0,0 +1,88 @@
+/*
+* Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.apimgt.rest.api.common.util;
+
+import java.util.Locale;
+
+/**
+ * Selects the compression of a response from the Accept-Encoding header of the request.
+ */
+public final class ContentEncodingUtil {
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    private static final String WILDCARD = "*";
+
+    private ContentEncodingUtil() {
+    }
+
+    /**
+     * Select the content coding of the response from the codings accepted by the client, preferring gzip
+     *
+     * @param acceptEncoding value of the Accept-Encoding header
+     * @return gzip, deflate, or null if the response should not be compressed
+     */
+    public static String negotiateContentEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        // null if the coding is not listed
+        Boolean gzipAccepted = null;
+        Boolean deflateAccepted = null;
+        Boolean wildcardAccepted = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ENGLISH);
+            if (GZIP.equals(name) || "x-gzip".equals(name)) {
+                gzipAccepted = isAccepted(parameters);
+            } else if (DEFLATE.equals(name)) {
+                deflateAccepted = isAccepted(parameters);
+            } else if (WILDCARD.equals(name)) {
+                wildcardAccepted = isAccepted(parameters);
+            }
+        }
+        if (gzipAccepted != null ? gzipAccepted : Boolean.TRUE.equals(wildcardAccepted)) {
+            return GZIP;
+        }
+        if (deflateAccepted != null ? deflateAccepted : Boolean.TRUE.equals(wildcardAccepted)) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * Check whether the client accepts a response compressed with gzip
+     *
+     * @param acceptEncoding value of the Accept-Encoding header
+     * @return true if gzip is accepted
+     */
+    public static boolean isGzipAccepted(String acceptEncoding) {
+        return GZIP.equals(negotiateContentEncoding(acceptEncoding));
+    }
+
+    private static boolean isAccepted(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
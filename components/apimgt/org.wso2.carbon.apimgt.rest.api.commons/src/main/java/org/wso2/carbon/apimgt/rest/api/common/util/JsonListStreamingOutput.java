@@ -0,0 +1,130 @@
+/*
+* Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.wso2.carbon.apimgt.rest.api.common.util;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.ResultHandler;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.msf4j.Request;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Writes a JSON list to the response while its items are read from the database, instead of building the list in
+ * memory and serializing it once it is complete. Items are serialized with Gson in the same way msf4j serializes
+ * response entities, so the JSON is the same as that of a list entity. The response is compressed with gzip or
+ * deflate when the client accepts either.
+ * <p>
+ * The status and headers are sent before the items are read, so an error while the list is being written can only
+ * abort the response. It is logged, and the client receives an incomplete document.
+ *
+ * @param <T> type of the list items
+ */
+public final class JsonListStreamingOutput<T> implements StreamingOutput {
+    private static final Logger log = LoggerFactory.getLogger(JsonListStreamingOutput.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // the default settings, which are also used by msf4j
+    private static final Gson gson = new Gson();
+
+    private final String listName;
+    private final ListProducer<T> producer;
+    private final String contentEncoding;
+
+    /**
+     * Produces the items of a list, passing each to the handler as it is read
+     *
+     * @param <T> type of the list items
+     */
+    @FunctionalInterface
+    public interface ListProducer<T> {
+        void produce(ResultHandler<T> handler) throws APIManagementException, IOException;
+    }
+
+    JsonListStreamingOutput(String listName, ListProducer<T> producer, String contentEncoding) {
+        this.listName = listName;
+        this.producer = producer;
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * Build a response which streams a JSON list
+     *
+     * @param request  the request, whose Accept-Encoding header selects the compression of the response
+     * @param listName name of the member of the response object holding the list, or null to send a JSON array
+     * @param producer producer of the list items
+     * @param <T>      type of the list items
+     * @return the response
+     */
+    public static <T> Response ok(Request request, String listName, ListProducer<T> producer) {
+        String contentEncoding = ContentEncodingUtil.negotiateContentEncoding(
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        Response.ResponseBuilder responseBuilder = Response.ok(
+                new JsonListStreamingOutput<>(listName, producer, contentEncoding), MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (contentEncoding != null) {
+            responseBuilder.header(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        return responseBuilder.build();
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        OutputStream out = outputStream;
+        if (ContentEncodingUtil.GZIP.equals(contentEncoding)) {
+            out = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        } else if (ContentEncodingUtil.DEFLATE.equals(contentEncoding)) {
+            out = new DeflaterOutputStream(outputStream);
+        }
+        // the stream of the response is closed by msf4j
+        JsonWriter jsonWriter = gson.newJsonWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        if (listName != null) {
+            jsonWriter.beginObject().name(listName);
+        }
+        jsonWriter.beginArray();
+        try {
+            producer.produce(item -> gson.toJson(item, item.getClass(), jsonWriter));
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while writing " + (listName == null ? "list" : listName) + " to response";
+            log.error(errorMessage, e);
+            throw new IOException(errorMessage, e);
+        }
+        jsonWriter.endArray();
+        if (listName != null) {
+            jsonWriter.endObject();
+        }
+        jsonWriter.flush();
+        if (out instanceof DeflaterOutputStream) {
+            ((DeflaterOutputStream) out).finish();
+        }
+        outputStream.flush();
+    }
+}
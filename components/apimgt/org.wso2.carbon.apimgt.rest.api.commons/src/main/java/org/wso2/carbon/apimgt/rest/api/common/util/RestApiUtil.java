@@ -267,6 +267,34 @@ public class RestApiUtil {
         return paginatedURL;
     }
 
+    /**
+     * Returns the keyset paginated url for APIs API
+     *
+     * @param limit max number of objects returned
+     * @param after cursor of the last API of the current page
+     * @return constructed paginated url
+     */
+    public static String getAPIPaginatedURL(Integer limit, String after) {
+        String paginatedURL = RestApiConstants.APIS_GET_PAGINATION_URL;
+        paginatedURL = paginatedURL.replace(RestApiConstants.LIMIT_PARAM, String.valueOf(limit));
+        paginatedURL = paginatedURL.replace(RestApiConstants.AFTER_PARAM, after);
+        return paginatedURL;
+    }
+
+    /**
+     * Returns the keyset paginated url for the store landing page API
+     *
+     * @param limit max number of objects returned
+     * @param after cursor of the last API of the current page
+     * @return constructed paginated url
+     */
+    public static String getLandingPagePaginatedURL(Integer limit, String after) {
+        String paginatedURL = RestApiConstants.LANDING_PAGE_GET_PAGINATION_URL;
+        paginatedURL = paginatedURL.replace(RestApiConstants.LIMIT_PARAM, String.valueOf(limit));
+        paginatedURL = paginatedURL.replace(RestApiConstants.AFTER_PARAM, after);
+        return paginatedURL;
+    }
+
     /**
      * Returns the gateway config retrieve url
      *
@@ -0,0 +1,88 @@
+/*
+ *
+ *   Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.impl;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.BenchmarkReporter;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares authorizing a REST API request by parsing the swagger definition of the REST API for its scopes, as was
+ * done on every request, with looking the scopes up in a {@link ScopeRoutingTable} built once, reporting the latency
+ * of each. The parsing cost is measured by building the table for every request.
+ * <p>
+ * The benchmark is not part of the regular build. Run it with {@code mvn test -Pbenchmark} and tune it with the
+ * {@code benchmark.*} system properties defined in the benchmark profile.
+ */
+public class ScopeRoutingTableBenchmark {
+    private static final String BASE_URL = "http://localhost:9292/api/am/publisher/v1.0";
+    private static final String[] REQUESTS = {"GET", BASE_URL + "/apis", "PUT", BASE_URL + "/apis/123/swagger",
+            "POST", BASE_URL + "/apis/change-lifecycle", "GET", BASE_URL + "/apis/123/documents/456/content",
+            "DELETE", BASE_URL + "/endpoints/789"};
+
+    private final int iterations = Integer.getInteger("benchmark.iterations", 200);
+    private final int lookups = Integer.getInteger("benchmark.lookups", 1000000);
+
+    // keeps the results alive, so that the measured calls are not eliminated
+    private int sink;
+
+    @Test
+    public void benchmarkScopeLookup() throws Exception {
+        String restAPIDefinition = ScopeRoutingTableTestCase.readResource(RestApiConstants.PUBLISHER_API_YAML);
+        ScopeRoutingTable routingTable = ScopeRoutingTable.build(restAPIDefinition);
+
+        // the first runs warm up the JIT compiler
+        parseDefinition(restAPIDefinition, iterations);
+        lookUpRoutingTable(routingTable, lookups);
+
+        long startTime = System.nanoTime();
+        parseDefinition(restAPIDefinition, iterations);
+        double parseNanos = (System.nanoTime() - startTime) / (double) iterations;
+
+        startTime = System.nanoTime();
+        lookUpRoutingTable(routingTable, lookups);
+        double lookupNanos = (System.nanoTime() - startTime) / (double) lookups;
+
+        String report = String.format(Locale.ENGLISH, "parse definition: %.2f us/request routing table: %.1f "
+                        + "ns/request speedup=%.0fx (%d)%n", parseNanos / TimeUnit.MICROSECONDS.toNanos(1), lookupNanos,
+                parseNanos / lookupNanos, sink);
+        BenchmarkReporter.report(ScopeRoutingTableBenchmark.class, "scope-routing-table-benchmark.txt", report);
+    }
+
+    private void parseDefinition(String restAPIDefinition, int count) throws APIManagementException {
+        for (int i = 0; i < count; i++) {
+            ScopeRoutingTable routingTable = ScopeRoutingTable.build(restAPIDefinition);
+            sink += routingTable.getDefinitionScopes().size();
+        }
+    }
+
+    private void lookUpRoutingTable(ScopeRoutingTable routingTable, int count) {
+        for (int i = 0; i < count; i++) {
+            int request = (i % (REQUESTS.length / 2)) * 2;
+            Set<String> scopes = routingTable.getRequiredScopes(REQUESTS[request], REQUESTS[request + 1]);
+            sink += scopes == null ? 0 : scopes.size();
+        }
+    }
+}
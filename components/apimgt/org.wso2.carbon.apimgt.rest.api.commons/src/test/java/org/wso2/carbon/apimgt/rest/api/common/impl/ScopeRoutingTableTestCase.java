@@ -0,0 +1,120 @@
+/*
+ *
+ *   Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.impl;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Test class for ScopeRoutingTable
+ */
+public class ScopeRoutingTableTestCase {
+    private static final String BASE_URL = "http://localhost:9292/api/am/publisher/v1.0";
+
+    private ScopeRoutingTable routingTable;
+
+    @BeforeClass
+    public void setUp() throws IOException, APIManagementException {
+        routingTable = ScopeRoutingTable.build(readResource(RestApiConstants.PUBLISHER_API_YAML));
+    }
+
+    @Test(description = "Test that the scope of an operation is found by verb and path template")
+    public void testGetRequiredScopes() {
+        Assert.assertEquals(routingTable.getRequiredScopes("GET", BASE_URL + "/apis"), scope("apim:api_view"));
+        Assert.assertEquals(routingTable.getRequiredScopes("POST", BASE_URL + "/apis/"), scope("apim:api_create"));
+        Assert.assertEquals(routingTable.getRequiredScopes("get", BASE_URL + "/apis/123/swagger?limit=1"),
+                scope("apim:api_view"));
+        Assert.assertEquals(routingTable.getRequiredScopes("PUT", "/api/am/publisher/v1.0/apis/123/swagger"),
+                scope("apim:api_create"));
+        Assert.assertEquals(routingTable.getRequiredScopes("PUT", BASE_URL + "/workflows/abc"),
+                scope("apim:workflow_approve"));
+    }
+
+    @Test(description = "Test that literal segments are matched before templates")
+    public void testLiteralSegmentIsPreferred() {
+        Assert.assertEquals(routingTable.getRequiredScopes("POST", BASE_URL + "/apis/change-lifecycle"),
+                scope("apim:api_publish"));
+        // there is no GET on /apis/change-lifecycle, so the request matches /apis/{apiId}
+        Assert.assertEquals(routingTable.getRequiredScopes("GET", BASE_URL + "/apis/change-lifecycle"),
+                scope("apim:api_view"));
+    }
+
+    @Test(description = "Test that unknown operations do not match")
+    public void testUnknownOperation() {
+        Assert.assertNull(routingTable.getRequiredScopes("PATCH", BASE_URL + "/apis"));
+        Assert.assertNull(routingTable.getRequiredScopes("GET", BASE_URL + "/unknown"));
+        Assert.assertNull(routingTable.getRequiredScopes("GET", "http://localhost:9292/api/am/store/v1.0/apis"));
+        Assert.assertNull(routingTable.getRequiredScopes(null, BASE_URL + "/apis"));
+    }
+
+    @Test(description = "Test that requests to any minor version of the REST API match its operations")
+    public void testMinorVersion() {
+        Assert.assertEquals(routingTable.getRequiredScopes("GET", "http://localhost:9292/api/am/publisher/v1.1/apis"),
+                scope("apim:api_view"));
+        Assert.assertEquals(routingTable.getRequiredScopes("POST", "/api/am/publisher/v1.12/apis"),
+                scope("apim:api_create"));
+        Assert.assertNull(routingTable.getRequiredScopes("GET", "/api/am/publisher/v2.0/apis"));
+        Assert.assertNull(routingTable.getRequiredScopes("GET", "/api/am/publisher/apis"));
+        Assert.assertNull(routingTable.getRequiredScopes("GET", "/other/api/am/publisher/v1.0/apis"));
+    }
+
+    @Test(description = "Test that a scope which does not belong to the operation does not authorize a request "
+            + "to another minor version")
+    public void testIsAuthorized() {
+        String apisUrl = "http://localhost:9292/api/am/publisher/v1.1/apis";
+        Assert.assertFalse(routingTable.isAuthorized("POST", apisUrl, "apim:api_view"));
+        Assert.assertTrue(routingTable.isAuthorized("POST", apisUrl, "apim:api_view", "APIM:API_CREATE"));
+        Assert.assertTrue(routingTable.isAuthorized("GET", apisUrl, "apim:api_view"));
+    }
+
+    @Test(description = "Test that requests which do not match an operation are not authorized by any scope")
+    public void testUnknownOperationIsNotAuthorized() {
+        Assert.assertFalse(routingTable.isAuthorized("GET", BASE_URL + "/unknown", "apim:api_view"));
+        Assert.assertFalse(routingTable.isAuthorized("GET", "/api/am/publisher/v2.0/apis", "apim:api_view"));
+        Assert.assertFalse(routingTable.isAuthorized("PATCH", BASE_URL + "/apis", "apim:api_view"));
+    }
+
+    @Test(description = "Test that the scopes of the definition are read")
+    public void testGetDefinitionScopes() {
+        Set<String> definitionScopes = routingTable.getDefinitionScopes();
+        Assert.assertTrue(definitionScopes.contains("apim:api_view"));
+        Assert.assertTrue(definitionScopes.contains("apim:subscription_block"));
+    }
+
+    static String readResource(String name) throws IOException {
+        try (InputStream resource = ScopeRoutingTableTestCase.class.getResourceAsStream(name)) {
+            return IOUtils.toString(resource, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Set<String> scope(String scope) {
+        return Collections.singleton(scope);
+    }
+}
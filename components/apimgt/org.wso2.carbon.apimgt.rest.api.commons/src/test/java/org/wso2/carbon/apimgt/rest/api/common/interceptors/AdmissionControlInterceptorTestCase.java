@@ -0,0 +1,113 @@
+/*
+ *
+ *   Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.interceptors;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController;
+import org.wso2.carbon.apimgt.core.impl.AdmissionController.Operation;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+import org.wso2.carbon.kernel.configprovider.ConfigProvider;
+import org.wso2.msf4j.Request;
+import org.wso2.msf4j.Response;
+
+/**
+ * Test class for AdmissionControlInterceptor
+ */
+public class AdmissionControlInterceptorTestCase {
+    private static final String STORE_URL = "/api/am/store/v1/";
+    private static final String PUBLISHER_URL = "/api/am/publisher/v1/";
+
+    @BeforeClass
+    public void init() {
+        ServiceReferenceHolder.getInstance().setConfigProvider(Mockito.mock(ConfigProvider.class));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        AdmissionController.getInstance().configure(true, 20, 100, 10000, 4, 500, 5, 600);
+    }
+
+    @Test(description = "Test that the heavy operations are found from the request")
+    public void testGetOperation() {
+        Assert.assertEquals(AdmissionControlInterceptor.getOperation("GET", PUBLISHER_URL + "export/apis?query=x"),
+                Operation.EXPORT);
+        Assert.assertEquals(AdmissionControlInterceptor.getOperation("POST", PUBLISHER_URL + "import/apis"),
+                Operation.IMPORT);
+        Assert.assertEquals(AdmissionControlInterceptor.getOperation("POST", PUBLISHER_URL + "apis/import-definition"),
+                Operation.IMPORT);
+        Assert.assertEquals(AdmissionControlInterceptor.getOperation("GET", STORE_URL + "apis?limit=10&query=name"),
+                Operation.SEARCH);
+    }
+
+    @Test(description = "Test that other requests are not heavy operations")
+    public void testGetOperationOfLightRequest() {
+        Assert.assertNull(AdmissionControlInterceptor.getOperation("GET", STORE_URL + "apis?limit=10"));
+        Assert.assertNull(AdmissionControlInterceptor.getOperation("GET", STORE_URL + "apis?query="));
+        Assert.assertNull(AdmissionControlInterceptor.getOperation("GET", STORE_URL + "apis?subquery=name"));
+        Assert.assertNull(AdmissionControlInterceptor.getOperation("POST", PUBLISHER_URL + "apis?query=name"));
+        Assert.assertNull(AdmissionControlInterceptor.getOperation("GET", PUBLISHER_URL + "apis/exported"));
+    }
+
+    @Test(description = "Test that the client of a request is keyed by its client application and user")
+    public void testGetClient() {
+        Request request = Mockito.mock(Request.class);
+        Assert.assertNull(AdmissionControlInterceptor.getClient(request));
+
+        Mockito.when(request.getProperty(RestApiConstants.AUTHENTICATED_USER_PROPERTY)).thenReturn("user1");
+        Assert.assertEquals(AdmissionControlInterceptor.getClient(request), "/user1");
+
+        Mockito.when(request.getProperty(RestApiConstants.AUTHENTICATED_CLIENT_ID_PROPERTY)).thenReturn("client1");
+        Assert.assertEquals(AdmissionControlInterceptor.getClient(request), "client1/user1");
+    }
+
+    @Test(description = "Test that the permit of a heavy operation is held by its request until postCall")
+    public void testPermitIsReleasedInPostCall() {
+        AdmissionController.getInstance().configure(true, 0, 100, 10000, 1, 500, 5, 600);
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor();
+        Response response = Mockito.mock(Response.class, Mockito.RETURNS_DEEP_STUBS);
+        Request export = createRequest(PUBLISHER_URL + "export/apis");
+
+        Assert.assertTrue(interceptor.preCall(export, response, null));
+        ArgumentCaptor<Object> admission = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(export).setProperty(Mockito.anyString(), admission.capture());
+        Mockito.when(export.getProperty(Mockito.anyString())).thenReturn(admission.getValue());
+        Assert.assertFalse(interceptor.preCall(createRequest(PUBLISHER_URL + "export/apis"), response, null));
+
+        // a request which is not a heavy operation does not release the permit
+        interceptor.postCall(createRequest(PUBLISHER_URL + "apis"), 200, null);
+        Assert.assertFalse(interceptor.preCall(createRequest(PUBLISHER_URL + "export/apis"), response, null));
+
+        interceptor.postCall(export, 200, null);
+        Assert.assertTrue(interceptor.preCall(createRequest(PUBLISHER_URL + "export/apis"), response, null));
+    }
+
+    private static Request createRequest(String uri) {
+        Request request = Mockito.mock(Request.class);
+        Mockito.when(request.getHttpMethod()).thenReturn("GET");
+        Mockito.when(request.getUri()).thenReturn(uri);
+        return request;
+    }
+}
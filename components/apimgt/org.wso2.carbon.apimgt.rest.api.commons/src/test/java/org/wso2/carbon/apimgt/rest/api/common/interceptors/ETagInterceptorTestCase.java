@@ -0,0 +1,80 @@
+/*
+ *
+ *   Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.interceptors;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache;
+import org.wso2.carbon.apimgt.core.dao.impl.ResourceVersionCache.ResourceType;
+
+/**
+ * Test class for ETagInterceptor
+ */
+public class ETagInterceptorTestCase {
+    private static final String STORE_URL = "/api/am/store/v1/";
+    private static final String PUBLISHER_URL = "/api/am/publisher/v1/";
+
+    @Test(description = "Test that the versioned resources are resolved from the request path")
+    public void testResolve() {
+        assertResource(PUBLISHER_URL + "endpoints/endpoint1", ResourceType.ENDPOINT, "endpoint1");
+        assertResource(STORE_URL + "policies/subscription/Gold?x=1", ResourceType.POLICY,
+                ResourceVersionCache.getPolicyId("subscription", "Gold"));
+        assertResource(PUBLISHER_URL + "policies/api/Gold", ResourceType.POLICY,
+                ResourceVersionCache.getPolicyId("api", "Gold"));
+    }
+
+    @Test(description = "Test that paths which do not address a versioned resource are not resolved")
+    public void testResolveUnversionedPath() {
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "policies"));
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "policies//Gold"));
+        // endpoints are only versioned by the publisher
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "endpoints/endpoint1"));
+        Assert.assertNull(ETagInterceptor.resolve("/api/am/admin/v1/policies/api/Gold"));
+    }
+
+    @Test(description = "Test that resources whose access is checked by the service are not answered before it")
+    public void testResolveAccessCheckedResources() {
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "apis/api1"));
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "apis/api1/swagger"));
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "apis/api1/documents/doc1"));
+        Assert.assertNull(ETagInterceptor.resolve(PUBLISHER_URL + "apis/api1/documents/doc1/content"));
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "apis/api1/comments/comment1"));
+        Assert.assertNull(ETagInterceptor.resolve(PUBLISHER_URL + "apis/api1/thumbnail"));
+        Assert.assertNull(ETagInterceptor.resolve(PUBLISHER_URL + "apis/api1/gateway-config"));
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "applications/app1"));
+        Assert.assertNull(ETagInterceptor.resolve(STORE_URL + "subscriptions/sub1"));
+    }
+
+    @Test(description = "Test the weak comparison of If-None-Match headers")
+    public void testIsWeakMatch() {
+        Assert.assertTrue(ETagInterceptor.isWeakMatch("\"abc\"", "\"abc\""));
+        Assert.assertTrue(ETagInterceptor.isWeakMatch("\"xyz\", W/\"abc\"", "\"abc\""));
+        Assert.assertTrue(ETagInterceptor.isWeakMatch("*", "\"abc\""));
+        Assert.assertFalse(ETagInterceptor.isWeakMatch("\"abcd\"", "\"abc\""));
+        Assert.assertFalse(ETagInterceptor.isWeakMatch(null, "\"abc\""));
+    }
+
+    private static void assertResource(String uri, ResourceType type, String resourceId) {
+        ETagInterceptor.VersionedResource resource = ETagInterceptor.resolve(uri);
+        Assert.assertNotNull(resource, uri);
+        Assert.assertEquals(resource.getType(), type, uri);
+        Assert.assertEquals(resource.getResourceId(), resourceId, uri);
+    }
+}
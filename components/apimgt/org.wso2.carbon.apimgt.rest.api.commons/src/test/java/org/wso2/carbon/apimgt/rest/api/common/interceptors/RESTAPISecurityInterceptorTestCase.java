@@ -0,0 +1,118 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.interceptors;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.msf4j.Request;
+import org.wso2.msf4j.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * Test class for the swagger.json responses of RESTAPISecurityInterceptor
+ */
+public class RESTAPISecurityInterceptorTestCase {
+    private static final String SWAGGER_JSON = "{\"swagger\":\"2.0\",\"basePath\":\"/api/am/store/v1\"}";
+
+    @Test(description = "Test that the document is sent with its ETag to a client which does not accept gzip")
+    public void testSendSwaggerDefinition() throws Exception {
+        SwaggerDefinitionCache.RenderedDefinition definition = render();
+        Response response = send(null, null, definition);
+
+        Mockito.verify(response).setStatus(200);
+        Mockito.verify(response).setHeader(HttpHeaders.ETAG, definition.getETag());
+        Mockito.verify(response).setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Mockito.verify(response, Mockito.never()).setHeader(Mockito.eq(HttpHeaders.CONTENT_ENCODING),
+                Mockito.anyString());
+        Assert.assertEquals(readEntity(response, false), SWAGGER_JSON);
+        Mockito.verify(response).send();
+    }
+
+    @Test(description = "Test that the compressed document is sent with its own ETag to a client accepting gzip")
+    public void testSendGzippedSwaggerDefinition() throws Exception {
+        SwaggerDefinitionCache.RenderedDefinition definition = render();
+        Response response = send("gzip, deflate", null, definition);
+
+        Mockito.verify(response).setStatus(200);
+        Mockito.verify(response).setHeader(HttpHeaders.ETAG, definition.getGzipETag());
+        Mockito.verify(response).setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        Assert.assertNotEquals(definition.getGzipETag(), definition.getETag());
+        Assert.assertEquals(readEntity(response, true), SWAGGER_JSON);
+    }
+
+    @Test(description = "Test that a client holding either form of the document receives a 304 response")
+    public void testSendSwaggerDefinitionNotModified() throws Exception {
+        SwaggerDefinitionCache.RenderedDefinition definition = render();
+        for (String ifNoneMatch : new String[]{definition.getETag(), "W/" + definition.getGzipETag()}) {
+            Response response = send("gzip", ifNoneMatch, definition);
+
+            Mockito.verify(response).setStatus(304);
+            Mockito.verify(response).setHeader(HttpHeaders.ETAG, definition.getGzipETag());
+            Mockito.verify(response, Mockito.never()).setEntity(Mockito.any());
+            Mockito.verify(response).send();
+        }
+
+        // a stale ETag is answered with the document
+        Response response = send(null, "\"stale\"", definition);
+        Mockito.verify(response).setStatus(200);
+    }
+
+    private static SwaggerDefinitionCache.RenderedDefinition render() throws Exception {
+        return SwaggerDefinitionCache.RenderedDefinition.of(SWAGGER_JSON.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Response send(String acceptEncoding, String ifNoneMatch,
+                                 SwaggerDefinitionCache.RenderedDefinition definition) {
+        Request request = Mockito.mock(Request.class);
+        Mockito.when(request.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn(acceptEncoding);
+        Mockito.when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn(ifNoneMatch);
+        // the setters of the response return the response itself
+        Answer<Object> returnsSelf = invocation ->
+                invocation.getMethod().getReturnType() == Response.class ? invocation.getMock() : null;
+        Response response = Mockito.mock(Response.class, returnsSelf);
+        RESTAPISecurityInterceptor.sendSwaggerDefinition(request, response, definition);
+        return response;
+    }
+
+    private static String readEntity(Response response, boolean gzip) throws Exception {
+        ArgumentCaptor<Object> entity = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(response).setEntity(entity.capture());
+        InputStream inputStream = (ByteArrayInputStream) entity.getValue();
+        if (gzip) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            content.write(buffer, 0, length);
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for ContentEncodingUtil
+ */
+public class ContentEncodingUtilTestCase {
+
+    @Test(description = "Test the negotiation of the content coding")
+    public void testNegotiateContentEncoding() {
+        Assert.assertNull(ContentEncodingUtil.negotiateContentEncoding(null));
+        Assert.assertNull(ContentEncodingUtil.negotiateContentEncoding("identity"));
+        Assert.assertEquals(ContentEncodingUtil.negotiateContentEncoding("gzip, deflate, br"), "gzip");
+        Assert.assertEquals(ContentEncodingUtil.negotiateContentEncoding("deflate"), "deflate");
+        Assert.assertEquals(ContentEncodingUtil.negotiateContentEncoding("GZIP;q=0.5"), "gzip");
+        Assert.assertEquals(ContentEncodingUtil.negotiateContentEncoding("gzip;q=0, deflate"), "deflate");
+        Assert.assertNull(ContentEncodingUtil.negotiateContentEncoding("gzip;q=0"));
+        Assert.assertEquals(ContentEncodingUtil.negotiateContentEncoding("*"), "gzip");
+        Assert.assertEquals(ContentEncodingUtil.negotiateContentEncoding("gzip;q=0, *"), "deflate");
+        Assert.assertNull(ContentEncodingUtil.negotiateContentEncoding("*;q=0"));
+    }
+
+    @Test(description = "Test whether a gzip compressed response is accepted")
+    public void testIsGzipAccepted() {
+        Assert.assertTrue(ContentEncodingUtil.isGzipAccepted("deflate, gzip"));
+        Assert.assertTrue(ContentEncodingUtil.isGzipAccepted("x-gzip"));
+        Assert.assertFalse(ContentEncodingUtil.isGzipAccepted("deflate"));
+        Assert.assertFalse(ContentEncodingUtil.isGzipAccepted("gzip;q=0, *"));
+        Assert.assertFalse(ContentEncodingUtil.isGzipAccepted(null));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *
+ *   Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.wso2.carbon.apimgt.rest.api.common.util;
+
+import com.google.gson.Gson;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.models.Label;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Test class for JsonListStreamingOutput
+ */
+public class JsonListStreamingOutputTestCase {
+    private static final List<Label> LABELS = Arrays.asList(
+            new Label.Builder().id("1").name("public").accessUrls(Collections.singletonList("https://gw:8243"))
+                    .build(),
+            // null members are omitted, as by msf4j
+            new Label.Builder().id("2").name("private <internal>").build());
+
+    @Test(description = "Test that a streamed list is the same as the serialized list object")
+    public void testWriteListObject() throws Exception {
+        Map<String, List<Label>> listObject = new HashMap<>();
+        listObject.put("list", LABELS);
+        Assert.assertEquals(write("list", null, LABELS), new Gson().toJson(listObject));
+        Assert.assertEquals(write("list", null, Collections.emptyList()), "{\"list\":[]}");
+    }
+
+    @Test(description = "Test that a streamed array is the same as the serialized list")
+    public void testWriteArray() throws Exception {
+        Assert.assertEquals(write(null, null, LABELS), new Gson().toJson(new ArrayList<>(LABELS)));
+    }
+
+    @Test(description = "Test that streamed lists are compressed with the negotiated coding")
+    public void testWriteCompressed() throws Exception {
+        String expected = write(null, null, LABELS);
+        Assert.assertEquals(write(null, ContentEncodingUtil.GZIP, LABELS), expected);
+        Assert.assertEquals(write(null, ContentEncodingUtil.DEFLATE, LABELS), expected);
+    }
+
+    @Test(description = "Test that an error while the list is read aborts the response",
+            expectedExceptions = IOException.class)
+    public void testWriteFailed() throws Exception {
+        new JsonListStreamingOutput<Label>("list", handler -> {
+            handler.handle(LABELS.get(0));
+            throw new APIManagementException("Error", ExceptionCodes.APIMGT_DAO_EXCEPTION);
+        }, null).write(new ByteArrayOutputStream());
+    }
+
+    private static String write(String listName, String contentEncoding, List<Label> labels) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new JsonListStreamingOutput<Label>(listName, handler -> {
+            for (Label label : labels) {
+                handler.handle(label);
+            }
+        }, contentEncoding).write(outputStream);
+
+        InputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
+        if (ContentEncodingUtil.GZIP.equals(contentEncoding)) {
+            inputStream = new GZIPInputStream(inputStream);
+        } else if (ContentEncodingUtil.DEFLATE.equals(contentEncoding)) {
+            inputStream = new InflaterInputStream(inputStream);
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            content.write(buffer, 0, length);
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -23,17 +23,14 @@ import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.models.APISummary;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.rest.api.common.util.JsonListStreamingOutput;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.core.*;
 import org.wso2.carbon.apimgt.rest.api.core.NotFoundException;
-import org.wso2.carbon.apimgt.rest.api.core.util.APISummaryComparator;
 import org.wso2.msf4j.Request;
 
 import javax.ws.rs.core.Response;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 
 @javax.annotation.Generated(value = "class org.wso2.maven.plugins.JavaMSF4JServerCodegen", date = "2017-01-16T14:58:37.369+05:30")
 public class ApisSummaryApiServiceImpl extends ApisSummaryApiService {
@@ -47,12 +44,10 @@ public class ApisSummaryApiServiceImpl extends ApisSummaryApiService {
      */
     @Override
     public Response apisSummaryGet(String accept, Request request) throws NotFoundException {
-
-        List<APISummary> apisSummary = new ArrayList<APISummary>();
-        Collections.sort(apisSummary, new APISummaryComparator());
         try {
             APIMgtAdminService adminService = RestApiUtil.getAPIMgtAdminService();
-            apisSummary = adminService.getAPIInfo();
+            // the summaries hold the URI templates of every API, so they are written as they are created
+            return JsonListStreamingOutput.<APISummary>ok(request, null, adminService::getAPIInfo);
         } catch (APIManagementException e) {
             String errorMessage = "Error while retreiving API summary";
             HashMap<String, String> paramList = new HashMap<String, String>();
@@ -60,6 +55,5 @@ public class ApisSummaryApiServiceImpl extends ApisSummaryApiService {
             log.error(errorMessage, e);
             return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
         }
-        return Response.ok().entity(apisSummary).build();
     }
 }
@@ -6,25 +6,25 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIMgtAdminService;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.impl.APIManagerFactory;
-import org.wso2.carbon.apimgt.core.models.SubscriptionValidationData;
 import org.wso2.carbon.apimgt.core.util.APIMgtConstants;
 import org.wso2.carbon.apimgt.core.util.APIUtils;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.rest.api.common.util.JsonListStreamingOutput;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.core.NotFoundException;
 import org.wso2.carbon.apimgt.rest.api.core.SubscriptionsApiService;
-import org.wso2.carbon.apimgt.rest.api.core.dto.SubscriptionListDTO;
 import org.wso2.carbon.apimgt.rest.api.core.utils.MappingUtil;
 import org.wso2.msf4j.Request;
 
 import java.util.HashMap;
-import java.util.List;
 import javax.ws.rs.core.Response;
 
 @javax.annotation.Generated(value = "org.wso2.maven.plugins.JavaMSF4JServerCodegen", date = "2017-01-18T15:27:32.639+05:30")
 public class SubscriptionsApiServiceImpl extends SubscriptionsApiService {
 
     private static final Logger log = LoggerFactory.getLogger(SubscriptionsApiServiceImpl.class);
+    // name of the list member of SubscriptionListDTO
+    private static final String SUBSCRIPTION_LIST_NAME = "list";
 
     /**
      * Retrieve subscriptions
@@ -41,15 +41,16 @@ public class SubscriptionsApiServiceImpl extends SubscriptionsApiService {
                                      Request request) throws NotFoundException {
         try {
             APIMgtAdminService apiMgtAdminService = APIManagerFactory.getInstance().getAPIMgtAdminService();
-            List<SubscriptionValidationData> subscriptionsOfApi;
+            // the subscriptions are written to the response as they are read, as gateways fetch all of them
             if (StringUtils.isEmpty(apiContext) || StringUtils.isEmpty(apiVersion)) {
                 APIUtils.logDebug("API Context or version is null or empty. Retrieving subscriptions of all APIs", log);
-                subscriptionsOfApi = apiMgtAdminService.getAPISubscriptions(limit);
-            } else {
-                subscriptionsOfApi = apiMgtAdminService.getAPISubscriptionsOfApi(apiContext, apiVersion);
+                return JsonListStreamingOutput.ok(request, SUBSCRIPTION_LIST_NAME,
+                        handler -> apiMgtAdminService.getAPISubscriptions(limit,
+                                subscription -> handler.handle(MappingUtil.convertToSubscriptionDto(subscription))));
             }
-            SubscriptionListDTO subscriptionsList = MappingUtil.convertToSubscriptionListDto(subscriptionsOfApi);
-            return Response.ok(subscriptionsList).build();
+            return JsonListStreamingOutput.ok(request, SUBSCRIPTION_LIST_NAME,
+                    handler -> apiMgtAdminService.getAPISubscriptionsOfApi(apiContext, apiVersion,
+                            subscription -> handler.handle(MappingUtil.convertToSubscriptionDto(subscription))));
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving subscriptions.";
             HashMap<String, String> paramList = new HashMap<String, String>();
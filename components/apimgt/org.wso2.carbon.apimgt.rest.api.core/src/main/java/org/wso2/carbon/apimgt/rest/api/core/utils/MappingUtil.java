@@ -45,21 +45,31 @@ public class MappingUtil {
             List<SubscriptionValidationData> subscriptionValidationData) {
         SubscriptionListDTO subscriptionListDTO = new SubscriptionListDTO();
         for (SubscriptionValidationData subscriptionData : subscriptionValidationData) {
-            SubscriptionDTO subscriptionDTO = new SubscriptionDTO();
-            subscriptionDTO.setApiName(subscriptionData.getApiName());
-            subscriptionDTO.setApiContext(subscriptionData.getApiContext());
-            subscriptionDTO.setApiVersion(subscriptionData.getApiVersion());
-            subscriptionDTO.setApiProvider(subscriptionData.getApiProvider());
-            subscriptionDTO.setConsumerKey(subscriptionData.getConsumerKey());
-            subscriptionDTO.setSubscriptionPolicy(subscriptionData.getSubscriptionPolicy());
-            subscriptionDTO.setApplicationName(subscriptionData.getApplicationName());
-            subscriptionDTO.setApplicationOwner(subscriptionData.getApplicationOwner());
-            subscriptionDTO.setKeyEnvType(subscriptionData.getKeyEnvType());
-            subscriptionListDTO.addListItem(subscriptionDTO);
+            subscriptionListDTO.addListItem(convertToSubscriptionDto(subscriptionData));
         }
         return subscriptionListDTO;
     }
 
+    /**
+     * This method converts SubscriptionValidationData into SubscriptionDTO object.
+     *
+     * @param subscriptionData Subscription Validation Data
+     * @return subscriptionDTO
+     */
+    public static SubscriptionDTO convertToSubscriptionDto(SubscriptionValidationData subscriptionData) {
+        SubscriptionDTO subscriptionDTO = new SubscriptionDTO();
+        subscriptionDTO.setApiName(subscriptionData.getApiName());
+        subscriptionDTO.setApiContext(subscriptionData.getApiContext());
+        subscriptionDTO.setApiVersion(subscriptionData.getApiVersion());
+        subscriptionDTO.setApiProvider(subscriptionData.getApiProvider());
+        subscriptionDTO.setConsumerKey(subscriptionData.getConsumerKey());
+        subscriptionDTO.setSubscriptionPolicy(subscriptionData.getSubscriptionPolicy());
+        subscriptionDTO.setApplicationName(subscriptionData.getApplicationName());
+        subscriptionDTO.setApplicationOwner(subscriptionData.getApplicationOwner());
+        subscriptionDTO.setKeyEnvType(subscriptionData.getKeyEnvType());
+        return subscriptionDTO;
+    }
+
     /**
      * Converts labelDTOs into labels
      *
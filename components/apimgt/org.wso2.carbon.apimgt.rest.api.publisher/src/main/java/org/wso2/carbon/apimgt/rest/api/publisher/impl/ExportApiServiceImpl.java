@@ -5,7 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIPublisher;
 import org.wso2.carbon.apimgt.core.exception.APIManagementException;
 import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
-import org.wso2.carbon.apimgt.core.models.APIDetails;
+import org.wso2.carbon.apimgt.core.models.API;
 import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
 import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.publisher.ExportApiService;
@@ -17,7 +17,7 @@ import org.wso2.msf4j.Request;
 import javax.ws.rs.core.Response;
 import java.io.File;
 import java.util.HashMap;
-import java.util.Set;
+import java.util.List;
 import java.util.UUID;
 
 @javax.annotation.Generated(value = "class org.wso2.maven.plugins.JavaMSF4JServerCodegen", date =
@@ -43,7 +43,7 @@ public class ExportApiServiceImpl extends ExportApiService {
 
         APIPublisher publisher = null;
         String exportedFilePath, zippedFilePath = null;
-        Set<APIDetails> apiDetails;
+        List<API> apis;
         String exportedApiDirName = "exported-apis";
         String pathToExportDir = System.getProperty("java.io.tmpdir") + File.separator + "exported-api-archives-" +
                 UUID.randomUUID().toString();
@@ -51,8 +51,8 @@ public class ExportApiServiceImpl extends ExportApiService {
             publisher = RestAPIPublisherUtil.getApiPublisher(RestApiUtil.getLoggedInUsername());
             FileBasedApiImportExportManager importExportManager = new FileBasedApiImportExportManager(publisher,
                     pathToExportDir);
-            apiDetails = importExportManager.getAPIDetails(limit, offset, query);
-            if (apiDetails.isEmpty()) {
+            apis = importExportManager.searchAPIs(limit, offset, query);
+            if (apis.isEmpty()) {
                 // 404
                 String errorMsg = "No APIs found for query " + query;
                 log.error(errorMsg);
@@ -62,7 +62,9 @@ public class ExportApiServiceImpl extends ExportApiService {
                 return Response.status(Response.Status.NOT_FOUND).entity(errorDTO).build();
             }
 
-            exportedFilePath = importExportManager.exportAPIs(apiDetails, exportedApiDirName);
+            // the details of each API are retrieved while it is exported, so that the document and thumbnail
+            // streams of only one API are open at a time
+            exportedFilePath = importExportManager.exportAPIs(apis, exportedApiDirName);
             zippedFilePath = importExportManager.createArchiveFromExportedApiArtifacts(exportedFilePath,
                     pathToExportDir, exportedApiDirName);
 
@@ -21,6 +21,7 @@
 package org.wso2.carbon.apimgt.rest.api.publisher.utils;
 
 import com.sun.jndi.toolkit.url.Uri;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.apimgt.core.api.APIPublisher;
@@ -37,6 +38,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -64,6 +66,8 @@ public class ApiImportExportManager {
      *      4. Swagger Definition
      *      5. Gateway Definition
      *      6. Thumbnail content
+     * The document content and thumbnail streams of all the APIs are open on return. To export many APIs, use
+     * {@link #getAPIDetails(API)} for one API at a time instead.
      *
      * @param limit number of max results
      * @param offset starting location when returning a limited set of results
@@ -75,126 +79,162 @@ public class ApiImportExportManager {
 
         Set<APIDetails> apiDetailSet = new HashSet<>();
         // search for APIs
-        List<API> apis = apiPublisher.searchAPIs(limit, offset, query);
-        if (apis == null || apis.isEmpty()) {
-            // no APIs found, return
-            return apiDetailSet;
-        }
-
+        List<API> apis = searchAPIs(limit, offset, query);
         // iterate and collect all information
         for (API api : apis) {
-            api = apiPublisher.getAPIbyUUID(api.getId());
-            // get endpoints at API Level
-            Map<String, Endpoint> endpoints = api.getEndpoint();
-            if (endpoints.isEmpty()) {
-                log.error("No Endpoints found for api: " + api.getName() + ", version: " + api.getVersion());
-                // skip this API
-                continue;
-            }
-            Set<Endpoint> endpointSet = new HashSet<>();
-            for (Map.Entry<String, Endpoint> endpointEntry : endpoints.entrySet()) {
-                if (APIMgtConstants.GLOBAL_ENDPOINT.equals(endpointEntry.getValue().getApplicableLevel())) {
-                    Endpoint endpoint = new Endpoint.Builder(apiPublisher.getEndpoint(endpointEntry.getValue().getId
-                            ())).id("").build();
-                    endpoints.replace(endpointEntry.getKey(),endpoint);
-                    endpointSet.add(endpoint);
-                }
-            }
-            // get Endpoints at Resource Level
-            Map<String,UriTemplate> uriTemplateMap = api.getUriTemplates();
-            uriTemplateMap.forEach((k, v) -> {
-                UriTemplate.UriTemplateBuilder uriTemplateBuilder = new UriTemplate.UriTemplateBuilder(v);
-                Map<String,Endpoint> resourceEndpoints = uriTemplateBuilder.getEndpoint();
-                resourceEndpoints.forEach((type, value) -> {
-                    Endpoint endpoint = null;
-                    if (APIMgtConstants.GLOBAL_ENDPOINT.equals(value.getApplicableLevel())) {
-                        try {
-                            endpoint = new Endpoint.Builder(apiPublisher.getEndpoint(value.getId())).id("")
-                                    .build();
-                            endpointSet.add(endpoint);
-                        } catch (APIManagementException e) {
-                            log.error("Error in getting endpoints for Resource: " + v.getTemplateId(), e);
-                        }
-                    }else{
-                        endpoint = new Endpoint.Builder(value).id("").build();
-                    }
-                    resourceEndpoints.replace(type,endpoint);
-                });
-                uriTemplateMap.replace(k, uriTemplateBuilder.endpoint(resourceEndpoints).build());
-            });
-            api = new API.APIBuilder(api).endpoint(endpoints).uriTemplates(uriTemplateMap).build();
-            // get swagger definition
-            String swaggerDefinition;
-            try {
-                swaggerDefinition = apiPublisher.getSwagger20Definition(api.getId());
-            } catch (APIManagementException e) {
-                log.error("Error in getting Swagger configuration for api: " + api.getName() + ", version: " +
-                        api.getVersion(), e);
-                // skip this API
-                continue;
+            APIDetails apiDetails = getAPIDetails(api);
+            if (apiDetails != null) {
+                apiDetailSet.add(apiDetails);
             }
+        }
 
-            // get gateway configuration
-            String gatewayConfig;
-            try {
-                gatewayConfig = apiPublisher.getApiGatewayConfig(api.getId());
-            } catch (APIManagementException e) {
-                log.error("Error in getting gateway configuration for api: " + api.getName() + ", version: " +
-                        api.getVersion(), e);
-                // skip this API
-                continue;
-            }
+        return apiDetailSet;
+    }
 
-            // get doc information
-            List<DocumentInfo> documentInfo = null;
-            try {
-                documentInfo = apiPublisher.getAllDocumentation(api.getId(), 0, Integer.MAX_VALUE);
-            } catch (APIManagementException e) {
-                log.error("Error in getting documentation content for api: " + api.getName() + ", version: " +
-                        api.getVersion(), e);
-                // no need to skip the API as docs don't affect API functionality
+    /**
+     * Searches the APIs to export for the given search query
+     *
+     * @param limit number of max results
+     * @param offset starting location when returning a limited set of results
+     * @param query searchQuery
+     * @return summaries of the APIs found, or an empty list if no APIs are found
+     * @throws APIManagementException if an error occurs while searching the APIs
+     */
+    public List<API> searchAPIs(Integer limit, Integer offset, String query) throws APIManagementException {
+        List<API> apis = apiPublisher.searchAPIs(limit, offset, query);
+        return apis == null ? Collections.emptyList() : apis;
+    }
+
+    /**
+     * Retrieves the API details of an API. The document content and thumbnail streams of the API are open on
+     * return, and should be closed with {@link #closeStreams(APIDetails)} once they are written.
+     *
+     * @param api summary of the API returned by the search
+     * @return {@link APIDetails} instance, or null if the API details cannot be retrieved and the API is skipped
+     * @throws APIManagementException if an error occurs while retrieving the API
+     */
+    public APIDetails getAPIDetails(API api) throws APIManagementException {
+        api = apiPublisher.getAPIbyUUID(api.getId());
+        // get endpoints at API Level
+        Map<String, Endpoint> endpoints = api.getEndpoint();
+        if (endpoints.isEmpty()) {
+            log.error("No Endpoints found for api: " + api.getName() + ", version: " + api.getVersion());
+            // skip this API
+            return null;
+        }
+        Set<Endpoint> endpointSet = new HashSet<>();
+        for (Map.Entry<String, Endpoint> endpointEntry : endpoints.entrySet()) {
+            if (APIMgtConstants.GLOBAL_ENDPOINT.equals(endpointEntry.getValue().getApplicableLevel())) {
+                Endpoint endpoint = new Endpoint.Builder(apiPublisher.getEndpoint(endpointEntry.getValue().getId
+                        ())).id("").build();
+                endpoints.replace(endpointEntry.getKey(),endpoint);
+                endpointSet.add(endpoint);
             }
-            Set<DocumentContent> documentContents = new HashSet<>();
-            if (documentInfo != null && !documentInfo.isEmpty()) {
-                // iterate and collect document content
-                for (DocumentInfo aDocumentInfo : documentInfo) {
+        }
+        // get Endpoints at Resource Level
+        Map<String,UriTemplate> uriTemplateMap = api.getUriTemplates();
+        uriTemplateMap.forEach((k, v) -> {
+            UriTemplate.UriTemplateBuilder uriTemplateBuilder = new UriTemplate.UriTemplateBuilder(v);
+            Map<String,Endpoint> resourceEndpoints = uriTemplateBuilder.getEndpoint();
+            resourceEndpoints.forEach((type, value) -> {
+                Endpoint endpoint = null;
+                if (APIMgtConstants.GLOBAL_ENDPOINT.equals(value.getApplicableLevel())) {
                     try {
-                        documentContents.add(apiPublisher.getDocumentationContent(aDocumentInfo.getId()));
+                        endpoint = new Endpoint.Builder(apiPublisher.getEndpoint(value.getId())).id("")
+                                .build();
+                        endpointSet.add(endpoint);
                     } catch (APIManagementException e) {
-                        log.error("Error in getting documentation content for api: " + api.getName() +
-                                ", version: " + api.getVersion() + ", doc id: " + aDocumentInfo.getId(), e);
-                        // no need to skip the API as docs don't affect API functionality
+                        log.error("Error in getting endpoints for Resource: " + v.getTemplateId(), e);
                     }
+                }else{
+                    endpoint = new Endpoint.Builder(value).id("").build();
                 }
-            }
+                resourceEndpoints.replace(type,endpoint);
+            });
+            uriTemplateMap.replace(k, uriTemplateBuilder.endpoint(resourceEndpoints).build());
+        });
+        api = new API.APIBuilder(api).endpoint(endpoints).uriTemplates(uriTemplateMap).build();
+        // get swagger definition
+        String swaggerDefinition;
+        try {
+            swaggerDefinition = apiPublisher.getSwagger20Definition(api.getId());
+        } catch (APIManagementException e) {
+            log.error("Error in getting Swagger configuration for api: " + api.getName() + ", version: " +
+                    api.getVersion(), e);
+            // skip this API
+            return null;
+        }
 
-            // get thumbnail
-            InputStream thumbnailStream = null;
-            try {
-                thumbnailStream = apiPublisher.getThumbnailImage(api.getId());
-            } catch (APIManagementException e) {
-                log.error("Error in getting thumbnail for api: " + api.getName() + ", version: " + api.getVersion(), e);
-                // no need to skip the API as thumbnail don't affect API functionality
+        // get gateway configuration
+        String gatewayConfig;
+        try {
+            gatewayConfig = apiPublisher.getApiGatewayConfig(api.getId());
+        } catch (APIManagementException e) {
+            log.error("Error in getting gateway configuration for api: " + api.getName() + ", version: " +
+                    api.getVersion(), e);
+            // skip this API
+            return null;
+        }
+
+        // get doc information
+        List<DocumentInfo> documentInfo = null;
+        try {
+            documentInfo = apiPublisher.getAllDocumentation(api.getId(), 0, Integer.MAX_VALUE);
+        } catch (APIManagementException e) {
+            log.error("Error in getting documentation content for api: " + api.getName() + ", version: " +
+                    api.getVersion(), e);
+            // no need to skip the API as docs don't affect API functionality
+        }
+        Set<DocumentContent> documentContents = new HashSet<>();
+        if (documentInfo != null && !documentInfo.isEmpty()) {
+            // iterate and collect document content
+            for (DocumentInfo aDocumentInfo : documentInfo) {
+                try {
+                    documentContents.add(apiPublisher.getDocumentationContent(aDocumentInfo.getId()));
+                } catch (APIManagementException e) {
+                    log.error("Error in getting documentation content for api: " + api.getName() +
+                            ", version: " + api.getVersion() + ", doc id: " + aDocumentInfo.getId(), e);
+                    // no need to skip the API as docs don't affect API functionality
+                }
             }
+        }
+
+        // get thumbnail
+        InputStream thumbnailStream = null;
+        try {
+            thumbnailStream = apiPublisher.getThumbnailImage(api.getId());
+        } catch (APIManagementException e) {
+            log.error("Error in getting thumbnail for api: " + api.getName() + ", version: " + api.getVersion(), e);
+            // no need to skip the API as thumbnail don't affect API functionality
+        }
 
-            // search operation returns a summary of APIs, need to get all details of APIs
-            APIDetails apiDetails = new APIDetails(api, swaggerDefinition);
-            apiDetails.setGatewayConfiguration(gatewayConfig);
-            apiDetails.setEndpoints(endpointSet);
+        // search operation returns a summary of APIs, need to get all details of APIs
+        APIDetails apiDetails = new APIDetails(api, swaggerDefinition);
+        apiDetails.setGatewayConfiguration(gatewayConfig);
+        apiDetails.setEndpoints(endpointSet);
 
-            if (documentInfo != null && !documentInfo.isEmpty()) {
-                apiDetails.addDocumentInformation(documentInfo);
-            }
-            if (!documentContents.isEmpty()) {
-                apiDetails.addDocumentContents(documentContents);
-            }
-            if (thumbnailStream != null) {
-                apiDetails.setThumbnailStream(thumbnailStream);
-            }
-            apiDetailSet.add(apiDetails);
+        if (documentInfo != null && !documentInfo.isEmpty()) {
+            apiDetails.addDocumentInformation(documentInfo);
+        }
+        if (!documentContents.isEmpty()) {
+            apiDetails.addDocumentContents(documentContents);
         }
+        if (thumbnailStream != null) {
+            apiDetails.setThumbnailStream(thumbnailStream);
+        }
+        return apiDetails;
+    }
 
-        return apiDetailSet;
+    /**
+     * Closes the document content and thumbnail streams of the API details
+     *
+     * @param apiDetails {@link APIDetails} instance
+     */
+    public static void closeStreams(APIDetails apiDetails) {
+        IOUtils.closeQuietly(apiDetails.getThumbnailStream());
+        for (DocumentContent documentContent : apiDetails.getDocumentContents()) {
+            IOUtils.closeQuietly(documentContent.getFileContent());
+        }
     }
 
     /**
@@ -266,9 +306,10 @@ public class ApiImportExportManager {
             for (DocumentContent aDocContent : apiDetails.getDocumentContents()) {
                 // add documentation
                 if (aDocContent.getDocumentInfo().getSourceType().equals(DocumentInfo.SourceType.FILE)) {
-                    apiPublisher.uploadDocumentationFile(aDocContent.getDocumentInfo().getId(),
-                            aDocContent.getFileContent(), 
-                            URLConnection.guessContentTypeFromStream(aDocContent.getFileContent()));
+                    try (InputStream fileContent = aDocContent.getFileContent()) {
+                        apiPublisher.uploadDocumentationFile(aDocContent.getDocumentInfo().getId(), fileContent,
+                                URLConnection.guessContentTypeFromStream(fileContent));
+                    }
                 } else if (aDocContent.getDocumentInfo().getSourceType().equals(DocumentInfo.SourceType.INLINE)) {
                     apiPublisher.addDocumentationContent(aDocContent.getDocumentInfo().getId(),
                             aDocContent.getInlineContent());
@@ -337,9 +378,10 @@ public class ApiImportExportManager {
             for (DocumentContent docContent : docContents) {
                 // update documentation
                 if (docContent.getDocumentInfo().getSourceType().equals(DocumentInfo.SourceType.FILE)) {
-                    apiPublisher
-                            .uploadDocumentationFile(docContent.getDocumentInfo().getId(), docContent.getFileContent(),
-                                    URLConnection.guessContentTypeFromStream(docContent.getFileContent()));
+                    try (InputStream fileContent = docContent.getFileContent()) {
+                        apiPublisher.uploadDocumentationFile(docContent.getDocumentInfo().getId(), fileContent,
+                                URLConnection.guessContentTypeFromStream(fileContent));
+                    }
                 } else if (docContent.getDocumentInfo().getSourceType().equals(DocumentInfo.SourceType.INLINE)) {
                     apiPublisher.addDocumentationContent(docContent.getDocumentInfo().getId(),
                             docContent.getInlineContent());
@@ -76,6 +76,54 @@ public class FileBasedApiImportExportManager extends ApiImportExportManager {
     public String exportAPIs(Set<APIDetails> apiDetailSet, String exportDirectoryName) throws
             APIMgtEntityImportExportException {
 
+        String apiArtifactsBaseDirectoryPath = createExportDirectory(exportDirectoryName);
+        for (APIDetails apiDetails : apiDetailSet) {
+            try {
+                exportAPI(apiDetails, apiArtifactsBaseDirectoryPath);
+            } finally {
+                closeStreams(apiDetails);
+            }
+        }
+        return checkExportedAPIs(apiArtifactsBaseDirectoryPath);
+    }
+
+    /**
+     * Export the given APIs to the file system as a zip archive. The details of an API are retrieved and written
+     * before the next API, so that the document content and thumbnail streams of only one API are open at a time.
+     * The export root location is given by {@link FileBasedApiImportExportManager#path}/exported-apis.
+     *
+     * @param apis                APIs to be exported, as returned by {@link #searchAPIs(Integer, Integer, String)}
+     * @param exportDirectoryName Name of the directory to do the export
+     * @return Path to the directory  with exported artifacts
+     * @throws APIManagementException if an error occurred while retrieving an API, exporting APIs to file system or
+     *                                no APIs are exported successfully
+     */
+    public String exportAPIs(List<API> apis, String exportDirectoryName) throws APIManagementException {
+
+        String apiArtifactsBaseDirectoryPath = createExportDirectory(exportDirectoryName);
+        for (API api : apis) {
+            APIDetails apiDetails = getAPIDetails(api);
+            if (apiDetails == null) {
+                // skip this API
+                continue;
+            }
+            try {
+                exportAPI(apiDetails, apiArtifactsBaseDirectoryPath);
+            } finally {
+                closeStreams(apiDetails);
+            }
+        }
+        return checkExportedAPIs(apiArtifactsBaseDirectoryPath);
+    }
+
+    /**
+     * Creates the base directory of an export
+     *
+     * @param exportDirectoryName Name of the directory to do the export
+     * @return Path to the directory
+     * @throws APIMgtEntityImportExportException if the directory cannot be created
+     */
+    private String createExportDirectory(String exportDirectoryName) throws APIMgtEntityImportExportException {
         // this is the base directory for the archive. after export happens, this directory will
         // be archived to be sent as a application/zip response to the client
         String apiArtifactsBaseDirectoryPath = path + File.separator + exportDirectoryName;
@@ -85,60 +133,78 @@ public class FileBasedApiImportExportManager extends ApiImportExportManager {
             String errorMsg = "Unable to create directory for export API at :" + apiArtifactsBaseDirectoryPath;
             throw new APIMgtEntityImportExportException(errorMsg, e);
         }
+        return apiArtifactsBaseDirectoryPath;
+    }
 
-        for (APIDetails apiDetails : apiDetailSet) {
-            // derive the folder structure
-            String apiExportDirectory = APIFileUtils.getAPIBaseDirectory(apiArtifactsBaseDirectoryPath, apiDetails
-                    .getApi());
-            API exportAPI = apiDetails.getApi();
-            try {
-                // create per-api export directory
-                APIFileUtils.createDirectory(apiExportDirectory);
+    /**
+     * Exports an API to the file system. Errors in writing the API are logged and the API is skipped.
+     *
+     * @param apiDetails                    {@link APIDetails} of the API
+     * @param apiArtifactsBaseDirectoryPath base directory of the export
+     * @throws APIMgtEntityImportExportException if an error occurred while exporting the endpoints of the API
+     */
+    private void exportAPI(APIDetails apiDetails, String apiArtifactsBaseDirectoryPath)
+            throws APIMgtEntityImportExportException {
+        // derive the folder structure
+        String apiExportDirectory = APIFileUtils.getAPIBaseDirectory(apiArtifactsBaseDirectoryPath, apiDetails
+                .getApi());
+        API exportAPI = apiDetails.getApi();
+        try {
+            // create per-api export directory
+            APIFileUtils.createDirectory(apiExportDirectory);
 
-                //export API definition
-                APIFileUtils.exportApiDefinitionToFileSystem(exportAPI, apiExportDirectory);
+            //export API definition
+            APIFileUtils.exportApiDefinitionToFileSystem(exportAPI, apiExportDirectory);
 
-                //export swagger definition
-                APIFileUtils.exportSwaggerDefinitionToFileSystem(apiDetails.getSwaggerDefinition(), exportAPI,
-                        apiExportDirectory);
+            //export swagger definition
+            APIFileUtils.exportSwaggerDefinitionToFileSystem(apiDetails.getSwaggerDefinition(), exportAPI,
+                    apiExportDirectory);
 
-                //export gateway configs
-                APIFileUtils.exportGatewayConfigToFileSystem(apiDetails.getGatewayConfiguration(), exportAPI,
-                        apiExportDirectory);
-                if (apiDetails.getEndpoints() != null && !apiDetails.getEndpoints().isEmpty()) {
-                    exportEndpointsToFileSystem(apiDetails.getEndpoints(), exportAPI, apiExportDirectory);
-                }
+            //export gateway configs
+            APIFileUtils.exportGatewayConfigToFileSystem(apiDetails.getGatewayConfiguration(), exportAPI,
+                    apiExportDirectory);
+            if (apiDetails.getEndpoints() != null && !apiDetails.getEndpoints().isEmpty()) {
+                exportEndpointsToFileSystem(apiDetails.getEndpoints(), exportAPI, apiExportDirectory);
+            }
 
-            } catch (APIMgtDAOException e) {
-                // no need to throw, log
-                log.error("Error in exporting API: " + exportAPI.getName() + ", version: " + apiDetails
-                        .getApi().getVersion(), e);
-                // cleanup the API directory
-                try {
-                    APIFileUtils.deleteDirectory(path);
-                } catch (APIMgtDAOException e1) {
-                    log.warn("Unable to remove directory " + path);
-                }
-                // skip this API
-                continue;
+        } catch (APIMgtDAOException e) {
+            // no need to throw, log
+            log.error("Error in exporting API: " + exportAPI.getName() + ", version: " + apiDetails
+                    .getApi().getVersion(), e);
+            // cleanup the API directory
+            try {
+                APIFileUtils.deleteDirectory(path);
+            } catch (APIMgtDAOException e1) {
+                log.warn("Unable to remove directory " + path);
             }
+            // skip this API
+            return;
+        }
 
-            // export docs and thumbnail - these are non critical; even if they fail the API is considered
-            // as exported correctly.
-            if (apiDetails.getThumbnailStream() != null){
-                try {
-                    APIFileUtils.exportThumbnailToFileSystem(apiDetails.getThumbnailStream(), apiExportDirectory);
-                } catch (APIMgtDAOException warn) {
-                    // log the warning without throwing
-                    log.warn("Error in exporting thumbnail to file system for api: " + exportAPI.getName() + ", version: " +
-                            exportAPI.getVersion());
-                }
+        // export docs and thumbnail - these are non critical; even if they fail the API is considered
+        // as exported correctly.
+        if (apiDetails.getThumbnailStream() != null){
+            try {
+                APIFileUtils.exportThumbnailToFileSystem(apiDetails.getThumbnailStream(), apiExportDirectory);
+            } catch (APIMgtDAOException warn) {
+                // log the warning without throwing
+                log.warn("Error in exporting thumbnail to file system for api: " + exportAPI.getName() + ", version: " +
+                        exportAPI.getVersion());
             }
-            exportDocumentationToFileSystem(apiDetails.getAllDocumentInformation(), apiDetails, apiExportDirectory);
-            log.info("Successfully exported API: " + exportAPI.getName() + ", version: "
-                    + exportAPI.getVersion());
         }
+        exportDocumentationToFileSystem(apiDetails.getAllDocumentInformation(), apiDetails, apiExportDirectory);
+        log.info("Successfully exported API: " + exportAPI.getName() + ", version: "
+                + exportAPI.getVersion());
+    }
 
+    /**
+     * Checks that APIs have been exported to the base directory of an export
+     *
+     * @param apiArtifactsBaseDirectoryPath base directory of the export
+     * @return base directory of the export
+     * @throws APIMgtEntityImportExportException if no APIs are exported successfully
+     */
+    private String checkExportedAPIs(String apiArtifactsBaseDirectoryPath) throws APIMgtEntityImportExportException {
         // if the directory is empty, no APIs have been exported!
         try {
             if (APIFileUtils.getDirectoryList(apiArtifactsBaseDirectoryPath).isEmpty()) {
@@ -44,10 +44,12 @@ import org.wso2.carbon.apimgt.rest.api.publisher.dto.APIListDTO;
 import org.wso2.carbon.apimgt.rest.api.publisher.utils.ApiImportExportManager;
 import org.wso2.carbon.apimgt.rest.api.publisher.utils.FileBasedApiImportExportManager;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -353,6 +355,61 @@ public class APIImportExportTestCase {
         importExportManager.addAPIDetails(api2Details);
     }
 
+    @Test(description = "Test that the streams of an API are closed before the streams of the next API are opened")
+    public void testExportAPIsOneAtATime () throws Exception {
+        printTestMethodName();
+        apiPublisher = Mockito.mock(APIPublisher.class);
+        List<API> apis = new ArrayList<>();
+        List<ClosableInputStream> streams = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String apiId = UUID.randomUUID().toString();
+            Endpoint sandBoxEndpointId = new Endpoint.Builder().id(UUID.randomUUID().toString()).applicableLevel
+                    (APIMgtConstants.API_SPECIFIC_ENDPOINT).name("abcd").build();
+            Endpoint prodEndpointId = new Endpoint.Builder().id(UUID.randomUUID().toString()).applicableLevel
+                    (APIMgtConstants.API_SPECIFIC_ENDPOINT).name("cdef").build();
+            API api = createApi("provider1", apiId, "streamapi" + i, "1.0.0", "Stream API " + i,
+                    createEndpointTypeToIdMap(sandBoxEndpointId, prodEndpointId)).build();
+            String docId = UUID.randomUUID().toString();
+            DocumentInfo docInfo = createAPIDoc(docId, "doc.pdf", "doc.pdf", "Stream API DOC",
+                    DocumentInfo.DocType.PUBLIC_FORUM, "other type", DocumentInfo.SourceType.FILE, "",
+                    DocumentInfo.Visibility.API_LEVEL);
+            ClosableInputStream docStream = new ClosableInputStream();
+            ClosableInputStream thumbnailStream = new ClosableInputStream();
+
+            Mockito.when(apiPublisher.getAPIbyUUID(apiId)).thenReturn(api);
+            Mockito.when(apiPublisher.getSwagger20Definition(apiId)).thenReturn(api1Definition);
+            Mockito.when(apiPublisher.getApiGatewayConfig(apiId)).thenReturn(api1GatewayConfig);
+            Mockito.when(apiPublisher.getAllDocumentation(apiId, 0, Integer.MAX_VALUE))
+                    .thenReturn(Collections.singletonList(docInfo));
+            // the streams of the previous APIs must be closed when the streams of an API are opened
+            Mockito.when(apiPublisher.getDocumentationContent(docId)).thenAnswer(invocation -> {
+                for (ClosableInputStream stream : streams) {
+                    Assert.assertTrue(stream.closed, "Stream of a previous API is still open");
+                }
+                streams.add(docStream);
+                return createDocContent(docInfo, "", docStream);
+            });
+            Mockito.when(apiPublisher.getThumbnailImage(apiId)).thenAnswer(invocation -> {
+                streams.add(thumbnailStream);
+                return thumbnailStream;
+            });
+            apis.add(api);
+        }
+        Mockito.when(apiPublisher.searchAPIs(Integer.MAX_VALUE, 0, "*")).thenReturn(apis);
+
+        String exportDir = importExportRootDirectory + File.separator + "stream-export";
+        FileBasedApiImportExportManager importExportManager = new FileBasedApiImportExportManager(apiPublisher,
+                exportDir);
+        String exportedApiDirPath = importExportManager.exportAPIs(
+                importExportManager.searchAPIs(Integer.MAX_VALUE, 0, "*"), "exported-apis");
+
+        Assert.assertEquals(APIFileUtils.getDirectoryList(exportedApiDirPath).size(), 3);
+        Assert.assertEquals(streams.size(), 6);
+        for (ClosableInputStream stream : streams) {
+            Assert.assertTrue(stream.closed, "Stream of an exported API is not closed");
+        }
+    }
+
     @Test(description = "Test API export and import")
     public void testApiExportAndImport () throws Exception {
         printTestMethodName();
@@ -597,6 +654,23 @@ public class APIImportExportTestCase {
                 " ------------------");
     }
 
+    /**
+     * Input stream which records whether it was closed
+     */
+    private static class ClosableInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        ClosableInputStream() {
+            super("content".getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
     @AfterClass
     protected void tearDown () {
         try {
@@ -92,6 +92,7 @@ public abstract class ApisApiService {
  , Request request) throws NotFoundException;
     public abstract Response apisGet(Integer limit
  ,Integer offset
+ ,String after
  ,String query
  ,String accept
  ,String ifNoneMatch
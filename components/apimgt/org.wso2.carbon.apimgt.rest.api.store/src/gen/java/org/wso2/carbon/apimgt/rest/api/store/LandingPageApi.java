@@ -0,0 +1,62 @@
+package org.wso2.carbon.apimgt.rest.api.store;
+
+
+import io.swagger.annotations.ApiParam;
+
+import org.wso2.carbon.apimgt.rest.api.store.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LandingPageDTO;
+import org.wso2.carbon.apimgt.rest.api.store.factories.LandingPageApiServiceFactory;
+
+import org.wso2.msf4j.Microservice;
+import org.wso2.msf4j.Request;
+import org.wso2.msf4j.formparam.FileInfo;
+import org.wso2.msf4j.formparam.FormDataParam;
+import org.osgi.service.component.annotations.Component;
+
+import java.io.InputStream;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.HEAD;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+
+@Component(
+    name = "org.wso2.carbon.apimgt.rest.api.store.LandingPageApi",
+    service = Microservice.class,
+    immediate = true
+)
+@Path("/api/am/store/v1.[\\d]+/landing-page")
+@Consumes({ "application/json" })
+@Produces({ "application/json" })
+@io.swagger.annotations.Api(description = "the landing-page API")
+public class LandingPageApi implements Microservice  {
+   private final LandingPageApiService delegate = LandingPageApiServiceFactory.getLandingPageApi();
+
+    @GET
+    
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "Retrieve the store landing page", notes = "Get a page of the available APIs along with the thumbnail image, rating, subscription count, tags and labels of each API, so that the store landing page can be rendered from a single request. ", response = LandingPageDTO.class, tags={ "API (Collection)", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. A page of the landing page is returned. ", response = LandingPageDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 406, message = "Not Acceptable. The requested media type is not supported ", response = LandingPageDTO.class) })
+    public Response landingPageGet(@ApiParam(value = "Maximum size of resource array to return. ", defaultValue="25") @DefaultValue("25") @QueryParam("limit") Integer limit
+,@ApiParam(value = "Starting point within the complete list of items qualified. ", defaultValue="0") @DefaultValue("0") @QueryParam("offset") Integer offset
+,@ApiParam(value = "Cursor of the last API of the previous page, as returned in the **next** link. ") @QueryParam("after") String after
+,@ApiParam(value = "Media types acceptable for the response. Default is JSON. " , defaultValue="JSON")@HeaderParam("Accept") String accept
+,@ApiParam(value = "Validator for conditional requests; based on the ETag of the formerly retrieved variant of the resourec. " )@HeaderParam("If-None-Match") String ifNoneMatch
+, @Context Request request)
+    throws NotFoundException {
+        return delegate.landingPageGet(limit,offset,after,accept,ifNoneMatch, request);
+    }
+}
@@ -0,0 +1,28 @@
+package org.wso2.carbon.apimgt.rest.api.store;
+
+import org.wso2.carbon.apimgt.rest.api.store.*;
+import org.wso2.carbon.apimgt.rest.api.store.dto.*;
+
+import org.wso2.msf4j.formparam.FormDataParam;
+import org.wso2.msf4j.formparam.FileInfo;
+import org.wso2.msf4j.Request;
+
+import org.wso2.carbon.apimgt.rest.api.store.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LandingPageDTO;
+
+import java.util.List;
+import org.wso2.carbon.apimgt.rest.api.store.NotFoundException;
+
+import java.io.InputStream;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+
+public abstract class LandingPageApiService {
+    public abstract Response landingPageGet(Integer limit
+ ,Integer offset
+ ,String after
+ ,String accept
+ ,String ifNoneMatch
+ , Request request) throws NotFoundException;
+}
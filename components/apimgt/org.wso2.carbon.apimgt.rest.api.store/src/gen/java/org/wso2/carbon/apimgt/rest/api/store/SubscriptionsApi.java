@@ -65,6 +65,59 @@ public class SubscriptionsApi implements Microservice  {
         return delegate.subscriptionsGet(apiId,applicationId,offset,limit,accept,ifNoneMatch, request);
     }
     @POST
+    @Path("/multiple/change-policy")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "", notes = "Change the policy of a set of subscriptions. Only the `subscriptionId` and `policy` of each subscription are used. ", response = SubscriptionListDTO.class, tags={ "Update", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. Successful response with the updated objects as entity in the body. ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request. Invalid request or validation error. ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 404, message = "Not Found. A subscription to be updated does not exist. ", response = SubscriptionListDTO.class) })
+    public Response subscriptionsMultipleChangePolicyPost(@ApiParam(value = "Subscription objects with their new policies " ,required=true) SubscriptionListDTO body
+,@ApiParam(value = "Media type of the entity in the body. Default is JSON. " ,required=true, defaultValue="JSON")@HeaderParam("Content-Type") String contentType
+, @Context Request request)
+    throws NotFoundException {
+        return delegate.subscriptionsMultipleChangePolicyPost(body,contentType, request);
+    }
+    @POST
+    @Path("/multiple")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "", notes = "Add a set of new subscriptions. The subscriptions are added in chunks, each of which is written in a single transaction and notified to the gateways in a single message. ", response = SubscriptionListDTO.class, tags={ "Create", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. Successful response with the newly created objects as entity in the body. Subscriptions waiting for approval are returned with the ON_HOLD status. ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request. Invalid request or validation error. ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 404, message = "Not Found. An API or application of the subscriptions does not exist. ", response = SubscriptionListDTO.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 415, message = "Unsupported media type. The entity of the request was in a not supported format. ", response = SubscriptionListDTO.class) })
+    public Response subscriptionsMultiplePost(@ApiParam(value = "Subscription objects that should to be added " ,required=true) SubscriptionListDTO body
+,@ApiParam(value = "Media type of the entity in the body. Default is JSON. " ,required=true, defaultValue="JSON")@HeaderParam("Content-Type") String contentType
+, @Context Request request)
+    throws NotFoundException {
+        return delegate.subscriptionsMultiplePost(body,contentType, request);
+    }
+    @POST
+    @Path("/multiple/unsubscribe")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "", notes = "Remove a set of subscriptions. Only the `subscriptionId` of each subscription is used. ", response = void.class, tags={ "Delete", })
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "OK. Resources successfully deleted, or waiting for approval. ", response = void.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request. Invalid request or validation error. ", response = void.class),
+        
+        @io.swagger.annotations.ApiResponse(code = 404, message = "Not Found. A subscription to be deleted does not exist. ", response = void.class) })
+    public Response subscriptionsMultipleUnsubscribePost(@ApiParam(value = "Subscription objects that should be removed " ,required=true) SubscriptionListDTO body
+,@ApiParam(value = "Media type of the entity in the body. Default is JSON. " ,required=true, defaultValue="JSON")@HeaderParam("Content-Type") String contentType
+, @Context Request request)
+    throws NotFoundException {
+        return delegate.subscriptionsMultipleUnsubscribePost(body,contentType, request);
+    }
+    @POST
     
     @Consumes({ "application/json" })
     @Produces({ "application/json" })
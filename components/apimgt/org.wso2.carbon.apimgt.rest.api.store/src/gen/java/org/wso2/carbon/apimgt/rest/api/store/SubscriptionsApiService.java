@@ -27,6 +27,15 @@ public abstract class SubscriptionsApiService {
  ,Integer limit
  ,String accept
  ,String ifNoneMatch
+ , Request request) throws NotFoundException;
+    public abstract Response subscriptionsMultipleChangePolicyPost(SubscriptionListDTO body
+ ,String contentType
+ , Request request) throws NotFoundException;
+    public abstract Response subscriptionsMultiplePost(SubscriptionListDTO body
+ ,String contentType
+ , Request request) throws NotFoundException;
+    public abstract Response subscriptionsMultipleUnsubscribePost(SubscriptionListDTO body
+ ,String contentType
  , Request request) throws NotFoundException;
     public abstract Response subscriptionsPost(SubscriptionDTO body
  ,String contentType
@@ -17,6 +17,9 @@ public class APIListDTO   {
   @JsonProperty("count")
   private Integer count = null;
 
+  @JsonProperty("total")
+  private Long total = null;
+
   @JsonProperty("next")
   private String next = null;
 
@@ -44,6 +47,24 @@ public class APIListDTO   {
     this.count = count;
   }
 
+  public APIListDTO total(Long total) {
+    this.total = total;
+    return this;
+  }
+
+   /**
+   * Estimated number of APIs which can be listed. Exact for small API catalogs. 
+   * @return total
+  **/
+  @ApiModelProperty(value = "Estimated number of APIs which can be listed. Exact for small API catalogs. ")
+  public Long getTotal() {
+    return total;
+  }
+
+  public void setTotal(Long total) {
+    this.total = total;
+  }
+
   public APIListDTO next(String next) {
     this.next = next;
     return this;
@@ -114,6 +135,7 @@ public class APIListDTO   {
     }
     APIListDTO apIList = (APIListDTO) o;
     return Objects.equals(this.count, apIList.count) &&
+        Objects.equals(this.total, apIList.total) &&
         Objects.equals(this.next, apIList.next) &&
         Objects.equals(this.previous, apIList.previous) &&
         Objects.equals(this.list, apIList.list);
@@ -121,7 +143,7 @@ public class APIListDTO   {
 
   @Override
   public int hashCode() {
-    return Objects.hash(count, next, previous, list);
+    return Objects.hash(count, total, next, previous, list);
   }
 
   @Override
@@ -130,6 +152,7 @@ public class APIListDTO   {
     sb.append("class APIListDTO {\n");
     
     sb.append("    count: ").append(toIndentedString(count)).append("\n");
+    sb.append("    total: ").append(toIndentedString(total)).append("\n");
     sb.append("    next: ").append(toIndentedString(next)).append("\n");
     sb.append("    previous: ").append(toIndentedString(previous)).append("\n");
     sb.append("    list: ").append(toIndentedString(list)).append("\n");
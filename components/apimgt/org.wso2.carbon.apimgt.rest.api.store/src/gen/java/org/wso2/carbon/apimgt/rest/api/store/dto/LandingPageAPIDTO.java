@@ -0,0 +1,363 @@
+package org.wso2.carbon.apimgt.rest.api.store.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LabelDTO;
+import java.util.Objects;
+
+/**
+ * LandingPageAPIDTO
+ */
+public class LandingPageAPIDTO   {
+  @JsonProperty("id")
+  private String id = null;
+
+  @JsonProperty("name")
+  private String name = null;
+
+  @JsonProperty("description")
+  private String description = null;
+
+  @JsonProperty("context")
+  private String context = null;
+
+  @JsonProperty("version")
+  private String version = null;
+
+  @JsonProperty("provider")
+  private String provider = null;
+
+  @JsonProperty("lifeCycleStatus")
+  private String lifeCycleStatus = null;
+
+  @JsonProperty("thumbnailUri")
+  private String thumbnailUri = null;
+
+  @JsonProperty("avgRating")
+  private Double avgRating = null;
+
+  @JsonProperty("ratingCount")
+  private Integer ratingCount = null;
+
+  @JsonProperty("subscriptionCount")
+  private Long subscriptionCount = null;
+
+  @JsonProperty("tags")
+  private List<String> tags = new ArrayList<String>();
+
+  @JsonProperty("labels")
+  private List<LabelDTO> labels = new ArrayList<LabelDTO>();
+
+  public LandingPageAPIDTO id(String id) {
+    this.id = id;
+    return this;
+  }
+
+   /**
+   * Get id
+   * @return id
+  **/
+  @ApiModelProperty(value = "")
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public LandingPageAPIDTO name(String name) {
+    this.name = name;
+    return this;
+  }
+
+   /**
+   * Get name
+   * @return name
+  **/
+  @ApiModelProperty(value = "")
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public LandingPageAPIDTO description(String description) {
+    this.description = description;
+    return this;
+  }
+
+   /**
+   * Get description
+   * @return description
+  **/
+  @ApiModelProperty(value = "")
+  public String getDescription() {
+    return description;
+  }
+
+  public void setDescription(String description) {
+    this.description = description;
+  }
+
+  public LandingPageAPIDTO context(String context) {
+    this.context = context;
+    return this;
+  }
+
+   /**
+   * Get context
+   * @return context
+  **/
+  @ApiModelProperty(value = "")
+  public String getContext() {
+    return context;
+  }
+
+  public void setContext(String context) {
+    this.context = context;
+  }
+
+  public LandingPageAPIDTO version(String version) {
+    this.version = version;
+    return this;
+  }
+
+   /**
+   * Get version
+   * @return version
+  **/
+  @ApiModelProperty(value = "")
+  public String getVersion() {
+    return version;
+  }
+
+  public void setVersion(String version) {
+    this.version = version;
+  }
+
+  public LandingPageAPIDTO provider(String provider) {
+    this.provider = provider;
+    return this;
+  }
+
+   /**
+   * Get provider
+   * @return provider
+  **/
+  @ApiModelProperty(value = "")
+  public String getProvider() {
+    return provider;
+  }
+
+  public void setProvider(String provider) {
+    this.provider = provider;
+  }
+
+  public LandingPageAPIDTO lifeCycleStatus(String lifeCycleStatus) {
+    this.lifeCycleStatus = lifeCycleStatus;
+    return this;
+  }
+
+   /**
+   * Get lifeCycleStatus
+   * @return lifeCycleStatus
+  **/
+  @ApiModelProperty(value = "")
+  public String getLifeCycleStatus() {
+    return lifeCycleStatus;
+  }
+
+  public void setLifeCycleStatus(String lifeCycleStatus) {
+    this.lifeCycleStatus = lifeCycleStatus;
+  }
+
+  public LandingPageAPIDTO thumbnailUri(String thumbnailUri) {
+    this.thumbnailUri = thumbnailUri;
+    return this;
+  }
+
+   /**
+   * Link to the thumbnail image of the API. Empty if the API has no thumbnail image. 
+   * @return thumbnailUri
+  **/
+  @ApiModelProperty(value = "Link to the thumbnail image of the API. Empty if the API has no thumbnail image. ")
+  public String getThumbnailUri() {
+    return thumbnailUri;
+  }
+
+  public void setThumbnailUri(String thumbnailUri) {
+    this.thumbnailUri = thumbnailUri;
+  }
+
+  public LandingPageAPIDTO avgRating(Double avgRating) {
+    this.avgRating = avgRating;
+    return this;
+  }
+
+   /**
+   * Average rating of the API. 
+   * @return avgRating
+  **/
+  @ApiModelProperty(value = "Average rating of the API. ")
+  public Double getAvgRating() {
+    return avgRating;
+  }
+
+  public void setAvgRating(Double avgRating) {
+    this.avgRating = avgRating;
+  }
+
+  public LandingPageAPIDTO ratingCount(Integer ratingCount) {
+    this.ratingCount = ratingCount;
+    return this;
+  }
+
+   /**
+   * Number of ratings of the API. 
+   * @return ratingCount
+  **/
+  @ApiModelProperty(value = "Number of ratings of the API. ")
+  public Integer getRatingCount() {
+    return ratingCount;
+  }
+
+  public void setRatingCount(Integer ratingCount) {
+    this.ratingCount = ratingCount;
+  }
+
+  public LandingPageAPIDTO subscriptionCount(Long subscriptionCount) {
+    this.subscriptionCount = subscriptionCount;
+    return this;
+  }
+
+   /**
+   * Number of subscriptions to the API. 
+   * @return subscriptionCount
+  **/
+  @ApiModelProperty(value = "Number of subscriptions to the API. ")
+  public Long getSubscriptionCount() {
+    return subscriptionCount;
+  }
+
+  public void setSubscriptionCount(Long subscriptionCount) {
+    this.subscriptionCount = subscriptionCount;
+  }
+
+  public LandingPageAPIDTO tags(List<String> tags) {
+    this.tags = tags;
+    return this;
+  }
+
+  public LandingPageAPIDTO addTagsItem(String tagsItem) {
+    this.tags.add(tagsItem);
+    return this;
+  }
+
+   /**
+   * Get tags
+   * @return tags
+  **/
+  @ApiModelProperty(value = "")
+  public List<String> getTags() {
+    return tags;
+  }
+
+  public void setTags(List<String> tags) {
+    this.tags = tags;
+  }
+
+  public LandingPageAPIDTO labels(List<LabelDTO> labels) {
+    this.labels = labels;
+    return this;
+  }
+
+  public LandingPageAPIDTO addLabelsItem(LabelDTO labelsItem) {
+    this.labels.add(labelsItem);
+    return this;
+  }
+
+   /**
+   * Get labels
+   * @return labels
+  **/
+  @ApiModelProperty(value = "")
+  public List<LabelDTO> getLabels() {
+    return labels;
+  }
+
+  public void setLabels(List<LabelDTO> labels) {
+    this.labels = labels;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    LandingPageAPIDTO landingPageAPI = (LandingPageAPIDTO) o;
+    return Objects.equals(this.id, landingPageAPI.id) &&
+        Objects.equals(this.name, landingPageAPI.name) &&
+        Objects.equals(this.description, landingPageAPI.description) &&
+        Objects.equals(this.context, landingPageAPI.context) &&
+        Objects.equals(this.version, landingPageAPI.version) &&
+        Objects.equals(this.provider, landingPageAPI.provider) &&
+        Objects.equals(this.lifeCycleStatus, landingPageAPI.lifeCycleStatus) &&
+        Objects.equals(this.thumbnailUri, landingPageAPI.thumbnailUri) &&
+        Objects.equals(this.avgRating, landingPageAPI.avgRating) &&
+        Objects.equals(this.ratingCount, landingPageAPI.ratingCount) &&
+        Objects.equals(this.subscriptionCount, landingPageAPI.subscriptionCount) &&
+        Objects.equals(this.tags, landingPageAPI.tags) &&
+        Objects.equals(this.labels, landingPageAPI.labels);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, name, description, context, version, provider, lifeCycleStatus, thumbnailUri, avgRating, ratingCount, subscriptionCount, tags, labels);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class LandingPageAPIDTO {\n");
+    
+    sb.append("    id: ").append(toIndentedString(id)).append("\n");
+    sb.append("    name: ").append(toIndentedString(name)).append("\n");
+    sb.append("    description: ").append(toIndentedString(description)).append("\n");
+    sb.append("    context: ").append(toIndentedString(context)).append("\n");
+    sb.append("    version: ").append(toIndentedString(version)).append("\n");
+    sb.append("    provider: ").append(toIndentedString(provider)).append("\n");
+    sb.append("    lifeCycleStatus: ").append(toIndentedString(lifeCycleStatus)).append("\n");
+    sb.append("    thumbnailUri: ").append(toIndentedString(thumbnailUri)).append("\n");
+    sb.append("    avgRating: ").append(toIndentedString(avgRating)).append("\n");
+    sb.append("    ratingCount: ").append(toIndentedString(ratingCount)).append("\n");
+    sb.append("    subscriptionCount: ").append(toIndentedString(subscriptionCount)).append("\n");
+    sb.append("    tags: ").append(toIndentedString(tags)).append("\n");
+    sb.append("    labels: ").append(toIndentedString(labels)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
+
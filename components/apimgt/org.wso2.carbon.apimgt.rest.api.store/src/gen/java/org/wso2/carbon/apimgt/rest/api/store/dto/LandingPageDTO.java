@@ -0,0 +1,174 @@
+package org.wso2.carbon.apimgt.rest.api.store.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LandingPageAPIDTO;
+import java.util.Objects;
+
+/**
+ * LandingPageDTO
+ */
+public class LandingPageDTO   {
+  @JsonProperty("count")
+  private Integer count = null;
+
+  @JsonProperty("total")
+  private Long total = null;
+
+  @JsonProperty("next")
+  private String next = null;
+
+  @JsonProperty("previous")
+  private String previous = null;
+
+  @JsonProperty("list")
+  private List<LandingPageAPIDTO> list = new ArrayList<LandingPageAPIDTO>();
+
+  public LandingPageDTO count(Integer count) {
+    this.count = count;
+    return this;
+  }
+
+   /**
+   * Number of APIs returned. 
+   * @return count
+  **/
+  @ApiModelProperty(value = "Number of APIs returned. ")
+  public Integer getCount() {
+    return count;
+  }
+
+  public void setCount(Integer count) {
+    this.count = count;
+  }
+
+  public LandingPageDTO total(Long total) {
+    this.total = total;
+    return this;
+  }
+
+   /**
+   * Estimated number of APIs which can be listed. Exact for small API catalogs. 
+   * @return total
+  **/
+  @ApiModelProperty(value = "Estimated number of APIs which can be listed. Exact for small API catalogs. ")
+  public Long getTotal() {
+    return total;
+  }
+
+  public void setTotal(Long total) {
+    this.total = total;
+  }
+
+  public LandingPageDTO next(String next) {
+    this.next = next;
+    return this;
+  }
+
+   /**
+   * Link to the next subset of resources qualified. Empty if no more resources are to be returned. 
+   * @return next
+  **/
+  @ApiModelProperty(value = "Link to the next subset of resources qualified. Empty if no more resources are to be returned. ")
+  public String getNext() {
+    return next;
+  }
+
+  public void setNext(String next) {
+    this.next = next;
+  }
+
+  public LandingPageDTO previous(String previous) {
+    this.previous = previous;
+    return this;
+  }
+
+   /**
+   * Link to the previous subset of resources qualified. Empty if current subset is the first subset returned. 
+   * @return previous
+  **/
+  @ApiModelProperty(value = "Link to the previous subset of resources qualified. Empty if current subset is the first subset returned. ")
+  public String getPrevious() {
+    return previous;
+  }
+
+  public void setPrevious(String previous) {
+    this.previous = previous;
+  }
+
+  public LandingPageDTO list(List<LandingPageAPIDTO> list) {
+    this.list = list;
+    return this;
+  }
+
+  public LandingPageDTO addListItem(LandingPageAPIDTO listItem) {
+    this.list.add(listItem);
+    return this;
+  }
+
+   /**
+   * Get list
+   * @return list
+  **/
+  @ApiModelProperty(value = "")
+  public List<LandingPageAPIDTO> getList() {
+    return list;
+  }
+
+  public void setList(List<LandingPageAPIDTO> list) {
+    this.list = list;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    LandingPageDTO landingPage = (LandingPageDTO) o;
+    return Objects.equals(this.count, landingPage.count) &&
+        Objects.equals(this.total, landingPage.total) &&
+        Objects.equals(this.next, landingPage.next) &&
+        Objects.equals(this.previous, landingPage.previous) &&
+        Objects.equals(this.list, landingPage.list);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(count, total, next, previous, list);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class LandingPageDTO {\n");
+    
+    sb.append("    count: ").append(toIndentedString(count)).append("\n");
+    sb.append("    total: ").append(toIndentedString(total)).append("\n");
+    sb.append("    next: ").append(toIndentedString(next)).append("\n");
+    sb.append("    previous: ").append(toIndentedString(previous)).append("\n");
+    sb.append("    list: ").append(toIndentedString(list)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
+
@@ -0,0 +1,12 @@
+package org.wso2.carbon.apimgt.rest.api.store.factories;
+
+import org.wso2.carbon.apimgt.rest.api.store.LandingPageApiService;
+import org.wso2.carbon.apimgt.rest.api.store.impl.LandingPageApiServiceImpl;
+
+public class LandingPageApiServiceFactory {
+    private static final LandingPageApiService service = new LandingPageApiServiceImpl();
+
+    public static LandingPageApiService getLandingPageApi() {
+        return service;
+    }
+}
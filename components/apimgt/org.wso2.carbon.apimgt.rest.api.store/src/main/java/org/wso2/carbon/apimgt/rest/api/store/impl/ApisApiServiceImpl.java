@@ -701,6 +701,7 @@ public class ApisApiServiceImpl extends ApisApiService {
      *
      * @param limit       maximum number of APIs returns
      * @param offset      starting index
+     * @param after       cursor of the last API of the previous page
      * @param query       search condition
      * @param accept      Accept header value
      * @param ifNoneMatch If-None-Match header value
@@ -708,16 +709,29 @@ public class ApisApiServiceImpl extends ApisApiService {
      * @return matched APIs for the given search condition
      */
     @Override
-    public Response apisGet(Integer limit, Integer offset, String query, String accept, String ifNoneMatch,
-                            Request request) throws NotFoundException {
+    public Response apisGet(Integer limit, Integer offset, String after, String query, String accept,
+                            String ifNoneMatch, Request request) throws NotFoundException {
         List<API> apisResult = null;
         APIListDTO apiListDTO = null;
         try {
             String username = RestApiUtil.getLoggedInUsername();
             APIStore apiStore = RestApiUtil.getConsumer(username);
-            apisResult = apiStore.searchAPIs(query, offset, limit);
-            // convert API
-            apiListDTO = APIMappingUtil.toAPIListDTO(apisResult);
+            if (StringUtils.isEmpty(query)) {
+                // Listing without a search condition is paged on the database by seeking after the given cursor
+                String afterName = null;
+                String afterId = null;
+                if (!StringUtils.isEmpty(after)) {
+                    String[] position = APIMappingUtil.fromCursor(after);
+                    afterName = position[0];
+                    afterId = position[1];
+                }
+                apisResult = apiStore.getStoreAPIs(afterName, afterId, offset, limit);
+                apiListDTO = APIMappingUtil.toAPIListDTO(apisResult, limit, apiStore.getEstimatedStoreAPICount());
+            } else {
+                apisResult = apiStore.searchAPIs(query, offset, limit);
+                // convert API
+                apiListDTO = APIMappingUtil.toAPIListDTO(apisResult);
+            }
         } catch (APIManagementException e) {
             String errorMessage = "Error while retrieving APIs ";
             HashMap<String, String> paramList = new HashMap<String, String>();
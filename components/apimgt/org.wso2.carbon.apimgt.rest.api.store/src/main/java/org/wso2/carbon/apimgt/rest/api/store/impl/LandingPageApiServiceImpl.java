@@ -0,0 +1,87 @@
+package org.wso2.carbon.apimgt.rest.api.store.impl;
+
+import com.google.gson.Gson;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.apimgt.core.api.APIStore;
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
+import org.wso2.carbon.apimgt.core.util.ETagUtils;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+import org.wso2.carbon.apimgt.rest.api.common.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
+import org.wso2.carbon.apimgt.rest.api.store.LandingPageApiService;
+import org.wso2.carbon.apimgt.rest.api.store.NotFoundException;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LandingPageDTO;
+import org.wso2.carbon.apimgt.rest.api.store.mappings.APIMappingUtil;
+import org.wso2.carbon.apimgt.rest.api.store.mappings.LandingPageMappingUtil;
+import org.wso2.msf4j.Request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+@javax.annotation.Generated(value = "class org.wso2.maven.plugins.JavaMSF4JServerCodegen", date =
+        "2016-11-01T13:48:55.078+05:30")
+public class LandingPageApiServiceImpl extends LandingPageApiService {
+
+    private static final Logger log = LoggerFactory.getLogger(LandingPageApiServiceImpl.class);
+
+    /**
+     * Retrieve a page of the store landing page. The thumbnail image, rating, subscription count, tags and labels of
+     * the APIs of the page are returned along with the APIs, so that the page is rendered from a single request.
+     * The ETag of the page is derived from its content, so that an unchanged page is not sent again.
+     *
+     * @param limit       Maximum number of APIs to return
+     * @param offset      Starting position of the pagination, counted from the given cursor
+     * @param after       Cursor of the last API of the previous page
+     * @param accept      Accept header value
+     * @param ifNoneMatch If-None-Match header value
+     * @param request     msf4j request object
+     * @return A page of the landing page as the response
+     * @throws NotFoundException When the particular resource does not exist in the system
+     */
+    @Override
+    public Response landingPageGet(Integer limit, Integer offset, String after, String accept, String ifNoneMatch,
+                                   Request request) throws NotFoundException {
+        LandingPageDTO landingPageDTO;
+        String eTag;
+        limit = limit != null ? limit : RestApiConstants.PAGINATION_LIMIT_DEFAULT;
+        offset = offset != null ? offset : RestApiConstants.PAGINATION_OFFSET_DEFAULT;
+        String username = RestApiUtil.getLoggedInUsername();
+        try {
+            APIStore apiStore = RestApiUtil.getConsumer(username);
+            String afterName = null;
+            String afterId = null;
+            if (!StringUtils.isEmpty(after)) {
+                String[] position = APIMappingUtil.fromCursor(after);
+                afterName = position[0];
+                afterId = position[1];
+            }
+            List<LandingPageAPI> landingPageAPIs = apiStore.getLandingPageAPIs(afterName, afterId, offset, limit);
+            // The labels of all the APIs of the page are retrieved at once
+            Set<String> labelNames = LandingPageMappingUtil.getLabelNames(landingPageAPIs);
+            List<Label> labels = labelNames.isEmpty() ? Collections.emptyList()
+                    : apiStore.getLabelInfo(new ArrayList<>(labelNames), username);
+            landingPageDTO = LandingPageMappingUtil.toLandingPageDTO(landingPageAPIs, labels, limit,
+                    apiStore.getEstimatedStoreAPICount());
+            eTag = ETagUtils.generateETag(new Gson().toJson(landingPageDTO));
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while retrieving landing page";
+            HashMap<String, String> paramList = new HashMap<String, String>();
+            ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler(), paramList);
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+        if (!StringUtils.isEmpty(ifNoneMatch) && ifNoneMatch.contains(eTag)) {
+            return Response.notModified().header(HttpHeaders.ETAG, "\"" + eTag + "\"").build();
+        }
+        return Response.ok().header(HttpHeaders.ETAG, "\"" + eTag + "\"").entity(landingPageDTO).build();
+    }
+}
@@ -2,7 +2,9 @@ package org.wso2.carbon.apimgt.rest.api.store.impl;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -112,6 +114,155 @@ public class SubscriptionsApiServiceImpl extends SubscriptionsApiService {
         return Response.ok().entity(subscriptionListDTO).build();
     }
 
+    /**
+     * Adds a set of new subscriptions. The subscriptions of each application are added in chunks, each of which is
+     * written in a single transaction and notified to the gateways in a single message.
+     *
+     * @param body        Subscription details to be added
+     * @param contentType Content-Type header value
+     * @param request     msf4j request object
+     * @return Newly added subscriptions as the response
+     * @throws NotFoundException When the particular resource does not exist in the system
+     */
+    @Override
+    public Response subscriptionsMultiplePost(SubscriptionListDTO body, String contentType, Request request)
+            throws NotFoundException {
+        String username = RestApiUtil.getLoggedInUsername();
+        try {
+            APIStore apiStore = RestApiUtil.getConsumer(username);
+            //APIs to subscribe to and their tiers, grouped by application in the order of the request
+            Map<String, Map<String, String>> apiTiersOfApplications = new LinkedHashMap<>();
+            for (SubscriptionDTO subscriptionDTO : body.getList()) {
+                Map<String, String> apiTiers = apiTiersOfApplications
+                        .computeIfAbsent(subscriptionDTO.getApplicationId(), key -> new LinkedHashMap<>());
+                if (apiTiers.containsKey(subscriptionDTO.getApiIdentifier())) {
+                    return getDuplicateSubscriptionResponse("API " + subscriptionDTO.getApiIdentifier()
+                            + " is subscribed more than once by application " + subscriptionDTO.getApplicationId());
+                }
+                apiTiers.put(subscriptionDTO.getApiIdentifier(), subscriptionDTO.getPolicy());
+            }
+
+            Map<String, Application> applications = new LinkedHashMap<>();
+            for (String applicationId : apiTiersOfApplications.keySet()) {
+                Application application = apiStore.getApplicationByUuid(applicationId);
+                if (application == null) {
+                    String errorMessage = "Application not found: " + applicationId;
+                    APIMgtResourceNotFoundException e = new APIMgtResourceNotFoundException(errorMessage,
+                            ExceptionCodes.APPLICATION_NOT_FOUND);
+                    Map<String, String> paramList = new HashMap<>();
+                    paramList.put(APIMgtConstants.ExceptionsConstants.APPLICATION_ID, applicationId);
+                    ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler(), paramList);
+                    log.error(errorMessage, e);
+                    return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+                }
+                if (!ApplicationStatus.APPLICATION_APPROVED.equals(application.getStatus())) {
+                    String errorMessage = "Application " + applicationId + " is not active";
+                    APIManagementException e = new APIManagementException(errorMessage,
+                            ExceptionCodes.APPLICATION_INACTIVE);
+                    Map<String, String> paramList = new HashMap<>();
+                    ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler(), paramList);
+                    log.error(errorMessage, e);
+                    return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+                }
+                applications.put(applicationId, application);
+            }
+
+            List<Subscription> subscriptions = new ArrayList<>();
+            for (Map.Entry<String, Map<String, String>> apiTiers : apiTiersOfApplications.entrySet()) {
+                List<SubscriptionResponse> addSubResponses = apiStore.addApiSubscriptions(apiTiers.getKey(),
+                        apiTiers.getValue());
+                Map<String, Subscription> subscriptionsOfApplication = new HashMap<>();
+                for (Subscription subscription : apiStore
+                        .getAPISubscriptionsByApplication(applications.get(apiTiers.getKey()))) {
+                    subscriptionsOfApplication.put(subscription.getId(), subscription);
+                }
+                for (SubscriptionResponse addSubResponse : addSubResponses) {
+                    subscriptions.add(subscriptionsOfApplication.get(addSubResponse.getSubscriptionUUID()));
+                }
+            }
+            SubscriptionListDTO subscriptionListDTO = SubscriptionMappingUtil.fromSubscriptionListToDTO(subscriptions,
+                    subscriptions.size(), 0);
+            return Response.ok().entity(subscriptionListDTO).build();
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while adding subscriptions";
+            ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+    }
+
+    /**
+     * Changes the policy of a set of subscriptions
+     *
+     * @param body        Subscriptions with their new policies
+     * @param contentType Content-Type header value
+     * @param request     msf4j request object
+     * @return Updated subscriptions as the response
+     * @throws NotFoundException When the particular resource does not exist in the system
+     */
+    @Override
+    public Response subscriptionsMultipleChangePolicyPost(SubscriptionListDTO body, String contentType,
+                                                          Request request) throws NotFoundException {
+        String username = RestApiUtil.getLoggedInUsername();
+        try {
+            APIStore apiStore = RestApiUtil.getConsumer(username);
+            Map<String, String> subscriptionTiers = new LinkedHashMap<>();
+            for (SubscriptionDTO subscriptionDTO : body.getList()) {
+                if (StringUtils.isEmpty(subscriptionDTO.getPolicy())) {
+                    String errorMessage = "Policy is not provided for subscription "
+                            + subscriptionDTO.getSubscriptionId();
+                    ErrorHandler errorHandler = ExceptionCodes.PARAMETER_NOT_PROVIDED;
+                    ErrorDTO errorDTO = RestApiUtil.getErrorDTO(errorHandler);
+                    log.error(errorMessage);
+                    return Response.status(errorHandler.getHttpStatusCode()).entity(errorDTO).build();
+                }
+                if (subscriptionTiers.containsKey(subscriptionDTO.getSubscriptionId())) {
+                    return getDuplicateSubscriptionResponse("Policy of subscription "
+                            + subscriptionDTO.getSubscriptionId() + " is changed more than once");
+                }
+                subscriptionTiers.put(subscriptionDTO.getSubscriptionId(), subscriptionDTO.getPolicy());
+            }
+            List<Subscription> subscriptions = apiStore.updateSubscriptionTiers(subscriptionTiers);
+            SubscriptionListDTO subscriptionListDTO = SubscriptionMappingUtil.fromSubscriptionListToDTO(subscriptions,
+                    subscriptions.size(), 0);
+            return Response.ok().entity(subscriptionListDTO).build();
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while changing the policy of subscriptions";
+            ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+    }
+
+    /**
+     * Removes a set of subscriptions
+     *
+     * @param body        Subscriptions to be removed
+     * @param contentType Content-Type header value
+     * @param request     msf4j request object
+     * @return 200 OK response if the deletion was successful
+     * @throws NotFoundException When the particular resource does not exist in the system
+     */
+    @Override
+    public Response subscriptionsMultipleUnsubscribePost(SubscriptionListDTO body, String contentType,
+                                                         Request request) throws NotFoundException {
+        String username = RestApiUtil.getLoggedInUsername();
+        try {
+            APIStore apiStore = RestApiUtil.getConsumer(username);
+            List<String> subscriptionIds = new ArrayList<>();
+            for (SubscriptionDTO subscriptionDTO : body.getList()) {
+                subscriptionIds.add(subscriptionDTO.getSubscriptionId());
+            }
+            apiStore.deleteAPISubscriptions(subscriptionIds);
+        } catch (APIManagementException e) {
+            String errorMessage = "Error while deleting subscriptions";
+            ErrorDTO errorDTO = RestApiUtil.getErrorDTO(e.getErrorHandler());
+            log.error(errorMessage, e);
+            return Response.status(e.getErrorHandler().getHttpStatusCode()).entity(errorDTO).build();
+        }
+        return Response.ok().build();
+    }
+
     /**
      * Adds a new subscription
      *
@@ -304,4 +455,17 @@ public class SubscriptionsApiServiceImpl extends SubscriptionsApiService {
             return null;
         }
     }
+
+    /**
+     * Builds the response for a request which contains the same subscription more than once
+     *
+     * @param errorMessage message to be logged
+     * @return 400 Bad Request response
+     */
+    private Response getDuplicateSubscriptionResponse(String errorMessage) {
+        ErrorHandler errorHandler = ExceptionCodes.SUBSCRIPTION_DUPLICATED;
+        ErrorDTO errorDTO = RestApiUtil.getErrorDTO(errorHandler);
+        log.error(errorMessage);
+        return Response.status(errorHandler.getHttpStatusCode()).entity(errorDTO).build();
+    }
 }
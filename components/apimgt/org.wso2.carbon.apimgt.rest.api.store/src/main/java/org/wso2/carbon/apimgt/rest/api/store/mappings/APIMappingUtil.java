@@ -20,16 +20,23 @@
 
 package org.wso2.carbon.apimgt.rest.api.store.mappings;
 
+import org.wso2.carbon.apimgt.core.exception.APIManagementException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
 import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
 import org.wso2.carbon.apimgt.rest.api.store.dto.APIDTO;
 import org.wso2.carbon.apimgt.rest.api.store.dto.APIInfoDTO;
 import org.wso2.carbon.apimgt.rest.api.store.dto.APIListDTO;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 public class APIMappingUtil {
 
+    private static final char CURSOR_SEPARATOR = ':';
+
     /**
      * Converts {@code List<API>} to {@link APIListDTO} DTO.
      *
@@ -45,6 +52,61 @@ public class APIMappingUtil {
         return apiListDTO;
     }
 
+    /**
+     * Converts a page of APIs to {@link APIListDTO} DTO, with a link to the page after the last API if the page
+     * is full.
+     *
+     * @param apisResult page of APIs ordered by name and UUID
+     * @param limit      maximum number of APIs in the page
+     * @param total      estimated number of APIs which can be listed
+     * @return APIListDTO
+     */
+    public static APIListDTO toAPIListDTO(List<API> apisResult, int limit, long total) {
+        APIListDTO apiListDTO = toAPIListDTO(apisResult);
+        apiListDTO.setTotal(total);
+        if (!apisResult.isEmpty() && apisResult.size() >= limit) {
+            API last = apisResult.get(apisResult.size() - 1);
+            apiListDTO.setNext(RestApiUtil.getAPIPaginatedURL(limit, toCursor(last.getName(), last.getId())));
+        }
+        return apiListDTO;
+    }
+
+    /**
+     * Encodes the position of an API in the list ordered by name and UUID as an opaque, URL safe cursor.
+     *
+     * @param name name of the API
+     * @param id   UUID of the API
+     * @return cursor
+     */
+    public static String toCursor(String name, String id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((name + CURSOR_SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor created by {@link #toCursor(String, String)}.
+     *
+     * @param cursor cursor
+     * @return array of the name and UUID of the API
+     * @throws APIManagementException if the cursor is not valid
+     */
+    public static String[] fromCursor(String cursor) throws APIManagementException {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new APIManagementException("Invalid pagination cursor : " + cursor, e,
+                    ExceptionCodes.INVALID_PAGINATION_CURSOR);
+        }
+        // UUIDs never contain the separator, but names may
+        int index = decoded.lastIndexOf(CURSOR_SEPARATOR);
+        if (index <= 0 || index == decoded.length() - 1) {
+            throw new APIManagementException("Invalid pagination cursor : " + cursor,
+                    ExceptionCodes.INVALID_PAGINATION_CURSOR);
+        }
+        return new String[]{decoded.substring(0, index), decoded.substring(index + 1)};
+    }
+
     /**
      * Converts {@link API} List to an {@link APIInfoDTO} List.
      *
@@ -43,7 +43,7 @@ public class LabelMappingUtil {
      * @param labels List of Labels
      * @return List of LabelDTOs
      */
-    private static List<LabelDTO> toLabelDTO(List<Label> labels) {
+    public static List<LabelDTO> toLabelDTO(List<Label> labels) {
         List<LabelDTO> labelDTOs = new ArrayList<>();
         for (Label label : labels) {
             LabelDTO labelDTO = new LabelDTO();
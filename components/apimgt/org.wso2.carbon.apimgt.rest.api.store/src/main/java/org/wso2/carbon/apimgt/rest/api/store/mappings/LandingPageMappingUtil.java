@@ -0,0 +1,117 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.rest.api.store.mappings;
+
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LabelDTO;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LandingPageAPIDTO;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LandingPageDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class LandingPageMappingUtil {
+
+    /**
+     * Get the names of the labels of a page of the landing page, so that their details can be retrieved at once
+     *
+     * @param landingPageAPIs page of the landing page
+     * @return names of the labels of the APIs of the page
+     */
+    public static Set<String> getLabelNames(List<LandingPageAPI> landingPageAPIs) {
+        Set<String> labelNames = new HashSet<>();
+        for (LandingPageAPI landingPageAPI : landingPageAPIs) {
+            labelNames.addAll(landingPageAPI.getLabels());
+        }
+        return labelNames;
+    }
+
+    /**
+     * Converts a page of the landing page to {@link LandingPageDTO} DTO, with a link to the page after the last API
+     * if the page is full.
+     *
+     * @param landingPageAPIs page of the landing page ordered by API name and UUID
+     * @param labels          details of the labels of the page which are available to the user. Labels of the APIs
+     *                        which are not given are left out.
+     * @param limit           maximum number of APIs in the page
+     * @param total           estimated number of APIs which can be listed
+     * @return LandingPageDTO
+     */
+    public static LandingPageDTO toLandingPageDTO(List<LandingPageAPI> landingPageAPIs, List<Label> labels, int limit,
+                                                  long total) {
+        Map<String, LabelDTO> labelDTOs = new HashMap<>();
+        for (LabelDTO labelDTO : LabelMappingUtil.toLabelDTO(labels)) {
+            labelDTOs.put(labelDTO.getName(), labelDTO);
+        }
+
+        List<LandingPageAPIDTO> landingPageAPIDTOs = new ArrayList<>(landingPageAPIs.size());
+        for (LandingPageAPI landingPageAPI : landingPageAPIs) {
+            landingPageAPIDTOs.add(toLandingPageAPIDTO(landingPageAPI, labelDTOs));
+        }
+
+        LandingPageDTO landingPageDTO = new LandingPageDTO();
+        landingPageDTO.setCount(landingPageAPIDTOs.size());
+        landingPageDTO.setTotal(total);
+        landingPageDTO.setList(landingPageAPIDTOs);
+        if (!landingPageAPIs.isEmpty() && landingPageAPIs.size() >= limit) {
+            API last = landingPageAPIs.get(landingPageAPIs.size() - 1).getApi();
+            landingPageDTO.setNext(RestApiUtil.getLandingPagePaginatedURL(limit,
+                    APIMappingUtil.toCursor(last.getName(), last.getId())));
+        }
+        return landingPageDTO;
+    }
+
+    private static LandingPageAPIDTO toLandingPageAPIDTO(LandingPageAPI landingPageAPI,
+                                                         Map<String, LabelDTO> labelDTOs) {
+        API api = landingPageAPI.getApi();
+        LandingPageAPIDTO landingPageAPIDTO = new LandingPageAPIDTO();
+        landingPageAPIDTO.setId(api.getId());
+        landingPageAPIDTO.setName(api.getName());
+        landingPageAPIDTO.setDescription(api.getDescription());
+        landingPageAPIDTO.setContext(api.getContext());
+        landingPageAPIDTO.setVersion(api.getVersion());
+        landingPageAPIDTO.setProvider(api.getProvider());
+        landingPageAPIDTO.setLifeCycleStatus(api.getLifeCycleStatus());
+        if (landingPageAPI.hasThumbnail()) {
+            landingPageAPIDTO.setThumbnailUri(
+                    RestApiConstants.RESOURCE_PATH_THUMBNAIL.replace(RestApiConstants.APIID_PARAM, api.getId()));
+        }
+        landingPageAPIDTO.setAvgRating(landingPageAPI.getAvgRating());
+        landingPageAPIDTO.setRatingCount(landingPageAPI.getRatingCount());
+        landingPageAPIDTO.setSubscriptionCount(landingPageAPI.getSubscriptionCount());
+        landingPageAPIDTO.setTags(new ArrayList<>(landingPageAPI.getTags()));
+        for (String labelName : landingPageAPI.getLabels()) {
+            LabelDTO labelDTO = labelDTOs.get(labelName);
+            if (labelDTO != null) {
+                landingPageAPIDTO.addLabelsItem(labelDTO);
+            }
+        }
+        return landingPageAPIDTO;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ *   Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *   WSO2 Inc. licenses this file to you under the Apache License,
+ *   Version 2.0 (the "License"); you may not use this file except
+ *   in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.wso2.carbon.apimgt.rest.api.store.impl;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.apimgt.core.api.APIStore;
+import org.wso2.carbon.apimgt.core.exception.APIMgtDAOException;
+import org.wso2.carbon.apimgt.core.exception.ExceptionCodes;
+import org.wso2.carbon.apimgt.core.impl.APIManagerFactory;
+import org.wso2.carbon.apimgt.core.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.core.models.API;
+import org.wso2.carbon.apimgt.core.models.Label;
+import org.wso2.carbon.apimgt.core.models.LandingPageAPI;
+import org.wso2.carbon.apimgt.rest.api.common.util.RestApiUtil;
+import org.wso2.carbon.apimgt.rest.api.store.dto.LandingPageDTO;
+import org.wso2.carbon.kernel.configprovider.ConfigProvider;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+/**
+ * Test class for LandingPageApiServiceImpl
+ */
+public class LandingPageApiServiceImplTestCase {
+    private static final String LABEL_NAME = "public";
+
+    private final LandingPageApiServiceImpl landingPageApiService = new LandingPageApiServiceImpl();
+    private APIStore apiStore;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        ServiceReferenceHolder.getInstance().setConfigProvider(Mockito.mock(ConfigProvider.class));
+        apiStore = Mockito.mock(APIStore.class);
+        API api = new API.APIBuilder("admin", "api1", "1.0.0").id("id1").build();
+        LandingPageAPI landingPageAPI = new LandingPageAPI(api, null, 1, 5, 2, Collections.singleton("tag1"),
+                Collections.singleton(LABEL_NAME));
+        Label label = new Label.Builder().id("1").name(LABEL_NAME)
+                .accessUrls(Collections.singletonList("https://gw:8243")).build();
+        Mockito.when(apiStore.getLandingPageAPIs(null, null, 0, 10))
+                .thenReturn(Collections.singletonList(landingPageAPI));
+        Mockito.when(apiStore.getLabelInfo(Collections.singletonList(LABEL_NAME), "admin"))
+                .thenReturn(Collections.singletonList(label));
+        Mockito.when(apiStore.getEstimatedStoreAPICount()).thenReturn(1L);
+        getConsumers().put(RestApiUtil.getLoggedInUsername(), apiStore);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        getConsumers().remove(RestApiUtil.getLoggedInUsername());
+    }
+
+    @Test(description = "Test that a page is returned with the total of the APIs and an ETag")
+    public void testLandingPageGet() throws Exception {
+        Response response = landingPageApiService.landingPageGet(10, 0, null, null, null, null);
+
+        Assert.assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+        LandingPageDTO landingPageDTO = (LandingPageDTO) response.getEntity();
+        Assert.assertEquals(landingPageDTO.getList().size(), 1);
+        Assert.assertEquals(landingPageDTO.getTotal(), Long.valueOf(1));
+        Assert.assertNotNull(response.getHeaderString(HttpHeaders.ETAG));
+        // the labels of the page are retrieved with a single call
+        Mockito.verify(apiStore, Mockito.times(1)).getLabelInfo(Collections.singletonList(LABEL_NAME), "admin");
+    }
+
+    @Test(description = "Test that an unchanged page is not sent again")
+    public void testLandingPageGetNotModified() throws Exception {
+        String eTag = landingPageApiService.landingPageGet(10, 0, null, null, null, null)
+                .getHeaderString(HttpHeaders.ETAG);
+
+        Response response = landingPageApiService.landingPageGet(10, 0, null, null, eTag, null);
+        Assert.assertEquals(response.getStatus(), Response.Status.NOT_MODIFIED.getStatusCode());
+        Assert.assertEquals(response.getHeaderString(HttpHeaders.ETAG), eTag);
+        Assert.assertNull(response.getEntity());
+
+        // a changed total changes the page
+        Mockito.when(apiStore.getEstimatedStoreAPICount()).thenReturn(2L);
+        response = landingPageApiService.landingPageGet(10, 0, null, null, eTag, null);
+        Assert.assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+        Assert.assertNotEquals(response.getHeaderString(HttpHeaders.ETAG), eTag);
+    }
+
+    @Test(description = "Test the response when the landing page cannot be retrieved")
+    public void testLandingPageGetError() throws Exception {
+        Mockito.when(apiStore.getLandingPageAPIs(null, null, 0, 10))
+                .thenThrow(new APIMgtDAOException("Error", ExceptionCodes.APIMGT_DAO_EXCEPTION));
+
+        Response response = landingPageApiService.landingPageGet(10, 0, null, null, null, null);
+        Assert.assertEquals(response.getStatus(), ExceptionCodes.APIMGT_DAO_EXCEPTION.getHttpStatusCode());
+        Assert.assertNull(response.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, APIStore> getConsumers() throws Exception {
+        Field consumers = APIManagerFactory.class.getDeclaredField("consumers");
+        consumers.setAccessible(true);
+        return (Map<String, APIStore>) consumers.get(null);
+    }
+}
@@ -177,6 +177,7 @@ CREATE TABLE `AM_API` (
 );
 CALL FT_CREATE_INDEX('PUBLIC', 'AM_API', NULL);
 CALL FTL_CREATE_INDEX('PUBLIC', 'AM_API', NULL);
+CREATE INDEX IDX_API_NAME_UUID ON AM_API (NAME, UUID);
 
 CREATE TABLE `AM_API_ENDPOINT_MAPPING` (
   `API_ID` VARCHAR(255),
@@ -280,6 +281,12 @@ CREATE TABLE `AM_RESOURCE_CATEGORIES` (
   UNIQUE (`RESOURCE_CATEGORY`)
 );
 
+CREATE TABLE `AM_RESOURCE_CONTENTS` (
+  `CONTENT_HASH` VARCHAR(64),
+  `CONTENT` LONGBLOB,
+  PRIMARY KEY (`CONTENT_HASH`)
+);
+
 CREATE TABLE `AM_API_RESOURCES` (
   `UUID` VARCHAR(255),
   `API_ID` VARCHAR(255),
@@ -287,15 +294,19 @@ CREATE TABLE `AM_API_RESOURCES` (
   `DATA_TYPE` VARCHAR(255),
   `RESOURCE_TEXT_VALUE` VARCHAR(1024),
   `RESOURCE_BINARY_VALUE` LONGBLOB,
+  `CONTENT_HASH` VARCHAR(64),
    CREATED_BY VARCHAR(100),
    CREATED_TIME TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
    UPDATED_BY VARCHAR(100),
    LAST_UPDATED_TIME TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
   PRIMARY KEY (`UUID`),
   FOREIGN KEY (`API_ID`) REFERENCES `AM_API`(`UUID`) ON UPDATE CASCADE ON DELETE CASCADE,
-  FOREIGN KEY (`RESOURCE_CATEGORY_ID`) REFERENCES `AM_RESOURCE_CATEGORIES`(`RESOURCE_CATEGORY_ID`)
+  FOREIGN KEY (`RESOURCE_CATEGORY_ID`) REFERENCES `AM_RESOURCE_CATEGORIES`(`RESOURCE_CATEGORY_ID`),
+  FOREIGN KEY (`CONTENT_HASH`) REFERENCES `AM_RESOURCE_CONTENTS`(`CONTENT_HASH`)
 );
 
+CREATE INDEX IDX_API_RESOURCES_CONTENT_HASH ON AM_API_RESOURCES (CONTENT_HASH);
+
 CREATE TABLE `AM_API_DOC_META_DATA` (
   `UUID` VARCHAR(255),
   `NAME` VARCHAR(255),
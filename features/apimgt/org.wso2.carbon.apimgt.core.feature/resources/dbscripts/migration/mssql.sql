@@ -0,0 +1,40 @@
+-- Moves the values of the binary resources of AM_API_RESOURCES to AM_RESOURCE_CONTENTS, where each distinct value
+-- is stored once keyed by the lower case hexadecimal SHA-256 hash of its bytes. Run on a database created with the
+-- previous scripts, before starting the server. Every statement skips the work already done, so the script can be run
+-- again after a partial failure.
+-- HASHBYTES hashes values larger than 8000 bytes on SQL Server 2016 or later.
+
+IF NOT EXISTS (SELECT * FROM SYS.OBJECTS WHERE OBJECT_ID = OBJECT_ID(N'[DBO].[AM_RESOURCE_CONTENTS]')
+  AND TYPE IN (N'U'))
+CREATE TABLE AM_RESOURCE_CONTENTS (
+  CONTENT_HASH VARCHAR(64),
+  CONTENT VARBINARY(max),
+  PRIMARY KEY (CONTENT_HASH)
+);
+
+IF COL_LENGTH('AM_API_RESOURCES', 'CONTENT_HASH') IS NULL
+ALTER TABLE AM_API_RESOURCES ADD CONTENT_HASH VARCHAR(64);
+GO
+
+UPDATE AM_API_RESOURCES SET CONTENT_HASH = LOWER(CONVERT(VARCHAR(64), HASHBYTES('SHA2_256', RESOURCE_BINARY_VALUE), 2))
+  WHERE RESOURCE_BINARY_VALUE IS NOT NULL AND CONTENT_HASH IS NULL;
+
+INSERT INTO AM_RESOURCE_CONTENTS (CONTENT_HASH, CONTENT)
+  SELECT R.CONTENT_HASH, R.RESOURCE_BINARY_VALUE FROM AM_API_RESOURCES R
+  WHERE R.UUID IN (SELECT MIN(UUID) FROM AM_API_RESOURCES WHERE RESOURCE_BINARY_VALUE IS NOT NULL
+    GROUP BY CONTENT_HASH)
+  AND NOT EXISTS (SELECT 1 FROM AM_RESOURCE_CONTENTS C WHERE C.CONTENT_HASH = R.CONTENT_HASH);
+
+UPDATE AM_API_RESOURCES SET RESOURCE_BINARY_VALUE = NULL WHERE CONTENT_HASH IS NOT NULL;
+
+IF NOT EXISTS (SELECT * FROM SYS.FOREIGN_KEYS WHERE NAME = 'FK_API_RESOURCES_CONTENT_HASH')
+ALTER TABLE AM_API_RESOURCES ADD CONSTRAINT FK_API_RESOURCES_CONTENT_HASH
+  FOREIGN KEY (CONTENT_HASH) REFERENCES AM_RESOURCE_CONTENTS(CONTENT_HASH);
+
+IF NOT EXISTS (SELECT * FROM SYS.INDEXES WHERE NAME = 'IDX_API_RESOURCES_CONTENT_HASH'
+  AND OBJECT_ID = OBJECT_ID(N'[DBO].[AM_API_RESOURCES]'))
+CREATE INDEX IDX_API_RESOURCES_CONTENT_HASH ON AM_API_RESOURCES (CONTENT_HASH);
+
+-- Index used by the keyset pagination of APIs ordered by name, which the previous scripts did not create
+IF NOT EXISTS (SELECT * FROM SYS.INDEXES WHERE NAME = 'IDX_API_NAME_UUID' AND OBJECT_ID = OBJECT_ID(N'[DBO].[AM_API]'))
+CREATE INDEX IDX_API_NAME_UUID ON AM_API(NAME, UUID);
@@ -0,0 +1,56 @@
+-- Moves the values of the binary resources of AM_API_RESOURCES to AM_RESOURCE_CONTENTS, where each distinct value
+-- is stored once keyed by the lower case hexadecimal SHA-256 hash of its bytes. Run on a database created with the
+-- previous scripts, before starting the server. Every statement skips the work already done, so the script can be run
+-- again after a partial failure.
+-- Schema changes which MySQL cannot make conditionally are prepared only if they have not been made yet.
+
+CREATE TABLE IF NOT EXISTS `AM_RESOURCE_CONTENTS` (
+  `CONTENT_HASH` VARCHAR(64),
+  `CONTENT` LONGBLOB,
+  PRIMARY KEY (`CONTENT_HASH`)
+)CHARACTER SET utf8 COLLATE utf8_general_ci;
+
+SET @MIGRATION_STATEMENT = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE AM_API_RESOURCES ADD COLUMN CONTENT_HASH VARCHAR(64)', 'DO 0')
+  FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AM_API_RESOURCES'
+  AND COLUMN_NAME = 'CONTENT_HASH');
+PREPARE MIGRATION_STATEMENT FROM @MIGRATION_STATEMENT;
+EXECUTE MIGRATION_STATEMENT;
+DEALLOCATE PREPARE MIGRATION_STATEMENT;
+
+UPDATE AM_API_RESOURCES SET CONTENT_HASH = SHA2(RESOURCE_BINARY_VALUE, 256)
+  WHERE RESOURCE_BINARY_VALUE IS NOT NULL AND CONTENT_HASH IS NULL;
+
+INSERT INTO AM_RESOURCE_CONTENTS (CONTENT_HASH, CONTENT)
+  SELECT R.CONTENT_HASH, R.RESOURCE_BINARY_VALUE FROM AM_API_RESOURCES R
+  WHERE R.UUID IN (SELECT MIN(UUID) FROM AM_API_RESOURCES WHERE RESOURCE_BINARY_VALUE IS NOT NULL
+    GROUP BY CONTENT_HASH)
+  AND NOT EXISTS (SELECT 1 FROM AM_RESOURCE_CONTENTS C WHERE C.CONTENT_HASH = R.CONTENT_HASH);
+
+UPDATE AM_API_RESOURCES SET RESOURCE_BINARY_VALUE = NULL WHERE CONTENT_HASH IS NOT NULL;
+
+SET @MIGRATION_STATEMENT = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE AM_API_RESOURCES ADD CONSTRAINT FK_API_RESOURCES_CONTENT_HASH
+    FOREIGN KEY (CONTENT_HASH) REFERENCES AM_RESOURCE_CONTENTS(CONTENT_HASH)', 'DO 0')
+  FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AM_API_RESOURCES'
+  AND CONSTRAINT_NAME = 'FK_API_RESOURCES_CONTENT_HASH');
+PREPARE MIGRATION_STATEMENT FROM @MIGRATION_STATEMENT;
+EXECUTE MIGRATION_STATEMENT;
+DEALLOCATE PREPARE MIGRATION_STATEMENT;
+
+SET @MIGRATION_STATEMENT = (SELECT IF(COUNT(*) = 0,
+  'CREATE INDEX IDX_API_RESOURCES_CONTENT_HASH ON AM_API_RESOURCES (CONTENT_HASH)', 'DO 0')
+  FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AM_API_RESOURCES'
+  AND INDEX_NAME = 'IDX_API_RESOURCES_CONTENT_HASH');
+PREPARE MIGRATION_STATEMENT FROM @MIGRATION_STATEMENT;
+EXECUTE MIGRATION_STATEMENT;
+DEALLOCATE PREPARE MIGRATION_STATEMENT;
+
+-- Index used by the keyset pagination of APIs ordered by name, which the previous scripts did not create
+SET @MIGRATION_STATEMENT = (SELECT IF(COUNT(*) = 0,
+  'CREATE INDEX IDX_API_NAME_UUID ON AM_API (NAME, UUID)', 'DO 0')
+  FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'AM_API'
+  AND INDEX_NAME = 'IDX_API_NAME_UUID');
+PREPARE MIGRATION_STATEMENT FROM @MIGRATION_STATEMENT;
+EXECUTE MIGRATION_STATEMENT;
+DEALLOCATE PREPARE MIGRATION_STATEMENT;
@@ -0,0 +1,82 @@
+-- Moves the values of the binary resources of AM_API_RESOURCES to AM_RESOURCE_CONTENTS, where each distinct value
+-- is stored once keyed by the lower case hexadecimal SHA-256 hash of its bytes. Run on a database created with the
+-- previous scripts, before starting the server. Every statement skips the work already done, so the script can be run
+-- again after a partial failure.
+-- The values are hashed with DBMS_CRYPTO, which requires Oracle 12c or later and the EXECUTE privilege on it.
+-- Schema changes which have already been made are skipped by ignoring the errors raised for existing objects.
+
+DECLARE
+  ALREADY_EXISTS EXCEPTION;
+  PRAGMA EXCEPTION_INIT(ALREADY_EXISTS, -955);
+BEGIN
+  EXECUTE IMMEDIATE 'CREATE TABLE AM_RESOURCE_CONTENTS (
+    CONTENT_HASH VARCHAR2(64),
+    CONTENT BLOB,
+    PRIMARY KEY (CONTENT_HASH)
+  )';
+EXCEPTION
+  WHEN ALREADY_EXISTS THEN NULL;
+END;
+/
+
+DECLARE
+  COLUMN_EXISTS EXCEPTION;
+  PRAGMA EXCEPTION_INIT(COLUMN_EXISTS, -1430);
+BEGIN
+  EXECUTE IMMEDIATE 'ALTER TABLE AM_API_RESOURCES ADD CONTENT_HASH VARCHAR2(64)';
+EXCEPTION
+  WHEN COLUMN_EXISTS THEN NULL;
+END;
+/
+
+-- 4 is DBMS_CRYPTO.HASH_SH256, whose name cannot be used in SQL
+UPDATE AM_API_RESOURCES SET CONTENT_HASH = LOWER(RAWTOHEX(DBMS_CRYPTO.HASH(RESOURCE_BINARY_VALUE, 4)))
+  WHERE RESOURCE_BINARY_VALUE IS NOT NULL AND CONTENT_HASH IS NULL
+/
+
+INSERT INTO AM_RESOURCE_CONTENTS (CONTENT_HASH, CONTENT)
+  SELECT R.CONTENT_HASH, R.RESOURCE_BINARY_VALUE FROM AM_API_RESOURCES R
+  WHERE R.UUID IN (SELECT MIN(UUID) FROM AM_API_RESOURCES WHERE RESOURCE_BINARY_VALUE IS NOT NULL
+    GROUP BY CONTENT_HASH)
+  AND NOT EXISTS (SELECT 1 FROM AM_RESOURCE_CONTENTS C WHERE C.CONTENT_HASH = R.CONTENT_HASH)
+/
+
+UPDATE AM_API_RESOURCES SET RESOURCE_BINARY_VALUE = NULL WHERE CONTENT_HASH IS NOT NULL
+/
+
+COMMIT
+/
+
+DECLARE
+  NAME_EXISTS EXCEPTION;
+  CONSTRAINT_EXISTS EXCEPTION;
+  PRAGMA EXCEPTION_INIT(NAME_EXISTS, -2264);
+  PRAGMA EXCEPTION_INIT(CONSTRAINT_EXISTS, -2275);
+BEGIN
+  EXECUTE IMMEDIATE 'ALTER TABLE AM_API_RESOURCES ADD CONSTRAINT FK_API_RESOURCES_CONTENT_HASH
+    FOREIGN KEY (CONTENT_HASH) REFERENCES AM_RESOURCE_CONTENTS(CONTENT_HASH)';
+EXCEPTION
+  WHEN NAME_EXISTS OR CONSTRAINT_EXISTS THEN NULL;
+END;
+/
+
+DECLARE
+  ALREADY_EXISTS EXCEPTION;
+  PRAGMA EXCEPTION_INIT(ALREADY_EXISTS, -955);
+BEGIN
+  EXECUTE IMMEDIATE 'CREATE INDEX IDX_API_RESOURCES_CONTENT_HASH ON AM_API_RESOURCES (CONTENT_HASH)';
+EXCEPTION
+  WHEN ALREADY_EXISTS THEN NULL;
+END;
+/
+
+-- Index used by the keyset pagination of APIs ordered by name, which the previous scripts did not create
+DECLARE
+  ALREADY_EXISTS EXCEPTION;
+  PRAGMA EXCEPTION_INIT(ALREADY_EXISTS, -955);
+BEGIN
+  EXECUTE IMMEDIATE 'CREATE INDEX IDX_API_NAME_UUID ON AM_API(NAME, UUID)';
+EXCEPTION
+  WHEN ALREADY_EXISTS THEN NULL;
+END;
+/
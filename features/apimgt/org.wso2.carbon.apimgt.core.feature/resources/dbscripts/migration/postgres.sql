@@ -0,0 +1,34 @@
+-- Moves the values of the binary resources of AM_API_RESOURCES to AM_RESOURCE_CONTENTS, where each distinct value
+-- is stored once keyed by the lower case hexadecimal SHA-256 hash of its bytes. Run on a database created with the
+-- previous scripts, before starting the server. Every statement skips the work already done, so the script can be run
+-- again after a partial failure.
+-- The sha256 function requires PostgreSQL 11 or later.
+
+CREATE TABLE IF NOT EXISTS AM_RESOURCE_CONTENTS (
+  CONTENT_HASH VARCHAR(64),
+  CONTENT BYTEA,
+  PRIMARY KEY (CONTENT_HASH)
+);
+
+ALTER TABLE AM_API_RESOURCES ADD COLUMN IF NOT EXISTS CONTENT_HASH VARCHAR(64);
+
+UPDATE AM_API_RESOURCES SET CONTENT_HASH = encode(sha256(RESOURCE_BINARY_VALUE), 'hex')
+  WHERE RESOURCE_BINARY_VALUE IS NOT NULL AND CONTENT_HASH IS NULL;
+
+INSERT INTO AM_RESOURCE_CONTENTS (CONTENT_HASH, CONTENT)
+  SELECT R.CONTENT_HASH, R.RESOURCE_BINARY_VALUE FROM AM_API_RESOURCES R
+  WHERE R.UUID IN (SELECT MIN(UUID) FROM AM_API_RESOURCES WHERE RESOURCE_BINARY_VALUE IS NOT NULL
+    GROUP BY CONTENT_HASH)
+  AND NOT EXISTS (SELECT 1 FROM AM_RESOURCE_CONTENTS C WHERE C.CONTENT_HASH = R.CONTENT_HASH);
+
+UPDATE AM_API_RESOURCES SET RESOURCE_BINARY_VALUE = NULL WHERE CONTENT_HASH IS NOT NULL;
+
+ALTER TABLE AM_API_RESOURCES DROP CONSTRAINT IF EXISTS FK_API_RESOURCES_CONTENT_HASH;
+
+ALTER TABLE AM_API_RESOURCES ADD CONSTRAINT FK_API_RESOURCES_CONTENT_HASH
+  FOREIGN KEY (CONTENT_HASH) REFERENCES AM_RESOURCE_CONTENTS(CONTENT_HASH);
+
+CREATE INDEX IF NOT EXISTS IDX_API_RESOURCES_CONTENT_HASH ON AM_API_RESOURCES (CONTENT_HASH);
+
+-- Index used by the keyset pagination of APIs ordered by name, which the previous scripts did not create
+CREATE INDEX IF NOT EXISTS IDX_API_NAME_UUID ON AM_API (NAME, UUID);
@@ -173,6 +173,8 @@ CREATE TABLE AM_API (
 );
 CREATE UNIQUE INDEX API_UUID ON AM_API(UUID);
 
+CREATE INDEX IDX_API_NAME_UUID ON AM_API(NAME, UUID);
+
 CREATE FULLTEXT CATALOG API_CATALOG WITH ACCENT_SENSITIVITY = OFF;
 
 CREATE FULLTEXT INDEX ON AM_API(NAME, VERSION, DESCRIPTION, PROVIDER, CONTEXT, CURRENT_LC_STATUS, TECHNICAL_OWNER, BUSINESS_OWNER ) KEY INDEX API_UUID ON API_CATALOG;
@@ -281,6 +283,12 @@ CREATE TABLE AM_RESOURCE_CATEGORIES (
   UNIQUE (RESOURCE_CATEGORY)
 );
 
+CREATE TABLE AM_RESOURCE_CONTENTS (
+  CONTENT_HASH VARCHAR(64),
+  CONTENT VARBINARY(max),
+  PRIMARY KEY (CONTENT_HASH)
+);
+
 CREATE TABLE AM_API_RESOURCES (
   UUID VARCHAR(255),
   API_ID VARCHAR(255),
@@ -288,15 +296,19 @@ CREATE TABLE AM_API_RESOURCES (
   DATA_TYPE VARCHAR(255),
   RESOURCE_TEXT_VALUE VARCHAR(1024),
   RESOURCE_BINARY_VALUE VARBINARY(max),
+  CONTENT_HASH VARCHAR(64),
   CREATED_BY VARCHAR(100),
   CREATED_TIME DATETIME DEFAULT GETDATE(),
   UPDATED_BY VARCHAR(100),
   LAST_UPDATED_TIME DATETIME DEFAULT GETDATE(),
   PRIMARY KEY (UUID),
   FOREIGN KEY (API_ID) REFERENCES AM_API(UUID) ON UPDATE CASCADE ON DELETE CASCADE,
-  FOREIGN KEY (RESOURCE_CATEGORY_ID) REFERENCES AM_RESOURCE_CATEGORIES(RESOURCE_CATEGORY_ID)
+  FOREIGN KEY (RESOURCE_CATEGORY_ID) REFERENCES AM_RESOURCE_CATEGORIES(RESOURCE_CATEGORY_ID),
+  FOREIGN KEY (CONTENT_HASH) REFERENCES AM_RESOURCE_CONTENTS(CONTENT_HASH)
 );
 
+CREATE INDEX IDX_API_RESOURCES_CONTENT_HASH ON AM_API_RESOURCES (CONTENT_HASH);
+
 CREATE TABLE AM_API_DOC_META_DATA (
   UUID VARCHAR(255),
   NAME VARCHAR(255),
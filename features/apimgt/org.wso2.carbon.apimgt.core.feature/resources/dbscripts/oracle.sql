@@ -265,6 +265,9 @@ ALTER TABLE AM_API ADD INDEXER VARCHAR(1)
 CREATE INDEX API_INDEX ON AM_API(INDEXER) INDEXTYPE IS CTXSYS.CONTEXT PARAMETERS('DATASTORE API_DATASTORE SYNC (ON COMMIT)')
 /
 
+CREATE INDEX IDX_API_NAME_UUID ON AM_API(NAME, UUID)
+/
+
 CREATE TABLE AM_API_ENDPOINT_MAPPING (
   API_ID VARCHAR2(255),
   TYPE VARCHAR2(25),
@@ -390,6 +393,13 @@ BEGIN
 END;
 /
 
+CREATE TABLE AM_RESOURCE_CONTENTS (
+  CONTENT_HASH VARCHAR2(64),
+  CONTENT BLOB,
+  PRIMARY KEY (CONTENT_HASH)
+)
+/
+
 CREATE TABLE AM_API_RESOURCES (
   UUID VARCHAR2(255),
   API_ID VARCHAR2(255),
@@ -397,16 +407,21 @@ CREATE TABLE AM_API_RESOURCES (
   DATA_TYPE VARCHAR2(255),
   RESOURCE_TEXT_VALUE VARCHAR2(1024) ,
   RESOURCE_BINARY_VALUE BLOB,
+  CONTENT_HASH VARCHAR2(64),
   CREATED_BY VARCHAR2(100),
   CREATED_TIME TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
   UPDATED_BY VARCHAR2(100),
   LAST_UPDATED_TIME TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
   PRIMARY KEY (UUID),
   FOREIGN KEY (API_ID) REFERENCES AM_API(UUID)  ON DELETE CASCADE,
-  FOREIGN KEY (RESOURCE_CATEGORY_ID) REFERENCES AM_RESOURCE_CATEGORIES(RESOURCE_CATEGORY_ID)
+  FOREIGN KEY (RESOURCE_CATEGORY_ID) REFERENCES AM_RESOURCE_CATEGORIES(RESOURCE_CATEGORY_ID),
+  FOREIGN KEY (CONTENT_HASH) REFERENCES AM_RESOURCE_CONTENTS(CONTENT_HASH)
 )
 /
 
+CREATE INDEX IDX_API_RESOURCES_CONTENT_HASH ON AM_API_RESOURCES (CONTENT_HASH)
+/
+
 CREATE TABLE AM_API_DOC_META_DATA (
   UUID VARCHAR2(255),
   NAME VARCHAR2(255),
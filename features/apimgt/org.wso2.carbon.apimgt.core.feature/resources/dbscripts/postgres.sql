@@ -189,6 +189,8 @@ UPDATE AM_API SET textsearchable_index_col = to_tsvector( coalesce(NAME,'') || '
 
 CREATE INDEX API_SEARCH_INDEX ON AM_API USING GIN (textsearchable_index_col);
 
+CREATE INDEX IDX_API_NAME_UUID ON AM_API (NAME, UUID);
+
 CREATE TRIGGER tsvectorupdate BEFORE INSERT OR UPDATE ON AM_API FOR EACH ROW EXECUTE PROCEDURE tsvector_update_trigger(textsearchable_index_col, 'pg_catalog.english', NAME, CONTEXT, PROVIDER, VERSION, DESCRIPTION, TECHNICAL_OWNER, BUSINESS_OWNER, CURRENT_LC_STATUS);
 
 CREATE TABLE AM_API_ENDPOINT_MAPPING (
@@ -295,6 +297,12 @@ CREATE TABLE AM_RESOURCE_CATEGORIES (
   UNIQUE (RESOURCE_CATEGORY)
 );
 
+CREATE TABLE AM_RESOURCE_CONTENTS (
+  CONTENT_HASH VARCHAR(64),
+  CONTENT BYTEA,
+  PRIMARY KEY (CONTENT_HASH)
+);
+
 CREATE TABLE AM_API_RESOURCES (
   UUID VARCHAR(255),
   API_ID VARCHAR(255),
@@ -302,15 +310,19 @@ CREATE TABLE AM_API_RESOURCES (
   DATA_TYPE VARCHAR(255),
   RESOURCE_TEXT_VALUE VARCHAR(1024),
   RESOURCE_BINARY_VALUE BYTEA,
+  CONTENT_HASH VARCHAR(64),
   CREATED_BY VARCHAR(100),
   CREATED_TIME TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
   UPDATED_BY VARCHAR(100),
   LAST_UPDATED_TIME TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
   PRIMARY KEY (UUID),
   FOREIGN KEY (API_ID) REFERENCES AM_API(UUID) ON UPDATE CASCADE ON DELETE CASCADE,
-  FOREIGN KEY (RESOURCE_CATEGORY_ID) REFERENCES AM_RESOURCE_CATEGORIES(RESOURCE_CATEGORY_ID)
+  FOREIGN KEY (RESOURCE_CATEGORY_ID) REFERENCES AM_RESOURCE_CATEGORIES(RESOURCE_CATEGORY_ID),
+  FOREIGN KEY (CONTENT_HASH) REFERENCES AM_RESOURCE_CONTENTS(CONTENT_HASH)
 );
 
+CREATE INDEX IDX_API_RESOURCES_CONTENT_HASH ON AM_API_RESOURCES (CONTENT_HASH);
+
 CREATE TABLE AM_API_DOC_META_DATA (
   UUID VARCHAR(255),
   NAME VARCHAR(255),